@@ -22,8 +22,11 @@ import org.objectweb.asm.*;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.runtime.ASMClassVisitorProvider;
 import uk.ac.manchester.tornado.runtime.common.ParallelAnnotationProvider;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -53,6 +56,14 @@ public class ASMClassVisitor extends ClassVisitor implements ASMClassVisitorProv
     public ParallelAnnotationProvider[] getParallelAnnotations(ResolvedJavaMethod method) {
         String methodClassFile = method.getDeclaringClass().getName().replaceFirst("L", "").replaceFirst(";", ".class");
         InputStream inputStream = ClassLoader.getSystemClassLoader().getResourceAsStream(methodClassFile);
+        if (inputStream == null) {
+            // Classes generated at runtime (e.g., fused tasks) have no class file
+            byte[] classFile = ASMTaskFusion.getClassFile(methodClassFile.substring(0, methodClassFile.length() - ".class".length()));
+            if (classFile == null) {
+                return new ParallelAnnotationProvider[0];
+            }
+            inputStream = new ByteArrayInputStream(classFile);
+        }
         try {
             ClassReader classReader = new ClassReader(inputStream);
             ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
@@ -66,4 +77,19 @@ public class ASMClassVisitor extends ClassVisitor implements ASMClassVisitorProv
             throw new TornadoRuntimeException("[ERROR] Class reader could not be instantiated for class file: " + methodClassFile);
         }
     }
+
+    @Override
+    public MethodHandle splitParallelLoop(Method method) {
+        return ASMParallelLoopSplitter.split(method);
+    }
+
+    @Override
+    public Method fuseTasks(String methodName, Class<?>[] parameterTypes, String[] parameterNames, List<Method> tasks, List<int[]> taskArguments) {
+        return ASMTaskFusion.fuseCalls(methodName, parameterTypes, parameterNames, tasks, taskArguments);
+    }
+
+    @Override
+    public Method fuseParallelLoops(String methodName, Class<?>[] parameterTypes, String[] parameterNames, List<Method> tasks, List<int[]> taskArguments, int[] temporaryLengths) {
+        return ASMTaskFusion.fuseLoops(methodName, parameterTypes, parameterNames, tasks, taskArguments, temporaryLengths);
+    }
 }
@@ -0,0 +1,706 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.annotation;
+
+import static uk.ac.manchester.tornado.runtime.common.Tornado.debug;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.TypePath;
+
+/**
+ * Creates a copy of a static task method in which only a range of the
+ * iterations of the outermost {@code @Parallel} loop run the loop body. The
+ * copy takes an extra {@code int[] range} parameter: iterations
+ * {@code [range[0], range[1])} are executed and the number of iterations
+ * visited is stored in {@code range[2]} when the loop exits. The loop starts
+ * directly at iteration {@code range[0]}: the induction variable is set to
+ * {@code init + range[0] * step}. With {@code range[3] != 0} the loop body is
+ * not executed, which is used to count the iterations before splitting them
+ * across threads.
+ *
+ * <p>
+ * The method is copied into a new class in the same package, so only methods
+ * compiled with the javac loop shape are supported: a single top-level parallel
+ * loop with its condition at the top, an {@code i++}/{@code i += step}
+ * update with a constant or loop-invariant step, no enclosing loop, and no writes to memory outside the loop. Private
+ * members, lambdas and exception handlers are not supported either. In all
+ * other cases {@link #split(Method)} returns {@code null}.
+ * </p>
+ */
+final class ASMParallelLoopSplitter {
+
+    private static final String SUFFIX = "$TornadoJavaParallel";
+    private static final AtomicInteger classId = new AtomicInteger();
+
+    private ASMParallelLoopSplitter() {
+    }
+
+    static final class Insn {
+        final int opcode;
+        final int var;
+        final Label target;
+        final String owner;
+        final String name;
+        final String descriptor;
+        Integer operand;
+        Label[] switchTargets;
+
+        private Insn(int opcode, int var, Label target, String owner, String name, String descriptor) {
+            this.opcode = opcode;
+            this.var = var;
+            this.target = target;
+            this.owner = owner;
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+
+        private Insn withOperand(Integer value) {
+            this.operand = value;
+            return this;
+        }
+    }
+
+    /**
+     * First pass: records the instructions of the method and the scopes of its
+     * parallel induction variables.
+     */
+    static final class LoopAnalyzer extends MethodVisitor {
+        final List<Insn> insns = new ArrayList<>();
+        final Map<Label, Integer> labels = new HashMap<>();
+        final List<Label[]> scopes = new ArrayList<>();
+        final List<Integer> scopeVars = new ArrayList<>();
+        boolean hasHandlers;
+        int maxLocals;
+
+        LoopAnalyzer() {
+            super(Opcodes.ASM7);
+        }
+
+        private void add(int opcode) {
+            insns.add(new Insn(opcode, -1, null, null, null, null));
+        }
+
+        @Override
+        public void visitLabel(Label label) {
+            labels.put(label, insns.size());
+        }
+
+        @Override
+        public void visitInsn(int opcode) {
+            Integer constant = (opcode >= Opcodes.ICONST_M1 && opcode <= Opcodes.ICONST_5) ? opcode - Opcodes.ICONST_0 : null;
+            insns.add(new Insn(opcode, -1, null, null, null, null).withOperand(constant));
+        }
+
+        @Override
+        public void visitIntInsn(int opcode, int operand) {
+            insns.add(new Insn(opcode, -1, null, null, null, null).withOperand(operand));
+        }
+
+        @Override
+        public void visitVarInsn(int opcode, int var) {
+            insns.add(new Insn(opcode, var, null, null, null, null));
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            add(opcode);
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+            insns.add(new Insn(opcode, -1, null, owner, name, descriptor));
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+            insns.add(new Insn(opcode, -1, null, owner, name, descriptor));
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(String name, String descriptor, org.objectweb.asm.Handle bootstrapMethodHandle, Object... bootstrapMethodArguments) {
+            add(Opcodes.INVOKEDYNAMIC);
+        }
+
+        @Override
+        public void visitJumpInsn(int opcode, Label label) {
+            insns.add(new Insn(opcode, -1, label, null, null, null));
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            insns.add(new Insn(Opcodes.LDC, -1, null, null, null, null).withOperand(value instanceof Integer ? (Integer) value : null));
+        }
+
+        @Override
+        public void visitIincInsn(int var, int increment) {
+            insns.add(new Insn(Opcodes.IINC, var, null, null, null, null).withOperand(increment));
+        }
+
+        @Override
+        public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+            addSwitch(Opcodes.TABLESWITCH, dflt, labels);
+        }
+
+        @Override
+        public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+            addSwitch(Opcodes.LOOKUPSWITCH, dflt, labels);
+        }
+
+        private void addSwitch(int opcode, Label dflt, Label[] labels) {
+            Insn insn = new Insn(opcode, -1, null, null, null, null);
+            insn.switchTargets = Arrays.copyOf(labels, labels.length + 1);
+            insn.switchTargets[labels.length] = dflt;
+            insns.add(insn);
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+            add(Opcodes.MULTIANEWARRAY);
+        }
+
+        @Override
+        public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+            hasHandlers = true;
+        }
+
+        @Override
+        public AnnotationVisitor visitLocalVariableAnnotation(int typeRef, TypePath typePath, Label[] start, Label[] end, int[] index, String descriptor, boolean visible) {
+            if (descriptor.equals("L" + ASMMethodVisitor.parallelAnnotationClassPath.replace('.', '/') + ";")) {
+                scopes.add(new Label[] { start[0], end[0] });
+                scopeVars.add(index[0]);
+            }
+            return null;
+        }
+
+        @Override
+        public void visitMaxs(int maxStack, int maxLocals) {
+            this.maxLocals = maxLocals;
+        }
+    }
+
+    /**
+     * Positions (instruction indices) of the parts of the parallel loop.
+     */
+    static final class LoopShape {
+        int var;
+        int init;
+        int condition;
+        int update;
+        int exit;
+        // The step is either a constant or a local that is not written in the loop
+        int step;
+        int stepVar = -1;
+        boolean decrement;
+    }
+
+    static boolean isReturn(int opcode) {
+        return opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN;
+    }
+
+    private static boolean isConditionalJump(int opcode) {
+        return (opcode >= Opcodes.IFEQ && opcode <= Opcodes.IF_ACMPNE) || opcode == Opcodes.IFNULL || opcode == Opcodes.IFNONNULL;
+    }
+
+    private static boolean isPushInt(Insn insn) {
+        switch (insn.opcode) {
+            case Opcodes.ILOAD:
+                return true;
+            case Opcodes.BIPUSH:
+            case Opcodes.SIPUSH:
+            case Opcodes.LDC:
+                return insn.operand != null;
+            default:
+                return insn.opcode >= Opcodes.ICONST_M1 && insn.opcode <= Opcodes.ICONST_5;
+        }
+    }
+
+    private static LoopShape unsupported(String reason) {
+        debug("tornado.java.parallel: loop not split, %s", reason);
+        return null;
+    }
+
+    private static MethodHandle rejected(Method method, String reason) {
+        debug("tornado.java.parallel: %s.%s runs sequentially, %s", method.getDeclaringClass().getName(), method.getName(), reason);
+        return null;
+    }
+
+    static LoopShape findLoop(LoopAnalyzer analyzer) {
+        List<Insn> insns = analyzer.insns;
+
+        // The outermost parallel loop is the one whose scope is not nested in another
+        int outer = -1;
+        for (int i = 0; i < analyzer.scopes.size(); i++) {
+            int start = analyzer.labels.get(analyzer.scopes.get(i)[0]);
+            boolean nested = false;
+            for (int j = 0; j < analyzer.scopes.size(); j++) {
+                int otherStart = analyzer.labels.get(analyzer.scopes.get(j)[0]);
+                int otherEnd = analyzer.labels.get(analyzer.scopes.get(j)[1]);
+                nested |= j != i && otherStart < start && start < otherEnd;
+            }
+            if (!nested) {
+                if (outer != -1) {
+                    return unsupported("more than one top-level parallel loop");
+                }
+                outer = i;
+            }
+        }
+        if (outer == -1) {
+            return unsupported("no parallel loop");
+        }
+
+        LoopShape loop = new LoopShape();
+        loop.var = analyzer.scopeVars.get(outer);
+        int start = analyzer.labels.get(analyzer.scopes.get(outer)[0]);
+        loop.init = start - 1;
+        if (loop.init < 0 || insns.get(loop.init).opcode != Opcodes.ISTORE || insns.get(loop.init).var != loop.var) {
+            return unsupported("the induction variable is not initialised before the loop");
+        }
+
+        // Condition at the top of the loop, jumping to the exit
+        loop.condition = -1;
+        for (int i = start; i < insns.size() && loop.condition == -1; i++) {
+            if (insns.get(i).target != null) {
+                loop.condition = i;
+            }
+        }
+        if (loop.condition == -1 || !isConditionalJump(insns.get(loop.condition).opcode)) {
+            return unsupported("the loop condition is not at the top of the loop");
+        }
+        loop.exit = analyzer.labels.get(insns.get(loop.condition).target);
+
+        // Back-edge right before the exit
+        int backEdge = loop.exit - 1;
+        Insn jump = insns.get(backEdge);
+        if (jump.opcode != Opcodes.GOTO || analyzer.labels.get(jump.target) != start || loop.exit >= insns.size()) {
+            return unsupported("the back-edge of the loop is not right before its exit");
+        }
+
+        Insn last = insns.get(backEdge - 1);
+        if (last.opcode == Opcodes.IINC && last.var == loop.var) {
+            loop.update = backEdge - 1;
+            loop.step = last.operand;
+        } else if (last.opcode == Opcodes.ISTORE && last.var == loop.var && backEdge >= 4 //
+                && insns.get(backEdge - 4).opcode == Opcodes.ILOAD && insns.get(backEdge - 4).var == loop.var //
+                && isPushInt(insns.get(backEdge - 3)) //
+                && (insns.get(backEdge - 2).opcode == Opcodes.IADD || insns.get(backEdge - 2).opcode == Opcodes.ISUB)) {
+            loop.update = backEdge - 4;
+            Insn step = insns.get(backEdge - 3);
+            if (step.opcode == Opcodes.ILOAD) {
+                loop.stepVar = step.var;
+            } else {
+                loop.step = step.operand;
+            }
+            loop.decrement = insns.get(backEdge - 2).opcode == Opcodes.ISUB;
+        } else {
+            return unsupported("the induction variable is not updated by a constant or loop-invariant step");
+        }
+
+        for (int i = 0; i < insns.size(); i++) {
+            Insn insn = insns.get(i);
+            boolean inside = i > loop.init && i < loop.exit;
+            if (insn.target != null && analyzer.labels.get(insn.target) <= loop.init && i >= loop.exit) {
+                return unsupported("the parallel loop is nested in a sequential loop");
+            }
+            if (inside && isReturn(insn.opcode)) {
+                return unsupported("return inside the parallel loop");
+            }
+            if (inside && loop.stepVar != -1 && insn.var == loop.stepVar && (insn.opcode == Opcodes.ISTORE || insn.opcode == Opcodes.IINC)) {
+                // The start index of a block is computed from the step
+                return unsupported("the step of the loop is written inside the loop");
+            }
+            if (!inside && !isSideEffectFree(insn)) {
+                return unsupported("code outside the parallel loop writes to memory or calls " + insn.owner + "." + insn.name);
+            }
+        }
+        return loop;
+    }
+
+    /**
+     * Code outside the parallel loop runs on every thread, so it must not write
+     * to memory. Calls are only allowed to math functions and getters.
+     */
+    static boolean isSideEffectFree(Insn insn) {
+        switch (insn.opcode) {
+            case Opcodes.IASTORE:
+            case Opcodes.LASTORE:
+            case Opcodes.FASTORE:
+            case Opcodes.DASTORE:
+            case Opcodes.AASTORE:
+            case Opcodes.BASTORE:
+            case Opcodes.CASTORE:
+            case Opcodes.SASTORE:
+            case Opcodes.PUTFIELD:
+            case Opcodes.PUTSTATIC:
+            case Opcodes.INVOKEDYNAMIC:
+                return false;
+            case Opcodes.INVOKEVIRTUAL:
+            case Opcodes.INVOKESTATIC:
+            case Opcodes.INVOKEINTERFACE:
+            case Opcodes.INVOKESPECIAL:
+                return insn.owner.equals("java/lang/Math") || insn.owner.endsWith("/TornadoMath") || insn.name.startsWith("get") || insn.name.equals("size") || insn.name.length() == 1;
+            default:
+                return true;
+        }
+    }
+
+    static boolean accessesPrivateMembers(LoopAnalyzer analyzer, ClassLoader loader) {
+        for (Insn insn : analyzer.insns) {
+            if (insn.opcode == Opcodes.INVOKEDYNAMIC) {
+                return true;
+            }
+            if (insn.owner == null || insn.owner.startsWith("[")) {
+                continue;
+            }
+            try {
+                Class<?> owner = Class.forName(insn.owner.replace('/', '.'), false, loader);
+                if (!Modifier.isPublic(owner.getModifiers()) && owner.getEnclosingClass() != null) {
+                    return true;
+                }
+                if (insn.descriptor.startsWith("(")) {
+                    for (Method m : owner.getDeclaredMethods()) {
+                        if (m.getName().equals(insn.name) && Type.getMethodDescriptor(m).equals(insn.descriptor) && Modifier.isPrivate(m.getModifiers())) {
+                            return true;
+                        }
+                    }
+                } else {
+                    for (Field f : owner.getDeclaredFields()) {
+                        if (f.getName().equals(insn.name) && Modifier.isPrivate(f.getModifiers())) {
+                            return true;
+                        }
+                    }
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Second pass: copies the method with the extra {@code range} parameter.
+     * Locals after the parameters are shifted by one slot to make room for it.
+     */
+    private static final class LoopRewriter extends MethodVisitor {
+        private final LoopShape loop;
+        private final int rangeSlot;
+        private final int counterSlot;
+        private final Label skip = new Label();
+        private final Label exit = new Label();
+        private int position;
+
+        LoopRewriter(MethodVisitor mv, LoopShape loop, int rangeSlot, int counterSlot) {
+            super(Opcodes.ASM7, mv);
+            this.loop = loop;
+            this.rangeSlot = rangeSlot;
+            this.counterSlot = counterSlot;
+        }
+
+        private int shift(int var) {
+            return var >= rangeSlot ? var + 1 : var;
+        }
+
+        private void before() {
+            if (position == loop.update) {
+                mv.visitLabel(skip);
+            } else if (position == loop.exit) {
+                mv.visitLabel(exit);
+                mv.visitVarInsn(Opcodes.ALOAD, rangeSlot);
+                mv.visitInsn(Opcodes.ICONST_2);
+                mv.visitVarInsn(Opcodes.ILOAD, counterSlot);
+                mv.visitInsn(Opcodes.IASTORE);
+            }
+        }
+
+        private void after() {
+            if (position == loop.init) {
+                // counter = range[0]
+                mv.visitVarInsn(Opcodes.ALOAD, rangeSlot);
+                mv.visitInsn(Opcodes.ICONST_0);
+                mv.visitInsn(Opcodes.IALOAD);
+                mv.visitVarInsn(Opcodes.ISTORE, counterSlot);
+                // i = init + counter * step
+                final int var = shift(loop.var);
+                mv.visitVarInsn(Opcodes.ILOAD, var);
+                mv.visitVarInsn(Opcodes.ILOAD, counterSlot);
+                if (loop.stepVar != -1) {
+                    mv.visitVarInsn(Opcodes.ILOAD, shift(loop.stepVar));
+                } else {
+                    mv.visitLdcInsn(loop.step);
+                }
+                mv.visitInsn(Opcodes.IMUL);
+                mv.visitInsn(loop.decrement ? Opcodes.ISUB : Opcodes.IADD);
+                mv.visitVarInsn(Opcodes.ISTORE, var);
+            } else if (position == loop.condition) {
+                // if (counter >= range[1]) break
+                mv.visitVarInsn(Opcodes.ILOAD, counterSlot);
+                mv.visitVarInsn(Opcodes.ALOAD, rangeSlot);
+                mv.visitInsn(Opcodes.ICONST_1);
+                mv.visitInsn(Opcodes.IALOAD);
+                mv.visitJumpInsn(Opcodes.IF_ICMPGE, exit);
+                mv.visitIincInsn(counterSlot, 1);
+                // if (range[3] != 0) continue
+                mv.visitVarInsn(Opcodes.ALOAD, rangeSlot);
+                mv.visitInsn(Opcodes.ICONST_3);
+                mv.visitInsn(Opcodes.IALOAD);
+                mv.visitJumpInsn(Opcodes.IFNE, skip);
+            }
+            position++;
+        }
+
+        @Override
+        public void visitInsn(int opcode) {
+            before();
+            mv.visitInsn(opcode);
+            after();
+        }
+
+        @Override
+        public void visitIntInsn(int opcode, int operand) {
+            before();
+            mv.visitIntInsn(opcode, operand);
+            after();
+        }
+
+        @Override
+        public void visitVarInsn(int opcode, int var) {
+            before();
+            mv.visitVarInsn(opcode, shift(var));
+            after();
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            before();
+            mv.visitTypeInsn(opcode, type);
+            after();
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+            before();
+            mv.visitFieldInsn(opcode, owner, name, descriptor);
+            after();
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+            before();
+            mv.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+            after();
+        }
+
+        @Override
+        public void visitJumpInsn(int opcode, Label label) {
+            before();
+            mv.visitJumpInsn(opcode, label);
+            after();
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            before();
+            mv.visitLdcInsn(value);
+            after();
+        }
+
+        @Override
+        public void visitIincInsn(int var, int increment) {
+            before();
+            mv.visitIincInsn(shift(var), increment);
+            after();
+        }
+
+        @Override
+        public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+            before();
+            mv.visitTableSwitchInsn(min, max, dflt, labels);
+            after();
+        }
+
+        @Override
+        public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+            before();
+            mv.visitLookupSwitchInsn(dflt, keys, labels);
+            after();
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+            before();
+            mv.visitMultiANewArrayInsn(descriptor, numDimensions);
+            after();
+        }
+
+        @Override
+        public void visitFrame(int type, int numLocal, Object[] local, int numStack, Object[] stack) {
+            // Recomputed by the class writer
+        }
+
+        @Override
+        public void visitLocalVariable(String name, String descriptor, String signature, Label start, Label end, int index) {
+            // Slots have been shifted
+        }
+
+        @Override
+        public AnnotationVisitor visitLocalVariableAnnotation(int typeRef, TypePath typePath, Label[] start, Label[] end, int[] index, String descriptor, boolean visible) {
+            return null;
+        }
+
+        @Override
+        public AnnotationVisitor visitParameterAnnotation(int parameter, String descriptor, boolean visible) {
+            return null;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            return null;
+        }
+
+        @Override
+        public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String descriptor, boolean visible) {
+            return null;
+        }
+
+        @Override
+        public AnnotationVisitor visitInsnAnnotation(int typeRef, TypePath typePath, String descriptor, boolean visible) {
+            return null;
+        }
+
+        @Override
+        public void visitMaxs(int maxStack, int maxLocals) {
+            mv.visitMaxs(0, 0);
+        }
+    }
+
+    static byte[] readClassFile(Class<?> klass) throws IOException {
+        try (InputStream inputStream = klass.getResourceAsStream("/" + klass.getName().replace('.', '/') + ".class")) {
+            if (inputStream == null) {
+                return null;
+            }
+            return inputStream.readAllBytes();
+        }
+    }
+
+    /**
+     * Visits the code of {@code method} only.
+     */
+    static void acceptMethod(ClassReader reader, Method method, MethodVisitor visitor) {
+        final String name = method.getName();
+        final String descriptor = Type.getMethodDescriptor(method);
+        reader.accept(new ClassVisitor(Opcodes.ASM7) {
+            @Override
+            public MethodVisitor visitMethod(int access, String methodName, String methodDescriptor, String signature, String[] exceptions) {
+                return methodName.equals(name) && methodDescriptor.equals(descriptor) ? visitor : null;
+            }
+        }, ClassReader.SKIP_FRAMES);
+    }
+
+    /**
+     * @return a handle to the split copy of {@code method}, with the signature of
+     *         {@code method} plus a trailing {@code int[]}, or {@code null} if the
+     *         method is not supported.
+     */
+    static MethodHandle split(Method method) {
+        if (!Modifier.isStatic(method.getModifiers())) {
+            return rejected(method, "the method is not static");
+        }
+        final Class<?> declaringClass = method.getDeclaringClass();
+        final String name = method.getName();
+        final String descriptor = Type.getMethodDescriptor(method);
+        try {
+            byte[] classFile = readClassFile(declaringClass);
+            if (classFile == null) {
+                return rejected(method, "the class file of " + declaringClass.getName() + " is not available");
+            }
+            ClassReader reader = new ClassReader(classFile);
+
+            final LoopAnalyzer analyzer = new LoopAnalyzer();
+            acceptMethod(reader, method, analyzer);
+
+            LoopShape loop = findLoop(analyzer);
+            if (loop == null) {
+                return rejected(method, "the parallel loop does not have a supported shape");
+            } else if (analyzer.hasHandlers) {
+                return rejected(method, "the method has exception handlers");
+            } else if (accessesPrivateMembers(analyzer, declaringClass.getClassLoader())) {
+                return rejected(method, "the method uses lambdas or private members");
+            }
+
+            int rangeSlot = 0;
+            for (Type argument : Type.getArgumentTypes(descriptor)) {
+                rangeSlot += argument.getSize();
+            }
+            final int range = rangeSlot;
+            final int counter = analyzer.maxLocals + 1;
+            final String splitDescriptor = descriptor.replace(")", "[I)");
+            final String className = Type.getInternalName(declaringClass) + SUFFIX + classId.getAndIncrement();
+
+            final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+                @Override
+                protected ClassLoader getClassLoader() {
+                    return declaringClass.getClassLoader();
+                }
+            };
+            reader.accept(new ClassVisitor(Opcodes.ASM7) {
+                @Override
+                public void visit(int version, int access, String klassName, String signature, String superName, String[] interfaces) {
+                    writer.visit(Math.max(version, Opcodes.V1_8), Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, className, null, "java/lang/Object", null);
+                }
+
+                @Override
+                public MethodVisitor visitMethod(int access, String methodName, String methodDescriptor, String signature, String[] exceptions) {
+                    if (methodName.equals(name) && methodDescriptor.equals(descriptor)) {
+                        MethodVisitor mv = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, name, splitDescriptor, null, exceptions);
+                        return new LoopRewriter(mv, loop, range, counter);
+                    }
+                    return null;
+                }
+            }, ClassReader.SKIP_FRAMES);
+            writer.visitEnd();
+
+            ASMParallelLoopSplitter.class.getModule().addReads(declaringClass.getModule());
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+            Class<?> splitClass = lookup.defineClass(writer.toByteArray());
+            return lookup.findStatic(splitClass, name, MethodType.fromMethodDescriptorString(splitDescriptor, declaringClass.getClassLoader()));
+        } catch (IOException | ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return rejected(method, "the split copy cannot be created: " + e);
+        }
+    }
+}
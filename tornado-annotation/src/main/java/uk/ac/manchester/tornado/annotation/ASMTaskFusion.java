@@ -0,0 +1,659 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.annotation;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.TypeReference;
+
+import uk.ac.manchester.tornado.annotation.ASMParallelLoopSplitter.Insn;
+import uk.ac.manchester.tornado.annotation.ASMParallelLoopSplitter.LoopAnalyzer;
+import uk.ac.manchester.tornado.annotation.ASMParallelLoopSplitter.LoopShape;
+
+/**
+ * Generates the methods of fused tasks. Each task is a static method, and
+ * {@code taskArguments} gives, for each parameter of a task, the index of the
+ * parameter of the fused method that is passed to it. Two forms are generated:
+ *
+ * <ul>
+ * <li>{@link #fuseCalls}: a method that invokes each task in order. The calls
+ * are inlined by the sketcher.</li>
+ * <li>{@link #fuseLoops}: a method with a single parallel loop whose body is
+ * the body of the parallel loop of each task, in order. The iteration spaces
+ * of the tasks must be equal. Arrays that are only accessed at the index of
+ * the loop, and are written before they are read, can be replaced with a local
+ * variable, so they are not parameters of the fused method.</li>
+ * </ul>
+ *
+ * <p>
+ * The class files of the generated classes are kept, so the parallel
+ * annotations of the fused loop can be read by
+ * {@link ASMClassVisitor#getParallelAnnotations}.
+ * </p>
+ */
+final class ASMTaskFusion {
+
+    private static final String CALLS_CLASS_NAME = Type.getInternalName(ASMTaskFusion.class).replace("ASMTaskFusion", "FusedKernel");
+    private static final String LOOP_SUFFIX = "$TornadoFused";
+    private static final AtomicInteger classId = new AtomicInteger();
+
+    private static final Map<String, byte[]> classFiles = new ConcurrentHashMap<>();
+
+    private ASMTaskFusion() {
+    }
+
+    /**
+     * @return the class file of a generated class, or {@code null} if the class
+     *         has not been generated by this class.
+     */
+    static byte[] getClassFile(String internalName) {
+        return classFiles.get(internalName);
+    }
+
+    private static int[] getSlots(Class<?>[] parameterTypes) {
+        int[] slots = new int[parameterTypes.length];
+        int slot = 0;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            slots[i] = slot;
+            slot += Type.getType(parameterTypes[i]).getSize();
+        }
+        return slots;
+    }
+
+    private static String getDescriptor(Class<?>[] parameterTypes) {
+        Type[] types = new Type[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            types[i] = Type.getType(parameterTypes[i]);
+        }
+        return Type.getMethodDescriptor(Type.VOID_TYPE, types);
+    }
+
+    private static Method define(MethodHandles.Lookup lookup, String className, byte[] classFile, String methodName, Class<?>[] parameterTypes) throws ReflectiveOperationException {
+        classFiles.put(className, classFile);
+        return lookup.defineClass(classFile).getMethod(methodName, parameterTypes);
+    }
+
+    /**
+     * @return a method that invokes each task in order, or {@code null} if it
+     *         cannot be defined.
+     */
+    static Method fuseCalls(String methodName, Class<?>[] parameterTypes, String[] parameterNames, List<Method> tasks, List<int[]> taskArguments) {
+        final String className = CALLS_CLASS_NAME + classId.getAndIncrement();
+        final int[] slots = getSlots(parameterTypes);
+
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, className, null, "java/lang/Object", null);
+        MethodVisitor mv = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, methodName, getDescriptor(parameterTypes), null, null);
+        mv.visitCode();
+        Label start = new Label();
+        Label end = new Label();
+        mv.visitLabel(start);
+        for (int i = 0; i < tasks.size(); i++) {
+            Method task = tasks.get(i);
+            for (int parameter : taskArguments.get(i)) {
+                mv.visitVarInsn(Type.getType(parameterTypes[parameter]).getOpcode(Opcodes.ILOAD), slots[parameter]);
+            }
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(task.getDeclaringClass()), task.getName(), Type.getMethodDescriptor(task), false);
+        }
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitLabel(end);
+        // The backends name the kernel parameters after the local variables
+        for (int i = 0; i < parameterTypes.length; i++) {
+            mv.visitLocalVariable(parameterNames[i], Type.getDescriptor(parameterTypes[i]), null, start, end, slots[i]);
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        writer.visitEnd();
+
+        try {
+            for (Method task : tasks) {
+                ASMTaskFusion.class.getModule().addReads(task.getDeclaringClass().getModule());
+            }
+            return define(MethodHandles.lookup(), className, writer.toByteArray(), methodName, parameterTypes);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parallel loop of a task and how its instructions are copied into the fused
+     * loop.
+     */
+    private static final class TaskLoop {
+        private final Method method;
+        private final ClassReader reader;
+        private final LoopAnalyzer analyzer;
+        private final LoopShape loop;
+        private final int[] arguments;
+        private final int parameterSlots;
+        // Task parameter of each parameter slot
+        private final int[] slotParameters;
+        // Replacement of each instruction, null to copy it
+        private final Emitter[] replacements;
+        private int localBase;
+
+        private TaskLoop(Method method, ClassReader reader, LoopAnalyzer analyzer, LoopShape loop, int[] arguments) {
+            this.method = method;
+            this.reader = reader;
+            this.analyzer = analyzer;
+            this.loop = loop;
+            this.arguments = arguments;
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            int[] slots = getSlots(parameterTypes);
+            int size = parameterTypes.length == 0 ? 0 : slots[parameterTypes.length - 1] + Type.getType(parameterTypes[parameterTypes.length - 1]).getSize();
+            this.parameterSlots = size;
+            this.slotParameters = new int[size];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                for (int slot = slots[i]; slot < slots[i] + Type.getType(parameterTypes[i]).getSize(); slot++) {
+                    slotParameters[slot] = i;
+                }
+            }
+            this.replacements = new Emitter[analyzer.insns.size()];
+        }
+
+        private Insn insn(int index) {
+            return index < analyzer.insns.size() ? analyzer.insns.get(index) : null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Emitter {
+        void emit(MethodVisitor mv);
+    }
+
+    private static final Emitter DROP = mv -> {
+    };
+
+    private static boolean isStore(int opcode) {
+        return (opcode >= Opcodes.ISTORE && opcode <= Opcodes.ASTORE) || opcode == Opcodes.IINC;
+    }
+
+    private static boolean isArrayStore(int opcode) {
+        return opcode >= Opcodes.IASTORE && opcode <= Opcodes.SASTORE;
+    }
+
+    private static boolean isStackShuffle(int opcode) {
+        return opcode >= Opcodes.DUP_X1 && opcode <= Opcodes.DUP2_X2 && opcode != Opcodes.DUP2;
+    }
+
+    private static boolean isJump(Insn insn) {
+        return insn.target != null || insn.switchTargets != null;
+    }
+
+    private static boolean jumpsWithin(LoopAnalyzer analyzer, Insn insn, int from, int to) {
+        if (insn.target != null) {
+            int target = analyzer.labels.get(insn.target);
+            return target >= from && target <= to;
+        }
+        for (Label label : insn.switchTargets) {
+            int target = analyzer.labels.get(label);
+            if (target < from || target > to) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the instructions of the task can be moved into the fused loop:
+     * code before and after the loop only computes local variables, jumps in the
+     * body stay in the body, and parameters are never reassigned.
+     */
+    private static boolean isFusible(TaskLoop task) {
+        final LoopShape loop = task.loop;
+        final List<Insn> insns = task.analyzer.insns;
+        if (insns.size() != loop.exit + 1 || insns.get(loop.exit).opcode != Opcodes.RETURN || task.analyzer.scopes.size() != 1) {
+            // Nested parallel loops are not fused
+            return false;
+        }
+        final int start = loop.init + 1;
+        for (int i = 0; i < insns.size(); i++) {
+            Insn insn = insns.get(i);
+            if (isStore(insn.opcode) && insn.var < task.parameterSlots) {
+                return false;
+            }
+            if (i <= loop.condition && (!ASMParallelLoopSplitter.isSideEffectFree(insn) || (isJump(insn) && i != loop.condition))) {
+                return false;
+            }
+            if (i > loop.condition && i < loop.update && isJump(insn) && !jumpsWithin(task.analyzer, insn, loop.condition + 1, loop.update)) {
+                return false;
+            }
+        }
+        return start <= loop.condition;
+    }
+
+    /**
+     * Replaces the accesses to an array parameter with a local variable. The
+     * array must only be accessed as {@code a[i]}, {@code a[i] = value},
+     * {@code a[i] op= value} and {@code a.length}, where {@code i} is the
+     * induction variable of the parallel loop.
+     */
+    private static boolean replaceWithLocal(TaskLoop task, int parameterSlot, Type component, int length, int localSlot) {
+        final List<Insn> insns = task.analyzer.insns;
+        final int load = component.getOpcode(Opcodes.IALOAD);
+        final int store = component.getOpcode(Opcodes.IASTORE);
+        final Emitter loadLocal = mv -> mv.visitVarInsn(component.getOpcode(Opcodes.ILOAD), localSlot);
+        final Emitter storeLocal = mv -> mv.visitVarInsn(component.getOpcode(Opcodes.ISTORE), localSlot);
+
+        for (int i = 0; i < insns.size(); i++) {
+            Insn insn = insns.get(i);
+            if (insn.opcode != Opcodes.ALOAD || insn.var != parameterSlot) {
+                continue;
+            }
+            Insn next = task.insn(i + 1);
+            if (next != null && next.opcode == Opcodes.ARRAYLENGTH) {
+                task.replacements[i] = DROP;
+                task.replacements[i + 1] = mv -> mv.visitLdcInsn(length);
+                continue;
+            }
+            if (next == null || next.opcode != Opcodes.ILOAD || next.var != task.loop.var || i <= task.loop.condition || i >= task.loop.update) {
+                return false;
+            }
+            task.replacements[i] = DROP;
+            task.replacements[i + 1] = DROP;
+            Insn access = task.insn(i + 2);
+            if (access != null && access.opcode == load) {
+                task.replacements[i + 2] = loadLocal;
+                continue;
+            }
+            int value = i + 2;
+            if (access != null && access.opcode == Opcodes.DUP2 && task.insn(i + 3) != null && task.insn(i + 3).opcode == load) {
+                // Compound assignment
+                task.replacements[i + 2] = DROP;
+                task.replacements[i + 3] = loadLocal;
+                value = i + 4;
+            }
+            int arrayStore = findArrayStore(task, value);
+            if (arrayStore == -1 || insns.get(arrayStore).opcode != store) {
+                return false;
+            }
+            task.replacements[arrayStore] = storeLocal;
+        }
+        return true;
+    }
+
+    /**
+     * @return the array store that consumes the value computed from
+     *         {@code value}, or -1 if the value is not computed by straight-line
+     *         code.
+     */
+    private static int findArrayStore(TaskLoop task, int value) {
+        final List<Insn> insns = task.analyzer.insns;
+        for (int i = value; i < task.loop.update; i++) {
+            Insn insn = insns.get(i);
+            if (isJump(insn) || isStackShuffle(insn.opcode) || ASMParallelLoopSplitter.isReturn(insn.opcode) || task.replacements[i] != null) {
+                return -1;
+            }
+            if (i > value && task.analyzer.labels.containsValue(i) && isJumpTarget(task.analyzer, i)) {
+                return -1;
+            }
+            if (isArrayStore(insn.opcode)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isJumpTarget(LoopAnalyzer analyzer, int position) {
+        for (Insn insn : analyzer.insns) {
+            if (insn.target != null && analyzer.labels.get(insn.target) == position) {
+                return true;
+            }
+            if (insn.switchTargets != null) {
+                for (Label label : insn.switchTargets) {
+                    if (analyzer.labels.get(label) == position) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies a range of instructions of a task into the fused method. Labels
+     * placed before the instruction {@code to} are copied when
+     * {@code includeEndLabels} is set, so that {@code continue} statements jump
+     * to the end of the copied body.
+     */
+    private static final class RangeCopier extends MethodVisitor {
+        private final MethodVisitor out;
+        private final TaskLoop task;
+        private final int[] fusedSlots;
+        private final int from;
+        private final int to;
+        private final boolean includeEndLabels;
+        private final Label exit;
+        private int position;
+
+        RangeCopier(MethodVisitor out, TaskLoop task, int[] fusedSlots, int from, int to, boolean includeEndLabels, Label exit) {
+            super(Opcodes.ASM7);
+            this.out = out;
+            this.task = task;
+            this.fusedSlots = fusedSlots;
+            this.from = from;
+            this.to = to;
+            this.includeEndLabels = includeEndLabels;
+            this.exit = exit;
+        }
+
+        private int remap(int var) {
+            if (var < task.parameterSlots) {
+                return fusedSlots[task.arguments[task.slotParameters[var]]];
+            }
+            return task.localBase + var - task.parameterSlots;
+        }
+
+        /**
+         * @return true if the current instruction has to be copied as it is.
+         */
+        private boolean copy() {
+            boolean inRange = position >= from && position < to;
+            if (inRange && task.replacements[position] != null) {
+                task.replacements[position].emit(out);
+                return false;
+            }
+            return inRange;
+        }
+
+        @Override
+        public void visitLabel(Label label) {
+            if (position >= from && (position < to || (position == to && includeEndLabels))) {
+                out.visitLabel(label);
+            }
+        }
+
+        @Override
+        public void visitInsn(int opcode) {
+            if (copy()) {
+                out.visitInsn(opcode);
+            }
+            position++;
+        }
+
+        @Override
+        public void visitIntInsn(int opcode, int operand) {
+            if (copy()) {
+                out.visitIntInsn(opcode, operand);
+            }
+            position++;
+        }
+
+        @Override
+        public void visitVarInsn(int opcode, int var) {
+            if (copy()) {
+                out.visitVarInsn(opcode, remap(var));
+            }
+            position++;
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            if (copy()) {
+                out.visitTypeInsn(opcode, type);
+            }
+            position++;
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+            if (copy()) {
+                out.visitFieldInsn(opcode, owner, name, descriptor);
+            }
+            position++;
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+            if (copy()) {
+                out.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+            }
+            position++;
+        }
+
+        @Override
+        public void visitJumpInsn(int opcode, Label label) {
+            if (copy()) {
+                // The condition of the loop jumps to the exit of the fused loop
+                out.visitJumpInsn(opcode, position == task.loop.condition ? exit : label);
+            }
+            position++;
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            if (copy()) {
+                out.visitLdcInsn(value);
+            }
+            position++;
+        }
+
+        @Override
+        public void visitIincInsn(int var, int increment) {
+            if (copy()) {
+                out.visitIincInsn(remap(var), increment);
+            }
+            position++;
+        }
+
+        @Override
+        public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+            if (copy()) {
+                out.visitTableSwitchInsn(min, max, dflt, labels);
+            }
+            position++;
+        }
+
+        @Override
+        public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+            if (copy()) {
+                out.visitLookupSwitchInsn(dflt, keys, labels);
+            }
+            position++;
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+            if (copy()) {
+                out.visitMultiANewArrayInsn(descriptor, numDimensions);
+            }
+            position++;
+        }
+    }
+
+    private static void copy(MethodVisitor mv, TaskLoop task, int[] fusedSlots, int from, int to, boolean includeEndLabels, Label exit) {
+        ASMParallelLoopSplitter.acceptMethod(task.reader, task.method, new RangeCopier(mv, task, fusedSlots, from, to, includeEndLabels, exit));
+    }
+
+    private static Object getZero(Type type) {
+        switch (type.getSort()) {
+            case Type.LONG:
+                return 0L;
+            case Type.FLOAT:
+                return 0.0f;
+            case Type.DOUBLE:
+                return 0.0;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * @param temporaryLengths
+     *            for each parameter, the length of the array if it can be
+     *            replaced with a local variable, or -1.
+     * @return a method with a single parallel loop that runs the body of each
+     *         task in order, with the parameters that are not temporaries, or
+     *         {@code null} if the tasks cannot be fused into a single loop.
+     */
+    static Method fuseLoops(String methodName, Class<?>[] parameterTypes, String[] parameterNames, List<Method> tasks, List<int[]> taskArguments, int[] temporaryLengths) {
+        final Class<?> declaringClass = tasks.get(0).getDeclaringClass();
+        final List<TaskLoop> loops = new ArrayList<>();
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                Method method = tasks.get(i);
+                Class<?> klass = method.getDeclaringClass();
+                if (!Modifier.isStatic(method.getModifiers()) || klass.getClassLoader() != declaringClass.getClassLoader() || !klass.getPackageName().equals(declaringClass.getPackageName())) {
+                    return null;
+                }
+                byte[] classFile = ASMParallelLoopSplitter.readClassFile(klass);
+                if (classFile == null) {
+                    return null;
+                }
+                ClassReader reader = new ClassReader(classFile);
+                LoopAnalyzer analyzer = new LoopAnalyzer();
+                ASMParallelLoopSplitter.acceptMethod(reader, method, analyzer);
+                LoopShape loop = ASMParallelLoopSplitter.findLoop(analyzer);
+                if (loop == null || analyzer.hasHandlers || ASMParallelLoopSplitter.accessesPrivateMembers(analyzer, klass.getClassLoader())) {
+                    return null;
+                }
+                TaskLoop task = new TaskLoop(method, reader, analyzer, loop, taskArguments.get(i));
+                if (!isFusible(task)) {
+                    return null;
+                }
+                loops.add(task);
+            }
+        } catch (IOException | RuntimeException | LinkageError e) {
+            return null;
+        }
+
+        // Parameters of the fused method
+        final int[] fusedSlots = new int[parameterTypes.length];
+        final List<Class<?>> fusedTypes = new ArrayList<>();
+        int slot = 0;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (temporaryLengths[i] < 0) {
+                fusedSlots[i] = slot;
+                slot += Type.getType(parameterTypes[i]).getSize();
+                fusedTypes.add(parameterTypes[i]);
+            } else {
+                fusedSlots[i] = -1;
+            }
+        }
+
+        // Locals of each task, followed by the locals that replace the temporaries
+        for (TaskLoop task : loops) {
+            task.localBase = slot;
+            slot += Math.max(0, task.analyzer.maxLocals - task.parameterSlots);
+        }
+        final int[] localSlots = new int[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (temporaryLengths[i] < 0) {
+                continue;
+            }
+            if (!parameterTypes[i].isArray() || !parameterTypes[i].getComponentType().isPrimitive()) {
+                return null;
+            }
+            Type component = Type.getType(parameterTypes[i].getComponentType());
+            localSlots[i] = slot;
+            slot += component.getSize();
+            for (TaskLoop task : loops) {
+                for (int parameterSlot = 0; parameterSlot < task.parameterSlots; parameterSlot++) {
+                    if (task.arguments[task.slotParameters[parameterSlot]] == i && !replaceWithLocal(task, parameterSlot, component, temporaryLengths[i], localSlots[i])) {
+                        return null;
+                    }
+                }
+            }
+        }
+
+        final Class<?>[] methodTypes = fusedTypes.toArray(new Class<?>[0]);
+        final String className = Type.getInternalName(declaringClass) + LOOP_SUFFIX + classId.getAndIncrement();
+        final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected ClassLoader getClassLoader() {
+                return declaringClass.getClassLoader();
+            }
+        };
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, className, null, "java/lang/Object", null);
+        MethodVisitor mv = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, methodName, getDescriptor(methodTypes), null, null);
+        mv.visitCode();
+        final Label start = new Label();
+        final Label loopStart = new Label();
+        final Label exit = new Label();
+        final Label end = new Label();
+        final TaskLoop first = loops.get(0);
+        final int inductionVariable = first.localBase + first.loop.var - first.parameterSlots;
+
+        try {
+            mv.visitLabel(start);
+            // Code before the loops, including the initialisation of the induction
+            // variables. The first task goes last, so its induction variable is
+            // initialised right before the loop.
+            for (TaskLoop task : loops.subList(1, loops.size())) {
+                copy(mv, task, fusedSlots, 0, task.loop.init + 1, false, exit);
+            }
+            copy(mv, first, fusedSlots, 0, first.loop.init + 1, false, exit);
+            mv.visitLabel(loopStart);
+            copy(mv, first, fusedSlots, first.loop.init + 1, first.loop.condition + 1, false, exit);
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (temporaryLengths[i] >= 0) {
+                    Type component = Type.getType(parameterTypes[i].getComponentType());
+                    mv.visitLdcInsn(getZero(component));
+                    mv.visitVarInsn(component.getOpcode(Opcodes.ISTORE), localSlots[i]);
+                }
+            }
+            for (TaskLoop task : loops) {
+                if (task != first) {
+                    // The iteration spaces are equal, so the induction variables are too
+                    mv.visitVarInsn(Opcodes.ILOAD, inductionVariable);
+                    mv.visitVarInsn(Opcodes.ISTORE, task.localBase + task.loop.var - task.parameterSlots);
+                }
+                copy(mv, task, fusedSlots, task.loop.condition + 1, task.loop.update, true, exit);
+            }
+            copy(mv, first, fusedSlots, first.loop.update, first.loop.exit - 1, false, exit);
+            mv.visitJumpInsn(Opcodes.GOTO, loopStart);
+            mv.visitLabel(exit);
+            mv.visitInsn(Opcodes.RETURN);
+            mv.visitLabel(end);
+
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (fusedSlots[i] >= 0) {
+                    mv.visitLocalVariable(parameterNames[i], Type.getDescriptor(parameterTypes[i]), null, start, end, fusedSlots[i]);
+                }
+            }
+            String parallelAnnotation = "L" + ASMMethodVisitor.parallelAnnotationClassPath.replace('.', '/') + ";";
+            AnnotationVisitor annotation = mv.visitLocalVariableAnnotation(TypeReference.newTypeReference(TypeReference.LOCAL_VARIABLE).getValue(), null, new Label[] { loopStart }, new Label[] { exit },
+                    new int[] { inductionVariable }, parallelAnnotation, true);
+            annotation.visitEnd();
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+            writer.visitEnd();
+
+            ASMTaskFusion.class.getModule().addReads(declaringClass.getModule());
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+            return define(lookup, className, writer.toByteArray(), methodName, methodTypes);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+}
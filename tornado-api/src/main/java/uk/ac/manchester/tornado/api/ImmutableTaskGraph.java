@@ -117,6 +117,10 @@ public class ImmutableTaskGraph {
         return taskGraph.getDriverInstallTime();
     }
 
+    long getParallelCompileTime() {
+        return taskGraph.getParallelCompileTime();
+    }
+
     long getDataTransfersTime() {
         return taskGraph.getDataTransfersTime();
     }
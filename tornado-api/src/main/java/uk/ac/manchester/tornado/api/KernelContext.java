@@ -41,6 +41,9 @@
  */
 package uk.ac.manchester.tornado.api;
 
+import uk.ac.manchester.tornado.api.collections.math.TornadoAtomics;
+import uk.ac.manchester.tornado.api.collections.math.TornadoSubGroups;
+
 /**
  * Context of TornadoVM execution to exploit kernel-parallel applications, in
  * which the parallelism is implicit.
@@ -48,7 +51,8 @@ package uk.ac.manchester.tornado.api;
  * The application can access thread-id for 1D, 2D and 3D dimensions.
  * Additionally, the application can access local memory (OpenCL terminology),
  * or shared memory (CUDA terminology) as well as synchronization primitives
- * such as barriers.
+ * such as barriers, atomic operations on array elements and subgroup (warp)
+ * operations.
  *
  * <p>
  * <ul>
@@ -205,4 +209,561 @@ public class KernelContext implements ExecutionContext {
     public double[] allocateDoubleLocalArray(int size) {
         return new double[size];
     }
-}
\ No newline at end of file
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicAdd(int[], int, int)}.
+     *
+     * @return the previous value of the element.
+     */
+    public int atomicAdd(int[] array, int index, int value) {
+        return TornadoAtomics.atomicAdd(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicSub(int[], int, int)}.
+     *
+     * @return the previous value of the element.
+     */
+    public int atomicSub(int[] array, int index, int value) {
+        return TornadoAtomics.atomicSub(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicMin(int[], int, int)}.
+     *
+     * @return the previous value of the element.
+     */
+    public int atomicMin(int[] array, int index, int value) {
+        return TornadoAtomics.atomicMin(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicMax(int[], int, int)}.
+     *
+     * @return the previous value of the element.
+     */
+    public int atomicMax(int[] array, int index, int value) {
+        return TornadoAtomics.atomicMax(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicAnd(int[], int, int)}.
+     *
+     * @return the previous value of the element.
+     */
+    public int atomicAnd(int[] array, int index, int value) {
+        return TornadoAtomics.atomicAnd(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicOr(int[], int, int)}.
+     *
+     * @return the previous value of the element.
+     */
+    public int atomicOr(int[] array, int index, int value) {
+        return TornadoAtomics.atomicOr(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicXor(int[], int, int)}.
+     *
+     * @return the previous value of the element.
+     */
+    public int atomicXor(int[] array, int index, int value) {
+        return TornadoAtomics.atomicXor(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicExchange(int[], int, int)}.
+     *
+     * @return the previous value of the element.
+     */
+    public int atomicExchange(int[] array, int index, int value) {
+        return TornadoAtomics.atomicExchange(array, index, value);
+    }
+
+    /**
+     * Atomic compare-and-exchange on an element of an array in global or local
+     * memory. See
+     * {@link TornadoAtomics#atomicCompareAndExchange(int[], int, int, int)}.
+     *
+     * @return the previous value of the element.
+     */
+    public int atomicCompareAndExchange(int[] array, int index, int expected, int value) {
+        return TornadoAtomics.atomicCompareAndExchange(array, index, expected, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicAdd(long[], int, long)}.
+     *
+     * @return the previous value of the element.
+     */
+    public long atomicAdd(long[] array, int index, long value) {
+        return TornadoAtomics.atomicAdd(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicSub(long[], int, long)}.
+     *
+     * @return the previous value of the element.
+     */
+    public long atomicSub(long[] array, int index, long value) {
+        return TornadoAtomics.atomicSub(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicMin(long[], int, long)}.
+     *
+     * @return the previous value of the element.
+     */
+    public long atomicMin(long[] array, int index, long value) {
+        return TornadoAtomics.atomicMin(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicMax(long[], int, long)}.
+     *
+     * @return the previous value of the element.
+     */
+    public long atomicMax(long[] array, int index, long value) {
+        return TornadoAtomics.atomicMax(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicAnd(long[], int, long)}.
+     *
+     * @return the previous value of the element.
+     */
+    public long atomicAnd(long[] array, int index, long value) {
+        return TornadoAtomics.atomicAnd(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicOr(long[], int, long)}.
+     *
+     * @return the previous value of the element.
+     */
+    public long atomicOr(long[] array, int index, long value) {
+        return TornadoAtomics.atomicOr(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicXor(long[], int, long)}.
+     *
+     * @return the previous value of the element.
+     */
+    public long atomicXor(long[] array, int index, long value) {
+        return TornadoAtomics.atomicXor(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicExchange(long[], int, long)}.
+     *
+     * @return the previous value of the element.
+     */
+    public long atomicExchange(long[] array, int index, long value) {
+        return TornadoAtomics.atomicExchange(array, index, value);
+    }
+
+    /**
+     * Atomic compare-and-exchange on an element of an array in global or local
+     * memory. See
+     * {@link TornadoAtomics#atomicCompareAndExchange(long[], int, long, long)}.
+     *
+     * @return the previous value of the element.
+     */
+    public long atomicCompareAndExchange(long[] array, int index, long expected, long value) {
+        return TornadoAtomics.atomicCompareAndExchange(array, index, expected, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicAdd(float[], int, float)}.
+     *
+     * @return the previous value of the element.
+     */
+    public float atomicAdd(float[] array, int index, float value) {
+        return TornadoAtomics.atomicAdd(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicSub(float[], int, float)}.
+     *
+     * @return the previous value of the element.
+     */
+    public float atomicSub(float[] array, int index, float value) {
+        return TornadoAtomics.atomicSub(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicMin(float[], int, float)}.
+     *
+     * @return the previous value of the element.
+     */
+    public float atomicMin(float[] array, int index, float value) {
+        return TornadoAtomics.atomicMin(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicMax(float[], int, float)}.
+     *
+     * @return the previous value of the element.
+     */
+    public float atomicMax(float[] array, int index, float value) {
+        return TornadoAtomics.atomicMax(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicExchange(float[], int, float)}.
+     *
+     * @return the previous value of the element.
+     */
+    public float atomicExchange(float[] array, int index, float value) {
+        return TornadoAtomics.atomicExchange(array, index, value);
+    }
+
+    /**
+     * Atomic compare-and-exchange on an element of an array in global or local
+     * memory. See
+     * {@link TornadoAtomics#atomicCompareAndExchange(float[], int, float, float)}.
+     *
+     * @return the previous value of the element.
+     */
+    public float atomicCompareAndExchange(float[] array, int index, float expected, float value) {
+        return TornadoAtomics.atomicCompareAndExchange(array, index, expected, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicAdd(double[], int, double)}.
+     *
+     * @return the previous value of the element.
+     */
+    public double atomicAdd(double[] array, int index, double value) {
+        return TornadoAtomics.atomicAdd(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicSub(double[], int, double)}.
+     *
+     * @return the previous value of the element.
+     */
+    public double atomicSub(double[] array, int index, double value) {
+        return TornadoAtomics.atomicSub(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicMin(double[], int, double)}.
+     *
+     * @return the previous value of the element.
+     */
+    public double atomicMin(double[] array, int index, double value) {
+        return TornadoAtomics.atomicMin(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicMax(double[], int, double)}.
+     *
+     * @return the previous value of the element.
+     */
+    public double atomicMax(double[] array, int index, double value) {
+        return TornadoAtomics.atomicMax(array, index, value);
+    }
+
+    /**
+     * Atomic operation on an element of an array in global or local memory. See
+     * {@link TornadoAtomics#atomicExchange(double[], int, double)}.
+     *
+     * @return the previous value of the element.
+     */
+    public double atomicExchange(double[] array, int index, double value) {
+        return TornadoAtomics.atomicExchange(array, index, value);
+    }
+
+    /**
+     * Atomic compare-and-exchange on an element of an array in global or local
+     * memory. See
+     * {@link TornadoAtomics#atomicCompareAndExchange(double[], int, double, double)}.
+     *
+     * @return the previous value of the element.
+     */
+    public double atomicCompareAndExchange(double[] array, int index, double expected, double value) {
+        return TornadoAtomics.atomicCompareAndExchange(array, index, expected, value);
+    }
+
+    /**
+     * Number of threads in the subgroup. See {@link TornadoSubGroups#getSubGroupSize()}.
+     * <p>
+     * OpenCL equivalent: get_sub_group_size();
+     * <p>
+     * PTX equivalent: WARP_SZ
+     */
+    public int getSubGroupSize() {
+        return TornadoSubGroups.getSubGroupSize();
+    }
+
+    /**
+     * Index of the thread within its subgroup. See {@link TornadoSubGroups#getSubGroupLocalId()}.
+     * <p>
+     * OpenCL equivalent: get_sub_group_local_id();
+     * <p>
+     * PTX equivalent: %laneid
+     */
+    public int getSubGroupLocalId() {
+        return TornadoSubGroups.getSubGroupLocalId();
+    }
+
+    /**
+     * Index of the subgroup within the work-group. See {@link TornadoSubGroups#getSubGroupId()}.
+     * <p>
+     * OpenCL equivalent: get_sub_group_id();
+     * <p>
+     * PTX equivalent: threadIdx / WARP_SZ
+     */
+    public int getSubGroupId() {
+        return TornadoSubGroups.getSubGroupId();
+    }
+
+    /**
+     * Number of subgroups in the work-group. See {@link TornadoSubGroups#getNumSubGroups()}.
+     * <p>
+     * OpenCL equivalent: get_num_sub_groups();
+     * <p>
+     * PTX equivalent: blockDim / WARP_SZ
+     */
+    public int getNumSubGroups() {
+        return TornadoSubGroups.getNumSubGroups();
+    }
+
+    /**
+     * Reads a value from another thread of the subgroup. See {@link TornadoSubGroups#subGroupShuffle(int, int)}.
+     * <p>
+     * OpenCL equivalent: sub_group_shuffle(value, lane);
+     * <p>
+     * PTX equivalent: shfl.sync.idx
+     */
+    public int subGroupShuffle(int value, int lane) {
+        return TornadoSubGroups.subGroupShuffle(value, lane);
+    }
+
+    /**
+     * Butterfly exchange of a value within the subgroup. See {@link TornadoSubGroups#subGroupShuffleXor(int, int)}.
+     * <p>
+     * OpenCL equivalent: sub_group_shuffle_xor(value, mask);
+     * <p>
+     * PTX equivalent: shfl.sync.bfly
+     */
+    public int subGroupShuffleXor(int value, int mask) {
+        return TornadoSubGroups.subGroupShuffleXor(value, mask);
+    }
+
+    /**
+     * Broadcasts a value to all threads of the subgroup. See {@link TornadoSubGroups#subGroupBroadcast(int, int)}.
+     * <p>
+     * OpenCL equivalent: sub_group_broadcast(value, lane);
+     * <p>
+     * PTX equivalent: shfl.sync.idx
+     */
+    public int subGroupBroadcast(int value, int lane) {
+        return TornadoSubGroups.subGroupBroadcast(value, lane);
+    }
+
+    /**
+     * Reads a value from another thread of the subgroup. See {@link TornadoSubGroups#subGroupShuffle(float, int)}.
+     * <p>
+     * OpenCL equivalent: sub_group_shuffle(value, lane);
+     * <p>
+     * PTX equivalent: shfl.sync.idx
+     */
+    public float subGroupShuffle(float value, int lane) {
+        return TornadoSubGroups.subGroupShuffle(value, lane);
+    }
+
+    /**
+     * Butterfly exchange of a value within the subgroup. See {@link TornadoSubGroups#subGroupShuffleXor(float, int)}.
+     * <p>
+     * OpenCL equivalent: sub_group_shuffle_xor(value, mask);
+     * <p>
+     * PTX equivalent: shfl.sync.bfly
+     */
+    public float subGroupShuffleXor(float value, int mask) {
+        return TornadoSubGroups.subGroupShuffleXor(value, mask);
+    }
+
+    /**
+     * Broadcasts a value to all threads of the subgroup. See {@link TornadoSubGroups#subGroupBroadcast(float, int)}.
+     * <p>
+     * OpenCL equivalent: sub_group_broadcast(value, lane);
+     * <p>
+     * PTX equivalent: shfl.sync.idx
+     */
+    public float subGroupBroadcast(float value, int lane) {
+        return TornadoSubGroups.subGroupBroadcast(value, lane);
+    }
+
+    /**
+     * Subgroup vote. See {@link TornadoSubGroups#subGroupAny(boolean)}.
+     * <p>
+     * OpenCL equivalent: sub_group_any(predicate);
+     * <p>
+     * PTX equivalent: vote.sync.any
+     */
+    public boolean subGroupAny(boolean predicate) {
+        return TornadoSubGroups.subGroupAny(predicate);
+    }
+
+    /**
+     * Subgroup vote. See {@link TornadoSubGroups#subGroupAll(boolean)}.
+     * <p>
+     * OpenCL equivalent: sub_group_all(predicate);
+     * <p>
+     * PTX equivalent: vote.sync.all
+     */
+    public boolean subGroupAll(boolean predicate) {
+        return TornadoSubGroups.subGroupAll(predicate);
+    }
+
+    /**
+     * Subgroup ballot. See {@link TornadoSubGroups#subGroupBallot(boolean)}.
+     * <p>
+     * OpenCL equivalent: sub_group_ballot(predicate).x;
+     * <p>
+     * PTX equivalent: vote.sync.ballot
+     */
+    public int subGroupBallot(boolean predicate) {
+        return TornadoSubGroups.subGroupBallot(predicate);
+    }
+
+    /**
+     * Subgroup reduction. See {@link TornadoSubGroups#subGroupReduceAdd(int)}.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_add(value);
+     * <p>
+     * PTX equivalent: shfl.sync.bfly
+     */
+    public int subGroupReduceAdd(int value) {
+        return TornadoSubGroups.subGroupReduceAdd(value);
+    }
+
+    /**
+     * Subgroup reduction. See {@link TornadoSubGroups#subGroupReduceMin(int)}.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_min(value);
+     * <p>
+     * PTX equivalent: shfl.sync.bfly
+     */
+    public int subGroupReduceMin(int value) {
+        return TornadoSubGroups.subGroupReduceMin(value);
+    }
+
+    /**
+     * Subgroup reduction. See {@link TornadoSubGroups#subGroupReduceMax(int)}.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_max(value);
+     * <p>
+     * PTX equivalent: shfl.sync.bfly
+     */
+    public int subGroupReduceMax(int value) {
+        return TornadoSubGroups.subGroupReduceMax(value);
+    }
+
+    /**
+     * Subgroup prefix sum. See {@link TornadoSubGroups#subGroupInclusiveScanAdd(int)}.
+     * <p>
+     * OpenCL equivalent: sub_group_scan_inclusive_add(value);
+     * <p>
+     * PTX equivalent: shfl.sync.up
+     */
+    public int subGroupInclusiveScanAdd(int value) {
+        return TornadoSubGroups.subGroupInclusiveScanAdd(value);
+    }
+
+    /**
+     * Subgroup prefix sum. See {@link TornadoSubGroups#subGroupExclusiveScanAdd(int)}.
+     * <p>
+     * OpenCL equivalent: sub_group_scan_exclusive_add(value);
+     * <p>
+     * PTX equivalent: shfl.sync.up
+     */
+    public int subGroupExclusiveScanAdd(int value) {
+        return TornadoSubGroups.subGroupExclusiveScanAdd(value);
+    }
+
+    /**
+     * Subgroup reduction. See {@link TornadoSubGroups#subGroupReduceAdd(float)}.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_add(value);
+     * <p>
+     * PTX equivalent: shfl.sync.bfly
+     */
+    public float subGroupReduceAdd(float value) {
+        return TornadoSubGroups.subGroupReduceAdd(value);
+    }
+
+    /**
+     * Subgroup reduction. See {@link TornadoSubGroups#subGroupReduceMin(float)}.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_min(value);
+     * <p>
+     * PTX equivalent: shfl.sync.bfly
+     */
+    public float subGroupReduceMin(float value) {
+        return TornadoSubGroups.subGroupReduceMin(value);
+    }
+
+    /**
+     * Subgroup reduction. See {@link TornadoSubGroups#subGroupReduceMax(float)}.
+     * <p>
+     * OpenCL equivalent: sub_group_reduce_max(value);
+     * <p>
+     * PTX equivalent: shfl.sync.bfly
+     */
+    public float subGroupReduceMax(float value) {
+        return TornadoSubGroups.subGroupReduceMax(value);
+    }
+
+    /**
+     * Subgroup prefix sum. See {@link TornadoSubGroups#subGroupInclusiveScanAdd(float)}.
+     * <p>
+     * OpenCL equivalent: sub_group_scan_inclusive_add(value);
+     * <p>
+     * PTX equivalent: shfl.sync.up
+     */
+    public float subGroupInclusiveScanAdd(float value) {
+        return TornadoSubGroups.subGroupInclusiveScanAdd(value);
+    }
+
+    /**
+     * Subgroup prefix sum. See {@link TornadoSubGroups#subGroupExclusiveScanAdd(float)}.
+     * <p>
+     * OpenCL equivalent: sub_group_scan_exclusive_add(value);
+     * <p>
+     * PTX equivalent: shfl.sync.up
+     */
+    public float subGroupExclusiveScanAdd(float value) {
+        return TornadoSubGroups.subGroupExclusiveScanAdd(value);
+    }
+}
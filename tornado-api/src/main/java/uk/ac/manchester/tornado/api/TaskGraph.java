@@ -41,9 +41,14 @@
  */
 package uk.ac.manchester.tornado.api;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.IntFunction;
 
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.TaskPackage;
@@ -64,7 +69,13 @@ import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task6;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task7;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task8;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task9;
+import uk.ac.manchester.tornado.api.collections.primitives.ParallelScan;
+import uk.ac.manchester.tornado.api.collections.primitives.StreamCompaction;
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorInt;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
 import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.enums.ScanMode;
 import uk.ac.manchester.tornado.api.exceptions.TornadoTaskRuntimeException;
 import uk.ac.manchester.tornado.api.runtime.TornadoAPIProvider;
 
@@ -81,14 +92,28 @@ public class TaskGraph implements TaskGraphInterface {
 
     private static final String ERROR_TASK_NAME_DUPLICATION = "[TornadoVM ERROR]. There are more than 1 tasks with the same task-name. Use different a different task name for each task within a TaskGraph.";
 
+    /**
+     * Host code of the built-in tasks whose work is done by the first task of
+     * their operation when the task-graph runs on the host.
+     */
+    private static final Runnable SKIPPED_ON_HOST = () -> {
+    };
+
     private final String taskGraphName;
     protected TornadoTaskGraphInterface taskGraphImpl;
     protected HashSet<String> taskNames;
 
+    /**
+     * Worker grids of the built-in tasks that use the {@link KernelContext} API,
+     * indexed by {@code <taskGraphName>.<taskId>}.
+     */
+    private Map<String, WorkerGrid> builtinWorkerGrids;
+
     public TaskGraph(String name) {
         this.taskGraphName = name;
         taskGraphImpl = TornadoAPIProvider.loadScheduleRuntime(name);
         taskNames = new HashSet<>();
+        builtinWorkerGrids = new HashMap<>();
     }
 
     private void checkTaskName(String id) {
@@ -686,6 +711,259 @@ public class TaskGraph implements TaskGraphInterface {
         return this;
     }
 
+    /**
+     * Adds a parallel prefix-sum (scan) over an array of integers. The scan is
+     * expanded into the work-group scan tasks of {@link ParallelScan}: one
+     * {@code <id>_scan<level>} task per level of group totals, and one
+     * {@code <id>_add<level>} task per level below the last one. Their worker
+     * grids are registered with the task-graph and are used unless the
+     * {@link GridScheduler} of the execution plan defines the same tasks. The
+     * input must be transferred to the device and the output to the host as any
+     * other task parameter. The input and the output can be the same array.
+     * When the task-graph runs on the host, the scan is computed by
+     * {@link ParallelScan#prefixSumHost(int[], int[], ScanMode)}.
+     *
+     * @param id
+     *            Task-id prefix
+     * @param input
+     *            Input array
+     * @param output
+     *            Output array
+     * @param mode
+     *            {@link ScanMode}
+     * @return {@link TaskGraph}
+     */
+    @Override
+    public TaskGraph prefixSum(String id, int[] input, int[] output, ScanMode mode) {
+        return prefixSum(id, input, output, input.length, mode, int[]::new, ParallelScan::scanGroups, ParallelScan::scanGroups, ParallelScan::addGroupOffsets, ParallelScan::addGroupOffsets,
+                () -> ParallelScan.prefixSumHost(input, output, mode));
+    }
+
+    /**
+     * Adds a parallel prefix-sum (scan) over an array of longs. See
+     * {@link #prefixSum(String, int[], int[], ScanMode)}.
+     */
+    @Override
+    public TaskGraph prefixSum(String id, long[] input, long[] output, ScanMode mode) {
+        return prefixSum(id, input, output, input.length, mode, long[]::new, ParallelScan::scanGroups, ParallelScan::scanGroups, ParallelScan::addGroupOffsets, ParallelScan::addGroupOffsets,
+                () -> ParallelScan.prefixSumHost(input, output, mode));
+    }
+
+    /**
+     * Adds a parallel prefix-sum (scan) over an array of floats. See
+     * {@link #prefixSum(String, int[], int[], ScanMode)}.
+     */
+    @Override
+    public TaskGraph prefixSum(String id, float[] input, float[] output, ScanMode mode) {
+        return prefixSum(id, input, output, input.length, mode, float[]::new, ParallelScan::scanGroups, ParallelScan::scanGroups, ParallelScan::addGroupOffsets, ParallelScan::addGroupOffsets,
+                () -> ParallelScan.prefixSumHost(input, output, mode));
+    }
+
+    /**
+     * Adds a parallel prefix-sum (scan) over an array of doubles. See
+     * {@link #prefixSum(String, int[], int[], ScanMode)}.
+     */
+    @Override
+    public TaskGraph prefixSum(String id, double[] input, double[] output, ScanMode mode) {
+        return prefixSum(id, input, output, input.length, mode, double[]::new, ParallelScan::scanGroups, ParallelScan::scanGroups, ParallelScan::addGroupOffsets, ParallelScan::addGroupOffsets,
+                () -> ParallelScan.prefixSumHost(input, output, mode));
+    }
+
+    /**
+     * Adds a parallel prefix-sum (scan) over a {@link VectorInt}. See
+     * {@link #prefixSum(String, int[], int[], ScanMode)}.
+     */
+    @Override
+    public TaskGraph prefixSum(String id, VectorInt input, VectorInt output, ScanMode mode) {
+        return prefixSum(id, input, output, input.size(), mode, int[]::new, ParallelScan::scanGroups, ParallelScan::scanGroups, ParallelScan::addGroupOffsets, ParallelScan::addGroupOffsets,
+                () -> ParallelScan.prefixSumHost(input, output, mode));
+    }
+
+    /**
+     * Adds a parallel prefix-sum (scan) over a {@link VectorFloat}. See
+     * {@link #prefixSum(String, int[], int[], ScanMode)}.
+     */
+    @Override
+    public TaskGraph prefixSum(String id, VectorFloat input, VectorFloat output, ScanMode mode) {
+        return prefixSum(id, input, output, input.size(), mode, float[]::new, ParallelScan::scanGroups, ParallelScan::scanGroups, ParallelScan::addGroupOffsets, ParallelScan::addGroupOffsets,
+                () -> ParallelScan.prefixSumHost(input, output, mode));
+    }
+
+    private <V, A> TaskGraph prefixSum(String id, V input, V output, int size, ScanMode mode, IntFunction<A> newGroupSums, Task5<KernelContext, V, V, A, Integer> scanInput,
+            Task5<KernelContext, A, A, A, Integer> scanGroupSums, Task3<KernelContext, V, A> addInput, Task3<KernelContext, A, A> addGroupSums, Runnable hostScan) {
+        KernelContext context = new KernelContext();
+        List<A> groupSums = new ArrayList<>();
+        List<Integer> numGroups = new ArrayList<>();
+
+        // Level 0 scans the input; each following level scans the group totals of
+        // the previous one, until they fit in a single work-group
+        numGroups.add(ParallelScan.getNumGroups(size));
+        groupSums.add(newGroupSums.apply(numGroups.get(0)));
+        transferToDevice(DataTransferMode.FIRST_EXECUTION, groupSums.get(0));
+        builtinTask(TaskPackage.createPackage(id + "_scan0", scanInput, context, input, output, groupSums.get(0), ParallelScan.toScanType(mode)), hostScan);
+        addBuiltinWorkerGrid(id + "_scan0", numGroups.get(0));
+        for (int level = 1; numGroups.get(level - 1) > 1; level++) {
+            A values = groupSums.get(level - 1);
+            numGroups.add(ParallelScan.getNumGroups(numGroups.get(level - 1)));
+            groupSums.add(newGroupSums.apply(numGroups.get(level)));
+            transferToDevice(DataTransferMode.FIRST_EXECUTION, groupSums.get(level));
+            builtinTask(TaskPackage.createPackage(id + "_scan" + level, scanGroupSums, context, values, values, groupSums.get(level), ParallelScan.EXCLUSIVE_SCAN), SKIPPED_ON_HOST);
+            addBuiltinWorkerGrid(id + "_scan" + level, numGroups.get(level));
+        }
+
+        // The offsets of each level are complete once the level above is added
+        for (int level = groupSums.size() - 2; level > 0; level--) {
+            builtinTask(TaskPackage.createPackage(id + "_add" + level, addGroupSums, context, groupSums.get(level - 1), groupSums.get(level)), SKIPPED_ON_HOST);
+            addBuiltinWorkerGrid(id + "_add" + level, numGroups.get(level));
+        }
+        if (groupSums.size() > 1) {
+            builtinTask(TaskPackage.createPackage(id + "_add0", addInput, context, output, groupSums.get(0)), SKIPPED_ON_HOST);
+            addBuiltinWorkerGrid(id + "_add0", numGroups.get(0));
+        }
+        return this;
+    }
+
+    /**
+     * Adds a task of a built-in operation. The kernels of the built-in tasks are
+     * only correct with the worker grids they are registered with, so when the
+     * task-graph runs on the host they are replaced by the given Java code.
+     */
+    private void builtinTask(TaskPackage taskPackage, Runnable hostCode) {
+        checkTaskName(taskPackage.getId());
+        taskPackage.setHostCode(hostCode);
+        taskGraphImpl.addTask(taskPackage);
+    }
+
+    private void addBuiltinWorkerGrid(String id, int numGroups) {
+        WorkerGrid workerGrid = new WorkerGrid1D(numGroups * ParallelScan.GROUP_SIZE);
+        workerGrid.setLocalWork(ParallelScan.GROUP_SIZE, 1, 1);
+        builtinWorkerGrids.put(taskGraphName + "." + id, workerGrid);
+    }
+
+    /**
+     * Adds a stream compaction. All elements of the input with a non-zero flag are
+     * written, in order, into the output array, and the number of elements
+     * written is stored in {@code count[0]}. The compaction is expanded into an
+     * exclusive {@link #prefixSum} of the flags followed by a scatter task
+     * ({@code <id>_scatter}) from {@link StreamCompaction}.
+     *
+     * @param id
+     *            Task-id prefix
+     * @param input
+     *            Input array
+     * @param flags
+     *            Selection flags (0 discards the element)
+     * @param output
+     *            Output array, with at least as many elements as the input
+     * @param count
+     *            Array of one element that receives the number of elements
+     *            selected
+     * @return {@link TaskGraph}
+     */
+    @Override
+    public TaskGraph compact(String id, int[] input, int[] flags, int[] output, int[] count) {
+        int[] positions = new int[flags.length];
+        transferToDevice(DataTransferMode.FIRST_EXECUTION, positions);
+        prefixSum(id + "_positions", flags, positions, ScanMode.EXCLUSIVE);
+        task(id + "_scatter", StreamCompaction::scatter, input, flags, positions, output, count);
+        return this;
+    }
+
+    /**
+     * Adds a stream compaction over an array of floats. See
+     * {@link #compact(String, int[], int[], int[], int[])}.
+     */
+    @Override
+    public TaskGraph compact(String id, float[] input, int[] flags, float[] output, int[] count) {
+        int[] positions = new int[flags.length];
+        transferToDevice(DataTransferMode.FIRST_EXECUTION, positions);
+        prefixSum(id + "_positions", flags, positions, ScanMode.EXCLUSIVE);
+        task(id + "_scatter", StreamCompaction::scatter, input, flags, positions, output, count);
+        return this;
+    }
+
+    /**
+     * Adds a stream compaction over a {@link VectorInt}. See
+     * {@link #compact(String, int[], int[], int[], int[])}.
+     */
+    @Override
+    public TaskGraph compact(String id, VectorInt input, int[] flags, VectorInt output, int[] count) {
+        int[] positions = new int[flags.length];
+        transferToDevice(DataTransferMode.FIRST_EXECUTION, positions);
+        prefixSum(id + "_positions", flags, positions, ScanMode.EXCLUSIVE);
+        task(id + "_scatter", StreamCompaction::scatter, input, flags, positions, output, count);
+        return this;
+    }
+
+    /**
+     * Adds a stream compaction over a {@link VectorFloat}. See
+     * {@link #compact(String, int[], int[], int[], int[])}.
+     */
+    @Override
+    public TaskGraph compact(String id, VectorFloat input, int[] flags, VectorFloat output, int[] count) {
+        int[] positions = new int[flags.length];
+        transferToDevice(DataTransferMode.FIRST_EXECUTION, positions);
+        prefixSum(id + "_positions", flags, positions, ScanMode.EXCLUSIVE);
+        task(id + "_scatter", StreamCompaction::scatter, input, flags, positions, output, count);
+        return this;
+    }
+
+    /**
+     * Repeats the whole task-graph a fixed number of times inside the TornadoVM.
+     * The TornadoVM bytecodes of the graph are interpreted in a loop, so there is
+     * no return to the caller between iterations. Data is copied to the device
+     * in the first iteration and back to the host after the last one.
+     *
+     * @param iterations
+     *            Number of iterations
+     * @return {@link TaskGraph}
+     */
+    @Override
+    public TaskGraph loop(int iterations) {
+        taskGraphImpl.loop(iterations, null, 0);
+        return this;
+    }
+
+    /**
+     * Repeats the whole task-graph inside the TornadoVM until a flag computed on
+     * the device is cleared. Before an iteration that is checked, the TornadoVM
+     * sets {@code flag[0]} to 0; the tasks set it to a non-zero value if another
+     * iteration is needed. The flag is read back every {@code checkInterval}
+     * iterations, so a larger interval trades extra iterations for fewer
+     * synchronisations with the device.
+     *
+     * @param flag
+     *            Array of one element. It must be a task parameter.
+     * @param maxIterations
+     *            Maximum number of iterations
+     * @param checkInterval
+     *            Number of iterations between two reads of the flag
+     * @return {@link TaskGraph}
+     */
+    @Override
+    public TaskGraph loopWhile(int[] flag, int maxIterations, int checkInterval) {
+        taskGraphImpl.loop(maxIterations, flag, checkInterval);
+        return this;
+    }
+
+    /**
+     * Swaps the device buffers of two arrays after every iteration of a
+     * task-graph loop (see {@link #loop(int)}). Tasks read from the first array
+     * and write to the second one, and no data is copied between iterations.
+     * After the loop, the first array holds the result of the last iteration.
+     *
+     * @param first
+     *            Array read by the tasks
+     * @param second
+     *            Array written by the tasks, of the same type and length
+     * @return {@link TaskGraph}
+     */
+    @Override
+    public TaskGraph pingPong(Object first, Object second) {
+        taskGraphImpl.pingPong(first, second);
+        return this;
+    }
+
     /**
      * Obtains the task-schedule name that was assigned.
      *
@@ -765,6 +1043,7 @@ public class TaskGraph implements TaskGraphInterface {
         TaskGraph cloneTaskGraph = new TaskGraph(this.getTaskGraphName());
         cloneTaskGraph.taskGraphImpl = this.taskGraphImpl.createImmutableTaskGraph();
         cloneTaskGraph.taskNames = this.taskNames;
+        cloneTaskGraph.builtinWorkerGrids = this.builtinWorkerGrids;
         return new ImmutableTaskGraph(cloneTaskGraph);
     }
 
@@ -779,10 +1058,19 @@ public class TaskGraph implements TaskGraphInterface {
     }
 
     void execute() {
-        taskGraphImpl.schedule().waitOn();
+        if (builtinWorkerGrids.isEmpty()) {
+            taskGraphImpl.schedule().waitOn();
+        } else {
+            execute(new GridScheduler());
+        }
     }
 
     void execute(GridScheduler gridScheduler) {
+        builtinWorkerGrids.forEach((taskName, workerGrid) -> {
+            if (gridScheduler.get(taskName) == null) {
+                gridScheduler.setWorkerGrid(taskName, workerGrid);
+            }
+        });
         taskGraphImpl.schedule(gridScheduler).waitOn();
     }
 
@@ -859,6 +1147,10 @@ public class TaskGraph implements TaskGraphInterface {
         return taskGraphImpl.getDriverInstallTime();
     }
 
+    long getParallelCompileTime() {
+        return taskGraphImpl.getParallelCompileTime();
+    }
+
     long getDataTransfersTime() {
         return taskGraphImpl.getDataTransfersTime();
     }
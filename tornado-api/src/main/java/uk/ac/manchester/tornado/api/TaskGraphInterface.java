@@ -41,6 +41,8 @@
  */
 package uk.ac.manchester.tornado.api;
 
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorInt;
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.TaskPackage;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
@@ -57,6 +59,7 @@ import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task6;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task7;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task8;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task9;
+import uk.ac.manchester.tornado.api.enums.ScanMode;
 
 /**
  * Base interface of the Tornado API.
@@ -542,6 +545,100 @@ public interface TaskGraphInterface {
      */
     TaskGraphInterface prebuiltTask(String id, String entryPoint, String filename, Object[] args, Access[] accesses, TornadoDevice device, int[] dimensions, int[] atomics);
 
+    /**
+     * Adds a parallel prefix-sum (scan) over an array of integers. The scan is
+     * expanded into a sequence of tasks that use the kernels from
+     * {@link uk.ac.manchester.tornado.api.collections.primitives.ParallelScan}.
+     *
+     * @param id
+     *            Task-id prefix
+     * @param input
+     *            Input array
+     * @param output
+     *            Output array. It can be the same array as the input.
+     * @param mode
+     *            {@link ScanMode}
+     * @return {@link TaskGraphInterface}
+     */
+    TaskGraphInterface prefixSum(String id, int[] input, int[] output, ScanMode mode);
+
+    TaskGraphInterface prefixSum(String id, long[] input, long[] output, ScanMode mode);
+
+    TaskGraphInterface prefixSum(String id, float[] input, float[] output, ScanMode mode);
+
+    TaskGraphInterface prefixSum(String id, double[] input, double[] output, ScanMode mode);
+
+    TaskGraphInterface prefixSum(String id, VectorInt input, VectorInt output, ScanMode mode);
+
+    TaskGraphInterface prefixSum(String id, VectorFloat input, VectorFloat output, ScanMode mode);
+
+    /**
+     * Adds a stream compaction: elements of the input with a non-zero flag are
+     * written, in order, into the output, and the number of elements selected is
+     * stored in {@code count[0]}.
+     *
+     * @param id
+     *            Task-id prefix
+     * @param input
+     *            Input array
+     * @param flags
+     *            Selection flags
+     * @param output
+     *            Output array
+     * @param count
+     *            Array of one element with the number of elements selected
+     * @return {@link TaskGraphInterface}
+     */
+    TaskGraphInterface compact(String id, int[] input, int[] flags, int[] output, int[] count);
+
+    TaskGraphInterface compact(String id, float[] input, int[] flags, float[] output, int[] count);
+
+    TaskGraphInterface compact(String id, VectorInt input, int[] flags, VectorInt output, int[] count);
+
+    TaskGraphInterface compact(String id, VectorFloat input, int[] flags, VectorFloat output, int[] count);
+
+    /**
+     * Repeats the whole task-graph a fixed number of times inside the TornadoVM,
+     * without returning to the caller between iterations. Data is copied to the
+     * device before the first iteration and back to the host after the last one.
+     *
+     * @param iterations
+     *            Number of iterations
+     * @return {@link TaskGraphInterface}
+     */
+    TaskGraphInterface loop(int iterations);
+
+    /**
+     * Repeats the whole task-graph inside the TornadoVM until the tasks stop
+     * setting a flag. The TornadoVM clears {@code flag[0]} before an iteration
+     * that is checked and reads it back after it. The loop stops when the flag is
+     * still 0, or after {@code maxIterations}.
+     *
+     * @param flag
+     *            Array of one element, set to a non-zero value by the tasks while
+     *            the computation has not converged. It must be a task parameter.
+     * @param maxIterations
+     *            Maximum number of iterations
+     * @param checkInterval
+     *            Number of iterations between two reads of the flag
+     * @return {@link TaskGraphInterface}
+     */
+    TaskGraphInterface loopWhile(int[] flag, int maxIterations, int checkInterval);
+
+    /**
+     * Swaps the device buffers of two arrays after every iteration of a
+     * task-graph loop, without copies. Tasks read from the first array and write
+     * to the second. After the loop, the first array holds the result of the
+     * last iteration.
+     *
+     * @param first
+     *            Array read by the tasks
+     * @param second
+     *            Array written by the tasks, of the same type and length
+     * @return {@link TaskGraphInterface}
+     */
+    TaskGraphInterface pingPong(Object first, Object second);
+
     /**
      * Obtains the task-schedule name that was assigned.
      *
@@ -369,6 +369,10 @@ public class TornadoExecutionPlan {
             return immutableTaskGraphList.stream().map(ImmutableTaskGraph::getDriverInstallTime).mapToLong(Long::longValue).sum();
         }
 
+        long getParallelCompileTime() {
+            return immutableTaskGraphList.stream().map(ImmutableTaskGraph::getParallelCompileTime).mapToLong(Long::longValue).sum();
+        }
+
         long getDataTransfersTime() {
             return immutableTaskGraphList.stream().map(ImmutableTaskGraph::getDataTransfersTime).mapToLong(Long::longValue).sum();
         }
@@ -114,6 +114,21 @@ public class TornadoProfilerResult implements ProfileInterface {
         return executor.getDriverInstallTime();
     }
 
+    /**
+     * Returns the elapsed time (in ns) of compiling the tasks of the immutable
+     * task-graphs in parallel (option {@code tornado.compiler.parallel}). The
+     * compilation times of the tasks are still accumulated by
+     * {@link #getCompileTime()}, so this time is lower than the compile time when
+     * tasks are compiled concurrently. It is 0 when tasks are compiled
+     * sequentially.
+     *
+     * @return long
+     */
+    @Override
+    public long getParallelCompileTime() {
+        return executor.getParallelCompileTime();
+    }
+
     /**
      * Returns the total data transfer time (in ns) for all immutable task-graphs to
      * perform copies from host to device and device to host.
@@ -71,6 +71,10 @@ public interface TornadoTaskGraphInterface extends ProfileInterface {
 
     void batch(String batchSize);
 
+    void loop(int maxIterations, int[] flag, int checkInterval);
+
+    void pingPong(Object first, Object second);
+
     void apply(Consumer<SchedulableTask> consumer);
 
     void mapAllToInner(TornadoDevice device);
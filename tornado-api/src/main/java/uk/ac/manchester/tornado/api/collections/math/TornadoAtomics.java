@@ -0,0 +1,582 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ *
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api.collections.math;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Atomic read-modify-write operations on elements of primitive arrays. The
+ * arrays can be allocated in global memory (task parameters) or in local memory
+ * via the {@link uk.ac.manchester.tornado.api.KernelContext}.
+ *
+ * <p>
+ * Each operation returns the value stored in the element before the update.
+ * The TornadoVM JIT compiler replaces these calls with the atomic instructions
+ * of the target device ({@code atomic_*} in OpenCL, {@code atom.*} in PTX and
+ * {@code OpAtomic*} in SPIR-V). When the code runs on the JVM, the operations
+ * are implemented with {@link VarHandle} array accessors, so they are also
+ * atomic across Java threads.
+ * </p>
+ *
+ * <p>
+ * Floating-point operations that have no native instruction on the device are
+ * implemented with a compare-and-swap loop over the bits of the element.
+ * </p>
+ */
+public final class TornadoAtomics {
+
+    private static final VarHandle INT_ARRAY = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle LONG_ARRAY = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle FLOAT_ARRAY = MethodHandles.arrayElementVarHandle(float[].class);
+    private static final VarHandle DOUBLE_ARRAY = MethodHandles.arrayElementVarHandle(double[].class);
+
+    private TornadoAtomics() {
+    }
+
+    /**
+     * Atomically adds {@code value} to {@code array[index]}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static int atomicAdd(int[] array, int index, int value) {
+        return (int) INT_ARRAY.getAndAdd(array, index, value);
+    }
+
+    /**
+     * Atomically subtracts {@code value} from {@code array[index]}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static int atomicSub(int[] array, int index, int value) {
+        return (int) INT_ARRAY.getAndAdd(array, index, -value);
+    }
+
+    /**
+     * Atomically stores the minimum of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static int atomicMin(int[] array, int index, int value) {
+        int old;
+        do {
+            old = (int) INT_ARRAY.getVolatile(array, index);
+        } while (old > value && !INT_ARRAY.compareAndSet(array, index, old, value));
+        return old;
+    }
+
+    /**
+     * Atomically stores the maximum of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static int atomicMax(int[] array, int index, int value) {
+        int old;
+        do {
+            old = (int) INT_ARRAY.getVolatile(array, index);
+        } while (old < value && !INT_ARRAY.compareAndSet(array, index, old, value));
+        return old;
+    }
+
+    /**
+     * Atomically stores the bitwise AND of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static int atomicAnd(int[] array, int index, int value) {
+        return (int) INT_ARRAY.getAndBitwiseAnd(array, index, value);
+    }
+
+    /**
+     * Atomically stores the bitwise OR of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static int atomicOr(int[] array, int index, int value) {
+        return (int) INT_ARRAY.getAndBitwiseOr(array, index, value);
+    }
+
+    /**
+     * Atomically stores the bitwise XOR of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static int atomicXor(int[] array, int index, int value) {
+        return (int) INT_ARRAY.getAndBitwiseXor(array, index, value);
+    }
+
+    /**
+     * Atomically replaces {@code array[index]} with {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static int atomicExchange(int[] array, int index, int value) {
+        return (int) INT_ARRAY.getAndSet(array, index, value);
+    }
+
+    /**
+     * Atomically replaces {@code array[index]} with {@code value} if the element is equal to {@code expected}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param expected
+     *            Value the element is compared with.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static int atomicCompareAndExchange(int[] array, int index, int expected, int value) {
+        return (int) INT_ARRAY.compareAndExchange(array, index, expected, value);
+    }
+
+    /**
+     * Atomically adds {@code value} to {@code array[index]}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static long atomicAdd(long[] array, int index, long value) {
+        return (long) LONG_ARRAY.getAndAdd(array, index, value);
+    }
+
+    /**
+     * Atomically subtracts {@code value} from {@code array[index]}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static long atomicSub(long[] array, int index, long value) {
+        return (long) LONG_ARRAY.getAndAdd(array, index, -value);
+    }
+
+    /**
+     * Atomically stores the minimum of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static long atomicMin(long[] array, int index, long value) {
+        long old;
+        do {
+            old = (long) LONG_ARRAY.getVolatile(array, index);
+        } while (old > value && !LONG_ARRAY.compareAndSet(array, index, old, value));
+        return old;
+    }
+
+    /**
+     * Atomically stores the maximum of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static long atomicMax(long[] array, int index, long value) {
+        long old;
+        do {
+            old = (long) LONG_ARRAY.getVolatile(array, index);
+        } while (old < value && !LONG_ARRAY.compareAndSet(array, index, old, value));
+        return old;
+    }
+
+    /**
+     * Atomically stores the bitwise AND of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static long atomicAnd(long[] array, int index, long value) {
+        return (long) LONG_ARRAY.getAndBitwiseAnd(array, index, value);
+    }
+
+    /**
+     * Atomically stores the bitwise OR of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static long atomicOr(long[] array, int index, long value) {
+        return (long) LONG_ARRAY.getAndBitwiseOr(array, index, value);
+    }
+
+    /**
+     * Atomically stores the bitwise XOR of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static long atomicXor(long[] array, int index, long value) {
+        return (long) LONG_ARRAY.getAndBitwiseXor(array, index, value);
+    }
+
+    /**
+     * Atomically replaces {@code array[index]} with {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static long atomicExchange(long[] array, int index, long value) {
+        return (long) LONG_ARRAY.getAndSet(array, index, value);
+    }
+
+    /**
+     * Atomically replaces {@code array[index]} with {@code value} if the element is equal to {@code expected}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param expected
+     *            Value the element is compared with.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static long atomicCompareAndExchange(long[] array, int index, long expected, long value) {
+        return (long) LONG_ARRAY.compareAndExchange(array, index, expected, value);
+    }
+
+    /**
+     * Atomically adds {@code value} to {@code array[index]}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static float atomicAdd(float[] array, int index, float value) {
+        float old;
+        do {
+            old = (float) FLOAT_ARRAY.getVolatile(array, index);
+        } while (!FLOAT_ARRAY.compareAndSet(array, index, old, old + value));
+        return old;
+    }
+
+    /**
+     * Atomically subtracts {@code value} from {@code array[index]}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static float atomicSub(float[] array, int index, float value) {
+        float old;
+        do {
+            old = (float) FLOAT_ARRAY.getVolatile(array, index);
+        } while (!FLOAT_ARRAY.compareAndSet(array, index, old, old - value));
+        return old;
+    }
+
+    /**
+     * Atomically stores the minimum of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static float atomicMin(float[] array, int index, float value) {
+        float old;
+        do {
+            old = (float) FLOAT_ARRAY.getVolatile(array, index);
+        } while (!FLOAT_ARRAY.compareAndSet(array, index, old, Math.min(old, value)));
+        return old;
+    }
+
+    /**
+     * Atomically stores the maximum of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static float atomicMax(float[] array, int index, float value) {
+        float old;
+        do {
+            old = (float) FLOAT_ARRAY.getVolatile(array, index);
+        } while (!FLOAT_ARRAY.compareAndSet(array, index, old, Math.max(old, value)));
+        return old;
+    }
+
+    /**
+     * Atomically replaces {@code array[index]} with {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static float atomicExchange(float[] array, int index, float value) {
+        return (float) FLOAT_ARRAY.getAndSet(array, index, value);
+    }
+
+    /**
+     * Atomically replaces {@code array[index]} with {@code value} if the bits of the element are equal to the bits of {@code expected}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param expected
+     *            Value the element is compared with.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static float atomicCompareAndExchange(float[] array, int index, float expected, float value) {
+        return (float) FLOAT_ARRAY.compareAndExchange(array, index, expected, value);
+    }
+
+    /**
+     * Atomically adds {@code value} to {@code array[index]}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static double atomicAdd(double[] array, int index, double value) {
+        double old;
+        do {
+            old = (double) DOUBLE_ARRAY.getVolatile(array, index);
+        } while (!DOUBLE_ARRAY.compareAndSet(array, index, old, old + value));
+        return old;
+    }
+
+    /**
+     * Atomically subtracts {@code value} from {@code array[index]}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static double atomicSub(double[] array, int index, double value) {
+        double old;
+        do {
+            old = (double) DOUBLE_ARRAY.getVolatile(array, index);
+        } while (!DOUBLE_ARRAY.compareAndSet(array, index, old, old - value));
+        return old;
+    }
+
+    /**
+     * Atomically stores the minimum of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static double atomicMin(double[] array, int index, double value) {
+        double old;
+        do {
+            old = (double) DOUBLE_ARRAY.getVolatile(array, index);
+        } while (!DOUBLE_ARRAY.compareAndSet(array, index, old, Math.min(old, value)));
+        return old;
+    }
+
+    /**
+     * Atomically stores the maximum of {@code array[index]} and {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static double atomicMax(double[] array, int index, double value) {
+        double old;
+        do {
+            old = (double) DOUBLE_ARRAY.getVolatile(array, index);
+        } while (!DOUBLE_ARRAY.compareAndSet(array, index, old, Math.max(old, value)));
+        return old;
+    }
+
+    /**
+     * Atomically replaces {@code array[index]} with {@code value}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static double atomicExchange(double[] array, int index, double value) {
+        return (double) DOUBLE_ARRAY.getAndSet(array, index, value);
+    }
+
+    /**
+     * Atomically replaces {@code array[index]} with {@code value} if the bits of the element are equal to the bits of {@code expected}.
+     *
+     * @param array
+     *            Input array.
+     * @param index
+     *            Index of the element to update.
+     * @param expected
+     *            Value the element is compared with.
+     * @param value
+     *            Operand of the update.
+     * @return the previous value of the element.
+     */
+    public static double atomicCompareAndExchange(double[] array, int index, double expected, double value) {
+        return (double) DOUBLE_ARRAY.compareAndExchange(array, index, expected, value);
+    }
+
+}
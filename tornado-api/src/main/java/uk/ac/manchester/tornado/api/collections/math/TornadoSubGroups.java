@@ -0,0 +1,280 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ *
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api.collections.math;
+
+/**
+ * Subgroup (warp in CUDA terminology) operations. A subgroup is a set of
+ * threads of a work-group that execute in lock-step and can exchange values
+ * through registers, without going through local memory.
+ *
+ * <p>
+ * The TornadoVM JIT compiler replaces these calls with the subgroup built-ins
+ * of the target device ({@code cl_khr_subgroups} and {@code cl_intel_subgroups}
+ * in OpenCL, {@code shfl.sync} and {@code vote.sync} in PTX and
+ * {@code OpGroupNonUniform*} in SPIR-V). All threads of a subgroup must reach
+ * the call, so the calls must not be placed in divergent control flow.
+ * </p>
+ *
+ * <p>
+ * When the code runs on the JVM each thread forms its own subgroup of size
+ * one, so shuffles and broadcasts return the value of the calling thread and
+ * reductions return their input.
+ * </p>
+ */
+public final class TornadoSubGroups {
+
+    private TornadoSubGroups() {
+    }
+
+    /**
+     * @return the number of threads in the subgroup of the calling thread.
+     */
+    public static int getSubGroupSize() {
+        return 1;
+    }
+
+    /**
+     * @return the index of the calling thread within its subgroup.
+     */
+    public static int getSubGroupLocalId() {
+        return 0;
+    }
+
+    /**
+     * @return the index of the subgroup of the calling thread within the
+     *         work-group.
+     */
+    public static int getSubGroupId() {
+        return 0;
+    }
+
+    /**
+     * @return the number of subgroups in the work-group.
+     */
+    public static int getNumSubGroups() {
+        return 1;
+    }
+
+    /**
+     * Reads {@code value} from the thread with subgroup-local index
+     * {@code lane}.
+     *
+     * @param value
+     *            Value provided by the calling thread.
+     * @param lane
+     *            Subgroup-local index of the source thread.
+     * @return the value provided by the source thread.
+     */
+    public static int subGroupShuffle(int value, int lane) {
+        return value;
+    }
+
+    /**
+     * Reads {@code value} from the thread with subgroup-local index
+     * {@code lane}.
+     *
+     * @param value
+     *            Value provided by the calling thread.
+     * @param lane
+     *            Subgroup-local index of the source thread.
+     * @return the value provided by the source thread.
+     */
+    public static float subGroupShuffle(float value, int lane) {
+        return value;
+    }
+
+    /**
+     * Reads {@code value} from the thread whose subgroup-local index is the one
+     * of the calling thread xor {@code mask} (butterfly exchange).
+     *
+     * @param value
+     *            Value provided by the calling thread.
+     * @param mask
+     *            Mask applied to the subgroup-local index.
+     * @return the value provided by the source thread.
+     */
+    public static int subGroupShuffleXor(int value, int mask) {
+        return value;
+    }
+
+    /**
+     * Reads {@code value} from the thread whose subgroup-local index is the one
+     * of the calling thread xor {@code mask} (butterfly exchange).
+     *
+     * @param value
+     *            Value provided by the calling thread.
+     * @param mask
+     *            Mask applied to the subgroup-local index.
+     * @return the value provided by the source thread.
+     */
+    public static float subGroupShuffleXor(float value, int mask) {
+        return value;
+    }
+
+    /**
+     * Broadcasts {@code value} from the thread with subgroup-local index
+     * {@code lane} to all threads of the subgroup. {@code lane} must be the same
+     * for all threads of the subgroup.
+     *
+     * @param value
+     *            Value provided by the calling thread.
+     * @param lane
+     *            Subgroup-local index of the source thread.
+     * @return the value provided by the source thread.
+     */
+    public static int subGroupBroadcast(int value, int lane) {
+        return value;
+    }
+
+    /**
+     * Broadcasts {@code value} from the thread with subgroup-local index
+     * {@code lane} to all threads of the subgroup. {@code lane} must be the same
+     * for all threads of the subgroup.
+     *
+     * @param value
+     *            Value provided by the calling thread.
+     * @param lane
+     *            Subgroup-local index of the source thread.
+     * @return the value provided by the source thread.
+     */
+    public static float subGroupBroadcast(float value, int lane) {
+        return value;
+    }
+
+    /**
+     * @return true if {@code predicate} is true for any thread of the subgroup.
+     */
+    public static boolean subGroupAny(boolean predicate) {
+        return predicate;
+    }
+
+    /**
+     * @return true if {@code predicate} is true for all threads of the
+     *         subgroup.
+     */
+    public static boolean subGroupAll(boolean predicate) {
+        return predicate;
+    }
+
+    /**
+     * @return a mask in which bit {@code i} is set if {@code predicate} is true
+     *         for the thread with subgroup-local index {@code i}. Only the first
+     *         32 threads of the subgroup are represented.
+     */
+    public static int subGroupBallot(boolean predicate) {
+        return predicate ? 1 : 0;
+    }
+
+    /**
+     * @return the sum of {@code value} over all threads of the subgroup.
+     */
+    public static int subGroupReduceAdd(int value) {
+        return value;
+    }
+
+    /**
+     * @return the sum of {@code value} over all threads of the subgroup.
+     */
+    public static float subGroupReduceAdd(float value) {
+        return value;
+    }
+
+    /**
+     * @return the minimum of {@code value} over all threads of the subgroup.
+     */
+    public static int subGroupReduceMin(int value) {
+        return value;
+    }
+
+    /**
+     * @return the minimum of {@code value} over all threads of the subgroup.
+     */
+    public static float subGroupReduceMin(float value) {
+        return value;
+    }
+
+    /**
+     * @return the maximum of {@code value} over all threads of the subgroup.
+     */
+    public static int subGroupReduceMax(int value) {
+        return value;
+    }
+
+    /**
+     * @return the maximum of {@code value} over all threads of the subgroup.
+     */
+    public static float subGroupReduceMax(float value) {
+        return value;
+    }
+
+    /**
+     * @return the sum of {@code value} over the threads of the subgroup with a
+     *         subgroup-local index lower than or equal to the calling thread.
+     */
+    public static int subGroupInclusiveScanAdd(int value) {
+        return value;
+    }
+
+    /**
+     * @return the sum of {@code value} over the threads of the subgroup with a
+     *         subgroup-local index lower than or equal to the calling thread.
+     */
+    public static float subGroupInclusiveScanAdd(float value) {
+        return value;
+    }
+
+    /**
+     * @return the sum of {@code value} over the threads of the subgroup with a
+     *         subgroup-local index lower than the calling thread.
+     */
+    public static int subGroupExclusiveScanAdd(int value) {
+        return 0;
+    }
+
+    /**
+     * @return the sum of {@code value} over the threads of the subgroup with a
+     *         subgroup-local index lower than the calling thread.
+     */
+    public static float subGroupExclusiveScanAdd(float value) {
+        return 0.0f;
+    }
+}
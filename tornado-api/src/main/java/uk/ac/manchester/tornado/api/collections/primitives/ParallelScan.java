@@ -0,0 +1,420 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ *
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api.collections.primitives;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorInt;
+import uk.ac.manchester.tornado.api.enums.ScanMode;
+
+/**
+ * Work-group parallel prefix-sum (scan) kernels.
+ * <p>
+ * The input is split in groups of {@link #GROUP_SIZE} consecutive elements,
+ * one element per thread, so the loads and stores of a work-group are
+ * coalesced. The scan is computed in two kinds of passes:
+ * <ul>
+ * <li>{@code scanGroups}: each work-group scans its elements with a tree scan
+ * in local memory and stores the total of the group in the {@code groupSums}
+ * array. The group totals are scanned (exclusive) with the same kernel, level
+ * by level, until they fit in a single work-group.</li>
+ * <li>{@code addGroupOffsets}: from the last level down, each element adds the
+ * scanned total of the groups before its own.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * The kernels use the {@link KernelContext} API and must be launched with
+ * {@code getNumGroups(size) * GROUP_SIZE} threads and work-groups of
+ * {@link #GROUP_SIZE} threads, so they are not run on the host: when the
+ * task-graph runs on the host, the first task of
+ * {@link uk.ac.manchester.tornado.api.TaskGraph#prefixSum(String, int[], int[], ScanMode)}
+ * is replaced by the multi-threaded {@code prefixSumHost} and the following
+ * ones are skipped.
+ * </p>
+ * <p>
+ * These kernels are used by
+ * {@link uk.ac.manchester.tornado.api.TaskGraph#prefixSum(String, int[], int[], ScanMode)}.
+ * </p>
+ */
+public final class ParallelScan {
+
+    public static final int INCLUSIVE_SCAN = 1;
+    public static final int EXCLUSIVE_SCAN = 0;
+
+    /**
+     * Number of threads of the work-groups that run the scan kernels.
+     */
+    public static final int GROUP_SIZE = 256;
+
+    /**
+     * Minimum number of elements scanned by each block of the host scan.
+     */
+    private static final int HOST_MIN_BLOCK_SIZE = 1 << 14;
+
+    private ParallelScan() {
+    }
+
+    /**
+     * It computes the number of work-groups used to scan {@code numElements}
+     * elements, which is also the number of group totals.
+     *
+     * @param numElements
+     *            Number of elements to scan.
+     * @return number of work-groups.
+     */
+    public static int getNumGroups(int numElements) {
+        return Math.max(1, (numElements + GROUP_SIZE - 1) / GROUP_SIZE);
+    }
+
+    public static int toScanType(ScanMode mode) {
+        return (mode == ScanMode.INCLUSIVE) ? INCLUSIVE_SCAN : EXCLUSIVE_SCAN;
+    }
+
+    /**
+     * Scans the elements of each work-group and stores the total of the group
+     * in {@code groupSums[groupIdx]}. The input and the output can be the same
+     * array.
+     */
+    public static void scanGroups(KernelContext context, int[] input, int[] output, int[] groupSums, final int scanType) {
+        int globalIdx = context.globalIdx;
+        int localIdx = context.localIdx;
+        int[] scratch = context.allocateIntLocalArray(GROUP_SIZE);
+
+        int value = 0;
+        if (globalIdx < input.length) {
+            value = input[globalIdx];
+        }
+        scratch[localIdx] = value;
+
+        // Inclusive tree scan of the work-group in local memory
+        for (int offset = 1; offset < GROUP_SIZE; offset *= 2) {
+            context.localBarrier();
+            int previous = 0;
+            if (localIdx >= offset) {
+                previous = scratch[localIdx - offset];
+            }
+            context.localBarrier();
+            scratch[localIdx] += previous;
+        }
+
+        context.localBarrier();
+        int sum = scratch[localIdx];
+        if (globalIdx < output.length) {
+            if (scanType == INCLUSIVE_SCAN) {
+                output[globalIdx] = sum;
+            } else {
+                int exclusive = 0;
+                if (localIdx > 0) {
+                    exclusive = scratch[localIdx - 1];
+                }
+                output[globalIdx] = exclusive;
+            }
+        }
+        if (localIdx == (GROUP_SIZE - 1)) {
+            groupSums[context.groupIdx] = sum;
+        }
+    }
+
+    public static void scanGroups(KernelContext context, long[] input, long[] output, long[] groupSums, final int scanType) {
+        int globalIdx = context.globalIdx;
+        int localIdx = context.localIdx;
+        long[] scratch = context.allocateLongLocalArray(GROUP_SIZE);
+
+        long value = 0;
+        if (globalIdx < input.length) {
+            value = input[globalIdx];
+        }
+        scratch[localIdx] = value;
+
+        // Inclusive tree scan of the work-group in local memory
+        for (int offset = 1; offset < GROUP_SIZE; offset *= 2) {
+            context.localBarrier();
+            long previous = 0;
+            if (localIdx >= offset) {
+                previous = scratch[localIdx - offset];
+            }
+            context.localBarrier();
+            scratch[localIdx] += previous;
+        }
+
+        context.localBarrier();
+        long sum = scratch[localIdx];
+        if (globalIdx < output.length) {
+            if (scanType == INCLUSIVE_SCAN) {
+                output[globalIdx] = sum;
+            } else {
+                long exclusive = 0;
+                if (localIdx > 0) {
+                    exclusive = scratch[localIdx - 1];
+                }
+                output[globalIdx] = exclusive;
+            }
+        }
+        if (localIdx == (GROUP_SIZE - 1)) {
+            groupSums[context.groupIdx] = sum;
+        }
+    }
+
+    public static void scanGroups(KernelContext context, float[] input, float[] output, float[] groupSums, final int scanType) {
+        int globalIdx = context.globalIdx;
+        int localIdx = context.localIdx;
+        float[] scratch = context.allocateFloatLocalArray(GROUP_SIZE);
+
+        float value = 0;
+        if (globalIdx < input.length) {
+            value = input[globalIdx];
+        }
+        scratch[localIdx] = value;
+
+        // Inclusive tree scan of the work-group in local memory
+        for (int offset = 1; offset < GROUP_SIZE; offset *= 2) {
+            context.localBarrier();
+            float previous = 0;
+            if (localIdx >= offset) {
+                previous = scratch[localIdx - offset];
+            }
+            context.localBarrier();
+            scratch[localIdx] += previous;
+        }
+
+        context.localBarrier();
+        float sum = scratch[localIdx];
+        if (globalIdx < output.length) {
+            if (scanType == INCLUSIVE_SCAN) {
+                output[globalIdx] = sum;
+            } else {
+                float exclusive = 0;
+                if (localIdx > 0) {
+                    exclusive = scratch[localIdx - 1];
+                }
+                output[globalIdx] = exclusive;
+            }
+        }
+        if (localIdx == (GROUP_SIZE - 1)) {
+            groupSums[context.groupIdx] = sum;
+        }
+    }
+
+    public static void scanGroups(KernelContext context, double[] input, double[] output, double[] groupSums, final int scanType) {
+        int globalIdx = context.globalIdx;
+        int localIdx = context.localIdx;
+        double[] scratch = context.allocateDoubleLocalArray(GROUP_SIZE);
+
+        double value = 0;
+        if (globalIdx < input.length) {
+            value = input[globalIdx];
+        }
+        scratch[localIdx] = value;
+
+        // Inclusive tree scan of the work-group in local memory
+        for (int offset = 1; offset < GROUP_SIZE; offset *= 2) {
+            context.localBarrier();
+            double previous = 0;
+            if (localIdx >= offset) {
+                previous = scratch[localIdx - offset];
+            }
+            context.localBarrier();
+            scratch[localIdx] += previous;
+        }
+
+        context.localBarrier();
+        double sum = scratch[localIdx];
+        if (globalIdx < output.length) {
+            if (scanType == INCLUSIVE_SCAN) {
+                output[globalIdx] = sum;
+            } else {
+                double exclusive = 0;
+                if (localIdx > 0) {
+                    exclusive = scratch[localIdx - 1];
+                }
+                output[globalIdx] = exclusive;
+            }
+        }
+        if (localIdx == (GROUP_SIZE - 1)) {
+            groupSums[context.groupIdx] = sum;
+        }
+    }
+
+    /**
+     * The vectors are scanned through their backing arrays.
+     */
+    public static void scanGroups(KernelContext context, VectorInt input, VectorInt output, int[] groupSums, final int scanType) {
+        scanGroups(context, input.getArray(), output.getArray(), groupSums, scanType);
+    }
+
+    public static void scanGroups(KernelContext context, VectorFloat input, VectorFloat output, float[] groupSums, final int scanType) {
+        scanGroups(context, input.getArray(), output.getArray(), groupSums, scanType);
+    }
+
+    /**
+     * Adds to each element the exclusive scan of the totals of the previous
+     * work-groups, computed by the next level of {@code scanGroups}.
+     */
+    public static void addGroupOffsets(KernelContext context, int[] output, int[] groupSums) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < output.length) {
+            output[globalIdx] += groupSums[context.groupIdx];
+        }
+    }
+
+    public static void addGroupOffsets(KernelContext context, long[] output, long[] groupSums) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < output.length) {
+            output[globalIdx] += groupSums[context.groupIdx];
+        }
+    }
+
+    public static void addGroupOffsets(KernelContext context, float[] output, float[] groupSums) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < output.length) {
+            output[globalIdx] += groupSums[context.groupIdx];
+        }
+    }
+
+    public static void addGroupOffsets(KernelContext context, double[] output, double[] groupSums) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < output.length) {
+            output[globalIdx] += groupSums[context.groupIdx];
+        }
+    }
+
+    public static void addGroupOffsets(KernelContext context, VectorInt output, int[] groupSums) {
+        addGroupOffsets(context, output.getArray(), groupSums);
+    }
+
+    public static void addGroupOffsets(KernelContext context, VectorFloat output, float[] groupSums) {
+        addGroupOffsets(context, output.getArray(), groupSums);
+    }
+
+    /**
+     * Multi-threaded prefix-sum for the host.
+     *
+     * @param input
+     *            Input array.
+     * @param output
+     *            Output array. It can be the same array as the input.
+     * @param mode
+     *            {@link ScanMode}
+     */
+    public static void prefixSumHost(int[] input, int[] output, ScanMode mode) {
+        copyForScan(input, output, input.length, mode);
+        Arrays.parallelPrefix(output, Integer::sum);
+    }
+
+    public static void prefixSumHost(long[] input, long[] output, ScanMode mode) {
+        copyForScan(input, output, input.length, mode);
+        Arrays.parallelPrefix(output, Long::sum);
+    }
+
+    public static void prefixSumHost(float[] input, float[] output, ScanMode mode) {
+        // There is no parallelPrefix for float[] in java.util.Arrays. The blocks
+        // are scanned in parallel, and then the totals of the previous blocks are
+        // added to each block.
+        final int numElements = input.length;
+        final int numBlocks = Math.max(1, Math.min(4 * ForkJoinPool.getCommonPoolParallelism(), numElements / HOST_MIN_BLOCK_SIZE));
+        final int blockSize = (numElements + numBlocks - 1) / numBlocks;
+        final float[] blockSums = new float[numBlocks];
+
+        IntStream.range(0, numBlocks).parallel().forEach(block -> {
+            int end = Math.min(numElements, (block + 1) * blockSize);
+            float acc = 0;
+            for (int i = block * blockSize; i < end; i++) {
+                float value = input[i];
+                if (mode == ScanMode.INCLUSIVE) {
+                    acc += value;
+                    output[i] = acc;
+                } else {
+                    output[i] = acc;
+                    acc += value;
+                }
+            }
+            blockSums[block] = acc;
+        });
+
+        float offset = 0;
+        for (int block = 0; block < numBlocks; block++) {
+            float sum = blockSums[block];
+            blockSums[block] = offset;
+            offset += sum;
+        }
+
+        IntStream.range(1, numBlocks).parallel().forEach(block -> {
+            int end = Math.min(numElements, (block + 1) * blockSize);
+            for (int i = block * blockSize; i < end; i++) {
+                output[i] += blockSums[block];
+            }
+        });
+    }
+
+    public static void prefixSumHost(double[] input, double[] output, ScanMode mode) {
+        copyForScan(input, output, input.length, mode);
+        Arrays.parallelPrefix(output, Double::sum);
+    }
+
+    public static void prefixSumHost(VectorInt input, VectorInt output, ScanMode mode) {
+        prefixSumHost(input.getArray(), output.getArray(), mode);
+    }
+
+    public static void prefixSumHost(VectorFloat input, VectorFloat output, ScanMode mode) {
+        prefixSumHost(input.getArray(), output.getArray(), mode);
+    }
+
+    /**
+     * Copies the input into the output, shifted by one element with a leading
+     * zero for the exclusive scan, so the inclusive scan of the output gives
+     * the result. System.arraycopy handles overlapping copies, so the scan can
+     * be computed in place.
+     */
+    private static void copyForScan(Object input, Object output, int length, ScanMode mode) {
+        if (mode == ScanMode.INCLUSIVE) {
+            System.arraycopy(input, 0, output, 0, length);
+        } else if (length > 0) {
+            System.arraycopy(input, 0, output, 1, length - 1);
+            Array.setInt(output, 0, 0);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ *
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api.collections.primitives;
+
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorInt;
+
+/**
+ * Stream-compaction kernels. Given an input array and an array of flags, the
+ * compaction writes, in order, all elements of the input with a non-zero flag
+ * into the output array, and the number of elements selected into
+ * {@code count[0]}.
+ * <p>
+ * The compaction is computed as an exclusive {@link ParallelScan} of the flags,
+ * which gives the output position of each selected element, followed by the
+ * {@code scatter} kernel.
+ * </p>
+ */
+public final class StreamCompaction {
+
+    private StreamCompaction() {
+    }
+
+    public static void scatter(int[] input, int[] flags, int[] positions, int[] output, int[] count) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            if (flags[i] != 0) {
+                output[positions[i]] = input[i];
+            }
+            if (i == (input.length - 1)) {
+                count[0] = positions[i] + ((flags[i] != 0) ? 1 : 0);
+            }
+        }
+    }
+
+    public static void scatter(float[] input, int[] flags, int[] positions, float[] output, int[] count) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            if (flags[i] != 0) {
+                output[positions[i]] = input[i];
+            }
+            if (i == (input.length - 1)) {
+                count[0] = positions[i] + ((flags[i] != 0) ? 1 : 0);
+            }
+        }
+    }
+
+    public static void scatter(VectorInt input, int[] flags, int[] positions, VectorInt output, int[] count) {
+        for (@Parallel int i = 0; i < input.size(); i++) {
+            if (flags[i] != 0) {
+                output.set(positions[i], input.get(i));
+            }
+            if (i == (input.size() - 1)) {
+                count[0] = positions[i] + ((flags[i] != 0) ? 1 : 0);
+            }
+        }
+    }
+
+    public static void scatter(VectorFloat input, int[] flags, int[] positions, VectorFloat output, int[] count) {
+        for (@Parallel int i = 0; i < input.size(); i++) {
+            if (flags[i] != 0) {
+                output.set(positions[i], input.get(i));
+            }
+            if (i == (input.size() - 1)) {
+                count[0] = positions[i] + ((flags[i] != 0) ? 1 : 0);
+            }
+        }
+    }
+
+    /**
+     * Sequential compaction for the host.
+     *
+     * @return number of elements written in the output.
+     */
+    public static int compactHost(int[] input, int[] flags, int[] output) {
+        int count = 0;
+        for (int i = 0; i < input.length; i++) {
+            if (flags[i] != 0) {
+                output[count++] = input[i];
+            }
+        }
+        return count;
+    }
+
+    public static int compactHost(float[] input, int[] flags, float[] output) {
+        int count = 0;
+        for (int i = 0; i < input.length; i++) {
+            if (flags[i] != 0) {
+                output[count++] = input[i];
+            }
+        }
+        return count;
+    }
+
+    public static int compactHost(VectorInt input, int[] flags, VectorInt output) {
+        return compactHost(input.getArray(), flags, output.getArray());
+    }
+
+    public static int compactHost(VectorFloat input, int[] flags, VectorFloat output) {
+        return compactHost(input.getArray(), flags, output.getArray());
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ *
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api.collections.types;
+
+/**
+ * Half-precision (IEEE 754 binary16) floating-point values, stored as the raw
+ * 16 bits in a {@code short}.
+ *
+ * <p>
+ * Half values halve the memory traffic of {@code float} arrays. The
+ * conversions are compiled to {@code vload_half}/{@code vstore_half} in OpenCL,
+ * {@code cvt} with {@code .f16} registers in PTX and {@code OpFConvert} from
+ * {@code OpTypeFloat 16} in SPIR-V. The Java implementation is used when
+ * running on the host.
+ * </p>
+ *
+ * <p>
+ * {@link #add}, {@link #sub}, {@link #mult} and {@link #div} are computed in
+ * half precision on devices that support it: {@code half} with
+ * {@code cl_khr_fp16} in OpenCL, {@code .f16} instructions on {@code sm_53} and
+ * newer in PTX (except the division), and {@code OpTypeFloat 16} on SPIR-V
+ * devices with 16-bit floating-point support. Elsewhere they are computed in
+ * single precision and rounded back to half precision, which gives the same
+ * correctly rounded results.
+ * </p>
+ */
+public final class HalfFloat {
+
+    /**
+     * Number of bytes of a half-precision value.
+     */
+    public static final int BYTES = 2;
+
+    public static final short POSITIVE_INFINITY = (short) 0x7C00;
+
+    public static final short NEGATIVE_INFINITY = (short) 0xFC00;
+
+    public static final short NaN = (short) 0x7E00;
+
+    /**
+     * Largest finite half-precision value (65504).
+     */
+    public static final short MAX_VALUE = (short) 0x7BFF;
+
+    private HalfFloat() {
+    }
+
+    /**
+     * Converts a half-precision value into a float. The conversion is exact.
+     *
+     * @param half
+     *            bits of the half-precision value
+     * @return float value
+     */
+    public static float toFloat(short half) {
+        int bits = half & 0xFFFF;
+        int sign = (bits & 0x8000) << 16;
+        int exponent = (bits >>> 10) & 0x1F;
+        int mantissa = bits & 0x3FF;
+
+        if (exponent == 0x1F) {
+            // Infinity or NaN
+            return Float.intBitsToFloat(sign | 0x7F800000 | (mantissa << 13));
+        } else if (exponent == 0) {
+            // Zero or subnormal: mantissa * 2^-24
+            float value = mantissa * 0x1p-24f;
+            return (sign != 0) ? -value : value;
+        }
+        return Float.intBitsToFloat(sign | ((exponent + 112) << 23) | (mantissa << 13));
+    }
+
+    /**
+     * Converts a float into a half-precision value, rounding to the nearest even
+     * value. Values larger than {@link #MAX_VALUE} become infinity.
+     *
+     * @param value
+     *            float value
+     * @return bits of the half-precision value
+     */
+    public static short toHalf(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int exponent = (bits >>> 23) & 0xFF;
+        int mantissa = bits & 0x7FFFFF;
+
+        if (exponent == 0xFF) {
+            // Infinity or NaN (keeping NaNs quiet)
+            return (short) (sign | 0x7C00 | (mantissa != 0 ? 0x200 | (mantissa >>> 13) : 0));
+        }
+
+        int halfExponent = exponent - 127 + 15;
+        if (halfExponent >= 0x1F) {
+            return (short) (sign | 0x7C00);
+        } else if (halfExponent <= 0) {
+            if (halfExponent < -10) {
+                return (short) sign;
+            }
+            // Subnormal half value: shift the mantissa with its implicit bit
+            mantissa |= 0x800000;
+            int shift = 14 - halfExponent;
+            int halfMantissa = mantissa >>> shift;
+            int remainder = mantissa & ((1 << shift) - 1);
+            int halfway = 1 << (shift - 1);
+            if (remainder > halfway || (remainder == halfway && (halfMantissa & 1) != 0)) {
+                halfMantissa++;
+            }
+            return (short) (sign | halfMantissa);
+        }
+
+        int result = sign | (halfExponent << 10) | (mantissa >>> 13);
+        int remainder = mantissa & 0x1FFF;
+        if (remainder > 0x1000 || (remainder == 0x1000 && (result & 1) != 0)) {
+            // A carry into the exponent gives the next binade (or infinity)
+            result++;
+        }
+        return (short) result;
+    }
+
+    public static short add(short a, short b) {
+        return toHalf(toFloat(a) + toFloat(b));
+    }
+
+    public static short sub(short a, short b) {
+        return toHalf(toFloat(a) - toFloat(b));
+    }
+
+    public static short mult(short a, short b) {
+        return toHalf(toFloat(a) * toFloat(b));
+    }
+
+    public static short div(short a, short b) {
+        return toHalf(toFloat(a) / toFloat(b));
+    }
+
+    public static boolean isNaN(short half) {
+        return (half & 0x7C00) == 0x7C00 && (half & 0x3FF) != 0;
+    }
+}
@@ -140,6 +140,32 @@ public class ImageFloat implements PrimitiveStorage<FloatBuffer> {
         storage[StorageFormats.toRowMajor(j, i, X)] = value;
     }
 
+    /**
+     * Bilinear sample at a fractional position. Pixel centres are at integer
+     * coordinates and positions outside the image are clamped to the edge. When
+     * the image is allocated as an OpenCL image ({@code -Dtornado.opencl.images=True})
+     * this maps to a {@code read_imagef} through a linear-filtering sampler.
+     *
+     * @param x
+     *            column position
+     * @param y
+     *            row position
+     * @return interpolated value
+     */
+    public float sample(float x, float y) {
+        final int x0 = (int) Math.floor(x);
+        final int y0 = (int) Math.floor(y);
+        final float a = x - x0;
+        final float b = y - y0;
+        final int xl = Math.max(0, Math.min(x0, X - 1));
+        final int xh = Math.max(0, Math.min(x0 + 1, X - 1));
+        final int yl = Math.max(0, Math.min(y0, Y - 1));
+        final int yh = Math.max(0, Math.min(y0 + 1, Y - 1));
+        final float top = (1 - a) * get(xl, yl) + a * get(xh, yl);
+        final float bottom = (1 - a) * get(xl, yh) + a * get(xh, yh);
+        return (1 - b) * top + b * bottom;
+    }
+
     public void put(float[] array) {
         System.arraycopy(array, 0, storage, 0, array.length);
     }
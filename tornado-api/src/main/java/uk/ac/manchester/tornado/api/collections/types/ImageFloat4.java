@@ -121,6 +121,36 @@ public class ImageFloat4 implements PrimitiveStorage<FloatBuffer> {
         value.storeToArray(storage, offset);
     }
 
+    /**
+     * Bilinear sample at a fractional position. Pixel centres are at integer
+     * coordinates and positions outside the image are clamped to the edge. When
+     * the image is allocated as an OpenCL image ({@code -Dtornado.opencl.images=True})
+     * this maps to a {@code read_imagef} through a linear-filtering sampler.
+     *
+     * @param x
+     *            column position
+     * @param y
+     *            row position
+     * @return interpolated pixel
+     */
+    public Float4 sample(float x, float y) {
+        final int x0 = (int) Math.floor(x);
+        final int y0 = (int) Math.floor(y);
+        final float a = x - x0;
+        final float b = y - y0;
+        final int xl = Math.max(0, Math.min(x0, X - 1));
+        final int xh = Math.max(0, Math.min(x0 + 1, X - 1));
+        final int yl = Math.max(0, Math.min(y0, Y - 1));
+        final int yh = Math.max(0, Math.min(y0 + 1, Y - 1));
+        final Float4 result = new Float4();
+        for (int i = 0; i < ELEMENT_SIZE; i++) {
+            final float top = (1 - a) * storage[toIndex(xl, yl) + i] + a * storage[toIndex(xh, yl) + i];
+            final float bottom = (1 - a) * storage[toIndex(xl, yh) + i] + a * storage[toIndex(xh, yh) + i];
+            result.set(i, (1 - b) * top + b * bottom);
+        }
+        return result;
+    }
+
     public int X() {
         return X;
     }
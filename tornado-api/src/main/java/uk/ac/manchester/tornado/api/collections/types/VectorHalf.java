@@ -0,0 +1,233 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ *
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING.  If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.api.collections.types;
+
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+/**
+ * Vector of half-precision floating-point values. The elements are stored as
+ * {@link HalfFloat} bits in a {@code short[]}, and read and written as
+ * {@code float}.
+ */
+public class VectorHalf implements PrimitiveStorage<ShortBuffer> {
+
+    private final int numElements;
+    private final short[] storage;
+    private static final int ELEMENT_SIZE = 1;
+
+    protected VectorHalf(int numElements, short[] array) {
+        this.numElements = numElements;
+        this.storage = array;
+    }
+
+    /**
+     * Creates an empty vector with
+     *
+     * @param numElements
+     *            Number of elements
+     */
+    public VectorHalf(int numElements) {
+        this(numElements, new short[numElements]);
+    }
+
+    /**
+     * Creates an new vector from the provided storage of half-precision values
+     *
+     * @param storage
+     *            Array to be stored
+     */
+    public VectorHalf(short[] storage) {
+        this(storage.length / ELEMENT_SIZE, storage);
+    }
+
+    /**
+     * Creates a new vector with the values of the float array, rounded to half
+     * precision
+     *
+     * @param values
+     *            Float values
+     */
+    public VectorHalf(float[] values) {
+        this(values.length);
+        set(values);
+    }
+
+    public short[] getArray() {
+        return storage;
+    }
+
+    /**
+     * Returns the value at the given index of this vector, converted to float
+     *
+     * @param index
+     *            Position
+     * @return value
+     */
+    public float get(int index) {
+        return HalfFloat.toFloat(storage[index]);
+    }
+
+    /**
+     * Sets the value at the given index of this vector, rounded to half precision
+     *
+     * @param index
+     *            Position
+     * @param value
+     *            Float value to be stored
+     */
+    public void set(int index, float value) {
+        storage[index] = HalfFloat.toHalf(value);
+    }
+
+    /**
+     * Returns the half-precision bits at the given index of this vector
+     *
+     * @param index
+     *            Position
+     * @return half-precision value
+     */
+    public short getHalf(int index) {
+        return storage[index];
+    }
+
+    /**
+     * Sets the half-precision bits at the given index of this vector
+     *
+     * @param index
+     *            Position
+     * @param value
+     *            half-precision value
+     */
+    public void setHalf(int index, short value) {
+        storage[index] = value;
+    }
+
+    /**
+     * Sets the elements of this vector to the values of the provided array,
+     * rounded to half precision
+     *
+     * @param values
+     *            Float values
+     */
+    public void set(float[] values) {
+        for (int i = 0; i < values.length; i++) {
+            storage[i] = HalfFloat.toHalf(values[i]);
+        }
+    }
+
+    /**
+     * Sets all elements to value
+     *
+     * @param value
+     *            Fill input array with value
+     */
+    public void fill(float value) {
+        Arrays.fill(storage, HalfFloat.toHalf(value));
+    }
+
+    /**
+     * Converts this vector into a float array
+     *
+     * @return float values
+     */
+    public float[] toFloatArray() {
+        float[] values = new float[numElements];
+        for (int i = 0; i < numElements; i++) {
+            values[i] = HalfFloat.toFloat(storage[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Duplicates this vector
+     *
+     * @return a new Vector Half
+     */
+    public VectorHalf duplicate() {
+        return new VectorHalf(Arrays.copyOf(storage, storage.length));
+    }
+
+    /**
+     * Prints the vector using the specified format string
+     *
+     * @param fmt
+     *            String Format
+     * @return String
+     */
+    public String toString(String fmt) {
+        StringBuilder sb = new StringBuilder("[");
+        sb.append("[ ");
+        for (int i = 0; i < numElements; i++) {
+            sb.append(String.format(fmt, get(i)) + " ");
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    public String toString() {
+        String str = String.format("VectorHalf <%d>", numElements);
+        if (numElements < 32) {
+            str += toString(FloatOps.FMT);
+        }
+        return str;
+    }
+
+    @Override
+    public void loadFromBuffer(ShortBuffer buffer) {
+        asBuffer().put(buffer);
+    }
+
+    @Override
+    public ShortBuffer asBuffer() {
+        return ShortBuffer.wrap(storage);
+    }
+
+    @Override
+    public int size() {
+        return numElements;
+    }
+
+    public int getLength() {
+        return numElements;
+    }
+}
@@ -64,6 +64,7 @@ public class TaskPackage {
     private final int taskType;
     private final Object[] taskParameters;
     private long numThreadsToRun;
+    private Runnable hostCode;
 
     public TaskPackage(String id, Task code) {
         this.id = id;
@@ -185,6 +186,23 @@ public class TaskPackage {
         return numThreadsToRun;
     }
 
+    /**
+     * Sets the Java code that replaces the task when the task-graph runs on the
+     * host (bailouts and the sequential candidate of the dynamic
+     * reconfiguration). It is used by the built-in tasks, whose kernels are only
+     * correct with the worker grid they are launched with on the device.
+     *
+     * @param hostCode
+     *            Java code that computes the task on the host.
+     */
+    public void setHostCode(Runnable hostCode) {
+        this.hostCode = hostCode;
+    }
+
+    public Runnable getHostCode() {
+        return hostCode;
+    }
+
     /**
      * Get all parameters to the lambda expression. First parameter is reserved to
      * the input code.
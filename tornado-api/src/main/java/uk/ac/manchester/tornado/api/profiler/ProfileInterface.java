@@ -51,6 +51,8 @@ public interface ProfileInterface {
 
     long getDriverInstallTime();
 
+    long getParallelCompileTime();
+
     long getDataTransfersTime();
 
     long getDeviceWriteTime();
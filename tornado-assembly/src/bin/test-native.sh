@@ -1,6 +1,10 @@
 #!/usr/bin/env bash
 
 read -ra selected_backends < "${TORNADO_SDK}/etc/tornado.backend"
+
+echo -e "\nTesting the Event Pool\n"
+tornado uk.ac.manchester.tornado.drivers.common.tests.TestEventPool
+
 if [[ $selected_backends == *"ptx"* ]]; then
   echo -e "\nTesting the Native PTX API\n"
   tornado uk.ac.manchester.tornado.drivers.ptx.tests.TestPTXJITCompiler
@@ -11,6 +15,7 @@ if [[ $selected_backends == *"opencl"* ]]; then
   echo -e "\nTesting the Native OpenCL API\n"
   tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLJITCompiler
   tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLTornadoCompiler
+  tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOCLEventPool
 fi
 
 if [[ $selected_backends == *"spirv"* ]]; then
@@ -20,6 +25,7 @@ if [[ $selected_backends == *"spirv"* ]]; then
   echo -e "\nTesting the Native SPIR-V API\n"
   tornado uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVJITCompiler
   tornado uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVTornadoCompiler
+  tornado uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVBinaryOptimizer
 
 
   echo -e "\nTesting the Native OpenCL API\n"
@@ -87,6 +87,10 @@ __BENCHMARKS__ = [
 	"mandelbrot",
 	"dft",
 	"juliaset",
+	"prefixsum",
+	"sparse",
+	"blas",
+	"fft",
 ]
 ## ========================================================================================
 
@@ -101,10 +105,13 @@ allSizes = {
 	"nbody": [[512, 1024, 2048, 4096, 16384, 327684], [__MAX_ITERATIONS__]],
 	"saxpy": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536, 131072, 262144, 524288, 1048576, 2097152, 4194304], [__MAX_ITERATIONS__]],
 	"sgemm": [[128, 256, 512, 1024, 2048], [__MAX_ITERATIONS__]],
+	"blas": [[128, 256, 512, 1024, 2048], [__MAX_ITERATIONS__]],
 	"blackscholes": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536, 1048576, 4194304], [__MAX_ITERATIONS__]],
 	"dft": [[256, 512, 1024, 2048, 4096, 8192], [__MAX_ITERATIONS__]],
+	"fft": [[256, 512, 1000, 1024, 2048, 4096, 8192], [__MAX_ITERATIONS__]],
 	"blurFilter": [[256, 512, 1024, 2048, 8192, 16384], [__MAX_ITERATIONS__]],
 	"juliaset": [[512, 1024, 2048, 4096, 8192], [__MAX_ITERATIONS__]],
+	"prefixsum": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536, 131072, 262144, 524288, 1048576, 2097152, 4194304], [__MAX_ITERATIONS__]],
 }
 
 mediumSizes = {
@@ -113,10 +120,13 @@ mediumSizes = {
 	"nbody": [[512, 1024, 2048, 4096], ["getSize()"]],
 	"saxpy": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536, 131072, 262144, 524288, 1048576, 2097152], ["getSize()"]],
 	"sgemm": [[128, 256, 512, 1024, 2048], ["getSize()"]],
+	"blas": [[128, 256, 512, 1024, 2048], ["getSize()"]],
 	"blackscholes": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536], ["getSize()"]],
 	"dft": [[256, 512, 1024, 2048, 4096], ["getSize()"]],
+	"fft": [[256, 512, 1000, 1024, 4096, 8192], ["getSize()"]],
 	"blurFilter": [[256, 512, 1024, 2048], ["getSize()"]],
 	"juliaset": [[512, 1024, 2048, 4096], ["getSize()"]],
+	"prefixsum": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536, 131072, 262144, 524288, 1048576, 2097152], ["getSize()"]],
 }
 
 ## ========================================================================================
@@ -60,13 +60,24 @@ __TEST_THE_WORLD__ = [
     TestEntry("uk.ac.manchester.tornado.unittests.vectortypes.TestDoubles"),
     TestEntry("uk.ac.manchester.tornado.unittests.vectortypes.TestInts"),
     TestEntry("uk.ac.manchester.tornado.unittests.vectortypes.TestVectorAllocation"),
+    TestEntry("uk.ac.manchester.tornado.unittests.vectortypes.TestHalfFloat"),
     TestEntry("uk.ac.manchester.tornado.unittests.prebuilt.PrebuiltTest"), 
     TestEntry("uk.ac.manchester.tornado.unittests.virtualization.TestsVirtualLayer"),   
     TestEntry("uk.ac.manchester.tornado.unittests.tasks.TestSingleTaskSingleDevice"),     
     TestEntry("uk.ac.manchester.tornado.unittests.tasks.TestMultipleTasksSingleDevice"), 
+    TestEntry("uk.ac.manchester.tornado.unittests.tasks.TestMultipleTasksPTX"),
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.tasks.TestMultipleTasksPTX",
+              testMethods=["testCUDAGraphsWithParameterUpdate"],
+              testParameters=["-Dtornado.ptx.cudagraphs=True"]),
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.tasks.TestMultipleQueuesOpenCL",
+              testParameters=["-Dtornado.opencl.queues=3"]),
+    TestEntry("uk.ac.manchester.tornado.unittests.tasks.TestTaskGraphLoops"),
     TestEntry("uk.ac.manchester.tornado.unittests.temporary.values.TestTemporaryValues"), 
     TestEntry("uk.ac.manchester.tornado.unittests.images.TestImages"),  
     TestEntry("uk.ac.manchester.tornado.unittests.images.TestResizeImage"),  
+    TestEntry("uk.ac.manchester.tornado.unittests.images.TestImageObjects"),
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.images.TestImageObjects",
+              testParameters=["-Dtornado.opencl.images=True"]),
     TestEntry("uk.ac.manchester.tornado.unittests.branching.TestConditionals"),  
     TestEntry("uk.ac.manchester.tornado.unittests.loops.TestLoops"),  
     TestEntry("uk.ac.manchester.tornado.unittests.loops.TestParallelDimensions"),  
@@ -77,16 +88,28 @@ __TEST_THE_WORLD__ = [
     TestEntry("uk.ac.manchester.tornado.unittests.reductions.InstanceReduction"),
     TestEntry("uk.ac.manchester.tornado.unittests.reductions.MultipleReductions"),
     TestEntry("uk.ac.manchester.tornado.unittests.reductions.TestReductionsAutomatic"),
+    TestEntry("uk.ac.manchester.tornado.unittests.prefixsum.TestPrefixSum"),
     TestEntry("uk.ac.manchester.tornado.unittests.instances.TestInstances"),  
     TestEntry("uk.ac.manchester.tornado.unittests.matrices.TestMatrixTypes"),
+    TestEntry("uk.ac.manchester.tornado.unittests.matrices.TestBlasKernels"),
+    TestEntry("uk.ac.manchester.tornado.unittests.matrices.TestFFT"),
+    TestEntry("uk.ac.manchester.tornado.unittests.matrices.TestSparseMatrices"),
+    TestEntry("uk.ac.manchester.tornado.unittests.matrices.TestGraphAnalytics"),
     TestEntry("uk.ac.manchester.tornado.unittests.api.TestAPI"), 
     TestEntry("uk.ac.manchester.tornado.unittests.api.TestIO"),  
     TestEntry("uk.ac.manchester.tornado.unittests.executor.TestExecutor"),
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.executor.TestExecutor",
+              testMethods=["test05", "test06"],
+              testParameters=["-Dtornado.compiler.parallel=True"]),
+    TestEntry("uk.ac.manchester.tornado.unittests.executor.TestConcurrentSubmission"),
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.executor.TestBackgroundCompilation",
+              testParameters=["-Dtornado.compiler.background=True"]),
     TestEntry("uk.ac.manchester.tornado.unittests.grid.TestGrid"),         
     TestEntry("uk.ac.manchester.tornado.unittests.grid.TestGridScheduler"), 
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.api.TestCombinedTaskGraph"),  
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.api.TestVectorAdditionKernelContext"),
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.api.KernelContextWorkGroupTests"),
+    TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.api.TestSubGroups"),
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.matrices.TestMatrixMultiplicationKernelContext"), 
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.reductions.TestReductionsIntegersKernelContext"), 
     TestEntry("uk.ac.manchester.tornado.unittests.kernelcontext.reductions.TestReductionsFloatsKernelContext"),
@@ -106,13 +129,19 @@ __TEST_THE_WORLD__ = [
     TestEntry("uk.ac.manchester.tornado.unittests.arrays.TestNewArrays"),  
     TestEntry("uk.ac.manchester.tornado.unittests.dynsize.Resize"),       
     TestEntry("uk.ac.manchester.tornado.unittests.loops.TestLoopTransformations"),   
+    TestEntry("uk.ac.manchester.tornado.unittests.loops.TestLoopVectorization"),
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.loops.TestLoopVectorization",
+              testParameters=["-Dtornado.vectorize.auto=True"]),
     TestEntry("uk.ac.manchester.tornado.unittests.numpromotion.TestNumericPromotion"), 
     TestEntry("uk.ac.manchester.tornado.unittests.numpromotion.Types"),    
     TestEntry("uk.ac.manchester.tornado.unittests.numpromotion.Inlining"), 
     TestEntry("uk.ac.manchester.tornado.unittests.fails.CodeFail"),        
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.fails.TestJavaParallelFallback",
+              testParameters=["-Dtornado.java.parallel=True", "-Dtornado.java.threads=4"]),
     TestEntry("uk.ac.manchester.tornado.unittests.parameters.ParameterTests"),
     TestEntry("uk.ac.manchester.tornado.unittests.codegen.CodeGen"),       
     TestEntry("uk.ac.manchester.tornado.unittests.atomics.TestAtomics"),   
+    TestEntry("uk.ac.manchester.tornado.unittests.atomics.TestAtomicArrays"),
     TestEntry("uk.ac.manchester.tornado.unittests.compute.ComputeTests"),  
     TestEntry("uk.ac.manchester.tornado.unittests.dynamic.TestDynamic"), 
     TestEntry("uk.ac.manchester.tornado.unittests.tasks.TestMultipleFunctions"), 
@@ -121,6 +150,19 @@ __TEST_THE_WORLD__ = [
     TestEntry(testName="uk.ac.manchester.tornado.unittests.tasks.TestMultipleFunctions",
               testParameters=[
                   "-XX:CompileCommand=dontinline,uk/ac/manchester/tornado/unittests/tasks/TestMultipleFunctions.*"]),
+    TestEntry("uk.ac.manchester.tornado.unittests.tasks.TestTaskFusion"),
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.tasks.TestTaskFusion",
+              testParameters=["-Dtornado.fusion=True"]),
+
+    ## Tests for the SPIR-V binary optimizer (ignored by the OpenCL and PTX backends)
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.arrays.TestArrays",
+              testParameters=["-Dtornado.spirv.optimize=True"]),
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.loops.TestLoops",
+              testParameters=["-Dtornado.spirv.optimize=True"]),
+
+    ## Tests for the OpenCL host platform (only built on Linux)
+    TestEntry(testName="uk.ac.manchester.tornado.unittests.reductions.TestReductionsHostPlatform",
+              testParameters=["-Dtornado.opencl.host=True"]),
 
     ## Tests for Virtual Devices
     TestEntry(testName="uk.ac.manchester.tornado.unittests.virtual.TestVirtualDeviceKernel",
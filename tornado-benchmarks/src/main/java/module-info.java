@@ -12,6 +12,7 @@ module tornado.benchmarks {
     exports uk.ac.manchester.tornado.benchmarks;
     exports uk.ac.manchester.tornado.benchmarks.addImage;
     exports uk.ac.manchester.tornado.benchmarks.blackscholes;
+    exports uk.ac.manchester.tornado.benchmarks.blas;
     exports uk.ac.manchester.tornado.benchmarks.blurFilter;
     exports uk.ac.manchester.tornado.benchmarks.convolvearray;
     exports uk.ac.manchester.tornado.benchmarks.convolveimage;
@@ -20,15 +21,18 @@ module tornado.benchmarks {
     exports uk.ac.manchester.tornado.benchmarks.dotimage;
     exports uk.ac.manchester.tornado.benchmarks.dotvector;
     exports uk.ac.manchester.tornado.benchmarks.euler;
+    exports uk.ac.manchester.tornado.benchmarks.fft;
     exports uk.ac.manchester.tornado.benchmarks.hilbert;
     exports uk.ac.manchester.tornado.benchmarks.mandelbrot;
     exports uk.ac.manchester.tornado.benchmarks.montecarlo;
     exports uk.ac.manchester.tornado.benchmarks.nbody;
+    exports uk.ac.manchester.tornado.benchmarks.prefixsum;
     exports uk.ac.manchester.tornado.benchmarks.rotateimage;
     exports uk.ac.manchester.tornado.benchmarks.rotatevector;
     exports uk.ac.manchester.tornado.benchmarks.saxpy;
     exports uk.ac.manchester.tornado.benchmarks.sgemm;
     exports uk.ac.manchester.tornado.benchmarks.sgemv;
+    exports uk.ac.manchester.tornado.benchmarks.sparse;
     exports uk.ac.manchester.tornado.benchmarks.spmv;
     exports uk.ac.manchester.tornado.benchmarks.stencil;
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package uk.ac.manchester.tornado.benchmarks.blas;
+
+import java.util.Random;
+
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DFloat;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.matrix.BlasKernels;
+
+public class BlasJava extends BenchmarkDriver {
+
+    private final int size;
+
+    private Matrix2DFloat a;
+    private Matrix2DFloat b;
+    private Matrix2DFloat c;
+
+    public BlasJava(int iterations, int size) {
+        super(iterations);
+        this.size = size;
+    }
+
+    static void initData(Matrix2DFloat a, Matrix2DFloat b) {
+        final Random random = new Random(7);
+        for (int i = 0; i < a.getNumRows(); i++) {
+            for (int j = 0; j < a.getNumColumns(); j++) {
+                a.set(i, j, random.nextFloat());
+                b.set(i, j, random.nextFloat());
+            }
+        }
+    }
+
+    @Override
+    public void setUp() {
+        a = new Matrix2DFloat(size, size);
+        b = new Matrix2DFloat(size, size);
+        c = new Matrix2DFloat(size, size);
+        initData(a, b);
+    }
+
+    @Override
+    public void tearDown() {
+        a = null;
+        b = null;
+        c = null;
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        BlasKernels.sgemm(1.0f, a, b, 0.0f, c);
+    }
+
+    @Override
+    public void barrier() {
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        return true;
+    }
+
+    public void printSummary() {
+        System.out.printf("id=java-serial, elapsed=%f, per iteration=%f\n", getElapsed(), getElapsedPerIteration());
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package uk.ac.manchester.tornado.benchmarks.blas;
+
+import static uk.ac.manchester.tornado.api.collections.math.TornadoMath.abs;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DFloat;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.matrix.BlasKernels;
+import uk.ac.manchester.tornado.matrix.GemmTiling;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado -m tornado.benchmarks/uk.ac.manchester.tornado.benchmarks.BenchmarkRunner blas
+ * </code>
+ */
+public class BlasTornado extends BenchmarkDriver {
+
+    private final int size;
+
+    private Matrix2DFloat a;
+    private Matrix2DFloat b;
+    private Matrix2DFloat c;
+    private GemmTiling tiling;
+
+    public BlasTornado(int iterations, int size) {
+        super(iterations);
+        this.size = size;
+    }
+
+    private static TornadoDevice getBenchmarkDevice() {
+        String selected = TornadoRuntime.getProperty("benchmark.device");
+        if (selected == null) {
+            return TornadoRuntime.getTornadoRuntime().getDefaultDevice();
+        }
+        String[] indices = selected.split(":");
+        return TornadoRuntime.getTornadoRuntime().getDriver(Integer.parseInt(indices[0])).getDevice(Integer.parseInt(indices[1]));
+    }
+
+    @Override
+    public void setUp() {
+        a = new Matrix2DFloat(size, size);
+        b = new Matrix2DFloat(size, size);
+        c = new Matrix2DFloat(size, size);
+        BlasJava.initData(a, b);
+
+        tiling = GemmTiling.select(getBenchmarkDevice(), size, size, size, false);
+        taskGraph = new TaskGraph("benchmark") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b);
+        tiling.addSgemm(taskGraph, "sgemm", 1.0f, a, b, 0.0f, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        immutableTaskGraph = taskGraph.snapshot();
+        executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        if (tiling != GemmTiling.NONE) {
+            executionPlan.withGridScheduler(new GridScheduler("benchmark.sgemm", tiling.createWorkerGrid(size, size)));
+        }
+        executionPlan.withWarmUp();
+    }
+
+    @Override
+    public void tearDown() {
+        executionResult.getProfilerResult().dumpProfiles();
+
+        a = null;
+        b = null;
+        c = null;
+
+        executionPlan.resetDevice();
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        executionResult = executionPlan.withDevice(device).execute();
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+
+        final Matrix2DFloat result = new Matrix2DFloat(size, size);
+
+        benchmarkMethod(device);
+        executionPlan.clearProfiles();
+
+        BlasKernels.sgemm(1.0f, a, b, 0.0f, result);
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (abs(result.get(i, j) - c.get(i, j)) > 0.01f * size) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public void printSummary() {
+        if (isValid()) {
+            System.out.printf("id=%s, tiling=%s, elapsed=%f, per iteration=%f\n", getProperty("benchmark.device"), tiling, getElapsed(), getElapsedPerIteration());
+        } else {
+            System.out.printf("id=%s produced invalid result\n", getProperty("benchmark.device"));
+        }
+    }
+}
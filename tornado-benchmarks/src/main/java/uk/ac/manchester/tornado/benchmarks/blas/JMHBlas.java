@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package uk.ac.manchester.tornado.benchmarks.blas;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.matrix.BlasKernels;
+import uk.ac.manchester.tornado.matrix.GemmTiling;
+
+/**
+ * Compares the Java and TornadoVM versions of the
+ * {@link BlasKernels} GEMM, GEMV and AXPY kernels. The GEMM tiling is given by
+ * the {@code tiling} parameter ({@code NONE} is the untiled kernel).
+ */
+public class JMHBlas {
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        @Param({ "NONE", "TILE_16", "TILE_32" })
+        private String tiling;
+
+        private int size = Integer.parseInt(System.getProperty("x", "1024"));
+        private Matrix2DFloat a;
+        private Matrix2DFloat b;
+        private Matrix2DFloat c;
+        private VectorFloat x;
+        private VectorFloat y;
+        private TornadoExecutionPlan gemm;
+        private TornadoExecutionPlan gemv;
+        private TornadoExecutionPlan axpy;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            a = new Matrix2DFloat(size, size);
+            b = new Matrix2DFloat(size, size);
+            c = new Matrix2DFloat(size, size);
+            BlasJava.initData(a, b);
+            x = new VectorFloat(size);
+            y = new VectorFloat(size);
+            x.fill(1.0f);
+
+            GemmTiling gemmTiling = GemmTiling.valueOf(tiling);
+            TaskGraph gemmGraph = new TaskGraph("gemm") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b);
+            gemmTiling.addSgemm(gemmGraph, "sgemm", 1.0f, a, b, 0.0f, c) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+            gemm = new TornadoExecutionPlan(gemmGraph.snapshot());
+            if (gemmTiling != GemmTiling.NONE) {
+                gemm.withGridScheduler(new GridScheduler("gemm.sgemm", gemmTiling.createWorkerGrid(size, size)));
+            }
+            gemm.withWarmUp();
+
+            TaskGraph gemvGraph = new TaskGraph("gemv") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, x) //
+                    .task("sgemv", BlasKernels::sgemv, 1.0f, a, x, 0.0f, y) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+            gemv = new TornadoExecutionPlan(gemvGraph.snapshot());
+            gemv.withWarmUp();
+
+            TaskGraph axpyGraph = new TaskGraph("axpy") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, x, y) //
+                    .task("saxpy", BlasKernels::saxpy, 2.0f, x, y) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+            axpy = new TornadoExecutionPlan(axpyGraph.snapshot());
+            axpy.withWarmUp();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void sgemmJava(BenchmarkSetup state) {
+        BlasKernels.sgemm(1.0f, state.a, state.b, 0.0f, state.c);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void sgemmTornado(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.gemm;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void sgemvJava(BenchmarkSetup state) {
+        BlasKernels.sgemv(1.0f, state.a, state.x, 0.0f, state.y);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void sgemvTornado(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.gemv;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void saxpyJava(BenchmarkSetup state) {
+        BlasKernels.saxpy(2.0f, state.x, state.y);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void saxpyTornado(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.axpy;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder() //
+                .include(JMHBlas.class.getName() + ".*") //
+                .mode(Mode.AverageTime) //
+                .timeUnit(TimeUnit.NANOSECONDS) //
+                .warmupTime(TimeValue.seconds(30)) //
+                .warmupIterations(2) //
+                .measurementTime(TimeValue.seconds(30)) //
+                .measurementIterations(5) //
+                .forks(1) //
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package uk.ac.manchester.tornado.benchmarks.fft;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.matrix.FFTPlan;
+
+public class FFTJava extends BenchmarkDriver {
+
+    private final int size;
+
+    private FFTPlan plan;
+    private float[] input;
+    private float[] output;
+
+    public FFTJava(int iterations, int size) {
+        super(iterations);
+        this.size = size;
+    }
+
+    /**
+     * Same signal as the {@code dft} benchmark, interleaved.
+     */
+    static void initData(float[] input) {
+        for (int i = 0; i < input.length / 2; i++) {
+            input[2 * i] = 1 / (float) (i + 2);
+            input[2 * i + 1] = 1 / (float) (i + 2);
+        }
+    }
+
+    @Override
+    public void setUp() {
+        plan = FFTPlan.create1D(null, size, 1, FFTPlan.Direction.FORWARD);
+        input = new float[plan.getLength()];
+        output = new float[plan.getLength()];
+        initData(input);
+    }
+
+    @Override
+    public void tearDown() {
+        input = null;
+        output = null;
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        plan.execute(input, output);
+    }
+
+    @Override
+    public void barrier() {
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        return true;
+    }
+
+    public void printSummary() {
+        System.out.printf("id=java-serial, elapsed=%f, per iteration=%f\n", getElapsed(), getElapsedPerIteration());
+    }
+
+}
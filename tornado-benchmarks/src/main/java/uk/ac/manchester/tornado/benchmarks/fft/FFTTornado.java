@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package uk.ac.manchester.tornado.benchmarks.fft;
+
+import static uk.ac.manchester.tornado.api.collections.math.TornadoMath.abs;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.benchmarks.ComputeKernels;
+import uk.ac.manchester.tornado.matrix.FFTPlan;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado -m tornado.benchmarks/uk.ac.manchester.tornado.benchmarks.BenchmarkRunner fft
+ * </code>
+ */
+public class FFTTornado extends BenchmarkDriver {
+
+    private final int size;
+
+    private FFTPlan plan;
+    private float[] input;
+    private float[] output;
+
+    public FFTTornado(int iterations, int size) {
+        super(iterations);
+        this.size = size;
+    }
+
+    private static TornadoDevice getBenchmarkDevice() {
+        String selected = TornadoRuntime.getProperty("benchmark.device");
+        if (selected == null) {
+            return TornadoRuntime.getTornadoRuntime().getDefaultDevice();
+        }
+        String[] indices = selected.split(":");
+        return TornadoRuntime.getTornadoRuntime().getDriver(Integer.parseInt(indices[0])).getDevice(Integer.parseInt(indices[1]));
+    }
+
+    @Override
+    public void setUp() {
+        plan = FFTPlan.create1D(getBenchmarkDevice(), size, 1, FFTPlan.Direction.FORWARD);
+        input = new float[plan.getLength()];
+        output = new float[plan.getLength()];
+        FFTJava.initData(input);
+
+        taskGraph = new TaskGraph("benchmark") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        plan.addTasks(taskGraph, "fft", input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        immutableTaskGraph = taskGraph.snapshot();
+        executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        GridScheduler gridScheduler = plan.createGridScheduler("benchmark", "fft");
+        if (gridScheduler != null) {
+            executionPlan.withGridScheduler(gridScheduler);
+        }
+        executionPlan.withWarmUp();
+    }
+
+    @Override
+    public void tearDown() {
+        executionResult.getProfilerResult().dumpProfiles();
+
+        input = null;
+        output = null;
+
+        executionPlan.resetDevice();
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        executionResult = executionPlan.withDevice(device).execute();
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        double[] inReal = new double[size];
+        double[] inImag = new double[size];
+        double[] outReal = new double[size];
+        double[] outImag = new double[size];
+        for (int i = 0; i < size; i++) {
+            inReal[i] = input[2 * i];
+            inImag[i] = input[2 * i + 1];
+        }
+
+        benchmarkMethod(device);
+        executionPlan.clearProfiles();
+
+        ComputeKernels.computeDFT(inReal, inImag, outReal, outImag);
+
+        for (int i = 0; i < size; i++) {
+            if (abs(outReal[i] - output[2 * i]) > 0.01 || abs(outImag[i] - output[2 * i + 1]) > 0.01) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void printSummary() {
+        if (isValid()) {
+            System.out.printf("id=%s, tasks=%d, elapsed=%f, per iteration=%f\n", getProperty("benchmark.device"), plan.getNumTasks(), getElapsed(), getElapsedPerIteration());
+        } else {
+            System.out.printf("id=%s produced invalid result\n", getProperty("benchmark.device"));
+        }
+    }
+}
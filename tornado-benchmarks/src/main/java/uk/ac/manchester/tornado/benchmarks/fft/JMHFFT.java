@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package uk.ac.manchester.tornado.benchmarks.fft;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.benchmarks.ComputeKernels;
+import uk.ac.manchester.tornado.matrix.FFTPlan;
+
+/**
+ * Compares the {@link FFTPlan} transform in Java and TornadoVM with the
+ * {@code dft} benchmark kernel on the same signal.
+ *
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ *    tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.fft.JMHFFT
+ * </code>
+ */
+public class JMHFFT {
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        private int size = Integer.parseInt(System.getProperty("x", "8192"));
+        private FFTPlan plan;
+        private float[] input;
+        private float[] output;
+        private double[] inReal;
+        private double[] inImag;
+        private double[] outReal;
+        private double[] outImag;
+
+        private TornadoExecutionPlan fft;
+        private TornadoExecutionPlan dft;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            plan = FFTPlan.create1D(TornadoRuntime.getTornadoRuntime().getDefaultDevice(), size, 1, FFTPlan.Direction.FORWARD);
+            input = new float[plan.getLength()];
+            output = new float[plan.getLength()];
+            FFTJava.initData(input);
+
+            inReal = new double[size];
+            inImag = new double[size];
+            outReal = new double[size];
+            outImag = new double[size];
+            for (int i = 0; i < size; i++) {
+                inReal[i] = input[2 * i];
+                inImag[i] = input[2 * i + 1];
+            }
+
+            TaskGraph fftGraph = new TaskGraph("fft") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+            plan.addTasks(fftGraph, "t", input, output) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+            fft = new TornadoExecutionPlan(fftGraph.snapshot());
+            GridScheduler gridScheduler = plan.createGridScheduler("fft", "t");
+            if (gridScheduler != null) {
+                fft.withGridScheduler(gridScheduler);
+            }
+            fft.withWarmUp();
+
+            TaskGraph dftGraph = new TaskGraph("dft") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, inReal, inImag) //
+                    .task("t0", ComputeKernels::computeDFT, inReal, inImag, outReal, outImag) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, outReal, outImag);
+            dft = new TornadoExecutionPlan(dftGraph.snapshot());
+            dft.withWarmUp();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void fftJava(BenchmarkSetup state) {
+        state.plan.execute(state.input, state.output);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void fftTornado(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.fft;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void dftTornado(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.dft;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder() //
+                .include(JMHFFT.class.getName() + ".*") //
+                .mode(Mode.AverageTime) //
+                .timeUnit(TimeUnit.NANOSECONDS) //
+                .warmupTime(TimeValue.seconds(30)) //
+                .warmupIterations(2) //
+                .measurementTime(TimeValue.seconds(30)) //
+                .measurementIterations(5) //
+                .forks(1) //
+                .build();
+        new Runner(opt).run();
+    }
+}
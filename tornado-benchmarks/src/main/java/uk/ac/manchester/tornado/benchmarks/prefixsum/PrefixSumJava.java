@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package uk.ac.manchester.tornado.benchmarks.prefixsum;
+
+import uk.ac.manchester.tornado.api.collections.primitives.ParallelScan;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.ScanMode;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+
+public class PrefixSumJava extends BenchmarkDriver {
+
+    private final int numElements;
+
+    private int[] input;
+    private int[] output;
+
+    public PrefixSumJava(int iterations, int numElements) {
+        super(iterations);
+        this.numElements = numElements;
+    }
+
+    @Override
+    public void setUp() {
+        input = new int[numElements];
+        output = new int[numElements];
+
+        for (int i = 0; i < numElements; i++) {
+            input[i] = i % 16;
+        }
+    }
+
+    @Override
+    public void tearDown() {
+        input = null;
+        output = null;
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        ParallelScan.prefixSumHost(input, output, ScanMode.INCLUSIVE);
+    }
+
+    @Override
+    public void barrier() {
+
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        return true;
+    }
+
+    public void printSummary() {
+        System.out.printf("id=java-parallel-prefix, elapsed=%f, per iteration=%f\n", getElapsed(), getElapsedPerIteration());
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package uk.ac.manchester.tornado.benchmarks.sparse;
+
+import java.util.Locale;
+
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkRunner;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.SparseFormat;
+
+/**
+ * SpMV over a generated matrix in the CSR, ELLPACK and SELL-C-sigma formats.
+ * The format is given as the last argument (or with {@code -Dsparse.format})
+ * and can be {@code auto} to use {@link SparseMatrixUtils#selectFormat}. Row
+ * lengths follow a power-law distribution unless
+ * {@code -Dsparse.powerlaw=False}.
+ */
+public class Benchmark extends BenchmarkRunner {
+
+    private int size;
+    private int rowLength;
+    private SparseFormat format;
+    private CSRMatrix<float[]> matrix;
+
+    public static void initData(final float[] v) {
+        uk.ac.manchester.tornado.benchmarks.spmv.Benchmark.initData(v);
+    }
+
+    @Override
+    public void parseArgs(String[] args) {
+        String formatName;
+        if (args.length == 4) {
+            iterations = Integer.parseInt(args[0]);
+            size = Integer.parseInt(args[1]);
+            rowLength = Integer.parseInt(args[2]);
+            formatName = args[3];
+        } else {
+            iterations = 101;
+            size = 1048576;
+            rowLength = 16;
+            formatName = System.getProperty("sparse.format", "auto");
+        }
+        boolean powerLaw = Boolean.parseBoolean(System.getProperty("sparse.powerlaw", "True"));
+        matrix = SparseMatrixUtils.generateMatrixF(size, rowLength, powerLaw, 7);
+        format = formatName.equalsIgnoreCase("auto") ? SparseMatrixUtils.selectFormat(matrix) : SparseFormat.valueOf(formatName.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    protected String getName() {
+        return "sparse";
+    }
+
+    @Override
+    protected String getIdString() {
+        return String.format("%s-%d-%d-%d-%s", getName(), iterations, size, rowLength, format);
+    }
+
+    @Override
+    protected String getConfigString() {
+        return String.format("size=%d, format=%s, rows: %s", size, format, SparseMatrixUtils.rowStatistics(matrix));
+    }
+
+    @Override
+    protected BenchmarkDriver getJavaDriver() {
+        return new SparseJava(iterations, matrix);
+    }
+
+    @Override
+    protected BenchmarkDriver getTornadoDriver() {
+        return new SparseTornado(iterations, matrix, format);
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package uk.ac.manchester.tornado.benchmarks.sparse;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.benchmarks.LinearAlgebraArrays;
+import uk.ac.manchester.tornado.matrix.SparseMatrixKernels;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.SparseFormat;
+
+/**
+ * Compares the SpMV kernels of each sparse format with the existing
+ * {@link LinearAlgebraArrays#spmv} benchmark kernel on the same generated
+ * matrix.
+ */
+public class JMHSparse {
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        @Param({ "CSR", "CSR_VECTOR", "ELL", "SELL" })
+        private String format;
+
+        private int size = Integer.parseInt(System.getProperty("x", "1048576"));
+        private int rowLength = Integer.parseInt(System.getProperty("y", "16"));
+        private CSRMatrix<float[]> matrix;
+        private float[] x;
+        private float[] y;
+        private TornadoExecutionPlan executor;
+        private TornadoExecutionPlan baseline;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            matrix = SparseMatrixUtils.generateMatrixF(size, rowLength, true, 7);
+            x = new float[matrix.size];
+            y = new float[matrix.size];
+            uk.ac.manchester.tornado.benchmarks.sparse.Benchmark.initData(x);
+
+            SparseFormat sparseFormat = SparseFormat.valueOf(format);
+            TaskGraph taskGraph = SparseTornado.buildTaskGraph(matrix, sparseFormat, x, y) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, x) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+            ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+            executor = new TornadoExecutionPlan(immutableTaskGraph);
+            if (sparseFormat == SparseFormat.CSR_VECTOR) {
+                executor.withGridScheduler(new GridScheduler("benchmark.spmv", SparseMatrixKernels.csrVectorWorkerGrid(matrix.size)));
+            }
+            executor.withWarmUp();
+
+            TaskGraph baselineGraph = new TaskGraph("baseline") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, matrix.vals, matrix.cols, matrix.rows, x, y) //
+                    .task("spmv", LinearAlgebraArrays::spmv, matrix.vals, matrix.cols, matrix.rows, x, matrix.size, y) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+            baseline = new TornadoExecutionPlan(baselineGraph.snapshot());
+            baseline.withWarmUp();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void spmvBaseline(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.baseline;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 2, time = 30, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 30, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void spmvTornado(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoExecutionPlan executor = state.executor;
+        executor.execute();
+        blackhole.consume(executor);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder() //
+                .include(JMHSparse.class.getName() + ".*") //
+                .mode(Mode.AverageTime) //
+                .timeUnit(TimeUnit.NANOSECONDS) //
+                .warmupTime(TimeValue.seconds(30)) //
+                .warmupIterations(2) //
+                .measurementTime(TimeValue.seconds(30)) //
+                .measurementIterations(5) //
+                .forks(1) //
+                .build();
+        new Runner(opt).run();
+    }
+}
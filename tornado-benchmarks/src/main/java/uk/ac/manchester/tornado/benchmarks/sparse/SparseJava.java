@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package uk.ac.manchester.tornado.benchmarks.sparse;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.matrix.SparseMatrixKernels;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+
+public class SparseJava extends BenchmarkDriver {
+
+    private final CSRMatrix<float[]> matrix;
+    private float[] x;
+    private float[] y;
+
+    public SparseJava(int iterations, CSRMatrix<float[]> matrix) {
+        super(iterations);
+        this.matrix = matrix;
+    }
+
+    @Override
+    public void setUp() {
+        x = new float[matrix.size];
+        y = new float[matrix.size];
+        Benchmark.initData(x);
+    }
+
+    @Override
+    public void tearDown() {
+        x = null;
+        y = null;
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        SparseMatrixKernels.spmv(matrix, x, y);
+    }
+
+    @Override
+    public void barrier() {
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+        return true;
+    }
+
+    public void printSummary() {
+        System.out.printf("id=java-serial, elapsed=%f, per iteration=%f\n", getElapsed(), getElapsedPerIteration());
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package uk.ac.manchester.tornado.benchmarks.sparse;
+
+import static uk.ac.manchester.tornado.api.collections.math.TornadoMath.findULPDistance;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.matrix.SparseMatrixKernels;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.ELLMatrix;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.SELLMatrix;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.SparseFormat;
+
+public class SparseTornado extends BenchmarkDriver {
+
+    private final CSRMatrix<float[]> matrix;
+    private final SparseFormat format;
+
+    private float[] x;
+    private float[] y;
+
+    public SparseTornado(int iterations, CSRMatrix<float[]> matrix, SparseFormat format) {
+        super(iterations);
+        this.matrix = matrix;
+        this.format = format;
+    }
+
+    static TaskGraph buildTaskGraph(CSRMatrix<float[]> matrix, SparseFormat format, float[] x, float[] y) {
+        TaskGraph taskGraph = new TaskGraph("benchmark");
+        switch (format) {
+            case CSR:
+                taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, matrix.vals, matrix.cols, matrix.rows) //
+                        .task("spmv", SparseMatrixKernels::spmvCSR, matrix.vals, matrix.cols, matrix.rows, x, matrix.size, y);
+                break;
+            case CSR_VECTOR:
+                taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, matrix.vals, matrix.cols, matrix.rows) //
+                        .task("spmv", SparseMatrixKernels::spmvCSRVector, new KernelContext(), matrix.vals, matrix.cols, matrix.rows, x, y);
+                break;
+            case ELL:
+                ELLMatrix<float[]> ell = SparseMatrixUtils.toELL(matrix);
+                taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, ell.vals, ell.cols) //
+                        .task("spmv", SparseMatrixKernels::spmvELL, ell.vals, ell.cols, ell.width, ell.size, x, y);
+                break;
+            case SELL:
+                int chunkSize = Integer.parseInt(System.getProperty("sparse.sell.c", "32"));
+                int sigma = Integer.parseInt(System.getProperty("sparse.sell.sigma", "256"));
+                SELLMatrix<float[]> sell = SparseMatrixUtils.toSELL(matrix, chunkSize, sigma);
+                taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, sell.vals, sell.cols, sell.sliceOffsets, sell.sliceWidths, sell.rowPermutation) //
+                        .task("spmv", SparseMatrixKernels::spmvSELL, sell.vals, sell.cols, sell.sliceOffsets, sell.sliceWidths, sell.rowPermutation, sell.chunkSize, sell.size, x, y);
+                break;
+            default:
+                throw new IllegalArgumentException("Sparse format not supported: " + format);
+        }
+        return taskGraph;
+    }
+
+    @Override
+    public void setUp() {
+        x = new float[matrix.size];
+        y = new float[matrix.size];
+        Benchmark.initData(x);
+
+        taskGraph = buildTaskGraph(matrix, format, x, y) //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, x) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        immutableTaskGraph = taskGraph.snapshot();
+        executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        if (format == SparseFormat.CSR_VECTOR) {
+            executionPlan.withGridScheduler(new GridScheduler("benchmark.spmv", SparseMatrixKernels.csrVectorWorkerGrid(matrix.size)));
+        }
+        executionPlan.withWarmUp();
+    }
+
+    @Override
+    public void tearDown() {
+        executionResult.getProfilerResult().dumpProfiles();
+
+        x = null;
+        y = null;
+
+        executionPlan.resetDevice();
+        super.tearDown();
+    }
+
+    @Override
+    public void benchmarkMethod(TornadoDevice device) {
+        executionResult = executionPlan.withDevice(device).execute();
+    }
+
+    @Override
+    public boolean validate(TornadoDevice device) {
+
+        final float[] ref = new float[matrix.size];
+
+        benchmarkMethod(device);
+        executionPlan.clearProfiles();
+
+        SparseMatrixKernels.spmv(matrix, x, ref);
+
+        final float ulp = findULPDistance(y, ref);
+        System.out.printf("ulp is %f\n", ulp);
+        return ulp < MAX_ULP;
+    }
+
+    public void printSummary() {
+        if (isValid()) {
+            System.out.printf("id=%s, format=%s, elapsed=%f, per iteration=%f\n", getProperty("benchmark.device"), format, getElapsed(), getElapsedPerIteration());
+        } else {
+            System.out.printf("id=%s produced invalid result\n", getProperty("benchmark.device"));
+        }
+    }
+}
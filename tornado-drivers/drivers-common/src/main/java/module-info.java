@@ -10,4 +10,5 @@ module tornado.drivers.common {
     exports uk.ac.manchester.tornado.drivers.common.code;
     exports uk.ac.manchester.tornado.drivers.common.graal.compiler;
     exports uk.ac.manchester.tornado.drivers.common.logging;
+    exports uk.ac.manchester.tornado.drivers.common.tests;
 }
@@ -0,0 +1,357 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.common;
+
+import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.guarantee;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pool of event slots shared by the OpenCL, PTX and SPIR-V backends. Each slot
+ * is identified by the local event ID that TornadoVM passes around, and holds
+ * the native handle of the event, its descriptor and a backend-specific
+ * payload.
+ *
+ * <p>
+ * Slots are stored in fixed-size segments that are appended when the pool
+ * grows, so IDs stay valid and no slot is ever copied. Acquiring and releasing
+ * a slot are lock-free and take constant time:
+ * <ul>
+ * <li>released slots are kept in a free stack and reused first;</li>
+ * <li>otherwise, a slot that is older than the event window and not retained
+ * is recycled, probing a bounded number of candidates;</li>
+ * <li>otherwise, a new slot is appended.</li>
+ * </ul>
+ * The most recent events of the window are therefore never reused, and
+ * retained events are never reused until they are released.
+ * </p>
+ *
+ * <p>
+ * Events retained by a completed run, such as the events of the profiles of a
+ * task-graph, are handed back with {@link #releaseLater(int[])} once they have
+ * been read. Backends release them in a batch with
+ * {@link #releaseConsumedEvents()} when they flush or synchronise their queues.
+ * </p>
+ *
+ * <p>
+ * {@link #reset()} returns every slot to the pool and must not run at the same
+ * time as other operations on the pool.
+ * </p>
+ *
+ * @param <T>
+ *            type of the backend-specific payload stored with each event.
+ */
+public class EventPool<T> {
+
+    private static final int SEGMENT_SHIFT = 10;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final int MAX_SEGMENTS = 4096;
+    private static final int MAX_RECYCLE_PROBES = 4;
+
+    private static final int FREE = 0;
+    private static final int IN_USE = 1;
+    private static final int CLAIMED = 2;
+
+    private static final class Segment {
+        private final AtomicIntegerArray states = new AtomicIntegerArray(SEGMENT_SIZE);
+        private final AtomicIntegerArray retains = new AtomicIntegerArray(SEGMENT_SIZE);
+        private final long[] sequences = new long[SEGMENT_SIZE];
+        private final int[] next = new int[SEGMENT_SIZE];
+        private final long[] handles = new long[SEGMENT_SIZE];
+        private final EventDescriptor[] descriptors = new EventDescriptor[SEGMENT_SIZE];
+        private final Object[] payloads = new Object[SEGMENT_SIZE];
+    }
+
+    private final int window;
+    private final boolean recycleEvents;
+    private final AtomicReferenceArray<Segment> segments;
+    private final AtomicInteger numSlots;
+    private final AtomicLong sequence;
+    private final AtomicLong recycleCursor;
+    private final ConcurrentLinkedQueue<int[]> consumedEvents;
+
+    /**
+     * Head of the free stack: the lower 32 bits hold the slot plus one (0 when
+     * empty), the upper 32 bits a version that avoids ABA races.
+     */
+    private final AtomicLong freeHead;
+
+    /**
+     * @param window
+     *            number of most recent events that are never recycled.
+     * @param recycleEvents
+     *            whether events older than the window can be recycled. If
+     *            false, the pool grows until events are explicitly released.
+     */
+    protected EventPool(int window, boolean recycleEvents) {
+        this.window = window;
+        this.recycleEvents = recycleEvents;
+        this.segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+        this.numSlots = new AtomicInteger(0);
+        this.sequence = new AtomicLong(0);
+        this.recycleCursor = new AtomicLong(0);
+        this.freeHead = new AtomicLong(0);
+        this.consumedEvents = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Called when a slot that may still hold a previous event is handed out
+     * again or released, so that backends can free or wait for the previous
+     * native event.
+     */
+    protected void recycle(int localEventID) {
+    }
+
+    /**
+     * Claims a slot for a new event.
+     *
+     * @return the local event ID.
+     */
+    public int acquire() {
+        final long currentSequence = sequence.getAndIncrement();
+        int slot = popFreeSlot();
+        if (slot == -1 && recycleEvents) {
+            slot = claimOldestSlot(currentSequence);
+        }
+        if (slot == -1) {
+            slot = appendSlot();
+        }
+        recycle(slot);
+        Segment segment = segment(slot);
+        segment.sequences[slot & SEGMENT_MASK] = currentSequence;
+        segment.states.set(slot & SEGMENT_MASK, IN_USE);
+        return slot;
+    }
+
+    /**
+     * Returns the slot of an event to the pool. The slot may be handed out by
+     * the next call to {@link #acquire()}.
+     */
+    public void release(int localEventID) {
+        if (localEventID < 0) {
+            return;
+        }
+        Segment segment = segment(localEventID);
+        final int index = localEventID & SEGMENT_MASK;
+        if (!segment.states.compareAndSet(index, IN_USE, CLAIMED)) {
+            return;
+        }
+        recycle(localEventID);
+        segment.retains.set(index, 0);
+        segment.states.set(index, FREE);
+        pushFreeSlot(localEventID);
+    }
+
+    /**
+     * Releases a batch of events. Entries equal to -1 are ignored.
+     */
+    public void release(int[] localEventIDs) {
+        for (int localEventID : localEventIDs) {
+            release(localEventID);
+        }
+    }
+
+    /**
+     * Hands back retained events that are no longer read. Their retains are
+     * dropped by the next call to {@link #releaseConsumedEvents()}.
+     */
+    public void releaseLater(int[] localEventIDs) {
+        if (localEventIDs.length > 0) {
+            consumedEvents.add(localEventIDs);
+        }
+    }
+
+    /**
+     * Drops the retains of the events handed back with
+     * {@link #releaseLater(int[])}, and releases the ones that are no longer
+     * retained by anyone else.
+     */
+    public void releaseConsumedEvents() {
+        int[] localEventIDs;
+        while ((localEventIDs = consumedEvents.poll()) != null) {
+            for (int i = 0; i < localEventIDs.length; i++) {
+                if (localEventIDs[i] >= 0) {
+                    unretain(localEventIDs[i]);
+                    if (isRetained(localEventIDs[i])) {
+                        localEventIDs[i] = -1;
+                    }
+                }
+            }
+            release(localEventIDs);
+        }
+    }
+
+    /**
+     * Prevents an event from being recycled until {@link #unretain(int)} or
+     * {@link #release(int)} is called. Retains are counted.
+     */
+    public void retain(int localEventID) {
+        segment(localEventID).retains.incrementAndGet(localEventID & SEGMENT_MASK);
+    }
+
+    public void unretain(int localEventID) {
+        AtomicIntegerArray retains = segment(localEventID).retains;
+        final int index = localEventID & SEGMENT_MASK;
+        int count;
+        do {
+            count = retains.get(index);
+        } while (count > 0 && !retains.compareAndSet(index, count, count - 1));
+    }
+
+    public boolean isRetained(int localEventID) {
+        return segment(localEventID).retains.get(localEventID & SEGMENT_MASK) > 0;
+    }
+
+    public boolean isInUse(int localEventID) {
+        return localEventID >= 0 && localEventID < numSlots.get() && segment(localEventID).states.get(localEventID & SEGMENT_MASK) == IN_USE;
+    }
+
+    /**
+     * Returns all slots to the pool. Payloads are kept, so that backends can
+     * reuse their event objects.
+     */
+    public void reset() {
+        final int slots = numSlots.get();
+        for (int i = 0; i < slots; i++) {
+            Segment segment = segment(i);
+            if (segment.states.get(i & SEGMENT_MASK) != FREE) {
+                recycle(i);
+            }
+            segment.states.set(i & SEGMENT_MASK, FREE);
+            segment.retains.set(i & SEGMENT_MASK, 0);
+        }
+        consumedEvents.clear();
+        freeHead.set(0);
+        recycleCursor.set(0);
+        numSlots.set(0);
+    }
+
+    /**
+     * @return number of slots handed out since the last {@link #reset()}.
+     */
+    public int getNumSlots() {
+        return numSlots.get();
+    }
+
+    /**
+     * @return number of slots allocated by the pool, including the ones that
+     *         have not been handed out since the last {@link #reset()}.
+     */
+    public int getCapacity() {
+        int capacity = 0;
+        while (capacity < MAX_SEGMENTS * SEGMENT_SIZE && segments.get(capacity >>> SEGMENT_SHIFT) != null) {
+            capacity += SEGMENT_SIZE;
+        }
+        return capacity;
+    }
+
+    public long getHandle(int localEventID) {
+        return segment(localEventID).handles[localEventID & SEGMENT_MASK];
+    }
+
+    public void setHandle(int localEventID, long handle) {
+        segment(localEventID).handles[localEventID & SEGMENT_MASK] = handle;
+    }
+
+    public EventDescriptor getDescriptor(int localEventID) {
+        return segment(localEventID).descriptors[localEventID & SEGMENT_MASK];
+    }
+
+    public void setDescriptor(int localEventID, EventDescriptor descriptor) {
+        segment(localEventID).descriptors[localEventID & SEGMENT_MASK] = descriptor;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getPayload(int localEventID) {
+        return (T) segment(localEventID).payloads[localEventID & SEGMENT_MASK];
+    }
+
+    public void setPayload(int localEventID, T payload) {
+        segment(localEventID).payloads[localEventID & SEGMENT_MASK] = payload;
+    }
+
+    private Segment segment(int slot) {
+        return segments.get(slot >>> SEGMENT_SHIFT);
+    }
+
+    private int popFreeSlot() {
+        while (true) {
+            final long head = freeHead.get();
+            final int slot = (int) head - 1;
+            if (slot == -1) {
+                return -1;
+            }
+            final int next = segment(slot).next[slot & SEGMENT_MASK];
+            final long newHead = (((head >>> 32) + 1) << 32) | ((next + 1) & 0xFFFFFFFFL);
+            if (freeHead.compareAndSet(head, newHead)) {
+                return slot;
+            }
+        }
+    }
+
+    private void pushFreeSlot(int slot) {
+        while (true) {
+            final long head = freeHead.get();
+            segment(slot).next[slot & SEGMENT_MASK] = (int) head - 1;
+            final long newHead = (((head >>> 32) + 1) << 32) | ((slot + 1) & 0xFFFFFFFFL);
+            if (freeHead.compareAndSet(head, newHead)) {
+                return;
+            }
+        }
+    }
+
+    private int claimOldestSlot(long currentSequence) {
+        final int slots = numSlots.get();
+        if (slots < window) {
+            return -1;
+        }
+        for (int probe = 0; probe < MAX_RECYCLE_PROBES; probe++) {
+            final int slot = (int) (recycleCursor.getAndIncrement() % slots);
+            Segment segment = segment(slot);
+            final int index = slot & SEGMENT_MASK;
+            if (segment == null || segment.retains.get(index) > 0 || !segment.states.compareAndSet(index, IN_USE, CLAIMED)) {
+                continue;
+            }
+            if (currentSequence - segment.sequences[index] >= window && segment.retains.get(index) == 0) {
+                return slot;
+            }
+            segment.states.set(index, IN_USE);
+        }
+        return -1;
+    }
+
+    private int appendSlot() {
+        final int slot = numSlots.getAndIncrement();
+        final int segmentIndex = slot >>> SEGMENT_SHIFT;
+        guarantee(segmentIndex < MAX_SEGMENTS, "event pool is full (capacity=%d)", MAX_SEGMENTS * SEGMENT_SIZE);
+        if (segments.get(segmentIndex) == null) {
+            segments.compareAndSet(segmentIndex, null, new Segment());
+        }
+        return slot;
+    }
+}
@@ -39,6 +39,9 @@ import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
  * and another list of free buffers. When performing an allocation, it first
  * checks if memory is available on the device. If it is not, then it will try
  * to reuse a buffer from the free list of buffers.
+ *
+ * The provider of a device is shared by all the host threads that use the
+ * device, so its public methods are synchronized.
  */
 public abstract class TornadoBufferProvider {
 
@@ -164,7 +167,7 @@ public abstract class TornadoBufferProvider {
      * @throws {@link
      *             TornadoOutOfMemoryException}
      */
-    public long getBufferWithSize(long sizeInBytes) {
+    public synchronized long getBufferWithSize(long sizeInBytes) {
         TornadoTargetDevice targetDevice = deviceContext.getDevice();
         if (sizeInBytes <= currentMemoryAvailable && sizeInBytes < targetDevice.getDeviceMaxAllocationSize()) {
             // Allocate if there is enough device memory.
@@ -186,7 +189,7 @@ public abstract class TornadoBufferProvider {
      * Removes the buffer from the {@link #usedBuffers} list and add it to
      * the @{@link #freeBuffers} list.
      */
-    public void markBufferReleased(long buffer, long size) {
+    public synchronized void markBufferReleased(long buffer, long size) {
         int foundIndex = -1;
         for (int i = 0; i < usedBuffers.size(); i++) {
             if (usedBuffers.get(i).buffer == buffer) {
@@ -199,11 +202,11 @@ public abstract class TornadoBufferProvider {
         freeBuffers.add(removedBuffer);
     }
 
-    public boolean checkBufferAvailability(int numBuffersRequired) {
+    public synchronized boolean checkBufferAvailability(int numBuffersRequired) {
         return freeBuffers.size() >= numBuffersRequired;
     }
 
-    public void resetBuffers() {
+    public synchronized void resetBuffers() {
         freeBuffers(DEVICE_AVAILABLE_MEMORY);
     }
 }
@@ -0,0 +1,326 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.common.tests;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import uk.ac.manchester.tornado.drivers.common.EventPool;
+
+/**
+ * Stress tests of {@link EventPool}. They do not need a device.
+ *
+ * <p>
+ * Several threads acquire and release events concurrently and check that a
+ * local event ID is never handed out to two owners at the same time, and that
+ * the handle written by an owner is not overwritten before it releases the
+ * event. Other tests check that the pool grows across segments, and that
+ * retained events are not recycled.
+ * </p>
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     $ tornado uk.ac.manchester.tornado.drivers.common.tests.TestEventPool
+ * </code>
+ */
+public class TestEventPool {
+
+    private static final int SEGMENT_SIZE = 1024;
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int OPERATIONS_PER_THREAD = 200000;
+    private static final int MAX_HELD_EVENTS = 64;
+
+    private static final class TestPool extends EventPool<Object> {
+
+        // Number of live owners of each slot
+        private final AtomicIntegerArray owners = new AtomicIntegerArray(64 * SEGMENT_SIZE);
+
+        TestPool(int window, boolean recycleEvents) {
+            super(window, recycleEvents);
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    private static long handleOf(int thread, long operation) {
+        return ((long) thread << 40) | operation;
+    }
+
+    private static int acquireOwned(TestPool pool, int thread, long operation) {
+        int id = pool.acquire();
+        check(pool.isInUse(id), "event " + id + " is not in use after acquire");
+        check(pool.owners.compareAndSet(id, 0, 1), "event " + id + " handed out twice");
+        pool.setHandle(id, handleOf(thread, operation));
+        return id;
+    }
+
+    private static void releaseOwned(TestPool pool, int id, long handle) {
+        check(pool.getHandle(id) == handle, "handle of event " + id + " overwritten while in use");
+        check(pool.owners.compareAndSet(id, 1, 0), "event " + id + " released twice");
+        pool.release(id);
+    }
+
+    /**
+     * Runs {@code task} on {@link #THREADS} threads that start at the same time
+     * and rethrows the first failure.
+     */
+    private static void runConcurrently(ThreadTask task) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(thread);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface TestCase {
+        void run() throws Exception;
+    }
+
+    /**
+     * Each thread holds up to {@link #MAX_HELD_EVENTS} events and releases them
+     * in random order, alone or in batches.
+     */
+    public void testConcurrentAcquireRelease() throws InterruptedException {
+        final TestPool pool = new TestPool(16, false);
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+            Deque<int[]> held = new ArrayDeque<>();
+            for (long operation = 0; operation < OPERATIONS_PER_THREAD; operation++) {
+                if (held.size() < MAX_HELD_EVENTS && (held.isEmpty() || random.nextBoolean())) {
+                    int id = acquireOwned(pool, thread, operation);
+                    held.add(new int[] { id, (int) operation });
+                } else {
+                    int[] event = random.nextBoolean() ? held.pollFirst() : held.pollLast();
+                    releaseOwned(pool, event[0], handleOf(thread, event[1]));
+                }
+            }
+            while (!held.isEmpty()) {
+                int[] event = held.poll();
+                releaseOwned(pool, event[0], handleOf(thread, event[1]));
+            }
+        });
+
+        // Released slots are reused, so the pool only grows with the live events
+        final int bound = THREADS * (MAX_HELD_EVENTS + 1);
+        check(pool.getNumSlots() <= bound, "pool grew to " + pool.getNumSlots() + " slots, bound " + bound);
+        for (int id = 0; id < pool.getNumSlots(); id++) {
+            check(!pool.isInUse(id), "event " + id + " still in use");
+        }
+    }
+
+    /**
+     * Events older than the window are recycled, but never while retained.
+     */
+    public void testConcurrentRetainedEvents() throws InterruptedException {
+        final TestPool pool = new TestPool(32, true);
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+            Deque<int[]> held = new ArrayDeque<>();
+            for (long operation = 0; operation < OPERATIONS_PER_THREAD / 4; operation++) {
+                // Events that are not retained are recycled once they leave the window
+                pool.acquire();
+
+                if (held.size() < MAX_HELD_EVENTS && random.nextBoolean()) {
+                    int id = pool.acquire();
+                    pool.retain(id);
+                    if (pool.owners.compareAndSet(id, 0, 1)) {
+                        pool.setHandle(id, handleOf(thread, operation));
+                        held.add(new int[] { id, (int) operation });
+                    } else {
+                        // Recycled before it was retained: the previous owner still holds it
+                        pool.unretain(id);
+                    }
+                } else if (!held.isEmpty()) {
+                    int[] event = held.poll();
+                    check(pool.isRetained(event[0]), "event " + event[0] + " lost its retain");
+                    releaseOwned(pool, event[0], handleOf(thread, event[1]));
+                }
+            }
+            while (!held.isEmpty()) {
+                int[] event = held.poll();
+                releaseOwned(pool, event[0], handleOf(thread, event[1]));
+            }
+        });
+    }
+
+    /**
+     * Events acquired concurrently without releases cover several segments and
+     * get distinct IDs and handles.
+     */
+    public void testConcurrentGrowth() throws InterruptedException {
+        final TestPool pool = new TestPool(16, false);
+        final int eventsPerThread = 3 * SEGMENT_SIZE / THREADS + 7;
+        final int[][] ids = new int[THREADS][eventsPerThread];
+        runConcurrently(thread -> {
+            for (int i = 0; i < eventsPerThread; i++) {
+                ids[thread][i] = acquireOwned(pool, thread, i);
+            }
+        });
+
+        final int events = THREADS * eventsPerThread;
+        check(pool.getNumSlots() == events, "expected " + events + " slots, found " + pool.getNumSlots());
+        check(pool.getCapacity() >= events && pool.getCapacity() % SEGMENT_SIZE == 0, "unexpected capacity " + pool.getCapacity());
+        Set<Long> handles = new HashSet<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            for (int i = 0; i < eventsPerThread; i++) {
+                final int id = ids[thread][i];
+                check(id >= 0 && id < events, "event " + id + " out of range");
+                check(pool.getHandle(id) == handleOf(thread, i), "handle of event " + id + " overwritten");
+                check(handles.add(pool.getHandle(id)), "duplicate handle for event " + id);
+            }
+        }
+
+        // After a reset, the slots of all the segments are handed out again
+        pool.reset();
+        check(pool.getNumSlots() == 0, "pool not empty after reset");
+        for (int i = 0; i < events; i++) {
+            check(pool.acquire() == i, "slot " + i + " not reused after reset");
+        }
+        check(pool.getCapacity() == (events + SEGMENT_SIZE - 1) / SEGMENT_SIZE * SEGMENT_SIZE, "pool grew after reset");
+    }
+
+    /**
+     * A window full of retained events makes the pool grow instead of recycling
+     * them.
+     */
+    public void testGrowthWithRetainedWindow() {
+        final int window = 8;
+        final TestPool pool = new TestPool(window, true);
+        List<Integer> retained = new ArrayList<>();
+        for (int i = 0; i < SEGMENT_SIZE + window; i++) {
+            int id = pool.acquire();
+            pool.retain(id);
+            retained.add(id);
+        }
+        check(new HashSet<>(retained).size() == retained.size(), "retained events were recycled");
+        check(pool.getCapacity() == 2 * SEGMENT_SIZE, "pool did not grow to a second segment");
+
+        // Once unretained, old events are recycled instead of growing the pool
+        for (int id : retained) {
+            pool.unretain(id);
+        }
+        final int slots = pool.getNumSlots();
+        for (int i = 0; i < 4 * SEGMENT_SIZE; i++) {
+            pool.acquire();
+        }
+        check(pool.getNumSlots() < slots + SEGMENT_SIZE, "pool kept growing with recyclable events");
+    }
+
+    /**
+     * Retained events handed back after a run are released at the next flush
+     * point and reused before the pool grows, unless someone else still retains
+     * them.
+     */
+    public void testReleaseConsumedEvents() {
+        final TestPool pool = new TestPool(8, true);
+        int[] run = new int[4];
+        for (int i = 0; i < run.length; i++) {
+            run[i] = pool.acquire();
+            pool.retain(run[i]);
+        }
+        // The last event of the run is also retained by another owner
+        final int shared = run[run.length - 1];
+        pool.retain(shared);
+
+        pool.releaseLater(run.clone());
+        final int next = pool.acquire();
+        for (int id : run) {
+            check(id != next && pool.isInUse(id), "event " + id + " released before the flush point");
+        }
+
+        pool.releaseConsumedEvents();
+        check(pool.isInUse(shared) && pool.isRetained(shared), "event " + shared + " released while retained");
+        final int slots = pool.getNumSlots();
+        Set<Integer> reused = new HashSet<>();
+        for (int i = 0; i < run.length - 1; i++) {
+            reused.add(pool.acquire());
+        }
+        check(pool.getNumSlots() == slots, "pool grew instead of reusing the released events");
+        for (int i = 0; i < run.length - 1; i++) {
+            check(reused.contains(run[i]), "event " + run[i] + " not reused");
+        }
+
+        // Nothing is released twice
+        pool.releaseConsumedEvents();
+        for (int id : reused) {
+            check(pool.isInUse(id), "event " + id + " released again");
+        }
+    }
+
+    private static void run(String name, TestCase test) {
+        System.out.print("Running: " + name);
+        try {
+            test.run();
+            System.out.println(" ................ [PASS]");
+        } catch (Throwable e) {
+            System.out.println(" ................ [FAIL]");
+            e.printStackTrace();
+        }
+    }
+
+    public static void main(String[] args) {
+        TestEventPool test = new TestEventPool();
+        run("testConcurrentAcquireRelease", test::testConcurrentAcquireRelease);
+        run("testConcurrentRetainedEvents", test::testConcurrentRetainedEvents);
+        run("testConcurrentGrowth", test::testConcurrentGrowth);
+        run("testGrowthWithRetainedWindow", test::testGrowthWithRetainedWindow);
+        run("testReleaseConsumedEvents", test::testReleaseConsumedEvents);
+    }
+}
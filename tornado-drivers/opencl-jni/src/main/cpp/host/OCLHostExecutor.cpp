@@ -0,0 +1,332 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+#include <stdint.h>
+#include <stdlib.h>
+#include <string.h>
+#include <sys/mman.h>
+#include <ucontext.h>
+#include <unistd.h>
+
+#include <atomic>
+#include <condition_variable>
+#include <functional>
+#include <mutex>
+#include <thread>
+#include <vector>
+
+#include "OCLHostRuntime.h"
+
+#define HOST_LOCAL_ALIGNMENT 64
+#define HOST_MAX_WORK_GROUP_SIZE 1024
+#define DEFAULT_FIBER_STACK_SIZE (256 * 1024)
+
+cl_uint hostNumberOfThreads() {
+    static cl_uint threads = 0;
+    if (threads == 0) {
+        const char *value = getenv("TORNADO_HOST_THREADS");
+        long requested = (value != NULL) ? atol(value) : 0;
+        if (requested <= 0) {
+            requested = sysconf(_SC_NPROCESSORS_ONLN);
+        }
+        threads = (cl_uint) (requested > 0 ? requested : 1);
+    }
+    return threads;
+}
+
+/*
+ * Fixed set of worker threads. A launch runs the same task on every worker and
+ * returns once all of them are done; the caller only waits.
+ */
+class HostThreadPool {
+public:
+    explicit HostThreadPool(unsigned size) : generation(0), remaining(0), task(nullptr) {
+        for (unsigned i = 0; i < size; i++) {
+            workers.emplace_back(&HostThreadPool::work, this, i);
+        }
+    }
+
+    unsigned size() const {
+        return (unsigned) workers.size();
+    }
+
+    void run(const std::function<void(unsigned)> &function) {
+        std::unique_lock<std::mutex> lock(mutex);
+        task = &function;
+        remaining = (unsigned) workers.size();
+        generation++;
+        wakeUp.notify_all();
+        done.wait(lock, [this] { return remaining == 0; });
+        task = nullptr;
+    }
+
+private:
+    void work(unsigned index) {
+        unsigned long seen = 0;
+        for (;;) {
+            const std::function<void(unsigned)> *function;
+            {
+                std::unique_lock<std::mutex> lock(mutex);
+                wakeUp.wait(lock, [this, seen] { return generation != seen; });
+                seen = generation;
+                function = task;
+            }
+            (*function)(index);
+            {
+                std::lock_guard<std::mutex> lock(mutex);
+                if (--remaining == 0) {
+                    done.notify_one();
+                }
+            }
+        }
+    }
+
+    std::vector<std::thread> workers;
+    std::mutex mutex;
+    std::condition_variable wakeUp;
+    std::condition_variable done;
+    unsigned long generation;
+    unsigned remaining;
+    const std::function<void(unsigned)> *task;
+};
+
+/*
+ * Runs the work-items of one group as fibers, so that a barrier can suspend a
+ * work-item until all the others of its group have reached the same barrier.
+ */
+struct HostFiberScheduler {
+    ucontext_t scheduler;
+    std::vector<ucontext_t> contexts;
+    std::vector<char *> stacks;
+    std::vector<char> finished;
+    size_t stackSize;
+    size_t current;
+    HostItemFunction item;
+    const HostGroupInfo *group;
+    void **args;
+
+    HostFiberScheduler() : stackSize(0), current(0), item(nullptr), group(nullptr), args(nullptr) {
+        const char *value = getenv("TORNADO_HOST_STACK_SIZE");
+        long requested = (value != NULL) ? atol(value) : 0;
+        stackSize = requested > 0 ? (size_t) requested : DEFAULT_FIBER_STACK_SIZE;
+    }
+
+    bool reserve(size_t items) {
+        while (stacks.size() < items) {
+            void *stack = mmap(NULL, stackSize, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS | MAP_NORESERVE | MAP_STACK, -1, 0);
+            if (stack == MAP_FAILED) {
+                return false;
+            }
+            stacks.push_back(static_cast<char *>(stack));
+        }
+        if (contexts.size() < items) {
+            contexts.resize(items);
+            finished.resize(items);
+        }
+        return true;
+    }
+
+    static void barrier(void *self) {
+        HostFiberScheduler *fibers = static_cast<HostFiberScheduler *>(self);
+        swapcontext(&fibers->contexts[fibers->current], &fibers->scheduler);
+    }
+
+    static void entry(unsigned int high, unsigned int low) {
+        HostFiberScheduler *fibers = reinterpret_cast<HostFiberScheduler *>(((uintptr_t) high << 32) | (uintptr_t) low);
+        size_t id = fibers->current;
+        const HostGroupInfo *group = fibers->group;
+        cl_ulong l0 = id % group->local_size[0];
+        cl_ulong l1 = (id / group->local_size[0]) % group->local_size[1];
+        cl_ulong l2 = id / (group->local_size[0] * group->local_size[1]);
+        fibers->item(group, fibers->args, l0, l1, l2);
+        fibers->finished[id] = 1;
+    }
+
+    void runGroup(size_t items) {
+        uintptr_t self = reinterpret_cast<uintptr_t>(this);
+        for (size_t i = 0; i < items; i++) {
+            getcontext(&contexts[i]);
+            contexts[i].uc_stack.ss_sp = stacks[i];
+            contexts[i].uc_stack.ss_size = stackSize;
+            contexts[i].uc_link = &scheduler;
+            makecontext(&contexts[i], (void (*)()) &HostFiberScheduler::entry, 2, (unsigned int) (self >> 32), (unsigned int) (self & 0xFFFFFFFFu));
+            finished[i] = 0;
+        }
+        // Each round resumes every unfinished work-item until its next barrier
+        size_t running = items;
+        while (running > 0) {
+            for (size_t i = 0; i < items; i++) {
+                if (!finished[i]) {
+                    current = i;
+                    swapcontext(&scheduler, &contexts[i]);
+                    if (finished[i]) {
+                        running--;
+                    }
+                }
+            }
+        }
+    }
+};
+
+struct HostWorkerState {
+    std::vector<char> local;
+    std::vector<void *> args;
+    std::vector<void *> localPointers;
+    HostFiberScheduler fibers;
+};
+
+static std::mutex launchLock;
+
+static HostThreadPool &threadPool() {
+    // Never destroyed: the workers stay parked until the process exits
+    static HostThreadPool *pool = new HostThreadPool(hostNumberOfThreads());
+    return *pool;
+}
+
+static std::vector<HostWorkerState> &workerStates() {
+    static std::vector<HostWorkerState> *states = new std::vector<HostWorkerState>(hostNumberOfThreads());
+    return *states;
+}
+
+cl_int hostExecuteKernel(cl_kernel kernel, cl_uint workDim, const size_t *globalOffset, const size_t *globalSize, const size_t *localSize) {
+    if (workDim < 1 || workDim > TORNADO_HOST_MAX_DIMS) {
+        return CL_INVALID_WORK_DIMENSION;
+    }
+    if (globalSize == NULL) {
+        return CL_INVALID_GLOBAL_WORK_SIZE;
+    }
+
+    HostGroupInfo info = {};
+    info.work_dim = workDim;
+    size_t items = 1;
+    size_t groups = 1;
+    for (cl_uint d = 0; d < TORNADO_HOST_MAX_DIMS; d++) {
+        bool active = d < workDim;
+        info.global_size[d] = active ? globalSize[d] : 1;
+        info.local_size[d] = (active && localSize != NULL) ? localSize[d] : 1;
+        info.global_offset[d] = (active && globalOffset != NULL) ? globalOffset[d] : 0;
+        if (info.global_size[d] == 0) {
+            return CL_SUCCESS;
+        }
+        if (info.local_size[d] == 0 || info.global_size[d] % info.local_size[d] != 0) {
+            return CL_INVALID_WORK_GROUP_SIZE;
+        }
+        info.num_groups[d] = info.global_size[d] / info.local_size[d];
+        items *= info.local_size[d];
+        groups *= info.num_groups[d];
+    }
+    if (items > HOST_MAX_WORK_GROUP_SIZE) {
+        return CL_INVALID_WORK_GROUP_SIZE;
+    }
+
+    // Values and buffer addresses are shared by all the workers, local memory is per worker
+    const size_t numArgs = kernel->args.size();
+    std::vector<void *> buffers(numArgs, nullptr);
+    std::vector<size_t> localOffsets(numArgs, 0);
+    size_t localBytes = 0;
+    for (size_t i = 0; i < numArgs; i++) {
+        const HostKernelArg &arg = kernel->args[i];
+        if (!arg.set) {
+            return CL_INVALID_KERNEL_ARGS;
+        }
+        switch (kernel->signature->kinds[i]) {
+            case HOST_ARG_BUFFER: {
+                cl_mem mem = nullptr;
+                memcpy(&mem, arg.value.data(), sizeof(cl_mem));
+                buffers[i] = (mem != nullptr) ? mem->data : nullptr;
+                break;
+            }
+            case HOST_ARG_LOCAL:
+                localOffsets[i] = localBytes;
+                localBytes += (arg.localSize + HOST_LOCAL_ALIGNMENT - 1) / HOST_LOCAL_ALIGNMENT * HOST_LOCAL_ALIGNMENT;
+                break;
+            default:
+                break;
+        }
+    }
+
+    const bool useFibers = kernel->program->barriers && items > 1;
+    std::lock_guard<std::mutex> guard(launchLock);
+    HostThreadPool &pool = threadPool();
+    std::vector<HostWorkerState> &states = workerStates();
+    const size_t chunk = groups / (pool.size() * 4) > 0 ? groups / (pool.size() * 4) : 1;
+    std::atomic<size_t> nextGroup(0);
+    std::atomic<bool> failed(false);
+
+    pool.run([&](unsigned worker) {
+        HostWorkerState &state = states[worker];
+        if (state.local.size() < localBytes + HOST_LOCAL_ALIGNMENT) {
+            state.local.resize(localBytes + HOST_LOCAL_ALIGNMENT);
+        }
+        char *localBase = reinterpret_cast<char *>(((uintptr_t) state.local.data() + HOST_LOCAL_ALIGNMENT - 1) & ~(uintptr_t) (HOST_LOCAL_ALIGNMENT - 1));
+        state.args.resize(numArgs);
+        state.localPointers.resize(numArgs);
+        for (size_t i = 0; i < numArgs; i++) {
+            switch (kernel->signature->kinds[i]) {
+                case HOST_ARG_BUFFER:
+                    state.args[i] = &buffers[i];
+                    break;
+                case HOST_ARG_LOCAL:
+                    state.localPointers[i] = localBase + localOffsets[i];
+                    state.args[i] = &state.localPointers[i];
+                    break;
+                default:
+                    state.args[i] = const_cast<char *>(kernel->args[i].value.data());
+                    break;
+            }
+        }
+
+        HostGroupInfo group = info;
+        if (useFibers) {
+            if (!state.fibers.reserve(items)) {
+                failed = true;
+                return;
+            }
+            group.barrier = &HostFiberScheduler::barrier;
+            group.scheduler = &state.fibers;
+            state.fibers.item = kernel->itemFunction;
+            state.fibers.group = &group;
+            state.fibers.args = state.args.data();
+        }
+
+        for (;;) {
+            size_t first = nextGroup.fetch_add(chunk);
+            if (first >= groups) {
+                break;
+            }
+            size_t last = first + chunk < groups ? first + chunk : groups;
+            for (size_t g = first; g < last; g++) {
+                group.group_id[0] = g % info.num_groups[0];
+                group.group_id[1] = (g / info.num_groups[0]) % info.num_groups[1];
+                group.group_id[2] = g / (info.num_groups[0] * info.num_groups[1]);
+                if (useFibers) {
+                    state.fibers.runGroup(items);
+                } else {
+                    kernel->groupFunction(&group, state.args.data());
+                }
+            }
+        }
+    });
+    return failed ? CL_OUT_OF_RESOURCES : CL_SUCCESS;
+}
@@ -0,0 +1,816 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/*
+ * OpenCL C emulation header prepended to every kernel compiled by the host platform.
+ * OpenCL vector types become small C++ classes with the usual component names and
+ * element-wise operators; the built-in functions map onto GCC/Clang builtins so that
+ * the generated translation unit does not depend on any system header.
+ */
+#include "OCLHostRuntime.h"
+
+const char *TORNADO_HOST_KERNEL_HEADER = R"__TORNADO_HOST__(
+typedef unsigned char uchar;
+typedef unsigned short ushort;
+typedef unsigned int uint;
+typedef unsigned long ulong;
+typedef unsigned short half;
+typedef char byte;
+typedef __SIZE_TYPE__ size_t;
+typedef __PTRDIFF_TYPE__ ptrdiff_t;
+typedef __INTPTR_TYPE__ intptr_t;
+typedef __UINTPTR_TYPE__ uintptr_t;
+typedef int atomic_int;
+typedef uint atomic_uint;
+typedef long atomic_long;
+typedef ulong atomic_ulong;
+
+#define __kernel static inline
+#define kernel static inline
+#define __global
+#define __constant
+#define __private
+#define __local
+#define __read_only
+#define __write_only
+#define __read_write
+#define restrict __restrict__
+
+#define CLK_LOCAL_MEM_FENCE 1
+#define CLK_GLOBAL_MEM_FENCE 2
+#define ATOMIC_VAR_INIT(x) (x)
+
+#define INFINITY __builtin_inff()
+#define NAN __builtin_nanf("")
+#define HUGE_VALF __builtin_huge_valf()
+#define HUGE_VAL __builtin_huge_val()
+#define MAXFLOAT 3.402823466e+38F
+#define FLT_MAX 3.402823466e+38F
+#define FLT_MIN 1.175494351e-38F
+#define FLT_EPSILON 1.192092896e-07F
+#define DBL_MAX 1.7976931348623158e+308
+#define DBL_MIN 2.2250738585072014e-308
+#define DBL_EPSILON 2.2204460492503131e-16
+#define CHAR_MAX 127
+#define CHAR_MIN (-128)
+#define SHRT_MAX 32767
+#define SHRT_MIN (-32768)
+#define INT_MAX 2147483647
+#define INT_MIN (-2147483647 - 1)
+#define LONG_MAX 9223372036854775807L
+#define LONG_MIN (-9223372036854775807L - 1)
+#define M_E 2.718281828459045090796
+#define M_PI 3.141592653589793115998
+#define M_PI_2 1.570796326794896557999
+#define M_LN2 0.693147180559945286227
+#define M_E_F 2.71828174591F
+#define M_PI_F 3.14159274101F
+#define M_PI_2_F 1.57079637051F
+#define M_LN2_F 0.69314718056F
+
+extern "C" int printf(const char *format, ...);
+
+enum memory_order {
+    memory_order_relaxed = __ATOMIC_RELAXED,
+    memory_order_acquire = __ATOMIC_ACQUIRE,
+    memory_order_release = __ATOMIC_RELEASE,
+    memory_order_acq_rel = __ATOMIC_ACQ_REL,
+    memory_order_seq_cst = __ATOMIC_SEQ_CST
+};
+
+/* Work-item functions */
+
+struct __tornado_group_info {
+    uint work_dim;
+    ulong global_size[3];
+    ulong local_size[3];
+    ulong num_groups[3];
+    ulong global_offset[3];
+    ulong group_id[3];
+    void (*barrier)(void *scheduler);
+    void *scheduler;
+};
+
+static thread_local const __tornado_group_info *__tornado_group;
+static thread_local ulong __tornado_local_id[3];
+
+static inline uint get_work_dim() { return __tornado_group->work_dim; }
+static inline size_t get_global_size(uint d) { return d < 3 ? __tornado_group->global_size[d] : 1; }
+static inline size_t get_local_size(uint d) { return d < 3 ? __tornado_group->local_size[d] : 1; }
+static inline size_t get_enqueued_local_size(uint d) { return get_local_size(d); }
+static inline size_t get_num_groups(uint d) { return d < 3 ? __tornado_group->num_groups[d] : 1; }
+static inline size_t get_group_id(uint d) { return d < 3 ? __tornado_group->group_id[d] : 0; }
+static inline size_t get_global_offset(uint d) { return d < 3 ? __tornado_group->global_offset[d] : 0; }
+static inline size_t get_local_id(uint d) { return d < 3 ? __tornado_local_id[d] : 0; }
+static inline size_t get_global_id(uint d) {
+    return d < 3 ? __tornado_group->global_offset[d] + __tornado_group->group_id[d] * __tornado_group->local_size[d] + __tornado_local_id[d] : 0;
+}
+static inline size_t get_local_linear_id() {
+    return (__tornado_local_id[2] * __tornado_group->local_size[1] + __tornado_local_id[1]) * __tornado_group->local_size[0] + __tornado_local_id[0];
+}
+
+/* Work-items of a group run as fibers on one thread: a barrier yields to the next one */
+static inline void barrier(int flags) {
+    __atomic_thread_fence(__ATOMIC_SEQ_CST);
+    if (__tornado_group->barrier != 0) {
+        ulong l0 = __tornado_local_id[0], l1 = __tornado_local_id[1], l2 = __tornado_local_id[2];
+        __tornado_group->barrier(__tornado_group->scheduler);
+        __tornado_local_id[0] = l0;
+        __tornado_local_id[1] = l1;
+        __tornado_local_id[2] = l2;
+    }
+}
+static inline void work_group_barrier(int flags) { barrier(flags); }
+static inline void mem_fence(int flags) { __atomic_thread_fence(__ATOMIC_SEQ_CST); }
+static inline void read_mem_fence(int flags) { __atomic_thread_fence(__ATOMIC_ACQUIRE); }
+static inline void write_mem_fence(int flags) { __atomic_thread_fence(__ATOMIC_RELEASE); }
+
+/* Type traits */
+
+template <bool C, typename T = void> struct __tornado_enable_if {};
+template <typename T> struct __tornado_enable_if<true, T> { typedef T type; };
+
+template <typename T> struct __tornado_scalar { static const bool value = false; };
+#define __TORNADO_SCALAR(T, M) template <> struct __tornado_scalar<T> { static const bool value = true; typedef M mask; };
+__TORNADO_SCALAR(bool, char)
+__TORNADO_SCALAR(char, char)
+__TORNADO_SCALAR(signed char, char)
+__TORNADO_SCALAR(uchar, char)
+__TORNADO_SCALAR(short, short)
+__TORNADO_SCALAR(ushort, short)
+__TORNADO_SCALAR(int, int)
+__TORNADO_SCALAR(uint, int)
+__TORNADO_SCALAR(long, long)
+__TORNADO_SCALAR(ulong, long)
+__TORNADO_SCALAR(long long, long)
+__TORNADO_SCALAR(unsigned long long, long)
+__TORNADO_SCALAR(float, int)
+__TORNADO_SCALAR(double, long)
+
+/* Vector types */
+
+template <typename T, int N> struct __tornado_vec_storage;
+template <typename T> struct __tornado_vec_storage<T, 2> {
+    enum { capacity = 2 };
+    union {
+        T s[2];
+        struct { T x, y; };
+        struct { T s0, s1; };
+    };
+};
+template <typename T> struct __tornado_vec_storage<T, 3> {
+    enum { capacity = 4 };
+    union {
+        T s[4];
+        struct { T x, y, z; };
+        struct { T s0, s1, s2; };
+    };
+};
+template <typename T> struct __tornado_vec_storage<T, 4> {
+    enum { capacity = 4 };
+    union {
+        T s[4];
+        struct { T x, y, z, w; };
+        struct { T s0, s1, s2, s3; };
+    };
+};
+template <typename T> struct __tornado_vec_storage<T, 8> {
+    enum { capacity = 8 };
+    union {
+        T s[8];
+        struct { T s0, s1, s2, s3, s4, s5, s6, s7; };
+    };
+};
+template <typename T> struct __tornado_vec_storage<T, 16> {
+    enum { capacity = 16 };
+    union {
+        T s[16];
+        struct { T s0, s1, s2, s3, s4, s5, s6, s7, s8, s9, sa, sb, sc, sd, se, sf; };
+        struct { T __upper_case_padding[10]; T sA, sB, sC, sD, sE, sF; };
+    };
+};
+
+template <typename T, int N> struct __tornado_vec : __tornado_vec_storage<T, N> {
+    typedef T element;
+    typedef __tornado_vec<typename __tornado_scalar<T>::mask, N> mask;
+    using __tornado_vec_storage<T, N>::s;
+
+    __tornado_vec() = default;
+
+    template <typename U, typename = typename __tornado_enable_if<__tornado_scalar<U>::value>::type>
+    __tornado_vec(U value) {
+        for (int i = 0; i < N; i++) {
+            s[i] = (T) value;
+        }
+    }
+
+    template <typename A, typename B, typename... R>
+    __tornado_vec(A a, B b, R... rest) {
+        int index = 0;
+        put(index, a);
+        put(index, b);
+        int expand[] = {0, (put(index, rest), 0)...};
+        (void) expand;
+    }
+
+    T &operator[](int i) { return s[i]; }
+    const T &operator[](int i) const { return s[i]; }
+
+private:
+    template <typename U>
+    void put(int &index, U value) {
+        s[index++] = (T) value;
+    }
+
+    template <typename U, int M>
+    void put(int &index, const __tornado_vec<U, M> &value) {
+        for (int i = 0; i < M; i++) {
+            s[index++] = (T) value.s[i];
+        }
+    }
+
+public:
+#define __TORNADO_VEC_BINARY(op)                                                        \
+    friend __tornado_vec operator op(const __tornado_vec &a, const __tornado_vec &b) {  \
+        __tornado_vec r;                                                                \
+        for (int i = 0; i < N; i++) {                                                   \
+            r.s[i] = a.s[i] op b.s[i];                                                  \
+        }                                                                               \
+        return r;                                                                       \
+    }                                                                                   \
+    __tornado_vec &operator op##=(const __tornado_vec &b) {                             \
+        for (int i = 0; i < N; i++) {                                                   \
+            s[i] = s[i] op b.s[i];                                                      \
+        }                                                                               \
+        return *this;                                                                   \
+    }
+    __TORNADO_VEC_BINARY(+)
+    __TORNADO_VEC_BINARY(-)
+    __TORNADO_VEC_BINARY(*)
+    __TORNADO_VEC_BINARY(/)
+#undef __TORNADO_VEC_BINARY
+
+#define __TORNADO_VEC_COMPARE(op)                                                       \
+    friend mask operator op(const __tornado_vec &a, const __tornado_vec &b) {           \
+        mask r;                                                                         \
+        for (int i = 0; i < N; i++) {                                                   \
+            r.s[i] = (a.s[i] op b.s[i]) ? -1 : 0;                                       \
+        }                                                                               \
+        return r;                                                                       \
+    }
+    __TORNADO_VEC_COMPARE(==)
+    __TORNADO_VEC_COMPARE(!=)
+    __TORNADO_VEC_COMPARE(<)
+    __TORNADO_VEC_COMPARE(>)
+    __TORNADO_VEC_COMPARE(<=)
+    __TORNADO_VEC_COMPARE(>=)
+#undef __TORNADO_VEC_COMPARE
+
+    friend __tornado_vec operator-(const __tornado_vec &a) {
+        __tornado_vec r;
+        for (int i = 0; i < N; i++) {
+            r.s[i] = -a.s[i];
+        }
+        return r;
+    }
+
+    friend __tornado_vec operator+(const __tornado_vec &a) {
+        return a;
+    }
+};
+
+/* Bitwise operators, only defined for integer vectors */
+#define __TORNADO_VEC_BITWISE(op)                                                                                  \
+    template <typename T, int N, typename = decltype(T(0) % T(1))>                                                 \
+    static inline __tornado_vec<T, N> operator op(const __tornado_vec<T, N> &a, const __tornado_vec<T, N> &b) {    \
+        __tornado_vec<T, N> r;                                                                                     \
+        for (int i = 0; i < N; i++) {                                                                              \
+            r.s[i] = a.s[i] op b.s[i];                                                                             \
+        }                                                                                                          \
+        return r;                                                                                                  \
+    }                                                                                                              \
+    template <typename T, int N, typename U, typename = typename __tornado_enable_if<__tornado_scalar<U>::value>::type, typename = decltype(T(0) % T(1))> \
+    static inline __tornado_vec<T, N> operator op(const __tornado_vec<T, N> &a, U b) {                             \
+        return a op __tornado_vec<T, N>(b);                                                                        \
+    }                                                                                                              \
+    template <typename T, int N, typename U, typename = typename __tornado_enable_if<__tornado_scalar<U>::value>::type, typename = decltype(T(0) % T(1))> \
+    static inline __tornado_vec<T, N> operator op(U a, const __tornado_vec<T, N> &b) {                             \
+        return __tornado_vec<T, N>(a) op b;                                                                        \
+    }
+__TORNADO_VEC_BITWISE(%)
+__TORNADO_VEC_BITWISE(&)
+__TORNADO_VEC_BITWISE(|)
+__TORNADO_VEC_BITWISE(^)
+__TORNADO_VEC_BITWISE(<<)
+__TORNADO_VEC_BITWISE(>>)
+#undef __TORNADO_VEC_BITWISE
+
+template <typename T, int N, typename = decltype(T(0) % T(1))>
+static inline __tornado_vec<T, N> operator~(const __tornado_vec<T, N> &a) {
+    __tornado_vec<T, N> r;
+    for (int i = 0; i < N; i++) {
+        r.s[i] = ~a.s[i];
+    }
+    return r;
+}
+
+#define __TORNADO_VEC_TYPES(T)                  \
+    typedef __tornado_vec<T, 2> T##2;           \
+    typedef __tornado_vec<T, 3> T##3;           \
+    typedef __tornado_vec<T, 4> T##4;           \
+    typedef __tornado_vec<T, 8> T##8;           \
+    typedef __tornado_vec<T, 16> T##16;
+__TORNADO_VEC_TYPES(char)
+__TORNADO_VEC_TYPES(uchar)
+__TORNADO_VEC_TYPES(short)
+__TORNADO_VEC_TYPES(ushort)
+__TORNADO_VEC_TYPES(int)
+__TORNADO_VEC_TYPES(uint)
+__TORNADO_VEC_TYPES(long)
+__TORNADO_VEC_TYPES(ulong)
+__TORNADO_VEC_TYPES(float)
+__TORNADO_VEC_TYPES(double)
+#undef __TORNADO_VEC_TYPES
+
+/* Reinterpretation and conversion */
+
+template <typename To, typename From>
+static inline To __tornado_as(const From &value) {
+    static_assert(sizeof(To) == sizeof(From), "as_type requires operands of the same size");
+    To result;
+    __builtin_memcpy(&result, &value, sizeof(To));
+    return result;
+}
+
+template <typename To>
+struct __tornado_converter {
+    template <typename From>
+    static To convert(const From &value) { return (To) value; }
+};
+template <typename T, int N>
+struct __tornado_converter<__tornado_vec<T, N>> {
+    template <typename U>
+    static __tornado_vec<T, N> convert(const __tornado_vec<U, N> &value) {
+        __tornado_vec<T, N> r;
+        for (int i = 0; i < N; i++) {
+            r.s[i] = (T) value.s[i];
+        }
+        return r;
+    }
+};
+
+#define __TORNADO_CONVERSIONS(T)                                                                      \
+    static inline T as_##T(T value) { return value; }                                                 \
+    template <typename F> static inline T as_##T(const F &value) { return __tornado_as<T>(value); }   \
+    template <typename F> static inline T convert_##T(const F &value) { return __tornado_converter<T>::convert(value); }
+#define __TORNADO_ALL_CONVERSIONS(T) \
+    __TORNADO_CONVERSIONS(T)         \
+    __TORNADO_CONVERSIONS(T##2)      \
+    __TORNADO_CONVERSIONS(T##3)      \
+    __TORNADO_CONVERSIONS(T##4)      \
+    __TORNADO_CONVERSIONS(T##8)      \
+    __TORNADO_CONVERSIONS(T##16)
+__TORNADO_ALL_CONVERSIONS(char)
+__TORNADO_ALL_CONVERSIONS(uchar)
+__TORNADO_ALL_CONVERSIONS(short)
+__TORNADO_ALL_CONVERSIONS(ushort)
+__TORNADO_ALL_CONVERSIONS(int)
+__TORNADO_ALL_CONVERSIONS(uint)
+__TORNADO_ALL_CONVERSIONS(long)
+__TORNADO_ALL_CONVERSIONS(ulong)
+__TORNADO_ALL_CONVERSIONS(float)
+__TORNADO_ALL_CONVERSIONS(double)
+#undef __TORNADO_ALL_CONVERSIONS
+#undef __TORNADO_CONVERSIONS
+
+/* Math functions */
+
+#define __TORNADO_MATH_UNARY(name, f, d)                      \
+    static inline float name(float x) { return f(x); }        \
+    static inline double name(double x) { return d(x); }
+__TORNADO_MATH_UNARY(sqrt, __builtin_sqrtf, __builtin_sqrt)
+__TORNADO_MATH_UNARY(cbrt, __builtin_cbrtf, __builtin_cbrt)
+__TORNADO_MATH_UNARY(exp, __builtin_expf, __builtin_exp)
+__TORNADO_MATH_UNARY(exp2, __builtin_exp2f, __builtin_exp2)
+__TORNADO_MATH_UNARY(log, __builtin_logf, __builtin_log)
+__TORNADO_MATH_UNARY(log2, __builtin_log2f, __builtin_log2)
+__TORNADO_MATH_UNARY(log10, __builtin_log10f, __builtin_log10)
+__TORNADO_MATH_UNARY(sin, __builtin_sinf, __builtin_sin)
+__TORNADO_MATH_UNARY(cos, __builtin_cosf, __builtin_cos)
+__TORNADO_MATH_UNARY(tan, __builtin_tanf, __builtin_tan)
+__TORNADO_MATH_UNARY(asin, __builtin_asinf, __builtin_asin)
+__TORNADO_MATH_UNARY(acos, __builtin_acosf, __builtin_acos)
+__TORNADO_MATH_UNARY(atan, __builtin_atanf, __builtin_atan)
+__TORNADO_MATH_UNARY(sinh, __builtin_sinhf, __builtin_sinh)
+__TORNADO_MATH_UNARY(cosh, __builtin_coshf, __builtin_cosh)
+__TORNADO_MATH_UNARY(tanh, __builtin_tanhf, __builtin_tanh)
+__TORNADO_MATH_UNARY(fabs, __builtin_fabsf, __builtin_fabs)
+__TORNADO_MATH_UNARY(floor, __builtin_floorf, __builtin_floor)
+__TORNADO_MATH_UNARY(ceil, __builtin_ceilf, __builtin_ceil)
+__TORNADO_MATH_UNARY(trunc, __builtin_truncf, __builtin_trunc)
+__TORNADO_MATH_UNARY(round, __builtin_roundf, __builtin_round)
+__TORNADO_MATH_UNARY(rint, __builtin_rintf, __builtin_rint)
+__TORNADO_MATH_UNARY(native_sqrt, __builtin_sqrtf, __builtin_sqrt)
+__TORNADO_MATH_UNARY(native_exp, __builtin_expf, __builtin_exp)
+__TORNADO_MATH_UNARY(native_log, __builtin_logf, __builtin_log)
+__TORNADO_MATH_UNARY(native_sin, __builtin_sinf, __builtin_sin)
+__TORNADO_MATH_UNARY(native_cos, __builtin_cosf, __builtin_cos)
+__TORNADO_MATH_UNARY(native_tan, __builtin_tanf, __builtin_tan)
+#undef __TORNADO_MATH_UNARY
+
+static inline float rsqrt(float x) { return 1.0F / __builtin_sqrtf(x); }
+static inline double rsqrt(double x) { return 1.0 / __builtin_sqrt(x); }
+static inline float native_rsqrt(float x) { return rsqrt(x); }
+static inline float native_recip(float x) { return 1.0F / x; }
+static inline float native_divide(float x, float y) { return x / y; }
+static inline float sign(float x) { return x > 0.0F ? 1.0F : (x < 0.0F ? -1.0F : (x != x ? 0.0F : x)); }
+static inline double sign(double x) { return x > 0.0 ? 1.0 : (x < 0.0 ? -1.0 : (x != x ? 0.0 : x)); }
+
+#define __TORNADO_MATH_BINARY(name, f, d)                                  \
+    static inline float name(float x, float y) { return f(x, y); }         \
+    static inline double name(double x, double y) { return d(x, y); }
+__TORNADO_MATH_BINARY(pow, __builtin_powf, __builtin_pow)
+__TORNADO_MATH_BINARY(atan2, __builtin_atan2f, __builtin_atan2)
+__TORNADO_MATH_BINARY(fmin, __builtin_fminf, __builtin_fmin)
+__TORNADO_MATH_BINARY(fmax, __builtin_fmaxf, __builtin_fmax)
+__TORNADO_MATH_BINARY(fmod, __builtin_fmodf, __builtin_fmod)
+__TORNADO_MATH_BINARY(hypot, __builtin_hypotf, __builtin_hypot)
+__TORNADO_MATH_BINARY(copysign, __builtin_copysignf, __builtin_copysign)
+#undef __TORNADO_MATH_BINARY
+static inline float powr(float x, float y) { return __builtin_powf(x, y); }
+static inline float pown(float x, int y) { return __builtin_powif(x, y); }
+static inline double pown(double x, int y) { return __builtin_powi(x, y); }
+
+static inline float fma(float a, float b, float c) { return __builtin_fmaf(a, b, c); }
+static inline double fma(double a, double b, double c) { return __builtin_fma(a, b, c); }
+static inline float mad(float a, float b, float c) { return a * b + c; }
+static inline double mad(double a, double b, double c) { return a * b + c; }
+
+static inline int isnan(float x) { return __builtin_isnan(x); }
+static inline int isnan(double x) { return __builtin_isnan(x); }
+static inline int isinf(float x) { return __builtin_isinf(x) != 0; }
+static inline int isinf(double x) { return __builtin_isinf(x) != 0; }
+static inline int isfinite(float x) { return __builtin_isfinite(x); }
+static inline int isfinite(double x) { return __builtin_isfinite(x); }
+static inline int isnormal(float x) { return __builtin_isnormal(x); }
+static inline int isnormal(double x) { return __builtin_isnormal(x); }
+static inline int signbit(float x) { return __builtin_signbit(x) != 0; }
+static inline int signbit(double x) { return __builtin_signbit(x) != 0; }
+template <typename T> static inline int isequal(T x, T y) { return x == y; }
+template <typename T> static inline int isnotequal(T x, T y) { return x != y; }
+template <typename T> static inline int isgreater(T x, T y) { return __builtin_isgreater(x, y); }
+template <typename T> static inline int isgreaterequal(T x, T y) { return __builtin_isgreaterequal(x, y); }
+template <typename T> static inline int isless(T x, T y) { return __builtin_isless(x, y); }
+template <typename T> static inline int islessequal(T x, T y) { return __builtin_islessequal(x, y); }
+template <typename T> static inline int islessgreater(T x, T y) { return __builtin_islessgreater(x, y); }
+
+/* Integer and common functions, defined for any pair of scalar operands */
+
+template <typename A, typename B, typename = typename __tornado_enable_if<__tornado_scalar<A>::value && __tornado_scalar<B>::value>::type>
+static inline decltype(A() + B()) min(A a, B b) { return b < a ? b : a; }
+template <typename A, typename B, typename = typename __tornado_enable_if<__tornado_scalar<A>::value && __tornado_scalar<B>::value>::type>
+static inline decltype(A() + B()) max(A a, B b) { return a < b ? b : a; }
+template <typename A, typename B, typename C, typename = typename __tornado_enable_if<__tornado_scalar<A>::value>::type>
+static inline A clamp(A x, B lo, C hi) { return (A) min(max(x, lo), hi); }
+template <typename A, typename = typename __tornado_enable_if<__tornado_scalar<A>::value>::type>
+static inline A abs(A x) { return x < 0 ? (A) -x : x; }
+template <typename A, typename = typename __tornado_enable_if<__tornado_scalar<A>::value>::type>
+static inline A popcount(A x) { return (A) __builtin_popcountll((unsigned long long) x & (~0ULL >> (64 - 8 * sizeof(A)))); }
+template <typename A, typename = typename __tornado_enable_if<__tornado_scalar<A>::value>::type>
+static inline A mix(A x, A y, A a) { return x + (y - x) * a; }
+template <typename A, typename = typename __tornado_enable_if<__tornado_scalar<A>::value>::type>
+static inline int any(A x) { return x < 0; }
+template <typename A, typename = typename __tornado_enable_if<__tornado_scalar<A>::value>::type>
+static inline int all(A x) { return x < 0; }
+template <typename A, typename C, typename = typename __tornado_enable_if<__tornado_scalar<A>::value>::type>
+static inline A select(A a, A b, C c) { return c ? b : a; }
+
+/* Element-wise vector versions of the scalar functions */
+
+#define __TORNADO_VEC_UNARY(name)                                                          \
+    template <typename T, int N>                                                           \
+    static inline __tornado_vec<T, N> name(const __tornado_vec<T, N> &a) {                 \
+        __tornado_vec<T, N> r;                                                             \
+        for (int i = 0; i < N; i++) {                                                      \
+            r.s[i] = name(a.s[i]);                                                         \
+        }                                                                                  \
+        return r;                                                                          \
+    }
+__TORNADO_VEC_UNARY(sqrt)
+__TORNADO_VEC_UNARY(cbrt)
+__TORNADO_VEC_UNARY(rsqrt)
+__TORNADO_VEC_UNARY(exp)
+__TORNADO_VEC_UNARY(exp2)
+__TORNADO_VEC_UNARY(log)
+__TORNADO_VEC_UNARY(log2)
+__TORNADO_VEC_UNARY(log10)
+__TORNADO_VEC_UNARY(sin)
+__TORNADO_VEC_UNARY(cos)
+__TORNADO_VEC_UNARY(tan)
+__TORNADO_VEC_UNARY(asin)
+__TORNADO_VEC_UNARY(acos)
+__TORNADO_VEC_UNARY(atan)
+__TORNADO_VEC_UNARY(sinh)
+__TORNADO_VEC_UNARY(cosh)
+__TORNADO_VEC_UNARY(tanh)
+__TORNADO_VEC_UNARY(fabs)
+__TORNADO_VEC_UNARY(floor)
+__TORNADO_VEC_UNARY(ceil)
+__TORNADO_VEC_UNARY(trunc)
+__TORNADO_VEC_UNARY(round)
+__TORNADO_VEC_UNARY(rint)
+__TORNADO_VEC_UNARY(sign)
+__TORNADO_VEC_UNARY(abs)
+__TORNADO_VEC_UNARY(popcount)
+__TORNADO_VEC_UNARY(native_sqrt)
+__TORNADO_VEC_UNARY(native_exp)
+__TORNADO_VEC_UNARY(native_log)
+__TORNADO_VEC_UNARY(native_sin)
+__TORNADO_VEC_UNARY(native_cos)
+__TORNADO_VEC_UNARY(native_tan)
+#undef __TORNADO_VEC_UNARY
+
+#define __TORNADO_VEC_BINARY_FUNCTION(name)                                                                      \
+    template <typename T, int N>                                                                                 \
+    static inline __tornado_vec<T, N> name(const __tornado_vec<T, N> &a, const __tornado_vec<T, N> &b) {         \
+        __tornado_vec<T, N> r;                                                                                   \
+        for (int i = 0; i < N; i++) {                                                                            \
+            r.s[i] = name(a.s[i], b.s[i]);                                                                       \
+        }                                                                                                        \
+        return r;                                                                                                \
+    }                                                                                                            \
+    template <typename T, int N>                                                                                 \
+    static inline __tornado_vec<T, N> name(const __tornado_vec<T, N> &a, T b) {                                  \
+        return name(a, __tornado_vec<T, N>(b));                                                                  \
+    }
+__TORNADO_VEC_BINARY_FUNCTION(pow)
+__TORNADO_VEC_BINARY_FUNCTION(atan2)
+__TORNADO_VEC_BINARY_FUNCTION(fmin)
+__TORNADO_VEC_BINARY_FUNCTION(fmax)
+__TORNADO_VEC_BINARY_FUNCTION(fmod)
+__TORNADO_VEC_BINARY_FUNCTION(hypot)
+__TORNADO_VEC_BINARY_FUNCTION(min)
+__TORNADO_VEC_BINARY_FUNCTION(max)
+#undef __TORNADO_VEC_BINARY_FUNCTION
+
+template <typename T, int N>
+static inline __tornado_vec<T, N> fma(const __tornado_vec<T, N> &a, const __tornado_vec<T, N> &b, const __tornado_vec<T, N> &c) {
+    __tornado_vec<T, N> r;
+    for (int i = 0; i < N; i++) {
+        r.s[i] = fma(a.s[i], b.s[i], c.s[i]);
+    }
+    return r;
+}
+
+template <typename T, int N>
+static inline __tornado_vec<T, N> mad(const __tornado_vec<T, N> &a, const __tornado_vec<T, N> &b, const __tornado_vec<T, N> &c) {
+    return a * b + c;
+}
+
+template <typename T, int N>
+static inline __tornado_vec<T, N> clamp(const __tornado_vec<T, N> &x, const __tornado_vec<T, N> &lo, const __tornado_vec<T, N> &hi) {
+    return min(max(x, lo), hi);
+}
+
+template <typename T, int N>
+static inline __tornado_vec<T, N> clamp(const __tornado_vec<T, N> &x, T lo, T hi) {
+    return min(max(x, lo), hi);
+}
+
+template <typename T, int N>
+static inline T dot(const __tornado_vec<T, N> &a, const __tornado_vec<T, N> &b) {
+    T r = 0;
+    for (int i = 0; i < N; i++) {
+        r += a.s[i] * b.s[i];
+    }
+    return r;
+}
+
+template <typename T>
+static inline T dot(T a, T b) {
+    return a * b;
+}
+
+template <typename T>
+static inline __tornado_vec<T, 3> cross(const __tornado_vec<T, 3> &a, const __tornado_vec<T, 3> &b) {
+    return __tornado_vec<T, 3>(a.y * b.z - a.z * b.y, a.z * b.x - a.x * b.z, a.x * b.y - a.y * b.x);
+}
+
+template <typename T>
+static inline __tornado_vec<T, 4> cross(const __tornado_vec<T, 4> &a, const __tornado_vec<T, 4> &b) {
+    return __tornado_vec<T, 4>(a.y * b.z - a.z * b.y, a.z * b.x - a.x * b.z, a.x * b.y - a.y * b.x, (T) 0);
+}
+
+template <typename T, int N>
+static inline T length(const __tornado_vec<T, N> &a) {
+    return sqrt(dot(a, a));
+}
+
+template <typename T, int N>
+static inline __tornado_vec<T, N> normalize(const __tornado_vec<T, N> &a) {
+    return a * rsqrt(dot(a, a));
+}
+
+template <typename T, int N>
+static inline int any(const __tornado_vec<T, N> &a) {
+    for (int i = 0; i < N; i++) {
+        if (a.s[i] < 0) {
+            return 1;
+        }
+    }
+    return 0;
+}
+
+template <typename T, int N>
+static inline int all(const __tornado_vec<T, N> &a) {
+    for (int i = 0; i < N; i++) {
+        if (!(a.s[i] < 0)) {
+            return 0;
+        }
+    }
+    return 1;
+}
+
+/* Vector loads and stores */
+
+#define __TORNADO_VLOAD_STORE(N)                                                                  \
+    template <typename T>                                                                         \
+    static inline __tornado_vec<T, N> vload##N(size_t offset, const T *p) {                       \
+        __tornado_vec<T, N> r;                                                                    \
+        for (int i = 0; i < N; i++) {                                                             \
+            r.s[i] = p[offset * N + i];                                                           \
+        }                                                                                         \
+        return r;                                                                                 \
+    }                                                                                             \
+    template <typename T>                                                                         \
+    static inline void vstore##N(const __tornado_vec<T, N> &v, size_t offset, T *p) {             \
+        for (int i = 0; i < N; i++) {                                                             \
+            p[offset * N + i] = v.s[i];                                                           \
+        }                                                                                         \
+    }
+__TORNADO_VLOAD_STORE(2)
+__TORNADO_VLOAD_STORE(3)
+__TORNADO_VLOAD_STORE(4)
+__TORNADO_VLOAD_STORE(8)
+__TORNADO_VLOAD_STORE(16)
+#undef __TORNADO_VLOAD_STORE
+
+static inline float vload_half(size_t offset, const half *p) {
+    uint h = p[offset];
+    uint sign = (h & 0x8000u) << 16;
+    uint exponent = (h >> 10) & 0x1Fu;
+    uint mantissa = h & 0x3FFu;
+    uint bits;
+    if (exponent == 0x1Fu) {
+        bits = sign | 0x7F800000u | (mantissa << 13);
+    } else if (exponent != 0) {
+        bits = sign | ((exponent + 112) << 23) | (mantissa << 13);
+    } else if (mantissa != 0) {
+        exponent = 113;
+        while ((mantissa & 0x400u) == 0) {
+            mantissa <<= 1;
+            exponent--;
+        }
+        bits = sign | (exponent << 23) | ((mantissa & 0x3FFu) << 13);
+    } else {
+        bits = sign;
+    }
+    return __tornado_as<float>(bits);
+}
+
+static inline void vstore_half_rte(float value, size_t offset, half *p) {
+    uint bits = __tornado_as<uint>(value);
+    uint sign = (bits >> 16) & 0x8000u;
+    uint magnitude = bits & 0x7FFFFFFFu;
+    ushort h;
+    if (magnitude >= 0x7F800000u) {
+        h = (ushort) (sign | 0x7C00u | (magnitude > 0x7F800000u ? 0x200u : 0u));
+    } else if (magnitude >= 0x477FF000u) {
+        h = (ushort) (sign | 0x7C00u);
+    } else if (magnitude < 0x38800000u) {
+        /* subnormal half: round the shifted mantissa to nearest even */
+        uint shift = 126 - (magnitude >> 23);
+        uint mantissa = (magnitude & 0x7FFFFFu) | 0x800000u;
+        if (shift > 24) {
+            h = (ushort) sign;
+        } else {
+            uint value = mantissa >> shift;
+            uint rest = mantissa & ((1u << shift) - 1);
+            uint halfway = 1u << (shift - 1);
+            if (rest > halfway || (rest == halfway && (value & 1u))) {
+                value++;
+            }
+            h = (ushort) (sign | value);
+        }
+    } else {
+        uint value = ((magnitude >> 13) - (112u << 10));
+        uint rest = magnitude & 0x1FFFu;
+        if (rest > 0x1000u || (rest == 0x1000u && (value & 1u))) {
+            value++;
+        }
+        h = (ushort) (sign | value);
+    }
+    p[offset] = h;
+}
+
+static inline void vstore_half(float value, size_t offset, half *p) { vstore_half_rte(value, offset, p); }
+
+/* Atomic functions */
+
+#define __TORNADO_ATOMICS(prefix, T)                                                                                              \
+    static inline T prefix##add(volatile T *p, T v) { return __atomic_fetch_add(p, v, __ATOMIC_SEQ_CST); }                      \
+    static inline T prefix##sub(volatile T *p, T v) { return __atomic_fetch_sub(p, v, __ATOMIC_SEQ_CST); }                      \
+    static inline T prefix##and(volatile T *p, T v) { return __atomic_fetch_and(p, v, __ATOMIC_SEQ_CST); }                      \
+    static inline T prefix##or(volatile T *p, T v) { return __atomic_fetch_or(p, v, __ATOMIC_SEQ_CST); }                        \
+    static inline T prefix##xor(volatile T *p, T v) { return __atomic_fetch_xor(p, v, __ATOMIC_SEQ_CST); }                      \
+    static inline T prefix##xchg(volatile T *p, T v) { return __atomic_exchange_n(p, v, __ATOMIC_SEQ_CST); }                    \
+    static inline T prefix##inc(volatile T *p) { return __atomic_fetch_add(p, (T) 1, __ATOMIC_SEQ_CST); }                       \
+    static inline T prefix##dec(volatile T *p) { return __atomic_fetch_sub(p, (T) 1, __ATOMIC_SEQ_CST); }                       \
+    static inline T prefix##cmpxchg(volatile T *p, T cmp, T v) {                                                                \
+        __atomic_compare_exchange_n(p, &cmp, v, false, __ATOMIC_SEQ_CST, __ATOMIC_SEQ_CST);                                     \
+        return cmp;                                                                                                             \
+    }                                                                                                                           \
+    static inline T prefix##min(volatile T *p, T v) {                                                                           \
+        T old = __atomic_load_n(p, __ATOMIC_SEQ_CST);                                                                           \
+        while (v < old && !__atomic_compare_exchange_n(p, &old, v, false, __ATOMIC_SEQ_CST, __ATOMIC_SEQ_CST)) {                \
+        }                                                                                                                       \
+        return old;                                                                                                             \
+    }                                                                                                                           \
+    static inline T prefix##max(volatile T *p, T v) {                                                                           \
+        T old = __atomic_load_n(p, __ATOMIC_SEQ_CST);                                                                           \
+        while (v > old && !__atomic_compare_exchange_n(p, &old, v, false, __ATOMIC_SEQ_CST, __ATOMIC_SEQ_CST)) {                \
+        }                                                                                                                       \
+        return old;                                                                                                             \
+    }
+__TORNADO_ATOMICS(atomic_, int)
+__TORNADO_ATOMICS(atomic_, uint)
+__TORNADO_ATOMICS(atomic_, long)
+__TORNADO_ATOMICS(atomic_, ulong)
+__TORNADO_ATOMICS(atom_, int)
+__TORNADO_ATOMICS(atom_, uint)
+__TORNADO_ATOMICS(atom_, long)
+__TORNADO_ATOMICS(atom_, ulong)
+#undef __TORNADO_ATOMICS
+
+static inline float atomic_xchg(volatile float *p, float v) {
+    return __tornado_as<float>(__atomic_exchange_n((volatile uint *) p, __tornado_as<uint>(v), __ATOMIC_SEQ_CST));
+}
+
+template <typename T>
+static inline T atomic_fetch_add_explicit(volatile T *p, T v, memory_order order) { return __atomic_fetch_add(p, v, order); }
+template <typename T>
+static inline T atomic_fetch_sub_explicit(volatile T *p, T v, memory_order order) { return __atomic_fetch_sub(p, v, order); }
+template <typename T>
+static inline T atomic_fetch_add(volatile T *p, T v) { return __atomic_fetch_add(p, v, __ATOMIC_SEQ_CST); }
+template <typename T>
+static inline T atomic_fetch_sub(volatile T *p, T v) { return __atomic_fetch_sub(p, v, __ATOMIC_SEQ_CST); }
+template <typename T>
+static inline T atomic_load(volatile T *p) { return __atomic_load_n(p, __ATOMIC_SEQ_CST); }
+template <typename T>
+static inline void atomic_store(volatile T *p, T v) { __atomic_store_n(p, v, __ATOMIC_SEQ_CST); }
+
+/* Sub-groups: every work-item forms its own sub-group of size one */
+
+static inline uint get_sub_group_size() { return 1; }
+static inline uint get_max_sub_group_size() { return 1; }
+static inline uint get_sub_group_local_id() { return 0; }
+static inline uint get_sub_group_id() { return (uint) get_local_linear_id(); }
+static inline uint get_num_sub_groups() {
+    return (uint) (__tornado_group->local_size[0] * __tornado_group->local_size[1] * __tornado_group->local_size[2]);
+}
+static inline int sub_group_any(int predicate) { return predicate != 0; }
+static inline int sub_group_all(int predicate) { return predicate != 0; }
+template <typename T> static inline T sub_group_reduce_add(T x) { return x; }
+template <typename T> static inline T sub_group_reduce_min(T x) { return x; }
+template <typename T> static inline T sub_group_reduce_max(T x) { return x; }
+template <typename T> static inline T sub_group_scan_inclusive_add(T x) { return x; }
+template <typename T> static inline T sub_group_scan_exclusive_add(T x) { return (T) 0; }
+template <typename T> static inline T sub_group_broadcast(T x, uint id) { return x; }
+template <typename T> static inline T sub_group_shuffle(T x, uint id) { return x; }
+template <typename T> static inline T sub_group_shuffle_xor(T x, uint mask) { return x; }
+template <typename T> static inline T intel_sub_group_shuffle(T x, uint id) { return x; }
+template <typename T> static inline T intel_sub_group_shuffle_xor(T x, uint mask) { return x; }
+static inline uint4 sub_group_ballot(int predicate) { return uint4(predicate != 0 ? 1u : 0u, 0u, 0u, 0u); }
+)__TORNADO_HOST__";
@@ -0,0 +1,838 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+#include <dlfcn.h>
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+#include <time.h>
+#include <unistd.h>
+
+#include <fstream>
+#include <string>
+
+#include "OCLHostRuntime.h"
+
+#define HOST_PLATFORM_NAME "TornadoVM Host"
+#define HOST_PLATFORM_VENDOR "TornadoVM"
+#define HOST_OPENCL_VERSION "OpenCL 1.2 TornadoVM-Host"
+#define HOST_OPENCL_C_VERSION "OpenCL C 1.2"
+#define HOST_DRIVER_VERSION "1.0"
+#define HOST_EXTENSIONS "cl_khr_fp64 cl_khr_global_int32_base_atomics cl_khr_global_int32_extended_atomics " \
+                        "cl_khr_local_int32_base_atomics cl_khr_local_int32_extended_atomics " \
+                        "cl_khr_int64_base_atomics cl_khr_int64_extended_atomics cl_khr_byte_addressable_store"
+#define HOST_MEMORY_ALIGNMENT 128
+#define HOST_MAX_WORK_GROUP_SIZE 1024
+#define HOST_LOCAL_MEMORY_SIZE (64 * 1024)
+#define HOST_CONSTANT_MEMORY_SIZE (64 * 1024)
+
+static _cl_platform_id hostPlatform;
+static _cl_device_id hostDevice;
+static std::string hostDeviceName;
+
+cl_ulong hostTimestamp() {
+    struct timespec now;
+    clock_gettime(CLOCK_MONOTONIC, &now);
+    return (cl_ulong) now.tv_sec * 1000000000UL + (cl_ulong) now.tv_nsec;
+}
+
+static void initialiseDevice() {
+    static bool initialised = false;
+    if (initialised) {
+        return;
+    }
+    hostDevice.computeUnits = hostNumberOfThreads();
+    hostDevice.globalMemorySize = (cl_ulong) sysconf(_SC_PHYS_PAGES) * (cl_ulong) sysconf(_SC_PAGESIZE);
+    hostDevice.clockFrequency = 0;
+    hostDeviceName = HOST_PLATFORM_NAME;
+    std::ifstream cpuInfo("/proc/cpuinfo");
+    std::string line;
+    bool named = false;
+    while (std::getline(cpuInfo, line)) {
+        size_t colon = line.find(':');
+        if (colon == std::string::npos) {
+            continue;
+        }
+        if (!named && line.compare(0, 10, "model name") == 0) {
+            hostDeviceName = line.substr(line.find_first_not_of(' ', colon + 1));
+            named = true;
+        } else if (hostDevice.clockFrequency == 0 && line.compare(0, 7, "cpu MHz") == 0) {
+            hostDevice.clockFrequency = (cl_uint) atof(line.c_str() + colon + 1);
+        }
+    }
+    initialised = true;
+}
+
+static cl_int returnInfo(const void *value, size_t size, size_t param_value_size, void *param_value, size_t *param_value_size_ret) {
+    if (param_value_size_ret != NULL) {
+        *param_value_size_ret = size;
+    }
+    if (param_value != NULL) {
+        if (param_value_size < size) {
+            return CL_INVALID_VALUE;
+        }
+        memcpy(param_value, value, size);
+    }
+    return CL_SUCCESS;
+}
+
+static cl_int returnString(const char *value, size_t param_value_size, void *param_value, size_t *param_value_size_ret) {
+    return returnInfo(value, strlen(value) + 1, param_value_size, param_value, param_value_size_ret);
+}
+
+template <typename T>
+static cl_int returnValue(T value, size_t param_value_size, void *param_value, size_t *param_value_size_ret) {
+    return returnInfo(&value, sizeof(T), param_value_size, param_value, param_value_size_ret);
+}
+
+static void setError(cl_int *errcode_ret, cl_int error) {
+    if (errcode_ret != NULL) {
+        *errcode_ret = error;
+    }
+}
+
+/*
+ * Commands run to completion when they are enqueued, so every event is complete
+ * by the time it is returned and only carries the profiling timestamps.
+ */
+static void completeEvent(cl_command_queue queue, cl_command_type type, cl_ulong queued, cl_ulong start, cl_event *event) {
+    if (event == NULL) {
+        return;
+    }
+    cl_event result = new _cl_event();
+    result->context = queue->context;
+    result->queue = queue;
+    result->type = type;
+    result->queued = queued;
+    result->start = start;
+    result->end = hostTimestamp();
+    *event = result;
+}
+
+template <typename T>
+static cl_int release(T object) {
+    if (object == NULL) {
+        return CL_INVALID_VALUE;
+    }
+    if (--object->references == 0) {
+        delete object;
+    }
+    return CL_SUCCESS;
+}
+
+/* Platform and device */
+
+CL_API_ENTRY cl_int CL_API_CALL clGetPlatformIDs(cl_uint num_entries, cl_platform_id *platforms, cl_uint *num_platforms) {
+    if (platforms != NULL && num_entries > 0) {
+        platforms[0] = &hostPlatform;
+    }
+    if (num_platforms != NULL) {
+        *num_platforms = 1;
+    }
+    return CL_SUCCESS;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clGetPlatformInfo(cl_platform_id platform, cl_platform_info param_name, size_t param_value_size, void *param_value,
+                                                  size_t *param_value_size_ret) {
+    switch (param_name) {
+        case CL_PLATFORM_PROFILE:
+            return returnString("FULL_PROFILE", param_value_size, param_value, param_value_size_ret);
+        case CL_PLATFORM_VERSION:
+            return returnString(HOST_OPENCL_VERSION, param_value_size, param_value, param_value_size_ret);
+        case CL_PLATFORM_NAME:
+            return returnString(HOST_PLATFORM_NAME, param_value_size, param_value, param_value_size_ret);
+        case CL_PLATFORM_VENDOR:
+            return returnString(HOST_PLATFORM_VENDOR, param_value_size, param_value, param_value_size_ret);
+        case CL_PLATFORM_EXTENSIONS:
+            return returnString(HOST_EXTENSIONS, param_value_size, param_value, param_value_size_ret);
+        default:
+            return CL_INVALID_VALUE;
+    }
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clGetDeviceIDs(cl_platform_id platform, cl_device_type device_type, cl_uint num_entries, cl_device_id *devices,
+                                               cl_uint *num_devices) {
+    initialiseDevice();
+    bool matches = (device_type & (CL_DEVICE_TYPE_CPU | CL_DEVICE_TYPE_DEFAULT)) != 0 || device_type == CL_DEVICE_TYPE_ALL;
+    if (num_devices != NULL) {
+        *num_devices = matches ? 1 : 0;
+    }
+    if (!matches) {
+        return CL_DEVICE_NOT_FOUND;
+    }
+    if (devices != NULL && num_entries > 0) {
+        devices[0] = &hostDevice;
+    }
+    return CL_SUCCESS;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clGetDeviceInfo(cl_device_id device, cl_device_info param_name, size_t param_value_size, void *param_value,
+                                                size_t *param_value_size_ret) {
+    initialiseDevice();
+    const cl_device_fp_config fpConfig = CL_FP_DENORM | CL_FP_INF_NAN | CL_FP_ROUND_TO_NEAREST | CL_FP_ROUND_TO_ZERO | CL_FP_ROUND_TO_INF | CL_FP_FMA;
+    switch (param_name) {
+        case CL_DEVICE_TYPE:
+            return returnValue<cl_device_type>(CL_DEVICE_TYPE_CPU, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_VENDOR_ID:
+            return returnValue<cl_uint>(0, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_MAX_COMPUTE_UNITS:
+            return returnValue<cl_uint>(hostDevice.computeUnits, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_MAX_WORK_ITEM_DIMENSIONS:
+            return returnValue<cl_uint>(TORNADO_HOST_MAX_DIMS, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_MAX_WORK_ITEM_SIZES: {
+            size_t sizes[TORNADO_HOST_MAX_DIMS] = {HOST_MAX_WORK_GROUP_SIZE, HOST_MAX_WORK_GROUP_SIZE, HOST_MAX_WORK_GROUP_SIZE};
+            return returnInfo(sizes, sizeof(sizes), param_value_size, param_value, param_value_size_ret);
+        }
+        case CL_DEVICE_MAX_WORK_GROUP_SIZE:
+            return returnValue<size_t>(HOST_MAX_WORK_GROUP_SIZE, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_PREFERRED_VECTOR_WIDTH_CHAR:
+        case CL_DEVICE_NATIVE_VECTOR_WIDTH_CHAR:
+            return returnValue<cl_uint>(16, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_PREFERRED_VECTOR_WIDTH_SHORT:
+        case CL_DEVICE_NATIVE_VECTOR_WIDTH_SHORT:
+            return returnValue<cl_uint>(8, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_PREFERRED_VECTOR_WIDTH_INT:
+        case CL_DEVICE_NATIVE_VECTOR_WIDTH_INT:
+        case CL_DEVICE_PREFERRED_VECTOR_WIDTH_FLOAT:
+        case CL_DEVICE_NATIVE_VECTOR_WIDTH_FLOAT:
+            return returnValue<cl_uint>(4, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_PREFERRED_VECTOR_WIDTH_LONG:
+        case CL_DEVICE_NATIVE_VECTOR_WIDTH_LONG:
+        case CL_DEVICE_PREFERRED_VECTOR_WIDTH_DOUBLE:
+        case CL_DEVICE_NATIVE_VECTOR_WIDTH_DOUBLE:
+            return returnValue<cl_uint>(2, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_PREFERRED_VECTOR_WIDTH_HALF:
+        case CL_DEVICE_NATIVE_VECTOR_WIDTH_HALF:
+            return returnValue<cl_uint>(0, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_MAX_CLOCK_FREQUENCY:
+            return returnValue<cl_uint>(hostDevice.clockFrequency, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_ADDRESS_BITS:
+            return returnValue<cl_uint>(64, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_MAX_MEM_ALLOC_SIZE:
+            return returnValue<cl_ulong>(hostDevice.globalMemorySize / 4, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_GLOBAL_MEM_SIZE:
+            return returnValue<cl_ulong>(hostDevice.globalMemorySize, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_GLOBAL_MEM_CACHE_TYPE:
+            return returnValue<cl_device_mem_cache_type>(CL_READ_WRITE_CACHE, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_GLOBAL_MEM_CACHELINE_SIZE:
+            return returnValue<cl_uint>(64, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_GLOBAL_MEM_CACHE_SIZE:
+            return returnValue<cl_ulong>(0, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_IMAGE_SUPPORT:
+            return returnValue<cl_bool>(CL_FALSE, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_MAX_READ_IMAGE_ARGS:
+        case CL_DEVICE_MAX_WRITE_IMAGE_ARGS:
+        case CL_DEVICE_MAX_SAMPLERS:
+            return returnValue<cl_uint>(0, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_IMAGE2D_MAX_WIDTH:
+        case CL_DEVICE_IMAGE2D_MAX_HEIGHT:
+        case CL_DEVICE_IMAGE3D_MAX_WIDTH:
+        case CL_DEVICE_IMAGE3D_MAX_HEIGHT:
+        case CL_DEVICE_IMAGE3D_MAX_DEPTH:
+            return returnValue<size_t>(0, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_MAX_PARAMETER_SIZE:
+            return returnValue<size_t>(1024, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_MEM_BASE_ADDR_ALIGN:
+            return returnValue<cl_uint>(HOST_MEMORY_ALIGNMENT * 8, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_MIN_DATA_TYPE_ALIGN_SIZE:
+            return returnValue<cl_uint>(HOST_MEMORY_ALIGNMENT, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_SINGLE_FP_CONFIG:
+        case CL_DEVICE_DOUBLE_FP_CONFIG:
+            return returnValue<cl_device_fp_config>(fpConfig, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_MAX_CONSTANT_BUFFER_SIZE:
+            return returnValue<cl_ulong>(HOST_CONSTANT_MEMORY_SIZE, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_MAX_CONSTANT_ARGS:
+            return returnValue<cl_uint>(8, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_LOCAL_MEM_TYPE:
+            return returnValue<cl_device_local_mem_type>(CL_GLOBAL, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_LOCAL_MEM_SIZE:
+            return returnValue<cl_ulong>(HOST_LOCAL_MEMORY_SIZE, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_ERROR_CORRECTION_SUPPORT:
+            return returnValue<cl_bool>(CL_FALSE, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_HOST_UNIFIED_MEMORY:
+        case CL_DEVICE_ENDIAN_LITTLE:
+        case CL_DEVICE_AVAILABLE:
+        case CL_DEVICE_COMPILER_AVAILABLE:
+        case CL_DEVICE_LINKER_AVAILABLE:
+            return returnValue<cl_bool>(CL_TRUE, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_PROFILING_TIMER_RESOLUTION:
+            return returnValue<size_t>(1, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_EXECUTION_CAPABILITIES:
+            return returnValue<cl_device_exec_capabilities>(CL_EXEC_KERNEL, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_QUEUE_PROPERTIES:
+            return returnValue<cl_command_queue_properties>(CL_QUEUE_PROFILING_ENABLE | CL_QUEUE_OUT_OF_ORDER_EXEC_MODE_ENABLE, param_value_size, param_value,
+                                                            param_value_size_ret);
+        case CL_DEVICE_PLATFORM:
+            return returnValue<cl_platform_id>(&hostPlatform, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_NAME:
+            return returnString(hostDeviceName.c_str(), param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_VENDOR:
+            return returnString(HOST_PLATFORM_VENDOR, param_value_size, param_value, param_value_size_ret);
+        case CL_DRIVER_VERSION:
+            return returnString(HOST_DRIVER_VERSION, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_PROFILE:
+            return returnString("FULL_PROFILE", param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_VERSION:
+            return returnString(HOST_OPENCL_VERSION, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_OPENCL_C_VERSION:
+            return returnString(HOST_OPENCL_C_VERSION, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_EXTENSIONS:
+            return returnString(HOST_EXTENSIONS, param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_BUILT_IN_KERNELS:
+            return returnString("", param_value_size, param_value, param_value_size_ret);
+        case CL_DEVICE_PRINTF_BUFFER_SIZE:
+            return returnValue<size_t>(1024 * 1024, param_value_size, param_value, param_value_size_ret);
+        default:
+            return CL_INVALID_VALUE;
+    }
+}
+
+/* Context and command queue */
+
+CL_API_ENTRY cl_context CL_API_CALL clCreateContext(const cl_context_properties *properties, cl_uint num_devices, const cl_device_id *devices,
+                                                    void(CL_CALLBACK *pfn_notify)(const char *errinfo, const void *private_info, size_t cb, void *user_data),
+                                                    void *user_data, cl_int *errcode_ret) {
+    if (num_devices != 1 || devices == NULL || devices[0] != &hostDevice) {
+        setError(errcode_ret, CL_INVALID_DEVICE);
+        return NULL;
+    }
+    cl_context context = new _cl_context();
+    context->device = &hostDevice;
+    setError(errcode_ret, CL_SUCCESS);
+    return context;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clReleaseContext(cl_context context) {
+    return release(context);
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clGetContextInfo(cl_context context, cl_context_info param_name, size_t param_value_size, void *param_value,
+                                                 size_t *param_value_size_ret) {
+    switch (param_name) {
+        case CL_CONTEXT_REFERENCE_COUNT:
+            return returnValue<cl_uint>(context->references, param_value_size, param_value, param_value_size_ret);
+        case CL_CONTEXT_NUM_DEVICES:
+            return returnValue<cl_uint>(1, param_value_size, param_value, param_value_size_ret);
+        case CL_CONTEXT_DEVICES:
+            return returnValue<cl_device_id>(context->device, param_value_size, param_value, param_value_size_ret);
+        case CL_CONTEXT_PROPERTIES:
+            return returnInfo(NULL, 0, param_value_size, param_value, param_value_size_ret);
+        default:
+            return CL_INVALID_VALUE;
+    }
+}
+
+CL_API_ENTRY cl_command_queue CL_API_CALL clCreateCommandQueue(cl_context context, cl_device_id device, cl_command_queue_properties properties,
+                                                               cl_int *errcode_ret) {
+    if (context == NULL) {
+        setError(errcode_ret, CL_INVALID_CONTEXT);
+        return NULL;
+    }
+    cl_command_queue queue = new _cl_command_queue();
+    queue->context = context;
+    queue->device = device;
+    queue->properties = properties;
+    context->references++;
+    setError(errcode_ret, CL_SUCCESS);
+    return queue;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clReleaseCommandQueue(cl_command_queue command_queue) {
+    if (command_queue == NULL) {
+        return CL_INVALID_COMMAND_QUEUE;
+    }
+    cl_context context = command_queue->context;
+    cl_int status = release(command_queue);
+    release(context);
+    return status;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clGetCommandQueueInfo(cl_command_queue command_queue, cl_command_queue_info param_name, size_t param_value_size,
+                                                      void *param_value, size_t *param_value_size_ret) {
+    switch (param_name) {
+        case CL_QUEUE_CONTEXT:
+            return returnValue<cl_context>(command_queue->context, param_value_size, param_value, param_value_size_ret);
+        case CL_QUEUE_DEVICE:
+            return returnValue<cl_device_id>(command_queue->device, param_value_size, param_value, param_value_size_ret);
+        case CL_QUEUE_REFERENCE_COUNT:
+            return returnValue<cl_uint>(command_queue->references, param_value_size, param_value, param_value_size_ret);
+        case CL_QUEUE_PROPERTIES:
+            return returnValue<cl_command_queue_properties>(command_queue->properties, param_value_size, param_value, param_value_size_ret);
+        default:
+            return CL_INVALID_VALUE;
+    }
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clFlush(cl_command_queue command_queue) {
+    return command_queue != NULL ? CL_SUCCESS : CL_INVALID_COMMAND_QUEUE;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clFinish(cl_command_queue command_queue) {
+    return command_queue != NULL ? CL_SUCCESS : CL_INVALID_COMMAND_QUEUE;
+}
+
+/* Memory objects */
+
+CL_API_ENTRY cl_mem CL_API_CALL clCreateBuffer(cl_context context, cl_mem_flags flags, size_t size, void *host_ptr, cl_int *errcode_ret) {
+    if (size == 0) {
+        setError(errcode_ret, CL_INVALID_BUFFER_SIZE);
+        return NULL;
+    }
+    cl_mem mem = new _cl_mem();
+    mem->context = context;
+    mem->flags = flags;
+    mem->parent = NULL;
+    mem->size = size;
+    if ((flags & CL_MEM_USE_HOST_PTR) && host_ptr != NULL) {
+        mem->data = static_cast<char *>(host_ptr);
+        mem->owner = false;
+    } else {
+        void *data = NULL;
+        if (posix_memalign(&data, HOST_MEMORY_ALIGNMENT, size) != 0) {
+            delete mem;
+            setError(errcode_ret, CL_MEM_OBJECT_ALLOCATION_FAILURE);
+            return NULL;
+        }
+        mem->data = static_cast<char *>(data);
+        mem->owner = true;
+        if ((flags & CL_MEM_COPY_HOST_PTR) && host_ptr != NULL) {
+            memcpy(mem->data, host_ptr, size);
+        }
+    }
+    setError(errcode_ret, CL_SUCCESS);
+    return mem;
+}
+
+CL_API_ENTRY cl_mem CL_API_CALL clCreateSubBuffer(cl_mem buffer, cl_mem_flags flags, cl_buffer_create_type buffer_create_type, const void *buffer_create_info,
+                                                  cl_int *errcode_ret) {
+    const cl_buffer_region *region = static_cast<const cl_buffer_region *>(buffer_create_info);
+    if (buffer == NULL || buffer_create_type != CL_BUFFER_CREATE_TYPE_REGION || region == NULL || region->origin + region->size > buffer->size) {
+        setError(errcode_ret, CL_INVALID_VALUE);
+        return NULL;
+    }
+    cl_mem mem = new _cl_mem();
+    mem->context = buffer->context;
+    mem->flags = flags;
+    mem->parent = buffer;
+    mem->data = buffer->data + region->origin;
+    mem->size = region->size;
+    mem->owner = false;
+    buffer->references++;
+    setError(errcode_ret, CL_SUCCESS);
+    return mem;
+}
+
+CL_API_ENTRY cl_mem CL_API_CALL clCreateImage(cl_context context, cl_mem_flags flags, const cl_image_format *image_format, const cl_image_desc *image_desc,
+                                              void *host_ptr, cl_int *errcode_ret) {
+    setError(errcode_ret, CL_INVALID_OPERATION);
+    return NULL;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clReleaseMemObject(cl_mem memobj) {
+    if (memobj == NULL) {
+        return CL_INVALID_MEM_OBJECT;
+    }
+    if (--memobj->references == 0) {
+        if (memobj->owner) {
+            free(memobj->data);
+        }
+        if (memobj->parent != NULL) {
+            clReleaseMemObject(memobj->parent);
+        }
+        delete memobj;
+    }
+    return CL_SUCCESS;
+}
+
+/* Programs and kernels */
+
+static cl_program createProgram(cl_context context, const std::string &source) {
+    cl_program program = new _cl_program();
+    program->context = context;
+    program->source = source;
+    program->status = CL_BUILD_NONE;
+    program->barriers = false;
+    program->handle = NULL;
+    return program;
+}
+
+CL_API_ENTRY cl_program CL_API_CALL clCreateProgramWithSource(cl_context context, cl_uint count, const char **strings, const size_t *lengths,
+                                                              cl_int *errcode_ret) {
+    std::string source;
+    for (cl_uint i = 0; i < count; i++) {
+        if (lengths != NULL && lengths[i] > 0) {
+            source.append(strings[i], lengths[i]);
+        } else {
+            source.append(strings[i]);
+        }
+    }
+    setError(errcode_ret, CL_SUCCESS);
+    return createProgram(context, source);
+}
+
+/*
+ * The binary of a host program is its OpenCL C source, so the TornadoVM code cache
+ * can store and reload host kernels like the binaries of any other device.
+ */
+CL_API_ENTRY cl_program CL_API_CALL clCreateProgramWithBinary(cl_context context, cl_uint num_devices, const cl_device_id *device_list, const size_t *lengths,
+                                                              const unsigned char **binaries, cl_int *binary_status, cl_int *errcode_ret) {
+    if (num_devices != 1 || binaries == NULL || binaries[0] == NULL) {
+        setError(errcode_ret, CL_INVALID_VALUE);
+        return NULL;
+    }
+    if (binary_status != NULL) {
+        binary_status[0] = CL_SUCCESS;
+    }
+    setError(errcode_ret, CL_SUCCESS);
+    return createProgram(context, std::string(reinterpret_cast<const char *>(binaries[0]), lengths[0]));
+}
+
+CL_API_ENTRY cl_program CL_API_CALL clCreateProgramWithIL(cl_context context, const void *il, size_t length, cl_int *errcode_ret) {
+    setError(errcode_ret, CL_INVALID_OPERATION);
+    return NULL;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clReleaseProgram(cl_program program) {
+    if (program == NULL) {
+        return CL_INVALID_PROGRAM;
+    }
+    if (--program->references == 0) {
+        if (program->handle != NULL) {
+            dlclose(program->handle);
+        }
+        delete program;
+    }
+    return CL_SUCCESS;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clBuildProgram(cl_program program, cl_uint num_devices, const cl_device_id *device_list, const char *options,
+                                               void(CL_CALLBACK *pfn_notify)(cl_program program, void *user_data), void *user_data) {
+    if (program == NULL) {
+        return CL_INVALID_PROGRAM;
+    }
+    program->options = options != NULL ? options : "";
+    program->status = hostCompileProgram(program) ? CL_BUILD_SUCCESS : CL_BUILD_ERROR;
+    if (pfn_notify != NULL) {
+        pfn_notify(program, user_data);
+    }
+    return program->status == CL_BUILD_SUCCESS ? CL_SUCCESS : CL_BUILD_PROGRAM_FAILURE;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clGetProgramInfo(cl_program program, cl_program_info param_name, size_t param_value_size, void *param_value,
+                                                 size_t *param_value_size_ret) {
+    switch (param_name) {
+        case CL_PROGRAM_REFERENCE_COUNT:
+            return returnValue<cl_uint>(program->references, param_value_size, param_value, param_value_size_ret);
+        case CL_PROGRAM_CONTEXT:
+            return returnValue<cl_context>(program->context, param_value_size, param_value, param_value_size_ret);
+        case CL_PROGRAM_NUM_DEVICES:
+            return returnValue<cl_uint>(1, param_value_size, param_value, param_value_size_ret);
+        case CL_PROGRAM_DEVICES:
+            return returnValue<cl_device_id>(&hostDevice, param_value_size, param_value, param_value_size_ret);
+        case CL_PROGRAM_SOURCE:
+            return returnString(program->source.c_str(), param_value_size, param_value, param_value_size_ret);
+        case CL_PROGRAM_BINARY_SIZES:
+            return returnValue<size_t>(program->source.size(), param_value_size, param_value, param_value_size_ret);
+        case CL_PROGRAM_BINARIES: {
+            if (param_value != NULL) {
+                if (param_value_size < sizeof(unsigned char *)) {
+                    return CL_INVALID_VALUE;
+                }
+                unsigned char *binary = static_cast<unsigned char **>(param_value)[0];
+                if (binary != NULL) {
+                    memcpy(binary, program->source.data(), program->source.size());
+                }
+            }
+            if (param_value_size_ret != NULL) {
+                *param_value_size_ret = sizeof(unsigned char *);
+            }
+            return CL_SUCCESS;
+        }
+        case CL_PROGRAM_NUM_KERNELS:
+            return returnValue<size_t>(program->kernels.size(), param_value_size, param_value, param_value_size_ret);
+        case CL_PROGRAM_KERNEL_NAMES: {
+            std::string names;
+            for (const HostKernelSignature &signature : program->kernels) {
+                names += (names.empty() ? "" : ";") + signature.name;
+            }
+            return returnString(names.c_str(), param_value_size, param_value, param_value_size_ret);
+        }
+        default:
+            return CL_INVALID_VALUE;
+    }
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clGetProgramBuildInfo(cl_program program, cl_device_id device, cl_program_build_info param_name, size_t param_value_size,
+                                                      void *param_value, size_t *param_value_size_ret) {
+    switch (param_name) {
+        case CL_PROGRAM_BUILD_STATUS:
+            return returnValue<cl_build_status>(program->status, param_value_size, param_value, param_value_size_ret);
+        case CL_PROGRAM_BUILD_OPTIONS:
+            return returnString(program->options.c_str(), param_value_size, param_value, param_value_size_ret);
+        case CL_PROGRAM_BUILD_LOG: {
+            // Long compiler logs are truncated to the size of the caller's buffer
+            if (param_value != NULL && param_value_size > 0 && program->log.size() + 1 > param_value_size) {
+                memcpy(param_value, program->log.data(), param_value_size - 1);
+                static_cast<char *>(param_value)[param_value_size - 1] = '\0';
+                if (param_value_size_ret != NULL) {
+                    *param_value_size_ret = param_value_size;
+                }
+                return CL_SUCCESS;
+            }
+            return returnString(program->log.c_str(), param_value_size, param_value, param_value_size_ret);
+        }
+        case CL_PROGRAM_BINARY_TYPE:
+            return returnValue<cl_program_binary_type>(program->status == CL_BUILD_SUCCESS ? CL_PROGRAM_BINARY_TYPE_EXECUTABLE : CL_PROGRAM_BINARY_TYPE_NONE,
+                                                       param_value_size, param_value, param_value_size_ret);
+        default:
+            return CL_INVALID_VALUE;
+    }
+}
+
+CL_API_ENTRY cl_kernel CL_API_CALL clCreateKernel(cl_program program, const char *kernel_name, cl_int *errcode_ret) {
+    if (program == NULL || program->status != CL_BUILD_SUCCESS) {
+        setError(errcode_ret, CL_INVALID_PROGRAM_EXECUTABLE);
+        return NULL;
+    }
+    const HostKernelSignature *signature = NULL;
+    for (const HostKernelSignature &candidate : program->kernels) {
+        if (candidate.name == kernel_name) {
+            signature = &candidate;
+        }
+    }
+    if (signature == NULL) {
+        setError(errcode_ret, CL_INVALID_KERNEL_NAME);
+        return NULL;
+    }
+    HostGroupFunction groupFunction = (HostGroupFunction) dlsym(program->handle, ("__tornado_group_" + signature->name).c_str());
+    HostItemFunction itemFunction = (HostItemFunction) dlsym(program->handle, ("__tornado_item_" + signature->name).c_str());
+    if (groupFunction == NULL || itemFunction == NULL) {
+        setError(errcode_ret, CL_INVALID_KERNEL_NAME);
+        return NULL;
+    }
+    cl_kernel kernel = new _cl_kernel();
+    kernel->program = program;
+    kernel->signature = signature;
+    kernel->groupFunction = groupFunction;
+    kernel->itemFunction = itemFunction;
+    kernel->args.resize(signature->types.size());
+    program->references++;
+    setError(errcode_ret, CL_SUCCESS);
+    return kernel;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clReleaseKernel(cl_kernel kernel) {
+    if (kernel == NULL) {
+        return CL_INVALID_KERNEL;
+    }
+    cl_program program = kernel->program;
+    if (--kernel->references == 0) {
+        delete kernel;
+        clReleaseProgram(program);
+    }
+    return CL_SUCCESS;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clSetKernelArg(cl_kernel kernel, cl_uint arg_index, size_t arg_size, const void *arg_value) {
+    if (kernel == NULL) {
+        return CL_INVALID_KERNEL;
+    }
+    if (arg_index >= kernel->args.size()) {
+        return CL_INVALID_ARG_INDEX;
+    }
+    HostKernelArg &arg = kernel->args[arg_index];
+    switch (kernel->signature->kinds[arg_index]) {
+        case HOST_ARG_LOCAL:
+            if (arg_value != NULL || arg_size == 0) {
+                return CL_INVALID_ARG_VALUE;
+            }
+            arg.localSize = arg_size;
+            break;
+        case HOST_ARG_BUFFER:
+            if (arg_size != sizeof(cl_mem)) {
+                return CL_INVALID_ARG_SIZE;
+            }
+            arg.value.assign(sizeof(cl_mem), 0);
+            if (arg_value != NULL) {
+                memcpy(arg.value.data(), arg_value, sizeof(cl_mem));
+            }
+            break;
+        default:
+            // Keep room for the widest parameter type, the kernel reads the value in place
+            arg.value.assign(arg_size > 16 ? arg_size : 16, 0);
+            if (arg_value != NULL) {
+                memcpy(arg.value.data(), arg_value, arg_size);
+            }
+            break;
+    }
+    arg.set = true;
+    return CL_SUCCESS;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clGetKernelInfo(cl_kernel kernel, cl_kernel_info param_name, size_t param_value_size, void *param_value,
+                                                size_t *param_value_size_ret) {
+    switch (param_name) {
+        case CL_KERNEL_FUNCTION_NAME:
+            return returnString(kernel->signature->name.c_str(), param_value_size, param_value, param_value_size_ret);
+        case CL_KERNEL_NUM_ARGS:
+            return returnValue<cl_uint>((cl_uint) kernel->args.size(), param_value_size, param_value, param_value_size_ret);
+        case CL_KERNEL_REFERENCE_COUNT:
+            return returnValue<cl_uint>(kernel->references, param_value_size, param_value, param_value_size_ret);
+        case CL_KERNEL_CONTEXT:
+            return returnValue<cl_context>(kernel->program->context, param_value_size, param_value, param_value_size_ret);
+        case CL_KERNEL_PROGRAM:
+            return returnValue<cl_program>(kernel->program, param_value_size, param_value, param_value_size_ret);
+        case CL_KERNEL_ATTRIBUTES:
+            return returnString("", param_value_size, param_value, param_value_size_ret);
+        default:
+            return CL_INVALID_VALUE;
+    }
+}
+
+/* Events */
+
+CL_API_ENTRY cl_int CL_API_CALL clWaitForEvents(cl_uint num_events, const cl_event *event_list) {
+    return CL_SUCCESS;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clGetEventInfo(cl_event event, cl_event_info param_name, size_t param_value_size, void *param_value,
+                                               size_t *param_value_size_ret) {
+    if (event == NULL) {
+        return CL_INVALID_EVENT;
+    }
+    switch (param_name) {
+        case CL_EVENT_COMMAND_QUEUE:
+            return returnValue<cl_command_queue>(event->queue, param_value_size, param_value, param_value_size_ret);
+        case CL_EVENT_CONTEXT:
+            return returnValue<cl_context>(event->context, param_value_size, param_value, param_value_size_ret);
+        case CL_EVENT_COMMAND_TYPE:
+            return returnValue<cl_command_type>(event->type, param_value_size, param_value, param_value_size_ret);
+        case CL_EVENT_COMMAND_EXECUTION_STATUS:
+            return returnValue<cl_int>(CL_COMPLETE, param_value_size, param_value, param_value_size_ret);
+        case CL_EVENT_REFERENCE_COUNT:
+            return returnValue<cl_uint>(event->references, param_value_size, param_value, param_value_size_ret);
+        default:
+            return CL_INVALID_VALUE;
+    }
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clGetEventProfilingInfo(cl_event event, cl_profiling_info param_name, size_t param_value_size, void *param_value,
+                                                        size_t *param_value_size_ret) {
+    if (event == NULL) {
+        return CL_INVALID_EVENT;
+    }
+    switch (param_name) {
+        case CL_PROFILING_COMMAND_QUEUED:
+            return returnValue<cl_ulong>(event->queued, param_value_size, param_value, param_value_size_ret);
+        case CL_PROFILING_COMMAND_SUBMIT:
+        case CL_PROFILING_COMMAND_START:
+            return returnValue<cl_ulong>(event->start, param_value_size, param_value, param_value_size_ret);
+        case CL_PROFILING_COMMAND_END:
+        case CL_PROFILING_COMMAND_COMPLETE:
+            return returnValue<cl_ulong>(event->end, param_value_size, param_value, param_value_size_ret);
+        default:
+            return CL_INVALID_VALUE;
+    }
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clReleaseEvent(cl_event event) {
+    return event != NULL ? release(event) : CL_INVALID_EVENT;
+}
+
+/* Commands */
+
+CL_API_ENTRY cl_int CL_API_CALL clEnqueueReadBuffer(cl_command_queue command_queue, cl_mem buffer, cl_bool blocking_read, size_t offset, size_t size, void *ptr,
+                                                    cl_uint num_events_in_wait_list, const cl_event *event_wait_list, cl_event *event) {
+    if (buffer == NULL) {
+        return CL_INVALID_MEM_OBJECT;
+    }
+    if (offset + size > buffer->size) {
+        return CL_INVALID_VALUE;
+    }
+    cl_ulong queued = hostTimestamp();
+    memcpy(ptr, buffer->data + offset, size);
+    completeEvent(command_queue, CL_COMMAND_READ_BUFFER, queued, queued, event);
+    return CL_SUCCESS;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clEnqueueWriteBuffer(cl_command_queue command_queue, cl_mem buffer, cl_bool blocking_write, size_t offset, size_t size,
+                                                     const void *ptr, cl_uint num_events_in_wait_list, const cl_event *event_wait_list, cl_event *event) {
+    if (buffer == NULL) {
+        return CL_INVALID_MEM_OBJECT;
+    }
+    if (offset + size > buffer->size) {
+        return CL_INVALID_VALUE;
+    }
+    cl_ulong queued = hostTimestamp();
+    memcpy(buffer->data + offset, ptr, size);
+    completeEvent(command_queue, CL_COMMAND_WRITE_BUFFER, queued, queued, event);
+    return CL_SUCCESS;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clEnqueueReadImage(cl_command_queue command_queue, cl_mem image, cl_bool blocking_read, const size_t *origin,
+                                                   const size_t *region, size_t row_pitch, size_t slice_pitch, void *ptr, cl_uint num_events_in_wait_list,
+                                                   const cl_event *event_wait_list, cl_event *event) {
+    return CL_INVALID_MEM_OBJECT;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clEnqueueWriteImage(cl_command_queue command_queue, cl_mem image, cl_bool blocking_write, const size_t *origin,
+                                                    const size_t *region, size_t input_row_pitch, size_t input_slice_pitch, const void *ptr,
+                                                    cl_uint num_events_in_wait_list, const cl_event *event_wait_list, cl_event *event) {
+    return CL_INVALID_MEM_OBJECT;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clEnqueueNDRangeKernel(cl_command_queue command_queue, cl_kernel kernel, cl_uint work_dim, const size_t *global_work_offset,
+                                                       const size_t *global_work_size, const size_t *local_work_size, cl_uint num_events_in_wait_list,
+                                                       const cl_event *event_wait_list, cl_event *event) {
+    if (command_queue == NULL) {
+        return CL_INVALID_COMMAND_QUEUE;
+    }
+    if (kernel == NULL) {
+        return CL_INVALID_KERNEL;
+    }
+    cl_ulong queued = hostTimestamp();
+    cl_int status = hostExecuteKernel(kernel, work_dim, global_work_offset, global_work_size, local_work_size);
+    if (status == CL_SUCCESS) {
+        completeEvent(command_queue, CL_COMMAND_NDRANGE_KERNEL, queued, queued, event);
+    }
+    return status;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clEnqueueMarkerWithWaitList(cl_command_queue command_queue, cl_uint num_events_in_wait_list, const cl_event *event_wait_list,
+                                                            cl_event *event) {
+    cl_ulong now = hostTimestamp();
+    completeEvent(command_queue, CL_COMMAND_MARKER, now, now, event);
+    return CL_SUCCESS;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clEnqueueBarrierWithWaitList(cl_command_queue command_queue, cl_uint num_events_in_wait_list, const cl_event *event_wait_list,
+                                                             cl_event *event) {
+    cl_ulong now = hostTimestamp();
+    completeEvent(command_queue, CL_COMMAND_BARRIER, now, now, event);
+    return CL_SUCCESS;
+}
+
+CL_API_ENTRY cl_int CL_API_CALL clEnqueueWaitForEvents(cl_command_queue command_queue, cl_uint num_events, const cl_event *event_list) {
+    return CL_SUCCESS;
+}
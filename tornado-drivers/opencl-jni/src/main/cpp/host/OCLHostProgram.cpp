@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+#include <dlfcn.h>
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+#include <unistd.h>
+
+#include <cctype>
+#include <regex>
+#include <sstream>
+#include <string>
+
+#include "OCLHostRuntime.h"
+
+/*
+ * Compiler used for the kernels and its flags. Both can be overridden through the
+ * TORNADO_HOST_CXX and TORNADO_HOST_CXXFLAGS environment variables.
+ */
+#define DEFAULT_HOST_CXX "c++"
+#define DEFAULT_HOST_CXXFLAGS "-O2 -march=native"
+
+/*
+ * Flags needed for OpenCL C semantics: Java-like wrapping integer arithmetic, no
+ * type-based alias analysis (the generated code reinterprets the same buffers with
+ * different types) and "and"/"or"/"not" usable as identifiers.
+ */
+#define REQUIRED_HOST_CXXFLAGS "-std=c++14 -shared -fPIC -fwrapv -fno-strict-aliasing -fsigned-char -fno-operator-names -w"
+
+static std::string environmentOrDefault(const char *name, const char *defaultValue) {
+    const char *value = getenv(name);
+    return (value != NULL && value[0] != '\0') ? std::string(value) : std::string(defaultValue);
+}
+
+static std::string trim(const std::string &value) {
+    size_t begin = value.find_first_not_of(" \t\r\n");
+    if (begin == std::string::npos) {
+        return "";
+    }
+    size_t end = value.find_last_not_of(" \t\r\n");
+    return value.substr(begin, end - begin + 1);
+}
+
+static bool isIdentifier(char c) {
+    return isalnum((unsigned char) c) || c == '_' || c == '$';
+}
+
+/*
+ * Splits a kernel parameter declaration into its type and its name, and classifies it:
+ * pointers in the local address space are allocated per work-group, any other pointer
+ * is a cl_mem handle that is translated into the host address of the buffer.
+ */
+static bool parseParameter(const std::string &declaration, HostKernelSignature &signature) {
+    std::string parameter = trim(declaration);
+    size_t end = parameter.size();
+    if (end > 0 && parameter[end - 1] == ']') {
+        return false;
+    }
+    size_t begin = end;
+    while (begin > 0 && isIdentifier(parameter[begin - 1])) {
+        begin--;
+    }
+    std::string type = trim(parameter.substr(0, begin));
+    if (type.empty() || begin == end) {
+        return false;
+    }
+    HostArgKind kind = HOST_ARG_VALUE;
+    if (type.find('*') != std::string::npos) {
+        kind = (type.find("__local") != std::string::npos || type.find("local ") == 0) ? HOST_ARG_LOCAL : HOST_ARG_BUFFER;
+    } else if (type.find("image") != std::string::npos || type.find("sampler_t") != std::string::npos) {
+        return false;
+    }
+    signature.types.push_back(type);
+    signature.kinds.push_back(kind);
+    return true;
+}
+
+/*
+ * Collects the name and the parameters of every __kernel function of the program.
+ */
+static bool parseKernelSignatures(cl_program program) {
+    static const std::regex kernelDeclaration("__kernel\\s+void\\s+([A-Za-z_$][A-Za-z0-9_$]*)\\s*\\(");
+    const std::string &source = program->source;
+    for (std::sregex_iterator it(source.begin(), source.end(), kernelDeclaration), last; it != last; ++it) {
+        HostKernelSignature signature;
+        signature.name = (*it)[1].str();
+        size_t position = it->position(0) + it->length(0);
+        int depth = 1;
+        std::string parameter;
+        for (; position < source.size() && depth > 0; position++) {
+            char c = source[position];
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+            if ((c == ',' && depth == 1) || depth == 0) {
+                if (!trim(parameter).empty() && trim(parameter) != "void" && !parseParameter(parameter, signature)) {
+                    program->log += "unsupported parameter '" + trim(parameter) + "' in kernel " + signature.name + "\n";
+                    return false;
+                }
+                parameter.clear();
+            } else {
+                parameter += c;
+            }
+        }
+        program->kernels.push_back(signature);
+    }
+    if (program->kernels.empty()) {
+        program->log += "no __kernel function found\n";
+        return false;
+    }
+    return true;
+}
+
+/*
+ * Rewrites the OpenCL C constructs that have no C++ equivalent:
+ *  - vector literals "(float4)(a, b, c, d)" become constructor calls "float4(a, b, c, d)";
+ *  - __local variables declared in a kernel become thread-local statics, which are
+ *    shared by the work-items of a group as the whole group runs on one thread.
+ */
+static std::string translateSource(const std::string &source) {
+    static const std::regex vectorLiteral("\\(\\s*((?:u?char|u?short|u?int|u?long|float|double)(?:2|3|4|8|16))\\s*\\)\\s*\\(");
+    std::string translated = std::regex_replace(source, vectorLiteral, "$1(");
+
+    std::istringstream input(translated);
+    std::ostringstream output;
+    std::string line;
+    while (std::getline(input, line)) {
+        std::string trimmed = trim(line);
+        if (trimmed.compare(0, 8, "__local ") == 0 && trimmed.find('(') == std::string::npos && trimmed.find('*') == std::string::npos
+            && !trimmed.empty() && trimmed[trimmed.size() - 1] == ';') {
+            size_t index = line.find("__local");
+            line.replace(index, 7, "static thread_local");
+        }
+        output << line << '\n';
+    }
+    return output.str();
+}
+
+static void emitEntryPoints(std::ostringstream &output, const HostKernelSignature &signature) {
+    std::ostringstream call;
+    call << signature.name << "(";
+    for (size_t i = 0; i < signature.types.size(); i++) {
+        call << (i == 0 ? "" : ", ") << "*(" << signature.types[i] << " *) args[" << i << "]";
+    }
+    call << ");";
+
+    output << "extern \"C\" void __tornado_group_" << signature.name << "(const __tornado_group_info *group, void **args) {\n"
+           << "    __tornado_group = group;\n"
+           << "    for (ulong l2 = 0; l2 < group->local_size[2]; l2++) {\n"
+           << "        for (ulong l1 = 0; l1 < group->local_size[1]; l1++) {\n"
+           << "            for (ulong l0 = 0; l0 < group->local_size[0]; l0++) {\n"
+           << "                __tornado_local_id[0] = l0;\n"
+           << "                __tornado_local_id[1] = l1;\n"
+           << "                __tornado_local_id[2] = l2;\n"
+           << "                " << call.str() << "\n"
+           << "            }\n"
+           << "        }\n"
+           << "    }\n"
+           << "}\n";
+
+    output << "extern \"C\" void __tornado_item_" << signature.name << "(const __tornado_group_info *group, void **args, ulong l0, ulong l1, ulong l2) {\n"
+           << "    __tornado_group = group;\n"
+           << "    __tornado_local_id[0] = l0;\n"
+           << "    __tornado_local_id[1] = l1;\n"
+           << "    __tornado_local_id[2] = l2;\n"
+           << "    " << call.str() << "\n"
+           << "}\n";
+}
+
+static bool runCompiler(cl_program program, const std::string &directory, const std::string &translationUnit) {
+    std::string sourceFile = directory + "/kernel.cpp";
+    std::string libraryFile = directory + "/kernel.so";
+
+    FILE *file = fopen(sourceFile.c_str(), "w");
+    if (file == NULL) {
+        program->log += "unable to write " + sourceFile + "\n";
+        return false;
+    }
+    fwrite(translationUnit.data(), 1, translationUnit.size(), file);
+    fclose(file);
+
+    std::string command = environmentOrDefault("TORNADO_HOST_CXX", DEFAULT_HOST_CXX) + " " + REQUIRED_HOST_CXXFLAGS + " "
+                          + environmentOrDefault("TORNADO_HOST_CXXFLAGS", DEFAULT_HOST_CXXFLAGS) + " -o " + libraryFile + " " + sourceFile + " -lm 2>&1";
+    FILE *pipe = popen(command.c_str(), "r");
+    if (pipe == NULL) {
+        program->log += "unable to run: " + command + "\n";
+        return false;
+    }
+    char buffer[4096];
+    size_t read;
+    while ((read = fread(buffer, 1, sizeof(buffer), pipe)) > 0) {
+        program->log.append(buffer, read);
+    }
+    int exitCode = pclose(pipe);
+    if (exitCode != 0) {
+        program->log += "host compiler failed: " + command + "\n";
+        return false;
+    }
+
+    program->handle = dlopen(libraryFile.c_str(), RTLD_NOW | RTLD_LOCAL);
+    if (program->handle == NULL) {
+        program->log += std::string("dlopen failed: ") + dlerror() + "\n";
+        return false;
+    }
+    return true;
+}
+
+bool hostCompileProgram(cl_program program) {
+    program->log.clear();
+    program->kernels.clear();
+    if (!parseKernelSignatures(program)) {
+        return false;
+    }
+    program->barriers = program->source.find("barrier") != std::string::npos;
+
+    std::ostringstream translationUnit;
+    translationUnit << TORNADO_HOST_KERNEL_HEADER << "\n#line 1 \"kernel.cl\"\n" << translateSource(program->source) << "\n";
+    for (const HostKernelSignature &signature : program->kernels) {
+        emitEntryPoints(translationUnit, signature);
+    }
+
+    char directoryTemplate[] = "/tmp/tornado-host-XXXXXX";
+    const char *temporary = getenv("TMPDIR");
+    std::string pattern = (temporary != NULL && temporary[0] != '\0') ? std::string(temporary) + "/tornado-host-XXXXXX" : std::string(directoryTemplate);
+    std::vector<char> directory(pattern.begin(), pattern.end());
+    directory.push_back('\0');
+    if (mkdtemp(directory.data()) == NULL) {
+        program->log += "unable to create a temporary directory from " + pattern + "\n";
+        return false;
+    }
+
+    bool compiled = runCompiler(program, directory.data(), translationUnit.str());
+
+    // The library stays mapped after dlopen, so the working files can go straight away
+    std::string base(directory.data());
+    unlink((base + "/kernel.cpp").c_str());
+    unlink((base + "/kernel.so").c_str());
+    rmdir(base.c_str());
+    return compiled;
+}
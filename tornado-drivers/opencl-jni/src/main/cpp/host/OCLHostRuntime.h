@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/*
+ * Host OpenCL platform: a minimal implementation of the OpenCL API subset used by
+ * the TornadoVM JNI layer that runs kernels on the host cores. OpenCL C kernels
+ * are translated to C++ (see OCLHostKernelHeader.h), compiled with the local C++
+ * compiler into a shared object and executed by a pool of worker threads.
+ */
+#ifndef TORNADO_OCL_HOST_RUNTIME_H
+#define TORNADO_OCL_HOST_RUNTIME_H
+
+#define CL_TARGET_OPENCL_VERSION 300
+#include <CL/cl.h>
+
+#include <atomic>
+#include <cstdint>
+#include <string>
+#include <vector>
+
+#define TORNADO_HOST_MAX_DIMS 3
+
+/*
+ * Mirrors the __tornado_group_info structure of the kernel emulation header.
+ */
+struct HostGroupInfo {
+    cl_uint work_dim;
+    cl_ulong global_size[TORNADO_HOST_MAX_DIMS];
+    cl_ulong local_size[TORNADO_HOST_MAX_DIMS];
+    cl_ulong num_groups[TORNADO_HOST_MAX_DIMS];
+    cl_ulong global_offset[TORNADO_HOST_MAX_DIMS];
+    cl_ulong group_id[TORNADO_HOST_MAX_DIMS];
+    void (*barrier)(void *scheduler);
+    void *scheduler;
+};
+
+typedef void (*HostGroupFunction)(const HostGroupInfo *group, void **args);
+typedef void (*HostItemFunction)(const HostGroupInfo *group, void **args, cl_ulong l0, cl_ulong l1, cl_ulong l2);
+
+struct HostObject {
+    std::atomic<cl_uint> references{1};
+};
+
+struct _cl_platform_id {
+};
+
+struct _cl_device_id {
+    cl_uint computeUnits;
+    cl_ulong globalMemorySize;
+    cl_uint clockFrequency;
+};
+
+struct _cl_context : HostObject {
+    cl_device_id device;
+};
+
+struct _cl_command_queue : HostObject {
+    cl_context context;
+    cl_device_id device;
+    cl_command_queue_properties properties;
+};
+
+struct _cl_mem : HostObject {
+    cl_context context;
+    cl_mem_flags flags;
+    cl_mem parent;
+    char *data;
+    size_t size;
+    bool owner;
+};
+
+struct _cl_event : HostObject {
+    cl_context context;
+    cl_command_queue queue;
+    cl_command_type type;
+    cl_ulong queued;
+    cl_ulong start;
+    cl_ulong end;
+};
+
+enum HostArgKind {
+    HOST_ARG_VALUE,
+    HOST_ARG_BUFFER,
+    HOST_ARG_LOCAL
+};
+
+struct HostKernelSignature {
+    std::string name;
+    std::vector<std::string> types;
+    std::vector<HostArgKind> kinds;
+};
+
+struct _cl_program : HostObject {
+    cl_context context;
+    std::string source;
+    std::string options;
+    std::string log;
+    cl_build_status status;
+    std::vector<HostKernelSignature> kernels;
+    bool barriers;
+    void *handle;
+};
+
+struct HostKernelArg {
+    std::vector<char> value;
+    size_t localSize;
+    bool set;
+};
+
+struct _cl_kernel : HostObject {
+    cl_program program;
+    const HostKernelSignature *signature;
+    HostGroupFunction groupFunction;
+    HostItemFunction itemFunction;
+    std::vector<HostKernelArg> args;
+};
+
+extern const char *TORNADO_HOST_KERNEL_HEADER;
+
+cl_ulong hostTimestamp();
+
+bool hostCompileProgram(cl_program program);
+
+cl_int hostExecuteKernel(cl_kernel kernel, cl_uint workDim, const size_t *globalOffset, const size_t *globalSize, const size_t *localSize);
+
+cl_uint hostNumberOfThreads();
+
+#endif
@@ -420,3 +420,79 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQ
          jlong offset, jlong numBytes, jlong devicePtr, jlongArray javaArrayEvents) {
     return transferFromDeviceToHost(env, clazz, commandQueue, reinterpret_cast<jbyteArray>(hostArray), hostOffset, blocking, offset, numBytes, devicePtr, javaArrayEvents);
 }
+
+jlong transferImage(JNIEnv *env, jclass javaClass,
+                    jlong commandQueue,             // Pointer to the OpenCL command queue
+                    jbyteArray hostArray,           // Host array
+                    jlong hostOffset,               // Offset (in bytes) within the host array
+                    jlong width,                    // Image width in pixels
+                    jlong height,                   // Image height in pixels
+                    jlong imagePtr,                 // Pointer to the device image
+                    jlongArray javaArrayEvents,     // Array of previous events
+                    bool toDevice) {
+
+    jlong *eventsArray = static_cast<jlong *>((javaArrayEvents != NULL) ? env->GetPrimitiveArrayCritical(javaArrayEvents, NULL) : NULL);
+    jlong *events = (javaArrayEvents != NULL) ? &eventsArray[1] : NULL;
+    jsize num_events = (javaArrayEvents != NULL) ? eventsArray[0] : 0;
+    jbyte *buffer = static_cast<jbyte *>(env->GetPrimitiveArrayCritical(hostArray, NULL));
+
+    size_t origin[3] = {0, 0, 0};
+    size_t region[3] = {(size_t) width, (size_t) height, 1};
+    cl_event event;
+    cl_int status;
+    /* images are always transferred blocking, for the same GC reasons as the buffer transfers */
+    if (toDevice) {
+        status = clEnqueueWriteImage((cl_command_queue) commandQueue, (cl_mem) imagePtr, CL_TRUE, origin, region, 0, 0,
+                                     (void *) &buffer[hostOffset], (cl_uint) num_events, (cl_event *) events, &event);
+        LOG_OCL_AND_VALIDATE("clEnqueueWriteImage", status);
+    } else {
+        status = clEnqueueReadImage((cl_command_queue) commandQueue, (cl_mem) imagePtr, CL_TRUE, origin, region, 0, 0,
+                                    (void *) &buffer[hostOffset], (cl_uint) num_events, (cl_event *) events, &event);
+        LOG_OCL_AND_VALIDATE("clEnqueueReadImage", status);
+    }
+    env->ReleasePrimitiveArrayCritical(hostArray, buffer, toDevice ? JNI_ABORT : 0);
+    if (javaArrayEvents != NULL) {
+        env->ReleasePrimitiveArrayCritical(javaArrayEvents, eventsArray, JNI_ABORT);
+    }
+    return (jlong) event;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    writeImageToDevice
+ * Signature: (J[BJJJJ[J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_writeImageToDevice__J_3BJJJJ_3J
+        (JNIEnv *env, jclass clazz, jlong commandQueue, jbyteArray hostArray, jlong hostOffset, jlong width, jlong height, jlong imagePtr, jlongArray javaArrayEvents) {
+    return transferImage(env, clazz, commandQueue, hostArray, hostOffset, width, height, imagePtr, javaArrayEvents, true);
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    writeImageToDevice
+ * Signature: (J[FJJJJ[J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_writeImageToDevice__J_3FJJJJ_3J
+        (JNIEnv *env, jclass clazz, jlong commandQueue, jfloatArray hostArray, jlong hostOffset, jlong width, jlong height, jlong imagePtr, jlongArray javaArrayEvents) {
+    return transferImage(env, clazz, commandQueue, reinterpret_cast<jbyteArray>(hostArray), hostOffset, width, height, imagePtr, javaArrayEvents, true);
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    readImageFromDevice
+ * Signature: (J[BJJJJ[J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_readImageFromDevice__J_3BJJJJ_3J
+        (JNIEnv *env, jclass clazz, jlong commandQueue, jbyteArray hostArray, jlong hostOffset, jlong width, jlong height, jlong imagePtr, jlongArray javaArrayEvents) {
+    return transferImage(env, clazz, commandQueue, hostArray, hostOffset, width, height, imagePtr, javaArrayEvents, false);
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    readImageFromDevice
+ * Signature: (J[FJJJJ[J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_readImageFromDevice__J_3FJJJJ_3J
+        (JNIEnv *env, jclass clazz, jlong commandQueue, jfloatArray hostArray, jlong hostOffset, jlong width, jlong height, jlong imagePtr, jlongArray javaArrayEvents) {
+    return transferImage(env, clazz, commandQueue, reinterpret_cast<jbyteArray>(hostArray), hostOffset, width, height, imagePtr, javaArrayEvents, false);
+}
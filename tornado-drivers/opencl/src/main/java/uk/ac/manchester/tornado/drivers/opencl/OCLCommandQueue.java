@@ -110,6 +110,14 @@ public class OCLCommandQueue extends TornadoLogger {
 
     static native long readArrayFromDevice(long queueId, double[] buffer, long hostOffset, boolean blocking, long offset, long bytes, long ptr, long[] events) throws OCLException;
 
+    static native long writeImageToDevice(long queueId, byte[] buffer, long hostOffset, long width, long height, long image, long[] events) throws OCLException;
+
+    static native long writeImageToDevice(long queueId, float[] buffer, long hostOffset, long width, long height, long image, long[] events) throws OCLException;
+
+    static native long readImageFromDevice(long queueId, byte[] buffer, long hostOffset, long width, long height, long image, long[] events) throws OCLException;
+
+    static native long readImageFromDevice(long queueId, float[] buffer, long hostOffset, long width, long height, long image, long[] events) throws OCLException;
+
     static native void clEnqueueWaitForEvents(long queueId, long[] events) throws OCLException;
 
     /*
@@ -339,6 +347,46 @@ public class OCLCommandQueue extends TornadoLogger {
         return -1;
     }
 
+    public long enqueueWriteImage(long image, long width, long height, byte[] array, long hostOffset, long[] waitEvents) {
+        guarantee(array != null, "array is null");
+        try {
+            return writeImageToDevice(commandQueue, array, hostOffset, width, height, image, waitEvents);
+        } catch (OCLException e) {
+            error(e.getMessage());
+        }
+        return -1;
+    }
+
+    public long enqueueWriteImage(long image, long width, long height, float[] array, long hostOffset, long[] waitEvents) {
+        guarantee(array != null, "array is null");
+        try {
+            return writeImageToDevice(commandQueue, array, hostOffset, width, height, image, waitEvents);
+        } catch (OCLException e) {
+            error(e.getMessage());
+        }
+        return -1;
+    }
+
+    public long enqueueReadImage(long image, long width, long height, byte[] array, long hostOffset, long[] waitEvents) {
+        guarantee(array != null, "array is null");
+        try {
+            return readImageFromDevice(commandQueue, array, hostOffset, width, height, image, waitEvents);
+        } catch (OCLException e) {
+            error(e.getMessage());
+        }
+        return -1;
+    }
+
+    public long enqueueReadImage(long image, long width, long height, float[] array, long hostOffset, long[] waitEvents) {
+        guarantee(array != null, "array is null");
+        try {
+            return readImageFromDevice(commandQueue, array, hostOffset, width, height, image, waitEvents);
+        } catch (OCLException e) {
+            error(e.getMessage());
+        }
+        return -1;
+    }
+
     public void finish() {
         try {
             clFinish(commandQueue);
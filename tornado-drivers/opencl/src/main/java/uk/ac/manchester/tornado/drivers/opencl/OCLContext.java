@@ -32,6 +32,7 @@ import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLCommandQueuePrope
 import static uk.ac.manchester.tornado.runtime.common.Tornado.ENABLE_OOO_EXECUTION;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.ENABLE_PROFILING;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.DUMP_EVENTS;
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.OPENCL_NUM_QUEUES;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -49,7 +50,7 @@ public class OCLContext implements OCLExecutionEnvironment {
     private final long contextID;
     private final List<OCLTargetDevice> devices;
     private final List<OCLDeviceContext> deviceContexts;
-    private final OCLCommandQueue[] queues;
+    private final OCLCommandQueue[][] queues;
     private final List<OCLProgram> programs;
     private final OCLPlatform platform;
 
@@ -58,7 +59,7 @@ public class OCLContext implements OCLExecutionEnvironment {
         this.contextID = id;
         this.devices = devices;
         this.deviceContexts = new ArrayList<>(devices.size());
-        this.queues = new OCLCommandQueue[devices.size()];
+        this.queues = new OCLCommandQueue[devices.size()][];
         this.programs = new ArrayList<>();
     }
 
@@ -79,6 +80,8 @@ public class OCLContext implements OCLExecutionEnvironment {
 
     static native long createSubBuffer(long buffer, long flags, int createType, byte[] createInfo) throws OCLException;
 
+    static native long createImage2D(long contextId, long flags, int channelOrder, int channelType, long width, long height) throws OCLException;
+
     static native void clReleaseMemObject(long memId) throws OCLException;
 
     static native long clCreateProgramWithSource(long contextId, byte[] data, long[] lengths) throws OCLException;
@@ -95,22 +98,32 @@ public class OCLContext implements OCLExecutionEnvironment {
         return devices;
     }
 
-    public OCLCommandQueue[] queues() {
+    public OCLCommandQueue[][] queues() {
         return queues;
     }
 
+    /**
+     * Creates the command queues of a device. An out-of-order queue already
+     * overlaps independent commands, so a single queue is created in that case.
+     * Otherwise, {@link uk.ac.manchester.tornado.runtime.common.TornadoOptions#OPENCL_NUM_QUEUES}
+     * in-order queues are created (between 1 and 3).
+     */
     public void createCommandQueue(int index, long properties) {
         OCLTargetDevice device = devices.get(index);
-        long queueId;
+        final boolean outOfOrderQueue = (properties & CL_QUEUE_OUT_OF_ORDER_EXEC_MODE_ENABLE) != 0;
+        final int numQueues = outOfOrderQueue ? 1 : Math.max(1, Math.min(OPENCL_NUM_QUEUES, 3));
         try {
-            queueId = clCreateCommandQueue(contextID, device.getId(), properties);
-
             final int platformVersion = Integer.parseInt(platform.getVersion().split(" ")[1].replace(".", "")) * 10;
             final int deviceVersion = Integer.parseInt(device.getVersion().split(" ")[1].replace(".", "")) * 10;
             TornadoLogger.info("platform: version=%s (%s) on %s", platformVersion, platform.getVersion(), device.getDeviceName());
             TornadoLogger.info("device  : version=%s (%s) on %s", deviceVersion, device.getVersion(), device.getDeviceName());
 
-            queues[index] = new OCLCommandQueue(queueId, properties, deviceVersion);
+            OCLCommandQueue[] deviceQueues = new OCLCommandQueue[numQueues];
+            for (int i = 0; i < numQueues; i++) {
+                long queueId = clCreateCommandQueue(contextID, device.getId(), properties);
+                deviceQueues[i] = new OCLCommandQueue(queueId, properties, deviceVersion);
+            }
+            queues[index] = deviceQueues;
         } catch (OCLException e) {
             TornadoLogger.error(e.getMessage());
         }
@@ -199,9 +212,11 @@ public class OCLContext implements OCLExecutionEnvironment {
             }
             long t1 = System.nanoTime();
 
-            for (OCLCommandQueue queue : queues) {
-                if (queue != null) {
-                    queue.cleanup();
+            for (OCLCommandQueue[] deviceQueues : queues) {
+                if (deviceQueues != null) {
+                    for (OCLCommandQueue queue : deviceQueues) {
+                        queue.cleanup();
+                    }
                 }
             }
 
@@ -274,6 +289,17 @@ public class OCLContext implements OCLExecutionEnvironment {
         return null;
     }
 
+    public long createImage2D(long flags, int channelOrder, int channelType, long width, long height) {
+        try {
+            final long image = createImage2D(contextID, flags, channelOrder, channelType, width, height);
+            TornadoLogger.info("image allocated %dx%d @ 0x%x", width, height, image);
+            return image;
+        } catch (OCLException e) {
+            TornadoLogger.error(e.getMessage());
+        }
+        return -1;
+    }
+
     public void releaseBuffer(long bufferId) {
         try {
             clReleaseMemObject(bufferId);
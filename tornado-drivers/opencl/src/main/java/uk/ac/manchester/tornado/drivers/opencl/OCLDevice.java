@@ -36,6 +36,7 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Arrays;
 
+import jdk.vm.ci.meta.JavaKind;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceInfo;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLLocalMemType;
@@ -397,6 +398,41 @@ public class OCLDevice implements OCLTargetDevice {
         return deviceAddressBits;
     }
 
+    @Override
+    public int getDevicePreferredVectorWidth(JavaKind kind) {
+        OCLDeviceInfo info;
+        switch (kind) {
+            case Byte:
+                info = OCLDeviceInfo.CL_DEVICE_PREFERRED_VECTOR_WIDTH_CHAR;
+                break;
+            case Short:
+                info = OCLDeviceInfo.CL_DEVICE_PREFERRED_VECTOR_WIDTH_SHORT;
+                break;
+            case Int:
+                info = OCLDeviceInfo.CL_DEVICE_PREFERRED_VECTOR_WIDTH_INT;
+                break;
+            case Long:
+                info = OCLDeviceInfo.CL_DEVICE_PREFERRED_VECTOR_WIDTH_LONG;
+                break;
+            case Float:
+                info = OCLDeviceInfo.CL_DEVICE_PREFERRED_VECTOR_WIDTH_FLOAT;
+                break;
+            case Double:
+                info = OCLDeviceInfo.CL_DEVICE_PREFERRED_VECTOR_WIDTH_DOUBLE;
+                break;
+            default:
+                return 1;
+        }
+        queryOpenCLAPI(info.getValue());
+        return buffer.getInt();
+    }
+
+    @Override
+    public boolean isDeviceImageSupported() {
+        queryOpenCLAPI(OCLDeviceInfo.CL_DEVICE_IMAGE_SUPPORT.getValue());
+        return buffer.getInt() == OpenCL.CL_TRUE;
+    }
+
     public boolean hasDeviceUnifiedMemory() {
         queryOpenCLAPI(OCLDeviceInfo.CL_DEVICE_HOST_UNIFIED_MEMORY.getValue());
         return buffer.getInt() == OpenCL.CL_TRUE;
@@ -56,7 +56,10 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
     private static final String[] BUMP_DEVICES = parseDevices(getProperty("tornado.opencl.bump.devices", "Iris Pro"));
 
     private final OCLTargetDevice device;
+    private final OCLCommandQueue[] queues;
     private final OCLCommandQueue queue;
+    private final OCLCommandQueue writeQueue;
+    private final OCLCommandQueue readQueue;
     private final OCLContext context;
     private final OCLMemoryManager memoryManager;
     private final long bumpBuffer;
@@ -68,14 +71,23 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
 
     private final TornadoBufferProvider bufferProvider;
 
-    protected OCLDeviceContext(OCLTargetDevice device, OCLCommandQueue queue, OCLContext context) {
+    /**
+     * Kernels are always launched on the first queue. With two queues, all
+     * transfers are issued on the second one. With three queues, host-to-device
+     * and device-to-host transfers use a queue each, so that they can overlap
+     * with each other and with the kernels.
+     */
+    protected OCLDeviceContext(OCLTargetDevice device, OCLCommandQueue[] queues, OCLContext context) {
         this.device = device;
-        this.queue = queue;
+        this.queues = queues;
+        this.queue = queues[0];
+        this.writeQueue = queues[Math.min(1, queues.length - 1)];
+        this.readQueue = queues[queues.length - 1];
         this.context = context;
         this.memoryManager = new OCLMemoryManager(this);
         this.codeCache = new OCLCodeCache(this);
 
-        this.oclEventPool = new OCLEventPool(EVENT_WINDOW);
+        this.oclEventPool = new OCLEventPool(EVENT_WINDOW, queues);
 
         needsBump = false;
         for (String bumpDevice : BUMP_DEVICES) {
@@ -144,10 +156,13 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
 
     @Override
     public void sync() {
-        if (USE_SYNC_FLUSH) {
-            queue.flush();
+        for (OCLCommandQueue commandQueue : queues) {
+            if (USE_SYNC_FLUSH) {
+                commandQueue.flush();
+            }
+            commandQueue.finish();
         }
-        queue.finish();
+        oclEventPool.releaseConsumedEvents();
     }
 
     @Override
@@ -157,13 +172,13 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
 
     @Override
     public int enqueueBarrier() {
-        long oclEvent = queue.enqueueBarrier();
+        long oclEvent = queue.enqueueBarrier(oclEventPool.serialiseBarrierEvents(null, queue));
         return (queue.getOpenclVersion() < 120) ? -1 : oclEventPool.registerEvent(oclEvent, EventDescriptor.DESC_SYNC_BARRIER, queue);
     }
 
     @Override
     public int enqueueMarker() {
-        long oclEvent = queue.enqueueMarker();
+        long oclEvent = queue.enqueueMarker(oclEventPool.serialiseBarrierEvents(null, queue));
         return queue.getOpenclVersion() < 120 ? -1 : oclEventPool.registerEvent(oclEvent, EventDescriptor.DESC_SYNC_MARKER, queue);
     }
 
@@ -184,7 +199,7 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
 
     public int enqueueNDRangeKernel(OCLKernel kernel, int dim, long[] globalWorkOffset, long[] globalWorkSize, long[] localWorkSize, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueNDRangeKernel(kernel, dim, globalWorkOffset, globalWorkSize, localWorkSize, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
+                queue.enqueueNDRangeKernel(kernel, dim, globalWorkOffset, globalWorkSize, localWorkSize, oclEventPool.serialiseEvents(waitEvents, queue)),
                 EventDescriptor.DESC_PARALLEL_KERNEL, queue);
     }
 
@@ -192,49 +207,59 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
         return device.isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
     }
 
+    /**
+     * Writes the kernel context of a kernel. The kernel context buffer is shared
+     * by all the kernels of the device, so the write is issued on the queue of
+     * the kernels to keep it ordered with the kernels that read it.
+     */
+    public int enqueueWriteKernelContext(long bufferId, long offset, long bytes, byte[] array, int[] waitEvents) {
+        return oclEventPool.registerEvent(queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, 0, oclEventPool.serialiseEvents(waitEvents, queue)),
+                EventDescriptor.DESC_WRITE_BYTE, queue);
+    }
+
     /*
      * Asynchronous writes to device
      */
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, byte[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_BYTE, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_BYTE, writeQueue);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, char[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_BYTE, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_BYTE, writeQueue);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, int[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_INT, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_INT, writeQueue);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, long[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_LONG, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_LONG, writeQueue);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, short[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_SHORT, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_SHORT, writeQueue);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, float[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_FLOAT, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_FLOAT, writeQueue);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, double[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_DOUBLE, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_DOUBLE, writeQueue);
     }
 
     /*
@@ -243,44 +268,44 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
      */
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, byte[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_BYTE, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_BYTE, readQueue);
     }
 
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, char[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_BYTE, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_BYTE, readQueue);
     }
 
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, int[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_INT, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_INT, readQueue);
     }
 
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, long[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_LONG, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_LONG, readQueue);
     }
 
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, float[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_FLOAT, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_FLOAT, readQueue);
     }
 
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, double[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_DOUBLE, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_DOUBLE, readQueue);
     }
 
     public int enqueueReadBuffer(long bufferId, long offset, long bytes, short[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_SHORT, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.FALSE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_SHORT, readQueue);
     }
 
     /*
@@ -288,44 +313,64 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
      */
     public void writeBuffer(long bufferId, long offset, long bytes, byte[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_BYTE, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_BYTE, writeQueue);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, char[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_BYTE, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_BYTE, writeQueue);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, int[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_INT, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_INT, writeQueue);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, long[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_LONG, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_LONG, writeQueue);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, short[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_SHORT, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_SHORT, writeQueue);
+    }
+
+    public int enqueueWriteImage(long image, long width, long height, byte[] array, long hostOffset, int[] waitEvents) {
+        return oclEventPool.registerEvent(writeQueue.enqueueWriteImage(image, width, height, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_IMAGE, writeQueue);
+    }
+
+    public int enqueueWriteImage(long image, long width, long height, float[] array, long hostOffset, int[] waitEvents) {
+        return oclEventPool.registerEvent(writeQueue.enqueueWriteImage(image, width, height, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_IMAGE, writeQueue);
+    }
+
+    public int enqueueReadImage(long image, long width, long height, byte[] array, long hostOffset, int[] waitEvents) {
+        return oclEventPool.registerEvent(readQueue.enqueueReadImage(image, width, height, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_IMAGE, readQueue);
+    }
+
+    public int enqueueReadImage(long image, long width, long height, float[] array, long hostOffset, int[] waitEvents) {
+        return oclEventPool.registerEvent(readQueue.enqueueReadImage(image, width, height, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_IMAGE, readQueue);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, float[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_FLOAT, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_FLOAT, writeQueue);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, double[] array, long hostOffset, int[] waitEvents) {
         oclEventPool.registerEvent(
-                queue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_WRITE_DOUBLE, queue);
+                writeQueue.enqueueWrite(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, writeQueue)),
+                EventDescriptor.DESC_WRITE_DOUBLE, writeQueue);
     }
 
     /*
@@ -333,54 +378,54 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
      */
     public int readBuffer(long bufferId, long offset, long bytes, byte[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_BYTE, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_BYTE, readQueue);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, char[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_BYTE, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_BYTE, readQueue);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, int[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_INT, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_INT, readQueue);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, long[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_LONG, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_LONG, readQueue);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, float[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_FLOAT, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_FLOAT, readQueue);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, double[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_DOUBLE, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_DOUBLE, readQueue);
 
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, short[] array, long hostOffset, int[] waitEvents) {
         return oclEventPool.registerEvent(
-                queue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, queue) ? oclEventPool.waitEventsBuffer : null),
-                EventDescriptor.DESC_READ_SHORT, queue);
+                readQueue.enqueueRead(bufferId, OpenCLBlocking.TRUE, offset, bytes, array, hostOffset, oclEventPool.serialiseEvents(waitEvents, readQueue)),
+                EventDescriptor.DESC_READ_SHORT, readQueue);
     }
 
     public int enqueueBarrier(int[] events) {
-        long oclEvent = queue.enqueueBarrier(oclEventPool.serialiseEvents(events, queue) ? oclEventPool.waitEventsBuffer : null);
+        long oclEvent = queue.enqueueBarrier(oclEventPool.serialiseBarrierEvents(events, queue));
         return queue.getOpenclVersion() < 120 ? -1 : oclEventPool.registerEvent(oclEvent, EventDescriptor.DESC_SYNC_BARRIER, queue);
     }
 
     public int enqueueMarker(int[] events) {
-        long oclEvent = queue.enqueueMarker(oclEventPool.serialiseEvents(events, queue) ? oclEventPool.waitEventsBuffer : null);
+        long oclEvent = queue.enqueueMarker(oclEventPool.serialiseBarrierEvents(events, queue));
         return queue.getOpenclVersion() < 120 ? -1 : oclEventPool.registerEvent(oclEvent, EventDescriptor.DESC_SYNC_MARKER, queue);
     }
 
@@ -462,19 +507,30 @@ public class OCLDeviceContext extends TornadoLogger implements OCLDeviceContextI
         if (event == -1) {
             return EMPTY_EVENT;
         }
-        return new OCLEvent(oclEventPool.getDescriptor(event).getNameDescription(), queue, event, oclEventPool.getOCLEvent(event));
+        return new OCLEvent(oclEventPool.getDescriptor(event).getNameDescription(), oclEventPool.getQueue(event), event, oclEventPool.getOCLEvent(event));
     }
 
     public void flush() {
-        queue.flush();
+        for (OCLCommandQueue commandQueue : queues) {
+            commandQueue.flush();
+        }
     }
 
     public void finish() {
-        queue.finish();
+        for (OCLCommandQueue commandQueue : queues) {
+            commandQueue.finish();
+        }
     }
 
     public void flushEvents() {
-        queue.flushEvents();
+        for (OCLCommandQueue commandQueue : queues) {
+            commandQueue.flushEvents();
+        }
+        oclEventPool.releaseConsumedEvents();
+    }
+
+    public void releaseEvents(int[] localEventIDs) {
+        oclEventPool.releaseLater(localEventIDs);
     }
 
     public boolean isKernelAvailable() {
@@ -76,6 +76,8 @@ public interface OCLDeviceContextInterface extends TornadoDeviceContext {
 
     void flushEvents();
 
+    void releaseEvents(int[] localEventIDs);
+
     OCLExecutionEnvironment getPlatformContext();
 
     long getDeviceId();
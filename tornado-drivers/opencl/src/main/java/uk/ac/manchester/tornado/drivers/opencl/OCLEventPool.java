@@ -23,7 +23,6 @@
 
 package uk.ac.manchester.tornado.drivers.opencl;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.guarantee;
 import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLCommandQueueProperties.CL_QUEUE_OUT_OF_ORDER_EXEC_MODE_ENABLE;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.MAX_WAIT_EVENTS;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.debug;
@@ -32,50 +31,45 @@ import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.CIRCULAR_EV
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import uk.ac.manchester.tornado.drivers.common.EventDescriptor;
+import uk.ac.manchester.tornado.drivers.common.EventPool;
+import uk.ac.manchester.tornado.drivers.opencl.exceptions.OCLException;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 
 /**
  * Class which holds mapping between OpenCL events and TornadoVM local events
  * and handles event registration and serialization. Also contains extra
- * information such as events description and tag.
+ * information such as events description and tag. The OpenCL event is kept as
+ * the handle of each slot and the command queue it was issued on as payload.
  * 
  * Each device holds an event pool. Only one instance of the pool per device.
+ * When the device uses several in-order command queues, the pool also keeps
+ * the last event of each queue, so that commands can wait for the work issued
+ * on the other queues.
  */
-class OCLEventPool {
-
-    private final long[] events;
-    private final EventDescriptor[] descriptors;
-    private final BitSet retain;
-    private final OCLCommandQueue[] eventQueues;
-    private int eventIndex;
-
-    private final OCLEvent internalEvent;
-    protected final long[] waitEventsBuffer;
-
-    private int eventPoolSize;
-
-    protected OCLEventPool(int poolSize) {
-        this.eventPoolSize = poolSize;
-        this.retain = new BitSet(eventPoolSize);
-        this.retain.clear();
-        this.events = new long[eventPoolSize];
-        this.descriptors = new EventDescriptor[eventPoolSize];
-        this.eventQueues = new OCLCommandQueue[eventPoolSize];
-        this.eventIndex = 0;
-        this.waitEventsBuffer = new long[MAX_WAIT_EVENTS];
-        this.internalEvent = new OCLEvent();
+class OCLEventPool extends EventPool<OCLCommandQueue> {
+
+    private final OCLCommandQueue[] queues;
+    private final AtomicIntegerArray lastEvents;
+
+    /**
+     * Wait lists are built per host thread, so that several threads can issue
+     * commands on the device at the same time.
+     */
+    private final ThreadLocal<long[]> waitEventsBuffer;
+
+    protected OCLEventPool(int poolSize, OCLCommandQueue[] queues) {
+        super(poolSize, CIRCULAR_EVENTS);
+        this.waitEventsBuffer = ThreadLocal.withInitial(() -> new long[MAX_WAIT_EVENTS]);
+        this.queues = queues;
+        this.lastEvents = new AtomicIntegerArray(queues.length);
+        clearLastEvents();
     }
 
     protected int registerEvent(long oclEventId, EventDescriptor descriptorId, OCLCommandQueue queue) {
-        if (retain.get(eventIndex)) {
-            findNextEventSlot();
-        }
-        final int currentEvent = eventIndex;
-        guarantee(!retain.get(currentEvent), "overwriting retained event");
-
         /*
          * OpenCL can produce an out of resources error which results in an invalid
          * event (-1). If this happens, then we log a fatal exception and gracefully
@@ -87,88 +81,159 @@ class OCLEventPool {
             System.exit(-1);
         }
 
-        if (events[currentEvent] > 0 && !retain.get(currentEvent)) {
-            internalEvent.setEventId(currentEvent, events[currentEvent]);
-            releaseEvent(currentEvent);
-            internalEvent.release();
-        }
-        events[currentEvent] = oclEventId;
-        descriptors[currentEvent] = descriptorId;
-        eventQueues[currentEvent] = queue;
+        final int currentEvent = acquire();
+        setHandle(currentEvent, oclEventId);
+        setDescriptor(currentEvent, descriptorId);
+        setPayload(currentEvent, queue);
 
-        findNextEventSlot();
+        if (queues.length > 1) {
+            updateLastEvent(queue, currentEvent);
+        }
         return currentEvent;
     }
 
-    private void findNextEventSlot() {
-        eventIndex = retain.nextClearBit(eventIndex + 1);
+    @Override
+    protected void recycle(int localEventID) {
+        final long oclEvent = getHandle(localEventID);
+        if (oclEvent > 0) {
+            try {
+                OCLEvent.clReleaseEvent(oclEvent);
+            } catch (OCLException e) {
+                TornadoLogger.error(e.getMessage());
+            }
+            setHandle(localEventID, 0);
+        }
+    }
 
-        if (CIRCULAR_EVENTS && (eventIndex >= events.length)) {
-            eventIndex = 0;
+    /**
+     * Keeps the last event of each queue alive until a newer event is
+     * registered on that queue, as other queues may still need to wait on it.
+     */
+    private void updateLastEvent(OCLCommandQueue queue, int localEventID) {
+        for (int i = 0; i < queues.length; i++) {
+            if (queues[i] == queue) {
+                retain(localEventID);
+                final int previous = lastEvents.getAndSet(i, localEventID);
+                if (previous != -1) {
+                    unretain(previous);
+                }
+                return;
+            }
         }
+    }
 
-        guarantee(eventIndex != -1, "event window is full (retained=%d, capacity=%d)", retain.cardinality(), eventPoolSize);
+    private void clearLastEvents() {
+        for (int i = 0; i < queues.length; i++) {
+            lastEvents.set(i, -1);
+        }
     }
 
-    protected boolean serialiseEvents(int[] dependencies, OCLCommandQueue queue) {
+    /**
+     * Builds the OpenCL wait list of a command from its dependencies.
+     *
+     * @return the wait list of the calling thread, or null if the command does
+     *         not need to wait for any event.
+     */
+    protected long[] serialiseEvents(int[] dependencies, OCLCommandQueue queue) {
         boolean outOfOrderQueue = (queue.getProperties() & CL_QUEUE_OUT_OF_ORDER_EXEC_MODE_ENABLE) == 1;
+        if (queues.length > 1) {
+            return serialiseCrossQueueEvents(dependencies, queue);
+        }
         if (dependencies == null || dependencies.length == 0 || !outOfOrderQueue) {
-            return false;
+            return null;
         }
 
+        final long[] waitEventsBuffer = this.waitEventsBuffer.get();
         Arrays.fill(waitEventsBuffer, 0);
 
         int index = 0;
         for (final int value : dependencies) {
             if (value != -1) {
                 index++;
-                waitEventsBuffer[index] = events[value];
-                debug("[%d] 0x%x - %s\n", index, events[value], descriptors[value].getNameDescription());
+                waitEventsBuffer[index] = getHandle(value);
+                debug("[%d] 0x%x - %s\n", index, getHandle(value), getDescriptor(value).getNameDescription());
+
+            }
+        }
+        waitEventsBuffer[0] = index;
+        return (index > 0) ? waitEventsBuffer : null;
+    }
+
+    /**
+     * Barriers and markers order the commands issued on all queues of the
+     * device, which the last events of the queues already cover.
+     */
+    protected long[] serialiseBarrierEvents(int[] dependencies, OCLCommandQueue queue) {
+        return serialiseEvents((queues.length > 1) ? null : dependencies, queue);
+    }
+
+    /**
+     * Builds the wait list of a command issued on one of several in-order
+     * queues. Dependencies on the same queue are already ordered by the queue,
+     * so only the ones coming from other queues are passed to OpenCL. A command
+     * without dependencies waits for the last command of every other queue, as
+     * it would have done on a single in-order queue.
+     */
+    private long[] serialiseCrossQueueEvents(int[] dependencies, OCLCommandQueue queue) {
+        final long[] waitEventsBuffer = this.waitEventsBuffer.get();
+        Arrays.fill(waitEventsBuffer, 0);
+
+        int index = 0;
+        boolean hasDependencies = false;
+        if (dependencies != null) {
+            for (final int value : dependencies) {
+                if (value != -1) {
+                    hasDependencies = true;
+                    if (getPayload(value) != queue) {
+                        index++;
+                        waitEventsBuffer[index] = getHandle(value);
+                        debug("[%d] 0x%x - %s\n", index, getHandle(value), getDescriptor(value).getNameDescription());
+                    }
+                }
+            }
+        }
 
+        if (!hasDependencies) {
+            for (int i = 0; i < queues.length; i++) {
+                final int lastEvent = lastEvents.get(i);
+                if (queues[i] != queue && lastEvent != -1) {
+                    index++;
+                    waitEventsBuffer[index] = getHandle(lastEvent);
+                }
             }
         }
         waitEventsBuffer[0] = index;
-        return (index > 0);
+        return (index > 0) ? waitEventsBuffer : null;
     }
 
     public List<OCLEvent> getEvents() {
         List<OCLEvent> result = new ArrayList<>();
-        for (int i = 0; i < eventIndex; i++) {
-            final long eventId = events[i];
-            if (eventId <= 0) {
+        for (int i = 0; i < getNumSlots(); i++) {
+            final long eventId = getHandle(i);
+            if (!isInUse(i) || eventId <= 0) {
                 continue;
             }
-            result.add(new OCLEvent(getDescriptor(i).getNameDescription(), eventQueues[i], i, eventId));
+            result.add(new OCLEvent(getDescriptor(i).getNameDescription(), getPayload(i), i, eventId));
         }
         return result;
     }
 
-    protected void reset() {
-        for (int index = 0; index < events.length; index++) {
-            if (events[index] > 0) {
-                internalEvent.setEventId(index, events[index]);
-                releaseEvent(index);
-                internalEvent.release();
-            }
-        }
-        Arrays.fill(events, 0);
-        eventIndex = 0;
+    @Override
+    public void reset() {
+        super.reset();
+        clearLastEvents();
     }
 
     protected void retainEvent(int localEventID) {
-        retain.set(localEventID);
-    }
-
-    protected void releaseEvent(int localEventID) {
-        retain.clear(localEventID);
+        retain(localEventID);
     }
 
     protected long getOCLEvent(int localEventID) {
-        return events[localEventID];
+        return getHandle(localEventID);
     }
 
-    protected EventDescriptor getDescriptor(int localEventID) {
-        return descriptors[localEventID];
+    protected OCLCommandQueue getQueue(int localEventID) {
+        return getPayload(localEventID);
     }
 
 }
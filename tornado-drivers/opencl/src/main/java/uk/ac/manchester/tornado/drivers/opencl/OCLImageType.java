@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl;
+
+import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLImageFormat.CL_FLOAT;
+import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLImageFormat.CL_R;
+import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLImageFormat.CL_RGBA;
+import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLImageFormat.CL_UNSIGNED_INT8;
+
+import uk.ac.manchester.tornado.api.collections.types.ImageByte4;
+import uk.ac.manchester.tornado.api.collections.types.ImageFloat;
+import uk.ac.manchester.tornado.api.collections.types.ImageFloat4;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * TornadoVM image types that can be allocated as OpenCL {@code image2d_t}
+ * objects when {@code -Dtornado.opencl.images=True}. Each entry defines the
+ * image format on the device and the OpenCL C builtins used to access it.
+ *
+ * <p>
+ * The allocation ({@link uk.ac.manchester.tornado.drivers.opencl.mm.OCLImageWrapper})
+ * and the code generator must agree on which task parameters are images, so
+ * both query {@link #isEnabled(OCLTargetDevice)} and {@link #fromJavaName}.
+ * The decision is taken for every parameter of these types, before the kernels
+ * are compiled. A kernel that uses an image in a way that cannot be lowered to
+ * the image builtins is not compiled for the device: the task-graph bails out
+ * and runs its Java code on the host.
+ * </p>
+ */
+public enum OCLImageType {
+
+    // @formatter:off
+    FLOAT(ImageFloat.class, CL_R, CL_FLOAT, Float.BYTES, "read_imagef", "write_imagef", true),
+    FLOAT4(ImageFloat4.class, CL_RGBA, CL_FLOAT, 4 * Float.BYTES, "read_imagef", "write_imagef", true),
+    BYTE4(ImageByte4.class, CL_RGBA, CL_UNSIGNED_INT8, 4 * Byte.BYTES, "read_imageui", "write_imageui", false);
+    // @formatter:on
+
+    private final Class<?> javaClass;
+    private final int channelOrder;
+    private final int channelType;
+    private final int pixelSize;
+    private final String readBuiltin;
+    private final String writeBuiltin;
+    private final boolean linearFiltering;
+
+    OCLImageType(Class<?> javaClass, int channelOrder, int channelType, int pixelSize, String readBuiltin, String writeBuiltin, boolean linearFiltering) {
+        this.javaClass = javaClass;
+        this.channelOrder = channelOrder;
+        this.channelType = channelType;
+        this.pixelSize = pixelSize;
+        this.readBuiltin = readBuiltin;
+        this.writeBuiltin = writeBuiltin;
+        this.linearFiltering = linearFiltering;
+    }
+
+    public Class<?> getJavaClass() {
+        return javaClass;
+    }
+
+    public int getChannelOrder() {
+        return channelOrder;
+    }
+
+    public int getChannelType() {
+        return channelType;
+    }
+
+    public int getPixelSize() {
+        return pixelSize;
+    }
+
+    public String getReadBuiltin() {
+        return readBuiltin;
+    }
+
+    public String getWriteBuiltin() {
+        return writeBuiltin;
+    }
+
+    /**
+     * Whether {@code sample} can use the hardware bilinear filter. OpenCL only
+     * allows CLK_FILTER_LINEAR on floating-point and normalised images.
+     */
+    public boolean supportsLinearFiltering() {
+        return linearFiltering;
+    }
+
+    public static boolean isEnabled(OCLTargetDevice device) {
+        return TornadoOptions.OPENCL_USE_IMAGES && device.isDeviceImageSupported();
+    }
+
+    public static OCLImageType fromClass(Class<?> klass) {
+        return fromJavaName(klass.getName());
+    }
+
+    public static OCLImageType fromJavaName(String javaName) {
+        for (OCLImageType type : values()) {
+            if (type.javaClass.getName().equals(javaName)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -53,18 +53,32 @@ public class OCLTargetDescription extends TargetDescription {
         {OCLKind.DOUBLE2, OCLKind.DOUBLE3, OCLKind.DOUBLE4, OCLKind.DOUBLE8, OCLKind.DOUBLE16}
     };
     private final boolean supportsFP64;
+    private final boolean supportsFP16;
     private final String extensions;
     private final boolean supportsInt64Atomics;
-
-    public OCLTargetDescription(Architecture arch, boolean supportsFP64, String extensions) {
-        this(arch, false, STACK_ALIGNMENT, IMPLICIT_NULL_CHECK_LIMIT, INLINE_OBJECTS, supportsFP64, extensions);
+    private final boolean supportsInt64ExtendedAtomics;
+    private final boolean supportsKhrSubgroups;
+    private final boolean supportsIntelSubgroups;
+    private final boolean supportsKhrSubgroupShuffle;
+    private final boolean supportsSubgroupBallot;
+    private final boolean useImages;
+
+    public OCLTargetDescription(Architecture arch, boolean supportsFP64, String extensions, boolean useImages) {
+        this(arch, false, STACK_ALIGNMENT, IMPLICIT_NULL_CHECK_LIMIT, INLINE_OBJECTS, supportsFP64, extensions, useImages);
     }
 
-    protected OCLTargetDescription(Architecture arch, boolean isMP, int stackAlignment, int implicitNullCheckLimit, boolean inlineObjects, boolean supportsFP64, String extensions) {
+    protected OCLTargetDescription(Architecture arch, boolean isMP, int stackAlignment, int implicitNullCheckLimit, boolean inlineObjects, boolean supportsFP64, String extensions, boolean useImages) {
         super(arch, isMP, stackAlignment, implicitNullCheckLimit, inlineObjects);
         this.supportsFP64 = supportsFP64;
         this.extensions = extensions;
+        this.useImages = useImages;
+        supportsFP16 = extensions.contains("cl_khr_fp16");
         supportsInt64Atomics = extensions.contains("cl_khr_int64_base_atomics");
+        supportsInt64ExtendedAtomics = extensions.contains("cl_khr_int64_extended_atomics");
+        supportsKhrSubgroups = extensions.contains("cl_khr_subgroups");
+        supportsIntelSubgroups = extensions.contains("cl_intel_subgroups");
+        supportsKhrSubgroupShuffle = extensions.contains("cl_khr_subgroup_shuffle");
+        supportsSubgroupBallot = extensions.contains("cl_khr_subgroup_ballot");
     }
     //@formatter:on
 
@@ -94,10 +108,63 @@ public class OCLTargetDescription extends TargetDescription {
         return supportsFP64;
     }
 
+    /**
+     * @return true if the device provides arithmetic on {@code half} values
+     *         through {@code cl_khr_fp16}.
+     */
+    public boolean supportsFP16() {
+        return supportsFP16;
+    }
+
     public boolean supportsInt64Atomics() {
         return supportsInt64Atomics;
     }
 
+    public boolean supportsInt64ExtendedAtomics() {
+        return supportsInt64ExtendedAtomics;
+    }
+
+    public boolean supportsKhrSubgroups() {
+        return supportsKhrSubgroups;
+    }
+
+    public boolean supportsIntelSubgroups() {
+        return supportsIntelSubgroups;
+    }
+
+    public boolean supportsKhrSubgroupShuffle() {
+        return supportsKhrSubgroupShuffle;
+    }
+
+    /**
+     * @return true if the device provides the subgroup queries, votes,
+     *         broadcasts, reductions and scans, either through
+     *         {@code cl_khr_subgroups} or {@code cl_intel_subgroups}.
+     */
+    public boolean supportsSubgroups() {
+        return supportsKhrSubgroups || supportsIntelSubgroups;
+    }
+
+    /**
+     * @return true if the device provides {@code sub_group_shuffle} and
+     *         {@code sub_group_shuffle_xor}, or their Intel equivalents.
+     */
+    public boolean supportsSubgroupShuffle() {
+        return supportsKhrSubgroupShuffle || supportsIntelSubgroups;
+    }
+
+    public boolean supportsSubgroupBallot() {
+        return supportsSubgroupBallot;
+    }
+
+    /**
+     * Whether image-typed kernel parameters are passed as {@code image2d_t}
+     * objects (see {@link OCLImageType}).
+     */
+    public boolean useImages() {
+        return useImages;
+    }
+
     public String getExtensions() {
         return extensions;
     }
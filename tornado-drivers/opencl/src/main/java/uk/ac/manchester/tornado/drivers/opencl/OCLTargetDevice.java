@@ -25,6 +25,7 @@ package uk.ac.manchester.tornado.drivers.opencl;
 
 import java.nio.ByteOrder;
 
+import jdk.vm.ci.meta.JavaKind;
 import uk.ac.manchester.tornado.api.TornadoTargetDevice;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
 
@@ -42,6 +43,18 @@ public interface OCLTargetDevice extends TornadoTargetDevice {
 
     boolean isDeviceDoubleFPSupported();
 
+    /**
+     * Whether the device supports image objects (CL_DEVICE_IMAGE_SUPPORT).
+     */
+    boolean isDeviceImageSupported();
+
+    /**
+     * Preferred native vector width for the given element kind
+     * (CL_DEVICE_PREFERRED_VECTOR_WIDTH_*). It returns 1 if the device prefers
+     * scalar code for that type.
+     */
+    int getDevicePreferredVectorWidth(JavaKind kind);
+
     String getDeviceExtensions();
 
     OCLDeviceType getDeviceType();
@@ -23,6 +23,7 @@
  */
 package uk.ac.manchester.tornado.drivers.opencl;
 
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.OPENCL_HOST_PLATFORM;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.VIRTUAL_DEVICE_ENABLED;
 
 import java.nio.ByteOrder;
@@ -48,6 +49,8 @@ public class OpenCL {
 
     public static final String OPENCL_JNI_LIBRARY = "tornado-opencl";
 
+    public static final String OPENCL_HOST_JNI_LIBRARY = "tornado-opencl-host";
+
     private static boolean initialised = false;
 
     private static final List<TornadoPlatform> platforms = new ArrayList<>();
@@ -63,7 +66,7 @@ public class OpenCL {
         } else {
             try {
                 // Loading JNI OpenCL library
-                System.loadLibrary(OpenCL.OPENCL_JNI_LIBRARY);
+                System.loadLibrary(OPENCL_HOST_PLATFORM ? OpenCL.OPENCL_HOST_JNI_LIBRARY : OpenCL.OPENCL_JNI_LIBRARY);
             } catch (final UnsatisfiedLinkError e) {
                 throw new TornadoRuntimeException("OpenCL JNI Library not found");
             }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.enums;
+
+/**
+ * OpenCL image channel orders and channel data types used by TornadoVM image
+ * objects.
+ *
+ * Link: https://github.com/KhronosGroup/OpenCL-Headers/blob/master/CL/cl.h
+ */
+public class OCLImageFormat {
+
+    // @formatter:off
+    // cl_channel_order
+    public static final int CL_R                = 0x10B0;
+    public static final int CL_RGBA             = 0x10B5;
+
+    // cl_channel_type
+    public static final int CL_UNORM_INT8       = 0x10D2;
+    public static final int CL_UNSIGNED_INT8    = 0x10DA;
+    public static final int CL_FLOAT            = 0x10DE;
+    // @formatter:on
+
+}
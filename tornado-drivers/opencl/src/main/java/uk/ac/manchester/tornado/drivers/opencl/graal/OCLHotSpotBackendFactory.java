@@ -54,11 +54,13 @@ import uk.ac.manchester.tornado.drivers.graal.TornadoPlatformConfigurationProvid
 import uk.ac.manchester.tornado.drivers.graal.TornadoWordTypes;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContextInterface;
 import uk.ac.manchester.tornado.drivers.opencl.OCLExecutionEnvironment;
+import uk.ac.manchester.tornado.drivers.opencl.OCLImageType;
 import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDescription;
 import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
 import uk.ac.manchester.tornado.drivers.opencl.graal.backend.OCLBackend;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLCompilerConfiguration;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.plugins.OCLGraphBuilderPlugins;
+import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.plugins.OCLImagePlugins;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLAddressLowering;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
 import uk.ac.manchester.tornado.runtime.TornadoVMConfig;
@@ -96,7 +98,7 @@ public class OCLHotSpotBackendFactory {
         }
 
         OCLArchitecture arch = new OCLArchitecture(wordKind, device.getByteOrder());
-        OCLTargetDescription target = new OCLTargetDescription(arch, device.isDeviceDoubleFPSupported(), device.getDeviceExtensions());
+        OCLTargetDescription target = new OCLTargetDescription(arch, device.isDeviceDoubleFPSupported(), device.getDeviceExtensions(), OCLImageType.isEnabled(device));
         OCLCodeProvider codeCache = new OCLCodeProvider(target);
         OCLDeviceContextInterface oclDeviceContextImpl = (OCLDeviceContextInterface) tornadoContext.createDeviceContext(device.getIndex());
 
@@ -117,7 +119,7 @@ public class OCLHotSpotBackendFactory {
             ClassfileBytecodeProvider bytecodeProvider = new ClassfileBytecodeProvider(metaAccess, snippetReflection);
             GraalDebugHandlersFactory graalDebugHandlersFactory = new GraalDebugHandlersFactory(snippetReflection);
             TornadoReplacements replacements = new TornadoReplacements(graalDebugHandlersFactory, p, snippetReflection, bytecodeProvider, target);
-            plugins = createGraphBuilderPlugins(metaAccess, replacements, snippetReflection, lowerer);
+            plugins = createGraphBuilderPlugins(metaAccess, replacements, snippetReflection, lowerer, target.useImages());
 
             replacements.setGraphBuilderPlugins(plugins);
 
@@ -134,7 +136,7 @@ public class OCLHotSpotBackendFactory {
     }
 
     protected static Plugins createGraphBuilderPlugins(HotSpotMetaAccessProvider metaAccess, Replacements replacements, SnippetReflectionProvider snippetReflectionProvider,
-            LoweringProvider loweringProvider) {
+            LoweringProvider loweringProvider, boolean useImages) {
         InvocationPlugins invocationPlugins = new InvocationPlugins();
         Plugins plugins = new Plugins(invocationPlugins);
 
@@ -150,6 +152,9 @@ public class OCLHotSpotBackendFactory {
                 false, //
                 loweringProvider);
         OCLGraphBuilderPlugins.registerInvocationPlugins(plugins, invocationPlugins);
+        if (useImages) {
+            OCLImagePlugins.registerPlugins(invocationPlugins);
+        }
         return plugins;
     }
 
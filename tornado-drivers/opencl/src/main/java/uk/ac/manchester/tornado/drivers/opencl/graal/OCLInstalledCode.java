@@ -396,13 +396,17 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
         }
     }
 
+    /*
+     * clSetKernelArg is not thread-safe, so setting the arguments and enqueuing
+     * the kernel is done while holding the lock of the installed code.
+     */
     @Override
-    public int launchWithDependencies(KernelArgs callWrapper, ObjectBuffer atomicSpace, TaskMetaData meta, long batchThreads, int[] waitEvents) {
+    public synchronized int launchWithDependencies(KernelArgs callWrapper, ObjectBuffer atomicSpace, TaskMetaData meta, long batchThreads, int[] waitEvents) {
         return submitWithEvents((OCLKernelArgs) callWrapper, atomicSpace, meta, waitEvents, batchThreads);
     }
 
     @Override
-    public int launchWithoutDependencies(KernelArgs callWrapper, ObjectBuffer atomicSpace, TaskMetaData meta, long batchThreads) {
+    public synchronized int launchWithoutDependencies(KernelArgs callWrapper, ObjectBuffer atomicSpace, TaskMetaData meta, long batchThreads) {
         submitWithoutEvents((OCLKernelArgs) callWrapper, atomicSpace, meta, batchThreads);
         return -1;
     }
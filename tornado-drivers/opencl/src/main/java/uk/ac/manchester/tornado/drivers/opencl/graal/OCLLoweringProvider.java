@@ -92,6 +92,7 @@ import jdk.vm.ci.meta.PrimitiveConstant;
 import jdk.vm.ci.meta.ResolvedJavaField;
 import jdk.vm.ci.meta.ResolvedJavaType;
 import uk.ac.manchester.tornado.api.exceptions.Debug;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDescription;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLWriteAtomicNode;
@@ -105,15 +106,20 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.GroupIdNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalThreadIdNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalThreadSizeNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLAtomicIndexedNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLSubGroupNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.calc.DivNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.snippets.ReduceCPUSnippets;
 import uk.ac.manchester.tornado.drivers.opencl.graal.snippets.ReduceGPUSnippets;
 import uk.ac.manchester.tornado.runtime.TornadoVMConfig;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GetGroupIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GlobalGroupSizeFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.LocalGroupSizeFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.NewArrayNonVirtualizableNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ThreadIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ThreadLocalIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoDirectCallTargetNode;
@@ -161,7 +167,8 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
 
     private void initializeSnippets(OptionValues options, SnippetCounter.Group.Factory factory, Providers providers) {
         this.cpuReduceSnippets = new ReduceCPUSnippets.Templates(options, providers);
-        this.gpuReduceSnippets = new ReduceGPUSnippets.Templates(options, providers);
+        boolean useSubGroups = TornadoOptions.SUBGROUP_REDUCTIONS && ((OCLTargetDescription) target).supportsSubgroups();
+        this.gpuReduceSnippets = new ReduceGPUSnippets.Templates(options, providers, useSubGroups);
     }
 
     @Override
@@ -184,6 +191,10 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
             lowerStoreIndexedNode((StoreIndexedNode) node, tool);
         } else if (node instanceof StoreAtomicIndexedNode) {
             lowerStoreAtomicsReduction(node, tool);
+        } else if (node instanceof AtomicIndexedNode) {
+            lowerAtomicIndexedNode((AtomicIndexedNode) node);
+        } else if (node instanceof SubGroupNode) {
+            lowerSubGroupNode((SubGroupNode) node);
         } else if (node instanceof LoadFieldNode) {
             lowerLoadFieldNode((LoadFieldNode) node, tool);
         } else if (node instanceof StoreFieldNode) {
@@ -392,6 +403,50 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
         graph.replaceFixedWithFixed(storeIndexed, memoryWrite);
     }
 
+    private void lowerAtomicIndexedNode(AtomicIndexedNode atomicIndexed) {
+        StructuredGraph graph = atomicIndexed.graph();
+        if (isPrivateIDNode(atomicIndexed)) {
+            throw new TornadoBailoutRuntimeException("Atomic operations are not supported on private arrays");
+        }
+        if (atomicIndexed.elementKind().getByteCount() == 8 && !((OCLTargetDescription) target).supportsInt64Atomics()) {
+            throw new TornadoBailoutRuntimeException("Atomic operations on 64-bit elements require cl_khr_int64_base_atomics");
+        }
+        AddressNode address;
+        if (isLocalIDNode(atomicIndexed)) {
+            address = createArrayLocalAddress(graph, atomicIndexed.array(), atomicIndexed.index());
+        } else {
+            address = createArrayAddress(graph, atomicIndexed.array(), atomicIndexed.elementKind(), atomicIndexed.index());
+        }
+        OCLAtomicIndexedNode atomic = graph.add(new OCLAtomicIndexedNode(atomicIndexed, address));
+        graph.replaceFixedWithFixed(atomicIndexed, atomic);
+    }
+
+    private void lowerSubGroupNode(SubGroupNode subGroup) {
+        OCLTargetDescription oclTarget = (OCLTargetDescription) target;
+        if (!oclTarget.supportsSubgroups()) {
+            throw new TornadoBailoutRuntimeException("Subgroup operations require cl_khr_subgroups or cl_intel_subgroups");
+        }
+        switch (subGroup.getOperation()) {
+            case SHUFFLE:
+            case SHUFFLE_XOR:
+                if (!oclTarget.supportsSubgroupShuffle()) {
+                    throw new TornadoBailoutRuntimeException("Subgroup shuffles require cl_khr_subgroup_shuffle or cl_intel_subgroups");
+                }
+                break;
+            case BALLOT:
+                if (!oclTarget.supportsSubgroupBallot()) {
+                    throw new TornadoBailoutRuntimeException("Subgroup ballot requires cl_khr_subgroup_ballot");
+                }
+                break;
+            default:
+                break;
+        }
+        boolean useIntelShuffle = !oclTarget.supportsKhrSubgroupShuffle();
+        StructuredGraph graph = subGroup.graph();
+        OCLSubGroupNode oclSubGroup = graph.add(new OCLSubGroupNode(subGroup, useIntelShuffle));
+        graph.replaceFixedWithFixed(subGroup, oclSubGroup);
+    }
+
     @Override
     public void lowerStoreIndexedNode(StoreIndexedNode storeIndexed, LoweringTool tool) {
         StructuredGraph graph = storeIndexed.graph();
@@ -570,6 +625,13 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
         return (nd instanceof MarkLocalArray || willLowerToLocalArrayNode);
     }
 
+    private boolean isLocalIDNode(AtomicIndexedNode atomicIndexed) {
+        Node nd = atomicIndexed.array();
+        InvokeNode node = nd.inputs().filter(InvokeNode.class).first();
+        boolean willLowerToLocalArrayNode = node != null && "Direct#NewArrayNode.newArray".equals(node.callTarget().targetName()) && gpuSnippet;
+        return (nd instanceof MarkLocalArray || willLowerToLocalArrayNode);
+    }
+
     private boolean isPrivateIDNode(StoreIndexedNode storeIndexed) {
         Node nd = storeIndexed.inputs().first();
         return (nd instanceof FixedArrayNode);
@@ -580,6 +642,10 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
         return (nd instanceof FixedArrayNode);
     }
 
+    private boolean isPrivateIDNode(AtomicIndexedNode atomicIndexed) {
+        return (atomicIndexed.array() instanceof FixedArrayNode);
+    }
+
     private void lowerLocalNewArray(StructuredGraph graph, int length, NewArrayNonVirtualizableNode newArray) {
         LocalArrayNode localArrayNode;
         ConstantNode newLengthNode = ConstantNode.forInt(length, graph);
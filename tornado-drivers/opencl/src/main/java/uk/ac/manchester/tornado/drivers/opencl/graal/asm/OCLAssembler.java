@@ -74,10 +74,30 @@ public final class OCLAssembler extends Assembler {
             emitLine("#pragma OPENCL EXTENSION cl_khr_fp64 : enable  ");
         }
 
+        if (((OCLTargetDescription) target).supportsFP16()) {
+            emitLine("#pragma OPENCL EXTENSION cl_khr_fp16 : enable  ");
+        }
+
         if (((OCLTargetDescription) target).supportsInt64Atomics()) {
             emitLine("#pragma OPENCL EXTENSION cl_khr_int64_base_atomics : enable  ");
         }
 
+        if (((OCLTargetDescription) target).supportsInt64ExtendedAtomics()) {
+            emitLine("#pragma OPENCL EXTENSION cl_khr_int64_extended_atomics : enable  ");
+        }
+
+        if (((OCLTargetDescription) target).supportsKhrSubgroups()) {
+            emitLine("#pragma OPENCL EXTENSION cl_khr_subgroups : enable  ");
+        }
+
+        if (((OCLTargetDescription) target).supportsIntelSubgroups()) {
+            emitLine("#pragma OPENCL EXTENSION cl_intel_subgroups : enable  ");
+        }
+
+        if (((OCLTargetDescription) target).supportsSubgroupBallot()) {
+            emitLine("#pragma OPENCL EXTENSION cl_khr_subgroup_ballot : enable  ");
+        }
+
         if (EMIT_INTRINSICS) {
             emitAtomicIntrinsics();
         }
@@ -536,6 +556,11 @@ public final class OCLAssembler extends Assembler {
     public static class OCLNullaryIntrinsic extends OCLNullaryOp {
         // @formatter:off
 
+        public static final OCLNullaryIntrinsic SUB_GROUP_SIZE = new OCLNullaryIntrinsic("get_sub_group_size");
+        public static final OCLNullaryIntrinsic SUB_GROUP_LOCAL_ID = new OCLNullaryIntrinsic("get_sub_group_local_id");
+        public static final OCLNullaryIntrinsic SUB_GROUP_ID = new OCLNullaryIntrinsic("get_sub_group_id");
+        public static final OCLNullaryIntrinsic NUM_SUB_GROUPS = new OCLNullaryIntrinsic("get_num_sub_groups");
+
         // @formatter:on
         protected OCLNullaryIntrinsic(String opcode) {
             super(opcode);
@@ -686,6 +711,14 @@ public final class OCLAssembler extends Assembler {
         public static final OCLUnaryIntrinsic IS_INF = new OCLUnaryIntrinsic("isinf");
         public static final OCLUnaryIntrinsic IS_NAN = new OCLUnaryIntrinsic("isnan");
         public static final OCLUnaryIntrinsic IS_NORMAL = new OCLUnaryIntrinsic("isnormal");
+
+        public static final OCLUnaryIntrinsic SUB_GROUP_ANY = new OCLUnaryIntrinsic("sub_group_any");
+        public static final OCLUnaryIntrinsic SUB_GROUP_ALL = new OCLUnaryIntrinsic("sub_group_all");
+        public static final OCLUnaryIntrinsic SUB_GROUP_REDUCE_ADD = new OCLUnaryIntrinsic("sub_group_reduce_add");
+        public static final OCLUnaryIntrinsic SUB_GROUP_REDUCE_MIN = new OCLUnaryIntrinsic("sub_group_reduce_min");
+        public static final OCLUnaryIntrinsic SUB_GROUP_REDUCE_MAX = new OCLUnaryIntrinsic("sub_group_reduce_max");
+        public static final OCLUnaryIntrinsic SUB_GROUP_SCAN_INCLUSIVE_ADD = new OCLUnaryIntrinsic("sub_group_scan_inclusive_add");
+        public static final OCLUnaryIntrinsic SUB_GROUP_SCAN_EXCLUSIVE_ADD = new OCLUnaryIntrinsic("sub_group_scan_exclusive_add");
         // @formatter:on
 
         protected OCLUnaryIntrinsic(String opcode) {
@@ -719,6 +752,8 @@ public final class OCLAssembler extends Assembler {
         public static final OCLUnaryTemplate NEW_CHAR_ARRAY = new OCLUnaryTemplate("char[]", "char[%s]");
         public static final OCLUnaryTemplate NEW_SHORT_ARRAY = new OCLUnaryTemplate("short[]", "short[%s]");
 
+        public static final OCLUnaryTemplate SUB_GROUP_BALLOT = new OCLUnaryTemplate("sub_group_ballot", "as_int(sub_group_ballot(%s).x)");
+
         // @formatter:on
         private final String template;
 
@@ -818,6 +853,12 @@ public final class OCLAssembler extends Assembler {
 
         public static final OCLBinaryIntrinsic DOT = new OCLBinaryIntrinsic("dot");
         public static final OCLBinaryIntrinsic CROSS = new OCLBinaryIntrinsic("cross");
+
+        public static final OCLBinaryIntrinsic SUB_GROUP_SHUFFLE = new OCLBinaryIntrinsic("sub_group_shuffle");
+        public static final OCLBinaryIntrinsic SUB_GROUP_SHUFFLE_XOR = new OCLBinaryIntrinsic("sub_group_shuffle_xor");
+        public static final OCLBinaryIntrinsic INTEL_SUB_GROUP_SHUFFLE = new OCLBinaryIntrinsic("intel_sub_group_shuffle");
+        public static final OCLBinaryIntrinsic INTEL_SUB_GROUP_SHUFFLE_XOR = new OCLBinaryIntrinsic("intel_sub_group_shuffle_xor");
+        public static final OCLBinaryIntrinsic SUB_GROUP_BROADCAST = new OCLBinaryIntrinsic("sub_group_broadcast");
         // @formatter:on
 
         protected OCLBinaryIntrinsic(String opcode) {
@@ -97,5 +97,8 @@ public class OCLAssemblerConstants {
     public static final String PRAGMA = "#pragma";
     public static final String UNROLL = "unroll";
 
+    public static final String IMAGE_NEAREST_SAMPLER = "tornadoNearestSampler";
+    public static final String IMAGE_LINEAR_SAMPLER = "tornadoLinearSampler";
+
     public static final int STACK_BASE_OFFSET = 3;
 }
@@ -73,6 +73,7 @@ import jdk.vm.ci.meta.Local;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import jdk.vm.ci.meta.ResolvedJavaType;
 import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.type.annotations.Vector;
@@ -81,6 +82,7 @@ import uk.ac.manchester.tornado.drivers.common.code.CodeUtil;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContextInterface;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDriver;
+import uk.ac.manchester.tornado.drivers.opencl.OCLImageType;
 import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDescription;
 import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
@@ -103,6 +105,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLNodeLIRBuilder;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLNodeMatchRules;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLReferenceMapBuilder;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.FPGAWorkGroupSizeNode;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.common.TornadoAcceleratorDevice;
@@ -324,12 +327,19 @@ public class OCLBackend extends TornadoBackend<OCLProviders> implements FrameMap
 
             final String bumpBuffer = (deviceContext.needsBump()) ? String.format("%s void *dummy, ", OCLAssemblerConstants.GLOBAL_MEM_MODIFIER) : "";
 
+            final Set<String> readImages = new HashSet<>();
+            final Set<String> writtenImages = new HashSet<>();
+            collectImageAccesses(lir, readImages, writtenImages);
+
             asm.emit("%s void %s(%s%s", OCLAssemblerConstants.KERNEL_MODIFIER, methodName, bumpBuffer, architecture.getABI());
-            emitMethodParameters(asm, method, incomingArguments, true);
+            emitMethodParameters(asm, method, incomingArguments, true, writtenImages);
             asm.emitLine(")");
 
             asm.beginScope();
             emitVariableDefs(crb, asm, lir);
+            if (!readImages.isEmpty()) {
+                emitImageSamplers(asm);
+            }
 
             if (DEBUG_KERNEL_ARGS && (method != null && !method.getDeclaringClass().getUnqualifiedName().equalsIgnoreCase(this.getClass().getSimpleName()))) {
                 emitDebugKernelArgs(asm, method);
@@ -354,7 +364,7 @@ public class OCLBackend extends TornadoBackend<OCLProviders> implements FrameMap
             }
             asm.emit("%s %s(%s", returnStr, methodName, architecture.getABI());
 
-            emitMethodParameters(asm, method, incomingArguments, false);
+            emitMethodParameters(asm, method, incomingArguments, false, null);
             asm.emit(")");
             asm.eol();
             asm.beginScope();
@@ -363,7 +373,33 @@ public class OCLBackend extends TornadoBackend<OCLProviders> implements FrameMap
         }
     }
 
-    private void emitMethodParameters(OCLAssembler asm, ResolvedJavaMethod method, CallingConvention incomingArguments, boolean isKernel) {
+    private static void collectImageAccesses(LIR lir, Set<String> readImages, Set<String> writtenImages) {
+        for (AbstractBlockBase<?> b : lir.linearScanOrder()) {
+            for (LIRInstruction lirInstruction : lir.getLIRforBlock(b)) {
+                if (lirInstruction instanceof OCLLIRStmt.ImageReadStmt) {
+                    readImages.add(((OCLLIRStmt.ImageReadStmt) lirInstruction).getImage());
+                } else if (lirInstruction instanceof OCLLIRStmt.ImageWriteStmt) {
+                    writtenImages.add(((OCLLIRStmt.ImageWriteStmt) lirInstruction).getImage());
+                }
+            }
+        }
+        for (String image : writtenImages) {
+            if (readImages.contains(image)) {
+                throw new TornadoBailoutRuntimeException("Image parameter " + image + " is read and written in the same kernel, which OpenCL 1.2 images do not support. Disable -Dtornado.opencl.images to run it on the device");
+            }
+        }
+    }
+
+    private void emitImageSamplers(OCLAssembler asm) {
+        asm.emitLine("const sampler_t %s = CLK_NORMALIZED_COORDS_FALSE | CLK_ADDRESS_CLAMP_TO_EDGE | CLK_FILTER_NEAREST;", OCLAssemblerConstants.IMAGE_NEAREST_SAMPLER);
+        asm.emitLine("const sampler_t %s = CLK_NORMALIZED_COORDS_FALSE | CLK_ADDRESS_CLAMP_TO_EDGE | CLK_FILTER_LINEAR;", OCLAssemblerConstants.IMAGE_LINEAR_SAMPLER);
+    }
+
+    private boolean isImageParameter(Local local) {
+        return ((OCLTargetDescription) target).useImages() && OCLImageType.fromJavaName(local.getType().toJavaName()) != null;
+    }
+
+    private void emitMethodParameters(OCLAssembler asm, ResolvedJavaMethod method, CallingConvention incomingArguments, boolean isKernel, Set<String> writtenImages) {
         final Local[] locals = method.getLocalVariableTable().getLocalsAt(0);
 
         for (int i = 0; i < incomingArguments.getArgumentCount(); i++) {
@@ -383,7 +419,11 @@ public class OCLBackend extends TornadoBackend<OCLProviders> implements FrameMap
                         continue;
                     }
                     asm.emit(", ");
-                    asm.emit("__global %s *%s", "uchar", locals[i].getName());
+                    if (isImageParameter(locals[i])) {
+                        asm.emit("%s image2d_t %s", writtenImages.contains(locals[i].getName()) ? "__write_only" : "__read_only", locals[i].getName());
+                    } else {
+                        asm.emit("__global %s *%s", "uchar", locals[i].getName());
+                    }
                 }
             } else {
                 final AllocatableValue param = incomingArguments.getArgument(i);
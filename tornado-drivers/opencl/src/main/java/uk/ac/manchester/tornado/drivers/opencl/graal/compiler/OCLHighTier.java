@@ -47,6 +47,7 @@ import org.graalvm.compiler.virtual.phases.ea.PartialEscapePhase;
 
 import jdk.vm.ci.meta.MetaAccessProvider;
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
+import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoLoopVectorization;
 import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoNewArrayDevirtualizationReplacement;
 import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoOpenCLIntrinsicsReplacements;
 import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoParallelScheduler;
@@ -104,6 +105,11 @@ public class OCLHighTier extends TornadoHighTier {
             appendPhase(new ConvertDeoptimizeToGuardPhase(canonicalizer));
         }
 
+        if (TornadoOptions.AUTO_VECTORIZATION && !deviceContext.isPlatformFPGA()) {
+            appendPhase(new TornadoLoopVectorization());
+            appendPhase(canonicalizer);
+        }
+
         appendPhase(new TornadoShapeAnalysis());
         appendPhase(canonicalizer);
         appendPhase(new TornadoParallelScheduler());
@@ -59,6 +59,7 @@ import org.graalvm.compiler.nodes.BreakpointNode;
 import org.graalvm.compiler.nodes.DirectCallTargetNode;
 import org.graalvm.compiler.nodes.EndNode;
 import org.graalvm.compiler.nodes.FixedNode;
+import org.graalvm.compiler.nodes.FrameState;
 import org.graalvm.compiler.nodes.IfNode;
 import org.graalvm.compiler.nodes.IndirectCallTargetNode;
 import org.graalvm.compiler.nodes.Invoke;
@@ -93,9 +94,11 @@ import jdk.vm.ci.meta.Local;
 import jdk.vm.ci.meta.PrimitiveConstant;
 import jdk.vm.ci.meta.ResolvedJavaType;
 import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
+import uk.ac.manchester.tornado.drivers.opencl.OCLImageType;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLStampFactory;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsicCmp;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryOp;
@@ -115,6 +118,9 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLReturnSlot;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.FPGAWorkGroupSizeNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.IntelUnrollPragmaNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLImageReadNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLImageSizeNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLImageWriteNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.XilinxPipeliningPragmaNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.logic.LogicalAndNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.logic.LogicalEqualsNode;
@@ -614,6 +620,10 @@ public class OCLNodeLIRBuilder extends NodeLIRBuilder {
         final Local[] locals = graph.method().getLocalVariableTable().getLocalsAt(0);
         if (isKernel) {
             for (final ParameterNode param : graph.getNodes(ParameterNode.TYPE)) {
+                if (getGen().target().useImages() && OCLImageType.fromJavaName(locals[param.index()].getType().toJavaName()) != null) {
+                    checkImageParameter(locals[param.index()], param);
+                    continue;
+                }
                 setResult(param, getGen().getOCLGenTool().emitParameterLoad(locals[param.index()], param));
             }
         } else {
@@ -624,6 +634,20 @@ public class OCLNodeLIRBuilder extends NodeLIRBuilder {
         }
     }
 
+    /**
+     * Image parameters are {@code image2d_t} objects and have no address, so they
+     * can only be used through the accessors lowered by {@code OCLImagePlugins}.
+     * The image is already allocated when the kernel is compiled, so any other
+     * use bails out and the task-graph runs its Java code on the host.
+     */
+    private static void checkImageParameter(Local local, ParameterNode param) {
+        for (Node usage : param.usages()) {
+            if (!(usage instanceof OCLImageReadNode || usage instanceof OCLImageWriteNode || usage instanceof OCLImageSizeNode || usage instanceof FrameState)) {
+                throw new TornadoBailoutRuntimeException("Image parameter " + local.getName() + " can only be accessed with get(x, y), set(x, y, value), sample(x, y), X() and Y() when -Dtornado.opencl.images=True");
+            }
+        }
+    }
+
     private void emitOCLFPGAPragmas(Block blk) {
         for (ValueNode tempDomBlockNode : blk.getNodes()) {
             if (tempDomBlockNode instanceof IntelUnrollPragmaNode || tempDomBlockNode instanceof XilinxPipeliningPragmaNode) {
@@ -84,6 +84,8 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.PrintfNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.TPrintfNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.TornadoAtomicIntegerNode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoAtomicsPlugins;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSubGroupPlugins;
 
 public class OCLGraphBuilderPlugins {
 
@@ -99,8 +101,12 @@ public class OCLGraphBuilderPlugins {
         registerTornadoVMAtomicsPlugins(plugins);
         // Register KernelContext Plugins
         registerKernelContextPlugins(plugins);
+        // Register atomic operations on array elements
+        TornadoAtomicsPlugins.registerPlugins(plugins);
+        TornadoSubGroupPlugins.registerPlugins(plugins);
 
         OCLMathPlugins.registerTornadoMathPlugins(plugins);
+        OCLMathPlugins.registerHalfFloatPlugins(plugins);
         VectorPlugins.registerPlugins(ps, plugins);
 
         // Register TornadoAtomicInteger
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.compiler.plugins;
+
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderContext;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin.Receiver;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins.Registration;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.collections.types.Byte4;
+import uk.ac.manchester.tornado.api.collections.types.Float4;
+import uk.ac.manchester.tornado.drivers.opencl.OCLImageType;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLImageReadNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLImageSizeNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLImageWriteNode;
+
+/**
+ * Lowers the pixel accessors of {@link OCLImageType image types} to OpenCL
+ * image builtins. Only registered when images are enabled for the device, and
+ * only applied when the receiver is a kernel parameter: these are the objects
+ * the runtime allocates as {@code image2d_t}. Any other receiver is parsed as
+ * the regular Java method; if that method accesses an image parameter, the
+ * compilation bails out in {@code OCLNodeLIRBuilder}.
+ */
+public class OCLImagePlugins {
+
+    public static void registerPlugins(InvocationPlugins plugins) {
+        for (OCLImageType imageType : OCLImageType.values()) {
+            registerImagePlugins(new Registration(plugins, imageType.getJavaClass()), imageType);
+        }
+    }
+
+    private static ParameterNode resolveImage(Receiver receiver) {
+        ValueNode image = receiver.get(false);
+        return (image instanceof ParameterNode) ? (ParameterNode) image : null;
+    }
+
+    private static Class<?> getPixelClass(OCLImageType imageType) {
+        switch (imageType) {
+            case FLOAT4:
+                return Float4.class;
+            case BYTE4:
+                return Byte4.class;
+            default:
+                return float.class;
+        }
+    }
+
+    private static void registerImagePlugins(Registration r, OCLImageType imageType) {
+        final Class<?> pixelClass = getPixelClass(imageType);
+        final JavaKind pixelKind = (imageType == OCLImageType.FLOAT) ? JavaKind.Float : JavaKind.Object;
+
+        r.register(new InvocationPlugin("get", Receiver.class, int.class, int.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode x, ValueNode y) {
+                ParameterNode image = resolveImage(receiver);
+                if (image == null) {
+                    return false;
+                }
+                b.addPush(pixelKind, new OCLImageReadNode(image, imageType, x, y, false));
+                return true;
+            }
+        });
+
+        r.register(new InvocationPlugin("set", Receiver.class, int.class, int.class, pixelClass) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode x, ValueNode y, ValueNode value) {
+                ParameterNode image = resolveImage(receiver);
+                if (image == null) {
+                    return false;
+                }
+                b.add(new OCLImageWriteNode(image, imageType, x, y, value));
+                return true;
+            }
+        });
+
+        if (imageType.supportsLinearFiltering()) {
+            r.register(new InvocationPlugin("sample", Receiver.class, float.class, float.class) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode x, ValueNode y) {
+                    ParameterNode image = resolveImage(receiver);
+                    if (image == null) {
+                        return false;
+                    }
+                    b.addPush(pixelKind, new OCLImageReadNode(image, imageType, x, y, true));
+                    return true;
+                }
+            });
+        }
+
+        r.register(new InvocationPlugin("X", Receiver.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                ParameterNode image = resolveImage(receiver);
+                if (image == null) {
+                    return false;
+                }
+                b.addPush(JavaKind.Int, new OCLImageSizeNode(image, OCLImageSizeNode.Dimension.WIDTH));
+                return true;
+            }
+        });
+
+        r.register(new InvocationPlugin("Y", Receiver.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                ParameterNode image = resolveImage(receiver);
+                if (image == null) {
+                    return false;
+                }
+                b.addPush(JavaKind.Int, new OCLImageSizeNode(image, OCLImageSizeNode.Dimension.HEIGHT));
+                return true;
+            }
+        });
+    }
+}
@@ -55,8 +55,11 @@ import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins.Registratio
 import jdk.vm.ci.meta.JavaKind;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.collections.math.TornadoMath;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLFPBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLFPUnaryIntrinsicNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLHalfArithmeticNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLHalfConvertNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLIntBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLIntTernaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLIntUnaryIntrinsicNode;
@@ -92,6 +95,41 @@ public class OCLMathPlugins {
         registerIntMath3Plugins(registration, byte.class, JavaKind.Byte);
     }
 
+    public static void registerHalfFloatPlugins(final InvocationPlugins plugins) {
+        Registration registration = new Registration(plugins, HalfFloat.class);
+
+        registration.register(new InvocationPlugin("toFloat", short.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                b.push(JavaKind.Float, b.append(OCLHalfConvertNode.create(value, OCLHalfConvertNode.Operation.TO_FLOAT)));
+                return true;
+            }
+        });
+
+        registration.register(new InvocationPlugin("toHalf", float.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                b.push(JavaKind.Short, b.append(OCLHalfConvertNode.create(value, OCLHalfConvertNode.Operation.TO_HALF)));
+                return true;
+            }
+        });
+
+        registerHalfFloatArithmeticPlugin(registration, "add", OCLHalfArithmeticNode.Operation.ADD);
+        registerHalfFloatArithmeticPlugin(registration, "sub", OCLHalfArithmeticNode.Operation.SUB);
+        registerHalfFloatArithmeticPlugin(registration, "mult", OCLHalfArithmeticNode.Operation.MULT);
+        registerHalfFloatArithmeticPlugin(registration, "div", OCLHalfArithmeticNode.Operation.DIV);
+    }
+
+    private static void registerHalfFloatArithmeticPlugin(Registration registration, String name, OCLHalfArithmeticNode.Operation operation) {
+        registration.register(new InvocationPlugin(name, short.class, short.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode x, ValueNode y) {
+                b.push(JavaKind.Short, b.append(OCLHalfArithmeticNode.create(x, y, operation)));
+                return true;
+            }
+        });
+    }
+
     private static void registerFloatMath1Plugins(Registration r, Class<?> type, JavaKind kind) {
         r.register(new InvocationPlugin("sqrt", type) {
             @Override
@@ -55,6 +55,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryOp
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssemblerConstants;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLLIRGenerator;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.AssignStmt;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.AtomicIndexedStmt;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.LoadStmt;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.StoreAtomicAddFloatStmt;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.StoreAtomicAddStmt;
@@ -67,6 +68,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary.MemoryAccess;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary.OCLAddressCast;
 import uk.ac.manchester.tornado.drivers.opencl.graal.meta.OCLMemorySpace;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.VectorUtil;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode.AtomicOperation;
 
 public class OCLArithmeticTool extends ArithmeticLIRGenerator {
 
@@ -323,6 +325,14 @@ public class OCLArithmeticTool extends ArithmeticLIRGenerator {
         getGen().append(new VectorLoadStmt(result, op, index, cast, address));
     }
 
+    public Variable emitAtomicIndexed(AtomicOperation operation, LIRKind kind, MemoryAccess address, Value value, Value expected) {
+        Logger.traceBuildLIR(Logger.BACKEND.OpenCL, "emitAtomicIndexed: %s %s, value=%s, expected=%s", operation, address, value, expected);
+        final Variable result = getGen().newVariable(kind);
+        OCLAddressCast cast = new OCLAddressCast(address.getBase(), kind);
+        getGen().append(new AtomicIndexedStmt(result, operation, cast, address, value, expected));
+        return result;
+    }
+
     @Override
     public Variable emitBitCount(Value input) {
         unimplemented();
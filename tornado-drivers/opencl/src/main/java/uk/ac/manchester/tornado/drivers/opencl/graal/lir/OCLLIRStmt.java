@@ -30,13 +30,18 @@ import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
 
 import jdk.vm.ci.meta.AllocatableValue;
 import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
+import uk.ac.manchester.tornado.drivers.opencl.OCLImageType;
+import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDescription;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLTernaryIntrinsic;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssemblerConstants;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLCompilationResultBuilder;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary.MemoryAccess;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary.OCLAddressCast;
 import uk.ac.manchester.tornado.drivers.opencl.graal.meta.OCLMemorySpace;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode.AtomicOperation;
 
 public class OCLLIRStmt {
 
@@ -299,6 +304,534 @@ public class OCLLIRStmt {
         }
     }
 
+    /**
+     * Converts the half-precision bits of a private {@code short} variable into a
+     * float. Loading through a {@code half} pointer does not need the
+     * {@code cl_khr_fp16} extension.
+     */
+    @Opcode("HALF_TO_FLOAT")
+    public static class HalfToFloatStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<HalfToFloatStmt> TYPE = LIRInstructionClass.create(HalfToFloatStmt.class);
+
+        @Def
+        protected AllocatableValue lhs;
+        @Use
+        protected AllocatableValue half;
+
+        public HalfToFloatStmt(AllocatableValue lhs, AllocatableValue half) {
+            super(TYPE);
+            this.lhs = lhs;
+            this.half = half;
+        }
+
+        @Override
+        public void emitCode(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            asm.indent();
+            asm.emitValue(crb, lhs);
+            asm.space();
+            asm.assign();
+            asm.space();
+            asm.emit("vload_half(0, (__private half *) &");
+            asm.emitValue(crb, half);
+            asm.emit(")");
+            asm.delimiter();
+            asm.eol();
+        }
+
+        public AllocatableValue getResult() {
+            return lhs;
+        }
+    }
+
+    /**
+     * Rounds a float to half precision (to nearest even) and stores its bits in a
+     * private {@code short} variable.
+     */
+    @Opcode("FLOAT_TO_HALF")
+    public static class FloatToHalfStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<FloatToHalfStmt> TYPE = LIRInstructionClass.create(FloatToHalfStmt.class);
+
+        @Def
+        protected AllocatableValue half;
+        @Use
+        protected Value value;
+
+        public FloatToHalfStmt(AllocatableValue half, Value value) {
+            super(TYPE);
+            this.half = half;
+            this.value = value;
+        }
+
+        @Override
+        public void emitCode(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            asm.indent();
+            asm.emit("vstore_half_rte(");
+            asm.emitValue(crb, value);
+            asm.emit(", 0, (__private half *) &");
+            asm.emitValue(crb, half);
+            asm.emit(")");
+            asm.delimiter();
+            asm.eol();
+        }
+
+        public AllocatableValue getResult() {
+            return half;
+        }
+    }
+
+    /**
+     * Reads one pixel of an image parameter. Integer coordinates use the nearest
+     * sampler; {@code sampled} reads take floating-point coordinates and use the
+     * bilinear sampler, with pixel centres at integer positions.
+     */
+    @Opcode("IMAGE_READ")
+    public static class ImageReadStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<ImageReadStmt> TYPE = LIRInstructionClass.create(ImageReadStmt.class);
+
+        @Def
+        protected AllocatableValue lhs;
+        @Use
+        protected Value x;
+        @Use
+        protected Value y;
+
+        private final String image;
+        private final OCLImageType imageType;
+        private final boolean sampled;
+
+        public ImageReadStmt(AllocatableValue lhs, String image, OCLImageType imageType, Value x, Value y, boolean sampled) {
+            super(TYPE);
+            this.lhs = lhs;
+            this.image = image;
+            this.imageType = imageType;
+            this.x = x;
+            this.y = y;
+            this.sampled = sampled;
+        }
+
+        @Override
+        public void emitCode(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            asm.indent();
+            asm.emitValue(crb, lhs);
+            asm.space();
+            asm.assign();
+            asm.space();
+            if (imageType == OCLImageType.BYTE4) {
+                asm.emit("as_char4(convert_uchar4(");
+            }
+            asm.emit("%s(%s, ", imageType.getReadBuiltin(), image);
+            if (sampled) {
+                asm.emit("%s, (float2)(", OCLAssemblerConstants.IMAGE_LINEAR_SAMPLER);
+                asm.emitValue(crb, x);
+                asm.emit(" + 0.5f, ");
+                asm.emitValue(crb, y);
+                asm.emit(" + 0.5f))");
+            } else {
+                asm.emit("%s, (int2)(", OCLAssemblerConstants.IMAGE_NEAREST_SAMPLER);
+                asm.emitValue(crb, x);
+                asm.emit(", ");
+                asm.emitValue(crb, y);
+                asm.emit("))");
+            }
+            if (imageType == OCLImageType.FLOAT) {
+                asm.emit(".x");
+            } else if (imageType == OCLImageType.BYTE4) {
+                asm.emit("))");
+            }
+            asm.delimiter();
+            asm.eol();
+        }
+
+        public AllocatableValue getResult() {
+            return lhs;
+        }
+
+        public String getImage() {
+            return image;
+        }
+    }
+
+    /**
+     * Writes one pixel of an image parameter. Single-channel values are widened
+     * to the four components expected by {@code write_imagef}.
+     */
+    @Opcode("IMAGE_WRITE")
+    public static class ImageWriteStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<ImageWriteStmt> TYPE = LIRInstructionClass.create(ImageWriteStmt.class);
+
+        @Use
+        protected Value x;
+        @Use
+        protected Value y;
+        @Use
+        protected Value value;
+
+        private final String image;
+        private final OCLImageType imageType;
+
+        public ImageWriteStmt(String image, OCLImageType imageType, Value x, Value y, Value value) {
+            super(TYPE);
+            this.image = image;
+            this.imageType = imageType;
+            this.x = x;
+            this.y = y;
+            this.value = value;
+        }
+
+        @Override
+        public void emitCode(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            asm.indent();
+            asm.emit("%s(%s, (int2)(", imageType.getWriteBuiltin(), image);
+            asm.emitValue(crb, x);
+            asm.emit(", ");
+            asm.emitValue(crb, y);
+            asm.emit("), ");
+            switch (imageType) {
+                case FLOAT:
+                    asm.emit("(float4)(");
+                    asm.emitValue(crb, value);
+                    asm.emit(", 0.0f, 0.0f, 1.0f)");
+                    break;
+                case BYTE4:
+                    asm.emit("convert_uint4(as_uchar4(");
+                    asm.emitValue(crb, value);
+                    asm.emit("))");
+                    break;
+                default:
+                    asm.emitValue(crb, value);
+                    break;
+            }
+            asm.emit(")");
+            asm.delimiter();
+            asm.eol();
+        }
+
+        public String getImage() {
+            return image;
+        }
+    }
+
+    /**
+     * Reads the width or height of an image parameter.
+     */
+    @Opcode("IMAGE_SIZE")
+    public static class ImageSizeStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<ImageSizeStmt> TYPE = LIRInstructionClass.create(ImageSizeStmt.class);
+
+        @Def
+        protected AllocatableValue lhs;
+
+        private final String image;
+        private final String builtin;
+
+        public ImageSizeStmt(AllocatableValue lhs, String image, String builtin) {
+            super(TYPE);
+            this.lhs = lhs;
+            this.image = image;
+            this.builtin = builtin;
+        }
+
+        @Override
+        public void emitCode(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            asm.indent();
+            asm.emitValue(crb, lhs);
+            asm.space();
+            asm.assign();
+            asm.space();
+            asm.emit("%s(%s)", builtin, image);
+            asm.delimiter();
+            asm.eol();
+        }
+
+        public AllocatableValue getResult() {
+            return lhs;
+        }
+    }
+
+    /**
+     * Atomic read-modify-write of an array element. Integer operations use the
+     * {@code atomic_*} (32-bit) and {@code atom_*} (64-bit) built-ins. The
+     * floating-point operations without a built-in, and the 64-bit min, max, and,
+     * or and xor on devices without {@code cl_khr_int64_extended_atomics}, are
+     * emitted as a compare-and-swap loop over the bits of the element.
+     */
+    @Opcode("ATOMIC")
+    public static class AtomicIndexedStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<AtomicIndexedStmt> TYPE = LIRInstructionClass.create(AtomicIndexedStmt.class);
+
+        @Def
+        protected AllocatableValue lhs;
+        @Use
+        protected OCLAddressCast cast;
+        @Use
+        protected MemoryAccess address;
+        @Use
+        protected Value value;
+        @Use
+        protected Value expected;
+
+        private final AtomicOperation operation;
+
+        public AtomicIndexedStmt(AllocatableValue lhs, AtomicOperation operation, OCLAddressCast cast, MemoryAccess address, Value value, Value expected) {
+            super(TYPE);
+            this.lhs = lhs;
+            this.operation = operation;
+            this.cast = cast;
+            this.address = address;
+            this.value = value;
+            this.expected = expected;
+        }
+
+        private static String builtinName(AtomicOperation operation) {
+            switch (operation) {
+                case ADD:
+                    return "add";
+                case SUB:
+                    return "sub";
+                case MIN:
+                    return "min";
+                case MAX:
+                    return "max";
+                case AND:
+                    return "and";
+                case OR:
+                    return "or";
+                case XOR:
+                    return "xor";
+                case EXCHANGE:
+                    return "xchg";
+                case COMPARE_EXCHANGE:
+                    return "cmpxchg";
+                default:
+                    throw new TornadoInternalError("Atomic operation not supported: " + operation);
+            }
+        }
+
+        private boolean is64Bit() {
+            return lhs.getPlatformKind().getSizeInBytes() == 8;
+        }
+
+        private boolean isExtendedOperation() {
+            switch (operation) {
+                case MIN:
+                case MAX:
+                case AND:
+                case OR:
+                case XOR:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private String builtinPrefix() {
+            return is64Bit() ? "atom_" : "atomic_";
+        }
+
+        private String bitsType() {
+            return is64Bit() ? "long" : "int";
+        }
+
+        private void emitPointer(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            if (address.getIndex() != null) {
+                // Local and private arrays are accessed with an integer index
+                asm.emit("&");
+                address.emit(crb, asm);
+                asm.emit("[");
+                asm.emitValue(crb, address.getIndex());
+                asm.emit("]");
+            } else {
+                asm.emit("(");
+                cast.emit(crb, asm);
+                asm.space();
+                address.emit(crb, asm);
+                asm.emit(")");
+            }
+        }
+
+        private void emitBitsPointer(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            asm.emit("(volatile " + cast.getMemorySpace().name() + " " + bitsType() + " *) ");
+            emitPointer(crb, asm);
+        }
+
+        private void emitAsBits(OCLCompilationResultBuilder crb, OCLAssembler asm, Value v) {
+            asm.emit("as_" + bitsType() + "(");
+            asm.emitValue(crb, v);
+            asm.emit(")");
+        }
+
+        private void emitBuiltin(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            // e.g. i_10 = atomic_add((__global int *) ul_9, i_4);
+            asm.emitValue(crb, lhs);
+            asm.space();
+            asm.assign();
+            asm.space();
+            asm.emit(builtinPrefix() + builtinName(operation) + "(");
+            emitPointer(crb, asm);
+            if (expected != null) {
+                asm.emit(", ");
+                asm.emitValue(crb, expected);
+            }
+            asm.emit(", ");
+            asm.emitValue(crb, value);
+            asm.emit(")");
+            asm.delimiter();
+            asm.eol();
+        }
+
+        private void emitBitsBuiltin(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            // e.g. d_10 = as_double(atom_xchg((volatile __global long *) ((__global double *) ul_9), as_long(d_4)));
+            asm.emitValue(crb, lhs);
+            asm.space();
+            asm.assign();
+            asm.space();
+            asm.emit("as_" + lhs.getPlatformKind().toString() + "(");
+            asm.emit(builtinPrefix() + builtinName(operation) + "(");
+            emitBitsPointer(crb, asm);
+            if (expected != null) {
+                asm.emit(", ");
+                emitAsBits(crb, asm, expected);
+            }
+            asm.emit(", ");
+            emitAsBits(crb, asm, value);
+            asm.emit("))");
+            asm.delimiter();
+            asm.eol();
+        }
+
+        private void emitUpdatedValue(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            switch (operation) {
+                case ADD:
+                    asm.emitValue(crb, lhs);
+                    asm.emit(" + ");
+                    asm.emitValue(crb, value);
+                    break;
+                case SUB:
+                    asm.emitValue(crb, lhs);
+                    asm.emit(" - ");
+                    asm.emitValue(crb, value);
+                    break;
+                case MIN:
+                case MAX:
+                    if (((OCLKind) lhs.getPlatformKind()).isFloating()) {
+                        asm.emit("f");
+                    }
+                    asm.emit(operation == AtomicOperation.MIN ? "min(" : "max(");
+                    asm.emitValue(crb, lhs);
+                    asm.emit(", ");
+                    asm.emitValue(crb, value);
+                    asm.emit(")");
+                    break;
+                case AND:
+                case OR:
+                case XOR:
+                    asm.emitValue(crb, lhs);
+                    asm.emit(operation == AtomicOperation.AND ? " & " : (operation == AtomicOperation.OR ? " | " : " ^ "));
+                    asm.emitValue(crb, value);
+                    break;
+                default:
+                    throw new TornadoInternalError("Atomic operation not supported in a compare-and-swap loop: " + operation);
+            }
+        }
+
+        private void emitCompareAndSwapLoop(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            // e.g. do { f_10 = *((__global float *) ul_9); }
+            // while (atomic_cmpxchg((volatile __global int *) ((__global float *) ul_9), as_int(f_10), as_int(f_10 + f_4)) != as_int(f_10));
+            asm.emit("do { ");
+            asm.emitValue(crb, lhs);
+            asm.space();
+            asm.assign();
+            asm.space();
+            asm.emit("*");
+            emitPointer(crb, asm);
+            asm.emit("; } while (" + builtinPrefix() + "cmpxchg(");
+            emitBitsPointer(crb, asm);
+            asm.emit(", ");
+            emitAsBits(crb, asm, lhs);
+            asm.emit(", as_" + bitsType() + "(");
+            emitUpdatedValue(crb, asm);
+            asm.emit(")) != ");
+            emitAsBits(crb, asm, lhs);
+            asm.emit(")");
+            asm.delimiter();
+            asm.eol();
+        }
+
+        @Override
+        public void emitCode(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            asm.indent();
+            if (!((OCLKind) lhs.getPlatformKind()).isFloating()) {
+                if (is64Bit() && isExtendedOperation() && !((OCLTargetDescription) crb.target).supportsInt64ExtendedAtomics()) {
+                    // Only atom_cmpxchg is available in cl_khr_int64_base_atomics
+                    emitCompareAndSwapLoop(crb, asm);
+                } else {
+                    emitBuiltin(crb, asm);
+                }
+            } else if (operation == AtomicOperation.EXCHANGE && !is64Bit()) {
+                // atomic_xchg is also defined for float
+                emitBuiltin(crb, asm);
+            } else if (operation == AtomicOperation.EXCHANGE || operation == AtomicOperation.COMPARE_EXCHANGE) {
+                emitBitsBuiltin(crb, asm);
+            } else {
+                emitCompareAndSwapLoop(crb, asm);
+            }
+        }
+    }
+
+    /**
+     * Arithmetic on the bits of two half-precision values, computed in
+     * {@code half} on devices with {@code cl_khr_fp16}. The bits are
+     * reinterpreted with {@code as_half} and the result with {@code as_short}.
+     */
+    @Opcode("HALF_ARITHMETIC")
+    public static class HalfArithmeticStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<HalfArithmeticStmt> TYPE = LIRInstructionClass.create(HalfArithmeticStmt.class);
+
+        @Def
+        protected AllocatableValue lhs;
+        @Use
+        protected Value x;
+        @Use
+        protected Value y;
+
+        protected final String operator;
+
+        public HalfArithmeticStmt(AllocatableValue lhs, String operator, Value x, Value y) {
+            super(TYPE);
+            this.lhs = lhs;
+            this.operator = operator;
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public void emitCode(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+            asm.indent();
+            asm.emitValue(crb, lhs);
+            asm.space();
+            asm.assign();
+            asm.space();
+            asm.emit("as_short(as_half((short) ");
+            asm.emitValue(crb, x);
+            asm.emit(") " + operator + " as_half((short) ");
+            asm.emitValue(crb, y);
+            asm.emit("))");
+            asm.delimiter();
+            asm.eol();
+        }
+
+        public AllocatableValue getResult() {
+            return lhs;
+        }
+    }
+
     @Opcode("STORE")
     public static class StoreStmt extends AbstractInstruction {
 
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.nodes;
+
+import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.gen.ArithmeticLIRGeneratorTool;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.BinaryNode;
+import org.graalvm.compiler.nodes.spi.CanonicalizerTool;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
+import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLLIRGenerator;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.HalfArithmeticStmt;
+
+/**
+ * Arithmetic on the bits of two half-precision values ({@link HalfFloat}).
+ * Devices with {@code cl_khr_fp16} compute it in {@code half}; the other
+ * devices convert the operands to float and round the result back, which gives
+ * the same correctly rounded result.
+ */
+@NodeInfo(nameTemplate = "{p#operation/s}")
+public class OCLHalfArithmeticNode extends BinaryNode implements LIRLowerable {
+
+    public static final NodeClass<OCLHalfArithmeticNode> TYPE = NodeClass.create(OCLHalfArithmeticNode.class);
+
+    public enum Operation {
+        ADD("+"), //
+        SUB("-"), //
+        MULT("*"), //
+        DIV("/");
+
+        private final String operator;
+
+        Operation(String operator) {
+            this.operator = operator;
+        }
+
+        public String getOperator() {
+            return operator;
+        }
+    }
+
+    protected final Operation operation;
+
+    public OCLHalfArithmeticNode(ValueNode x, ValueNode y, Operation operation) {
+        super(TYPE, StampFactory.forKind(JavaKind.Short), x, y);
+        this.operation = operation;
+    }
+
+    public static ValueNode create(ValueNode x, ValueNode y, Operation operation) {
+        ValueNode constant = tryConstantFold(x, y, operation);
+        return (constant != null) ? constant : new OCLHalfArithmeticNode(x, y, operation);
+    }
+
+    private static ValueNode tryConstantFold(ValueNode x, ValueNode y, Operation operation) {
+        if (!x.isConstant() || !y.isConstant()) {
+            return null;
+        }
+        return ConstantNode.forIntegerKind(JavaKind.Short, compute((short) x.asJavaConstant().asInt(), (short) y.asJavaConstant().asInt(), operation));
+    }
+
+    private static short compute(short x, short y, Operation operation) {
+        switch (operation) {
+            case ADD:
+                return HalfFloat.add(x, y);
+            case SUB:
+                return HalfFloat.sub(x, y);
+            case MULT:
+                return HalfFloat.mult(x, y);
+            default:
+                return HalfFloat.div(x, y);
+        }
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public Stamp foldStamp(Stamp stampX, Stamp stampY) {
+        return stamp(NodeView.DEFAULT);
+    }
+
+    @Override
+    public ValueNode canonical(CanonicalizerTool tool, ValueNode forX, ValueNode forY) {
+        ValueNode constant = tryConstantFold(forX, forY, operation);
+        return (constant != null) ? constant : this;
+    }
+
+    private static Value emitFloatOperation(ArithmeticLIRGeneratorTool arithmetic, Operation operation, Value x, Value y) {
+        switch (operation) {
+            case ADD:
+                return arithmetic.emitAdd(x, y, false);
+            case SUB:
+                return arithmetic.emitSub(x, y, false);
+            case MULT:
+                return arithmetic.emitMul(x, y, false);
+            default:
+                return arithmetic.emitDiv(x, y, null);
+        }
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool builder) {
+        OCLLIRGenerator gen = (OCLLIRGenerator) builder.getLIRGeneratorTool();
+        Value x = builder.operand(getX());
+        Value y = builder.operand(getY());
+        if (gen.target().supportsFP16()) {
+            Variable result = gen.newVariable(gen.getLIRKind(stamp));
+            gen.append(new HalfArithmeticStmt(result, operation.getOperator(), x, y));
+            builder.setResult(this, result);
+        } else {
+            Variable floatX = OCLHalfConvertNode.emitConversion(gen, OCLHalfConvertNode.Operation.TO_FLOAT, x);
+            Variable floatY = OCLHalfConvertNode.emitConversion(gen, OCLHalfConvertNode.Operation.TO_FLOAT, y);
+            Value result = emitFloatOperation(gen.getArithmetic(), operation, floatX, floatY);
+            builder.setResult(this, OCLHalfConvertNode.emitConversion(gen, OCLHalfConvertNode.Operation.TO_HALF, result));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.UnaryNode;
+import org.graalvm.compiler.nodes.spi.CanonicalizerTool;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
+import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLLIRGenerator;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.AssignStmt;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.FloatToHalfStmt;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.HalfToFloatStmt;
+
+/**
+ * Conversion between float and the bits of a half-precision value
+ * ({@link HalfFloat}).
+ */
+@NodeInfo(nameTemplate = "{p#operation/s}")
+public class OCLHalfConvertNode extends UnaryNode implements LIRLowerable {
+
+    public static final NodeClass<OCLHalfConvertNode> TYPE = NodeClass.create(OCLHalfConvertNode.class);
+
+    public enum Operation {
+        TO_FLOAT, //
+        TO_HALF
+    }
+
+    protected final Operation operation;
+
+    public OCLHalfConvertNode(ValueNode value, Operation operation) {
+        super(TYPE, stampFor(operation), value);
+        this.operation = operation;
+    }
+
+    private static Stamp stampFor(Operation operation) {
+        return StampFactory.forKind(operation == Operation.TO_FLOAT ? JavaKind.Float : JavaKind.Short);
+    }
+
+    public static ValueNode create(ValueNode value, Operation operation) {
+        ValueNode constant = tryConstantFold(value, operation);
+        return (constant != null) ? constant : new OCLHalfConvertNode(value, operation);
+    }
+
+    private static ValueNode tryConstantFold(ValueNode value, Operation operation) {
+        if (!value.isConstant()) {
+            return null;
+        }
+        if (operation == Operation.TO_FLOAT) {
+            return ConstantNode.forFloat(HalfFloat.toFloat((short) value.asJavaConstant().asInt()));
+        }
+        return ConstantNode.forIntegerKind(JavaKind.Short, HalfFloat.toHalf(value.asJavaConstant().asFloat()));
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public Node canonical(CanonicalizerTool tool, ValueNode forValue) {
+        ValueNode constant = tryConstantFold(forValue, operation);
+        return (constant != null) ? constant : this;
+    }
+
+    /**
+     * Emits the conversion of {@code input} and returns the variable holding the
+     * converted value.
+     */
+    static Variable emitConversion(OCLLIRGenerator gen, Operation operation, Value input) {
+        Variable half = gen.newVariable(LIRKind.value(OCLKind.SHORT));
+        Variable result = gen.newVariable(gen.getLIRKind(stampFor(operation)));
+        if (operation == Operation.TO_FLOAT) {
+            gen.append(new AssignStmt(half, input));
+            gen.append(new HalfToFloatStmt(result, half));
+            return result;
+        }
+        gen.append(new FloatToHalfStmt(half, input));
+        gen.append(new AssignStmt(result, half));
+        return result;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool builder) {
+        OCLLIRGenerator gen = (OCLLIRGenerator) builder.getLIRGeneratorTool();
+        builder.setResult(this, emitConversion(gen, operation, builder.operand(getValue())));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Local;
+import uk.ac.manchester.tornado.drivers.opencl.OCLImageType;
+import uk.ac.manchester.tornado.drivers.opencl.graal.OCLStampFactory;
+import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLLIRGenerator;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.ImageReadStmt;
+
+/**
+ * Reads a pixel from an image kernel parameter ({@code read_imagef} or
+ * {@code read_imageui}). With {@code sampled} set, the coordinates are floats
+ * and the read goes through the bilinear sampler.
+ */
+@NodeInfo(nameTemplate = "ImageRead")
+public class OCLImageReadNode extends FixedWithNextNode implements LIRLowerable {
+
+    public static final NodeClass<OCLImageReadNode> TYPE = NodeClass.create(OCLImageReadNode.class);
+
+    @Input
+    protected ParameterNode image;
+    @Input
+    protected ValueNode x;
+    @Input
+    protected ValueNode y;
+
+    private final OCLImageType imageType;
+    private final boolean sampled;
+
+    public OCLImageReadNode(ParameterNode image, OCLImageType imageType, ValueNode x, ValueNode y, boolean sampled) {
+        super(TYPE, stampFor(imageType));
+        this.image = image;
+        this.imageType = imageType;
+        this.x = x;
+        this.y = y;
+        this.sampled = sampled;
+    }
+
+    private static Stamp stampFor(OCLImageType imageType) {
+        switch (imageType) {
+            case FLOAT4:
+                return OCLStampFactory.getStampFor(OCLKind.FLOAT4);
+            case BYTE4:
+                return OCLStampFactory.getStampFor(OCLKind.CHAR4);
+            default:
+                return StampFactory.forKind(JavaKind.Float);
+        }
+    }
+
+    /**
+     * Images are referenced by the name of the kernel parameter, which is
+     * declared as {@code image2d_t} in the kernel signature.
+     */
+    static String getImageName(ParameterNode image) {
+        final Local[] locals = image.graph().method().getLocalVariableTable().getLocalsAt(0);
+        return locals[image.index()].getName();
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool builder) {
+        OCLLIRGenerator gen = (OCLLIRGenerator) builder.getLIRGeneratorTool();
+        LIRKind lirKind = gen.getLIRKind(stamp);
+        Variable result = gen.newVariable(lirKind);
+        gen.append(new ImageReadStmt(result, getImageName(image), imageType, builder.operand(x), builder.operand(y), sampled));
+        builder.setResult(this, result);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.calc.FloatingNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLLIRGenerator;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.ImageSizeStmt;
+
+/**
+ * Width or height of an image kernel parameter ({@code get_image_width} and
+ * {@code get_image_height}).
+ */
+@NodeInfo(nameTemplate = "ImageSize")
+public class OCLImageSizeNode extends FloatingNode implements LIRLowerable {
+
+    public static final NodeClass<OCLImageSizeNode> TYPE = NodeClass.create(OCLImageSizeNode.class);
+
+    public enum Dimension {
+        WIDTH("get_image_width"), //
+        HEIGHT("get_image_height");
+
+        private final String builtin;
+
+        Dimension(String builtin) {
+            this.builtin = builtin;
+        }
+    }
+
+    @Input
+    protected ParameterNode image;
+
+    private final Dimension dimension;
+
+    public OCLImageSizeNode(ParameterNode image, Dimension dimension) {
+        super(TYPE, StampFactory.forKind(JavaKind.Int));
+        this.image = image;
+        this.dimension = dimension;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool builder) {
+        OCLLIRGenerator gen = (OCLLIRGenerator) builder.getLIRGeneratorTool();
+        Variable result = gen.newVariable(LIRKind.value(gen.target().getOCLKind(JavaKind.Int)));
+        gen.append(new ImageSizeStmt(result, OCLImageReadNode.getImageName(image), dimension.builtin));
+        builder.setResult(this, result);
+    }
+}
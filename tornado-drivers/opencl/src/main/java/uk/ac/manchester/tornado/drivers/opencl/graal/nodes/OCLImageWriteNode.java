@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.nodes;
+
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.memory.MemoryKill;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import uk.ac.manchester.tornado.drivers.opencl.OCLImageType;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.ImageWriteStmt;
+
+/**
+ * Writes a pixel of an image kernel parameter ({@code write_imagef} or
+ * {@code write_imageui}).
+ */
+@NodeInfo(nameTemplate = "ImageWrite")
+public class OCLImageWriteNode extends FixedWithNextNode implements LIRLowerable, MemoryKill {
+
+    public static final NodeClass<OCLImageWriteNode> TYPE = NodeClass.create(OCLImageWriteNode.class);
+
+    @Input
+    protected ParameterNode image;
+    @Input
+    protected ValueNode x;
+    @Input
+    protected ValueNode y;
+    @Input
+    protected ValueNode value;
+
+    private final OCLImageType imageType;
+
+    public OCLImageWriteNode(ParameterNode image, OCLImageType imageType, ValueNode x, ValueNode y, ValueNode value) {
+        super(TYPE, StampFactory.forVoid());
+        this.image = image;
+        this.imageType = imageType;
+        this.x = x;
+        this.y = y;
+        this.value = value;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool builder) {
+        builder.getLIRGeneratorTool().append(new ImageWriteStmt(OCLImageReadNode.getImageName(image), imageType, builder.operand(x), builder.operand(y), builder.operand(value)));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLNullaryIntrinsic;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryTemplate;
+import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLLIRGenerator;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLArithmeticTool;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.AssignStmt;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLNullary;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode.SubGroupOperation;
+
+/**
+ * Lowered form of a {@link SubGroupNode}. It emits the {@code cl_khr_subgroups}
+ * built-ins, using the {@code cl_intel_subgroups} shuffles when the device does
+ * not provide {@code cl_khr_subgroup_shuffle}.
+ */
+@NodeInfo(nameTemplate = "OCLSubGroup{p#operation/s}")
+public class OCLSubGroupNode extends FixedWithNextNode implements LIRLowerable {
+
+    public static final NodeClass<OCLSubGroupNode> TYPE = NodeClass.create(OCLSubGroupNode.class);
+
+    @OptionalInput
+    protected ValueNode value;
+    @OptionalInput
+    protected ValueNode lane;
+
+    private final SubGroupOperation operation;
+    private final boolean useIntelShuffle;
+
+    public OCLSubGroupNode(SubGroupNode subGroup, boolean useIntelShuffle) {
+        super(TYPE, subGroup.stamp(NodeView.DEFAULT));
+        this.value = subGroup.value();
+        this.lane = subGroup.lane();
+        this.operation = subGroup.getOperation();
+        this.useIntelShuffle = useIntelShuffle;
+    }
+
+    public SubGroupOperation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool builder) {
+        OCLLIRGenerator gen = (OCLLIRGenerator) builder.getLIRGeneratorTool();
+        OCLArithmeticTool arithmetic = gen.getArithmetic();
+        LIRKind kind = gen.getLIRKind(stamp);
+        Variable result;
+        switch (operation) {
+            case SIZE:
+                result = emitQuery(gen, OCLNullaryIntrinsic.SUB_GROUP_SIZE, kind);
+                break;
+            case LOCAL_ID:
+                result = emitQuery(gen, OCLNullaryIntrinsic.SUB_GROUP_LOCAL_ID, kind);
+                break;
+            case ID:
+                result = emitQuery(gen, OCLNullaryIntrinsic.SUB_GROUP_ID, kind);
+                break;
+            case NUM_SUB_GROUPS:
+                result = emitQuery(gen, OCLNullaryIntrinsic.NUM_SUB_GROUPS, kind);
+                break;
+            case SHUFFLE:
+                OCLBinaryIntrinsic shuffle = useIntelShuffle ? OCLBinaryIntrinsic.INTEL_SUB_GROUP_SHUFFLE : OCLBinaryIntrinsic.SUB_GROUP_SHUFFLE;
+                result = arithmetic.emitBinaryAssign(shuffle, kind, builder.operand(value), builder.operand(lane));
+                break;
+            case SHUFFLE_XOR:
+                OCLBinaryIntrinsic shuffleXor = useIntelShuffle ? OCLBinaryIntrinsic.INTEL_SUB_GROUP_SHUFFLE_XOR : OCLBinaryIntrinsic.SUB_GROUP_SHUFFLE_XOR;
+                result = arithmetic.emitBinaryAssign(shuffleXor, kind, builder.operand(value), builder.operand(lane));
+                break;
+            case BROADCAST:
+                result = arithmetic.emitBinaryAssign(OCLBinaryIntrinsic.SUB_GROUP_BROADCAST, kind, builder.operand(value), builder.operand(lane));
+                break;
+            case ANY:
+                result = arithmetic.emitUnaryAssign(OCLUnaryIntrinsic.SUB_GROUP_ANY, kind, builder.operand(value));
+                break;
+            case ALL:
+                result = arithmetic.emitUnaryAssign(OCLUnaryIntrinsic.SUB_GROUP_ALL, kind, builder.operand(value));
+                break;
+            case BALLOT:
+                result = arithmetic.emitUnaryAssign(OCLUnaryTemplate.SUB_GROUP_BALLOT, kind, builder.operand(value));
+                break;
+            case REDUCE_ADD:
+                result = arithmetic.emitUnaryAssign(OCLUnaryIntrinsic.SUB_GROUP_REDUCE_ADD, kind, builder.operand(value));
+                break;
+            case REDUCE_MIN:
+                result = arithmetic.emitUnaryAssign(OCLUnaryIntrinsic.SUB_GROUP_REDUCE_MIN, kind, builder.operand(value));
+                break;
+            case REDUCE_MAX:
+                result = arithmetic.emitUnaryAssign(OCLUnaryIntrinsic.SUB_GROUP_REDUCE_MAX, kind, builder.operand(value));
+                break;
+            case INCLUSIVE_SCAN_ADD:
+                result = arithmetic.emitUnaryAssign(OCLUnaryIntrinsic.SUB_GROUP_SCAN_INCLUSIVE_ADD, kind, builder.operand(value));
+                break;
+            case EXCLUSIVE_SCAN_ADD:
+                result = arithmetic.emitUnaryAssign(OCLUnaryIntrinsic.SUB_GROUP_SCAN_EXCLUSIVE_ADD, kind, builder.operand(value));
+                break;
+            default:
+                throw new IllegalArgumentException("Subgroup operation not supported: " + operation);
+        }
+        builder.setResult(this, result);
+    }
+
+    private static Variable emitQuery(OCLLIRGenerator gen, OCLNullaryIntrinsic intrinsic, LIRKind kind) {
+        Variable result = gen.newVariable(kind);
+        gen.append(new AssignStmt(result, new OCLNullary.Intrinsic(intrinsic, kind)));
+        return result;
+    }
+}
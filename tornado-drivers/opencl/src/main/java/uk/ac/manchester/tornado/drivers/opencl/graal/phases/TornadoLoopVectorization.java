@@ -0,0 +1,478 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.phases;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.nodes.BeginNode;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.EndNode;
+import org.graalvm.compiler.nodes.FixedNode;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.IfNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.MergeNode;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.PiNode;
+import org.graalvm.compiler.nodes.ProfileData.BranchProbabilityData;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.BinaryNode;
+import org.graalvm.compiler.nodes.calc.FloatDivNode;
+import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.java.LoadIndexedNode;
+import org.graalvm.compiler.nodes.java.StoreIndexedNode;
+import org.graalvm.compiler.nodes.loop.LoopEx;
+import org.graalvm.compiler.nodes.loop.LoopsData;
+import org.graalvm.compiler.phases.BasePhase;
+
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.LoadIndexedVectorNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.VectorAddNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.VectorDivNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.VectorMulNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.VectorSubNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.VectorValueNode;
+import uk.ac.manchester.tornado.drivers.opencl.runtime.OCLTornadoDevice;
+import uk.ac.manchester.tornado.runtime.common.Tornado;
+import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelOffsetNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoLoopsData;
+import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
+
+/**
+ * It vectorizes one-dimensional {@link uk.ac.manchester.tornado.api.annotations.Parallel}
+ * loops with unit stride, in which all arrays are accessed with the induction
+ * variable, such as:
+ *
+ * <pre>
+ * for (@Parallel int i = 0; i < size; i++) {
+ *     c[i] = a[i] * alpha + b[i];
+ * }
+ * </pre>
+ *
+ * Each thread then processes N consecutive elements with {@code vloadN} and
+ * {@code vstoreN}, and the parallel range is divided by N. The width is the
+ * largest of 8, 4 and 2 that is not bigger than the preferred vector width
+ * of the device for the element type.
+ *
+ * <p>
+ * If the width does not divide the range, the remaining elements are
+ * processed by a scalar epilogue: after its vector body, thread {@code t}
+ * processes the element {@code t + (range / N) * N} if {@code t} is lower than
+ * {@code range % N}. The epilogue is only emitted when the loop body has no
+ * control flow. Loops that do not match the pattern are left untouched.
+ * </p>
+ */
+public class TornadoLoopVectorization extends BasePhase<TornadoHighTierContext> {
+
+    private static final int[] VECTOR_WIDTHS = { 8, 4, 2 };
+
+    private static ValueNode unwrap(ValueNode value) {
+        ValueNode node = value;
+        while (node instanceof PiNode) {
+            node = ((PiNode) node).object();
+        }
+        return node;
+    }
+
+    private static boolean isConstant(ValueNode value, int expected) {
+        return value instanceof ConstantNode && value.asJavaConstant().asInt() == expected;
+    }
+
+    private static boolean isVectorizableArithmetic(Node node, JavaKind kind) {
+        if (node instanceof AddNode || node instanceof SubNode || node instanceof MulNode) {
+            return true;
+        }
+        return node instanceof FloatDivNode && kind != JavaKind.Int;
+    }
+
+    private static boolean isBroadcastable(ValueNode value, JavaKind kind) {
+        return (value instanceof ConstantNode || value instanceof ParameterNode) && value.getStackKind() == kind;
+    }
+
+    private static OCLKind getVectorKind(JavaKind kind, int width) {
+        switch (kind) {
+            case Int:
+                return width == 8 ? OCLKind.INT8 : width == 4 ? OCLKind.INT4 : OCLKind.INT2;
+            case Float:
+                return width == 8 ? OCLKind.FLOAT8 : width == 4 ? OCLKind.FLOAT4 : OCLKind.FLOAT2;
+            case Double:
+                return width == 8 ? OCLKind.DOUBLE8 : width == 4 ? OCLKind.DOUBLE4 : OCLKind.DOUBLE2;
+            default:
+                return OCLKind.ILLEGAL;
+        }
+    }
+
+    /**
+     * @return the widest vector that fits the device, and leaves no more
+     *         remaining elements than vector threads, so each remaining element
+     *         is processed by a different thread.
+     */
+    private static int getVectorWidth(int preferredWidth, int range, boolean hasEpilogue) {
+        for (int width : VECTOR_WIDTHS) {
+            int remainder = range % width;
+            if (width <= preferredWidth && (remainder == 0 || (hasEpilogue && remainder <= range / width))) {
+                return width;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * @return the last fixed node of the body of the loop if the body has no
+     *         control flow, or {@code null} otherwise.
+     */
+    private static FixedWithNextNode getStraightLineBodyEnd(LoopEx loop) {
+        if (loop.loopBegin().loopEnds().count() != 1) {
+            return null;
+        }
+        LoopEndNode loopEnd = loop.loopBegin().loopEnds().first();
+        if (!(loopEnd.predecessor() instanceof FixedWithNextNode)) {
+            return null;
+        }
+        Node node = loopEnd.predecessor();
+        while (node != null && !(node instanceof IfNode)) {
+            node = node.predecessor();
+        }
+        // The only split is the condition of the loop, at the loop header
+        return node != null && node.predecessor() == loop.loopBegin() ? (FixedWithNextNode) loopEnd.predecessor() : null;
+    }
+
+    /**
+     * @return the fixed nodes of the body of the loop, in order.
+     */
+    private static List<FixedNode> getBody(FixedWithNextNode bodyEnd) {
+        List<FixedNode> body = new ArrayList<>();
+        for (Node node = bodyEnd; !(node instanceof IfNode); node = node.predecessor()) {
+            body.add(0, (FixedNode) node);
+        }
+        return body;
+    }
+
+    private static ValueNode copyScalar(StructuredGraph graph, ValueNode node, Set<ValueNode> arithmetic, Map<ValueNode, ValueNode> scalars) {
+        if (scalars.containsKey(node)) {
+            return scalars.get(node);
+        } else if (!arithmetic.contains(node)) {
+            return node;
+        }
+
+        BinaryNode binary = (BinaryNode) node;
+        ValueNode x = copyScalar(graph, binary.getX(), arithmetic, scalars);
+        ValueNode y = copyScalar(graph, binary.getY(), arithmetic, scalars);
+        ValueNode scalar;
+        if (node instanceof AddNode) {
+            scalar = new AddNode(x, y);
+        } else if (node instanceof SubNode) {
+            scalar = new SubNode(x, y);
+        } else if (node instanceof MulNode) {
+            scalar = new MulNode(x, y);
+        } else {
+            scalar = new FloatDivNode(x, y);
+        }
+        scalar = graph.addOrUnique(scalar);
+        scalars.put(node, scalar);
+        return scalar;
+    }
+
+    /**
+     * Inserts, after the body of the loop, a copy of the scalar loads and stores
+     * that processes the element {@code phi + tailStart} when {@code phi} is
+     * lower than {@code remainder}. It must be called before the body is
+     * vectorized.
+     */
+    private static void addScalarEpilogue(StructuredGraph graph, ValuePhiNode phi, FixedWithNextNode bodyEnd, List<LoadIndexedNode> loads, List<StoreIndexedNode> stores,
+            Set<ValueNode> arithmetic, JavaKind kind, int tailStart, int remainder) {
+        final ValueNode tailIndex = graph.addOrUnique(new AddNode(phi, ConstantNode.forInt(tailStart, graph)));
+
+        BeginNode trueBegin = graph.add(new BeginNode());
+        FixedWithNextNode last = trueBegin;
+        FrameState lastState = null;
+        Map<ValueNode, ValueNode> scalars = new HashMap<>();
+        for (FixedNode node : getBody(bodyEnd)) {
+            if (node instanceof LoadIndexedNode && loads.contains(node)) {
+                LoadIndexedNode load = (LoadIndexedNode) node;
+                LoadIndexedNode scalarLoad = graph.add(new LoadIndexedNode(null, load.array(), tailIndex, null, kind));
+                scalars.put(load, scalarLoad);
+                last.setNext(scalarLoad);
+                last = scalarLoad;
+            } else if (node instanceof StoreIndexedNode && stores.contains(node)) {
+                StoreIndexedNode store = (StoreIndexedNode) node;
+                ValueNode value = copyScalar(graph, store.value(), arithmetic, scalars);
+                StoreIndexedNode scalarStore = graph.add(new StoreIndexedNode(store.array(), tailIndex, null, null, kind, value));
+                if (store.stateAfter() != null) {
+                    lastState = store.stateAfter();
+                    scalarStore.setStateAfter(lastState.duplicate());
+                }
+                last.setNext(scalarStore);
+                last = scalarStore;
+            }
+        }
+
+        EndNode trueEnd = graph.add(new EndNode());
+        last.setNext(trueEnd);
+        BeginNode falseBegin = graph.add(new BeginNode());
+        EndNode falseEnd = graph.add(new EndNode());
+        falseBegin.setNext(falseEnd);
+
+        MergeNode merge = graph.add(new MergeNode());
+        merge.addForwardEnd(trueEnd);
+        merge.addForwardEnd(falseEnd);
+        if (lastState != null) {
+            merge.setStateAfter(lastState.duplicate());
+        }
+
+        IntegerLessThanNode condition = graph.addOrUnique(new IntegerLessThanNode(phi, ConstantNode.forInt(remainder, graph)));
+        IfNode ifNode = graph.add(new IfNode(condition, trueBegin, falseBegin, BranchProbabilityData.unknown()));
+
+        FixedNode next = bodyEnd.next();
+        bodyEnd.setNext(null);
+        merge.setNext(next);
+        bodyEnd.setNext(ifNode);
+    }
+
+    /**
+     * Collects the loads and stores indexed by the induction variable, and
+     * checks that the induction variable has no other uses apart from the loop
+     * control.
+     */
+    private static boolean collectAccesses(ValuePhiNode phi, List<LoadIndexedNode> loads, List<StoreIndexedNode> stores) {
+        for (Node usage : phi.usages()) {
+            if (usage instanceof FrameState) {
+                continue;
+            } else if (usage == phi.valueAt(1)) {
+                if (usage.usages().filter(n -> n != phi && !(n instanceof FrameState)).isNotEmpty()) {
+                    return false;
+                }
+            } else if (usage instanceof IntegerLessThanNode && ((IntegerLessThanNode) usage).getX() == phi) {
+                continue;
+            } else if (usage instanceof LoadIndexedNode && !(usage instanceof LoadIndexedVectorNode)) {
+                LoadIndexedNode load = (LoadIndexedNode) usage;
+                if (load.index() != phi || !(unwrap(load.array()) instanceof ParameterNode)) {
+                    return false;
+                }
+                loads.add(load);
+            } else if (usage instanceof StoreIndexedNode) {
+                StoreIndexedNode store = (StoreIndexedNode) usage;
+                if (store.index() != phi || store.value() == phi || !(unwrap(store.array()) instanceof ParameterNode)) {
+                    return false;
+                }
+                stores.add(store);
+            } else {
+                return false;
+            }
+        }
+        return !loads.isEmpty() && !stores.isEmpty();
+    }
+
+    /**
+     * Follows the loaded values through the arithmetic nodes until they reach
+     * the stores. It returns false if any of the values escapes the pattern.
+     */
+    private static boolean collectArithmetic(List<LoadIndexedNode> loads, List<StoreIndexedNode> stores, JavaKind kind, Set<ValueNode> arithmetic) {
+        Set<ValueNode> vectorValues = new LinkedHashSet<>(loads);
+        Deque<ValueNode> worklist = new ArrayDeque<>(loads);
+        while (!worklist.isEmpty()) {
+            ValueNode value = worklist.pop();
+            if (value.getStackKind() != kind) {
+                return false;
+            }
+            for (Node usage : value.usages()) {
+                if (usage instanceof StoreIndexedNode) {
+                    StoreIndexedNode store = (StoreIndexedNode) usage;
+                    if (!stores.contains(store) || store.value() != value || store.elementKind() != kind) {
+                        return false;
+                    }
+                } else if (isVectorizableArithmetic(usage, kind)) {
+                    if (vectorValues.add((ValueNode) usage)) {
+                        arithmetic.add((ValueNode) usage);
+                        worklist.push((ValueNode) usage);
+                    }
+                } else {
+                    return false;
+                }
+            }
+        }
+
+        for (ValueNode node : arithmetic) {
+            BinaryNode binary = (BinaryNode) node;
+            for (ValueNode input : new ValueNode[] { binary.getX(), binary.getY() }) {
+                if (!vectorValues.contains(input) && !isBroadcastable(input, kind)) {
+                    return false;
+                }
+            }
+        }
+        for (StoreIndexedNode store : stores) {
+            if (!vectorValues.contains(store.value())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ValueNode broadcast(StructuredGraph graph, OCLKind vectorKind, ValueNode scalar, Map<ValueNode, ValueNode> broadcasts) {
+        return broadcasts.computeIfAbsent(scalar, value -> {
+            VectorValueNode vector = graph.add(new VectorValueNode(vectorKind));
+            for (int i = 0; i < vectorKind.getVectorLength(); i++) {
+                vector.setElement(i, value);
+            }
+            return vector;
+        });
+    }
+
+    private static ValueNode vectorize(StructuredGraph graph, OCLKind vectorKind, ValueNode node, Map<ValueNode, ValueNode> vectors, Map<ValueNode, ValueNode> broadcasts) {
+        if (vectors.containsKey(node)) {
+            return vectors.get(node);
+        } else if (!(node instanceof BinaryNode)) {
+            return broadcast(graph, vectorKind, node, broadcasts);
+        }
+
+        BinaryNode binary = (BinaryNode) node;
+        ValueNode x = vectorize(graph, vectorKind, binary.getX(), vectors, broadcasts);
+        ValueNode y = vectorize(graph, vectorKind, binary.getY(), vectors, broadcasts);
+        ValueNode vector;
+        if (node instanceof AddNode) {
+            vector = new VectorAddNode(vectorKind, x, y);
+        } else if (node instanceof SubNode) {
+            vector = new VectorSubNode(vectorKind, x, y);
+        } else if (node instanceof MulNode) {
+            vector = new VectorMulNode(vectorKind, x, y);
+        } else {
+            vector = new VectorDivNode(vectorKind, x, y);
+        }
+        vector = graph.addOrUnique(vector);
+        vectors.put(node, vector);
+        return vector;
+    }
+
+    private static void vectorizeLoop(StructuredGraph graph, ValuePhiNode phi, ParallelRangeNode range, List<LoadIndexedNode> loads, List<StoreIndexedNode> stores, Set<ValueNode> arithmetic,
+            JavaKind kind, int width) {
+        final OCLKind vectorKind = getVectorKind(kind, width);
+        final ValueNode elementIndex = graph.addOrUnique(new MulNode(phi, ConstantNode.forInt(width, graph)));
+
+        Map<ValueNode, ValueNode> vectors = new HashMap<>();
+        for (LoadIndexedNode load : loads) {
+            LoadIndexedVectorNode vectorLoad = graph.add(new LoadIndexedVectorNode(vectorKind, load.array(), elementIndex, kind));
+            vectors.put(vectorLoad, vectorLoad);
+            graph.replaceFixedWithFixed(load, vectorLoad);
+        }
+
+        Map<ValueNode, ValueNode> broadcasts = new HashMap<>();
+        for (ValueNode node : arithmetic) {
+            vectorize(graph, vectorKind, node, vectors, broadcasts);
+        }
+        for (ValueNode node : arithmetic) {
+            node.replaceAtUsages(vectors.get(node));
+        }
+        for (ValueNode node : arithmetic) {
+            node.safeDelete();
+        }
+
+        for (StoreIndexedNode store : stores) {
+            StoreIndexedNode vectorStore = graph.add(new StoreIndexedNode(store.array(), elementIndex, null, null, kind, store.value()));
+            vectorStore.setStateAfter(store.stateAfter());
+            graph.replaceFixedWithFixed(store, vectorStore);
+        }
+
+        range.setValue(ConstantNode.forInt(range.value().asJavaConstant().asInt() / width, graph));
+    }
+
+    @Override
+    protected void run(StructuredGraph graph, TornadoHighTierContext context) {
+        if (!context.hasMeta() || context.getMeta().getDomain() != null || !graph.hasLoops() || !(context.getDeviceMapping() instanceof OCLTornadoDevice)) {
+            return;
+        }
+
+        final List<ParallelRangeNode> ranges = graph.getNodes().filter(ParallelRangeNode.class).snapshot();
+        if (ranges.size() != 1) {
+            return;
+        }
+        final ParallelRangeNode range = ranges.get(0);
+        if (!isConstant(range.offset().value(), 0) || !isConstant(range.stride().value(), 1) || !(range.value() instanceof ConstantNode)) {
+            return;
+        }
+
+        final LoopsData data = new TornadoLoopsData(graph);
+        data.detectCountedLoops();
+        if (data.loops().size() != 1) {
+            return;
+        }
+        final LoopEx loop = data.loops().get(0);
+        if (loop.loopBegin().valuePhis().count() != 1) {
+            return;
+        }
+        final ValuePhiNode phi = loop.loopBegin().valuePhis().first();
+        if (!(phi.valueAt(0) instanceof ParallelOffsetNode)) {
+            return;
+        }
+
+        List<LoadIndexedNode> loads = new ArrayList<>();
+        List<StoreIndexedNode> stores = new ArrayList<>();
+        if (!collectAccesses(phi, loads, stores)) {
+            return;
+        }
+
+        final JavaKind kind = loads.get(0).elementKind();
+        if (kind != JavaKind.Int && kind != JavaKind.Float && kind != JavaKind.Double) {
+            return;
+        }
+        for (LoadIndexedNode load : loads) {
+            if (load.elementKind() != kind) {
+                return;
+            }
+        }
+
+        Set<ValueNode> arithmetic = new LinkedHashSet<>();
+        if (!collectArithmetic(loads, stores, kind, arithmetic)) {
+            return;
+        }
+
+        final int preferredWidth = ((OCLTornadoDevice) context.getDeviceMapping()).getPhysicalDevice().getDevicePreferredVectorWidth(kind);
+        final int numElements = range.value().asJavaConstant().asInt();
+        final FixedWithNextNode bodyEnd = getStraightLineBodyEnd(loop);
+        final int width = getVectorWidth(preferredWidth, numElements, bodyEnd != null);
+        if (width == 1) {
+            return;
+        }
+
+        final int remainder = numElements % width;
+        Tornado.debug("task %s: vectorizing parallel loop with %d loads and %d stores, width=%d, remainder=%d", context.getMeta().getId(), loads.size(), stores.size(), width, remainder);
+        if (remainder != 0) {
+            addScalarEpilogue(graph, phi, bodyEnd, loads, stores, arithmetic, kind, numElements - remainder, remainder);
+        }
+        vectorizeLoop(graph, phi, range, loads, stores, arithmetic, kind, width);
+    }
+}
@@ -41,6 +41,7 @@ import org.graalvm.compiler.replacements.Snippets;
 
 import jdk.vm.ci.meta.JavaKind;
 import uk.ac.manchester.tornado.api.collections.math.TornadoMath;
+import uk.ac.manchester.tornado.api.collections.math.TornadoSubGroups;
 import uk.ac.manchester.tornado.drivers.opencl.builtins.OpenCLIntrinsics;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.GlobalThreadSizeNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLFPBinaryIntrinsicNode;
@@ -802,6 +803,148 @@ public class ReduceGPUSnippets implements Snippets {
         }
     }
 
+    /*
+     * Subgroup variants: each subgroup reduces its values in registers and only
+     * one value per subgroup is written to local memory.
+     */
+    @Snippet
+    public static void partialReduceIntAddSubGroup(int[] inputArray, int[] outputArray, int gidx) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        int partial = TornadoSubGroups.subGroupReduceAdd(inputArray[gidx]);
+        if (TornadoSubGroups.getSubGroupLocalId() == 0) {
+            localArray[TornadoSubGroups.getSubGroupId()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = TornadoSubGroups.getNumSubGroups();
+            int result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result += localArray[i];
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntMaxSubGroup(int[] inputArray, int[] outputArray, int gidx) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        int partial = TornadoSubGroups.subGroupReduceMax(inputArray[gidx]);
+        if (TornadoSubGroups.getSubGroupLocalId() == 0) {
+            localArray[TornadoSubGroups.getSubGroupId()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = TornadoSubGroups.getNumSubGroups();
+            int result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result = TornadoMath.max(result, localArray[i]);
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntMinSubGroup(int[] inputArray, int[] outputArray, int gidx) {
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        int partial = TornadoSubGroups.subGroupReduceMin(inputArray[gidx]);
+        if (TornadoSubGroups.getSubGroupLocalId() == 0) {
+            localArray[TornadoSubGroups.getSubGroupId()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = TornadoSubGroups.getNumSubGroups();
+            int result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result = TornadoMath.min(result, localArray[i]);
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatAddSubGroup(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        float partial = TornadoSubGroups.subGroupReduceAdd(inputArray[gidx]);
+        if (TornadoSubGroups.getSubGroupLocalId() == 0) {
+            localArray[TornadoSubGroups.getSubGroupId()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = TornadoSubGroups.getNumSubGroups();
+            float result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result += localArray[i];
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatMaxSubGroup(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        float partial = TornadoSubGroups.subGroupReduceMax(inputArray[gidx]);
+        if (TornadoSubGroups.getSubGroupLocalId() == 0) {
+            localArray[TornadoSubGroups.getSubGroupId()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = TornadoSubGroups.getNumSubGroups();
+            float result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result = TornadoMath.max(result, localArray[i]);
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatMinSubGroup(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = OpenCLIntrinsics.get_local_id(0);
+        int groupID = OpenCLIntrinsics.get_group_id(0);
+
+        float partial = TornadoSubGroups.subGroupReduceMin(inputArray[gidx]);
+        if (TornadoSubGroups.getSubGroupLocalId() == 0) {
+            localArray[TornadoSubGroups.getSubGroupId()] = partial;
+        }
+
+        OpenCLIntrinsics.localBarrier();
+        if (localIdx == 0) {
+            int numSubGroups = TornadoSubGroups.getNumSubGroups();
+            float result = localArray[0];
+            for (int i = 1; i < numSubGroups; i++) {
+                result = TornadoMath.min(result, localArray[i]);
+            }
+            outputArray[groupID + 1] = result;
+        }
+    }
+
     public static class Templates extends AbstractTemplates implements TornadoSnippetTypeInference {
 
         // Add
@@ -844,8 +987,54 @@ public class ReduceGPUSnippets implements Snippets {
         private final SnippetInfo partialReduceMinDoubleSnippet = snippet(ReduceGPUSnippets.class, "partialReduceDoubleMin");
         private final SnippetInfo partialReduceMinDoubleSnippetCarrierValue = snippet(ReduceGPUSnippets.class, "partialReduceDoubleMinCarrierValue");
 
+        // Subgroups
+        private final SnippetInfo partialReduceIntAddSubGroupSnippet = snippet(ReduceGPUSnippets.class, "partialReduceIntAddSubGroup");
+        private final SnippetInfo partialReduceIntMaxSubGroupSnippet = snippet(ReduceGPUSnippets.class, "partialReduceIntMaxSubGroup");
+        private final SnippetInfo partialReduceIntMinSubGroupSnippet = snippet(ReduceGPUSnippets.class, "partialReduceIntMinSubGroup");
+        private final SnippetInfo partialReduceFloatAddSubGroupSnippet = snippet(ReduceGPUSnippets.class, "partialReduceFloatAddSubGroup");
+        private final SnippetInfo partialReduceFloatMaxSubGroupSnippet = snippet(ReduceGPUSnippets.class, "partialReduceFloatMaxSubGroup");
+        private final SnippetInfo partialReduceFloatMinSubGroupSnippet = snippet(ReduceGPUSnippets.class, "partialReduceFloatMinSubGroup");
+
+        private final boolean useSubGroups;
+
         public Templates(OptionValues options, Providers providers) {
+            this(options, providers, false);
+        }
+
+        /**
+         * @param useSubGroups
+         *            selects the subgroup snippets for int and float add, max and
+         *            min reductions without a carrier value.
+         */
+        public Templates(OptionValues options, Providers providers, boolean useSubGroups) {
             super(options, providers);
+            this.useSubGroups = useSubGroups;
+        }
+
+        private SnippetInfo getSubGroupSnippet(JavaKind elementKind, ValueNode value) {
+            boolean isInt = elementKind == JavaKind.Int;
+            if (value instanceof TornadoReduceAddNode) {
+                return isInt ? partialReduceIntAddSubGroupSnippet : partialReduceFloatAddSubGroupSnippet;
+            } else if (isInt && value instanceof OCLIntBinaryIntrinsicNode) {
+                switch (((OCLIntBinaryIntrinsicNode) value).operation()) {
+                    case MAX:
+                        return partialReduceIntMaxSubGroupSnippet;
+                    case MIN:
+                        return partialReduceIntMinSubGroupSnippet;
+                    default:
+                        return null;
+                }
+            } else if (!isInt && value instanceof OCLFPBinaryIntrinsicNode) {
+                switch (((OCLFPBinaryIntrinsicNode) value).operation()) {
+                    case FMAX:
+                        return partialReduceFloatMaxSubGroupSnippet;
+                    case FMIN:
+                        return partialReduceFloatMinSubGroupSnippet;
+                    default:
+                        return null;
+                }
+            }
+            return null;
         }
 
         private SnippetInfo getSnippetFromOCLBinaryNodeInteger(OCLIntBinaryIntrinsicNode value, ValueNode extra) {
@@ -958,6 +1147,12 @@ public class ReduceGPUSnippets implements Snippets {
         @Override
         public SnippetInfo getSnippetInstance(JavaKind elementKind, ValueNode value, ValueNode extra) {
             SnippetInfo snippet = null;
+            if (useSubGroups && extra == null && (elementKind == JavaKind.Int || elementKind == JavaKind.Float)) {
+                snippet = getSubGroupSnippet(elementKind, value);
+                if (snippet != null) {
+                    return snippet;
+                }
+            }
             if (elementKind == JavaKind.Int) {
                 snippet = inferIntSnippet(value, extra);
             } else if (elementKind == JavaKind.Long) {
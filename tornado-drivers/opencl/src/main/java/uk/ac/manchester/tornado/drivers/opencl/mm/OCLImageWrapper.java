@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.mm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import uk.ac.manchester.tornado.api.collections.types.ImageByte4;
+import uk.ac.manchester.tornado.api.collections.types.ImageFloat;
+import uk.ac.manchester.tornado.api.collections.types.ImageFloat4;
+import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
+import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
+import uk.ac.manchester.tornado.drivers.opencl.OCLImageType;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags;
+
+/**
+ * Device buffer for {@link ImageFloat}, {@link ImageFloat4} and
+ * {@link ImageByte4} parameters allocated as OpenCL 2D images instead of
+ * regions of the TornadoVM heap. Only the pixel data lives on the device; the
+ * kernel reads the image dimensions through {@code get_image_width/height}.
+ */
+public class OCLImageWrapper implements ObjectBuffer {
+
+    private final OCLDeviceContext deviceContext;
+    private final OCLImageType imageType;
+    private long image;
+    private long width;
+    private long height;
+    private long subRegionSize;
+
+    public OCLImageWrapper(OCLDeviceContext deviceContext, OCLImageType imageType) {
+        this.deviceContext = deviceContext;
+        this.imageType = imageType;
+        this.image = -1;
+    }
+
+    private static int getWidth(Object reference) {
+        if (reference instanceof ImageFloat) {
+            return ((ImageFloat) reference).X();
+        } else if (reference instanceof ImageFloat4) {
+            return ((ImageFloat4) reference).X();
+        }
+        return ((ImageByte4) reference).X();
+    }
+
+    private static int getHeight(Object reference) {
+        if (reference instanceof ImageFloat) {
+            return ((ImageFloat) reference).Y();
+        } else if (reference instanceof ImageFloat4) {
+            return ((ImageFloat4) reference).Y();
+        }
+        return ((ImageByte4) reference).Y();
+    }
+
+    private static float[] getFloatStorage(Object reference) {
+        return (reference instanceof ImageFloat) ? ((ImageFloat) reference).getArray() : ((ImageFloat4) reference).getArray();
+    }
+
+    private int write(Object reference, int[] events, boolean useDeps) {
+        if (reference instanceof ImageByte4) {
+            return deviceContext.enqueueWriteImage(image, width, height, ((ImageByte4) reference).getArray(), 0, useDeps ? events : null);
+        }
+        return deviceContext.enqueueWriteImage(image, width, height, getFloatStorage(reference), 0, useDeps ? events : null);
+    }
+
+    private int read(Object reference, int[] events) {
+        if (reference instanceof ImageByte4) {
+            return deviceContext.enqueueReadImage(image, width, height, ((ImageByte4) reference).getArray(), 0, events);
+        }
+        return deviceContext.enqueueReadImage(image, width, height, getFloatStorage(reference), 0, events);
+    }
+
+    @Override
+    public long toBuffer() {
+        return image;
+    }
+
+    @Override
+    public void setBuffer(ObjectBufferWrapper bufferWrapper) {
+        throw new TornadoRuntimeException("[ERROR] Image objects cannot be placed in a shared buffer");
+    }
+
+    @Override
+    public long getBufferOffset() {
+        return 0;
+    }
+
+    @Override
+    public void read(Object reference) {
+        read(reference, 0, null, false);
+    }
+
+    @Override
+    public int read(Object reference, long hostOffset, int[] events, boolean useDeps) {
+        return read(reference, useDeps ? events : null);
+    }
+
+    @Override
+    public void write(Object reference) {
+        write(reference, null, false);
+    }
+
+    @Override
+    public int enqueueRead(Object reference, long hostOffset, int[] events, boolean useDeps) {
+        return read(reference, useDeps ? events : null);
+    }
+
+    @Override
+    public List<Integer> enqueueWrite(Object reference, long batchSize, long hostOffset, int[] events, boolean useDeps) {
+        List<Integer> writeEvents = new ArrayList<>();
+        writeEvents.add(write(reference, events, useDeps));
+        return writeEvents;
+    }
+
+    @Override
+    public void allocate(Object reference, long batchSize) throws TornadoOutOfMemoryException, TornadoMemoryException {
+        if (batchSize > 0) {
+            throw new TornadoMemoryException("[ERROR] Batch processing is not supported for image objects");
+        }
+        width = getWidth(reference);
+        height = getHeight(reference);
+        image = deviceContext.getPlatformContext().createImage2D(OCLMemFlags.CL_MEM_READ_WRITE, imageType.getChannelOrder(), imageType.getChannelType(), width, height);
+        if (image == -1) {
+            throw new TornadoOutOfMemoryException("[ERROR] Unable to allocate a " + width + "x" + height + " image of type " + imageType);
+        }
+    }
+
+    @Override
+    public void deallocate() throws TornadoMemoryException {
+        if (image != -1) {
+            deviceContext.getPlatformContext().releaseBuffer(image);
+            image = -1;
+        }
+    }
+
+    @Override
+    public long size() {
+        return width * height * imageType.getPixelSize();
+    }
+
+    @Override
+    public void setSizeSubRegion(long batchSize) {
+        this.subRegionSize = batchSize;
+    }
+
+    @Override
+    public long getSizeSubRegion() {
+        return subRegionSize;
+    }
+}
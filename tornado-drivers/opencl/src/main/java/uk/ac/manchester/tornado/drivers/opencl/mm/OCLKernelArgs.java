@@ -71,7 +71,7 @@ public class OCLKernelArgs extends OCLByteBuffer implements KernelArgs {
 
     @Override
     public int enqueueWrite(int[] events) {
-        return super.enqueueWrite(events);
+        return deviceContext.enqueueWriteKernelContext(toBuffer(), 0, bytes, buffer.array(), events);
     }
 
     @Override
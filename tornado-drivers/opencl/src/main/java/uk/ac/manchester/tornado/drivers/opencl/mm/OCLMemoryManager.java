@@ -42,8 +42,6 @@ public class OCLMemoryManager extends TornadoLogger implements TornadoMemoryProv
     private static final int MAX_NUMBER_OF_ATOMICS_PER_KERNEL = 128;
     private static final int INTEGER_BYTES_SIZE = 4;
 
-    public OCLKernelArgs oclKernelCallWrapper = null;
-
     public OCLMemoryManager(final OCLDeviceContext deviceContext) {
         this.deviceContext = deviceContext;
     }
@@ -57,12 +55,14 @@ public class OCLMemoryManager extends TornadoLogger implements TornadoMemoryProv
         return (address % alignment == 0) ? address : address + (alignment - address % alignment);
     }
 
+    /**
+     * Creates the call wrapper of a task. Each task-graph has its own wrappers,
+     * so task-graphs submitted concurrently from several threads do not
+     * overwrite each other's kernel arguments.
+     */
     public OCLKernelArgs createCallWrapper(final int maxArgs) {
-        if (this.oclKernelCallWrapper == null) {
-            long kernelCallBuffer = deviceContext.getPlatformContext().createBuffer(OCLMemFlags.CL_MEM_READ_ONLY, RESERVED_SLOTS * Long.BYTES).getBuffer();
-            this.oclKernelCallWrapper = new OCLKernelArgs(kernelCallBuffer, maxArgs, deviceContext);
-        }
-        return this.oclKernelCallWrapper;
+        long kernelCallBuffer = deviceContext.getPlatformContext().createBuffer(OCLMemFlags.CL_MEM_READ_ONLY, RESERVED_SLOTS * Long.BYTES).getBuffer();
+        return new OCLKernelArgs(kernelCallBuffer, maxArgs, deviceContext);
     }
 
     public ObjectBuffer createAtomicsBuffer(final int[] arr) {
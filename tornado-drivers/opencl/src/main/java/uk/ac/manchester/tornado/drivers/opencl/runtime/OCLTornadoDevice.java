@@ -58,6 +58,7 @@ import uk.ac.manchester.tornado.drivers.opencl.OCLCodeCache;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContextInterface;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDriver;
+import uk.ac.manchester.tornado.drivers.opencl.OCLImageType;
 import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLInstalledCode;
@@ -74,6 +75,7 @@ import uk.ac.manchester.tornado.drivers.opencl.mm.OCLFloatArrayWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLIntArrayWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLLongArrayWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLMultiDimArrayWrapper;
+import uk.ac.manchester.tornado.drivers.opencl.mm.OCLImageWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLObjectWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLShortArrayWrapper;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLVectorWrapper;
@@ -512,6 +514,8 @@ public class OCLTornadoDevice implements TornadoAcceleratorDevice {
         } else if (!type.isPrimitive()) {
             if (object instanceof AtomicInteger) {
                 result = new AtomicsBuffer(new int[] {}, deviceContext);
+            } else if (OCLImageType.fromClass(type) != null && OCLImageType.isEnabled(deviceContext.getDevice())) {
+                result = new OCLImageWrapper(deviceContext, OCLImageType.fromClass(type));
             } else if (object.getClass().getAnnotation(Vector.class) != null) {
                 result = new OCLVectorWrapper(deviceContext, object, batchSize);
             } else {
@@ -683,6 +687,11 @@ public class OCLTornadoDevice implements TornadoAcceleratorDevice {
         getDeviceContext().flushEvents();
     }
 
+    @Override
+    public void releaseEvents(int[] localEventIDs) {
+        getDeviceContext().releaseEvents(localEventIDs);
+    }
+
     @Override
     public String getDeviceName() {
         return String.format("opencl-%d-%d", platformIndex, deviceIndex);
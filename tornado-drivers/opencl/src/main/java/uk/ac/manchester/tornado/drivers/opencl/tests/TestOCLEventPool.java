@@ -0,0 +1,112 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.tests;
+
+import uk.ac.manchester.tornado.api.enums.TornadoExecutionStatus;
+import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
+import uk.ac.manchester.tornado.drivers.opencl.OpenCL;
+import uk.ac.manchester.tornado.drivers.opencl.runtime.OCLTornadoDevice;
+
+/**
+ * Releases retained events through the event pool of the default OpenCL
+ * device, as the runtime does when the profiles of a task-graph are cleared.
+ * The events are handed back to the device and released at its next
+ * synchronisation, after which their slots are reused by the next commands.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOCLEventPool
+ * </code>
+ */
+public class TestOCLEventPool {
+
+    private static final int EVENTS = 16;
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    private static int[] enqueueRetainedMarkers(OCLTornadoDevice device) {
+        OCLDeviceContext deviceContext = (OCLDeviceContext) device.getDeviceContext();
+        int[] events = new int[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            events[i] = device.enqueueMarker();
+            deviceContext.retainEvent(events[i]);
+        }
+        return events;
+    }
+
+    public void test() {
+        OCLTornadoDevice device = OpenCL.defaultDevice();
+        if (device.enqueueMarker() == -1) {
+            System.out.println(" ................ [SKIP] markers require OpenCL 1.2");
+            return;
+        }
+
+        int[] run = enqueueRetainedMarkers(device);
+        device.sync();
+        for (int event : run) {
+            check(device.resolveEvent(event).getStatus() == TornadoExecutionStatus.COMPLETE, "event " + event + " has not completed");
+        }
+
+        // The events handed back stay valid until the next synchronisation
+        device.releaseEvents(run.clone());
+        int[] next = enqueueRetainedMarkers(device);
+        for (int event : next) {
+            for (int released : run) {
+                check(event != released, "event " + released + " reused before the synchronisation");
+            }
+        }
+
+        // After the synchronisation, the slots of the released events are reused
+        // first
+        device.sync();
+        int[] reused = enqueueRetainedMarkers(device);
+        for (int released : run) {
+            boolean found = false;
+            for (int event : reused) {
+                found |= event == released;
+            }
+            check(found, "event " + released + " not reused after the synchronisation");
+        }
+
+        device.releaseEvents(next);
+        device.releaseEvents(reused);
+        device.sync();
+        System.out.println(" ................ [PASS]");
+    }
+
+    public static void main(String[] args) {
+        System.out.print("Running Native: uk.ac.manchester.tornado.drivers.opencl.tests.TestOCLEventPool");
+        try {
+            new TestOCLEventPool().test();
+        } catch (AssertionError e) {
+            System.out.println(" ................ [FAIL] " + e.getMessage());
+        }
+    }
+}
@@ -28,6 +28,7 @@ import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.unimp
 
 import java.nio.ByteOrder;
 
+import jdk.vm.ci.meta.JavaKind;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContextInterface;
 import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
@@ -171,6 +172,11 @@ public class VirtualOCLDevice extends TornadoLogger implements OCLTargetDevice {
         return doubleFPConfig;
     }
 
+    @Override
+    public boolean isDeviceImageSupported() {
+        return false;
+    }
+
     public long getDeviceSingleFPConfig() {
         return singleFPConfig;
     }
@@ -179,6 +185,11 @@ public class VirtualOCLDevice extends TornadoLogger implements OCLTargetDevice {
         return deviceAddressBits;
     }
 
+    @Override
+    public int getDevicePreferredVectorWidth(JavaKind kind) {
+        return 1;
+    }
+
     public boolean hasDeviceUnifiedMemory() {
         return false;
     }
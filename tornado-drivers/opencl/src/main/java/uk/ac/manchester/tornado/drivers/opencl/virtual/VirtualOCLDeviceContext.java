@@ -153,6 +153,10 @@ public class VirtualOCLDeviceContext extends TornadoLogger implements OCLDeviceC
     public void flushEvents() {
     }
 
+    @Override
+    public void releaseEvents(int[] localEventIDs) {
+    }
+
     public void reset() {
         wasReset = true;
     }
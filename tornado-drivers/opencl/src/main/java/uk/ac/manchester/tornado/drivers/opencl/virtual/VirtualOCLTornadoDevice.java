@@ -365,6 +365,11 @@ public class VirtualOCLTornadoDevice implements TornadoAcceleratorDevice {
         getDeviceContext().flushEvents();
     }
 
+    @Override
+    public void releaseEvents(int[] localEventIDs) {
+        getDeviceContext().releaseEvents(localEventIDs);
+    }
+
     @Override
     public String getDeviceName() {
         return String.format("virtualOpencl-%d-%d", platformIndex, deviceIndex);
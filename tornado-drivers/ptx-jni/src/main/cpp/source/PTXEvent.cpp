@@ -30,78 +30,57 @@
 #include "PTXEvent.h"
 #include "ptx_log.h"
 
-jbyteArray array_from_event(JNIEnv *env, CUevent *event) {
-    jbyteArray array = env->NewByteArray(sizeof(CUevent));
-    env->SetByteArrayRegion(array, 0, sizeof(CUevent), reinterpret_cast<const jbyte *>(event));
-    return array;
-}
-
-jobjectArray wrapper_from_events(JNIEnv *env, CUevent *event1, CUevent *event2) {
-    jbyteArray array1 = array_from_event(env, event1);
-    jbyteArray array2 = array_from_event(env, event2);
-    jclass byteClass = env->FindClass("[B");
-    jobjectArray wrapper_2d_array = env->NewObjectArray(2, byteClass, NULL);
-    env->SetObjectArrayElement(wrapper_2d_array, (jsize) 0, array1);
-    env->SetObjectArrayElement(wrapper_2d_array, (jsize) 1, array2);
-    return wrapper_2d_array;
-}
-
-void event_from_array(JNIEnv *env, CUevent *event, jbyteArray array) {
-    env->GetByteArrayRegion(array, 0, sizeof(CUevent), reinterpret_cast<jbyte *>(event));
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXEvent
+ * Method:    cuEventCreate
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_cuEventCreate
+  (JNIEnv *env, jclass clazz) {
+    CUevent event;
+    CUresult result = cuEventCreate(&event, CU_EVENT_DEFAULT);
+    LOG_PTX_AND_VALIDATE("cuEventCreate", result);
+    if (result != CUDA_SUCCESS) {
+        return (jlong) 0;
+    }
+    return (jlong) event;
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXEvent
  * Method:    cuEventDestroy
- * Signature: ([B)J
+ * Signature: (J)J
  */
 JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_cuEventDestroy
-  (JNIEnv *env, jclass clazz, jbyteArray event_wrapper) {
-    CUevent event;
-    event_from_array(env, &event, event_wrapper);
-    CUresult result = cuEventDestroy(event);
+  (JNIEnv *env, jclass clazz, jlong event) {
+    CUresult result = cuEventDestroy((CUevent) event);
     LOG_PTX_AND_VALIDATE("cuEventDestroy", result);
     return (jlong) result;
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXEvent
- * Method:    tornadoCUDAEventsSynchronize
- * Signature: ([[B)V
+ * Method:    tornadoCUDAEventSynchronize
+ * Signature: (J)V
  */
-JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_tornadoCUDAEventsSynchronize
-  (JNIEnv *env, jclass clazz, jobjectArray wrappers) {
-    jsize events_length = env->GetArrayLength(wrappers);
-
-    for (int i = 0; i < events_length; i++) {
-        jbyteArray array = (jbyteArray) env->GetObjectArrayElement(wrappers, i);
-        CUevent event;
-        event_from_array(env, &event, array);
-        if (cuEventQuery(event) != CUDA_SUCCESS) {
-            // Only wait on event if not completed yet
-            CUresult result = cuEventSynchronize(event);
-            LOG_PTX_AND_VALIDATE("cuEventSynchronize", result);
-        }
-        env->DeleteLocalRef(array);
+JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_tornadoCUDAEventSynchronize
+  (JNIEnv *env, jclass clazz, jlong event) {
+    if (cuEventQuery((CUevent) event) != CUDA_SUCCESS) {
+        // Only wait on event if not completed yet
+        CUresult result = cuEventSynchronize((CUevent) event);
+        LOG_PTX_AND_VALIDATE("cuEventSynchronize", result);
     }
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXEvent
  * Method:    cuEventElapsedTime
- * Signature: ([[B)J
+ * Signature: (JJ)J
  */
 JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_cuEventElapsedTime
-  (JNIEnv *env, jclass clazz, jobjectArray wrapper) {
-    jbyteArray array1 = (jbyteArray) env->GetObjectArrayElement(wrapper,0);
-    jbyteArray array2 = (jbyteArray) env->GetObjectArrayElement(wrapper,1);
-
-    CUevent beforeEvent, afterEvent;
-    event_from_array(env, &beforeEvent, array1);
-    event_from_array(env, &afterEvent, array2);
-
+  (JNIEnv *env, jclass clazz, jlong before_event, jlong after_event) {
     float time;
-    CUresult result = cuEventElapsedTime(&time, beforeEvent, afterEvent);
+    CUresult result = cuEventElapsedTime(&time, (CUevent) before_event, (CUevent) after_event);
     LOG_PTX_AND_VALIDATE("cuEventElapsedTime", result);
     // cuEventElapsedTime returns the time in milliseconds.  We convert because the tornado profiler uses nanoseconds.
     return (jlong) (time * 1e+6);
@@ -110,18 +89,15 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_cuEve
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXEvent
  * Method:    cuEventQuery
- * Signature: ([B)J
+ * Signature: (J)J
  */
 JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_cuEventQuery
-  (JNIEnv *env, jclass clazz, jbyteArray wrapper) {
-    CUevent event;
-    event_from_array(env, &event, wrapper);
-
-    CUresult result = cuEventQuery(event);
+  (JNIEnv *env, jclass clazz, jlong event) {
+    CUresult result = cuEventQuery((CUevent) event);
     LOG_PTX_AND_VALIDATE("cuEventQuery", result);
 
     if (result != CUDA_SUCCESS && result != CUDA_ERROR_NOT_READY) {
         std::cout << "\t[JNI] " << __FILE__ << ":" << __LINE__ << " cuEventQuery returned" << result << std::endl;
     }
     return (unsigned long) result;
-}
\ No newline at end of file
+}
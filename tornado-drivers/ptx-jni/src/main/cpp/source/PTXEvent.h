@@ -32,41 +32,45 @@
 extern "C" {
 #endif
 
-jbyteArray array_from_event(JNIEnv *env, CUevent *event);
-
-jobjectArray wrapper_from_events(JNIEnv *env, CUevent *event1, CUevent *event2);
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXEvent
+ * Method:    cuEventCreate
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_cuEventCreate
+        (JNIEnv *, jclass);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXEvent
  * Method:    cuEventDestroy
- * Signature: ([B)J
+ * Signature: (J)J
  */
 JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_cuEventDestroy
-        (JNIEnv *, jclass, jbyteArray);
+        (JNIEnv *, jclass, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXEvent
- * Method:    tornadoCUDAEventsSynchronize
- * Signature: ([[B)V
+ * Method:    tornadoCUDAEventSynchronize
+ * Signature: (J)V
  */
-JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_tornadoCUDAEventsSynchronize
-        (JNIEnv *, jclass, jobjectArray);
+JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_tornadoCUDAEventSynchronize
+        (JNIEnv *, jclass, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXEvent
  * Method:    cuEventElapsedTime
- * Signature: ([[B)J
+ * Signature: (JJ)J
  */
 JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_cuEventElapsedTime
-        (JNIEnv *env, jclass clazz, jobjectArray wrapper);
+        (JNIEnv *, jclass, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXEvent
  * Method:    cuEventQuery
- * Signature: ([B)J
+ * Signature: (J)J
  */
 JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXEvent_cuEventQuery
-        (JNIEnv *, jclass, jbyteArray);
+        (JNIEnv *, jclass, jlong);
 
 #ifdef __cplusplus
 }
@@ -30,22 +30,12 @@
 #include "PTXModule.h"
 #include "ptx_log.h"
 
-jbyteArray from_module(JNIEnv *env, CUmodule *module) {
-    jbyteArray array = env->NewByteArray(sizeof(CUmodule));
-    env->SetByteArrayRegion(array, 0, sizeof(CUmodule), static_cast<const jbyte *>((void *) module));
-    return array;
-}
-
-void array_to_module(JNIEnv *env, CUmodule *module_ptr, jbyteArray javaWrapper) {
-    env->GetByteArrayRegion(javaWrapper, 0, sizeof(CUmodule), static_cast<jbyte *>((void *) module_ptr));
-}
-
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXModule
  * Method:    cuModuleLoadData
- * Signature: ([B)[B
+ * Signature: ([B)J
  */
-JNIEXPORT jbyteArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuModuleLoadData
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuModuleLoadData
   (JNIEnv *env, jclass clazz, jbyteArray source) {
     CUresult result;
 
@@ -58,52 +48,54 @@ JNIEXPORT jbyteArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule
     result = cuModuleLoadData(&module, ptx);
     LOG_PTX_AND_VALIDATE("cuModuleLoadData", result);
 
-    /// FIXME
     if (result != CUDA_SUCCESS) {
         printf("PTX to cubin JIT compilation failed! (%d)\n", result);
         fflush(stdout);
-        jbyteArray error_array = env->NewByteArray(0);
-        return error_array;
+        return (jlong) 0;
     }
-    return from_module(env, &module);
+    return (jlong) module;
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXModule
  * Method:    cuModuleUnload
- * Signature: ([B)J
+ * Signature: (J)J
  */
-JNIEXPORT jbyteArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuModuleUnload
-  (JNIEnv *env, jclass clazz, jbyteArray module_wrapper) {
-    CUresult result;
-    CUmodule module;
-    array_to_module(env, &module, module_wrapper);
-
-    result = cuModuleUnload(module);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuModuleUnload
+  (JNIEnv *env, jclass clazz, jlong module) {
+    CUresult result = cuModuleUnload((CUmodule) module);
     LOG_PTX_AND_VALIDATE("cuModuleUnload", result);
     return (jlong) result;
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXModule
- * Method:    cuOccupancyMaxPotentialBlockSize
- * Signature: ([BLjava/lang/String;)I
+ * Method:    cuModuleGetFunction
+ * Signature: (JLjava/lang/String;)J
  */
-JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuOccupancyMaxPotentialBlockSize
-  (JNIEnv *env, jclass clazz, jbyteArray module_wrapper, jstring func_name) {
-    CUresult result;
-    CUmodule module;
-    array_to_module(env, &module, module_wrapper);
-
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuModuleGetFunction
+  (JNIEnv *env, jclass clazz, jlong module, jstring func_name) {
     const char *native_function_name = env->GetStringUTFChars(func_name, 0);
     CUfunction kernel;
-    result = cuModuleGetFunction(&kernel, module, native_function_name);
+    CUresult result = cuModuleGetFunction(&kernel, (CUmodule) module, native_function_name);
     LOG_PTX_AND_VALIDATE("cuModuleGetFunction", result);
     env->ReleaseStringUTFChars(func_name, native_function_name);
+    if (result != CUDA_SUCCESS) {
+        return (jlong) 0;
+    }
+    return (jlong) kernel;
+}
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXModule
+ * Method:    cuOccupancyMaxPotentialBlockSize
+ * Signature: (J)I
+ */
+JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuOccupancyMaxPotentialBlockSize
+  (JNIEnv *env, jclass clazz, jlong function) {
     int min_grid_size;
     int block_size;
-    result = cuOccupancyMaxPotentialBlockSize(&min_grid_size, &block_size, kernel, 0, 0, 0);
+    CUresult result = cuOccupancyMaxPotentialBlockSize(&min_grid_size, &block_size, (CUfunction) function, 0, 0, 0);
     LOG_PTX_AND_VALIDATE("cuOccupancyMaxPotentialBlockSize", result);
     return block_size;
-}
\ No newline at end of file
+}
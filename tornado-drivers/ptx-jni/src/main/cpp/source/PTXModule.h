@@ -33,31 +33,37 @@
 extern "C" {
 #endif
 
-void array_to_module(JNIEnv *env, CUmodule *module_ptr, jbyteArray javaWrapper);
-
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXModule
  * Method:    cuModuleLoadData
- * Signature: ([B)[B
+ * Signature: ([B)J
  */
-JNIEXPORT jbyteArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuModuleLoadData
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuModuleLoadData
         (JNIEnv *, jclass, jbyteArray);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXModule
  * Method:    cuModuleUnload
- * Signature: ([B)J
+ * Signature: (J)J
  */
-JNIEXPORT jbyteArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuModuleUnload
-        (JNIEnv *, jclass, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuModuleUnload
+        (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXModule
+ * Method:    cuModuleGetFunction
+ * Signature: (JLjava/lang/String;)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuModuleGetFunction
+        (JNIEnv *, jclass, jlong, jstring);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXModule
  * Method:    cuOccupancyMaxPotentialBlockSize
- * Signature: ([BLjava/lang/String;)I
+ * Signature: (J)I
  */
 JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXModule_cuOccupancyMaxPotentialBlockSize
-        (JNIEnv *, jclass, jbyteArray, jstring);
+        (JNIEnv *, jclass, jlong);
 
 #ifdef __cplusplus
 }
@@ -27,6 +27,7 @@
 #include <cuda.h>
 
 #include <iostream>
+#include <cstring>
 #include "PTXStream.h"
 #include "PTXModule.h"
 #include "PTXEvent.h"
@@ -196,22 +197,11 @@ static CUresult free_staging_area_list() {
     return result;
 }
 
-static void stream_from_array(JNIEnv *env, CUstream *stream_ptr, jbyteArray array) {
-    env->GetByteArrayRegion(array, 0, sizeof(CUstream), reinterpret_cast<jbyte *>(stream_ptr));
-}
-
-static jbyteArray array_from_stream(JNIEnv *env, CUstream *stream) {
-    jbyteArray array = env->NewByteArray(sizeof(CUstream));
-    env->SetByteArrayRegion(array, 0, sizeof(CUstream), reinterpret_cast<const jbyte *>(stream));
-    return array;
-}
-
 #define WRITE_DEVICE_TO_HOST_BLOCKING(TYPE, JAVATYPE)       \
-    CUevent beforeEvent, afterEvent;                        \
-    CUstream stream;                                        \
-    stream_from_array(env, &stream, stream_wrapper);        \
+    CUevent beforeEvent = (CUevent) before_event;           \
+    CUevent afterEvent = (CUevent) after_event;             \
+    CUstream stream = (CUstream) stream_handle;             \
     StagingAreaList *staging_list = get_first_free_staging_area(length);\
-    record_events_create(&beforeEvent, &afterEvent);        \
     record_event(&beforeEvent, &stream);                    \
     CUresult result = cuMemcpyDtoHAsync(staging_list->staging_area, device_ptr, (size_t) length, stream); \
     LOG_PTX_AND_VALIDATE("cuMemcpyDtoHAsync", result);               \
@@ -222,364 +212,353 @@ static jbyteArray array_from_stream(JNIEnv *env, CUstream *stream) {
     env->Set ## TYPE ## ArrayRegion(array, host_offset / sizeof(JAVATYPE),                      \
             length / sizeof(JAVATYPE), static_cast<const JAVATYPE *>(staging_list->staging_area)); \
     set_to_unused(stream, result, staging_list);            \
-    return wrapper_from_events(env, &beforeEvent, &afterEvent);
+    return (jlong) result;
 
 
 #define WRITE_DEVICE_TO_HOST_ASYNC(JAVATYPE)                                          \
     JAVATYPE *native_array = static_cast<JAVATYPE *>(env->GetPrimitiveArrayCritical(array, 0)); \
-    CUstream stream;                                                                        \
-    stream_from_array(env, &stream, stream_wrapper);                                        \
-    CUevent beforeEvent;                                                                    \
-    CUevent afterEvent;                                                                     \
-    record_events_create(&beforeEvent, &afterEvent);                                        \
+    CUstream stream = (CUstream) stream_handle;                                             \
+    CUevent beforeEvent = (CUevent) before_event;                                           \
+    CUevent afterEvent = (CUevent) after_event;                                             \
     record_event(&beforeEvent, &stream);                                                    \
     CUresult result = cuMemcpyDtoHAsync(native_array + hostOffset, devicePtr, (size_t) length, stream);\
     LOG_PTX_AND_VALIDATE("cuMemcpyDtoHAsync", result);                                               \
     record_event(&afterEvent, &stream);                                                     \
     env->ReleasePrimitiveArrayCritical(array, native_array, 0);                             \
-    return wrapper_from_events(env, &beforeEvent, &afterEvent);
+    return (jlong) result;
 
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[BJ[B)[[B
+ * Signature: (JJ[BJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3BJ_3B
-        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jbyteArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3BJJJJ
+        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jbyteArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_BLOCKING(Byte, jbyte);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[SJ[B)[[B
+ * Signature: (JJ[SJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3SJ_3B
-        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jshortArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3SJJJJ
+        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jshortArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_BLOCKING(Short, short);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[CJ[B)[[B
+ * Signature: (JJ[CJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3CJ_3B
-        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jcharArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3CJJJJ
+        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jcharArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_BLOCKING(Char, jchar);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[IJ[B)[[B
+ * Signature: (JJ[IJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3IJ_3B
-        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jintArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3IJJJJ
+        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jintArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_BLOCKING(Int, jint);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[JJ[B)[[B
+ * Signature: (JJ[JJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3JJ_3B
-        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jlongArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3JJJJJ
+        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jlongArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_BLOCKING(Long, jlong);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[FJ[B)[[B
+ * Signature: (JJ[FJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3FJ_3B
-        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jfloatArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3FJJJJ
+        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jfloatArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_BLOCKING(Float, jfloat);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[DJ[B)[[B
+ * Signature: (JJ[DJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3DJ_3B
-        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jdoubleArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3DJJJJ
+        (JNIEnv * env, jclass klass, jlong device_ptr, jlong length, jdoubleArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_BLOCKING(Double, jdouble);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[BJ[B)[[B
+ * Signature: (JJ[BJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3BJ_3B
-        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jbyteArray array, jlong hostOffset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3BJJJJ
+        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jbyteArray array, jlong hostOffset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_ASYNC(jbyte);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[SJ[B)[[B
+ * Signature: (JJ[SJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3SJ_3B
-        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jshortArray array, jlong hostOffset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3SJJJJ
+        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jshortArray array, jlong hostOffset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_ASYNC(jshort);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[CJ[B)[[B
+ * Signature: (JJ[CJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3CJ_3B
-        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jcharArray array, jlong hostOffset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3CJJJJ
+        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jcharArray array, jlong hostOffset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_ASYNC(jchar);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[IJ[B)[[B
+ * Signature: (JJ[IJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3IJ_3B
-        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jintArray array, jlong hostOffset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3IJJJJ
+        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jintArray array, jlong hostOffset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_ASYNC(jint);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[JJ[B)[[B
+ * Signature: (JJ[JJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3JJ_3B
-        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jlongArray array, jlong hostOffset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3JJJJJ
+        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jlongArray array, jlong hostOffset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_ASYNC(jlong);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[FJ[B)[[B
+ * Signature: (JJ[FJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3FJ_3B
-        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jfloatArray array, jlong hostOffset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3FJJJJ
+        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jfloatArray array, jlong hostOffset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_ASYNC(jfloat);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[DJ[B)[[B
+ * Signature: (JJ[DJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3DJ_3B
-        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jdoubleArray array, jlong hostOffset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3DJJJJ
+        (JNIEnv * env, jclass klass, jlong devicePtr, jlong length, jdoubleArray array, jlong hostOffset, jlong stream_handle, jlong before_event, jlong after_event) {
     WRITE_DEVICE_TO_HOST_ASYNC(jdouble);
 }
 
 #define TRANSFER_FROM_HOST_TO_DEVICE_BLOCKING(TYPE, JAVATYPE)           \
-    CUevent beforeEvent, afterEvent;                                    \
-    CUstream stream;                                                    \
-    stream_from_array(env, &stream, stream_wrapper);                    \
+    CUevent beforeEvent = (CUevent) before_event;                       \
+    CUevent afterEvent = (CUevent) after_event;                         \
+    CUstream stream = (CUstream) stream_handle;                         \
     StagingAreaList *staging_list = get_first_free_staging_area(length);\
     env->Get## TYPE ##ArrayRegion(array, host_offset / sizeof(JAVATYPE), length / sizeof(JAVATYPE), static_cast<JAVATYPE *>(staging_list->staging_area)); \
-    record_events_create(&beforeEvent, &afterEvent);                    \
     record_event(&beforeEvent, &stream);                                \
     CUresult result = cuMemcpyHtoDAsync(device_ptr, staging_list->staging_area, (size_t) length, stream);\
     LOG_PTX_AND_VALIDATE("cuMemcpyHtoDAsync", result);                           \
     record_event(&afterEvent, &stream);                                 \
     result = cuStreamAddCallback(stream, set_to_unused, staging_list, 0);\
     LOG_PTX_AND_VALIDATE("cuStreamAddCallback", result);                         \
-    return wrapper_from_events(env, &beforeEvent, &afterEvent);
+    return (jlong) result;
 
 
 #define TRANSFER_FROM_HOST_TO_DEVICE_ASYNC(TYPE, JAVATYPE)              \
-    CUevent beforeEvent, afterEvent;                                    \
+    CUevent beforeEvent = (CUevent) before_event;                       \
+    CUevent afterEvent = (CUevent) after_event;                         \
     StagingAreaList *staging_list = get_first_free_staging_area(length);\
     env->Get## TYPE ##ArrayRegion(array, host_offset / sizeof(JAVATYPE), length / sizeof(JAVATYPE), static_cast<JAVATYPE *>(staging_list->staging_area));\
-    CUstream stream;                                                    \
-    stream_from_array(env, &stream, stream_wrapper);                    \
-    record_events_create(&beforeEvent, &afterEvent);                    \
+    CUstream stream = (CUstream) stream_handle;                         \
     record_event(&beforeEvent, &stream);                                \
     CUresult result = cuMemcpyHtoDAsync(device_ptr, staging_list->staging_area, (size_t) length, stream);\
     LOG_PTX_AND_VALIDATE("cuMemcpyHtoDAsync", result);                           \
     record_event(&afterEvent, &stream);                                 \
     result = cuStreamAddCallback(stream, set_to_unused, staging_list, 0);\
     LOG_PTX_AND_VALIDATE("cuStreamAddCallback", result);                         \
-    return wrapper_from_events(env, &beforeEvent, &afterEvent);
+    return (jlong) result;
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJ[BJ[B)[[B
+ * Signature: (JJ[BJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3BJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jbyteArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3BJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jbyteArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_BLOCKING(Byte, jbyte);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJ[SJ[B)[[B
+ * Signature: (JJ[SJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3SJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jshortArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3SJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jshortArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_BLOCKING(Short, jshort);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJ[CJ[B)[[B
+ * Signature: (JJ[CJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3CJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jcharArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3CJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jcharArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_BLOCKING(Char, jchar);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJ[IJ[B)[[B
+ * Signature: (JJ[IJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3IJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jintArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3IJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jintArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_BLOCKING(Int, jint);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJ[JJ[B)[[B
+ * Signature: (JJ[JJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3JJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jlongArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3JJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jlongArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_BLOCKING(Long, jlong);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJ[FJ[B)[[B
+ * Signature: (JJ[FJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3FJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jfloatArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3FJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jfloatArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_BLOCKING(Float, jfloat);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJJ[DJ[I)[[B
+ * Signature: (JJ[DJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3DJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jdoubleArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3DJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jdoubleArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_BLOCKING(Double, jdouble);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[BJ[B)[[B
+ * Signature: (JJ[BJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3BJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jbyteArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3BJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jbyteArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_ASYNC(Byte, jbyte);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[SJ[B)[[B
+ * Signature: (JJ[SJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3SJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jshortArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3SJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jshortArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_ASYNC(Short, jshort);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[CJ[B)[[B
+ * Signature: (JJ[CJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3CJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jcharArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3CJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jcharArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_ASYNC(Char, jchar);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[IJ[B)[[B
+ * Signature: (JJ[IJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3IJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jintArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3IJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jintArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_ASYNC(Int, jint);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[JJ[B)[[B
+ * Signature: (JJ[JJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3JJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jlongArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3JJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jlongArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_ASYNC(Long, jlong);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[FJ[B)[[B
+ * Signature: (JJ[FJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3FJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jfloatArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3FJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jfloatArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_ASYNC(Float, jfloat);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[DJ[I)[[B
+ * Signature: (JJ[DJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3DJ_3B
-        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jdoubleArray array, jlong host_offset, jbyteArray stream_wrapper) {
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3DJJJJ
+        (JNIEnv *env, jclass klass, jlong device_ptr, jlong length, jdoubleArray array, jlong host_offset, jlong stream_handle, jlong before_event, jlong after_event) {
     TRANSFER_FROM_HOST_TO_DEVICE_ASYNC(Double, jdouble);
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    cuLaunchKernel
- * Signature: ([BLjava/lang/String;IIIIIIJ[B[B)[[B
+ * Signature: (JIIIIIIJJ[BIIJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuLaunchKernel(
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuLaunchKernel(
         JNIEnv *env,
         jclass clazz,
-        jbyteArray module,
-        jstring function_name,
+        jlong function,
         jint gridDimX, jint gridDimY, jint gridDimZ,
         jint blockDimX, jint blockDimY, jint blockDimZ,
         jlong sharedMemBytes,
-        jbyteArray stream_wrapper,
-        jbyteArray args) {
-
-    CUevent beforeEvent;
-    CUevent afterEvent;
-    CUmodule native_module;
-    array_to_module(env, &native_module, module);
-
-    const char *native_function_name = env->GetStringUTFChars(function_name, 0);
-    CUfunction kernel;
-    CUresult result = cuModuleGetFunction(&kernel, native_module, native_function_name);
-    LOG_PTX_AND_VALIDATE("cuModuleGetFunction", result);
-
-    size_t arg_buffer_size = env->GetArrayLength(args);
+        jlong stream_handle,
+        jbyteArray args,
+        jint args_offset,
+        jint args_length,
+        jlong before_event,
+        jlong after_event) {
+
+    size_t arg_buffer_size = (size_t) args_length;
     char arg_buffer[arg_buffer_size];
-    env->GetByteArrayRegion(args, 0, arg_buffer_size, reinterpret_cast<jbyte *>(arg_buffer));
+    env->GetByteArrayRegion(args, args_offset, arg_buffer_size, reinterpret_cast<jbyte *>(arg_buffer));
 
     void *arg_config[] = {
         CU_LAUNCH_PARAM_BUFFER_POINTER, arg_buffer,
@@ -587,13 +566,13 @@ JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStre
         CU_LAUNCH_PARAM_END
     };
 
-    CUstream stream;
-    stream_from_array(env, &stream, stream_wrapper);
+    CUstream stream = (CUstream) stream_handle;
+    CUevent beforeEvent = (CUevent) before_event;
+    CUevent afterEvent = (CUevent) after_event;
 
-    record_events_create(&beforeEvent, &afterEvent);
     record_event(&beforeEvent, &stream);
-    result = cuLaunchKernel(
-            kernel,
+    CUresult result = cuLaunchKernel(
+            (CUfunction) function,
             (unsigned int) gridDimX,  (unsigned int) gridDimY,  (unsigned int) gridDimZ,
             (unsigned int) blockDimX, (unsigned int) blockDimY, (unsigned int) blockDimZ,
             (unsigned int) sharedMemBytes, stream,
@@ -602,16 +581,177 @@ JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStre
     LOG_PTX_AND_VALIDATE("cuLaunchKernel", result);
 
     record_event(&afterEvent, &stream);
-    env->ReleaseStringUTFChars(function_name, native_function_name);
-    return wrapper_from_events(env, &beforeEvent, &afterEvent);
+    return (jlong) result;
+}
+
+/*
+    A CUDA graph built from a sequence of kernel launches. The graph and its kernel nodes are kept
+    next to the executable graph, so that the parameters of the nodes can be updated between launches.
+*/
+typedef struct kernel_graph {
+    CUgraph graph;
+    CUgraphExec exec;
+    CUgraphNode *nodes;
+    int num_nodes;
+} KernelGraph;
+
+static void kernel_node_params(CUDA_KERNEL_NODE_PARAMS *node_params, CUfunction function, const jint *dims, void **extra) {
+    memset(node_params, 0, sizeof(CUDA_KERNEL_NODE_PARAMS));
+    node_params->func = function;
+    node_params->gridDimX = (unsigned int) dims[0];
+    node_params->gridDimY = (unsigned int) dims[1];
+    node_params->gridDimZ = (unsigned int) dims[2];
+    node_params->blockDimX = (unsigned int) dims[3];
+    node_params->blockDimY = (unsigned int) dims[4];
+    node_params->blockDimZ = (unsigned int) dims[5];
+    node_params->sharedMemBytes = 0;
+    node_params->kernelParams = NULL;
+    node_params->extra = extra;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphCreateAndInstantiate
+ * Signature: ([J[I[B[II)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphCreateAndInstantiate
+  (JNIEnv *env, jclass clazz, jlongArray functions, jintArray dims, jbyteArray params, jintArray param_offsets, jint num_launches) {
+    CUgraph graph;
+    CUresult result = cuGraphCreate(&graph, 0);
+    LOG_PTX_AND_VALIDATE("cuGraphCreate", result);
+    if (result != CUDA_SUCCESS) {
+        return (jlong) 0;
+    }
+
+    jlong *native_functions = env->GetLongArrayElements(functions, NULL);
+    jint *native_dims = env->GetIntArrayElements(dims, NULL);
+    jint *native_offsets = env->GetIntArrayElements(param_offsets, NULL);
+    jbyte *native_params = env->GetByteArrayElements(params, NULL);
+
+    CUgraphNode *nodes = static_cast<CUgraphNode *>(malloc(num_launches * sizeof(CUgraphNode)));
+    for (int i = 0; i < num_launches && result == CUDA_SUCCESS; i++) {
+        size_t arg_buffer_size = (size_t) (native_offsets[i + 1] - native_offsets[i]);
+        void *arg_config[] = {
+            CU_LAUNCH_PARAM_BUFFER_POINTER, native_params + native_offsets[i],
+            CU_LAUNCH_PARAM_BUFFER_SIZE,    &arg_buffer_size,
+            CU_LAUNCH_PARAM_END
+        };
+        CUDA_KERNEL_NODE_PARAMS node_params;
+        kernel_node_params(&node_params, (CUfunction) native_functions[i], native_dims + i * 6, arg_config);
+        // Each kernel depends on the previous one, as they would on the stream
+        result = cuGraphAddKernelNode(&nodes[i], graph, (i == 0) ? NULL : &nodes[i - 1], (i == 0) ? 0 : 1, &node_params);
+        LOG_PTX_AND_VALIDATE("cuGraphAddKernelNode", result);
+    }
+
+    env->ReleaseByteArrayElements(params, native_params, JNI_ABORT);
+    env->ReleaseIntArrayElements(param_offsets, native_offsets, JNI_ABORT);
+    env->ReleaseIntArrayElements(dims, native_dims, JNI_ABORT);
+    env->ReleaseLongArrayElements(functions, native_functions, JNI_ABORT);
+
+    CUgraphExec exec;
+    if (result == CUDA_SUCCESS) {
+#if CUDA_VERSION >= 11040
+        result = cuGraphInstantiateWithFlags(&exec, graph, 0);
+#else
+        result = cuGraphInstantiate(&exec, graph, NULL, NULL, 0);
+#endif
+        LOG_PTX_AND_VALIDATE("cuGraphInstantiate", result);
+    }
+
+    if (result != CUDA_SUCCESS) {
+        cuGraphDestroy(graph);
+        free(nodes);
+        return (jlong) 0;
+    }
+
+    KernelGraph *kernel_graph = static_cast<KernelGraph *>(malloc(sizeof(KernelGraph)));
+    kernel_graph->graph = graph;
+    kernel_graph->exec = exec;
+    kernel_graph->nodes = nodes;
+    kernel_graph->num_nodes = num_launches;
+    return (jlong) kernel_graph;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphExecKernelNodeSetParams
+ * Signature: (JIJ[I[BII)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphExecKernelNodeSetParams
+  (JNIEnv *env, jclass clazz, jlong graph_handle, jint node, jlong function, jintArray dims, jbyteArray params, jint params_offset, jint params_length) {
+    KernelGraph *kernel_graph = (KernelGraph *) graph_handle;
+
+    jint node_dims[6];
+    env->GetIntArrayRegion(dims, node * 6, 6, node_dims);
+
+    size_t arg_buffer_size = (size_t) params_length;
+    char arg_buffer[arg_buffer_size];
+    env->GetByteArrayRegion(params, params_offset, params_length, reinterpret_cast<jbyte *>(arg_buffer));
+
+    void *arg_config[] = {
+        CU_LAUNCH_PARAM_BUFFER_POINTER, arg_buffer,
+        CU_LAUNCH_PARAM_BUFFER_SIZE,    &arg_buffer_size,
+        CU_LAUNCH_PARAM_END
+    };
+    CUDA_KERNEL_NODE_PARAMS node_params;
+    kernel_node_params(&node_params, (CUfunction) function, node_dims, arg_config);
+
+    CUresult result = cuGraphExecKernelNodeSetParams(kernel_graph->exec, kernel_graph->nodes[node], &node_params);
+    LOG_PTX_AND_VALIDATE("cuGraphExecKernelNodeSetParams", result);
+    return (jlong) result;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphLaunch
+ * Signature: (JJ[J[JI)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphLaunch
+  (JNIEnv *env, jclass clazz, jlong graph_handle, jlong stream_handle, jlongArray before_events, jlongArray after_events, jint num_events) {
+    KernelGraph *kernel_graph = (KernelGraph *) graph_handle;
+    CUstream stream = (CUstream) stream_handle;
+
+    jlong events[num_events];
+    env->GetLongArrayRegion(before_events, 0, num_events, events);
+    for (int i = 0; i < num_events; i++) {
+        CUevent event = (CUevent) events[i];
+        record_event(&event, &stream);
+    }
+
+    CUresult result = cuGraphLaunch(kernel_graph->exec, stream);
+    LOG_PTX_AND_VALIDATE("cuGraphLaunch", result);
+
+    env->GetLongArrayRegion(after_events, 0, num_events, events);
+    for (int i = 0; i < num_events; i++) {
+        CUevent event = (CUevent) events[i];
+        record_event(&event, &stream);
+    }
+    return (jlong) result;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphDestroy
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphDestroy
+  (JNIEnv *env, jclass clazz, jlong graph_handle) {
+    KernelGraph *kernel_graph = (KernelGraph *) graph_handle;
+    CUresult result = cuGraphExecDestroy(kernel_graph->exec);
+    LOG_PTX_AND_VALIDATE("cuGraphExecDestroy", result);
+    result = cuGraphDestroy(kernel_graph->graph);
+    LOG_PTX_AND_VALIDATE("cuGraphDestroy", result);
+    free(kernel_graph->nodes);
+    free(kernel_graph);
+    return (jlong) result;
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    cuCreateStream
- * Signature: ()[B
+ * Signature: ()J
  */
-JNIEXPORT jbyteArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuCreateStream
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuCreateStream
   (JNIEnv *env, jclass clazz) {
     int lowestPriority, highestPriority;
     CUresult result = cuCtxGetStreamPriorityRange (&lowestPriority, &highestPriority);
@@ -620,20 +760,17 @@ JNIEXPORT jbyteArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream
     CUstream stream;
     result = cuStreamCreateWithPriority(&stream, CU_STREAM_NON_BLOCKING, highestPriority);
     LOG_PTX_AND_VALIDATE("cuStreamCreateWithPriority", result);
-    return array_from_stream(env, &stream);
+    return (jlong) stream;
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    cuDestroyStream
- * Signature: ([B)J
+ * Signature: (J)J
  */
 JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuDestroyStream
-  (JNIEnv *env, jclass clazz, jbyteArray stream_wrapper) {
-    CUstream stream;
-    stream_from_array(env, &stream, stream_wrapper);
-
-    CUresult result = cuStreamDestroy(stream);
+  (JNIEnv *env, jclass clazz, jlong stream_handle) {
+    CUresult result = cuStreamDestroy((CUstream) stream_handle);
     LOG_PTX_AND_VALIDATE("cuStreamDestroy", result);
 
     free_queue();
@@ -644,32 +781,27 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuDe
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    cuStreamSynchronize
- * Signature: ([B)J
+ * Signature: (J)J
  */
 JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuStreamSynchronize
-  (JNIEnv *env, jclass clazz, jbyteArray stream_wrapper) {
-    CUstream stream;
-    stream_from_array(env, &stream, stream_wrapper);
-    CUresult result = cuStreamSynchronize(stream);
+  (JNIEnv *env, jclass clazz, jlong stream_handle) {
+    CUresult result = cuStreamSynchronize((CUstream) stream_handle);
     LOG_PTX_AND_VALIDATE("cuStreamSynchronize", result);
     return (jlong) result;
 }
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
- * Method:    cuEventCreateAndRecord
- * Signature: (Z[B)[[B
+ * Method:    cuEventRecord
+ * Signature: (JJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuEventCreateAndRecord
-  (JNIEnv *env, jclass clazz, jboolean is_timing, jbyteArray stream_wrapper) {
-    CUevent beforeEvent;
-    CUevent afterEvent;
-    CUstream stream;
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuEventRecord
+  (JNIEnv *env, jclass clazz, jlong stream_handle, jlong before_event, jlong after_event) {
+    CUstream stream = (CUstream) stream_handle;
+    CUevent beforeEvent = (CUevent) before_event;
+    CUevent afterEvent = (CUevent) after_event;
 
-    stream_from_array(env, &stream, stream_wrapper);
-    record_events_create(&beforeEvent, &afterEvent);
     record_event(&beforeEvent, &stream);
-    record_event(&afterEvent, &stream);
-
-    return wrapper_from_events(env, &beforeEvent, &afterEvent);
-}
\ No newline at end of file
+    CUresult result = record_event(&afterEvent, &stream);
+    return (jlong) result;
+}
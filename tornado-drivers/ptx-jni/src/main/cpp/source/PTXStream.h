@@ -35,266 +35,298 @@ extern "C" {
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[BJ[B)[[B
+ * Signature: (JJ[BJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3BJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jbyteArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3BJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jbyteArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[SJ[B)[[B
+ * Signature: (JJ[SJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3SJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jshortArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3SJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jshortArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[CJ[B)[[B
+ * Signature: (JJ[CJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3CJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jcharArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3CJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jcharArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[IJ[B)[[B
+ * Signature: (JJ[IJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3IJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jintArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3IJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jintArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[JJ[B)[[B
+ * Signature: (JJ[JJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3JJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jlongArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3JJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jlongArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[FJ[B)[[B
+ * Signature: (JJ[FJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3FJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jfloatArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3FJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jfloatArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoH
- * Signature: (JJ[DJ[B)[[B
+ * Signature: (JJ[DJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3DJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jdoubleArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoH__JJ_3DJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jdoubleArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[BJ[B)[[B
+ * Signature: (JJ[BJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3BJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jbyteArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3BJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jbyteArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[SJ[B)[[B
+ * Signature: (JJ[SJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3SJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jshortArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3SJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jshortArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[CJ[B)[[B
+ * Signature: (JJ[CJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3CJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jcharArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3CJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jcharArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[IJ[B)[[B
+ * Signature: (JJ[IJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3IJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jintArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3IJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jintArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[JJ[B)[[B
+ * Signature: (JJ[JJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3JJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jlongArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3JJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jlongArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[FJ[B)[[B
+ * Signature: (JJ[FJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3FJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jfloatArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3FJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jfloatArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayDtoHAsync
- * Signature: (JJ[DJ[B)[[B
+ * Signature: (JJ[DJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3DJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jdoubleArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayDtoHAsync__JJ_3DJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jdoubleArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJ[BJ[B)[[B
+ * Signature: (JJ[BJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3BJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jbyteArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3BJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jbyteArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJ[SJ[B)[[B
+ * Signature: (JJ[SJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3SJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jshortArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3SJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jshortArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJ[CJ[B)[[B
+ * Signature: (JJ[CJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3CJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jcharArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3CJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jcharArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJ[IJ[B)[[B
+ * Signature: (JJ[IJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3IJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jintArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3IJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jintArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJ[JJ[B)[[B
+ * Signature: (JJ[JJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3JJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jlongArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3JJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jlongArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJ[FJ[B)[[B
+ * Signature: (JJ[FJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3FJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jfloatArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3FJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jfloatArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoD
- * Signature: (JJJ[DJ[I)[[B
+ * Signature: (JJ[DJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3DJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jdoubleArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoD__JJ_3DJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jdoubleArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[BJ[B)[[B
+ * Signature: (JJ[BJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3BJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jbyteArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3BJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jbyteArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[SJ[B)[[B
+ * Signature: (JJ[SJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3SJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jshortArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3SJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jshortArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[CJ[B)[[B
+ * Signature: (JJ[CJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3CJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jcharArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3CJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jcharArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[IJ[B)[[B
+ * Signature: (JJ[IJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3IJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jintArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3IJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jintArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[JJ[B)[[B
+ * Signature: (JJ[JJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3JJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jlongArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3JJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jlongArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[FJ[B)[[B
+ * Signature: (JJ[FJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3FJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jfloatArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3FJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jfloatArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    writeArrayHtoDAsync
- * Signature: (JJ[DJ[I)[[B
+ * Signature: (JJ[DJJJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3DJ_3B
-  (JNIEnv *, jclass, jlong, jlong, jdoubleArray, jlong, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJ_3DJJJJ
+  (JNIEnv *, jclass, jlong, jlong, jdoubleArray, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    cuLaunchKernel
- * Signature: ([BLjava/lang/String;IIIIIIJ[B[B)[[B
+ * Signature: (JIIIIIIJJ[BIIJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuLaunchKernel
-  (JNIEnv *, jclass, jbyteArray, jstring, jint, jint, jint, jint, jint, jint, jlong, jbyteArray, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuLaunchKernel
+  (JNIEnv *, jclass, jlong, jint, jint, jint, jint, jint, jint, jlong, jlong, jbyteArray, jint, jint, jlong, jlong);
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphCreateAndInstantiate
+ * Signature: ([J[I[B[II)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphCreateAndInstantiate
+  (JNIEnv *, jclass, jlongArray, jintArray, jbyteArray, jintArray, jint);
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphExecKernelNodeSetParams
+ * Signature: (JIJ[I[BII)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphExecKernelNodeSetParams
+  (JNIEnv *, jclass, jlong, jint, jlong, jintArray, jbyteArray, jint, jint);
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphLaunch
+ * Signature: (JJ[J[JI)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphLaunch
+  (JNIEnv *, jclass, jlong, jlong, jlongArray, jlongArray, jint);
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuGraphDestroy
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuGraphDestroy
+  (JNIEnv *, jclass, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    cuCreateStream
- * Signature: ()[B
+ * Signature: ()J
  */
-JNIEXPORT jbyteArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuCreateStream
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuCreateStream
   (JNIEnv *, jclass);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    cuDestroyStream
- * Signature: ([B)J
+ * Signature: (J)J
  */
 JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuDestroyStream
-  (JNIEnv *, jclass, jbyteArray);
+  (JNIEnv *, jclass, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    cuStreamSynchronize
- * Signature: ([B)J
+ * Signature: (J)J
  */
 JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuStreamSynchronize
-  (JNIEnv *, jclass, jbyteArray);
+  (JNIEnv *, jclass, jlong);
 
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
- * Method:    cuEventCreateAndRecord
- * Signature: (Z[B)[[B
+ * Method:    cuEventRecord
+ * Signature: (JJJ)J
  */
-JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuEventCreateAndRecord
-  (JNIEnv *, jclass, jboolean, jbyteArray);
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuEventRecord
+  (JNIEnv *, jclass, jlong, jlong, jlong);
 
 #ifdef __cplusplus
 }
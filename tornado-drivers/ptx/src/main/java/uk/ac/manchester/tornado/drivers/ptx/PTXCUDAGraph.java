@@ -0,0 +1,114 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx;
+
+import static uk.ac.manchester.tornado.drivers.ptx.PTXLaunchBatch.DIMS_PER_LAUNCH;
+
+import java.util.Arrays;
+
+/**
+ * A sequence of kernel launches that can be replayed as a CUDA graph. A graph
+ * matches a {@link PTXLaunchBatch} that launches the same kernels, in the same
+ * order and with the same grid and block dimensions. Only the kernel parameters
+ * may differ between replays.
+ *
+ * <p>
+ * The graph is instantiated by the {@link PTXStream} the second time its
+ * sequence of launches is seen, so sequences that do not repeat never pay for
+ * the instantiation.
+ * </p>
+ */
+class PTXCUDAGraph {
+
+    private final long[] functions;
+    private final int[] dims;
+    private final int size;
+    private byte[] params;
+    private int[] paramOffsets;
+
+    /**
+     * Handle of the native graph, or 0 if the graph has not been instantiated.
+     */
+    private long graph;
+
+    PTXCUDAGraph(PTXLaunchBatch batch) {
+        this.size = batch.size();
+        this.functions = Arrays.copyOf(batch.functions, size);
+        this.dims = Arrays.copyOf(batch.dims, size * DIMS_PER_LAUNCH);
+        updateParams(batch);
+    }
+
+    boolean matches(PTXLaunchBatch batch) {
+        if (batch.size() != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (functions[i] != batch.functions[i] || batch.paramsLength(i) != paramOffsets[i + 1] - paramOffsets[i]) {
+                return false;
+            }
+        }
+        return Arrays.equals(dims, 0, dims.length, batch.dims, 0, dims.length);
+    }
+
+    boolean launches(long function) {
+        for (int i = 0; i < size; i++) {
+            if (functions[i] == function) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the parameters of the given launch differ from the ones
+     * currently set in the graph.
+     */
+    boolean paramsChanged(PTXLaunchBatch batch, int launch) {
+        final int from = paramOffsets[launch];
+        final int to = paramOffsets[launch + 1];
+        final int batchFrom = batch.paramsOffset(launch);
+        return !Arrays.equals(params, from, to, batch.params, batchFrom, batchFrom + (to - from));
+    }
+
+    void updateParams(PTXLaunchBatch batch, int launch) {
+        System.arraycopy(batch.params, batch.paramsOffset(launch), params, paramOffsets[launch], batch.paramsLength(launch));
+    }
+
+    void updateParams(PTXLaunchBatch batch) {
+        this.params = Arrays.copyOf(batch.params, batch.paramsOffset(size));
+        this.paramOffsets = Arrays.copyOf(batch.paramOffsets, size + 1);
+    }
+
+    boolean isInstantiated() {
+        return graph != 0;
+    }
+
+    long getGraph() {
+        return graph;
+    }
+
+    void setGraph(long graph) {
+        this.graph = graph;
+    }
+}
@@ -62,6 +62,15 @@ public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceCont
 
     private final TornadoBufferProvider bufferProvider;
 
+    /**
+     * Kernel parameter buffer reused across launches. The CUDA driver copies the
+     * parameters when the launch is enqueued, so the buffer can be overwritten by
+     * the next launch. It grows when a kernel needs more parameters. Launches
+     * from several host threads are serialised by the lock of the call wrapper,
+     * which is shared by all the kernels of the device.
+     */
+    private ByteBuffer kernelParams;
+
     public PTXDeviceContext(PTXDevice device, PTXStream stream) {
         this.device = device;
         this.stream = stream;
@@ -163,6 +172,10 @@ public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceCont
         sync();
     }
 
+    public void releaseEvents(int[] localEventIDs) {
+        stream.getEventPool().releaseLater(localEventIDs);
+    }
+
     public int enqueueBarrier() {
         return stream.enqueueBarrier();
     }
@@ -198,6 +211,14 @@ public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceCont
         wasReset = true;
     }
 
+    /**
+     * Drops the CUDA graphs that launch the kernel of the given module, before
+     * the module is unloaded.
+     */
+    public void discardCUDAGraphs(PTXModule module) {
+        stream.discardCUDAGraphs(module.cuFunction);
+    }
+
     public int enqueueKernelLaunch(PTXModule module, KernelArgs kernelArgs, TaskMetaData taskMeta, long batchThreads) {
         int[] blockDimension = { 1, 1, 1 };
         int[] gridDimension = { 1, 1, 1 };
@@ -229,14 +250,20 @@ public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceCont
         return kernelLaunchEvent;
     }
 
-    private byte[] writePTXKernelContextOnDevice(PTXKernelArgs ptxKernelArgs, TaskMetaData meta) {
+    private ByteBuffer writePTXKernelContextOnDevice(PTXKernelArgs ptxKernelArgs, TaskMetaData meta) {
         int capacity = Long.BYTES + ptxKernelArgs.getCallArguments().size() * Long.BYTES;
-        ByteBuffer args = ByteBuffer.allocate(capacity);
-        args.order(getByteOrder());
+        if (kernelParams == null || kernelParams.capacity() < capacity) {
+            kernelParams = ByteBuffer.allocate(capacity);
+            kernelParams.order(getByteOrder());
+        }
+        ByteBuffer args = kernelParams;
+        args.clear();
 
         // Kernel context pointer
         int kernelContextWriteEventId = ptxKernelArgs.enqueueWrite();
-        updateProfilerKernelContextWrite(kernelContextWriteEventId, meta, ptxKernelArgs);
+        if (kernelContextWriteEventId != -1) {
+            updateProfilerKernelContextWrite(kernelContextWriteEventId, meta, ptxKernelArgs);
+        }
         long address = ptxKernelArgs.toAbsoluteAddress();
         args.putLong(address);
 
@@ -253,7 +280,7 @@ public class PTXDeviceContext extends TornadoLogger implements TornadoDeviceCont
             }
         }
 
-        return args.array();
+        return args;
     }
 
     private void updateProfilerKernelContextWrite(int kernelContextWriteEventId, TaskMetaData meta, PTXKernelArgs callWrapper) {
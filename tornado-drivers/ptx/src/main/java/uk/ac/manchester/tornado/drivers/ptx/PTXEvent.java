@@ -31,60 +31,67 @@ import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 public class PTXEvent implements Event {
 
     /**
-     * Wrapper containing two serialized CUevent structs. Between the two events, on
-     * the same CUDA stream has been registered another API call described by the
-     * value of {@link PTXEvent#description}. We measure the time difference between
-     * the two events to get the duration of the API call.
+     * Handles of two CUevent objects. Between the two events, on the same CUDA
+     * stream has been registered another API call described by the value of
+     * {@link PTXEvent#descriptor}. We measure the time difference between the
+     * two events to get the duration of the API call.
      *
      * <p>
-     * - The first position (eventWrapper[0]) contains the beforeEvent.
-     * 
-     * - The second position (eventWrapper[1]) contains the afterEvent.
+     * Both events are created once, when the slot of the {@link PTXEventPool}
+     * that owns this object is first used, and are recorded again every time
+     * the slot is reused, so registering an event neither allocates on the Java
+     * heap nor creates native events.
      * </p>
      */
-    private final byte[][] eventWrapper;
+    final long beforeEvent;
+    final long afterEvent;
 
     private boolean isCompleted;
-    private final String description;
-    private final String name;
+    private EventDescriptor descriptor;
 
-    public PTXEvent(byte[][] bytes, EventDescriptor descriptorId) {
-        eventWrapper = bytes;
-        this.description = descriptorId.getNameDescription();
-        this.name = String.format("%s: ", description);
-        isCompleted = false;
+    PTXEvent() {
+        beforeEvent = cuEventCreate();
+        afterEvent = cuEventCreate();
     }
 
-    private native static long cuEventDestroy(byte[] eventWrapper);
+    private native static long cuEventCreate();
 
-    private native static void tornadoCUDAEventsSynchronize(byte[][] wrappers);
+    private native static long cuEventDestroy(long event);
 
-    private native static long cuEventQuery(byte[] eventWrapper);
+    private native static void tornadoCUDAEventSynchronize(long event);
+
+    private native static long cuEventQuery(long event);
 
     /**
      * Returns the time in nanoseconds between two events. We convert from
      * milliseconds to nanoseconds because the tornado profiler uses this
      * measurement unit.
      */
-    private native static long cuEventElapsedTime(byte[][] wrappers);
+    private native static long cuEventElapsedTime(long beforeEvent, long afterEvent);
+
+    /**
+     * Prepares this event for a new API call. The native events are recorded
+     * again by the caller.
+     */
+    void reuse(EventDescriptor descriptorId) {
+        this.descriptor = descriptorId;
+        this.isCompleted = false;
+    }
 
     public static void waitForEventArray(PTXEvent[] events) {
-        byte[][] wrappers = new byte[events.length][];
-        for (int i = 0; i < events.length; i++) {
-            wrappers[i] = events[i].eventWrapper[1];
+        for (PTXEvent event : events) {
+            event.waitForEvents();
         }
-
-        tornadoCUDAEventsSynchronize(wrappers);
     }
 
     @Override
     public void waitForEvents() {
-        waitForEventArray(new PTXEvent[] { this });
+        tornadoCUDAEventSynchronize(afterEvent);
     }
 
     @Override
     public String getName() {
-        return name;
+        return descriptor.getNameDescription() + ": ";
     }
 
     /**
@@ -125,7 +132,7 @@ public class PTXEvent implements Event {
 
     @Override
     public long getElapsedTime() {
-        return cuEventElapsedTime(eventWrapper);
+        return cuEventElapsedTime(beforeEvent, afterEvent);
     }
 
     @Override
@@ -135,13 +142,13 @@ public class PTXEvent implements Event {
 
     @Override
     public double getElapsedTimeInSeconds() {
-        return RuntimeUtilities.elapsedTimeInSeconds(cuEventElapsedTime(eventWrapper));
+        return RuntimeUtilities.elapsedTimeInSeconds(cuEventElapsedTime(beforeEvent, afterEvent));
     }
 
     @Override
     public TornadoExecutionStatus getStatus() {
         if (!isCompleted) {
-            PTXEventStatus status = PTXEventStatus.getStatus(cuEventQuery(eventWrapper[1]));
+            PTXEventStatus status = PTXEventStatus.getStatus(cuEventQuery(afterEvent));
 
             isCompleted = (status == PTXEventStatus.CUDA_SUCCESS);
             return status.toTornadoExecutionStatus();
@@ -160,7 +167,7 @@ public class PTXEvent implements Event {
     }
 
     public void destroy() {
-        cuEventDestroy(eventWrapper[0]);
-        cuEventDestroy(eventWrapper[1]);
+        cuEventDestroy(beforeEvent);
+        cuEventDestroy(afterEvent);
     }
 }
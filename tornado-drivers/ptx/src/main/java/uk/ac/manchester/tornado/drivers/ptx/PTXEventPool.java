@@ -23,96 +23,83 @@
  */
 package uk.ac.manchester.tornado.drivers.ptx;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.guarantee;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.fatal;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.CIRCULAR_EVENTS;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.BitSet;
 import java.util.List;
 
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.drivers.common.EventDescriptor;
+import uk.ac.manchester.tornado.drivers.common.EventPool;
 
-public class PTXEventPool {
-
-    private final PTXEvent[] events;
-    private final BitSet retain;
-    private int eventIndex;
-    private int eventPoolSize;
+/**
+ * Pool of {@link PTXEvent} objects of a stream. The event of each slot is kept
+ * as its payload, so that its native CUevents are recycled with the slot.
+ */
+public class PTXEventPool extends EventPool<PTXEvent> {
 
     protected PTXEventPool(int poolSize) {
-        this.eventPoolSize = poolSize;
-        this.retain = new BitSet(poolSize);
-        this.retain.clear();
-        this.events = new PTXEvent[poolSize];
-        this.eventIndex = 0;
+        super(poolSize, CIRCULAR_EVENTS);
     }
 
-    protected int registerEvent(byte[][] eventWrapper, EventDescriptor descriptorId) {
-        if (retain.get(eventIndex)) {
-            findNextEventSlot();
-        }
-        final int currentEvent = eventIndex;
-        guarantee(!retain.get(currentEvent), "overwriting retained event");
-
-        if (eventWrapper == null) {
-            fatal("invalid event: description=%s\n", descriptorId.getNameDescription());
-            fatal("terminating application as system integrity has been compromised.");
-            throw new TornadoBailoutRuntimeException("[ERROR] NULL event received from the CUDA driver !");
-        }
-
-        if (events[currentEvent] != null && !retain.get(currentEvent)) {
-            events[currentEvent].waitForEvents();
-            events[currentEvent].destroy();
-            events[currentEvent] = null;
+    /**
+     * Claims the next event slot for an API call described by the given
+     * descriptor. The {@link PTXEvent} of each slot and its native CUevents are
+     * created the first time the slot is used and recycled afterwards; the
+     * caller records the events of the returned slot around the API call.
+     */
+    protected int registerEvent(EventDescriptor descriptorId) {
+        final int currentEvent = acquire();
+
+        PTXEvent event = getPayload(currentEvent);
+        if (event == null) {
+            event = new PTXEvent();
+            if (event.beforeEvent == 0 || event.afterEvent == 0) {
+                fatal("invalid event: description=%s\n", descriptorId.getNameDescription());
+                fatal("terminating application as system integrity has been compromised.");
+                throw new TornadoBailoutRuntimeException("[ERROR] NULL event received from the CUDA driver !");
+            }
+            setPayload(currentEvent, event);
         }
-        events[currentEvent] = new PTXEvent(eventWrapper, descriptorId);
-
-        findNextEventSlot();
+        event.reuse(descriptorId);
+        setDescriptor(currentEvent, descriptorId);
         return currentEvent;
     }
 
-    private void findNextEventSlot() {
-        eventIndex = retain.nextClearBit(eventIndex + 1);
-
-        if (CIRCULAR_EVENTS && (eventIndex >= events.length)) {
-            eventIndex = 0;
+    /**
+     * The previous command tracked by a slot must complete before its events are
+     * recorded again.
+     */
+    @Override
+    protected void recycle(int localEventID) {
+        PTXEvent event = getPayload(localEventID);
+        if (event != null) {
+            event.waitForEvents();
         }
-
-        guarantee(eventIndex != -1, "event window is full (retained=%d, capacity=%d)", retain.cardinality(), eventPoolSize);
     }
 
-    protected void reset() {
-        for (PTXEvent event : events) {
+    protected void cleanup() {
+        for (int i = 0; i < getCapacity(); i++) {
+            PTXEvent event = getPayload(i);
             if (event != null) {
                 event.destroy();
+                setPayload(i, null);
             }
         }
-        Arrays.fill(events, null);
-        eventIndex = 0;
-    }
-
-    private void releaseEvent(int localEventID) {
-        retain.clear(localEventID);
-    }
-
-    private void retainEvent(int localEventID) {
-        retain.set(localEventID);
+        reset();
     }
 
     protected PTXEvent getEvent(int localEventID) {
-        return events[localEventID];
+        return getPayload(localEventID);
     }
 
     public List<PTXEvent> getEvents() {
         List<PTXEvent> result = new ArrayList<>();
-        for (int i = 0; i < eventIndex; i++) {
-            if (events[i] == null) {
-                continue;
+        for (int i = 0; i < getNumSlots(); i++) {
+            if (isInUse(i) && getPayload(i) != null) {
+                result.add(getPayload(i));
             }
-            result.add(events[i]);
         }
         return result;
     }
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx;
+
+import java.util.Arrays;
+
+/**
+ * Kernel launches that have been enqueued on a {@link PTXStream} but not yet
+ * submitted to the CUDA driver. Consecutive launches are collected here so that
+ * they can be submitted together as a CUDA graph. The arrays are reused across
+ * batches and only grow.
+ */
+class PTXLaunchBatch {
+
+    static final int DIMS_PER_LAUNCH = 6;
+    private static final int INITIAL_CAPACITY = 16;
+
+    long[] functions;
+    int[] dims;
+    byte[] params;
+    int[] paramOffsets;
+    long[] beforeEvents;
+    long[] afterEvents;
+    private int size;
+
+    PTXLaunchBatch() {
+        functions = new long[INITIAL_CAPACITY];
+        dims = new int[INITIAL_CAPACITY * DIMS_PER_LAUNCH];
+        params = new byte[INITIAL_CAPACITY * Long.BYTES * 4];
+        paramOffsets = new int[INITIAL_CAPACITY + 1];
+        beforeEvents = new long[INITIAL_CAPACITY];
+        afterEvents = new long[INITIAL_CAPACITY];
+    }
+
+    void add(long function, int[] gridDim, int[] blockDim, byte[] kernelParams, int paramsLength, PTXEvent event) {
+        if (size == functions.length) {
+            int capacity = size * 2;
+            functions = Arrays.copyOf(functions, capacity);
+            dims = Arrays.copyOf(dims, capacity * DIMS_PER_LAUNCH);
+            paramOffsets = Arrays.copyOf(paramOffsets, capacity + 1);
+            beforeEvents = Arrays.copyOf(beforeEvents, capacity);
+            afterEvents = Arrays.copyOf(afterEvents, capacity);
+        }
+        final int offset = paramOffsets[size];
+        if (offset + paramsLength > params.length) {
+            params = Arrays.copyOf(params, Math.max(params.length * 2, offset + paramsLength));
+        }
+
+        functions[size] = function;
+        final int base = size * DIMS_PER_LAUNCH;
+        dims[base] = gridDim[0];
+        dims[base + 1] = gridDim[1];
+        dims[base + 2] = gridDim[2];
+        dims[base + 3] = blockDim[0];
+        dims[base + 4] = blockDim[1];
+        dims[base + 5] = blockDim[2];
+        System.arraycopy(kernelParams, 0, params, offset, paramsLength);
+        paramOffsets[size + 1] = offset + paramsLength;
+        beforeEvents[size] = event.beforeEvent;
+        afterEvents[size] = event.afterEvent;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int paramsOffset(int launch) {
+        return paramOffsets[launch];
+    }
+
+    int paramsLength(int launch) {
+        return paramOffsets[launch + 1] - paramOffsets[launch];
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
@@ -24,29 +24,35 @@
 package uk.ac.manchester.tornado.drivers.ptx;
 
 public class PTXModule {
-    public final byte[] moduleWrapper;
+    public final long cuModule;
+    public final long cuFunction;
     public final String kernelFunctionName;
     private int maxBlockSize;
     public final String javaName;
     private final byte[] source;
 
     public PTXModule(String name, byte[] source, String kernelFunctionName) {
-        moduleWrapper = cuModuleLoadData(source);
+        cuModule = cuModuleLoadData(source);
+        // The CUfunction is resolved once here, so kernel launches do not need
+        // to pass the kernel name through JNI and look it up on every call.
+        cuFunction = (cuModule != 0) ? cuModuleGetFunction(cuModule, kernelFunctionName) : 0;
         this.source = source;
         this.kernelFunctionName = kernelFunctionName;
         maxBlockSize = -1;
         javaName = name;
     }
 
-    private static native byte[] cuModuleLoadData(byte[] source);
+    private static native long cuModuleLoadData(byte[] source);
 
-    private static native long cuModuleUnload(byte[] module);
+    private static native long cuModuleUnload(long module);
 
-    private static native int cuOccupancyMaxPotentialBlockSize(byte[] module, String funcName);
+    private static native long cuModuleGetFunction(long module, String funcName);
+
+    private static native int cuOccupancyMaxPotentialBlockSize(long function);
 
     public int getPotentialBlockSizeMaxOccupancy() {
         if (maxBlockSize < 0) {
-            maxBlockSize = cuOccupancyMaxPotentialBlockSize(moduleWrapper, kernelFunctionName);
+            maxBlockSize = cuOccupancyMaxPotentialBlockSize(cuFunction);
         }
         return maxBlockSize;
     }
@@ -56,10 +62,10 @@ public class PTXModule {
     }
 
     public boolean isPTXJITSuccess() {
-        return moduleWrapper.length != 0;
+        return cuModule != 0 && cuFunction != 0;
     }
 
     public void unload() {
-        cuModuleUnload(moduleWrapper);
+        cuModuleUnload(cuModule);
     }
 }
@@ -25,8 +25,10 @@ package uk.ac.manchester.tornado.drivers.ptx;
 
 import static uk.ac.manchester.tornado.runtime.common.Tornado.EVENT_WINDOW;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.drivers.common.EventDescriptor;
@@ -41,74 +43,114 @@ public class PTXStream extends TornadoLogger {
 
     private static final int DYNAMIC_SHARED_MEMORY_BYTES = 0;
 
-    private final byte[] streamPool;
+    /**
+     * Maximum number of kernel launches that are held back before they are
+     * submitted to the driver.
+     */
+    private static final int MAX_BATCHED_LAUNCHES = 128;
+
+    /**
+     * Maximum number of distinct sequences of kernel launches tracked as CUDA
+     * graphs per stream.
+     */
+    private static final int MAX_CUDA_GRAPHS = 64;
+
+    private final long stream;
     private final PTXEventPool ptxEventPool;
 
+    /*
+     * Several host threads can submit to the stream, so the held back launches
+     * and the CUDA graphs are only accessed while holding the lock of the stream.
+     */
+    private final PTXLaunchBatch pendingLaunches;
+    private final List<PTXCUDAGraph> cudaGraphs;
+    private boolean useCUDAGraphs;
+
     public PTXStream() {
-        streamPool = cuCreateStream();
+        stream = cuCreateStream();
         this.ptxEventPool = new PTXEventPool(EVENT_WINDOW);
+        this.pendingLaunches = new PTXLaunchBatch();
+        this.cudaGraphs = new ArrayList<>();
+        this.useCUDAGraphs = TornadoOptions.PTX_CUDA_GRAPHS;
     }
 
     //@formatter:off
-    private static native byte[][] writeArrayDtoH(long address, long length, byte[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoH(long address, long length, byte[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoH(long address, long length, short[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoH(long address, long length, short[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoH(long address, long length, char[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoH(long address, long length, char[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoH(long address, long length, int[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoH(long address, long length, int[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoH(long address, long length, long[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoH(long address, long length, long[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoH(long address, long length, float[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoH(long address, long length, float[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoH(long address, long length, double[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoH(long address, long length, double[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoHAsync(long address, long length, byte[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoHAsync(long address, long length, byte[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoHAsync(long address, long length, short[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoHAsync(long address, long length, short[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoHAsync(long address, long length, char[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoHAsync(long address, long length, char[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoHAsync(long address, long length, int[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoHAsync(long address, long length, int[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoHAsync(long address, long length, long[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoHAsync(long address, long length, long[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoHAsync(long address, long length, float[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoHAsync(long address, long length, float[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayDtoHAsync(long address, long length, double[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayDtoHAsync(long address, long length, double[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoD(long address, long length, byte[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoD(long address, long length, byte[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoD(long address, long length, short[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoD(long address, long length, short[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoD(long address, long length, char[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoD(long address, long length, char[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoD(long address, long length, int[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoD(long address, long length, int[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoD(long address, long length, long[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoD(long address, long length, long[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoD(long address, long length, float[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoD(long address, long length, float[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoD(long address, long length, double[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoD(long address, long length, double[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoDAsync(long address, long length, byte[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoDAsync(long address, long length, byte[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoDAsync(long address, long length, short[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoDAsync(long address, long length, short[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoDAsync(long address, long length, char[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoDAsync(long address, long length, char[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoDAsync(long address, long length, int[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoDAsync(long address, long length, int[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoDAsync(long address, long length, long[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoDAsync(long address, long length, long[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoDAsync(long address, long length, float[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoDAsync(long address, long length, float[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
 
-    private static native byte[][] writeArrayHtoDAsync(long address, long length, double[] array, long hostOffset, byte[] streamWrapper);
+    private static native long writeArrayHtoDAsync(long address, long length, double[] array, long hostOffset, long stream, long beforeEvent, long afterEvent);
     //@formatter:on
 
-    private static native byte[][] cuLaunchKernel(byte[] module, String name, int gridDimX, int gridDimY, int gridDimZ, int blockDimX, int blockDimY, int blockDimZ, long sharedMemBytes, byte[] stream,
-            byte[] args);
+    private static native long cuLaunchKernel(long function, int gridDimX, int gridDimY, int gridDimZ, int blockDimX, int blockDimY, int blockDimZ, long sharedMemBytes, long stream, byte[] args,
+            int argsOffset, int argsLength, long beforeEvent, long afterEvent);
+
+    /**
+     * Builds a CUDA graph with one kernel node per launch, each node depending on
+     * the previous one, and instantiates it. Returns a handle to the graph, or 0
+     * if the driver could not create or instantiate it.
+     */
+    private static native long cuGraphCreateAndInstantiate(long[] functions, int[] dims, byte[] params, int[] paramOffsets, int numLaunches);
+
+    private static native long cuGraphExecKernelNodeSetParams(long graph, int node, long function, int[] dims, byte[] params, int paramsOffset, int paramsLength);
+
+    /**
+     * Launches an instantiated graph on the stream. The before and after events
+     * of every kernel in the graph are recorded around the whole graph.
+     */
+    private static native long cuGraphLaunch(long graph, long stream, long[] beforeEvents, long[] afterEvents, int numEvents);
+
+    private static native long cuGraphDestroy(long graph);
 
     /**
      * This JNI call will create a CUDA Stream through an API call to
@@ -116,57 +158,160 @@ public class PTXStream extends TornadoLogger {
      * cuStreamCreateWithPriority method will always be the greatest value returned
      * by cuCtxGetStreamPriorityRange.
      */
-    private static native byte[] cuCreateStream();
+    private static native long cuCreateStream();
 
-    private static native long cuDestroyStream(byte[] streamWrapper);
+    private static native long cuDestroyStream(long stream);
 
-    private static native long cuStreamSynchronize(byte[] streamWrapper);
+    private static native long cuStreamSynchronize(long stream);
 
-    private static native byte[][] cuEventCreateAndRecord(boolean isProfilingEnabled, byte[] streamWrapper);
+    private static native long cuEventRecord(long stream, long beforeEvent, long afterEvent);
 
     private int registerEvent(EventDescriptor descriptorId) {
-        return ptxEventPool.registerEvent(cuEventCreateAndRecord(TornadoOptions.isProfilerEnabled(), streamPool), descriptorId);
+        int eventId = ptxEventPool.registerEvent(descriptorId);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        cuEventRecord(stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
-    private int registerEvent(byte[][] eventWrapper, EventDescriptor descriptorId) {
-        return ptxEventPool.registerEvent(eventWrapper, descriptorId);
-    }
-
-    public void reset() {
+    public synchronized void reset() {
+        flushLaunches();
+        destroyCUDAGraphs();
         ptxEventPool.reset();
     }
 
     public void sync() {
-        cuStreamSynchronize(streamPool);
+        flushLaunches();
+        cuStreamSynchronize(stream);
+        ptxEventPool.releaseConsumedEvents();
     }
 
-    public void cleanup() {
-        cuDestroyStream(streamPool);
+    public synchronized void cleanup() {
+        flushLaunches();
+        cuStreamSynchronize(stream);
+        destroyCUDAGraphs();
+        ptxEventPool.cleanup();
+        cuDestroyStream(stream);
     }
 
     public Event resolveEvent(int event) {
         if (event == -1) {
             return EMPTY_EVENT;
         }
+        // The events of held back launches are only recorded once the launches
+        // are submitted.
+        flushLaunches();
         return ptxEventPool.getEvent(event);
     }
 
+    /**
+     * Submits the held back kernel launches. A sequence of launches that has been
+     * seen before is launched as a single CUDA graph, after updating the kernel
+     * parameters that changed since the last replay. Otherwise, the kernels are
+     * launched one by one.
+     */
+    private synchronized void flushLaunches() {
+        final int numLaunches = pendingLaunches.size();
+        if (numLaunches == 0) {
+            return;
+        }
+
+        PTXCUDAGraph graph = (numLaunches > 1) ? findCUDAGraph() : null;
+        if (graph != null) {
+            for (int i = 0; i < numLaunches; i++) {
+                if (graph.paramsChanged(pendingLaunches, i)) {
+                    cuGraphExecKernelNodeSetParams(graph.getGraph(), i, pendingLaunches.functions[i], pendingLaunches.dims, pendingLaunches.params, pendingLaunches.paramsOffset(i),
+                            pendingLaunches.paramsLength(i));
+                    graph.updateParams(pendingLaunches, i);
+                }
+            }
+            cuGraphLaunch(graph.getGraph(), stream, pendingLaunches.beforeEvents, pendingLaunches.afterEvents, numLaunches);
+        } else {
+            for (int i = 0; i < numLaunches; i++) {
+                final int base = i * PTXLaunchBatch.DIMS_PER_LAUNCH;
+                final int[] dims = pendingLaunches.dims;
+                cuLaunchKernel(pendingLaunches.functions[i], dims[base], dims[base + 1], dims[base + 2], dims[base + 3], dims[base + 4], dims[base + 5], DYNAMIC_SHARED_MEMORY_BYTES, stream,
+                        pendingLaunches.params, pendingLaunches.paramsOffset(i), pendingLaunches.paramsLength(i), pendingLaunches.beforeEvents[i], pendingLaunches.afterEvents[i]);
+            }
+        }
+        pendingLaunches.clear();
+    }
+
+    /**
+     * Returns the instantiated graph for the pending launches, or null if the
+     * sequence of launches is seen for the first time. Graphs are instantiated
+     * the second time their sequence is seen.
+     */
+    private PTXCUDAGraph findCUDAGraph() {
+        for (int i = 0; i < cudaGraphs.size(); i++) {
+            PTXCUDAGraph graph = cudaGraphs.get(i);
+            if (graph.matches(pendingLaunches)) {
+                if (!graph.isInstantiated()) {
+                    long handle = cuGraphCreateAndInstantiate(pendingLaunches.functions, pendingLaunches.dims, pendingLaunches.params, pendingLaunches.paramOffsets, pendingLaunches.size());
+                    if (handle == 0) {
+                        warn("CUDA graphs are not supported by the driver. Kernels will be launched individually.");
+                        useCUDAGraphs = false;
+                        destroyCUDAGraphs();
+                        return null;
+                    }
+                    graph.setGraph(handle);
+                    graph.updateParams(pendingLaunches);
+                }
+                return graph;
+            }
+        }
+        if (useCUDAGraphs && cudaGraphs.size() < MAX_CUDA_GRAPHS) {
+            cudaGraphs.add(new PTXCUDAGraph(pendingLaunches));
+        }
+        return null;
+    }
+
+    private void destroyCUDAGraphs() {
+        for (PTXCUDAGraph graph : cudaGraphs) {
+            if (graph.isInstantiated()) {
+                cuGraphDestroy(graph.getGraph());
+            }
+        }
+        cudaGraphs.clear();
+    }
+
+    /**
+     * Submits any held back launch of the given kernel and drops the graphs that
+     * launch it. Must be called before the module of the kernel is unloaded.
+     */
+    public synchronized void discardCUDAGraphs(long function) {
+        flushLaunches();
+        if (cudaGraphs.isEmpty()) {
+            return;
+        }
+        cuStreamSynchronize(stream);
+        for (int i = cudaGraphs.size() - 1; i >= 0; i--) {
+            PTXCUDAGraph graph = cudaGraphs.get(i);
+            if (graph.launches(function)) {
+                if (graph.isInstantiated()) {
+                    cuGraphDestroy(graph.getGraph());
+                }
+                cudaGraphs.remove(i);
+            }
+        }
+    }
+
     private void waitForEvents(int[] localEventIds) {
+        // Every command other than a kernel launch calls this method first, so
+        // held back launches are submitted before it and stream order is kept.
+        flushLaunches();
         if (localEventIds == null) {
             return;
         }
 
-        ArrayList<PTXEvent> events = new ArrayList<>();
         for (int localEventId : localEventIds) {
             PTXEvent cuEvent = this.ptxEventPool.getEvent(localEventId);
             if (cuEvent != null) {
-                events.add(cuEvent);
+                cuEvent.waitForEvents();
             }
         }
-        PTXEvent.waitForEventArray((PTXEvent[]) events.toArray());
     }
 
-    public int enqueueKernelLaunch(PTXModule module, TaskMetaData taskMeta, byte[] kernelParams, int[] gridDim, int[] blockDim) {
+    public synchronized int enqueueKernelLaunch(PTXModule module, TaskMetaData taskMeta, ByteBuffer kernelParams, int[] gridDim, int[] blockDim) {
         assert Arrays.stream(gridDim).filter(i -> i <= 0).count() == 0;
         assert Arrays.stream(blockDim).filter(i -> i <= 0).count() == 0;
 
@@ -178,12 +323,26 @@ public class PTXStream extends TornadoLogger {
             taskMeta.printThreadDims();
         }
 
-        return registerEvent(cuLaunchKernel(module.moduleWrapper, module.kernelFunctionName, gridDim[0], gridDim[1], gridDim[2], blockDim[0], blockDim[1], blockDim[2], DYNAMIC_SHARED_MEMORY_BYTES,
-                streamPool, kernelParams), EventDescriptor.DESC_PARALLEL_KERNEL);
+        if (pendingLaunches.size() == MAX_BATCHED_LAUNCHES) {
+            flushLaunches();
+        }
+
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_PARALLEL_KERNEL);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        if (useCUDAGraphs && !TornadoOptions.isProfilerEnabled()) {
+            // Launches are held back until the next command on the stream, so that
+            // consecutive launches can be replayed as a CUDA graph.
+            pendingLaunches.add(module.cuFunction, gridDim, blockDim, kernelParams.array(), kernelParams.position(), event);
+        } else {
+            cuLaunchKernel(module.cuFunction, gridDim[0], gridDim[1], gridDim[2], blockDim[0], blockDim[1], blockDim[2], DYNAMIC_SHARED_MEMORY_BYTES, stream, kernelParams.array(), 0,
+                    kernelParams.position(), event.beforeEvent, event.afterEvent);
+        }
+        return eventId;
     }
 
     public int enqueueBarrier() {
-        cuStreamSynchronize(streamPool);
+        flushLaunches();
+        cuStreamSynchronize(stream);
         return registerEvent(EventDescriptor.DESC_SYNC_BARRIER);
     }
 
@@ -194,146 +353,224 @@ public class PTXStream extends TornadoLogger {
 
     public int enqueueRead(long address, long length, byte[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoH(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_BYTE);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_BYTE);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoH(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueRead(long address, long length, short[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoH(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_SHORT);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_SHORT);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoH(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueRead(long address, long length, char[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoH(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_BYTE);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_BYTE);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoH(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueRead(long address, long length, int[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoH(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_INT);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_INT);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoH(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueRead(long address, long length, long[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoH(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_LONG);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_LONG);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoH(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueRead(long address, long length, float[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoH(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_FLOAT);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_FLOAT);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoH(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueRead(long address, long length, double[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoH(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_DOUBLE);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_DOUBLE);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoH(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueAsyncRead(long address, long length, byte[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoHAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_BYTE);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_BYTE);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoHAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueAsyncRead(long address, long length, short[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoHAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_SHORT);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_SHORT);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoHAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueAsyncRead(long address, long length, char[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoHAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_BYTE);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_BYTE);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoHAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueAsyncRead(long address, long length, int[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoHAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_INT);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_INT);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoHAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueAsyncRead(long address, long length, long[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoHAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_LONG);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_LONG);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoHAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueAsyncRead(long address, long length, float[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoHAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_FLOAT);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_FLOAT);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoHAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueAsyncRead(long address, long length, double[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayDtoHAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_READ_DOUBLE);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_READ_DOUBLE);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayDtoHAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public void enqueueWrite(long address, long length, byte[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        registerEvent(writeArrayHtoD(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_BYTE);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_BYTE);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoD(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
     }
 
     public void enqueueWrite(long address, long length, short[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        registerEvent(writeArrayHtoD(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_SHORT);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_SHORT);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoD(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
     }
 
     public void enqueueWrite(long address, long length, char[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        registerEvent(writeArrayHtoD(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_BYTE);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_BYTE);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoD(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
     }
 
     public void enqueueWrite(long address, long length, int[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        registerEvent(writeArrayHtoD(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_INT);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_INT);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoD(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
     }
 
     public void enqueueWrite(long address, long length, long[] array, int hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        registerEvent(writeArrayHtoD(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_LONG);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_LONG);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoD(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
     }
 
     public void enqueueWrite(long address, long length, float[] array, int hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        registerEvent(writeArrayHtoD(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_FLOAT);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_FLOAT);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoD(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
     }
 
     public void enqueueWrite(long address, long length, double[] array, int hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        registerEvent(writeArrayHtoD(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_DOUBLE);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_DOUBLE);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoD(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
     }
 
     public int enqueueAsyncWrite(long address, long length, byte[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayHtoDAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_BYTE);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_BYTE);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoDAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueAsyncWrite(long address, long length, char[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayHtoDAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_BYTE);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_BYTE);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoDAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueAsyncWrite(long address, long length, short[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayHtoDAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_SHORT);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_SHORT);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoDAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueAsyncWrite(long address, long length, int[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayHtoDAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_INT);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_INT);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoDAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
 
     }
 
     public int enqueueAsyncWrite(long address, long length, long[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayHtoDAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_LONG);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_LONG);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoDAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueAsyncWrite(long address, long length, float[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayHtoDAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_FLOAT);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_FLOAT);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoDAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public int enqueueAsyncWrite(long address, long length, double[] array, long hostOffset, int[] waitEvents) {
         waitForEvents(waitEvents);
-        return registerEvent(writeArrayHtoDAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_DOUBLE);
+        int eventId = ptxEventPool.registerEvent(EventDescriptor.DESC_WRITE_DOUBLE);
+        PTXEvent event = ptxEventPool.getEvent(eventId);
+        writeArrayHtoDAsync(address, length, array, hostOffset, stream, event.beforeEvent, event.afterEvent);
+        return eventId;
     }
 
     public PTXEventPool getEventPool() {
+        flushLaunches();
         return this.ptxEventPool;
     }
 }
@@ -34,8 +34,16 @@ public class PTXTargetDescription extends TargetDescription {
     private static final int STACK_ALIGNMENT = 8;
     private static final boolean INLINE_OBJECT = true;
 
-    public PTXTargetDescription(Architecture arch) {
+    /**
+     * First target architecture with half-precision arithmetic instructions.
+     */
+    private static final CUDAComputeCapability FP16_ARCHITECTURE = new CUDAComputeCapability(5, 3);
+
+    private final boolean supportsFP16;
+
+    public PTXTargetDescription(Architecture arch, TargetArchitecture targetArchitecture) {
         super(arch, false, STACK_ALIGNMENT, 4096, INLINE_OBJECT);
+        this.supportsFP16 = targetArchitecture.compareTo(FP16_ARCHITECTURE) >= 0;
     }
 
     public PTXArchitecture getArch() {
@@ -45,4 +53,12 @@ public class PTXTargetDescription extends TargetDescription {
     public PTXKind getPTXKind(JavaKind javaKind) {
         return (PTXKind) arch.getPlatformKind(javaKind);
     }
+
+    /**
+     * @return true if the target architecture provides {@code add}, {@code sub}
+     *         and {@code mul} on {@code .f16} registers.
+     */
+    public boolean supportsFP16() {
+        return supportsFP16;
+    }
 }
@@ -157,7 +157,7 @@ public class PTXCodeUtil {
         if (!lhs.isFloating() && rhs.isFloating()) {
             roundingMode = ROUND_TOWARD_ZERO_INTEGER;
         }
-        if ((lhs.isF64() && rhs.isF32())) {
+        if ((lhs.isF64() && rhs.isF32()) || ((lhs.isF32() || lhs.isF64()) && rhs.isF16())) {
             return null;
         }
         return roundingMode;
@@ -80,7 +80,7 @@ public class PTXHotSpotBackendFactory {
         HotSpotConstantReflectionProvider constantReflection = (HotSpotConstantReflectionProvider) jvmci.getConstantReflection();
 
         PTXArchitecture arch = new PTXArchitecture(PTXKind.U64, device.getByteOrder());
-        PTXTargetDescription target = new PTXTargetDescription(arch);
+        PTXTargetDescription target = new PTXTargetDescription(arch, device.getTargetArchitecture());
         PTXDeviceContext deviceContext = device.getPTXContext().getDeviceContext();
         PTXCodeProvider codeCache = new PTXCodeProvider(target);
 
@@ -66,6 +66,7 @@ public class PTXInstalledCode extends InstalledCode implements TornadoInstalledC
     @Override
     public void invalidate() {
         if (valid) {
+            deviceContext.discardCUDAGraphs(module);
             module.unload();
             valid = false;
         }
@@ -47,9 +47,12 @@ import org.graalvm.compiler.nodes.PhiNode;
 import org.graalvm.compiler.nodes.StructuredGraph;
 import org.graalvm.compiler.nodes.UnwindNode;
 import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
 import org.graalvm.compiler.nodes.calc.FloatConvertNode;
 import org.graalvm.compiler.nodes.calc.IntegerDivRemNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
 import org.graalvm.compiler.nodes.calc.RemNode;
+import org.graalvm.compiler.nodes.calc.RightShiftNode;
 import org.graalvm.compiler.nodes.java.ArrayLengthNode;
 import org.graalvm.compiler.nodes.java.InstanceOfNode;
 import org.graalvm.compiler.nodes.java.LoadFieldNode;
@@ -83,6 +86,7 @@ import jdk.vm.ci.meta.MetaAccessProvider;
 import jdk.vm.ci.meta.PrimitiveConstant;
 import jdk.vm.ci.meta.ResolvedJavaField;
 import jdk.vm.ci.meta.ResolvedJavaType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.drivers.graal.TornadoMemoryOrder;
 import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXKind;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.CastNode;
@@ -93,15 +97,19 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.GroupIdNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalThreadIdNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalThreadSizeNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXAtomicIndexedNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXSubGroupNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.calc.DivNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.vector.LoadIndexedVectorNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.snippets.PTXGPUReduceSnippets;
 import uk.ac.manchester.tornado.runtime.TornadoVMConfig;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GetGroupIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GlobalGroupSizeFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.LocalGroupSizeFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.NewArrayNonVirtualizableNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ThreadIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ThreadLocalIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoDirectCallTargetNode;
@@ -114,6 +122,7 @@ import uk.ac.manchester.tornado.runtime.graal.phases.MarkLocalArray;
 public class PTXLoweringProvider extends DefaultJavaLoweringProvider {
 
     private static final boolean USE_ATOMICS = false;
+    private static final int WARP_SIZE_LOG2 = 5;
     private static boolean gpuSnippet = false;
     private final ConstantReflectionProvider constantReflection;
     private TornadoVMConfig vmConfig;
@@ -242,6 +251,10 @@ public class PTXLoweringProvider extends DefaultJavaLoweringProvider {
             lowerStoreIndexedNode((StoreIndexedNode) node, tool);
         } else if (node instanceof StoreAtomicIndexedNode) {
             lowerStoreAtomicsReduction(node, tool);
+        } else if (node instanceof AtomicIndexedNode) {
+            lowerAtomicIndexedNode((AtomicIndexedNode) node);
+        } else if (node instanceof SubGroupNode) {
+            lowerSubGroupNode((SubGroupNode) node);
         } else if (node instanceof LoadFieldNode) {
             lowerLoadFieldNode((LoadFieldNode) node, tool);
         } else if (node instanceof StoreFieldNode) {
@@ -504,6 +517,55 @@ public class PTXLoweringProvider extends DefaultJavaLoweringProvider {
         return address;
     }
 
+    private void lowerAtomicIndexedNode(AtomicIndexedNode atomicIndexed) {
+        StructuredGraph graph = atomicIndexed.graph();
+        if (isPrivateIDNode(atomicIndexed)) {
+            throw new TornadoBailoutRuntimeException("Atomic operations are not supported on private arrays");
+        }
+        AddressNode address;
+        if (isLocalIDNode(atomicIndexed)) {
+            address = createArrayLocalAddress(graph, atomicIndexed.array(), atomicIndexed.index());
+        } else {
+            address = createArrayAddress(graph, atomicIndexed.array(), atomicIndexed.elementKind(), atomicIndexed.index());
+        }
+        PTXAtomicIndexedNode atomic = graph.add(new PTXAtomicIndexedNode(atomicIndexed, address));
+        graph.replaceFixedWithFixed(atomicIndexed, atomic);
+    }
+
+    private void lowerSubGroupNode(SubGroupNode subGroup) {
+        StructuredGraph graph = subGroup.graph();
+        switch (subGroup.getOperation()) {
+            case ID: {
+                // (tid.x + ntid.x * (tid.y + ntid.y * tid.z)) / WARP_SZ
+                ValueNode innerIndex = graph.addOrUnique(new AddNode(localThreadId(graph, 1), graph.addOrUnique(new MulNode(localThreadSize(graph, 1), localThreadId(graph, 2)))));
+                ValueNode linearIndex = graph.addOrUnique(new AddNode(localThreadId(graph, 0), graph.addOrUnique(new MulNode(localThreadSize(graph, 0), innerIndex))));
+                ValueNode subGroupId = graph.addOrUnique(new RightShiftNode(linearIndex, ConstantNode.forInt(WARP_SIZE_LOG2, graph)));
+                graph.replaceFixedWithFloating(subGroup, subGroupId);
+                break;
+            }
+            case NUM_SUB_GROUPS: {
+                // (ntid.x * ntid.y * ntid.z + WARP_SZ - 1) / WARP_SZ
+                ValueNode blockSize = graph.addOrUnique(new MulNode(localThreadSize(graph, 0), graph.addOrUnique(new MulNode(localThreadSize(graph, 1), localThreadSize(graph, 2)))));
+                ValueNode roundedSize = graph.addOrUnique(new AddNode(blockSize, ConstantNode.forInt((1 << WARP_SIZE_LOG2) - 1, graph)));
+                ValueNode numSubGroups = graph.addOrUnique(new RightShiftNode(roundedSize, ConstantNode.forInt(WARP_SIZE_LOG2, graph)));
+                graph.replaceFixedWithFloating(subGroup, numSubGroups);
+                break;
+            }
+            default:
+                PTXSubGroupNode ptxSubGroup = graph.add(new PTXSubGroupNode(subGroup));
+                graph.replaceFixedWithFixed(subGroup, ptxSubGroup);
+                break;
+        }
+    }
+
+    private ValueNode localThreadId(StructuredGraph graph, int dimension) {
+        return graph.addOrUnique(new LocalThreadIdNode(ConstantNode.forInt(dimension, graph)));
+    }
+
+    private ValueNode localThreadSize(StructuredGraph graph, int dimension) {
+        return graph.addOrUnique(new LocalThreadSizeNode(ConstantNode.forInt(dimension, graph)));
+    }
+
     private AddressNode createArrayLocalAddress(StructuredGraph graph, ValueNode array, ValueNode index) {
         return graph.unique(new OffsetAddressNode(array, index));
     }
@@ -526,6 +588,17 @@ public class PTXLoweringProvider extends DefaultJavaLoweringProvider {
         return (nd instanceof MarkLocalArray || willLowerToLocalArrayNode);
     }
 
+    private boolean isLocalIDNode(AtomicIndexedNode atomicIndexed) {
+        Node nd = atomicIndexed.array();
+        InvokeNode node = nd.inputs().filter(InvokeNode.class).first();
+        boolean willLowerToLocalArrayNode = node != null && "Direct#NewArrayNode.newArray".equals(node.callTarget().targetName()) && gpuSnippet;
+        return (nd instanceof MarkLocalArray || willLowerToLocalArrayNode);
+    }
+
+    private boolean isPrivateIDNode(AtomicIndexedNode atomicIndexed) {
+        return (atomicIndexed.array() instanceof FixedArrayNode);
+    }
+
     private boolean isPrivateIDNode(StoreIndexedNode storeIndexed) {
         Node nd = storeIndexed.inputs().first();
         return (nd instanceof FixedArrayNode);
@@ -70,6 +70,8 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntBinaryIntrinsicNod
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntUnaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PrintfNode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoAtomicsPlugins;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSubGroupPlugins;
 
 public class PTXGraphBuilderPlugins {
 
@@ -81,9 +83,12 @@ public class PTXGraphBuilderPlugins {
         registerTornadoInstrinsicsPlugins(plugins);
         registerPTXBuiltinPlugins(plugins);
         PTXMathPlugins.registerTornadoMathPlugins(plugins);
+        PTXMathPlugins.registerHalfFloatPlugins(plugins);
         PTXVectorPlugins.registerPlugins(ps, plugins);
 
         registerKernelContextPlugins(plugins);
+        TornadoAtomicsPlugins.registerPlugins(plugins);
+        TornadoSubGroupPlugins.registerPlugins(plugins);
     }
 
     private static void registerTornadoInstrinsicsPlugins(InvocationPlugins plugins) {
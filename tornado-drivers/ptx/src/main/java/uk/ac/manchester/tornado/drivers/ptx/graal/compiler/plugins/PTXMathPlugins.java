@@ -49,8 +49,11 @@ import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins.Registratio
 import jdk.vm.ci.meta.JavaKind;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.collections.math.TornadoMath;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXFPBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXFPUnaryIntrinsicNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXHalfArithmeticNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXHalfConvertNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntUnaryIntrinsicNode;
 
@@ -84,6 +87,41 @@ public class PTXMathPlugins {
         registerIntMath3Plugins(registration, byte.class, JavaKind.Byte);
     }
 
+    public static void registerHalfFloatPlugins(final InvocationPlugins plugins) {
+        Registration registration = new Registration(plugins, HalfFloat.class);
+
+        registration.register(new InvocationPlugin("toFloat", short.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                b.push(JavaKind.Float, b.append(PTXHalfConvertNode.create(value, PTXHalfConvertNode.Operation.TO_FLOAT)));
+                return true;
+            }
+        });
+
+        registration.register(new InvocationPlugin("toHalf", float.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                b.push(JavaKind.Short, b.append(PTXHalfConvertNode.create(value, PTXHalfConvertNode.Operation.TO_HALF)));
+                return true;
+            }
+        });
+
+        registerHalfFloatArithmeticPlugin(registration, "add", PTXHalfArithmeticNode.Operation.ADD);
+        registerHalfFloatArithmeticPlugin(registration, "sub", PTXHalfArithmeticNode.Operation.SUB);
+        registerHalfFloatArithmeticPlugin(registration, "mult", PTXHalfArithmeticNode.Operation.MULT);
+        registerHalfFloatArithmeticPlugin(registration, "div", PTXHalfArithmeticNode.Operation.DIV);
+    }
+
+    private static void registerHalfFloatArithmeticPlugin(Registration registration, String name, PTXHalfArithmeticNode.Operation operation) {
+        registration.register(new InvocationPlugin(name, short.class, short.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode x, ValueNode y) {
+                b.push(JavaKind.Short, b.append(PTXHalfArithmeticNode.create(x, y, operation)));
+                return true;
+            }
+        });
+    }
+
     private static void registerFloatMath1Plugins(Registration r, Class<?> type, JavaKind kind) {
         r.register(new InvocationPlugin("atan", type) {
             @Override
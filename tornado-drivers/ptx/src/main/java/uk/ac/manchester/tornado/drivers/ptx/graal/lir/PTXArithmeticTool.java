@@ -44,6 +44,8 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXBinaryOp;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXTernaryOp;
 import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXLIRGenerator;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode.AtomicOperation;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode.SubGroupOperation;
 
 public class PTXArithmeticTool extends ArithmeticLIRGenerator {
     @Override
@@ -315,6 +317,35 @@ public class PTXArithmeticTool extends ArithmeticLIRGenerator {
         }
     }
 
+    public Variable emitAtomicIndexed(AtomicOperation operation, LIRKind kind, PTXUnary.MemoryAccess address, Value value, Value expected, boolean resultUsed) {
+        Logger.traceBuildLIR(Logger.BACKEND.PTX, "emitAtomicIndexed: %s %s, value=%s, expected=%s", operation, address, value, expected);
+        AtomicOperation atomOperation = operation;
+        Value operand = value;
+        if (operation == AtomicOperation.SUB) {
+            atomOperation = AtomicOperation.ADD;
+            operand = emitNegate(value, false);
+        }
+        Variable result = getGen().newVariable(kind);
+        getGen().append(new PTXLIRStmt.AtomicIndexedStmt(result, atomOperation, address, asRegister(operand), (expected != null) ? asRegister(expected) : null, resultUsed));
+        return result;
+    }
+
+    public Variable emitSubGroup(SubGroupOperation operation, LIRKind kind, Value value, Value lane) {
+        Logger.traceBuildLIR(Logger.BACKEND.PTX, "emitSubGroup: %s value=%s, lane=%s", operation, value, lane);
+        Variable result = getGen().newVariable(kind);
+        getGen().append(new PTXLIRStmt.SubGroupStmt(result, operation, asRegister(value), lane));
+        return result;
+    }
+
+    private Value asRegister(Value value) {
+        if (value instanceof Variable) {
+            return value;
+        }
+        Variable register = getGen().newVariable(LIRKind.value(value.getPlatformKind()));
+        getGen().append(new PTXLIRStmt.AssignStmt(register, value));
+        return register;
+    }
+
     public void emitVectorLoad(Variable result, PTXUnary.MemoryAccess address) {
         Logger.traceBuildLIR(Logger.BACKEND.PTX, "emitVectorLoad: %s = (%s) %s", result.toString(), result.getPlatformKind().toString(), address.toString());
         getGen().append(new PTXLIRStmt.VectorLoadStmt(result, address));
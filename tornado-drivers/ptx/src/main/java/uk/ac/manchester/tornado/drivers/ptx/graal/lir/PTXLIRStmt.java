@@ -31,12 +31,16 @@ import org.graalvm.compiler.lir.LIRInstructionClass;
 import org.graalvm.compiler.lir.Opcode;
 import org.graalvm.compiler.lir.Variable;
 import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXNullaryOp;
 import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXCompilationResultBuilder;
 import uk.ac.manchester.tornado.drivers.ptx.graal.meta.PTXMemorySpace;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode.AtomicOperation;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode.SubGroupOperation;
 
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static uk.ac.manchester.tornado.drivers.ptx.graal.PTXCodeUtil.getFPURoundingMode;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.*;
@@ -191,6 +195,263 @@ public class PTXLIRStmt {
         }
     }
 
+    /**
+     * Atomic read-modify-write of an array element using the {@code atom}
+     * instruction. Subtraction is generated as an addition of the negated value.
+     * Floating-point minimum and maximum have no {@code atom} form and are
+     * emitted as a compare-and-swap loop over the bits of the element. When the
+     * previous value is not used, the reductions are emitted with {@code red},
+     * which does not return it.
+     */
+    @Opcode("ATOMIC")
+    public static class AtomicIndexedStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<AtomicIndexedStmt> TYPE = LIRInstructionClass.create(AtomicIndexedStmt.class);
+
+        private static final AtomicInteger LOOP_COUNTER = new AtomicInteger();
+
+        @Def
+        protected Variable dest;
+        @Use
+        protected PTXUnary.MemoryAccess address;
+        @Use
+        protected Value value;
+        @Use
+        protected Value expected;
+
+        private final AtomicOperation operation;
+        private final boolean resultUsed;
+
+        public AtomicIndexedStmt(Variable dest, AtomicOperation operation, PTXUnary.MemoryAccess address, Value value, Value expected, boolean resultUsed) {
+            super(TYPE);
+            this.dest = dest;
+            this.operation = operation;
+            this.address = address;
+            this.value = value;
+            this.expected = expected;
+            this.resultUsed = resultUsed;
+        }
+
+        private String atomType() {
+            PTXKind kind = (PTXKind) dest.getPlatformKind();
+            int bits = kind.getSizeInBytes() * 8;
+            switch (operation) {
+                case ADD:
+                    return kind.isFloating() ? kind.toString() : "u" + bits;
+                case MIN:
+                case MAX:
+                    return "s" + bits;
+                default:
+                    return "b" + bits;
+            }
+        }
+
+        private void emitAtom(PTXCompilationResultBuilder crb, PTXAssembler asm, String op, String type, String result, Value compare, String operand) {
+            // atom.global.add.u32 %r10, [%rd9], %r4;
+            asm.emit("atom" + DOT + address.getBase().memorySpace.getName() + DOT + op + DOT + type);
+            asm.emitSymbol(TAB);
+            asm.emit(result);
+            asm.emitSymbol(COMMA);
+            asm.space();
+            address.emit(crb, asm, null);
+            if (compare != null) {
+                asm.emitSymbol(COMMA);
+                asm.space();
+                asm.emitValue(compare);
+            }
+            asm.emitSymbol(COMMA);
+            asm.space();
+            asm.emit(operand);
+            asm.delimiter();
+            asm.eol();
+        }
+
+        private void emitRed(PTXCompilationResultBuilder crb, PTXAssembler asm, String op) {
+            // red.global.add.u32 [%rd9], %r4;
+            asm.emit("red" + DOT + address.getBase().memorySpace.getName() + DOT + op + DOT + atomType());
+            asm.emitSymbol(TAB);
+            address.emit(crb, asm, null);
+            asm.emitSymbol(COMMA);
+            asm.space();
+            asm.emit(PTXAssembler.toString(value));
+            asm.delimiter();
+            asm.eol();
+        }
+
+        private void emitCompareAndSwapLoop(PTXCompilationResultBuilder crb, PTXAssembler asm) {
+            PTXKind kind = (PTXKind) dest.getPlatformKind();
+            String bits = "b" + (kind.getSizeInBytes() * 8);
+            String label = "ATOMIC_LOOP_" + LOOP_COUNTER.getAndIncrement();
+            String destName = PTXAssembler.toString(dest);
+            String valueName = PTXAssembler.toString(value);
+
+            asm.emitLine(CURLY_BRACKETS_OPEN);
+            asm.emitLine(".reg .%s %%atomic_new;", kind);
+            asm.emitLine(".reg .%s %%atomic_old;", kind);
+            asm.emitLine(".reg .pred %atomic_retry;");
+            asm.emitLine("%s:", label);
+            asm.emit("ld" + DOT + address.getBase().memorySpace.getName() + DOT + kind);
+            asm.emitSymbol(TAB);
+            asm.emit(destName);
+            asm.emitSymbol(COMMA);
+            asm.space();
+            address.emit(crb, asm, null);
+            asm.delimiter();
+            asm.eol();
+            asm.emitLine("%s.%s\t%%atomic_new, %s, %s;", operation == AtomicOperation.MIN ? "min" : "max", kind, destName, valueName);
+            emitAtom(crb, asm, "cas", bits, "%atomic_old", dest, "%atomic_new");
+            asm.emitLine("setp.ne.%s\t%%atomic_retry, %%atomic_old, %s;", bits, destName);
+            asm.emitLine("@%%atomic_retry bra %s;", label);
+            asm.emitLine(CURLY_BRACKETS_CLOSE);
+        }
+
+        @Override
+        public void emitCode(PTXCompilationResultBuilder crb, PTXAssembler asm) {
+            PTXKind kind = (PTXKind) dest.getPlatformKind();
+            if (kind.isFloating() && (operation == AtomicOperation.MIN || operation == AtomicOperation.MAX)) {
+                emitCompareAndSwapLoop(crb, asm);
+                return;
+            }
+            String op;
+            switch (operation) {
+                case ADD:
+                case MIN:
+                case MAX:
+                case AND:
+                case OR:
+                case XOR:
+                    op = operation.name().toLowerCase();
+                    if (!resultUsed) {
+                        emitRed(crb, asm, op);
+                        return;
+                    }
+                    break;
+                case EXCHANGE:
+                    op = "exch";
+                    break;
+                case COMPARE_EXCHANGE:
+                    op = "cas";
+                    break;
+                default:
+                    throw new TornadoInternalError("Atomic operation not supported: " + operation);
+            }
+            emitAtom(crb, asm, op, atomType(), PTXAssembler.toString(dest), expected, PTXAssembler.toString(value));
+        }
+    }
+
+    @Opcode("SUBGROUP")
+    public static class SubGroupStmt extends AbstractInstruction {
+
+        public static final LIRInstructionClass<SubGroupStmt> TYPE = LIRInstructionClass.create(SubGroupStmt.class);
+
+        private static final String FULL_MASK = "0xffffffff";
+        private static final int WARP_SIZE = 32;
+
+        @Def
+        protected Variable dest;
+        @Use
+        protected Value value;
+        @Use
+        protected Value lane;
+
+        private final SubGroupOperation operation;
+
+        public SubGroupStmt(Variable dest, SubGroupOperation operation, Value value, Value lane) {
+            super(TYPE);
+            this.dest = dest;
+            this.operation = operation;
+            this.value = value;
+            this.lane = lane;
+        }
+
+        private void emitShuffle(PTXAssembler asm, String mode, String result, String source, String laneOrMask, String clamp) {
+            // shfl.sync.idx.b32 %r2, %r1, %r0, 0x1f, 0xffffffff;
+            asm.emitLine("shfl.sync.%s.b32\t%s, %s, %s, %s, %s;", mode, result, source, laneOrMask, clamp, FULL_MASK);
+        }
+
+        private void emitVote(PTXAssembler asm, String mode, String destName, String valueName) {
+            asm.emitLine(CURLY_BRACKETS_OPEN);
+            asm.emitLine(".reg .pred %sg_pred;");
+            asm.emitLine("setp.ne.s32\t%%sg_pred, %s, 0;", valueName);
+            if (operation == SubGroupOperation.BALLOT) {
+                asm.emitLine("vote.sync.ballot.b32\t%s, %%sg_pred, %s;", destName, FULL_MASK);
+            } else {
+                asm.emitLine("vote.sync.%s.pred\t%%sg_pred, %%sg_pred, %s;", mode, FULL_MASK);
+                asm.emitLine("selp.s32\t%s, 1, 0, %%sg_pred;", destName);
+            }
+            asm.emitLine(CURLY_BRACKETS_CLOSE);
+        }
+
+        private void emitReduction(PTXAssembler asm, PTXKind kind, String op, String destName, String valueName) {
+            asm.emitLine(CURLY_BRACKETS_OPEN);
+            asm.emitLine(".reg .%s %%sg_tmp;", kind);
+            asm.emitLine("mov.%s\t%s, %s;", kind, destName, valueName);
+            for (int offset = WARP_SIZE / 2; offset > 0; offset /= 2) {
+                emitShuffle(asm, "bfly", "%sg_tmp", destName, Integer.toString(offset), "0x1f");
+                asm.emitLine("%s.%s\t%s, %s, %%sg_tmp;", op, kind, destName, destName);
+            }
+            asm.emitLine(CURLY_BRACKETS_CLOSE);
+        }
+
+        private void emitScan(PTXAssembler asm, PTXKind kind, String destName, String valueName, boolean exclusive) {
+            asm.emitLine(CURLY_BRACKETS_OPEN);
+            asm.emitLine(".reg .%s %%sg_tmp;", kind);
+            asm.emitLine(".reg .pred %sg_pred;");
+            asm.emitLine("mov.%s\t%s, %s;", kind, destName, valueName);
+            for (int offset = 1; offset < WARP_SIZE; offset *= 2) {
+                emitShuffle(asm, "up", "%sg_tmp|%sg_pred", destName, Integer.toString(offset), "0");
+                asm.emitLine("@%%sg_pred add.%s\t%s, %s, %%sg_tmp;", kind, destName, destName);
+            }
+            if (exclusive) {
+                emitShuffle(asm, "up", "%sg_tmp|%sg_pred", destName, "1", "0");
+                asm.emitLine("selp.%s\t%s, %%sg_tmp, %s, %%sg_pred;", kind, destName, kind.isFloating() ? "0F00000000" : "0");
+            }
+            asm.emitLine(CURLY_BRACKETS_CLOSE);
+        }
+
+        @Override
+        public void emitCode(PTXCompilationResultBuilder crb, PTXAssembler asm) {
+            PTXKind kind = (PTXKind) dest.getPlatformKind();
+            String destName = PTXAssembler.toString(dest);
+            String valueName = PTXAssembler.toString(value);
+            switch (operation) {
+                case SHUFFLE:
+                case BROADCAST:
+                    emitShuffle(asm, "idx", destName, valueName, PTXAssembler.toString(lane), "0x1f");
+                    break;
+                case SHUFFLE_XOR:
+                    emitShuffle(asm, "bfly", destName, valueName, PTXAssembler.toString(lane), "0x1f");
+                    break;
+                case ANY:
+                    emitVote(asm, "any", destName, valueName);
+                    break;
+                case ALL:
+                    emitVote(asm, "all", destName, valueName);
+                    break;
+                case BALLOT:
+                    emitVote(asm, "ballot", destName, valueName);
+                    break;
+                case REDUCE_ADD:
+                    emitReduction(asm, kind, "add", destName, valueName);
+                    break;
+                case REDUCE_MIN:
+                    emitReduction(asm, kind, "min", destName, valueName);
+                    break;
+                case REDUCE_MAX:
+                    emitReduction(asm, kind, "max", destName, valueName);
+                    break;
+                case INCLUSIVE_SCAN_ADD:
+                    emitScan(asm, kind, destName, valueName, false);
+                    break;
+                case EXCLUSIVE_SCAN_ADD:
+                    emitScan(asm, kind, destName, valueName, true);
+                    break;
+                default:
+                    throw new TornadoInternalError("Subgroup operation not supported: " + operation);
+            }
+        }
+    }
+
     @Opcode("LOAD")
     public static class LoadStmt extends AbstractInstruction {
         public static final LIRInstructionClass<LoadStmt> TYPE = LIRInstructionClass.create(LoadStmt.class);
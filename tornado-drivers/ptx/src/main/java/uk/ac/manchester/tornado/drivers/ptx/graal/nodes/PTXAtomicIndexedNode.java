@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.nodeinfo.InputType;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.memory.SingleMemoryKill;
+import org.graalvm.compiler.nodes.memory.address.AddressNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+import org.graalvm.word.LocationIdentity;
+
+import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXLIRGenerator;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXUnary.MemoryAccess;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode.AtomicOperation;
+
+/**
+ * Lowered form of an {@link AtomicIndexedNode}: an atomic read-modify-write on
+ * the element at {@code address}, producing the previous value.
+ */
+@NodeInfo(nameTemplate = "PTXAtomic{p#operation/s}")
+public class PTXAtomicIndexedNode extends FixedWithNextNode implements LIRLowerable, SingleMemoryKill {
+
+    public static final NodeClass<PTXAtomicIndexedNode> TYPE = NodeClass.create(PTXAtomicIndexedNode.class);
+
+    @Input(InputType.Association)
+    protected AddressNode address;
+    @Input
+    protected ValueNode value;
+    @OptionalInput
+    protected ValueNode expected;
+
+    private final AtomicOperation operation;
+    private final LocationIdentity location;
+
+    public PTXAtomicIndexedNode(AtomicIndexedNode atomic, AddressNode address) {
+        super(TYPE, atomic.stamp(NodeView.DEFAULT));
+        this.address = address;
+        this.value = atomic.value();
+        this.expected = atomic.expected();
+        this.operation = atomic.getOperation();
+        this.location = atomic.getKilledLocationIdentity();
+    }
+
+    public AtomicOperation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public LocationIdentity getKilledLocationIdentity() {
+        return location;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool builder) {
+        PTXLIRGenerator gen = (PTXLIRGenerator) builder.getLIRGeneratorTool();
+        LIRKind kind = gen.getLIRKind(stamp);
+        Value expectedValue = (expected != null) ? builder.operand(expected) : null;
+        Variable result = gen.getArithmetic().emitAtomicIndexed(operation, kind, (MemoryAccess) builder.operand(address), builder.operand(value), expectedValue, isResultUsed());
+        builder.setResult(this, result);
+    }
+
+    private boolean isResultUsed() {
+        for (Node usage : usages()) {
+            if (!(usage instanceof FrameState)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.gen.ArithmeticLIRGeneratorTool;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.BinaryNode;
+import org.graalvm.compiler.nodes.spi.CanonicalizerTool;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
+import uk.ac.manchester.tornado.drivers.common.logging.Logger;
+import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXBinaryOp;
+import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXLIRGenerator;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXArithmeticTool;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXKind;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXLIRStmt.AssignStmt;
+
+/**
+ * Arithmetic on the bits of two half-precision values ({@link HalfFloat}). On
+ * {@code sm_53} and newer, additions, subtractions and multiplications are
+ * computed on {@code .f16} registers with {@code add.rn.f16},
+ * {@code sub.rn.f16} and {@code mul.rn.f16}. PTX has no half-precision
+ * division, so divisions, and every operation on older architectures, convert
+ * the operands to float and round the result back.
+ */
+@NodeInfo(nameTemplate = "{p#operation/s}")
+public class PTXHalfArithmeticNode extends BinaryNode implements LIRLowerable {
+
+    public static final NodeClass<PTXHalfArithmeticNode> TYPE = NodeClass.create(PTXHalfArithmeticNode.class);
+
+    public enum Operation {
+        ADD, //
+        SUB, //
+        MULT, //
+        DIV
+    }
+
+    protected final Operation operation;
+
+    public PTXHalfArithmeticNode(ValueNode x, ValueNode y, Operation operation) {
+        super(TYPE, StampFactory.forKind(JavaKind.Short), x, y);
+        this.operation = operation;
+    }
+
+    public static ValueNode create(ValueNode x, ValueNode y, Operation operation) {
+        ValueNode constant = tryConstantFold(x, y, operation);
+        return (constant != null) ? constant : new PTXHalfArithmeticNode(x, y, operation);
+    }
+
+    private static ValueNode tryConstantFold(ValueNode x, ValueNode y, Operation operation) {
+        if (!x.isConstant() || !y.isConstant()) {
+            return null;
+        }
+        return ConstantNode.forIntegerKind(JavaKind.Short, compute((short) x.asJavaConstant().asInt(), (short) y.asJavaConstant().asInt(), operation));
+    }
+
+    private static short compute(short x, short y, Operation operation) {
+        switch (operation) {
+            case ADD:
+                return HalfFloat.add(x, y);
+            case SUB:
+                return HalfFloat.sub(x, y);
+            case MULT:
+                return HalfFloat.mult(x, y);
+            default:
+                return HalfFloat.div(x, y);
+        }
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public Stamp foldStamp(Stamp stampX, Stamp stampY) {
+        return stamp(NodeView.DEFAULT);
+    }
+
+    @Override
+    public ValueNode canonical(CanonicalizerTool tool, ValueNode forX, ValueNode forY) {
+        ValueNode constant = tryConstantFold(forX, forY, operation);
+        return (constant != null) ? constant : this;
+    }
+
+    private static PTXBinaryOp getHalfOperation(Operation operation) {
+        switch (operation) {
+            case ADD:
+                return PTXBinaryOp.ADD;
+            case SUB:
+                return PTXBinaryOp.SUB;
+            case MULT:
+                return PTXBinaryOp.MUL;
+            default:
+                return null;
+        }
+    }
+
+    private static Value emitFloatOperation(ArithmeticLIRGeneratorTool arithmetic, Operation operation, Value x, Value y) {
+        switch (operation) {
+            case ADD:
+                return arithmetic.emitAdd(x, y, false);
+            case SUB:
+                return arithmetic.emitSub(x, y, false);
+            case MULT:
+                return arithmetic.emitMul(x, y, false);
+            default:
+                return arithmetic.emitDiv(x, y, null);
+        }
+    }
+
+    private static Variable toHalfRegister(PTXLIRGenerator gen, Value input) {
+        Variable bits = gen.newVariable(LIRKind.value(PTXKind.S16));
+        Variable half = gen.newVariable(LIRKind.value(PTXKind.F16));
+        gen.append(new AssignStmt(bits, input));
+        gen.append(new AssignStmt(half, PTXKind.B16, bits, PTXKind.B16));
+        return half;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool builder) {
+        Logger.traceBuildLIR(Logger.BACKEND.PTX, "emitHalfArithmetic: op=%s, x=%s, y=%s", operation, getX(), getY());
+        PTXLIRGenerator gen = (PTXLIRGenerator) builder.getLIRGeneratorTool();
+        Value x = builder.operand(getX());
+        Value y = builder.operand(getY());
+        PTXBinaryOp halfOperation = getHalfOperation(operation);
+        if (halfOperation != null && gen.target().supportsFP16()) {
+            Variable half = ((PTXArithmeticTool) gen.getArithmetic()).emitBinaryAssign(halfOperation, LIRKind.value(PTXKind.F16), toHalfRegister(gen, x), toHalfRegister(gen, y));
+            Variable bits = gen.newVariable(LIRKind.value(PTXKind.S16));
+            Variable result = gen.newVariable(gen.getLIRKind(stamp));
+            gen.append(new AssignStmt(bits, PTXKind.B16, half, PTXKind.B16));
+            gen.append(new AssignStmt(result, bits));
+            builder.setResult(this, result);
+        } else {
+            Variable floatX = PTXHalfConvertNode.emitConversion(gen, PTXHalfConvertNode.Operation.TO_FLOAT, x);
+            Variable floatY = PTXHalfConvertNode.emitConversion(gen, PTXHalfConvertNode.Operation.TO_FLOAT, y);
+            Value result = emitFloatOperation(gen.getArithmetic(), operation, floatX, floatY);
+            builder.setResult(this, PTXHalfConvertNode.emitConversion(gen, PTXHalfConvertNode.Operation.TO_HALF, result));
+        }
+    }
+}
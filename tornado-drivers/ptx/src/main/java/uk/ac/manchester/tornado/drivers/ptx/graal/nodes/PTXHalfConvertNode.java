@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.UnaryNode;
+import org.graalvm.compiler.nodes.spi.CanonicalizerTool;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
+import uk.ac.manchester.tornado.drivers.common.logging.Logger;
+import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXLIRGenerator;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXKind;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXLIRStmt.AssignStmt;
+
+/**
+ * Conversion between float and the bits of a half-precision value
+ * ({@link HalfFloat}). The bits are moved into an {@code .f16} register, which
+ * is converted with {@code cvt}.
+ */
+@NodeInfo(nameTemplate = "{p#operation/s}")
+public class PTXHalfConvertNode extends UnaryNode implements LIRLowerable {
+
+    public static final NodeClass<PTXHalfConvertNode> TYPE = NodeClass.create(PTXHalfConvertNode.class);
+
+    public enum Operation {
+        TO_FLOAT, //
+        TO_HALF
+    }
+
+    protected final Operation operation;
+
+    public PTXHalfConvertNode(ValueNode value, Operation operation) {
+        super(TYPE, stampFor(operation), value);
+        this.operation = operation;
+    }
+
+    private static Stamp stampFor(Operation operation) {
+        return StampFactory.forKind(operation == Operation.TO_FLOAT ? JavaKind.Float : JavaKind.Short);
+    }
+
+    public static ValueNode create(ValueNode value, Operation operation) {
+        ValueNode constant = tryConstantFold(value, operation);
+        return (constant != null) ? constant : new PTXHalfConvertNode(value, operation);
+    }
+
+    private static ValueNode tryConstantFold(ValueNode value, Operation operation) {
+        if (!value.isConstant()) {
+            return null;
+        }
+        if (operation == Operation.TO_FLOAT) {
+            return ConstantNode.forFloat(HalfFloat.toFloat((short) value.asJavaConstant().asInt()));
+        }
+        return ConstantNode.forIntegerKind(JavaKind.Short, HalfFloat.toHalf(value.asJavaConstant().asFloat()));
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public Node canonical(CanonicalizerTool tool, ValueNode forValue) {
+        ValueNode constant = tryConstantFold(forValue, operation);
+        return (constant != null) ? constant : this;
+    }
+
+    /**
+     * Emits the conversion of {@code input} and returns the variable holding the
+     * converted value.
+     */
+    static Variable emitConversion(PTXLIRGenerator gen, Operation operation, Value input) {
+        Variable bits = gen.newVariable(LIRKind.value(PTXKind.S16));
+        Variable half = gen.newVariable(LIRKind.value(PTXKind.F16));
+        Variable result = gen.newVariable(gen.getLIRKind(stampFor(operation)));
+        if (operation == Operation.TO_FLOAT) {
+            gen.append(new AssignStmt(bits, input));
+            gen.append(new AssignStmt(half, PTXKind.B16, bits, PTXKind.B16));
+            gen.append(new AssignStmt(result, half));
+        } else {
+            gen.append(new AssignStmt(half, input));
+            gen.append(new AssignStmt(bits, PTXKind.B16, half, PTXKind.B16));
+            gen.append(new AssignStmt(result, bits));
+        }
+        return result;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool builder) {
+        Logger.traceBuildLIR(Logger.BACKEND.PTX, "emitHalfConvert: op=%s, x=%s", operation, getValue());
+        PTXLIRGenerator gen = (PTXLIRGenerator) builder.getLIRGeneratorTool();
+        builder.setResult(this, emitConversion(gen, operation, builder.operand(getValue())));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.drivers.ptx.graal.PTXArchitecture;
+import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXLIRGenerator;
+import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXNodeLIRBuilder;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXLIRStmt;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode.SubGroupOperation;
+
+/**
+ * Lowered form of a {@link SubGroupNode}. A subgroup is a warp: the size and
+ * lane are read from {@code WARP_SZ} and {@code %laneid}, data movement uses
+ * {@code shfl.sync} and votes use {@code vote.sync}, all with the full-warp
+ * member mask. The subgroup id and the number of subgroups are computed from
+ * the thread ids during lowering.
+ */
+@NodeInfo(nameTemplate = "PTXSubGroup{p#operation/s}")
+public class PTXSubGroupNode extends FixedWithNextNode implements LIRLowerable {
+
+    public static final NodeClass<PTXSubGroupNode> TYPE = NodeClass.create(PTXSubGroupNode.class);
+
+    @OptionalInput
+    protected ValueNode value;
+    @OptionalInput
+    protected ValueNode lane;
+
+    private final SubGroupOperation operation;
+
+    public PTXSubGroupNode(SubGroupNode subGroup) {
+        super(TYPE, subGroup.stamp(NodeView.DEFAULT));
+        this.value = subGroup.value();
+        this.lane = subGroup.lane();
+        this.operation = subGroup.getOperation();
+    }
+
+    public SubGroupOperation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool builder) {
+        PTXLIRGenerator gen = (PTXLIRGenerator) builder.getLIRGeneratorTool();
+        LIRKind kind = gen.getLIRKind(stamp);
+        Variable result;
+        switch (operation) {
+            case SIZE:
+                result = emitBuiltIn((PTXNodeLIRBuilder) builder, gen, PTXArchitecture.WarpSize, kind);
+                break;
+            case LOCAL_ID:
+                result = emitBuiltIn((PTXNodeLIRBuilder) builder, gen, PTXArchitecture.LaneID, kind);
+                break;
+            default:
+                Value laneValue = (lane != null) ? builder.operand(lane) : null;
+                result = gen.getArithmetic().emitSubGroup(operation, kind, builder.operand(value), laneValue);
+                break;
+        }
+        builder.setResult(this, result);
+    }
+
+    private static Variable emitBuiltIn(PTXNodeLIRBuilder builder, PTXLIRGenerator gen, PTXArchitecture.PTXBuiltInRegister builtIn, LIRKind kind) {
+        Variable result = gen.newVariable(kind);
+        gen.append(new PTXLIRStmt.AssignStmt(result, builder.getBuiltInAllocation(builtIn)));
+        return result;
+    }
+}
@@ -35,9 +35,18 @@ public class PTXKernelArgs extends PTXByteBuffer implements KernelArgs {
     public static final int RESERVED_SLOTS = 3;
     private final ArrayList<CallArgument> callArguments;
 
+    /**
+     * The kernel context lives in a buffer that is only written by this object,
+     * so it is copied to the device only when its contents change. This keeps
+     * consecutive kernel launches adjacent on the PTX stream.
+     */
+    private final long[] kernelContext;
+    private boolean kernelContextOnDevice;
+
     public PTXKernelArgs(long address, int numArgs, PTXDeviceContext deviceContext) {
         super(address, RESERVED_SLOTS << 3, 0, deviceContext);
         this.callArguments = new ArrayList<>(numArgs);
+        this.kernelContext = new long[RESERVED_SLOTS];
 
         buffer.clear();
     }
@@ -60,6 +69,7 @@ public class PTXKernelArgs extends PTXByteBuffer implements KernelArgs {
     @Override
     public void write() {
         super.write();
+        kernelContextOnDevice = true;
     }
 
     @Override
@@ -67,8 +77,18 @@ public class PTXKernelArgs extends PTXByteBuffer implements KernelArgs {
         return enqueueWrite(null);
     }
 
+    /**
+     * Enqueues the copy of the kernel context to the device.
+     *
+     * @return the event of the copy, or -1 if the device already holds the same
+     *         kernel context.
+     */
     @Override
     public int enqueueWrite(int[] events) {
+        if (kernelContextOnDevice) {
+            return -1;
+        }
+        kernelContextOnDevice = true;
         return super.enqueueWrite(events);
     }
 
@@ -76,11 +96,12 @@ public class PTXKernelArgs extends PTXByteBuffer implements KernelArgs {
     public void setKernelContext(HashMap<Integer, Integer> map) {
         buffer.clear();
         for (int i = 0; i < RESERVED_SLOTS; i++) {
-            if (map.containsKey(i)) {
-                buffer.putLong(map.get(i));
-            } else {
-                buffer.putLong(0);
+            long value = map.containsKey(i) ? map.get(i) : 0;
+            if (value != kernelContext[i]) {
+                kernelContext[i] = value;
+                kernelContextOnDevice = false;
             }
+            buffer.putLong(value);
         }
     }
 }
@@ -33,7 +33,6 @@ import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 public class PTXMemoryManager extends TornadoLogger implements TornadoMemoryProvider {
 
     private PTXDeviceContext deviceContext;
-    private PTXKernelArgs ptxKernelCallWrapper = null;
 
     public PTXMemoryManager(PTXDeviceContext deviceContext) {
         this.deviceContext = deviceContext;
@@ -45,11 +44,8 @@ public class PTXMemoryManager extends TornadoLogger implements TornadoMemoryProv
     }
 
     public PTXKernelArgs createCallWrapper(final int maxArgs) {
-        if (this.ptxKernelCallWrapper == null) {
-            long kernelCallBuffer = deviceContext.getDevice().getPTXContext().allocateMemory(RESERVED_SLOTS * Long.BYTES);
-            this.ptxKernelCallWrapper = new PTXKernelArgs(kernelCallBuffer, maxArgs, deviceContext);
-        }
-        return this.ptxKernelCallWrapper;
+        long kernelCallBuffer = deviceContext.getDevice().getPTXContext().allocateMemory(RESERVED_SLOTS * Long.BYTES);
+        return new PTXKernelArgs(kernelCallBuffer, maxArgs, deviceContext);
     }
 
     private static long align(final long address, final long alignment) {
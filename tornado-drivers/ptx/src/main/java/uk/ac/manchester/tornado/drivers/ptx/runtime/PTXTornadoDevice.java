@@ -479,6 +479,11 @@ public class PTXTornadoDevice implements TornadoAcceleratorDevice {
         getDeviceContext().flushEvents();
     }
 
+    @Override
+    public void releaseEvents(int[] localEventIDs) {
+        getDeviceContext().releaseEvents(localEventIDs);
+    }
+
     @Override
     public int enqueueBarrier() {
         return getDeviceContext().enqueueBarrier();
@@ -25,6 +25,7 @@
 #include "levelZeroCommandList.h"
 
 #include <iostream>
+#include <vector>
 #include "ze_api.h"
 #include "ze_log.h"
 /*
@@ -540,3 +541,24 @@ JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_Lev
 
     return result;
 }
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroCommandList
+ * Method:    zeCommandListAppendWaitOnEvents_native
+ * Signature: (JI[J)I
+ */
+JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroCommandList_zeCommandListAppendWaitOnEvents_1native
+        (JNIEnv *env, jobject, jlong javaCommandListHandler, jint numEvents, jlongArray javaEvents) {
+    ze_command_list_handle_t cmdList = reinterpret_cast<ze_command_list_handle_t>(javaCommandListHandler);
+
+    jlong *eventPointers = env->GetLongArrayElements(javaEvents, nullptr);
+    std::vector<ze_event_handle_t> waitEvents(numEvents);
+    for (int i = 0; i < numEvents; i++) {
+        waitEvents[i] = reinterpret_cast<ze_event_handle_t>(eventPointers[i]);
+    }
+    env->ReleaseLongArrayElements(javaEvents, eventPointers, JNI_ABORT);
+
+    ze_result_t result = zeCommandListAppendWaitOnEvents(cmdList, numEvents, waitEvents.data());
+    LOG_ZE_JNI("zeCommandListAppendWaitOnEvents", result);
+    return result;
+}
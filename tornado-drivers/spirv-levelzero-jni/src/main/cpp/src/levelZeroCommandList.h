@@ -217,6 +217,14 @@ JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_Lev
 JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroCommandList_zeCommandListAppendMemAdvise_1native
         (JNIEnv *, jobject, jlong, jlong, jobject, jint, jint);
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroCommandList
+ * Method:    zeCommandListAppendWaitOnEvents_native
+ * Signature: (JI[J)I
+ */
+JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroCommandList_zeCommandListAppendWaitOnEvents_1native
+        (JNIEnv *, jobject, jlong, jint, jlongArray);
+
 #ifdef __cplusplus
 }
 #endif
@@ -529,14 +529,7 @@ JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_Lev
     return result;
 }
 
-/*
- * Class:     uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroContext
- * Method:    zeModuleCreate_nativeWithPath
- * Signature: (JJLuk/ac/manchester/tornado/drivers/spirv/levelzero/ZeModuleDescriptor;Luk/ac/manchester/tornado/drivers/spirv/levelzero/ZeModuleHandle;Luk/ac/manchester/tornado/drivers/spirv/levelzero/ZeBuildLogHandle;Ljava/lang/String;)I
- */
-JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroContext_zeModuleCreate_1nativeWithPath
-        (JNIEnv *env, jobject object, jlong javaContextPtr, jlong javaDeviceHandler, jobject javaModuleDesc, jobject javaModuleHandle, jobject javaBuildLog, jstring pathToBinary) {
-
+ze_result_t createModule(JNIEnv *env, jlong javaContextPtr, jlong javaDeviceHandler, jobject javaModuleDesc, jobject javaModuleHandle, jobject javaBuildLog, const uint8_t *spirvInput, size_t length) {
     ze_context_handle_t context = reinterpret_cast<ze_context_handle_t>(javaContextPtr);
     ze_device_handle_t device = reinterpret_cast<ze_device_handle_t>(javaDeviceHandler);
 
@@ -558,8 +551,62 @@ JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_Lev
     jfieldID buildFlagsField = env->GetFieldID(javaModuleDescClass, "pBuildFlags", "Ljava/lang/String;");
     jstring objectString = static_cast<jstring>(env->GetObjectField(javaModuleDesc, buildFlagsField));
     const char* buildFlags = env->GetStringUTFChars(objectString, 0);
+
+    ze_module_build_log_handle_t buildLog;
+    moduleDesc.stype = static_cast<ze_structure_type_t>(stype);
+    moduleDesc.format = static_cast<ze_module_format_t>(format);
+    moduleDesc.pInputModule = spirvInput;
+    moduleDesc.inputSize = length;
+    moduleDesc.pBuildFlags = buildFlags;
+
+    jclass javaModuleClass = env->GetObjectClass(javaModuleHandle);
+    jfieldID fieldPtr = env->GetFieldID(javaModuleClass, "ptrZeModuleHandle", "J");
+    jlong ptrModule = env->GetLongField(javaModuleHandle, fieldPtr);
+
+    ze_module_handle_t module = nullptr;
+    if (ptrModule != -1) {
+        module = reinterpret_cast<ze_module_handle_t>(ptrModule);
+    }
+
+    ze_result_t result = zeModuleCreate(context, device, &moduleDesc, &module, &buildLog);
+    LOG_ZE_JNI("zeModuleCreate", result);
+
+    // update module pointer
+    env->SetLongField(javaModuleHandle, fieldPtr, reinterpret_cast<jlong>(module));
+
+    // update module Descriptor object
+    jfieldID field = env->GetFieldID(javaModuleDescClass, "pNext", "J");
+    env->SetLongField(javaModuleDesc, field, (jlong) moduleDesc.pNext);
+
+    if (moduleDesc.pConstants != nullptr) {
+        field = env->GetFieldID(javaModuleDescClass, "numConstants", "I");
+        env->SetLongField(javaModuleDesc, field, (jlong) moduleDesc.pConstants->numConstants);
+        field = env->GetFieldID(javaModuleDescClass, "pConstantsIds", "J");
+        env->SetLongField(javaModuleDesc, field, (jlong) moduleDesc.pConstants->pConstantIds);
+        field = env->GetFieldID(javaModuleDescClass, "pConstantValues", "J");
+        env->SetLongField(javaModuleDesc, field, (jlong) moduleDesc.pConstants->pConstantValues);
+    }
+
+    // update build log object
+    jclass javaBuildLogClass = env->GetObjectClass(javaBuildLog);
+    jfieldID fieldPtrLog = env->GetFieldID(javaBuildLogClass, "ptrZeBuildLogHandle", "J");
+    env->SetLongField(javaBuildLog, fieldPtrLog, reinterpret_cast<jlong>(buildLog));
+
+    env->ReleaseStringUTFChars(objectString, buildFlags);
+    return result;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroContext
+ * Method:    zeModuleCreate_nativeWithPath
+ * Signature: (JJLuk/ac/manchester/tornado/drivers/spirv/levelzero/ZeModuleDescriptor;Luk/ac/manchester/tornado/drivers/spirv/levelzero/ZeModuleHandle;Luk/ac/manchester/tornado/drivers/spirv/levelzero/ZeBuildLogHandle;Ljava/lang/String;)I
+ */
+JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroContext_zeModuleCreate_1nativeWithPath
+        (JNIEnv *env, jobject object, jlong javaContextPtr, jlong javaDeviceHandler, jobject javaModuleDesc, jobject javaModuleHandle, jobject javaBuildLog, jstring pathToBinary) {
+
     const char* fileName = env->GetStringUTFChars(pathToBinary, 0);
     std::string f(fileName);
+    env->ReleaseStringUTFChars(pathToBinary, fileName);
 
     std::ifstream file(f, std::ios::binary);
 
@@ -570,57 +617,30 @@ JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_Lev
 
         std::unique_ptr<char[]> spirvInput(new char[length]);
         file.read(spirvInput.get(), length);
-
-        ze_module_build_log_handle_t buildLog;
-        moduleDesc.stype = static_cast<ze_structure_type_t>(stype);
-        moduleDesc.format = static_cast<ze_module_format_t>(format);
-        moduleDesc.pInputModule = reinterpret_cast<const uint8_t *>(spirvInput.get());
-        moduleDesc.inputSize = length;
-        moduleDesc.pBuildFlags = buildFlags;
-
-        jclass javaModuleClass = env->GetObjectClass(javaModuleHandle);
-        jfieldID fieldPtr = env->GetFieldID(javaModuleClass, "ptrZeModuleHandle", "J");
-        jlong ptrModule = env->GetLongField(javaModuleClass, fieldPtr);
-
-        ze_module_handle_t module = nullptr;
-        if (ptrModule != -1) {
-            module = reinterpret_cast<ze_module_handle_t>(ptrModule);
-        }
-
-        ze_result_t result = zeModuleCreate(context, device, &moduleDesc, &module, &buildLog);
-        LOG_ZE_JNI("zeModuleCreate", result);
-
-        // update module pointer
-        env->SetLongField(javaModuleHandle, fieldPtr, reinterpret_cast<jlong>(module));
-
-        // update module Descriptor object
-        jfieldID field = env->GetFieldID(javaModuleDescClass, "pNext", "J");
-        env->SetLongField(javaModuleDesc, field, (jlong) moduleDesc.pNext);
-
-        if (moduleDesc.pConstants != nullptr) {
-            field = env->GetFieldID(javaModuleDescClass, "numConstants", "I");
-            env->SetLongField(javaModuleDesc, field, (jlong) moduleDesc.pConstants->numConstants);
-            field = env->GetFieldID(javaModuleDescClass, "pConstantsIds", "J");
-            env->SetLongField(javaModuleDesc, field, (jlong) moduleDesc.pConstants->pConstantIds);
-            field = env->GetFieldID(javaModuleDescClass, "pConstantValues", "J");
-            env->SetLongField(javaModuleDesc, field, (jlong) moduleDesc.pConstants->pConstantValues);
-        }
-
-        // update build log object
-        jclass javaBuildLogClass = env->GetObjectClass(javaBuildLog);
-        jfieldID fieldPtrLog = env->GetFieldID(javaBuildLogClass, "ptrZeBuildLogHandle", "J");
-        env->SetLongField(javaBuildLog, fieldPtrLog, reinterpret_cast<jlong>(buildLog));
-
-        env->ReleaseStringUTFChars(objectString, buildFlags);
-        env->ReleaseStringUTFChars(pathToBinary, fileName);
-
         file.close();
-        return result;
+
+        return createModule(env, javaContextPtr, javaDeviceHandler, javaModuleDesc, javaModuleHandle, javaBuildLog, reinterpret_cast<const uint8_t *>(spirvInput.get()), length);
     } else {
         return -1;
     }
 }
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroContext
+ * Method:    zeModuleCreate_nativeWithBinary
+ * Signature: (JJLuk/ac/manchester/tornado/drivers/spirv/levelzero/ZeModuleDescriptor;Luk/ac/manchester/tornado/drivers/spirv/levelzero/ZeModuleHandle;Luk/ac/manchester/tornado/drivers/spirv/levelzero/ZeBuildLogHandle;[B)I
+ */
+JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroContext_zeModuleCreate_1nativeWithBinary
+        (JNIEnv *env, jobject object, jlong javaContextPtr, jlong javaDeviceHandler, jobject javaModuleDesc, jobject javaModuleHandle, jobject javaBuildLog, jbyteArray javaBinary) {
+
+    // zeModuleCreate translates the SPIR-V module before returning, so the Java array is only pinned during the call
+    jsize length = env->GetArrayLength(javaBinary);
+    jbyte *spirvInput = env->GetByteArrayElements(javaBinary, nullptr);
+    ze_result_t result = createModule(env, javaContextPtr, javaDeviceHandler, javaModuleDesc, javaModuleHandle, javaBuildLog, reinterpret_cast<const uint8_t *>(spirvInput), length);
+    env->ReleaseByteArrayElements(javaBinary, spirvInput, JNI_ABORT);
+    return result;
+}
+
 /*
  * Class:     uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroContext
  * Method:    zeMemFree_native
@@ -838,6 +858,22 @@ JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_Lev
     return 0;
 }
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroContext
+ * Method:    zeEventHostReset_native
+ * Signature: (J)I
+ */
+JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroContext_zeEventHostReset_1native
+        (JNIEnv *env, jobject object, jlong javaEventPtr) {
+    if (javaEventPtr != -1) {
+        ze_event_handle_t event = reinterpret_cast<ze_event_handle_t>(javaEventPtr);
+        ze_result_t result = zeEventHostReset(event);
+        LOG_ZE_JNI("zeEventHostReset", result);
+        return result;
+    }
+    return 0;
+}
+
 /*
  * Class:     uk_ac_manchester_tornado_drivers_spirv_levelzero_LevelZeroContext
  * Method:    zeMemAllocHost_native
@@ -131,6 +131,7 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVNodeLIRBuilder
 import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVNodeMatchRules;
 import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVReferenceMapBuilder;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVKind;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVSubGroupNode;
 import uk.ac.manchester.tornado.drivers.spirv.mm.SPIRVKernelArgs;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
@@ -302,10 +303,12 @@ public class SPIRVBackend extends TornadoBackend<SPIRVProviders> implements Fram
 
         if (crb.isKernel()) {
             // SPIR-V Header
+            // Group non-uniform instructions (subgroups) require SPIR-V 1.3
+            boolean usesSubGroups = ((ControlFlowGraph) lir.getControlFlowGraph()).graph.getNodes().filter(SPIRVSubGroupNode.class).isNotEmpty();
             asm.module = new SPIRVModule( //
                     new SPIRVHeader( //
                             SPIRV_HEADER_VALUES.SPIRV_MAJOR_VERSION, //
-                            SPIRV_HEADER_VALUES.SPIRV_MINOR_VERSION, //
+                            usesSubGroups ? SPIRV_HEADER_VALUES.SPIRV_MINOR_VERSION_SUBGROUPS : SPIRV_HEADER_VALUES.SPIRV_MINOR_VERSION, //
                             SPIRV_HEADER_VALUES.SPIRV_GENERATOR_ID, //
                             SPIRV_HEADER_VALUES.SPIRV_INITIAL_BOUND, // The bound will be filled once the code-gen is finished
                             SPIRV_HEADER_VALUES.SPIRV_SCHEMA)); //
@@ -349,6 +352,14 @@ public class SPIRVBackend extends TornadoBackend<SPIRVProviders> implements Fram
         fp64CapabilityEnabled = true;
     }
 
+    private void emitSubGroupCapabilities(SPIRVModule module) {
+        module.add(new SPIRVOpCapability(SPIRVCapability.GroupNonUniform()));
+        module.add(new SPIRVOpCapability(SPIRVCapability.GroupNonUniformVote()));
+        module.add(new SPIRVOpCapability(SPIRVCapability.GroupNonUniformBallot()));
+        module.add(new SPIRVOpCapability(SPIRVCapability.GroupNonUniformShuffle()));
+        module.add(new SPIRVOpCapability(SPIRVCapability.GroupNonUniformArithmetic()));
+    }
+
     private void emitSPIRVCapabilities(SPIRVModule module) {
         // Emit Capabilities
         module.add(new SPIRVOpCapability(SPIRVCapability.Addresses())); // Uses physical addressing, non-logical addressing modes.
@@ -506,6 +517,15 @@ public class SPIRVBackend extends TornadoBackend<SPIRVProviders> implements Fram
             SPIRVSymbolTable.put(SPIRVThreadBuiltIn.WORKGROUP_SIZE.name, id);
             asm.builtinTable.put(SPIRVThreadBuiltIn.WORKGROUP_SIZE, id);
         }
+
+        // Subgroup built-ins: get_sub_group_size(), get_sub_group_local_id(), ...
+        for (SPIRVThreadBuiltIn builtIn : SPIRVThreadBuiltIn.values()) {
+            if (builtIn.isSubGroupBuiltIn() && builtIn.isSubGroupBuiltInUsed(cfg.graph)) {
+                SPIRVId id = asm.emitDecorateOpenCLBuiltin(module, builtIn);
+                SPIRVSymbolTable.put(builtIn.name, id);
+                asm.builtinTable.put(builtIn, id);
+            }
+        }
     }
 
     private void emitPrologueForMainKernel(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm, ResolvedJavaMethod method, LIR lir, SPIRVId methodId, IDTable idTable) {
@@ -759,7 +779,11 @@ public class SPIRVBackend extends TornadoBackend<SPIRVProviders> implements Fram
     public void emitBuiltinVariables(SPIRVAssembler asm) {
         SPIRVId ptrV3ulong = asm.primitives.getPtrOpTypePointerWithStorage(SPIRVKind.OP_TYPE_VECTOR3_INT_64, SPIRVStorageClass.Input());
         for (Map.Entry<SPIRVThreadBuiltIn, SPIRVId> entry : asm.getBuiltinTableEntrySet()) {
-            asm.module.add(new SPIRVOpVariable(ptrV3ulong, entry.getValue(), SPIRVStorageClass.Input(), new SPIRVOptionalOperand<>()));
+            // Subgroup built-ins are scalar uint variables
+            SPIRVId type = entry.getKey().isSubGroupBuiltIn() //
+                    ? asm.primitives.getPtrOpTypePointerWithStorage(SPIRVKind.OP_TYPE_INT_32, SPIRVStorageClass.Input()) //
+                    : ptrV3ulong;
+            asm.module.add(new SPIRVOpVariable(type, entry.getValue(), SPIRVStorageClass.Input(), new SPIRVOptionalOperand<>()));
         }
     }
 
@@ -771,6 +795,9 @@ public class SPIRVBackend extends TornadoBackend<SPIRVProviders> implements Fram
         }
 
         emitSPIRVCapabilities(module);
+        if (cfg.graph.getNodes().filter(SPIRVSubGroupNode.class).isNotEmpty()) {
+            emitSubGroupCapabilities(module);
+        }
         emitImportOpenCL(asm, module);
         emitOpenCLAddressingMode(module);
         emitOpSourceForOpenCL(module, SPIRV_HEADER_VALUES.SPIRV_VERSION_FOR_OPENCL);
@@ -863,6 +890,7 @@ public class SPIRVBackend extends TornadoBackend<SPIRVProviders> implements Fram
         public static final int SPIRV_VERSION_FOR_OPENCL = 300000;
         public static final int SPIRV_MAJOR_VERSION = 1;
         public static final int SPIRV_MINOR_VERSION = 2;
+        public static final int SPIRV_MINOR_VERSION_SUBGROUPS = 3;
         public static final int SPIRV_GENERATOR_ID = 32;
         public static final int SPIRV_INITIAL_BOUND = 0;
         public static final int SPIRV_SCHEMA = 0;
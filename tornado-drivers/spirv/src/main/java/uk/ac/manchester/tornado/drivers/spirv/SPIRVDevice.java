@@ -49,6 +49,12 @@ public abstract class SPIRVDevice implements TornadoTargetDevice {
 
     public abstract boolean isDeviceDoubleFPSupported();
 
+    /**
+     * @return true if the device computes arithmetic on 16-bit floating-point
+     *         values (the SPIR-V {@code Float16} capability).
+     */
+    public abstract boolean isDeviceHalfFPSupported();
+
     public abstract String getDeviceExtensions();
 
     public abstract ByteOrder getByteOrder();
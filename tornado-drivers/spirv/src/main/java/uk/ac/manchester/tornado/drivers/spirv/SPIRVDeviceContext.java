@@ -182,44 +182,44 @@ public abstract class SPIRVDeviceContext implements TornadoDeviceContext {
 
     public int readBuffer(long bufferId, long offset, long bytes, byte[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_BYTE, profilerTransfer);
+        int nativeEvent = spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_BYTE, profilerTransfer, nativeEvent);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, int[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_INT, profilerTransfer);
+        int nativeEvent = spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_INT, profilerTransfer, nativeEvent);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, float[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_FLOAT, profilerTransfer);
+        int nativeEvent = spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_FLOAT, profilerTransfer, nativeEvent);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, double[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_DOUBLE, profilerTransfer);
+        int nativeEvent = spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_DOUBLE, profilerTransfer, nativeEvent);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, long[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_LONG, profilerTransfer);
+        int nativeEvent = spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_LONG, profilerTransfer, nativeEvent);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, short[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_SHORT, profilerTransfer);
+        int nativeEvent = spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_SHORT, profilerTransfer, nativeEvent);
     }
 
     public int readBuffer(long bufferId, long offset, long bytes, char[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_BYTE, profilerTransfer);
+        int nativeEvent = spirvContext.readBuffer(getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_READ_BYTE, profilerTransfer, nativeEvent);
     }
 
     public void writeBuffer(long bufferId, long offset, long bytes, byte[] value, long hostOffset, int[] waitEvents) {
@@ -289,44 +289,52 @@ public abstract class SPIRVDeviceContext implements TornadoDeviceContext {
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, byte[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_BYTE, profilerTransfer);
+        int nativeEvent = spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_BYTE, profilerTransfer, nativeEvent);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, int[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_INT, profilerTransfer);
+        int nativeEvent = spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_INT, profilerTransfer, nativeEvent);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, float[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_FLOAT, profilerTransfer);
+        int nativeEvent = spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_FLOAT, profilerTransfer, nativeEvent);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, double[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_DOUBLE, profilerTransfer);
+        int nativeEvent = spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_DOUBLE, profilerTransfer, nativeEvent);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, long[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_LONG, profilerTransfer);
+        int nativeEvent = spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_LONG, profilerTransfer, nativeEvent);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, short[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_SHORT, profilerTransfer);
+        int nativeEvent = spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_SHORT, profilerTransfer, nativeEvent);
     }
 
     public int enqueueWriteBuffer(long bufferId, long offset, long bytes, char[] value, long hostOffset, int[] waitEvents) {
         ProfilerTransfer profilerTransfer = createStartAndStopBufferTimers();
-        spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, waitEvents, profilerTransfer);
-        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_BYTE, profilerTransfer);
+        int nativeEvent = spirvContext.enqueueWriteBuffer(device.getDeviceIndex(), bufferId, offset, bytes, value, hostOffset, spirvEventPool.serialiseEvents(waitEvents), profilerTransfer);
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_WRITE_BYTE, profilerTransfer, nativeEvent);
+    }
+
+    public int registerKernelEvent(int nativeEvent) {
+        return spirvEventPool.registerEvent(EventDescriptor.DESC_PARALLEL_KERNEL, null, nativeEvent);
+    }
+
+    public int[] serialiseEvents(int[] waitEvents) {
+        return spirvEventPool.serialiseEvents(waitEvents);
     }
 
     public void enqueueBarrier(int deviceIndex) {
@@ -335,6 +343,19 @@ public abstract class SPIRVDeviceContext implements TornadoDeviceContext {
 
     public void flush(int deviceIndex) {
         spirvContext.flush(deviceIndex);
+        spirvEventPool.releaseConsumedEvents();
+    }
+
+    /**
+     * The commands of a run have completed once its command lists have been
+     * flushed, so the events handed back can be released.
+     */
+    public void flushEvents() {
+        spirvEventPool.releaseConsumedEvents();
+    }
+
+    public void releaseEvents(int[] localEventIDs) {
+        spirvEventPool.releaseLater(localEventIDs);
     }
 
     public TornadoInstalledCode installBinary(SPIRVCompilationResult result) {
@@ -380,7 +401,7 @@ public abstract class SPIRVDeviceContext implements TornadoDeviceContext {
         LinkedList<TimeStamp> list = spirvEventPool.getTimers(eventId);
         EventDescriptor eventDescriptor = spirvEventPool.getDescriptor(eventId);
         if (TornadoOptions.USE_LEVELZERO_FOR_SPIRV) {
-            if (!TornadoOptions.isProfilerEnabled()) {
+            if (!TornadoOptions.isProfilerEnabled() || list.isEmpty()) {
                 return new SPIRVLevelZeroEvent(eventDescriptor, eventId, null, null);
             } else {
                 return new SPIRVLevelZeroEvent(eventDescriptor, eventId, list.get(0), list.get(1));
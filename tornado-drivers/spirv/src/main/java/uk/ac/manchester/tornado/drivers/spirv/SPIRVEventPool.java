@@ -23,53 +23,39 @@
  */
 package uk.ac.manchester.tornado.drivers.spirv;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.guarantee;
-import static uk.ac.manchester.tornado.runtime.common.Tornado.EVENT_WINDOW;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.CIRCULAR_EVENTS;
 
-import java.util.BitSet;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.LinkedList;
 
 import uk.ac.manchester.tornado.drivers.common.EventDescriptor;
+import uk.ac.manchester.tornado.drivers.common.EventPool;
 import uk.ac.manchester.tornado.drivers.spirv.timestamps.TimeStamp;
 
 /**
  * This class controls a pools of low-level events for the device. There is a
  * pool of events per device, and it handles the actual events that will
- * communicate with the correct driver (e.g., LevelZero event, OCL events).
+ * communicate with the correct driver (e.g., LevelZero event, OCL events). The
+ * driver event is kept as the handle of each slot, and the profiling timestamps
+ * as its payload.
  */
-public class SPIRVEventPool {
-
-    private final int poolSize;
-    private final BitSet retain;
-    private int eventPositionIndex;
-
-    private final HashMap<Integer, LinkedList<TimeStamp>> events;
-    private final EventDescriptor[] descriptors;
+public class SPIRVEventPool extends EventPool<LinkedList<TimeStamp>> {
 
     protected SPIRVEventPool(int poolSize) {
-        this.poolSize = poolSize;
-        this.events = new HashMap<>();
-        this.descriptors = new EventDescriptor[poolSize];
-        this.retain = new BitSet(poolSize);
-        this.eventPositionIndex = 0;
+        super(poolSize, CIRCULAR_EVENTS);
     }
 
-    private void findNextEventSlot() {
-        eventPositionIndex = retain.nextClearBit(eventPositionIndex + 1);
-        if (CIRCULAR_EVENTS && (eventPositionIndex >= poolSize)) {
-            eventPositionIndex = 0;
-        }
-        guarantee(eventPositionIndex != -1, "event window is full (retained=%d, capacity=%d)", retain.cardinality(), EVENT_WINDOW);
+    protected int registerEvent(EventDescriptor eventDescriptor, ProfilerTransfer profilerTransfer) {
+        return registerEvent(eventDescriptor, profilerTransfer, -1);
     }
 
-    protected int registerEvent(EventDescriptor eventDescriptor, ProfilerTransfer profilerTransfer) {
-        if (retain.get(eventPositionIndex)) {
-            findNextEventSlot();
-        }
-        final int currentEventPosition = eventPositionIndex;
-        guarantee(!retain.get(currentEventPosition), "overwriting retained event");
+    /**
+     * Registers a new event that is backed by the given driver event (e.g., the
+     * index of a Level Zero event in the {@link SPIRVLevelZeroEventGraph}), or -1
+     * if the command does not signal a driver event.
+     */
+    protected int registerEvent(EventDescriptor eventDescriptor, ProfilerTransfer profilerTransfer, int nativeEvent) {
+        final int currentEventPosition = acquire();
 
         LinkedList<TimeStamp> listTimeStamps = new LinkedList<>();
 
@@ -78,17 +64,33 @@ public class SPIRVEventPool {
             listTimeStamps.add(profilerTransfer.getStop());
         }
 
-        events.put(currentEventPosition, listTimeStamps);
-        descriptors[currentEventPosition] = eventDescriptor;
-        findNextEventSlot();
+        setPayload(currentEventPosition, listTimeStamps);
+        setDescriptor(currentEventPosition, eventDescriptor);
+        setHandle(currentEventPosition, nativeEvent);
         return currentEventPosition;
     }
 
-    public LinkedList<TimeStamp> getTimers(int eventId) {
-        return events.get(eventId);
+    /**
+     * Translates a TornadoVM list of events into the driver events they are backed
+     * by.
+     *
+     * @return the driver events, or null if there are no events to wait on.
+     */
+    protected int[] serialiseEvents(int[] dependencies) {
+        if (dependencies == null || dependencies.length == 0) {
+            return null;
+        }
+        int[] waitEvents = new int[dependencies.length];
+        int index = 0;
+        for (final int value : dependencies) {
+            if (value != -1 && getHandle(value) != -1) {
+                waitEvents[index++] = (int) getHandle(value);
+            }
+        }
+        return (index > 0) ? Arrays.copyOf(waitEvents, index) : null;
     }
 
-    public EventDescriptor getDescriptor(int eventId) {
-        return descriptors[eventId];
+    public LinkedList<TimeStamp> getTimers(int eventId) {
+        return getPayload(eventId);
     }
 }
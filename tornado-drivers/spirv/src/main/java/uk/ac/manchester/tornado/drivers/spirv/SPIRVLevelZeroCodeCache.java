@@ -24,10 +24,7 @@
 package uk.ac.manchester.tornado.drivers.spirv;
 
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -62,41 +59,18 @@ public class SPIRVLevelZeroCodeCache extends SPIRVCodeCache {
         super(deviceContext);
     }
 
-    private static void writeBufferToFile(ByteBuffer buffer, String filepath) {
-        buffer.flip();
-        try (FileOutputStream fos = new FileOutputStream(filepath)) {
-            fos.write(buffer.array());
-        } catch (Exception e) {
-            throw new RuntimeException("[ERROR] Store of the SPIR-V File failed.");
-        } finally {
-            buffer.clear();
-        }
-    }
-
     @Override
     public SPIRVInstalledCode installSPIRVBinary(TaskMetaData meta, String id, String entryPoint, byte[] code) {
 
         if (code == null || code.length == 0) {
             throw new RuntimeException("[ERROR] Binary SPIR-V Module is Empty");
         }
-        ByteBuffer buffer = ByteBuffer.allocate(code.length);
-        buffer.order(ByteOrder.LITTLE_ENDIAN);
-        buffer.put(code);
-        String tempDirectory = System.getProperty("java.io.tmpdir");
-        String spirvTempDirectory = tempDirectory + "/tornadoVM-spirv";
-        Path path = Paths.get(spirvTempDirectory);
-        try {
-            Files.createDirectories(path);
-        } catch (IOException e) {
-            throw new TornadoBailoutRuntimeException("Error - Exception when creating the temp directory for SPIR-V");
-        }
-        long timeStamp = System.nanoTime();
-        String file = spirvTempDirectory + "/" + timeStamp + "-" + id + entryPoint + ".spv";
-        if (Tornado.DEBUG) {
-            System.out.println("SPIRV-File : " + file);
+        // The module is passed to Level Zero from memory. The file is only for debugging.
+        String pathToFile = null;
+        if (TornadoOptions.SPIRV_DUMP_BINARY) {
+            pathToFile = SPIRVLevelZeroModule.dumpBinary(code, id, entryPoint);
         }
-        writeBufferToFile(buffer, file);
-        return installSPIRVBinary(meta, id, entryPoint, file);
+        return installSPIRVModule(meta, id, entryPoint, code, pathToFile);
     }
 
     private void checkBinaryFileExists(String pathToFile) {
@@ -108,14 +82,23 @@ public class SPIRVLevelZeroCodeCache extends SPIRVCodeCache {
 
     @Override
     public SPIRVInstalledCode installSPIRVBinary(TaskMetaData meta, String id, String entryPoint, String pathToFile) {
+        checkBinaryFileExists(pathToFile);
+        byte[] code;
+        try {
+            code = Files.readAllBytes(Paths.get(pathToFile));
+        } catch (IOException e) {
+            throw new TornadoBailoutRuntimeException("Error - Exception when reading the SPIR-V binary " + pathToFile);
+        }
+        return installSPIRVModule(meta, id, entryPoint, code, pathToFile);
+    }
+
+    private SPIRVInstalledCode installSPIRVModule(TaskMetaData meta, String id, String entryPoint, byte[] code, String pathToFile) {
         ZeModuleHandle module = new ZeModuleHandle();
         ZeModuleDescriptor moduleDesc = new ZeModuleDescriptor();
         ZeBuildLogHandle buildLog = new ZeBuildLogHandle();
         moduleDesc.setFormat(ZeModuleFormat.ZE_MODULE_FORMAT_IL_SPIRV);
         moduleDesc.setBuildFlags("-ze-opt-level 2 -ze-opt-large-register-file");
 
-        checkBinaryFileExists(pathToFile);
-
         SPIRVContext spirvContext = deviceContext.getSpirvContext();
         SPIRVLevelZeroContext levelZeroContext = (SPIRVLevelZeroContext) spirvContext;
         LevelZeroContext context = levelZeroContext.getLevelZeroContext();
@@ -124,7 +107,7 @@ public class SPIRVLevelZeroCodeCache extends SPIRVCodeCache {
         SPIRVLevelZeroDevice levelZeroDevice = (SPIRVLevelZeroDevice) spirvDevice;
         LevelZeroDevice device = levelZeroDevice.getDevice();
 
-        int result = context.zeModuleCreate(context.getDefaultContextPtr(), device.getDeviceHandlerPtr(), moduleDesc, module, buildLog, pathToFile);
+        int result = context.zeModuleCreate(context.getDefaultContextPtr(), device.getDeviceHandlerPtr(), moduleDesc, module, buildLog, code);
         LevelZeroUtils.errorLog("zeModuleCreate", result);
 
         if (result != ZeResult.ZE_RESULT_SUCCESS) {
@@ -141,6 +124,10 @@ public class SPIRVLevelZeroCodeCache extends SPIRVCodeCache {
         }
 
         if (TornadoOptions.PRINT_SOURCE) {
+            // The disassembler reads the module from a file
+            if (pathToFile == null) {
+                pathToFile = SPIRVLevelZeroModule.dumpBinary(code, id, entryPoint);
+            }
             SPVFileReader reader = null;
             try {
                 reader = new SPVFileReader(pathToFile);
@@ -175,7 +162,7 @@ public class SPIRVLevelZeroCodeCache extends SPIRVCodeCache {
         // Create a Level Zero kernel Object
         LevelZeroKernel levelZeroKernel = new LevelZeroKernel(kernelDesc, kernel, levelZeroModule);
 
-        SPIRVModule spirvModule = new SPIRVLevelZeroModule(levelZeroModule, levelZeroKernel, entryPoint, pathToFile);
+        SPIRVModule spirvModule = new SPIRVLevelZeroModule(levelZeroModule, levelZeroKernel, id, entryPoint, code, pathToFile);
         SPIRVInstalledCode installedCode = new SPIRVLevelZeroInstalledCode(id, spirvModule, deviceContext);
 
         // Install module in the code cache
@@ -27,16 +27,29 @@ import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroCommandList;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroCommandQueue;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroDevice;
 
+/**
+ * Level Zero queues of a device. Kernels are appended to the compute command
+ * list, and host-device transfers to a command list of a copy engine, so both
+ * can overlap. The ordering between them is expressed with the events of the
+ * {@link SPIRVLevelZeroEventGraph}.
+ */
 public class SPIRVLevelZeroCommandQueue extends SPIRVCommandQueue {
 
     private LevelZeroCommandQueue commandQueue;
     private LevelZeroCommandList commandList;
+    private LevelZeroCommandQueue copyCommandQueue;
+    private LevelZeroCommandList copyCommandList;
     private LevelZeroDevice device;
+    private SPIRVLevelZeroEventGraph eventGraph;
 
-    public SPIRVLevelZeroCommandQueue(LevelZeroCommandQueue commandQueue, LevelZeroCommandList commandList, LevelZeroDevice device) {
+    public SPIRVLevelZeroCommandQueue(LevelZeroCommandQueue commandQueue, LevelZeroCommandList commandList, LevelZeroCommandQueue copyCommandQueue, LevelZeroCommandList copyCommandList,
+            LevelZeroDevice device, SPIRVLevelZeroEventGraph eventGraph) {
         this.commandQueue = commandQueue;
         this.commandList = commandList;
+        this.copyCommandQueue = copyCommandQueue;
+        this.copyCommandList = copyCommandList;
         this.device = device;
+        this.eventGraph = eventGraph;
     }
 
     public LevelZeroCommandQueue getCommandQueue() {
@@ -47,7 +60,19 @@ public class SPIRVLevelZeroCommandQueue extends SPIRVCommandQueue {
         return commandList;
     }
 
+    public LevelZeroCommandQueue getCopyCommandQueue() {
+        return copyCommandQueue;
+    }
+
+    public LevelZeroCommandList getCopyCommandList() {
+        return copyCommandList;
+    }
+
     public LevelZeroDevice getDevice() {
         return device;
     }
+
+    public SPIRVLevelZeroEventGraph getEventGraph() {
+        return eventGraph;
+    }
 }
@@ -71,9 +71,15 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
 
         commandQueues = new ArrayList<>();
         for (SPIRVDevice device : devices) {
-            LevelZeroCommandQueue commandQueue = createCommandQueue(levelZeroContext, device);
-            LevelZeroCommandList commandList = createCommandList(levelZeroContext, device);
-            commandQueues.add(new SPIRVLevelZeroCommandQueue(commandQueue, commandList, (LevelZeroDevice) device.getDevice()));
+            LevelZeroDevice levelZeroDevice = (LevelZeroDevice) device.getDevice();
+            int computeOrdinal = getCommandQueueOrdinal(levelZeroDevice);
+            int copyOrdinal = getCopyCommandQueueOrdinal(levelZeroDevice);
+            LevelZeroCommandQueue commandQueue = createCommandQueue(levelZeroContext, levelZeroDevice, computeOrdinal);
+            LevelZeroCommandList commandList = createCommandList(levelZeroContext, levelZeroDevice, computeOrdinal);
+            LevelZeroCommandQueue copyCommandQueue = createCommandQueue(levelZeroContext, levelZeroDevice, copyOrdinal);
+            LevelZeroCommandList copyCommandList = createCommandList(levelZeroContext, levelZeroDevice, copyOrdinal);
+            SPIRVLevelZeroEventGraph eventGraph = new SPIRVLevelZeroEventGraph(levelZeroContext, levelZeroDevice);
+            commandQueues.add(new SPIRVLevelZeroCommandQueue(commandQueue, commandList, copyCommandQueue, copyCommandList, levelZeroDevice, eventGraph));
         }
 
         spirvDeviceContext = new ArrayList<>();
@@ -114,18 +120,34 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         return ordinal;
     }
 
+    /**
+     * Returns the ordinal of a command queue group of copy engines. Devices
+     * without dedicated copy engines use the compute group for the transfers.
+     */
+    public static int getCopyCommandQueueOrdinal(LevelZeroDevice device) {
+        int ordinal = getCommandQueueOrdinal(device);
+        ZeCommandQueueGroupProperties[] commandQueueGroupProperties = device.getCommandQueueGroupProperties();
+        for (int i = 0; i < commandQueueGroupProperties.length; i++) {
+            int flags = commandQueueGroupProperties[i].getFlags();
+            if ((flags & ZeCommandQueueGroupPropertyFlags.ZE_COMMAND_QUEUE_GROUP_PROPERTY_FLAG_COPY) != 0 //
+                    && (flags & ZeCommandQueueGroupPropertyFlags.ZE_COMMAND_QUEUE_GROUP_PROPERTY_FLAG_COMPUTE) == 0) {
+                return i;
+            }
+        }
+        return ordinal;
+    }
+
     public LevelZeroContext getLevelZeroContext() {
         return levelZeroContext;
     }
 
-    private LevelZeroCommandQueue createCommandQueue(LevelZeroContext context, SPIRVDevice spirvDevice) {
-        LevelZeroDevice device = (LevelZeroDevice) spirvDevice.getDevice();
+    private LevelZeroCommandQueue createCommandQueue(LevelZeroContext context, LevelZeroDevice device, int ordinal) {
         // Create Command Queue
         ZeCommandQueueDescriptor cmdDescriptor = new ZeCommandQueueDescriptor();
         cmdDescriptor.setFlags(0);
         cmdDescriptor.setMode(ZeCommandQueueMode.ZE_COMMAND_QUEUE_MODE_DEFAULT);
         cmdDescriptor.setPriority(ZeCommandQueuePriority.ZE_COMMAND_QUEUE_PRIORITY_NORMAL);
-        cmdDescriptor.setOrdinal(getCommandQueueOrdinal(device));
+        cmdDescriptor.setOrdinal(ordinal);
         cmdDescriptor.setIndex(0);
 
         ZeCommandQueueHandle zeCommandQueueHandle = new ZeCommandQueueHandle();
@@ -134,11 +156,10 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         return new LevelZeroCommandQueue(context, zeCommandQueueHandle);
     }
 
-    private LevelZeroCommandList createCommandList(LevelZeroContext context, SPIRVDevice spirvDevice) {
-        LevelZeroDevice device = (LevelZeroDevice) spirvDevice.getDevice();
+    private LevelZeroCommandList createCommandList(LevelZeroContext context, LevelZeroDevice device, int ordinal) {
         ZeCommandListDescriptor cmdListDescriptor = new ZeCommandListDescriptor();
         cmdListDescriptor.setFlags(ZeCommandListFlag.ZE_COMMAND_LIST_FLAG_RELAXED_ORDERING);
-        cmdListDescriptor.setCommandQueueGroupOrdinal(getCommandQueueOrdinal(device));
+        cmdListDescriptor.setCommandQueueGroupOrdinal(ordinal);
         ZeCommandListHandle commandListHandler = new ZeCommandListHandle();
         int result = context.zeCommandListCreate(context.getContextHandle().getContextPtr()[0], device.getDeviceHandlerPtr(), cmdListDescriptor, commandListHandler);
         LevelZeroUtils.errorLog("zeCommandListCreate", result);
@@ -242,7 +263,8 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
     @Override
     public int readBuffer(int deviceIndex, long bufferId, long srcOffset, long bytes, byte[] value, long dstOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -251,19 +273,21 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), value, deviceBuffer, bytes, dstOffset, srcOffset, null, 0, null);
+        int event = eventGraph.prepareRead(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), value, deviceBuffer, bytes, dstOffset, srcOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-        return 0;
+        return event;
     }
 
     @Override
     public int readBuffer(int deviceIndex, long bufferId, long srcOffset, long bytes, char[] value, long dstOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -272,19 +296,21 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), value, deviceBuffer, bytes, dstOffset, srcOffset, null, 0, null);
+        int event = eventGraph.prepareRead(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), value, deviceBuffer, bytes, dstOffset, srcOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-        return 0;
+        return event;
     }
 
     @Override
     public int readBuffer(int deviceIndex, long bufferId, long srcOffset, long bytes, short[] value, long dstOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -293,19 +319,21 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), value, deviceBuffer, bytes, dstOffset, srcOffset, null, 0, null);
+        int event = eventGraph.prepareRead(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), value, deviceBuffer, bytes, dstOffset, srcOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-        return 0;
+        return event;
     }
 
     @Override
     public int readBuffer(int deviceIndex, long bufferId, long srcOffset, long bytes, int[] array, long dstOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -314,20 +342,21 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), array, deviceBuffer, bytes, dstOffset, srcOffset, null, 0, null);
+        int event = eventGraph.prepareRead(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), array, deviceBuffer, bytes, dstOffset, srcOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
-
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-        return 0;
+        return event;
     }
 
     @Override
     public int readBuffer(int deviceIndex, long bufferId, long srcOffset, long bytes, float[] value, long dstOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -336,20 +365,21 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), value, deviceBuffer, bytes, dstOffset, srcOffset, null, 0, null);
+        int event = eventGraph.prepareRead(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), value, deviceBuffer, bytes, dstOffset, srcOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
-
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-        return 0;
+        return event;
     }
 
     @Override
     public int readBuffer(int deviceIndex, long bufferId, long srcOffset, long bytes, double[] value, long dstOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -358,20 +388,21 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), value, deviceBuffer, bytes, dstOffset, srcOffset, null, 0, null);
+        int event = eventGraph.prepareRead(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), value, deviceBuffer, bytes, dstOffset, srcOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
-
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-        return 0;
+        return event;
     }
 
     @Override
     public int readBuffer(int deviceIndex, long bufferId, long srcOffset, long bytes, long[] value, long dstOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -380,21 +411,21 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), value, deviceBuffer, bytes, dstOffset, srcOffset, null, 0, null);
+        int event = eventGraph.prepareRead(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), value, deviceBuffer, bytes, dstOffset, srcOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-
-        return 0;
+        return event;
     }
 
-    // FIXME: <TODO> Events are still pending
     @Override
     public int enqueueWriteBuffer(int deviceIndex, long bufferId, long offset, long bytes, byte[] value, long hostOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -403,20 +434,21 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, value, bytes, offset, hostOffset, null, 0, null);
+        int event = eventGraph.prepareWrite(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, value, bytes, offset, hostOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
-
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-        return 0;
+        return event;
     }
 
     @Override
     public int enqueueWriteBuffer(int deviceIndex, long bufferId, long offset, long bytes, char[] value, long hostOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -425,21 +457,21 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, value, bytes, offset, hostOffset, null, 0, null);
+        int event = eventGraph.prepareWrite(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, value, bytes, offset, hostOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
-
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-        return 0;
+        return event;
     }
 
     @Override
     public int enqueueWriteBuffer(int deviceIndex, long bufferId, long offset, long bytes, short[] value, long hostOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -448,14 +480,14 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, value, bytes, offset, hostOffset, null, 0, null);
+        int event = eventGraph.prepareWrite(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, value, bytes, offset, hostOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
-
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-        return 0;
+        return event;
     }
 
     private void setupTimeStamps(LevelZeroCommandList commandList, LevelZeroTransferTimeStamp start, LevelZeroTransferTimeStamp stop) {
@@ -473,7 +505,8 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
     @Override
     public int enqueueWriteBuffer(int deviceIndex, long bufferId, long offset, long bytes, int[] array, long hostOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -482,21 +515,21 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, array, bytes, offset, hostOffset, null, 0, null);
+        int event = eventGraph.prepareWrite(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, array, bytes, offset, hostOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
-
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-
-        return 0;
+        return event;
     }
 
     @Override
     public int enqueueWriteBuffer(int deviceIndex, long bufferId, long offset, long bytes, float[] array, long hostOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -505,21 +538,21 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, array, bytes, offset, hostOffset, null, 0, null);
+        int event = eventGraph.prepareWrite(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, array, bytes, offset, hostOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
-
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-
-        return 0;
+        return event;
     }
 
     @Override
     public int enqueueWriteBuffer(int deviceIndex, long bufferId, long offset, long bytes, double[] value, long hostOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -528,20 +561,21 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, value, bytes, offset, hostOffset, null, 0, null);
+        int event = eventGraph.prepareWrite(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, value, bytes, offset, hostOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
-
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-        return 0;
+        return event;
     }
 
     @Override
     public int enqueueWriteBuffer(int deviceIndex, long bufferId, long offset, long bytes, long[] value, long hostOffset, int[] waitEvents, ProfilerTransfer profilerTransfer) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandList commandList = spirvCommandQueue.getCopyCommandList();
+        SPIRVLevelZeroEventGraph eventGraph = spirvCommandQueue.getEventGraph();
         LevelZeroByteBuffer deviceBuffer = deviceBufferMap.get(bufferId);
         if (deviceBuffer == null) {
             TornadoInternalError.shouldNotReachHere(BUFFER_NOT_FOUND_ERROR_MESSAGE);
@@ -550,45 +584,55 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
         if (profilerTransfer != null) {
             registerTimeStamp(commandList, profilerTransfer.getStart(), profilerTransfer.getStop());
         }
-
-        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, value, bytes, offset, hostOffset, null, 0, null);
+        int event = eventGraph.prepareWrite(commandList, bufferId, waitEvents);
+        int result = commandList.zeCommandListAppendMemoryCopyWithOffset(commandList.getCommandListHandlerPtr(), deviceBuffer, value, bytes, offset, hostOffset, eventGraph.getEvent(event), 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendMemoryCopyWithOffset", result);
-        enqueueBarrier(deviceIndex);
         if (profilerTransfer != null) {
+            eventGraph.waitFor(commandList, event);
             appendTimeStamp(profilerTransfer.getStop());
         }
-        return 0;
+        return event;
     }
 
     @Override
     public void enqueueBarrier(int deviceIndex) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
-        LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
-        int result = commandList.zeCommandListAppendBarrier(commandList.getCommandListHandlerPtr(), null, 0, null);
-        LevelZeroUtils.errorLog("zeCommandListAppendBarrier", result);
+        spirvCommandQueue.getEventGraph().appendBarrier(spirvCommandQueue.getCopyCommandList(), spirvCommandQueue.getCommandList());
     }
 
     @Override
     public void flush(int deviceIndex) {
         SPIRVLevelZeroCommandQueue spirvCommandQueue = commandQueues.get(deviceIndex);
+        LevelZeroCommandList copyCommandList = spirvCommandQueue.getCopyCommandList();
         LevelZeroCommandList commandList = spirvCommandQueue.getCommandList();
+        LevelZeroCommandQueue copyCommandQueue = spirvCommandQueue.getCopyCommandQueue();
         LevelZeroCommandQueue commandQueue = spirvCommandQueue.getCommandQueue();
 
-        // Close the command list
-        int result = commandList.zeCommandListClose(commandList.getCommandListHandlerPtr());
+        // Close the command lists
+        int result = copyCommandList.zeCommandListClose(copyCommandList.getCommandListHandlerPtr());
+        LevelZeroUtils.errorLog("zeCommandListClose", result);
+        result = commandList.zeCommandListClose(commandList.getCommandListHandlerPtr());
         LevelZeroUtils.errorLog("zeCommandListClose", result);
 
-        // Execute all commands within the command list
+        // Execute transfers and kernels on their own engines. The events of the
+        // graph order the commands between both queues.
+        result = copyCommandQueue.zeCommandQueueExecuteCommandLists(copyCommandQueue.getCommandQueueHandlerPtr(), 1, copyCommandList.getCommandListHandler(), null);
+        LevelZeroUtils.errorLog("zeCommandQueueExecuteCommandLists", result);
         result = commandQueue.zeCommandQueueExecuteCommandLists(commandQueue.getCommandQueueHandlerPtr(), 1, commandList.getCommandListHandler(), null);
         LevelZeroUtils.errorLog("zeCommandQueueExecuteCommandLists", result);
 
         // Synchronize
+        result = copyCommandQueue.zeCommandQueueSynchronize(copyCommandQueue.getCommandQueueHandlerPtr(), Long.MAX_VALUE);
+        LevelZeroUtils.errorLog("zeCommandQueueSynchronize", result);
         result = commandQueue.zeCommandQueueSynchronize(commandQueue.getCommandQueueHandlerPtr(), Long.MAX_VALUE);
         LevelZeroUtils.errorLog("zeCommandQueueSynchronize", result);
 
         // Reset for the rest of executions
+        result = copyCommandList.zeCommandListReset(copyCommandList.getCommandListHandlerPtr());
+        LevelZeroUtils.errorLog("zeCommandListReset", result);
         result = commandList.zeCommandListReset(commandList.getCommandListHandlerPtr());
         LevelZeroUtils.errorLog("zeCommandListReset", result);
+        spirvCommandQueue.getEventGraph().reset();
     }
 
 }
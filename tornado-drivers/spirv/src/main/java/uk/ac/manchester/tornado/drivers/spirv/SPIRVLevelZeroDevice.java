@@ -50,7 +50,7 @@ public class SPIRVLevelZeroDevice extends SPIRVDevice {
 
     private final long totalMemorySize;
 
-    private boolean queriedSupportFP64;
+    private boolean queriedModuleProperties;
     private ZeDeviceModuleProperties moduleProperties;
 
     public SPIRVLevelZeroDevice(int platformIndex, int deviceIndex, LevelZeroDevice device) {
@@ -117,18 +117,28 @@ public class SPIRVLevelZeroDevice extends SPIRVDevice {
         return "SPIRV LevelZero - " + deviceName;
     }
 
-    @Override
-    public boolean isDeviceDoubleFPSupported() {
-        if (!queriedSupportFP64) {
+    private ZeDeviceModuleProperties getModuleProperties() {
+        if (!queriedModuleProperties) {
             moduleProperties = new ZeDeviceModuleProperties();
             int result = device.zeDeviceGetModuleProperties(device.getDeviceHandlerPtr(), moduleProperties);
             errorLog("zeDeviceGetModuleProperties", result);
-            queriedSupportFP64 = true;
+            queriedModuleProperties = true;
         }
-        int flags = moduleProperties.getFlags();
+        return moduleProperties;
+    }
+
+    @Override
+    public boolean isDeviceDoubleFPSupported() {
+        int flags = getModuleProperties().getFlags();
         return (ZeDeviceModuleFlags.ZE_DEVICE_MODULE_FLAG_FP64 & flags) == ZeDeviceModuleFlags.ZE_DEVICE_MODULE_FLAG_FP64;
     }
 
+    @Override
+    public boolean isDeviceHalfFPSupported() {
+        int flags = getModuleProperties().getFlags();
+        return (ZeDeviceModuleFlags.ZE_DEVICE_MODULE_FLAG_FP16 & flags) == ZeDeviceModuleFlags.ZE_DEVICE_MODULE_FLAG_FP16;
+    }
+
     @Override
     public String getDeviceExtensions() {
         return device.getDeviceExtensions();
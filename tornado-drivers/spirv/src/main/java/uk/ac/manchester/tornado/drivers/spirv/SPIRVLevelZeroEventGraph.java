@@ -0,0 +1,261 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.spirv;
+
+import static uk.ac.manchester.tornado.runtime.common.Tornado.EVENT_WINDOW;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroCommandList;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroContext;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroDevice;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeEventDescriptor;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeEventHandle;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeEventPoolDescriptor;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeEventPoolFlags;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeEventPoolHandle;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeEventScopeFlags;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.utils.LevelZeroUtils;
+
+/**
+ * Dependency graph of the commands appended to the command lists of a device
+ * between two flushes. Every transfer and kernel launch signals its own Level
+ * Zero event, taken from pooled {@link ZeEventPoolHandle}s, and waits only on
+ * the events it depends on:
+ *
+ * <ul>
+ * <li>a write to a buffer waits on the previous writes and reads of that buffer
+ * and on the last kernel that received it as argument.</li>
+ * <li>a read from a buffer waits on the last write of that buffer and on the
+ * last kernel.</li>
+ * <li>a kernel waits on the previous kernel, on every write appended since the
+ * previous kernel, and on the pending reads of its arguments.</li>
+ * </ul>
+ *
+ * The TornadoVM wait lists are added on top of these dependencies. Event
+ * indexes are returned to the {@link SPIRVEventPool}, so they can be passed
+ * back as wait events. All events are reset when the command lists are flushed.
+ */
+public class SPIRVLevelZeroEventGraph {
+
+    private static final int EVENTS_PER_POOL = EVENT_WINDOW;
+    private static final int NO_EVENT = -1;
+
+    private final LevelZeroContext context;
+    private final LevelZeroDevice device;
+    private final List<ZeEventPoolHandle> eventPools;
+    private final List<ZeEventHandle> events;
+    private int numLiveEvents;
+
+    private int lastKernel;
+    private final List<Integer> writesSinceLastKernel;
+    private final Map<Long, Integer> lastWrite;
+    private final Map<Long, Integer> lastRead;
+    private final Map<Long, Integer> lastKernelUse;
+    private final BitSet dependencies;
+
+    public SPIRVLevelZeroEventGraph(LevelZeroContext context, LevelZeroDevice device) {
+        this.context = context;
+        this.device = device;
+        this.eventPools = new ArrayList<>();
+        this.events = new ArrayList<>();
+        this.writesSinceLastKernel = new ArrayList<>();
+        this.lastWrite = new HashMap<>();
+        this.lastRead = new HashMap<>();
+        this.lastKernelUse = new HashMap<>();
+        this.dependencies = new BitSet();
+        this.lastKernel = NO_EVENT;
+    }
+
+    /**
+     * Appends the waits of a host to device copy into the given command list.
+     *
+     * @return index of the event the copy has to signal.
+     */
+    public int prepareWrite(LevelZeroCommandList commandList, long bufferId, int[] waitEvents) {
+        addDependencies(waitEvents);
+        addDependency(lastWrite.get(bufferId));
+        addDependency(lastRead.get(bufferId));
+        addDependency(lastKernelUse.get(bufferId));
+        appendWaits(commandList);
+
+        int event = nextEvent();
+        lastWrite.put(bufferId, event);
+        lastRead.remove(bufferId);
+        writesSinceLastKernel.add(event);
+        return event;
+    }
+
+    /**
+     * Appends the waits of a device to host copy into the given command list.
+     *
+     * @return index of the event the copy has to signal.
+     */
+    public int prepareRead(LevelZeroCommandList commandList, long bufferId, int[] waitEvents) {
+        addDependencies(waitEvents);
+        addDependency(lastWrite.get(bufferId));
+        addDependency(lastRead.get(bufferId));
+        addDependency(lastKernel);
+        appendWaits(commandList);
+
+        int event = nextEvent();
+        lastRead.put(bufferId, event);
+        return event;
+    }
+
+    /**
+     * Appends the waits of a kernel launch into the given command list.
+     *
+     * @param buffers
+     *            device buffers passed as arguments to the kernel.
+     * @return index of the event the kernel has to signal.
+     */
+    public int prepareLaunch(LevelZeroCommandList commandList, long[] buffers, int[] waitEvents) {
+        addDependencies(waitEvents);
+        addDependency(lastKernel);
+        for (int write : writesSinceLastKernel) {
+            addDependency(write);
+        }
+        for (long buffer : buffers) {
+            addDependency(lastRead.get(buffer));
+        }
+        appendWaits(commandList);
+
+        int event = nextEvent();
+        for (long buffer : buffers) {
+            lastKernelUse.put(buffer, event);
+        }
+        lastKernel = event;
+        writesSinceLastKernel.clear();
+        return event;
+    }
+
+    /**
+     * Makes the commands appended after this call to the given command list wait
+     * for the command that signals the event.
+     */
+    public void waitFor(LevelZeroCommandList commandList, int event) {
+        addDependency(event);
+        appendWaits(commandList);
+    }
+
+    /**
+     * Appends a barrier to every given command list that waits for all the
+     * commands appended so far, in any of the lists of the device.
+     */
+    public void appendBarrier(LevelZeroCommandList... commandLists) {
+        for (LevelZeroCommandList commandList : commandLists) {
+            dependencies.set(0, numLiveEvents);
+            appendWaits(commandList);
+            int result = commandList.zeCommandListAppendBarrier(commandList.getCommandListHandlerPtr(), null, 0, null);
+            LevelZeroUtils.errorLog("zeCommandListAppendBarrier", result);
+        }
+    }
+
+    public ZeEventHandle getEvent(int event) {
+        return events.get(event);
+    }
+
+    /**
+     * Resets all the events signaled since the last flush. It must only be called
+     * once the command queues of the device have been synchronized.
+     */
+    public void reset() {
+        for (int i = 0; i < numLiveEvents; i++) {
+            int result = context.zeEventHostReset(events.get(i));
+            LevelZeroUtils.errorLog("zeEventHostReset", result);
+        }
+        numLiveEvents = 0;
+        lastKernel = NO_EVENT;
+        writesSinceLastKernel.clear();
+        lastWrite.clear();
+        lastRead.clear();
+        lastKernelUse.clear();
+        dependencies.clear();
+    }
+
+    private void addDependencies(int[] waitEvents) {
+        if (waitEvents != null) {
+            for (int event : waitEvents) {
+                addDependency(event);
+            }
+        }
+    }
+
+    private void addDependency(Integer event) {
+        // Events from a previous flush have already been reset and completed
+        if (event != null && event >= 0 && event < numLiveEvents) {
+            dependencies.set(event);
+        }
+    }
+
+    private void appendWaits(LevelZeroCommandList commandList) {
+        int numEvents = dependencies.cardinality();
+        if (numEvents == 0) {
+            return;
+        }
+        ZeEventHandle[] waitEvents = new ZeEventHandle[numEvents];
+        int index = 0;
+        for (int event = dependencies.nextSetBit(0); event >= 0; event = dependencies.nextSetBit(event + 1)) {
+            waitEvents[index++] = events.get(event);
+        }
+        dependencies.clear();
+        int result = commandList.zeCommandListAppendWaitOnEvents(commandList.getCommandListHandlerPtr(), numEvents, waitEvents);
+        LevelZeroUtils.errorLog("zeCommandListAppendWaitOnEvents", result);
+    }
+
+    private int nextEvent() {
+        if (numLiveEvents == events.size()) {
+            events.add(createEvent(numLiveEvents));
+        }
+        return numLiveEvents++;
+    }
+
+    private ZeEventHandle createEvent(int eventIndex) {
+        int poolIndex = eventIndex / EVENTS_PER_POOL;
+        if (poolIndex == eventPools.size()) {
+            ZeEventPoolDescriptor eventPoolDescription = new ZeEventPoolDescriptor();
+            eventPoolDescription.setCount(EVENTS_PER_POOL);
+            eventPoolDescription.setFlags(ZeEventPoolFlags.ZE_EVENT_POOL_FLAG_HOST_VISIBLE);
+            ZeEventPoolHandle eventPool = new ZeEventPoolHandle();
+            int result = context.zeEventPoolCreate(context.getDefaultContextPtr(), eventPoolDescription, 1, device.getDeviceHandlerPtr(), eventPool);
+            LevelZeroUtils.errorLog("zeEventPoolCreate", result);
+            eventPools.add(eventPool);
+        }
+
+        // Host scope, so signals are visible across the compute and the copy queues
+        ZeEventDescriptor eventDescription = new ZeEventDescriptor();
+        eventDescription.setIndex(eventIndex % EVENTS_PER_POOL);
+        eventDescription.setSignal(ZeEventScopeFlags.ZE_EVENT_SCOPE_FLAG_HOST);
+        eventDescription.setWait(ZeEventScopeFlags.ZE_EVENT_SCOPE_FLAG_HOST);
+        ZeEventHandle event = new ZeEventHandle();
+        int result = context.zeEventCreate(eventPools.get(poolIndex), eventDescription, event);
+        LevelZeroUtils.errorLog("zeEventCreate", result);
+        return event;
+    }
+}
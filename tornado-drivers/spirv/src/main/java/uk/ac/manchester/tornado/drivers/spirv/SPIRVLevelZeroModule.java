@@ -23,24 +23,55 @@
  */
 package uk.ac.manchester.tornado.drivers.spirv;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroKernel;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroModule;
+import uk.ac.manchester.tornado.runtime.common.Tornado;
 
 public class SPIRVLevelZeroModule implements SPIRVModule {
 
     private LevelZeroModule levelZeroModule;
     private LevelZeroKernel kernel;
+    private String id;
     private String entryPoint;
+    private byte[] binary;
 
     private String pathToSPIRVBinary;
 
-    public SPIRVLevelZeroModule(LevelZeroModule levelZeroModule, LevelZeroKernel kernel, String entryPoint, String pathToSPIRVBinary) {
+    public SPIRVLevelZeroModule(LevelZeroModule levelZeroModule, LevelZeroKernel kernel, String id, String entryPoint, byte[] binary, String pathToSPIRVBinary) {
         this.levelZeroModule = levelZeroModule;
         this.kernel = kernel;
+        this.id = id;
         this.entryPoint = entryPoint;
+        this.binary = binary;
         this.pathToSPIRVBinary = pathToSPIRVBinary;
     }
 
+    /**
+     * Stores a SPIR-V binary in java.io.tmpdir/tornadoVM-spirv.
+     *
+     * @return path of the new file.
+     */
+    public static String dumpBinary(byte[] binary, String id, String entryPoint) {
+        Path directory = Paths.get(System.getProperty("java.io.tmpdir"), "tornadoVM-spirv");
+        Path file = directory.resolve(System.nanoTime() + "-" + id + entryPoint + ".spv");
+        try {
+            Files.createDirectories(directory);
+            Files.write(file, binary);
+        } catch (IOException e) {
+            throw new TornadoBailoutRuntimeException("Error - Exception when storing the SPIR-V binary: " + e.getMessage());
+        }
+        if (Tornado.DEBUG) {
+            System.out.println("SPIRV-File : " + file);
+        }
+        return file.toString();
+    }
+
     public LevelZeroModule getLevelZeroModule() {
         return levelZeroModule;
     }
@@ -53,7 +84,18 @@ public class SPIRVLevelZeroModule implements SPIRVModule {
         return entryPoint;
     }
 
+    public byte[] getBinary() {
+        return binary;
+    }
+
+    /**
+     * Modules are loaded from memory, so the file is only written the first time
+     * it is requested (e.g., to disassemble the module).
+     */
     public String getPathToSPIRVBinary() {
+        if (pathToSPIRVBinary == null) {
+            pathToSPIRVBinary = dumpBinary(binary, id, entryPoint);
+        }
         return pathToSPIRVBinary;
     }
 
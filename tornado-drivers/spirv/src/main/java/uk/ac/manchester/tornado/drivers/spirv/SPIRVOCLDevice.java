@@ -46,6 +46,11 @@ public class SPIRVOCLDevice extends SPIRVDevice {
         return device.isDeviceDoubleFPSupported();
     }
 
+    @Override
+    public boolean isDeviceHalfFPSupported() {
+        return device.getDeviceExtensions().contains("cl_khr_fp16");
+    }
+
     @Override
     public String getDeviceExtensions() {
         return device.getDeviceExtensions();
@@ -35,10 +35,13 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVKind;
 public class SPIRVTargetDescription extends TargetDescription {
 
     private boolean supportsFP64;
+    private boolean supportsFP16;
 
-    public SPIRVTargetDescription(Architecture arch, boolean isMP, int stackAlignment, int implicitNullCheckLimit, boolean inlineObjects, boolean supportsFP64, String extensions) {
+    public SPIRVTargetDescription(Architecture arch, boolean isMP, int stackAlignment, int implicitNullCheckLimit, boolean inlineObjects, boolean supportsFP64, boolean supportsFP16,
+            String extensions) {
         super(arch, isMP, stackAlignment, implicitNullCheckLimit, inlineObjects);
         this.supportsFP64 = supportsFP64;
+        this.supportsFP16 = supportsFP16;
     }
 
     public SPIRVArchitecture getArch() {
@@ -53,4 +56,8 @@ public class SPIRVTargetDescription extends TargetDescription {
         return this.supportsFP64;
     }
 
+    public boolean isSupportsFP16() {
+        return this.supportsFP16;
+    }
+
 }
@@ -24,6 +24,7 @@
 package uk.ac.manchester.tornado.drivers.spirv;
 
 import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.nodes.StructuredGraph;
 
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVBuiltIn;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.GlobalThreadIdNode;
@@ -33,6 +34,8 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalGroupSizeNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadIdFixedNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadIdNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadSizeNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVSubGroupNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode.SubGroupOperation;
 
 /**
  * OpenCL Thread Built-ins for SPIR-V.
@@ -44,13 +47,18 @@ public enum SPIRVThreadBuiltIn {
     GLOBAL_SIZE("spirv_BuiltInGlobalSize", SPIRVBuiltIn.GlobalSize(), GlobalThreadSizeNode.class, null),
     LOCAL_THREAD_ID("spirv_BuiltInLocalInvocationId", SPIRVBuiltIn.LocalInvocationId(), LocalThreadIdFixedNode.class, LocalThreadIdNode.class),
     WORKGROUP_SIZE("spirv_BuiltInWorkgroupSize", SPIRVBuiltIn.WorkgroupSize(), LocalGroupSizeNode.class, LocalThreadSizeNode.class),
-    GROUP_ID("spirv_BuiltInWorkgroupId", SPIRVBuiltIn.WorkgroupId(), GroupIdNode.class, null);
+    GROUP_ID("spirv_BuiltInWorkgroupId", SPIRVBuiltIn.WorkgroupId(), GroupIdNode.class, null),
+    SUB_GROUP_SIZE("spirv_BuiltInSubgroupSize", SPIRVBuiltIn.SubgroupSize(), SubGroupOperation.SIZE),
+    SUB_GROUP_LOCAL_ID("spirv_BuiltInSubgroupLocalInvocationId", SPIRVBuiltIn.SubgroupLocalInvocationId(), SubGroupOperation.LOCAL_ID),
+    SUB_GROUP_ID("spirv_BuiltInSubgroupId", SPIRVBuiltIn.SubgroupId(), SubGroupOperation.ID),
+    NUM_SUB_GROUPS("spirv_BuiltInNumSubgroups", SPIRVBuiltIn.NumSubgroups(), SubGroupOperation.NUM_SUB_GROUPS);
     // @formatter:on
 
     String name;
     SPIRVBuiltIn builtIn;
     Class<? extends Node> nodeClass;
     Class<? extends Node> optionalNodeClass;
+    SubGroupOperation subGroupOperation;
 
     SPIRVThreadBuiltIn(String idName, SPIRVBuiltIn builtIn, Class<? extends Node> nodeClass, Class<? extends Node> optional) {
         this.name = idName;
@@ -59,6 +67,32 @@ public enum SPIRVThreadBuiltIn {
         this.optionalNodeClass = optional;
     }
 
+    /**
+     * Subgroup built-ins are scalar {@code uint} variables, read by a
+     * {@link SPIRVSubGroupNode} with the given operation.
+     */
+    SPIRVThreadBuiltIn(String idName, SPIRVBuiltIn builtIn, SubGroupOperation subGroupOperation) {
+        this(idName, builtIn, SPIRVSubGroupNode.class, null);
+        this.subGroupOperation = subGroupOperation;
+    }
+
+    public boolean isSubGroupBuiltIn() {
+        return subGroupOperation != null;
+    }
+
+    /**
+     * @return true if the graph contains a {@link SPIRVSubGroupNode} that reads
+     *         this built-in.
+     */
+    public boolean isSubGroupBuiltInUsed(StructuredGraph graph) {
+        for (SPIRVSubGroupNode node : graph.getNodes().filter(SPIRVSubGroupNode.class)) {
+            if (node.getOperation() == subGroupOperation) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public String getName() {
         return name;
     }
@@ -85,7 +85,7 @@ public class SPIRVHotSpotBackendFactory {
         // We specify an architecture of 64 bits
         SPIRVArchitecture architecture = new SPIRVArchitecture(SPIRVKind.OP_TYPE_INT_64, device.getByteOrder());
         SPIRVTargetDescription targetDescription = new SPIRVTargetDescription(architecture, false, SPIRV_STACK_ALIGNMENT, SPIRV_IMPLICIT_NULL_CHECK_LIMIT, SPIRV_INLINE_OBJECT,
-                device.isDeviceDoubleFPSupported(), device.getDeviceExtensions());
+                device.isDeviceDoubleFPSupported(), device.isDeviceHalfFPSupported(), device.getDeviceExtensions());
 
         SPIRVDeviceContext deviceContext = context.getDeviceContext(device.getDeviceIndex());
 
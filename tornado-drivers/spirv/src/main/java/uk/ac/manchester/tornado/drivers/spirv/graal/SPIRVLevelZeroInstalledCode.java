@@ -32,6 +32,7 @@ import uk.ac.manchester.tornado.api.WorkerGrid;
 import uk.ac.manchester.tornado.api.memory.ObjectBuffer;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVDeviceContext;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVLevelZeroCommandQueue;
+import uk.ac.manchester.tornado.drivers.spirv.SPIRVLevelZeroEventGraph;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVLevelZeroModule;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVModule;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroCommandList;
@@ -66,7 +67,7 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
 
     @Override
     public int launchWithDependencies(KernelArgs callWrapper, ObjectBuffer atomicSpace, TaskMetaData meta, long batchThreads, int[] waitEvents) {
-        throw new RuntimeException("Unimplemented");
+        return launch(callWrapper, meta, batchThreads, deviceContext.serialiseEvents(waitEvents));
     }
 
     private void setKernelArgs(final SPIRVKernelArgs callWrapper, final ObjectBuffer atomicSpace, TaskMetaData meta) {
@@ -180,7 +181,23 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
         return new ThreadBlockDispatcher(groupSizeX, groupSizeY, groupSizeZ);
     }
 
-    private void launchKernelWithLevelZero(ZeKernelHandle kernel, DeviceThreadScheduling threadScheduling, ThreadBlockDispatcher dispatcher) {
+    /**
+     * Device buffers the kernel reads or writes: the kernel context and the
+     * reference arguments.
+     */
+    private long[] getKernelBuffers(SPIRVKernelArgs callWrapper) {
+        long[] buffers = new long[callWrapper.getCallArguments().size() + 1];
+        int numBuffers = 0;
+        buffers[numBuffers++] = callWrapper.toBuffer();
+        for (KernelArgs.CallArgument arg : callWrapper.getCallArguments()) {
+            if (arg.isReferenceType() && arg.getValue() instanceof Number) {
+                buffers[numBuffers++] = ((Number) arg.getValue()).longValue();
+            }
+        }
+        return Arrays.copyOf(buffers, numBuffers);
+    }
+
+    private int launchKernelWithLevelZero(ZeKernelHandle kernel, DeviceThreadScheduling threadScheduling, ThreadBlockDispatcher dispatcher, SPIRVKernelArgs callWrapper, int[] waitEvents) {
         // Dispatch SPIR-V Kernel
         ZeGroupDispatch dispatch = new ZeGroupDispatch();
         dispatch.setGroupCountX(threadScheduling.globalWork[0] / dispatcher.groupSizeX[0]);
@@ -195,18 +212,35 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
             kernelTimeStamp.createEventTimer();
         }
 
-        ZeEventHandle kernelEventTimer = kernelTimeStamp != null ? kernelTimeStamp.getKernelEventTimer() : null;
+        // The kernel only waits on the transfers and kernels it depends on
+        SPIRVLevelZeroEventGraph eventGraph = commandQueue.getEventGraph();
+        int event = eventGraph.prepareLaunch(commandList, getKernelBuffers(callWrapper), waitEvents);
+        ZeEventHandle kernelEvent = kernelTimeStamp != null ? kernelTimeStamp.getKernelEventTimer() : eventGraph.getEvent(event);
 
         // Launch the kernel on the Intel Integrated GPU
-        int result = commandList.zeCommandListAppendLaunchKernel(commandList.getCommandListHandlerPtr(), kernel.getPtrZeKernelHandle(), dispatch, kernelEventTimer, 0, null);
+        int result = commandList.zeCommandListAppendLaunchKernel(commandList.getCommandListHandlerPtr(), kernel.getPtrZeKernelHandle(), dispatch, kernelEvent, 0, null);
         LevelZeroUtils.errorLog("zeCommandListAppendLaunchKernel", result);
 
-        result = commandList.zeCommandListAppendBarrier(commandList.getCommandListHandlerPtr(), null, 0, null);
-        LevelZeroUtils.errorLog("zeCommandListAppendBarrier", result);
+        if (kernelTimeStamp != null) {
+            // The kernel signals the timestamp event, so the event of the graph is
+            // signaled by a barrier once the kernel has finished
+            result = commandList.zeCommandListAppendBarrier(commandList.getCommandListHandlerPtr(), eventGraph.getEvent(event), 0, null);
+            LevelZeroUtils.errorLog("zeCommandListAppendBarrier", result);
+        }
+        return deviceContext.registerKernelEvent(event);
     }
 
     @Override
     public int launchWithoutDependencies(KernelArgs callWrapper, ObjectBuffer atomicSpace, TaskMetaData meta, long batchThreads) {
+        return launch(callWrapper, meta, batchThreads, null);
+    }
+
+    /**
+     * The arguments and group sizes are set on the kernel handle, which is
+     * shared by all the task-graphs that run this kernel, so launches of the
+     * same kernel are serialised.
+     */
+    private synchronized int launch(KernelArgs callWrapper, TaskMetaData meta, long batchThreads, int[] waitEvents) {
         SPIRVLevelZeroModule module = (SPIRVLevelZeroModule) spirvModule;
         LevelZeroKernel levelZeroKernel = module.getKernel();
         ZeKernelHandle kernel = levelZeroKernel.getKernelHandle();
@@ -231,13 +265,13 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
             meta.printThreadDims();
         }
 
-        launchKernelWithLevelZero(kernel, threadScheduling, dispatcher);
+        int event = launchKernelWithLevelZero(kernel, threadScheduling, dispatcher, (SPIRVKernelArgs) callWrapper, waitEvents);
 
         if (TornadoOptions.isProfilerEnabled()) {
             kernelTimeStamp.solveEvent(meta);
         }
 
-        return 0;
+        return event;
     }
 
     private void calculateLocalWork(TaskMetaData meta) {
@@ -88,6 +88,7 @@ import jdk.vm.ci.meta.MetaAccessProvider;
 import jdk.vm.ci.meta.PrimitiveConstant;
 import jdk.vm.ci.meta.ResolvedJavaField;
 import jdk.vm.ci.meta.ResolvedJavaType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.drivers.graal.TornadoMemoryOrder;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVTargetDescription;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVKind;
@@ -99,13 +100,17 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.GroupIdNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadIdNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadSizeNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVAtomicIndexedNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVSubGroupNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.snippets.ReduceGPUSnippets;
 import uk.ac.manchester.tornado.runtime.TornadoVMConfig;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GetGroupIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GlobalGroupSizeFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.LocalGroupSizeFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.NewArrayNonVirtualizableNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ThreadIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ThreadLocalIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoDirectCallTargetNode;
@@ -174,6 +179,10 @@ public class SPIRVLoweringProvider extends DefaultJavaLoweringProvider {
             lowerStoreIndexedNode((StoreIndexedNode) node, tool);
         } else if (node instanceof StoreAtomicIndexedNode) {
             lowerStoreAtomicsReduction(node, tool);
+        } else if (node instanceof AtomicIndexedNode) {
+            lowerAtomicIndexedNode((AtomicIndexedNode) node);
+        } else if (node instanceof SubGroupNode) {
+            lowerSubGroupNode((SubGroupNode) node);
         } else if (node instanceof FloatConvertNode) {
             lowerFloatConvertNode((FloatConvertNode) node);
         } else if (node instanceof LoadFieldNode) {
@@ -491,6 +500,34 @@ public class SPIRVLoweringProvider extends DefaultJavaLoweringProvider {
         return (nd instanceof MarkLocalArray || willLowerToLocalArrayNode);
     }
 
+    private boolean isLocalMemoryAccessNode(AtomicIndexedNode atomicIndexed) {
+        Node nd = atomicIndexed.array();
+        InvokeNode node = nd.inputs().filter(InvokeNode.class).first();
+        boolean willLowerToLocalArrayNode = node != null && "Direct#NewArrayNode.newArray".equals(node.callTarget().targetName()) && gpuSnippet;
+        return (nd instanceof MarkLocalArray || willLowerToLocalArrayNode);
+    }
+
+    private void lowerAtomicIndexedNode(AtomicIndexedNode atomicIndexed) {
+        StructuredGraph graph = atomicIndexed.graph();
+        if (atomicIndexed.array() instanceof FixedArrayNode) {
+            throw new TornadoBailoutRuntimeException("Atomic operations are not supported on private arrays");
+        }
+        AddressNode address;
+        if (isLocalMemoryAccessNode(atomicIndexed)) {
+            address = createArrayLocalAddress(graph, atomicIndexed.array(), atomicIndexed.index());
+        } else {
+            address = createArrayAddress(graph, atomicIndexed.array(), atomicIndexed.elementKind(), atomicIndexed.index());
+        }
+        SPIRVAtomicIndexedNode atomic = graph.add(new SPIRVAtomicIndexedNode(atomicIndexed, address));
+        graph.replaceFixedWithFixed(atomicIndexed, atomic);
+    }
+
+    private void lowerSubGroupNode(SubGroupNode subGroup) {
+        StructuredGraph graph = subGroup.graph();
+        SPIRVSubGroupNode lowered = graph.add(new SPIRVSubGroupNode(subGroup));
+        graph.replaceFixedWithFixed(subGroup, lowered);
+    }
+
     private AddressNode createArrayLocalAddress(StructuredGraph graph, ValueNode array, ValueNode index) {
         return graph.unique(new OffsetAddressNode(array, index));
     }
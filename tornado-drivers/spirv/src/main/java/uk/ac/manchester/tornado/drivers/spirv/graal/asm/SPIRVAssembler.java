@@ -50,6 +50,7 @@ import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVInstruction;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpBitwiseAnd;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpBitwiseOr;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpBitwiseXor;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpCapability;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpConstant;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpDecorate;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpEntryPoint;
@@ -79,6 +80,7 @@ import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpShiftRightLo
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpTypeArray;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpTypeFunction;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpTypePointer;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVCapability;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVContextDependentDouble;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVContextDependentFloat;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVContextDependentInt;
@@ -140,6 +142,7 @@ public final class SPIRVAssembler extends Assembler {
     private SPIRVId openclImport;
     private ByteBuffer spirvByteBuffer;
     private int methodIndex;
+    private SPIRVModule int64AtomicsModule;
 
     private Map<SPIRVId, Map<Integer, LinkedList<FunctionTable>>> opFunctionTable;
     private Map<AllocatableValue, SPIRVId> phiMap;
@@ -472,6 +475,12 @@ public final class SPIRVAssembler extends Assembler {
             builtInList.add(builtinTable.get(SPIRVThreadBuiltIn.GROUP_ID));
         }
 
+        for (SPIRVThreadBuiltIn builtIn : SPIRVThreadBuiltIn.values()) {
+            if (builtIn.isSubGroupBuiltIn() && builtinTable.containsKey(builtIn)) {
+                builtInList.add(builtinTable.get(builtIn));
+            }
+        }
+
         if (builtInList.size() == 0) {
             operands = new SPIRVMultipleOperands();
         } else {
@@ -665,6 +674,17 @@ public final class SPIRVAssembler extends Assembler {
         return new SPIRVId[] { loadHeap, frameIndexId };
     }
 
+    /**
+     * Declares, once per module, the capability for the atomic instructions on
+     * 64-bit integers, which are also used for the atomics on doubles.
+     */
+    public void emitInt64AtomicsCapability() {
+        if (int64AtomicsModule != module) {
+            module.add(new SPIRVOpCapability(SPIRVCapability.Int64Atomics()));
+            int64AtomicsModule = module;
+        }
+    }
+
     public SPIRVId getMethodRegistrationId(String methodName) {
         return SPIRVSymbolTable.get(methodName);
     }
@@ -0,0 +1,355 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.spirv.graal.compiler;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Instruction of a SPIR-V binary, as seen by the {@link SPIRVBinaryOptimizer}.
+ * It keeps the words of the instruction and the position of its result ID and
+ * of the IDs it uses.
+ *
+ * <p>
+ * The operands of each opcode are described by a layout string:
+ * <ul>
+ * <li>T: result type ID</li>
+ * <li>R: result ID</li>
+ * <li>A: target ID of a debug or annotation instruction</li>
+ * <li>I: ID</li>
+ * <li>L: literal word</li>
+ * <li>S: literal string</li>
+ * <li>i: remaining words are IDs</li>
+ * <li>l: remaining words are literals</li>
+ * <li>m: optional memory operands</li>
+ * <li>w: targets of an OpSwitch</li>
+ * </ul>
+ * Opcodes without a layout are not supported.
+ * </p>
+ */
+final class SPIRVBinaryInstruction {
+
+    static final int OP_UNDEF = 1;
+    static final int OP_NAME = 5;
+    static final int OP_MEMBER_NAME = 6;
+    static final int OP_TYPE_INT = 21;
+    static final int OP_TYPE_POINTER = 32;
+    static final int OP_CONSTANT_TRUE = 41;
+    static final int OP_CONSTANT_FALSE = 42;
+    static final int OP_CONSTANT = 43;
+    static final int OP_CONSTANT_COMPOSITE = 44;
+    static final int OP_CONSTANT_NULL = 46;
+    static final int OP_FUNCTION = 54;
+    static final int OP_FUNCTION_END = 56;
+    static final int OP_VARIABLE = 59;
+    static final int OP_LOAD = 61;
+    static final int OP_STORE = 62;
+    static final int OP_DECORATE = 71;
+    static final int OP_MEMBER_DECORATE = 72;
+    static final int OP_PHI = 245;
+    static final int OP_LABEL = 248;
+    static final int OP_BRANCH = 249;
+    static final int OP_BRANCH_CONDITIONAL = 250;
+    static final int OP_SWITCH = 251;
+    static final int OP_DECORATE_ID = 332;
+
+    static final int STORAGE_CLASS_FUNCTION = 7;
+
+    private static final int MEMORY_ACCESS_VOLATILE = 0x1;
+    private static final int MEMORY_ACCESS_LITERALS = 0x7;
+
+    private static final String[] LAYOUTS = new String[333];
+
+    static {
+        layout("", 0, 56, 252, 253, 255, 317);
+        layout("l", 2, 3, 4);
+        layout("AS", OP_NAME);
+        layout("ALS", OP_MEMBER_NAME);
+        layout("RS", 7, 11, 31);
+        layout("ILL", 8);
+        layout("S", 10, 330);
+        layout("TRILi", 12);
+        layout("LL", 14);
+        layout("LISi", 15);
+        layout("ILl", 16);
+        layout("L", 17);
+        layout("R", 19, 20, 26, 34, 35, 36, 37, 248);
+        layout("RLL", OP_TYPE_INT);
+        layout("RLl", 22);
+        layout("RIL", 23, 24);
+        layout("RILLLLLLl", 25);
+        layout("RI", 27, 29);
+        layout("RII", 28);
+        layout("Ri", 30);
+        layout("RLI", 32);
+        layout("RIi", 33);
+        layout("RL", 38);
+        layout("IL", 39, 247, 256, 257);
+        layout("TR", 1, OP_CONSTANT_TRUE, OP_CONSTANT_FALSE, OP_CONSTANT_NULL, 48, 49, 55);
+        layout("TRl", OP_CONSTANT, 50);
+        layout("TRi", OP_CONSTANT_COMPOSITE, 51, 80);
+        layout("TRLLL", 45);
+        layout("TRLI", OP_FUNCTION);
+        layout("TRIi", 57, 65, 66);
+        layout("TRLi", OP_VARIABLE);
+        layout("TRIm", OP_LOAD);
+        layout("IIm", OP_STORE, 63);
+        layout("IIIm", 64);
+        layout("TRIIi", 67, 70);
+        layout("TRIL", 68, 123);
+        layout("ALl", OP_DECORATE);
+        layout("ALLl", OP_MEMBER_DECORATE);
+        layout("TRII", 77);
+        layout("TRIII", 78);
+        layout("TRIIl", 79, 82);
+        layout("TRIl", 81);
+        layout("TRI", 83, 84, 321);
+        for (int opcode = 109; opcode <= 122; opcode++) {
+            layout("TRI", opcode);
+        }
+        layout("TRI", 124);
+        // Arithmetic, relational, logical, bit and atomic instructions
+        for (int opcode = 126; opcode <= 205; opcode++) {
+            if (opcode != 153 && opcode != 192 && opcode != 193) {
+                layout("TRi", opcode);
+            }
+        }
+        layout("III", 224);
+        layout("II", 225);
+        layout("TRi", 227);
+        layout("IIII", 228);
+        for (int opcode = 229; opcode <= 242; opcode++) {
+            layout("TRi", opcode);
+        }
+        layout("TRi", 245);
+        layout("IILl", 246);
+        layout("I", 249, 254);
+        layout("IIIl", 250);
+        layout("IIw", 251);
+        layout("ILi", 331);
+        layout("ALi", OP_DECORATE_ID);
+    }
+
+    final int opcode;
+    final int[] words;
+    final int resultTypeIndex;
+    final int resultIndex;
+    final int targetIndex;
+    final int[] useIndexes;
+    boolean removed;
+
+    private static void layout(String layout, int... opcodes) {
+        for (int opcode : opcodes) {
+            LAYOUTS[opcode] = layout;
+        }
+    }
+
+    private SPIRVBinaryInstruction(int opcode, int[] words, int resultTypeIndex, int resultIndex, int targetIndex, int[] useIndexes) {
+        this.opcode = opcode;
+        this.words = words;
+        this.resultTypeIndex = resultTypeIndex;
+        this.resultIndex = resultIndex;
+        this.targetIndex = targetIndex;
+        this.useIndexes = useIndexes;
+    }
+
+    /**
+     * Creates an instruction from its opcode and operand words.
+     */
+    static SPIRVBinaryInstruction create(int opcode, int... operands) {
+        int[] words = new int[operands.length + 1];
+        words[0] = (words.length << 16) | opcode;
+        System.arraycopy(operands, 0, words, 1, operands.length);
+        return decode(words, selector -> -1);
+    }
+
+    private static boolean endsString(int word) {
+        return (word & 0xFF) == 0 || (word & 0xFF00) == 0 || (word & 0xFF0000) == 0 || (word & 0xFF000000) == 0;
+    }
+
+    /**
+     * Decodes one instruction.
+     *
+     * @param words
+     *            words of the instruction, starting with the opcode.
+     * @param switchLiteralWords
+     *            returns the number of words of the case literals of an OpSwitch,
+     *            given its selector ID, or -1 if it is unknown.
+     * @return the instruction, or null if it is not supported.
+     */
+    static SPIRVBinaryInstruction decode(int[] words, IntUnaryOperator switchLiteralWords) {
+        final int opcode = words[0] & 0xFFFF;
+        final String layout = opcode < LAYOUTS.length ? LAYOUTS[opcode] : null;
+        if (layout == null) {
+            return null;
+        }
+        int resultTypeIndex = -1;
+        int resultIndex = -1;
+        int targetIndex = -1;
+        int[] uses = new int[words.length];
+        int numUses = 0;
+        int position = 1;
+        for (int i = 0; i < layout.length(); i++) {
+            switch (layout.charAt(i)) {
+                case 'T':
+                    resultTypeIndex = position;
+                    uses[numUses++] = position++;
+                    break;
+                case 'R':
+                    resultIndex = position++;
+                    break;
+                case 'A':
+                    targetIndex = position++;
+                    break;
+                case 'I':
+                    uses[numUses++] = position++;
+                    break;
+                case 'L':
+                    position++;
+                    break;
+                case 'S':
+                    while (position < words.length && !endsString(words[position++])) {
+                        // skip the words of the string
+                    }
+                    break;
+                case 'i':
+                    while (position < words.length) {
+                        uses[numUses++] = position++;
+                    }
+                    break;
+                case 'l':
+                    position = Math.max(position, words.length);
+                    break;
+                case 'm':
+                    if (position < words.length && (words[position] & ~MEMORY_ACCESS_LITERALS) != 0) {
+                        // Memory operands with scope IDs
+                        return null;
+                    }
+                    position = Math.max(position, words.length);
+                    break;
+                case 'w':
+                    final int literalWords = switchLiteralWords.applyAsInt(words[1]);
+                    if (literalWords < 0) {
+                        return null;
+                    }
+                    while (position < words.length) {
+                        position += literalWords;
+                        uses[numUses++] = position++;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("invalid layout: " + layout);
+            }
+        }
+        if (position > words.length) {
+            // Malformed instruction
+            return null;
+        }
+        return new SPIRVBinaryInstruction(opcode, words, resultTypeIndex, resultIndex, targetIndex, Arrays.copyOf(uses, numUses));
+    }
+
+    int getResult() {
+        return resultIndex == -1 ? -1 : words[resultIndex];
+    }
+
+    int getResultType() {
+        return resultTypeIndex == -1 ? -1 : words[resultTypeIndex];
+    }
+
+    int getTarget() {
+        return targetIndex == -1 ? -1 : words[targetIndex];
+    }
+
+    boolean isAnnotation() {
+        return targetIndex != -1;
+    }
+
+    boolean hasVolatileAccess() {
+        final int memoryOperandIndex = opcode == OP_LOAD ? 4 : 3;
+        return words.length > memoryOperandIndex && (words[memoryOperandIndex] & MEMORY_ACCESS_VOLATILE) != 0;
+    }
+
+    boolean hasMemoryOperands() {
+        return (opcode == OP_LOAD && words.length > 4) || (opcode == OP_STORE && words.length > 3);
+    }
+
+    /**
+     * Whether the instruction can be removed when its result is not used.
+     */
+    boolean isRemovableWhenUnused() {
+        if (resultIndex == -1) {
+            return false;
+        }
+        if ((opcode >= 19 && opcode <= 38) || (opcode >= OP_CONSTANT_TRUE && opcode <= OP_CONSTANT_NULL)) {
+            // Types and constants
+            return true;
+        }
+        switch (opcode) {
+            case OP_UNDEF:
+            case OP_PHI:
+            case 321: // OpSizeOf
+                return true;
+            case OP_VARIABLE:
+                return words[3] == STORAGE_CLASS_FUNCTION;
+            case OP_LOAD:
+                return !hasVolatileAccess();
+            default:
+                // Access chains, composites, conversions, arithmetic, relational and bit
+                // instructions. Atomics, calls and extended instructions are kept.
+                return (opcode >= 65 && opcode <= 70 && opcode != 69) || (opcode >= 77 && opcode <= 84) || (opcode >= 109 && opcode <= 124) || (opcode >= 126 && opcode <= 205);
+        }
+    }
+
+    boolean isConstant() {
+        return opcode >= OP_CONSTANT_TRUE && opcode <= OP_CONSTANT_NULL && opcode != 45;
+    }
+
+    /**
+     * Whether the instruction ends a block.
+     */
+    boolean isTerminator() {
+        return opcode >= 249 && opcode <= 255;
+    }
+
+    /**
+     * Labels of the blocks a terminator branches to.
+     */
+    int[] getSuccessors() {
+        switch (opcode) {
+            case OP_BRANCH:
+                return new int[] { words[1] };
+            case OP_BRANCH_CONDITIONAL:
+                return new int[] { words[2], words[3] };
+            case OP_SWITCH:
+                // The default label and the targets follow the selector
+                int[] successors = new int[useIndexes.length - 1];
+                for (int i = 1; i < useIndexes.length; i++) {
+                    successors[i - 1] = words[useIndexes[i]];
+                }
+                return successors;
+            default:
+                return new int[0];
+        }
+    }
+}
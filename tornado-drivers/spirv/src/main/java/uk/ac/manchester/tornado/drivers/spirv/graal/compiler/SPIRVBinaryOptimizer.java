@@ -0,0 +1,663 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.spirv.graal.compiler;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Optimises a SPIR-V binary before it is handed to the driver. The passes run
+ * in this order:
+ * <ol>
+ * <li>Constant deduplication: constants with the same type and value are
+ * merged.</li>
+ * <li>Promotion of function variables to SSA values (mem2reg): the loads of a
+ * variable are replaced by the value that reaches them, with {@code OpPhi}
+ * instructions where values from several blocks meet, and its stores are
+ * removed. Only variables that are exclusively accessed by plain loads and
+ * stores are promoted.</li>
+ * <li>Dead-code elimination: side-effect-free instructions, constants, types
+ * and function variables whose result is not used are removed, together with
+ * their names and decorations.</li>
+ * </ol>
+ *
+ * <p>
+ * If the binary contains an instruction that the optimiser does not know, it
+ * is returned unchanged.
+ * </p>
+ */
+public final class SPIRVBinaryOptimizer {
+
+    private static final int MAGIC_NUMBER = 0x07230203;
+    private static final int HEADER_WORDS = 5;
+
+    private final List<SPIRVBinaryInstruction> instructions;
+    private final Map<Integer, SPIRVBinaryInstruction> definitions;
+    private final Map<Integer, Integer> renames;
+    // Undefined value of each type, used for variables read before being stored
+    private final Map<Integer, Integer> undefs;
+    private final int[] header;
+
+    private SPIRVBinaryOptimizer(int[] header, List<SPIRVBinaryInstruction> instructions) {
+        this.header = header;
+        this.instructions = instructions;
+        this.definitions = new HashMap<>();
+        this.renames = new HashMap<>();
+        this.undefs = new LinkedHashMap<>();
+        for (SPIRVBinaryInstruction instruction : instructions) {
+            if (instruction.getResult() != -1) {
+                definitions.put(instruction.getResult(), instruction);
+            }
+        }
+    }
+
+    /**
+     * Optimises a SPIR-V binary.
+     *
+     * @param binary
+     *            little-endian SPIR-V binary, between its position and its limit.
+     * @return the optimised binary, ready to be read, or the original binary if it
+     *         cannot be optimised.
+     */
+    public static ByteBuffer optimize(ByteBuffer binary) {
+        SPIRVBinaryOptimizer optimizer = decode(binary.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+        if (optimizer == null) {
+            return binary;
+        }
+        optimizer.deduplicateConstants();
+        optimizer.promoteVariables();
+        optimizer.eliminateDeadCode();
+        return optimizer.encode();
+    }
+
+    private static SPIRVBinaryOptimizer decode(ByteBuffer binary) {
+        if (binary.remaining() % Integer.BYTES != 0 || binary.remaining() < HEADER_WORDS * Integer.BYTES) {
+            return null;
+        }
+        int[] header = new int[HEADER_WORDS];
+        for (int i = 0; i < HEADER_WORDS; i++) {
+            header[i] = binary.getInt();
+        }
+        if (header[0] != MAGIC_NUMBER) {
+            return null;
+        }
+
+        // Result types and integer widths, used to decode the literals of OpSwitch
+        Map<Integer, Integer> resultTypes = new HashMap<>();
+        Map<Integer, Integer> intWidths = new HashMap<>();
+
+        List<SPIRVBinaryInstruction> instructions = new ArrayList<>();
+        while (binary.hasRemaining()) {
+            final int firstWord = binary.getInt(binary.position());
+            final int wordCount = firstWord >>> 16;
+            if (wordCount == 0 || wordCount * Integer.BYTES > binary.remaining()) {
+                return null;
+            }
+            int[] words = new int[wordCount];
+            for (int i = 0; i < wordCount; i++) {
+                words[i] = binary.getInt();
+            }
+            SPIRVBinaryInstruction instruction = SPIRVBinaryInstruction.decode(words, selector -> {
+                Integer width = intWidths.get(resultTypes.getOrDefault(selector, -1));
+                return width == null ? -1 : (width > 32 ? 2 : 1);
+            });
+            if (instruction == null) {
+                return null;
+            }
+            if (instruction.opcode == SPIRVBinaryInstruction.OP_TYPE_INT) {
+                intWidths.put(words[1], words[2]);
+            } else if (instruction.getResultType() != -1) {
+                resultTypes.put(instruction.getResult(), instruction.getResultType());
+            }
+            instructions.add(instruction);
+        }
+        return new SPIRVBinaryOptimizer(header, instructions);
+    }
+
+    private ByteBuffer encode() {
+        int numWords = HEADER_WORDS;
+        for (SPIRVBinaryInstruction instruction : instructions) {
+            if (!instruction.removed) {
+                numWords += instruction.words.length;
+            }
+        }
+        ByteBuffer out = ByteBuffer.allocate(numWords * Integer.BYTES);
+        out.order(ByteOrder.LITTLE_ENDIAN);
+        for (int word : header) {
+            out.putInt(word);
+        }
+        for (SPIRVBinaryInstruction instruction : instructions) {
+            if (!instruction.removed) {
+                for (int word : instruction.words) {
+                    out.putInt(word);
+                }
+            }
+        }
+        out.flip();
+        return out;
+    }
+
+    private void rename(SPIRVBinaryInstruction instruction) {
+        if (renames.isEmpty()) {
+            return;
+        }
+        for (int index : instruction.useIndexes) {
+            Integer newId = renames.get(instruction.words[index]);
+            if (newId != null) {
+                instruction.words[index] = newId;
+            }
+        }
+    }
+
+    private void renameAll() {
+        for (SPIRVBinaryInstruction instruction : instructions) {
+            if (!instruction.removed) {
+                rename(instruction);
+            }
+        }
+        renames.clear();
+    }
+
+    private Set<Integer> decoratedIds() {
+        Set<Integer> decorated = new HashSet<>();
+        for (SPIRVBinaryInstruction instruction : instructions) {
+            if (instruction.opcode == SPIRVBinaryInstruction.OP_DECORATE || instruction.opcode == SPIRVBinaryInstruction.OP_DECORATE_ID) {
+                decorated.add(instruction.getTarget());
+            }
+        }
+        return decorated;
+    }
+
+    private void deduplicateConstants() {
+        Set<Integer> decorated = decoratedIds();
+        Map<List<Integer>, Integer> constants = new HashMap<>();
+        for (SPIRVBinaryInstruction instruction : instructions) {
+            if (!instruction.isConstant() || decorated.contains(instruction.getResult())) {
+                continue;
+            }
+            // Composites may use constants that have already been merged
+            rename(instruction);
+            List<Integer> key = new ArrayList<>(instruction.words.length);
+            for (int i = 0; i < instruction.words.length; i++) {
+                if (i != instruction.resultIndex) {
+                    key.add(instruction.words[i]);
+                }
+            }
+            Integer canonical = constants.putIfAbsent(key, instruction.getResult());
+            if (canonical != null) {
+                renames.put(instruction.getResult(), canonical);
+                instruction.removed = true;
+            }
+        }
+        renameAll();
+    }
+
+    /**
+     * Function variables that are only accessed through plain loads and stores.
+     */
+    private Set<Integer> promotableVariables() {
+        Set<Integer> variables = new HashSet<>();
+        for (SPIRVBinaryInstruction instruction : instructions) {
+            if (instruction.opcode == SPIRVBinaryInstruction.OP_VARIABLE && instruction.words[3] == SPIRVBinaryInstruction.STORAGE_CLASS_FUNCTION) {
+                variables.add(instruction.getResult());
+            }
+        }
+        for (SPIRVBinaryInstruction instruction : instructions) {
+            for (int index : instruction.useIndexes) {
+                final int id = instruction.words[index];
+                if (!variables.contains(id)) {
+                    continue;
+                }
+                boolean pointerOperand = (instruction.opcode == SPIRVBinaryInstruction.OP_LOAD && index == 3) || (instruction.opcode == SPIRVBinaryInstruction.OP_STORE && index == 1);
+                if (!pointerOperand || instruction.hasMemoryOperands()) {
+                    variables.remove(id);
+                }
+            }
+        }
+        return variables;
+    }
+
+    /**
+     * Basic block of a function, between its label and its terminator.
+     */
+    private static final class Block {
+        final int label;
+        final int start;
+        int end;
+        final List<Block> successors = new ArrayList<>();
+        final List<Block> predecessors = new ArrayList<>();
+        final List<Block> dominated = new ArrayList<>();
+        final Set<Block> frontier = new HashSet<>();
+        // Phi of each promoted variable, in creation order
+        final Map<Integer, Phi> phis = new LinkedHashMap<>();
+        Block dominator;
+        int order = -1;
+
+        Block(int label, int start) {
+            this.label = label;
+            this.start = start;
+            this.end = start;
+        }
+
+        boolean isReachable() {
+            return order != -1;
+        }
+    }
+
+    /**
+     * Phi of a promoted variable, with its (value, parent label) pairs.
+     */
+    private static final class Phi {
+        final int type;
+        final int result;
+        final List<Integer> operands = new ArrayList<>();
+
+        Phi(int type, int result) {
+            this.type = type;
+            this.result = result;
+        }
+    }
+
+    private int newId() {
+        // The ID bound of the header
+        return header[3]++;
+    }
+
+    private int getPointeeType(int variable) {
+        SPIRVBinaryInstruction pointerType = definitions.get(definitions.get(variable).getResultType());
+        return pointerType.words[3];
+    }
+
+    private int getUndef(int type) {
+        return undefs.computeIfAbsent(type, t -> {
+            SPIRVBinaryInstruction undef = SPIRVBinaryInstruction.create(SPIRVBinaryInstruction.OP_UNDEF, t, newId());
+            definitions.put(undef.getResult(), undef);
+            return undef.getResult();
+        });
+    }
+
+    /**
+     * Value of a variable before its first store: its initializer, or undefined.
+     */
+    private int getInitialValue(int variable) {
+        SPIRVBinaryInstruction definition = definitions.get(variable);
+        return definition.words.length > 4 ? definition.words[4] : getUndef(getPointeeType(variable));
+    }
+
+    private List<Block> buildBlocks(int start, int end) {
+        List<Block> blocks = new ArrayList<>();
+        Map<Integer, Block> labels = new HashMap<>();
+        for (int i = start; i < end; i++) {
+            SPIRVBinaryInstruction instruction = instructions.get(i);
+            if (instruction.opcode == SPIRVBinaryInstruction.OP_LABEL) {
+                Block block = new Block(instruction.getResult(), i);
+                blocks.add(block);
+                labels.put(block.label, block);
+            } else if (instruction.isTerminator() && !blocks.isEmpty()) {
+                blocks.get(blocks.size() - 1).end = i;
+            }
+        }
+        for (Block block : blocks) {
+            for (int label : instructions.get(block.end).getSuccessors()) {
+                Block successor = labels.get(label);
+                if (successor != null && !block.successors.contains(successor)) {
+                    block.successors.add(successor);
+                    successor.predecessors.add(block);
+                }
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Numbers the reachable blocks in reverse postorder and returns them in that
+     * order.
+     */
+    private static List<Block> reversePostorder(Block entry) {
+        List<Block> postorder = new ArrayList<>();
+        Set<Block> visited = new HashSet<>();
+        Deque<Block> stack = new ArrayDeque<>();
+        Deque<Integer> nextSuccessor = new ArrayDeque<>();
+        stack.push(entry);
+        nextSuccessor.push(0);
+        visited.add(entry);
+        while (!stack.isEmpty()) {
+            Block block = stack.peek();
+            int next = nextSuccessor.pop();
+            if (next < block.successors.size()) {
+                nextSuccessor.push(next + 1);
+                Block successor = block.successors.get(next);
+                if (visited.add(successor)) {
+                    stack.push(successor);
+                    nextSuccessor.push(0);
+                }
+            } else {
+                stack.pop();
+                postorder.add(block);
+            }
+        }
+        List<Block> order = new ArrayList<>(postorder.size());
+        for (int i = postorder.size() - 1; i >= 0; i--) {
+            Block block = postorder.get(i);
+            block.order = order.size();
+            order.add(block);
+        }
+        return order;
+    }
+
+    private static Block intersect(Block a, Block b) {
+        while (a != b) {
+            while (a.order > b.order) {
+                a = a.dominator;
+            }
+            while (b.order > a.order) {
+                b = b.dominator;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Computes the dominator tree and the dominance frontiers of the reachable
+     * blocks (Cooper, Harvey and Kennedy, "A Simple, Fast Dominance Algorithm").
+     */
+    private static void computeDominators(List<Block> order) {
+        Block entry = order.get(0);
+        entry.dominator = entry;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 1; i < order.size(); i++) {
+                Block block = order.get(i);
+                Block dominator = null;
+                for (Block predecessor : block.predecessors) {
+                    if (predecessor.dominator != null) {
+                        dominator = (dominator == null) ? predecessor : intersect(predecessor, dominator);
+                    }
+                }
+                if (block.dominator != dominator) {
+                    block.dominator = dominator;
+                    changed = true;
+                }
+            }
+        }
+        for (int i = 1; i < order.size(); i++) {
+            Block block = order.get(i);
+            block.dominator.dominated.add(block);
+            if (block.predecessors.size() > 1) {
+                for (Block predecessor : block.predecessors) {
+                    for (Block runner = predecessor; runner.isReachable() && runner != block.dominator; runner = runner.dominator) {
+                        runner.frontier.add(block);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Promotes the function variables that are only accessed through plain loads
+     * and stores to SSA values (mem2reg). Phis are placed on the iterated
+     * dominance frontier of the blocks that store to each loaded variable, and
+     * the loads are replaced by the value that reaches them along the dominator
+     * tree. The loads and stores are removed, and the variables are left to the
+     * dead-code elimination.
+     */
+    private void promoteVariables() {
+        Set<Integer> variables = promotableVariables();
+        if (variables.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<Phi>> phisByLabel = new HashMap<>();
+        int start = -1;
+        for (int i = 0; i < instructions.size(); i++) {
+            final int opcode = instructions.get(i).opcode;
+            if (opcode == SPIRVBinaryInstruction.OP_FUNCTION) {
+                start = i;
+            } else if (opcode == SPIRVBinaryInstruction.OP_FUNCTION_END && start != -1) {
+                promoteVariables(start, i, variables, phisByLabel);
+                start = -1;
+            }
+        }
+        insertPhisAndUndefs(phisByLabel);
+        renameAll();
+    }
+
+    private void promoteVariables(int start, int end, Set<Integer> promotable, Map<Integer, List<Phi>> phisByLabel) {
+        List<Block> blocks = buildBlocks(start, end);
+        if (blocks.isEmpty()) {
+            return;
+        }
+        List<Block> order = reversePostorder(blocks.get(0));
+        computeDominators(order);
+
+        // Variables of the function, with the blocks that store to them
+        Map<Integer, Set<Block>> stores = new LinkedHashMap<>();
+        Set<Integer> loaded = new HashSet<>();
+        for (Block block : order) {
+            for (int i = block.start; i <= block.end; i++) {
+                SPIRVBinaryInstruction instruction = instructions.get(i);
+                if (instruction.opcode == SPIRVBinaryInstruction.OP_VARIABLE && promotable.contains(instruction.getResult())) {
+                    stores.putIfAbsent(instruction.getResult(), new HashSet<>());
+                } else if (instruction.opcode == SPIRVBinaryInstruction.OP_STORE && stores.containsKey(instruction.words[1])) {
+                    stores.get(instruction.words[1]).add(block);
+                } else if (instruction.opcode == SPIRVBinaryInstruction.OP_LOAD) {
+                    loaded.add(instruction.words[3]);
+                }
+            }
+        }
+        for (Block block : blocks) {
+            if (!block.isReachable()) {
+                // Keep the variables accessed by unreachable code in memory
+                for (int i = block.start; i <= block.end; i++) {
+                    stores.remove(getPointer(instructions.get(i)));
+                }
+            }
+        }
+        if (stores.isEmpty()) {
+            return;
+        }
+
+        // Phis on the iterated dominance frontier of the stores of the loaded variables
+        for (Map.Entry<Integer, Set<Block>> entry : stores.entrySet()) {
+            final int variable = entry.getKey();
+            if (!loaded.contains(variable)) {
+                continue;
+            }
+            Deque<Block> worklist = new ArrayDeque<>(entry.getValue());
+            Set<Block> visited = new HashSet<>(entry.getValue());
+            while (!worklist.isEmpty()) {
+                for (Block frontier : worklist.poll().frontier) {
+                    if (!frontier.phis.containsKey(variable)) {
+                        frontier.phis.put(variable, new Phi(getPointeeType(variable), newId()));
+                        if (visited.add(frontier)) {
+                            worklist.add(frontier);
+                        }
+                    }
+                }
+            }
+        }
+
+        rename(order.get(0), stores.keySet(), new HashMap<>());
+
+        for (Block block : blocks) {
+            if (block.phis.isEmpty()) {
+                continue;
+            }
+            for (Map.Entry<Integer, Phi> entry : block.phis.entrySet()) {
+                // Unreachable parents still need an operand
+                for (Block predecessor : block.predecessors) {
+                    if (!predecessor.isReachable()) {
+                        entry.getValue().operands.add(getUndef(getPointeeType(entry.getKey())));
+                        entry.getValue().operands.add(predecessor.label);
+                    }
+                }
+            }
+            phisByLabel.put(block.label, new ArrayList<>(block.phis.values()));
+        }
+    }
+
+    /**
+     * Pointer operand of a load or a store, or -1.
+     */
+    private static int getPointer(SPIRVBinaryInstruction instruction) {
+        if (instruction.opcode == SPIRVBinaryInstruction.OP_LOAD) {
+            return instruction.words[3];
+        } else if (instruction.opcode == SPIRVBinaryInstruction.OP_STORE) {
+            return instruction.words[1];
+        }
+        return -1;
+    }
+
+    private int getValue(Map<Integer, Integer> values, int variable) {
+        Integer value = values.get(variable);
+        return value != null ? value : getInitialValue(variable);
+    }
+
+    /**
+     * Replaces the loads and removes the stores of the promoted variables in a
+     * block and in the blocks it dominates. {@code values} holds the value of each
+     * variable at the start of the block.
+     */
+    private void rename(Block block, Set<Integer> variables, Map<Integer, Integer> values) {
+        Map<Integer, Integer> blockValues = new HashMap<>(values);
+        for (Map.Entry<Integer, Phi> entry : block.phis.entrySet()) {
+            blockValues.put(entry.getKey(), entry.getValue().result);
+        }
+        for (int i = block.start; i <= block.end; i++) {
+            SPIRVBinaryInstruction instruction = instructions.get(i);
+            if (instruction.removed) {
+                continue;
+            }
+            rename(instruction);
+            if (instruction.opcode == SPIRVBinaryInstruction.OP_STORE && variables.contains(instruction.words[1])) {
+                blockValues.put(instruction.words[1], instruction.words[2]);
+                instruction.removed = true;
+            } else if (instruction.opcode == SPIRVBinaryInstruction.OP_LOAD && variables.contains(instruction.words[3])) {
+                renames.put(instruction.getResult(), getValue(blockValues, instruction.words[3]));
+                instruction.removed = true;
+            }
+        }
+        for (Block successor : block.successors) {
+            for (Map.Entry<Integer, Phi> entry : successor.phis.entrySet()) {
+                entry.getValue().operands.add(getValue(blockValues, entry.getKey()));
+                entry.getValue().operands.add(block.label);
+            }
+        }
+        for (Block dominated : block.dominated) {
+            rename(dominated, variables, blockValues);
+        }
+    }
+
+    /**
+     * Adds the new phis at the start of their blocks and the undefined values
+     * before the first function.
+     */
+    private void insertPhisAndUndefs(Map<Integer, List<Phi>> phisByLabel) {
+        List<SPIRVBinaryInstruction> result = new ArrayList<>(instructions.size());
+        boolean undefsInserted = false;
+        for (SPIRVBinaryInstruction instruction : instructions) {
+            if (!undefsInserted && instruction.opcode == SPIRVBinaryInstruction.OP_FUNCTION) {
+                for (int undef : undefs.values()) {
+                    result.add(definitions.get(undef));
+                }
+                undefsInserted = true;
+            }
+            result.add(instruction);
+            List<Phi> phis = instruction.opcode == SPIRVBinaryInstruction.OP_LABEL ? phisByLabel.get(instruction.getResult()) : null;
+            if (phis != null) {
+                for (Phi phi : phis) {
+                    int[] operands = new int[phi.operands.size() + 2];
+                    operands[0] = phi.type;
+                    operands[1] = phi.result;
+                    for (int i = 0; i < phi.operands.size(); i++) {
+                        // Values loaded in blocks visited later
+                        operands[i + 2] = renames.getOrDefault(phi.operands.get(i), phi.operands.get(i));
+                    }
+                    SPIRVBinaryInstruction phiInstruction = SPIRVBinaryInstruction.create(SPIRVBinaryInstruction.OP_PHI, operands);
+                    definitions.put(phi.result, phiInstruction);
+                    result.add(phiInstruction);
+                }
+            }
+        }
+        instructions.clear();
+        instructions.addAll(result);
+    }
+
+    private void eliminateDeadCode() {
+        Map<Integer, Integer> uses = new HashMap<>();
+        for (SPIRVBinaryInstruction instruction : instructions) {
+            if (!instruction.removed) {
+                for (int index : instruction.useIndexes) {
+                    // A loop phi may use its own result
+                    if (instruction.words[index] != instruction.getResult()) {
+                        uses.merge(instruction.words[index], 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        Deque<SPIRVBinaryInstruction> worklist = new ArrayDeque<>();
+        for (SPIRVBinaryInstruction instruction : instructions) {
+            if (!instruction.removed && instruction.isRemovableWhenUnused() && !uses.containsKey(instruction.getResult())) {
+                worklist.add(instruction);
+            }
+        }
+        while (!worklist.isEmpty()) {
+            SPIRVBinaryInstruction instruction = worklist.poll();
+            if (instruction.removed) {
+                continue;
+            }
+            instruction.removed = true;
+            for (int index : instruction.useIndexes) {
+                final int id = instruction.words[index];
+                if (id != instruction.getResult() && uses.merge(id, -1, Integer::sum) == 0) {
+                    uses.remove(id);
+                    SPIRVBinaryInstruction definition = definitions.get(id);
+                    if (definition != null && !definition.removed && definition.isRemovableWhenUnused()) {
+                        worklist.add(definition);
+                    }
+                }
+            }
+        }
+
+        // Names and decorations of removed instructions
+        for (SPIRVBinaryInstruction instruction : instructions) {
+            if (instruction.isAnnotation()) {
+                SPIRVBinaryInstruction definition = definitions.get(instruction.getTarget());
+                if (definition != null && definition.removed) {
+                    instruction.removed = true;
+                }
+            }
+        }
+    }
+}
@@ -88,6 +88,7 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.SPIRVSuitesProvider;
 import uk.ac.manchester.tornado.drivers.spirv.graal.asm.SPIRVAssembler;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.TornadoLIRSuites;
 import uk.ac.manchester.tornado.runtime.graal.TornadoSuites;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
@@ -426,6 +427,11 @@ public class SPIRVCompiler {
         // asm.module.close().write(asm.getSPIRVByteBuffer());
         asm.module.close().write(out);
         out.flip();
+        if (TornadoOptions.OPTIMIZE_SPIRV_BINARY) {
+            final int size = out.remaining();
+            out = SPIRVBinaryOptimizer.optimize(out);
+            TornadoLogger.info("SPIR-V module for %s optimized: %d -> %d bytes", task.getId(), size, out.remaining());
+        }
         asm.setSPIRVByteBuffer(out);
         // asm.getSPIRVByteBuffer().flip();
 
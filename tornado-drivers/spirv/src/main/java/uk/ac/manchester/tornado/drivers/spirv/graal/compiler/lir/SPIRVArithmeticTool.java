@@ -42,6 +42,7 @@ import jdk.vm.ci.meta.PlatformKind;
 import jdk.vm.ci.meta.PrimitiveConstant;
 import jdk.vm.ci.meta.Value;
 import jdk.vm.ci.meta.ValueKind;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
 import uk.ac.manchester.tornado.drivers.spirv.graal.SPIRVArchitecture;
@@ -59,6 +60,8 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary.SPIRVAddressC
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVVectorElementSelect;
 import uk.ac.manchester.tornado.drivers.spirv.graal.meta.SPIRVMemorySpace;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode.AtomicOperation;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode.SubGroupOperation;
 
 public class SPIRVArithmeticTool extends ArithmeticLIRGenerator {
 
@@ -502,6 +505,25 @@ public class SPIRVArithmeticTool extends ArithmeticLIRGenerator {
         }
     }
 
+    public Variable emitAtomicIndexed(AtomicOperation operation, LIRKind kind, SPIRVUnary.AbstractMemoryAccess address, Value value, Value expected) {
+        Logger.traceBuildLIR(Logger.BACKEND.SPIRV, "emitAtomicIndexed: %s %s, value=%s, expected=%s", operation, address, value, expected);
+        SPIRVKind spirvKind = (SPIRVKind) kind.getPlatformKind();
+        if (spirvKind.isFloatingPoint() && (operation == AtomicOperation.AND || operation == AtomicOperation.OR || operation == AtomicOperation.XOR)) {
+            throw new TornadoBailoutRuntimeException("Atomic " + operation + " is not supported for " + spirvKind + " in SPIR-V");
+        }
+        final Variable result = getGen().newVariable(kind);
+        SPIRVAddressCast cast = new SPIRVAddressCast(address.getValue(), address.getMemoryRegion(), kind);
+        getGen().append(new SPIRVLIRStmt.AtomicIndexedStmt(result, operation, cast, address, value, expected));
+        return result;
+    }
+
+    public Variable emitSubGroup(SubGroupOperation operation, LIRKind kind, Value value, Value lane) {
+        Logger.traceBuildLIR(Logger.BACKEND.SPIRV, "emitSubGroup: %s %s, lane=%s", operation, value, lane);
+        final Variable result = getGen().newVariable(kind);
+        getGen().append(new SPIRVLIRStmt.SubGroupStmt(result, operation, value, lane));
+        return result;
+    }
+
     private void emitLoad(AllocatableValue result, SPIRVAddressCast cast, MemoryAccess address) {
         Logger.traceBuildLIR(Logger.BACKEND.SPIRV, "emitLoad STMT: %s = (%s) %s", result.toString(), result.getPlatformKind().toString(), address.toString());
         getGen().append(new SPIRVLIRStmt.LoadStmt(result, cast, address));
@@ -69,6 +69,8 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SlotsBaseAddressNode;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.directives.CompilerInternals;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoAtomicsPlugins;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSubGroupPlugins;
 
 public class SPIRVGraphBuilderPlugins {
 
@@ -93,8 +95,11 @@ public class SPIRVGraphBuilderPlugins {
 
         // Register plugins for the new API
         registerKernelContextPlugins(invocationPlugins);
+        TornadoAtomicsPlugins.registerPlugins(invocationPlugins);
+        TornadoSubGroupPlugins.registerPlugins(invocationPlugins);
 
         SPIRVMathPlugins.registerTornadoMathPlugins(invocationPlugins);
+        SPIRVMathPlugins.registerHalfFloatPlugins(invocationPlugins);
         SPIRVVectorPlugins.registerPlugins(plugins, invocationPlugins);
     }
 
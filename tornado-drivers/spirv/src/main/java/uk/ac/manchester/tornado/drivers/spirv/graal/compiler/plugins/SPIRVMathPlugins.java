@@ -31,9 +31,12 @@ import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins;
 import jdk.vm.ci.meta.JavaKind;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.collections.math.TornadoMath;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVFPBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVFPUnaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVFPUnaryIntrinsicNode.SPIRVUnaryOperation;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVHalfArithmeticNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVHalfConvertNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVIntBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVIntBinaryIntrinsicNode.SPIRVIntOperation;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVIntTernaryIntrinsicNode;
@@ -70,6 +73,41 @@ public class SPIRVMathPlugins {
 
     }
 
+    public static void registerHalfFloatPlugins(final InvocationPlugins plugins) {
+        InvocationPlugins.Registration registration = new InvocationPlugins.Registration(plugins, HalfFloat.class);
+
+        registration.register(new InvocationPlugin("toFloat", short.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                b.push(JavaKind.Float, b.append(SPIRVHalfConvertNode.create(value, SPIRVHalfConvertNode.Operation.TO_FLOAT)));
+                return true;
+            }
+        });
+
+        registration.register(new InvocationPlugin("toHalf", float.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                b.push(JavaKind.Short, b.append(SPIRVHalfConvertNode.create(value, SPIRVHalfConvertNode.Operation.TO_HALF)));
+                return true;
+            }
+        });
+
+        registerHalfFloatArithmeticPlugin(registration, "add", SPIRVHalfArithmeticNode.Operation.ADD);
+        registerHalfFloatArithmeticPlugin(registration, "sub", SPIRVHalfArithmeticNode.Operation.SUB);
+        registerHalfFloatArithmeticPlugin(registration, "mult", SPIRVHalfArithmeticNode.Operation.MULT);
+        registerHalfFloatArithmeticPlugin(registration, "div", SPIRVHalfArithmeticNode.Operation.DIV);
+    }
+
+    private static void registerHalfFloatArithmeticPlugin(InvocationPlugins.Registration registration, String name, SPIRVHalfArithmeticNode.Operation operation) {
+        registration.register(new InvocationPlugin(name, short.class, short.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode x, ValueNode y) {
+                b.push(JavaKind.Short, b.append(SPIRVHalfArithmeticNode.create(x, y, operation)));
+                return true;
+            }
+        });
+    }
+
     private static void registerFloatMath1Plugins(InvocationPlugins.Registration r, Class<?> type, JavaKind kind) {
 
         r.register(new InvocationPlugin("sqrt", type) {
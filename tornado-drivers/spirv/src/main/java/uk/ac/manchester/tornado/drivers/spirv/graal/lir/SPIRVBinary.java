@@ -34,6 +34,7 @@ import org.graalvm.compiler.lir.Variable;
 import jdk.vm.ci.meta.AllocatableValue;
 import jdk.vm.ci.meta.Value;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVInstruction;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpBitcast;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpDecorate;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpExtInst;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpIEqual;
@@ -263,6 +264,50 @@ public class SPIRVBinary {
         }
     }
 
+    /**
+     * Arithmetic on the bits of two half-precision values. The operands are
+     * narrowed to 16-bit integers, reinterpreted as {@code OpTypeFloat 16} values
+     * with {@code OpBitcast} and combined with the floating-point instruction of
+     * the operation. The result is reinterpreted and widened back.
+     */
+    public static class HalfExpr extends BinaryConsumer {
+
+        public HalfExpr(Variable result, SPIRVBinaryOp opcode, LIRKind lirKind, Value x, Value y) {
+            super(opcode, result, lirKind, x, y);
+        }
+
+        private SPIRVId toHalf(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm, Value value) {
+            SPIRVKind kind = (SPIRVKind) value.getPlatformKind();
+            SPIRVId bits = loadSPIRVId(crb, asm, value);
+            if (kind != SPIRVKind.OP_TYPE_INT_16) {
+                SPIRVId narrow = asm.module.getNextId();
+                asm.currentBlockScope().add(new SPIRVOpSConvert(asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_INT_16), narrow, bits));
+                bits = narrow;
+            }
+            SPIRVId half = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpBitcast(asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_FLOAT_16), half, bits));
+            return half;
+        }
+
+        @Override
+        public void emit(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+            Logger.traceCodeGen(Logger.BACKEND.SPIRV, "emit half " + binaryOperation.getInstruction() + ":  " + x + " " + binaryOperation.getOpcode() + " " + y);
+
+            SPIRVId a = toHalf(crb, asm, x);
+            SPIRVId b = toHalf(crb, asm, y);
+
+            SPIRVId half = asm.module.getNextId();
+            asm.currentBlockScope().add(binaryOperation.generateInstruction(asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_FLOAT_16), half, a, b));
+
+            SPIRVId bits = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpBitcast(asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_INT_16), bits, half));
+
+            SPIRVId operationId = obtainPhiValueIdIfNeeded(asm);
+            asm.currentBlockScope().add(new SPIRVOpSConvert(asm.primitives.getTypePrimitive((SPIRVKind) getLIRKind().getPlatformKind()), operationId, bits));
+            asm.registerLIRInstructionValue(this, operationId);
+        }
+    }
+
     public static class PrivateArrayAllocation extends BinaryConsumer {
 
         private LIRKind lirKind;
@@ -36,29 +36,75 @@ import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
 
 import jdk.vm.ci.meta.AllocatableValue;
 import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.SPIRVInstScope;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpAtomicAnd;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpAtomicCompareExchange;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpAtomicExchange;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpAtomicIAdd;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpAtomicISub;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpAtomicOr;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpAtomicSMax;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpAtomicSMin;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpAtomicXor;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpBitcast;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpBranch;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpBranchConditional;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpCompositeExtract;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpConvertUToPtr;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpExtInst;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpFAdd;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpFSub;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpFunction;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpFunctionCall;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpFunctionEnd;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpFunctionParameter;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpGroupNonUniformAll;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpGroupNonUniformAny;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpGroupNonUniformBallot;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpGroupNonUniformBroadcast;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpGroupNonUniformFAdd;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpGroupNonUniformFMax;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpGroupNonUniformFMin;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpGroupNonUniformIAdd;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpGroupNonUniformSMax;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpGroupNonUniformSMin;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpGroupNonUniformShuffle;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpGroupNonUniformShuffleXor;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpIEqual;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpINotEqual;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpInBoundsPtrAccessChain;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpLabel;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpLoad;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpName;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpPhi;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpPtrCastToGeneric;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpReturnValue;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpSelect;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpStore;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpUConvert;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVFunctionControl;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVGroupOperation;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVId;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVLiteralExtInstInteger;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVLiteralInteger;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVLiteralString;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVMemoryAccess;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVMultipleOperands;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVOptionalOperand;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVPairIdRefIdRef;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.operands.SPIRVStorageClass;
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
 import uk.ac.manchester.tornado.drivers.spirv.graal.SPIRVArchitecture;
 import uk.ac.manchester.tornado.drivers.spirv.graal.asm.SPIRVAssembler;
 import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVCompilationResultBuilder;
 import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVNodeLIRBuilder;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary.Intrinsic.OpenCLExtendedIntrinsic;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary.MemoryAccess;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary.SPIRVAddressCast;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode.AtomicOperation;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode.SubGroupOperation;
 
 public class SPIRVLIRStmt {
 
@@ -1460,6 +1506,377 @@ public class SPIRVLIRStmt {
                 asm.registerLIRInstructionValue(result, storeId);
             }
         }
+
+        protected SPIRVId loadValue(SPIRVAssembler asm, Value input) {
+            if (input instanceof ConstantValue) {
+                return asm.lookUpConstant(((ConstantValue) input).getConstant().toValueString(), (SPIRVKind) input.getPlatformKind());
+            }
+            SPIRVId id = asm.lookUpLIRInstructions(input);
+            if (TornadoOptions.OPTIMIZE_LOAD_STORE_SPIRV) {
+                if (asm.isPhiAcrossBlocksPresent((AllocatableValue) input)) {
+                    id = asm.getPhiIdAcrossBlock((AllocatableValue) input);
+                }
+                return id;
+            }
+            SPIRVKind kind = (SPIRVKind) input.getPlatformKind();
+            SPIRVId loadId = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpLoad( //
+                    asm.primitives.getTypePrimitive(kind), //
+                    loadId, //
+                    id, //
+                    new SPIRVOptionalOperand<>(SPIRVMemoryAccess.Aligned(new SPIRVLiteralInteger(kind.getByteCount()))) //
+            ));
+            return loadId;
+        }
+    }
+
+    /**
+     * Atomic read-modify-write of an array element using the OpAtomic*
+     * instructions. Compare-and-exchange of floating-point elements is performed
+     * on the bits of the values, and the floating-point add, sub, min and max,
+     * which have no OpAtomic* instruction, with a compare-and-exchange loop.
+     */
+    @Opcode("ATOMIC")
+    public static class AtomicIndexedStmt extends AbstractIndexedLoadAccess {
+
+        public static final LIRInstructionClass<AtomicIndexedStmt> TYPE = LIRInstructionClass.create(AtomicIndexedStmt.class);
+
+        private static final String SCOPE_DEVICE = "1";
+        private static final String SCOPE_WORKGROUP = "2";
+        private static final String SEMANTICS_RELAXED = "0";
+
+        @Use
+        protected SPIRVAddressCast cast;
+        @Use
+        protected SPIRVUnary.AbstractMemoryAccess address;
+        @Use
+        protected Value value;
+        @Use
+        protected Value expected;
+
+        private final AtomicOperation operation;
+
+        public AtomicIndexedStmt(AllocatableValue result, AtomicOperation operation, SPIRVAddressCast cast, SPIRVUnary.AbstractMemoryAccess address, Value value, Value expected) {
+            super(TYPE, result);
+            this.operation = operation;
+            this.cast = cast;
+            this.address = address;
+            this.value = value;
+            this.expected = expected;
+        }
+
+        private SPIRVId emitPointer(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm, SPIRVKind spirvKind) {
+            if (address instanceof SPIRVUnary.MemoryIndexedAccess) {
+                ((SPIRVUnary.MemoryIndexedAccess) address).emitForLoad(asm, spirvKind);
+                return asm.lookUpLIRInstructions(address);
+            }
+            cast.emit(crb, asm);
+            return asm.lookUpLIRInstructions(cast);
+        }
+
+        private SPIRVId bitcast(SPIRVAssembler asm, SPIRVId type, SPIRVId input) {
+            SPIRVId id = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpBitcast(type, id, input));
+            return id;
+        }
+
+        private static SPIRVKind getBitsKind(SPIRVKind spirvKind) {
+            return (spirvKind.getByteCount() == 8) ? SPIRVKind.OP_TYPE_INT_64 : SPIRVKind.OP_TYPE_INT_32;
+        }
+
+        private void emitFloatingPointOperation(SPIRVAssembler asm, SPIRVInstScope blockScope, SPIRVId type, SPIRVId resultId, SPIRVId previous, SPIRVId valueId) {
+            switch (operation) {
+                case ADD:
+                    blockScope.add(new SPIRVOpFAdd(type, resultId, previous, valueId));
+                    break;
+                case SUB:
+                    blockScope.add(new SPIRVOpFSub(type, resultId, previous, valueId));
+                    break;
+                case MIN:
+                case MAX:
+                    OpenCLExtendedIntrinsic builtIn = (operation == AtomicOperation.MIN) ? OpenCLExtendedIntrinsic.FMIN : OpenCLExtendedIntrinsic.FMAX;
+                    blockScope.add(new SPIRVOpExtInst(type, resultId, asm.getOpenclImport(), new SPIRVLiteralExtInstInteger(builtIn.getValue(), builtIn.getName()),
+                            new SPIRVMultipleOperands<>(previous, valueId)));
+                    break;
+                default:
+                    throw new TornadoInternalError("Atomic operation not supported for floating-point: " + operation);
+            }
+        }
+
+        /**
+         * Returns the function that applies the operation to a floating-point
+         * element with a compare-and-exchange loop on its bits, and returns the
+         * previous value:
+         *
+         * <code>
+         *     entry:  %initial = OpLoad %bitsType %pointer
+         *             OpBranch %loop
+         *     loop:   %expected = OpPhi %bitsType %initial %entry %observed %loop
+         *             %previous = OpBitcast %type %expected
+         *             %updated = OpFAdd %type %previous %value
+         *             %observed = OpAtomicCompareExchange %bitsType %pointer ... %updatedBits %expected
+         *             OpBranchConditional (%observed == %expected) %exit %loop
+         *     exit:   OpReturnValue %previous
+         * </code>
+         *
+         * The loop is emitted in its own function, once per module, operation,
+         * type and address space, so the blocks of the kernel, which the kernel
+         * OpPhi instructions refer to, are not split.
+         */
+        private SPIRVId getFloatingPointAtomicFunction(SPIRVAssembler asm, SPIRVKind spirvKind, SPIRVStorageClass storageClass, boolean isLocal, SPIRVId scope, SPIRVId semantics) {
+            String name = "atomic_" + operation.name().toLowerCase() + "_f" + (spirvKind.getByteCount() * 8) + (isLocal ? "_local" : "_global");
+            SPIRVId function = asm.getSPIRVSymbolTable().get(name);
+            if (function != null) {
+                return function;
+            }
+
+            SPIRVKind bitsKind = getBitsKind(spirvKind);
+            SPIRVId type = asm.primitives.getTypePrimitive(spirvKind);
+            SPIRVId bitsType = asm.primitives.getTypePrimitive(bitsKind);
+            SPIRVId bitsPointerType = asm.primitives.getPtrOpTypePointerWithStorage(bitsKind, storageClass);
+            SPIRVId bool = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_BOOL);
+            SPIRVId functionType = asm.emitOpTypeFunction(type, bitsPointerType, type);
+
+            function = asm.module.getNextId();
+            asm.module.add(new SPIRVOpName(function, new SPIRVLiteralString(name)));
+            asm.putSymbol(name, function);
+
+            SPIRVInstScope functionScope = asm.module.add(new SPIRVOpFunction(type, function, SPIRVFunctionControl.DontInline(), functionType));
+            SPIRVId pointer = asm.module.getNextId();
+            functionScope.add(new SPIRVOpFunctionParameter(bitsPointerType, pointer));
+            SPIRVId valueId = asm.module.getNextId();
+            functionScope.add(new SPIRVOpFunctionParameter(type, valueId));
+
+            SPIRVId entry = asm.module.getNextId();
+            SPIRVId loop = asm.module.getNextId();
+            SPIRVId exit = asm.module.getNextId();
+
+            SPIRVInstScope entryScope = functionScope.add(new SPIRVOpLabel(entry));
+            SPIRVId initial = asm.module.getNextId();
+            entryScope.add(new SPIRVOpLoad(bitsType, initial, pointer, new SPIRVOptionalOperand<>(SPIRVMemoryAccess.Aligned(new SPIRVLiteralInteger(bitsKind.getByteCount())))));
+            entryScope.add(new SPIRVOpBranch(loop));
+
+            SPIRVInstScope loopScope = functionScope.add(new SPIRVOpLabel(loop));
+            SPIRVId expected = asm.module.getNextId();
+            SPIRVId observed = asm.module.getNextId();
+            loopScope.add(new SPIRVOpPhi(bitsType, expected, new SPIRVMultipleOperands<>(new SPIRVPairIdRefIdRef(initial, entry), new SPIRVPairIdRefIdRef(observed, loop))));
+            SPIRVId previous = asm.module.getNextId();
+            loopScope.add(new SPIRVOpBitcast(type, previous, expected));
+            SPIRVId updated = asm.module.getNextId();
+            emitFloatingPointOperation(asm, loopScope, type, updated, previous, valueId);
+            SPIRVId updatedBits = asm.module.getNextId();
+            loopScope.add(new SPIRVOpBitcast(bitsType, updatedBits, updated));
+            loopScope.add(new SPIRVOpAtomicCompareExchange(bitsType, observed, pointer, scope, semantics, semantics, updatedBits, expected));
+            // Retry if another thread changed the element since it was read
+            SPIRVId exchanged = asm.module.getNextId();
+            loopScope.add(new SPIRVOpIEqual(bool, exchanged, observed, expected));
+            loopScope.add(new SPIRVOpBranchConditional(exchanged, exit, loop, new SPIRVMultipleOperands<>()));
+
+            SPIRVInstScope exitScope = functionScope.add(new SPIRVOpLabel(exit));
+            exitScope.add(new SPIRVOpReturnValue(previous));
+            functionScope.add(new SPIRVOpFunctionEnd());
+            return function;
+        }
+
+        @Override
+        protected void emitCode(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+            Logger.traceCodeGen(Logger.BACKEND.SPIRV, "emit AtomicIndexedStmt " + operation + " in address: " + address + " <- " + value);
+
+            SPIRVKind spirvKind = (SPIRVKind) result.getPlatformKind();
+            SPIRVId type = asm.primitives.getTypePrimitive(spirvKind);
+            SPIRVId pointer = emitPointer(crb, asm, spirvKind);
+            SPIRVId valueId = loadValue(asm, value);
+
+            boolean isLocal = address.getMemoryRegion().getNumber() == SPIRVArchitecture.localSpace.getNumber();
+            SPIRVId scope = asm.lookUpConstant(isLocal ? SCOPE_WORKGROUP : SCOPE_DEVICE, SPIRVKind.OP_TYPE_INT_32);
+            SPIRVId semantics = asm.lookUpConstant(SEMANTICS_RELAXED, SPIRVKind.OP_TYPE_INT_32);
+
+            if (spirvKind.getByteCount() == 8) {
+                asm.emitInt64AtomicsCapability();
+            }
+
+            SPIRVId atomicId = asm.module.getNextId();
+            SPIRVStorageClass storageClass = isLocal ? SPIRVStorageClass.Workgroup() : SPIRVStorageClass.CrossWorkgroup();
+            if (spirvKind.isFloatingPoint() && operation != AtomicOperation.EXCHANGE && operation != AtomicOperation.COMPARE_EXCHANGE) {
+                SPIRVId bitsPointerType = asm.primitives.getPtrOpTypePointerWithStorage(getBitsKind(spirvKind), storageClass);
+                SPIRVId function = getFloatingPointAtomicFunction(asm, spirvKind, storageClass, isLocal, scope, semantics);
+                asm.currentBlockScope().add(new SPIRVOpFunctionCall(type, atomicId, function, new SPIRVMultipleOperands<>(bitcast(asm, bitsPointerType, pointer), valueId)));
+                asm.emitValue(crb, result);
+                emitStoreIfNeeded(asm, atomicId, spirvKind);
+                return;
+            }
+
+            switch (operation) {
+                case ADD:
+                    asm.currentBlockScope().add(new SPIRVOpAtomicIAdd(type, atomicId, pointer, scope, semantics, valueId));
+                    break;
+                case SUB:
+                    asm.currentBlockScope().add(new SPIRVOpAtomicISub(type, atomicId, pointer, scope, semantics, valueId));
+                    break;
+                case MIN:
+                    asm.currentBlockScope().add(new SPIRVOpAtomicSMin(type, atomicId, pointer, scope, semantics, valueId));
+                    break;
+                case MAX:
+                    asm.currentBlockScope().add(new SPIRVOpAtomicSMax(type, atomicId, pointer, scope, semantics, valueId));
+                    break;
+                case AND:
+                    asm.currentBlockScope().add(new SPIRVOpAtomicAnd(type, atomicId, pointer, scope, semantics, valueId));
+                    break;
+                case OR:
+                    asm.currentBlockScope().add(new SPIRVOpAtomicOr(type, atomicId, pointer, scope, semantics, valueId));
+                    break;
+                case XOR:
+                    asm.currentBlockScope().add(new SPIRVOpAtomicXor(type, atomicId, pointer, scope, semantics, valueId));
+                    break;
+                case EXCHANGE:
+                    asm.currentBlockScope().add(new SPIRVOpAtomicExchange(type, atomicId, pointer, scope, semantics, valueId));
+                    break;
+                case COMPARE_EXCHANGE:
+                    SPIRVId expectedId = loadValue(asm, expected);
+                    if (spirvKind.isFloatingPoint()) {
+                        // OpAtomicCompareExchange is only defined for integers
+                        SPIRVKind bitsKind = getBitsKind(spirvKind);
+                        SPIRVId bitsType = asm.primitives.getTypePrimitive(bitsKind);
+                        SPIRVId bitsPointerType = asm.primitives.getPtrOpTypePointerWithStorage(bitsKind, storageClass);
+                        SPIRVId bitsPointer = bitcast(asm, bitsPointerType, pointer);
+                        SPIRVId bitsResult = asm.module.getNextId();
+                        asm.currentBlockScope().add(new SPIRVOpAtomicCompareExchange(bitsType, bitsResult, bitsPointer, scope, semantics, semantics, //
+                                bitcast(asm, bitsType, valueId), bitcast(asm, bitsType, expectedId)));
+                        asm.currentBlockScope().add(new SPIRVOpBitcast(type, atomicId, bitsResult));
+                    } else {
+                        asm.currentBlockScope().add(new SPIRVOpAtomicCompareExchange(type, atomicId, pointer, scope, semantics, semantics, valueId, expectedId));
+                    }
+                    break;
+                default:
+                    throw new TornadoInternalError("Atomic operation not supported: " + operation);
+            }
+
+            asm.emitValue(crb, result);
+            emitStoreIfNeeded(asm, atomicId, spirvKind);
+        }
+    }
+
+    /**
+     * Subgroup operations using the OpGroupNonUniform* instructions (SPIR-V
+     * 1.3). Votes take the predicate as an int and return 1/0.
+     */
+    @Opcode("SUBGROUP")
+    public static class SubGroupStmt extends AbstractIndexedLoadAccess {
+
+        public static final LIRInstructionClass<SubGroupStmt> TYPE = LIRInstructionClass.create(SubGroupStmt.class);
+
+        private static final String SCOPE_SUBGROUP = "3";
+
+        @Use
+        protected Value value;
+        @Use
+        protected Value lane;
+
+        private final SubGroupOperation operation;
+
+        public SubGroupStmt(AllocatableValue result, SubGroupOperation operation, Value value, Value lane) {
+            super(TYPE, result);
+            this.operation = operation;
+            this.value = value;
+            this.lane = lane;
+        }
+
+        private SPIRVId predicate(SPIRVAssembler asm, SPIRVId valueId) {
+            SPIRVId bool = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_BOOL);
+            SPIRVId zero = asm.lookUpConstant("0", SPIRVKind.OP_TYPE_INT_32);
+            SPIRVId id = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpINotEqual(bool, id, valueId, zero));
+            return id;
+        }
+
+        private void select(SPIRVAssembler asm, SPIRVId type, SPIRVId resultId, SPIRVId condition) {
+            SPIRVId one = asm.lookUpConstant("1", SPIRVKind.OP_TYPE_INT_32);
+            SPIRVId zero = asm.lookUpConstant("0", SPIRVKind.OP_TYPE_INT_32);
+            asm.currentBlockScope().add(new SPIRVOpSelect(type, resultId, condition, one, zero));
+        }
+
+        private void emitArithmetic(SPIRVAssembler asm, SPIRVKind spirvKind, SPIRVId type, SPIRVId resultId, SPIRVId scope, SPIRVGroupOperation groupOperation, SPIRVId valueId) {
+            boolean fp = spirvKind.isFloatingPoint();
+            switch (operation) {
+                case REDUCE_ADD:
+                case INCLUSIVE_SCAN_ADD:
+                case EXCLUSIVE_SCAN_ADD:
+                    asm.currentBlockScope().add(fp //
+                            ? new SPIRVOpGroupNonUniformFAdd(type, resultId, scope, groupOperation, valueId, new SPIRVOptionalOperand<>()) //
+                            : new SPIRVOpGroupNonUniformIAdd(type, resultId, scope, groupOperation, valueId, new SPIRVOptionalOperand<>()));
+                    break;
+                case REDUCE_MIN:
+                    asm.currentBlockScope().add(fp //
+                            ? new SPIRVOpGroupNonUniformFMin(type, resultId, scope, groupOperation, valueId, new SPIRVOptionalOperand<>()) //
+                            : new SPIRVOpGroupNonUniformSMin(type, resultId, scope, groupOperation, valueId, new SPIRVOptionalOperand<>()));
+                    break;
+                case REDUCE_MAX:
+                    asm.currentBlockScope().add(fp //
+                            ? new SPIRVOpGroupNonUniformFMax(type, resultId, scope, groupOperation, valueId, new SPIRVOptionalOperand<>()) //
+                            : new SPIRVOpGroupNonUniformSMax(type, resultId, scope, groupOperation, valueId, new SPIRVOptionalOperand<>()));
+                    break;
+                default:
+                    throw new TornadoInternalError("Subgroup operation not supported: " + operation);
+            }
+        }
+
+        @Override
+        protected void emitCode(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+            Logger.traceCodeGen(Logger.BACKEND.SPIRV, "emit SubGroupStmt " + operation + " <- " + value);
+
+            SPIRVKind spirvKind = (SPIRVKind) result.getPlatformKind();
+            SPIRVId type = asm.primitives.getTypePrimitive(spirvKind);
+            SPIRVId scope = asm.lookUpConstant(SCOPE_SUBGROUP, SPIRVKind.OP_TYPE_INT_32);
+            SPIRVId valueId = loadValue(asm, value);
+
+            SPIRVId resultId = asm.module.getNextId();
+            switch (operation) {
+                case SHUFFLE:
+                    asm.currentBlockScope().add(new SPIRVOpGroupNonUniformShuffle(type, resultId, scope, valueId, loadValue(asm, lane)));
+                    break;
+                case SHUFFLE_XOR:
+                    asm.currentBlockScope().add(new SPIRVOpGroupNonUniformShuffleXor(type, resultId, scope, valueId, loadValue(asm, lane)));
+                    break;
+                case BROADCAST:
+                    asm.currentBlockScope().add(new SPIRVOpGroupNonUniformBroadcast(type, resultId, scope, valueId, loadValue(asm, lane)));
+                    break;
+                case ANY:
+                case ALL: {
+                    SPIRVId bool = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_BOOL);
+                    SPIRVId voteId = asm.module.getNextId();
+                    if (operation == SubGroupOperation.ANY) {
+                        asm.currentBlockScope().add(new SPIRVOpGroupNonUniformAny(bool, voteId, scope, predicate(asm, valueId)));
+                    } else {
+                        asm.currentBlockScope().add(new SPIRVOpGroupNonUniformAll(bool, voteId, scope, predicate(asm, valueId)));
+                    }
+                    select(asm, type, resultId, voteId);
+                    break;
+                }
+                case BALLOT: {
+                    SPIRVId uint4 = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_VECTOR4_INT_32);
+                    SPIRVId ballotId = asm.module.getNextId();
+                    asm.currentBlockScope().add(new SPIRVOpGroupNonUniformBallot(uint4, ballotId, scope, predicate(asm, valueId)));
+                    asm.currentBlockScope().add(new SPIRVOpCompositeExtract(type, resultId, ballotId, new SPIRVMultipleOperands<>(new SPIRVLiteralInteger(0))));
+                    break;
+                }
+                case REDUCE_ADD:
+                case REDUCE_MIN:
+                case REDUCE_MAX:
+                    emitArithmetic(asm, spirvKind, type, resultId, scope, SPIRVGroupOperation.Reduce(), valueId);
+                    break;
+                case INCLUSIVE_SCAN_ADD:
+                    emitArithmetic(asm, spirvKind, type, resultId, scope, SPIRVGroupOperation.InclusiveScan(), valueId);
+                    break;
+                case EXCLUSIVE_SCAN_ADD:
+                    emitArithmetic(asm, spirvKind, type, resultId, scope, SPIRVGroupOperation.ExclusiveScan(), valueId);
+                    break;
+                default:
+                    throw new TornadoInternalError("Subgroup operation not supported: " + operation);
+            }
+
+            asm.emitValue(crb, result);
+            emitStoreIfNeeded(asm, resultId, spirvKind);
+        }
     }
 
     @Opcode("INDEXED_LOAD_ACCESS")
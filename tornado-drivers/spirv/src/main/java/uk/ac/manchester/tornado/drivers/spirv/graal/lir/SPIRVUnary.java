@@ -35,6 +35,7 @@ import jdk.vm.ci.meta.AllocatableValue;
 import jdk.vm.ci.meta.Local;
 import jdk.vm.ci.meta.Value;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.SPIRVInstScope;
+import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpBitcast;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpCompositeExtract;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpControlBarrier;
 import uk.ac.manchester.spirvbeehivetoolkit.lib.instructions.SPIRVOpConvertFToS;
@@ -657,6 +658,49 @@ public class SPIRVUnary {
         }
     }
 
+    public static class SubGroupBuiltinCallForSPIRV extends UnaryConsumer {
+
+        protected SPIRVThreadBuiltIn builtIn;
+
+        public SubGroupBuiltinCallForSPIRV(SPIRVThreadBuiltIn builtIn, Variable result, LIRKind valueKind) {
+            super(null, result, valueKind, null);
+            this.builtIn = builtIn;
+        }
+
+        /**
+         * Equivalent OpenCL Code:
+         *
+         * <code>
+         * uint size = get_sub_group_size();
+         * </code>
+         *
+         * <code>
+         * %12 = OpLoad %uint %__spirv_BuiltInSubgroupSize Aligned 4
+         * </code>
+         */
+        @Override
+        public void emit(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+            Logger.traceCodeGen(Logger.BACKEND.SPIRV, "emit Subgroup-SPIRV Intrinsic: " + builtIn);
+
+            SPIRVId uint = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_INT_32);
+
+            // All builtins have to be registered previous to this call
+            SPIRVId idSPIRVBuiltin = asm.builtinTable.get(builtIn);
+
+            SPIRVId loadId = obtainPhiValueIdIfNeeded(asm);
+            asm.currentBlockScope().add(new SPIRVOpLoad( //
+                    uint, //
+                    loadId, //
+                    idSPIRVBuiltin, //
+                    new SPIRVOptionalOperand<>( //
+                            SPIRVMemoryAccess.Aligned(new SPIRVLiteralInteger(4))) //
+            ));
+
+            // Store will be performed in the Assigment, if enabled.
+            asm.registerLIRInstructionValue(this, loadId);
+        }
+    }
+
     public abstract static class AbstractExtend extends UnaryConsumer {
 
         protected AbstractExtend(SPIRVUnaryOp opcode, Variable result, LIRKind valueKind, Value value) {
@@ -932,6 +976,80 @@ public class SPIRVUnary {
         }
     }
 
+    /**
+     * Conversion from the bits of a half-precision value into a float: the bits
+     * are narrowed to a 16-bit integer (OpSConvert), reinterpreted as an
+     * OpTypeFloat 16 (OpBitcast) and converted with OpFConvert.
+     */
+    public static class CastHalfToFloat extends CastOperations {
+
+        public CastHalfToFloat(LIRKind lirKind, Variable result, Value inputVal) {
+            super(null, result, lirKind, inputVal);
+        }
+
+        @Override
+        public void emit(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+
+            Logger.traceCodeGen(Logger.BACKEND.SPIRV, "emit SPIRVOpFConvert from " + value.getPlatformKind() + " (half) -> " + SPIRVKind.OP_TYPE_FLOAT_32);
+
+            SPIRVKind fromKind = (SPIRVKind) value.getPlatformKind();
+            SPIRVId fromTypeID = asm.primitives.getTypePrimitive(fromKind);
+            SPIRVId shortTypeID = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_INT_16);
+            SPIRVId halfTypeID = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_FLOAT_16);
+            SPIRVId floatTypeID = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_FLOAT_32);
+
+            SPIRVId bits = loadConvertIfNeeded(crb, asm, fromTypeID, fromKind);
+            if (fromKind != SPIRVKind.OP_TYPE_INT_16) {
+                SPIRVId narrow = asm.module.getNextId();
+                asm.currentBlockScope().add(new SPIRVOpSConvert(shortTypeID, narrow, bits));
+                bits = narrow;
+            }
+
+            SPIRVId half = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpBitcast(halfTypeID, half, bits));
+
+            SPIRVId result = obtainPhiValueIdIfNeeded(asm);
+            asm.currentBlockScope().add(new SPIRVOpFConvert(floatTypeID, result, half));
+            asm.registerLIRInstructionValue(this, result);
+        }
+    }
+
+    /**
+     * Conversion from a float into the bits of a half-precision value: OpFConvert
+     * to OpTypeFloat 16, OpBitcast to a 16-bit integer and OpSConvert to the
+     * integer kind of the result.
+     */
+    public static class CastFloatToHalf extends CastOperations {
+
+        public CastFloatToHalf(LIRKind lirKind, Variable result, Value inputVal) {
+            super(null, result, lirKind, inputVal);
+        }
+
+        @Override
+        public void emit(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+
+            Logger.traceCodeGen(Logger.BACKEND.SPIRV, "emit SPIRVOpFConvert from " + value.getPlatformKind() + " -> half");
+
+            SPIRVKind fromKind = (SPIRVKind) value.getPlatformKind();
+            SPIRVKind toKind = (SPIRVKind) result.getPlatformKind();
+            SPIRVId fromTypeID = asm.primitives.getTypePrimitive(fromKind);
+            SPIRVId shortTypeID = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_INT_16);
+            SPIRVId halfTypeID = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_FLOAT_16);
+
+            SPIRVId loadConvert = loadConvertIfNeeded(crb, asm, fromTypeID, fromKind);
+
+            SPIRVId half = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpFConvert(halfTypeID, half, loadConvert));
+
+            SPIRVId bits = asm.module.getNextId();
+            asm.currentBlockScope().add(new SPIRVOpBitcast(shortTypeID, bits, half));
+
+            SPIRVId result = obtainPhiValueIdIfNeeded(asm);
+            asm.currentBlockScope().add(new SPIRVOpSConvert(asm.primitives.getTypePrimitive(toKind), result, bits));
+            asm.registerLIRInstructionValue(this, result);
+        }
+    }
+
     /**
      * OpenCL Extended Instruction Set Intrinsics. As specified in the SPIR-V 1.0
      * standard, the following intrinsics in SPIR-V represents builtin functions
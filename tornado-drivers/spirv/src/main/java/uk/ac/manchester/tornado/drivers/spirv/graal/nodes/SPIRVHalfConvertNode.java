@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.spirv.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.UnaryNode;
+import org.graalvm.compiler.nodes.spi.CanonicalizerTool;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
+import uk.ac.manchester.tornado.drivers.common.logging.Logger;
+import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVLIRGenerator;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVLIRStmt;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary;
+
+/**
+ * Conversion between float and the bits of a half-precision value
+ * ({@link HalfFloat}). The bits are reinterpreted as an {@code OpTypeFloat 16}
+ * value with {@code OpBitcast}, which is converted with {@code OpFConvert}.
+ */
+@NodeInfo(nameTemplate = "{p#operation/s}")
+public class SPIRVHalfConvertNode extends UnaryNode implements LIRLowerable {
+
+    public static final NodeClass<SPIRVHalfConvertNode> TYPE = NodeClass.create(SPIRVHalfConvertNode.class);
+
+    public enum Operation {
+        TO_FLOAT, //
+        TO_HALF
+    }
+
+    protected final Operation operation;
+
+    public SPIRVHalfConvertNode(ValueNode value, Operation operation) {
+        super(TYPE, StampFactory.forKind(operation == Operation.TO_FLOAT ? JavaKind.Float : JavaKind.Short), value);
+        this.operation = operation;
+    }
+
+    public static ValueNode create(ValueNode value, Operation operation) {
+        ValueNode constant = tryConstantFold(value, operation);
+        return (constant != null) ? constant : new SPIRVHalfConvertNode(value, operation);
+    }
+
+    private static ValueNode tryConstantFold(ValueNode value, Operation operation) {
+        if (!value.isConstant()) {
+            return null;
+        }
+        if (operation == Operation.TO_FLOAT) {
+            return ConstantNode.forFloat(HalfFloat.toFloat((short) value.asJavaConstant().asInt()));
+        }
+        return ConstantNode.forIntegerKind(JavaKind.Short, HalfFloat.toHalf(value.asJavaConstant().asFloat()));
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public Node canonical(CanonicalizerTool tool, ValueNode forValue) {
+        ValueNode constant = tryConstantFold(forValue, operation);
+        return (constant != null) ? constant : this;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool builder) {
+        Logger.traceBuildLIR(Logger.BACKEND.SPIRV, "emitHalfConvert: op=%s, x=%s", operation, getValue());
+        SPIRVLIRGenerator gen = (SPIRVLIRGenerator) builder.getLIRGeneratorTool();
+        LIRKind lirKind = gen.getLIRKind(stamp);
+        Variable result = gen.newVariable(lirKind);
+        Value input = builder.operand(getValue());
+        SPIRVUnary.CastOperations cast;
+        if (operation == Operation.TO_FLOAT) {
+            cast = new SPIRVUnary.CastHalfToFloat(lirKind, result, input);
+        } else {
+            cast = new SPIRVUnary.CastFloatToHalf(lirKind, result, input);
+        }
+        gen.append(new SPIRVLIRStmt.AssignStmt(result, cast));
+        builder.setResult(this, result);
+    }
+}
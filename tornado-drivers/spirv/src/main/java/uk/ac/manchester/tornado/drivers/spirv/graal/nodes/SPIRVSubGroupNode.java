@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.spirv.graal.nodes;
+
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+
+import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.drivers.spirv.SPIRVThreadBuiltIn;
+import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVLIRGenerator;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVLIRStmt;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode.SubGroupOperation;
+
+/**
+ * Lowered form of a {@link SubGroupNode}. Queries read the subgroup built-in
+ * variables and the remaining operations use the OpGroupNonUniform*
+ * instructions.
+ */
+@NodeInfo(nameTemplate = "SPIRVSubGroup{p#operation/s}")
+public class SPIRVSubGroupNode extends FixedWithNextNode implements LIRLowerable {
+
+    public static final NodeClass<SPIRVSubGroupNode> TYPE = NodeClass.create(SPIRVSubGroupNode.class);
+
+    @OptionalInput
+    protected ValueNode value;
+    @OptionalInput
+    protected ValueNode lane;
+
+    private final SubGroupOperation operation;
+
+    public SPIRVSubGroupNode(SubGroupNode subGroup) {
+        super(TYPE, subGroup.stamp(NodeView.DEFAULT));
+        this.value = subGroup.value();
+        this.lane = subGroup.lane();
+        this.operation = subGroup.getOperation();
+    }
+
+    public SubGroupOperation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool builder) {
+        SPIRVLIRGenerator gen = (SPIRVLIRGenerator) builder.getLIRGeneratorTool();
+        LIRKind kind = gen.getLIRKind(stamp);
+        Variable result;
+        switch (operation) {
+            case SIZE:
+                result = emitQuery(gen, SPIRVThreadBuiltIn.SUB_GROUP_SIZE, kind);
+                break;
+            case LOCAL_ID:
+                result = emitQuery(gen, SPIRVThreadBuiltIn.SUB_GROUP_LOCAL_ID, kind);
+                break;
+            case ID:
+                result = emitQuery(gen, SPIRVThreadBuiltIn.SUB_GROUP_ID, kind);
+                break;
+            case NUM_SUB_GROUPS:
+                result = emitQuery(gen, SPIRVThreadBuiltIn.NUM_SUB_GROUPS, kind);
+                break;
+            default:
+                Value laneValue = (lane != null) ? builder.operand(lane) : null;
+                result = gen.getArithmetic().emitSubGroup(operation, kind, builder.operand(value), laneValue);
+                break;
+        }
+        builder.setResult(this, result);
+    }
+
+    private static Variable emitQuery(SPIRVLIRGenerator gen, SPIRVThreadBuiltIn builtIn, LIRKind kind) {
+        Variable result = gen.newVariable(kind);
+        gen.append(new SPIRVLIRStmt.AssignStmt(result, new SPIRVUnary.SubGroupBuiltinCallForSPIRV(builtIn, result, kind)));
+        return result;
+    }
+}
@@ -516,4 +516,35 @@ public class LevelZeroCommandList {
     public int zeCommandListAppendMemAdvise(long commandListHandlerPtr, long deviceHandlerPtr, LevelZeroBufferInteger bufferA, int bufferSize, int memoryAdvice) {
         return zeCommandListAppendMemAdvise_native(commandListHandlerPtr, deviceHandlerPtr, bufferA, bufferSize, memoryAdvice);
     }
+
+    private native int zeCommandListAppendWaitOnEvents_native(long commandListHandlerPtr, int numEvents, long[] phEvents);
+
+    /**
+     * Appends a wait on events into a command list. Commands appended after the
+     * wait are not executed until all the given events are signaled.
+     *
+     * @param commandListHandlerPtr
+     *            [in] handle pointer of the command list
+     * @param numEvents
+     *            [in] number of events to wait on before continuing
+     * @param phEvents
+     *            [in] array of {@link ZeEventHandle} of length `numEvents` to wait
+     *            on before continuing
+     * @return ZE_RESULT_SUCCESS
+     *         <p>
+     *         ZE_RESULT_ERROR_UNINITIALIZED
+     *         <p>
+     *         ZE_RESULT_ERROR_DEVICE_LOST
+     *         <p>
+     *         ZE_RESULT_ERROR_INVALID_NULL_HANDLE: (null == hCommandList)
+     *         <p>
+     *         ZE_RESULT_ERROR_INVALID_NULL_POINTER: (null == phEvents)
+     */
+    public int zeCommandListAppendWaitOnEvents(long commandListHandlerPtr, int numEvents, ZeEventHandle[] phEvents) {
+        long[] events = new long[numEvents];
+        for (int i = 0; i < numEvents; i++) {
+            events[i] = phEvents[i].getPtrZeEventHandle();
+        }
+        return zeCommandListAppendWaitOnEvents_native(commandListHandlerPtr, numEvents, events);
+    }
 }
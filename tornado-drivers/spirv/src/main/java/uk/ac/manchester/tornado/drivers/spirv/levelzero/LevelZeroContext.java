@@ -106,6 +106,16 @@ public class LevelZeroContext {
         return zeModuleCreate_nativeWithPath(contextPtr, deviceHandlerPtr, moduleDesc, module, buildLog, pathToBinary);
     }
 
+    native int zeModuleCreate_nativeWithBinary(long contextPtr, long deviceHandlerPtr, ZeModuleDescriptor moduleDesc, ZeModuleHandle module, ZeBuildLogHandle buildLog, byte[] binary);
+
+    /**
+     * Creates a module from a SPIR-V binary kept in memory, without going through
+     * a file.
+     */
+    public int zeModuleCreate(long contextPtr, long deviceHandlerPtr, ZeModuleDescriptor moduleDesc, ZeModuleHandle module, ZeBuildLogHandle buildLog, byte[] binary) {
+        return zeModuleCreate_nativeWithBinary(contextPtr, deviceHandlerPtr, moduleDesc, module, buildLog, binary);
+    }
+
     public long getDefaultContextPtr() {
         return getContextHandle().getContextPtr()[0];
     }
@@ -384,6 +394,26 @@ public class LevelZeroContext {
         return result;
     }
 
+    private native int zeEventHostReset_native(long event);
+
+    /**
+     * The current host thread resets an event back to the not signaled state, so
+     * it can be signaled again by a new command.
+     *
+     * @param event
+     *            [in] {@link ZeEventHandle} of the event
+     * @return ZE_RESULT_SUCCESS
+     *         <p>
+     *         ZE_RESULT_ERROR_UNINITIALIZED
+     *         <p>
+     *         ZE_RESULT_ERROR_DEVICE_LOST
+     *         <p>
+     *         ZE_RESULT_ERROR_INVALID_NULL_HANDLE: (null == hEvent)
+     */
+    public int zeEventHostReset(ZeEventHandle event) {
+        return zeEventHostReset_native(event.getPtrZeEventHandle());
+    }
+
     private native int zeMemAllocHost_native(long contextPtr, ZeHostMemAllocDescriptor hostMemAllocDesc, long allocSize, long alignment, LevelZeroByteBuffer hostBuffer);
 
     public int zeMemAllocHost(long contextPtr, ZeHostMemAllocDescriptor hostMemAllocDesc, long allocSize, long alignment, LevelZeroByteBuffer hostBuffer) {
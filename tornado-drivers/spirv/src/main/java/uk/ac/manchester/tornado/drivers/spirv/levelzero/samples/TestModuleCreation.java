@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uk.ac.manchester.tornado.drivers.spirv.levelzero.samples;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroContext;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroDevice;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.LevelZeroDriver;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeBuildLogHandle;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeContextDescriptor;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeDriverHandle;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeInitFlag;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeModuleDescriptor;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeModuleFormat;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeModuleHandle;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeResult;
+import uk.ac.manchester.tornado.drivers.spirv.levelzero.utils.LevelZeroUtils;
+
+/**
+ * Measures the latency of creating a Level Zero module from a SPIR-V binary
+ * kept in memory, as the code cache does, against writing the binary to a
+ * temporary file and creating the module from that file, as the code cache did
+ * before.
+ *
+ * <p>
+ * The binary is passed as the first argument, by default the copy kernel of
+ * {@link TestKernelTimer}:
+ * </p>
+ *
+ * <code>
+ * $ clang -cc1 -triple spir opencl-copy.cl -O0 -finclude-default-header -emit-llvm-bc -o opencl-copy.bc
+ * $ llvm-spirv opencl-copy.bc -o opencl-copy.spv
+ * $ mv opencl-copy.spv /tmp
+ * </code>
+ * <p>
+ * How to run?
+ *
+ * <code>
+ * tornado uk.ac.manchester.tornado.drivers.spirv.levelzero.samples.TestModuleCreation [binary.spv] [iterations]
+ * </code>
+ */
+public class TestModuleCreation {
+
+    private static final String BUILD_FLAGS = "-ze-opt-level 2 -ze-opt-large-register-file";
+
+    private static int createModule(LevelZeroContext context, LevelZeroDevice device, byte[] binary, Path file) {
+        ZeModuleHandle module = new ZeModuleHandle();
+        ZeModuleDescriptor moduleDesc = new ZeModuleDescriptor();
+        ZeBuildLogHandle buildLog = new ZeBuildLogHandle();
+        moduleDesc.setFormat(ZeModuleFormat.ZE_MODULE_FORMAT_IL_SPIRV);
+        moduleDesc.setBuildFlags(BUILD_FLAGS);
+        if (file == null) {
+            return context.zeModuleCreate(context.getDefaultContextPtr(), device.getDeviceHandlerPtr(), moduleDesc, module, buildLog, binary);
+        }
+        return context.zeModuleCreate(context.getDefaultContextPtr(), device.getDeviceHandlerPtr(), moduleDesc, module, buildLog, file.toString());
+    }
+
+    /**
+     * Time in nanoseconds to create the module from memory.
+     */
+    private static long timeFromMemory(LevelZeroContext context, LevelZeroDevice device, byte[] binary) {
+        long start = System.nanoTime();
+        int result = createModule(context, device, binary, null);
+        long end = System.nanoTime();
+        LevelZeroUtils.errorLog("zeModuleCreate", result);
+        if (result != ZeResult.ZE_RESULT_SUCCESS) {
+            throw new RuntimeException("Module creation from memory failed");
+        }
+        return end - start;
+    }
+
+    /**
+     * Time in nanoseconds to write the binary to a temporary file and create the
+     * module from that file.
+     */
+    private static long timeFromFile(LevelZeroContext context, LevelZeroDevice device, byte[] binary, Path directory, int iteration) throws IOException {
+        long start = System.nanoTime();
+        Path file = directory.resolve(System.nanoTime() + "-" + iteration + ".spv");
+        Files.write(file, binary);
+        int result = createModule(context, device, null, file);
+        long end = System.nanoTime();
+        LevelZeroUtils.errorLog("zeModuleCreate", result);
+        Files.delete(file);
+        if (result != ZeResult.ZE_RESULT_SUCCESS) {
+            throw new RuntimeException("Module creation from a file failed");
+        }
+        return end - start;
+    }
+
+    private static String summary(long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        double median = sorted[sorted.length / 2] / 1e6;
+        double mean = Arrays.stream(sorted).average().orElse(0) / 1e6;
+        return String.format("median %.3f ms, mean %.3f ms, min %.3f ms", median, mean, sorted[0] / 1e6);
+    }
+
+    public static void main(String[] args) throws IOException {
+        final String pathToBinary = args.length > 0 ? args[0] : "/tmp/opencl-copy.spv";
+        final int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        System.out.println("Level-ZERO JNI Library - TestModuleCreation");
+
+        LevelZeroDriver driver = new LevelZeroDriver();
+        int result = driver.zeInit(ZeInitFlag.ZE_INIT_FLAG_GPU_ONLY);
+        LevelZeroUtils.errorLog("zeInit", result);
+
+        int[] numDrivers = new int[1];
+        result = driver.zeDriverGet(numDrivers, null);
+        LevelZeroUtils.errorLog("zeDriverGet", result);
+
+        ZeDriverHandle driverHandler = new ZeDriverHandle(numDrivers[0]);
+        result = driver.zeDriverGet(numDrivers, driverHandler);
+        LevelZeroUtils.errorLog("zeDriverGet", result);
+
+        ZeContextDescriptor contextDescription = new ZeContextDescriptor();
+        LevelZeroContext context = new LevelZeroContext(driverHandler, contextDescription);
+        result = context.zeContextCreate(driverHandler.getZe_driver_handle_t_ptr()[0]);
+        LevelZeroUtils.errorLog("zeContextCreate", result);
+
+        LevelZeroDevice device = driver.getDevice(driverHandler, 0);
+
+        byte[] binary = Files.readAllBytes(Paths.get(pathToBinary));
+        Path directory = Files.createTempDirectory("tornadoVM-spirv");
+
+        // Warm up the driver and its compiler
+        timeFromMemory(context, device, binary);
+        timeFromFile(context, device, binary, directory, -1);
+
+        // The two paths alternate, so that both see the same state of the driver
+        long[] fromMemory = new long[iterations];
+        long[] fromFile = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            fromMemory[i] = timeFromMemory(context, device, binary);
+            fromFile[i] = timeFromFile(context, device, binary, directory, i);
+        }
+        Files.delete(directory);
+
+        System.out.println("Module creation from memory : " + summary(fromMemory));
+        System.out.println("Module creation from a file : " + summary(fromFile));
+
+        result = driver.zeContextDestroy(context);
+        LevelZeroUtils.errorLog("zeContextDestroy", result);
+    }
+}
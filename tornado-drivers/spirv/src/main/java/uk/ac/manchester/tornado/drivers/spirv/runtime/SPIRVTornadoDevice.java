@@ -440,7 +440,12 @@ public class SPIRVTornadoDevice implements TornadoAcceleratorDevice {
 
     @Override
     public void flushEvents() {
+        device.getDeviceContext().flushEvents();
+    }
 
+    @Override
+    public void releaseEvents(int[] localEventIDs) {
+        device.getDeviceContext().releaseEvents(localEventIDs);
     }
 
     @Override
@@ -466,7 +471,7 @@ public class SPIRVTornadoDevice implements TornadoAcceleratorDevice {
 
     @Override
     public void sync() {
-
+        device.getDeviceContext().flushEvents();
     }
 
     @Override
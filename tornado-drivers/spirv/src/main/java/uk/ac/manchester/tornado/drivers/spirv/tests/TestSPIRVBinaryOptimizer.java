@@ -0,0 +1,366 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.spirv.tests;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVBinaryOptimizer;
+
+/**
+ * Runs the {@link SPIRVBinaryOptimizer} on hand-assembled SPIR-V modules and
+ * checks that the function variables are promoted to SSA values: their loads,
+ * stores and declarations are removed, and {@code OpPhi} instructions merge the
+ * values that reach the join points of the control flow. No device is needed.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVBinaryOptimizer
+ * </code>
+ */
+public class TestSPIRVBinaryOptimizer {
+
+    private static final int OP_UNDEF = 1;
+    private static final int OP_MEMORY_MODEL = 14;
+    private static final int OP_ENTRY_POINT = 15;
+    private static final int OP_CAPABILITY = 17;
+    private static final int OP_TYPE_VOID = 19;
+    private static final int OP_TYPE_BOOL = 20;
+    private static final int OP_TYPE_INT = 21;
+    private static final int OP_TYPE_POINTER = 32;
+    private static final int OP_TYPE_FUNCTION = 33;
+    private static final int OP_CONSTANT = 43;
+    private static final int OP_FUNCTION = 54;
+    private static final int OP_FUNCTION_PARAMETER = 55;
+    private static final int OP_FUNCTION_END = 56;
+    private static final int OP_VARIABLE = 59;
+    private static final int OP_LOAD = 61;
+    private static final int OP_STORE = 62;
+    private static final int OP_IADD = 128;
+    private static final int OP_SLESS_THAN = 177;
+    private static final int OP_PHI = 245;
+    private static final int OP_LOOP_MERGE = 246;
+    private static final int OP_SELECTION_MERGE = 247;
+    private static final int OP_LABEL = 248;
+    private static final int OP_BRANCH = 249;
+    private static final int OP_BRANCH_CONDITIONAL = 250;
+    private static final int OP_RETURN = 253;
+
+    private static final int STORAGE_CLASS_CROSS_WORKGROUP = 5;
+    private static final int STORAGE_CLASS_FUNCTION = 7;
+
+    // IDs shared by the modules
+    private static final int VOID = 1;
+    private static final int INT = 2;
+    private static final int BOOL = 3;
+    private static final int PTR_FUNCTION = 4;
+    private static final int PTR_GLOBAL = 5;
+    private static final int FUNCTION_TYPE = 6;
+    private static final int C0 = 7;
+    private static final int C1 = 8;
+    private static final int C10 = 9;
+    private static final int FUNCTION = 10;
+    private static final int OUT = 11;
+    private static final int ENTRY = 12;
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * Assembles the words of a module, with its header.
+     */
+    private static final class Module {
+        private final List<Integer> words = new ArrayList<>();
+
+        Module() {
+            op(OP_CAPABILITY, 4);
+            op(OP_CAPABILITY, 6);
+            op(OP_MEMORY_MODEL, 2, 2);
+            // "k"
+            op(OP_ENTRY_POINT, 6, FUNCTION, 0x6B);
+            op(OP_TYPE_VOID, VOID);
+            op(OP_TYPE_INT, INT, 32, 0);
+            op(OP_TYPE_BOOL, BOOL);
+            op(OP_TYPE_POINTER, PTR_FUNCTION, STORAGE_CLASS_FUNCTION, INT);
+            op(OP_TYPE_POINTER, PTR_GLOBAL, STORAGE_CLASS_CROSS_WORKGROUP, INT);
+            op(OP_TYPE_FUNCTION, FUNCTION_TYPE, VOID, PTR_GLOBAL);
+            op(OP_CONSTANT, INT, C0, 0);
+            op(OP_CONSTANT, INT, C1, 1);
+            op(OP_CONSTANT, INT, C10, 10);
+            op(OP_FUNCTION, VOID, FUNCTION, 0, FUNCTION_TYPE);
+            op(OP_FUNCTION_PARAMETER, PTR_GLOBAL, OUT);
+            op(OP_LABEL, ENTRY);
+        }
+
+        Module op(int opcode, int... operands) {
+            words.add(((operands.length + 1) << 16) | opcode);
+            for (int operand : operands) {
+                words.add(operand);
+            }
+            return this;
+        }
+
+        ByteBuffer build(int bound) {
+            op(OP_FUNCTION_END);
+            ByteBuffer binary = ByteBuffer.allocate((5 + words.size()) * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            binary.putInt(0x07230203).putInt(0x00010200).putInt(0).putInt(bound).putInt(0);
+            for (int word : words) {
+                binary.putInt(word);
+            }
+            binary.flip();
+            return binary;
+        }
+    }
+
+    private static List<int[]> decode(ByteBuffer binary) {
+        ByteBuffer buffer = binary.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(buffer.position() + 5 * Integer.BYTES);
+        List<int[]> instructions = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            int[] words = new int[buffer.getInt(buffer.position()) >>> 16];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = buffer.getInt();
+            }
+            instructions.add(words);
+        }
+        return instructions;
+    }
+
+    private static List<int[]> find(List<int[]> instructions, int opcode) {
+        List<int[]> found = new ArrayList<>();
+        for (int[] words : instructions) {
+            if ((words[0] & 0xFFFF) == opcode) {
+                found.add(words);
+            }
+        }
+        return found;
+    }
+
+    private static int[] definition(List<int[]> instructions, int result) {
+        for (int[] words : instructions) {
+            final int opcode = words[0] & 0xFFFF;
+            if ((opcode == OP_PHI || opcode == OP_UNDEF || opcode == OP_IADD) && words[2] == result) {
+                return words;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Value a phi takes when coming from a block, or -1.
+     */
+    private static int incoming(int[] phi, int label) {
+        for (int i = 3; i + 1 < phi.length; i += 2) {
+            if (phi[i + 1] == label) {
+                return phi[i];
+            }
+        }
+        return -1;
+    }
+
+    private static ByteBuffer optimize(String name, ByteBuffer binary) {
+        final int size = binary.remaining();
+        ByteBuffer optimized = SPIRVBinaryOptimizer.optimize(binary);
+        System.out.printf("%n    %s: %d -> %d bytes", name, size, optimized.remaining());
+        check(optimized != binary, name + ": module not optimized");
+        return optimized;
+    }
+
+    private static void checkPromoted(String name, List<int[]> instructions) {
+        check(find(instructions, OP_VARIABLE).isEmpty(), name + ": function variable not removed");
+        check(find(instructions, OP_LOAD).isEmpty(), name + ": load not removed");
+        check(find(instructions, OP_STORE).size() == 1, name + ": store to a function variable not removed");
+    }
+
+    /**
+     * <code>
+     *     int x; if (c0 < c10) { x = 1; } else { x = 10; } out[0] = x + 1;
+     * </code>
+     */
+    private static void testDiamond() {
+        final int x = 13;
+        final int cond = 14;
+        final int then = 15;
+        final int otherwise = 16;
+        final int merge = 17;
+        final int value = 18;
+        final int sum = 19;
+        Module module = new Module() //
+                .op(OP_VARIABLE, PTR_FUNCTION, x, STORAGE_CLASS_FUNCTION) //
+                .op(OP_SLESS_THAN, BOOL, cond, C0, C10) //
+                .op(OP_SELECTION_MERGE, merge, 0) //
+                .op(OP_BRANCH_CONDITIONAL, cond, then, otherwise) //
+                .op(OP_LABEL, then) //
+                .op(OP_STORE, x, C1) //
+                .op(OP_BRANCH, merge) //
+                .op(OP_LABEL, otherwise) //
+                .op(OP_STORE, x, C10) //
+                .op(OP_BRANCH, merge) //
+                .op(OP_LABEL, merge) //
+                .op(OP_LOAD, INT, value, x) //
+                .op(OP_IADD, INT, sum, value, C1) //
+                .op(OP_STORE, OUT, sum) //
+                .op(OP_RETURN);
+
+        List<int[]> instructions = decode(optimize("diamond", module.build(20)));
+        checkPromoted("diamond", instructions);
+
+        List<int[]> phis = find(instructions, OP_PHI);
+        check(phis.size() == 1, "diamond: expected one phi, found " + phis.size());
+        int[] phi = phis.get(0);
+        check(phi.length == 7 && incoming(phi, then) == C1 && incoming(phi, otherwise) == C10, "diamond: wrong phi operands " + Arrays.toString(phi));
+        check(definition(instructions, sum)[3] == phi[2], "diamond: the load is not replaced by the phi");
+    }
+
+    /**
+     * <code>
+     *     int s = 0; for (int i = 0; i < 10; i++) { s += i; } out[0] = s;
+     * </code>
+     */
+    private static void testLoop() {
+        final int s = 13;
+        final int i = 14;
+        final int header = 15;
+        final int body = 16;
+        final int exit = 17;
+        final int iv = 18;
+        final int cond = 19;
+        final int sv = 20;
+        final int iv2 = 21;
+        final int add = 22;
+        final int iv3 = 23;
+        final int inc = 24;
+        final int result = 25;
+        Module module = new Module() //
+                .op(OP_VARIABLE, PTR_FUNCTION, s, STORAGE_CLASS_FUNCTION) //
+                .op(OP_VARIABLE, PTR_FUNCTION, i, STORAGE_CLASS_FUNCTION) //
+                .op(OP_STORE, s, C0) //
+                .op(OP_STORE, i, C0) //
+                .op(OP_BRANCH, header) //
+                .op(OP_LABEL, header) //
+                .op(OP_LOAD, INT, iv, i) //
+                .op(OP_SLESS_THAN, BOOL, cond, iv, C10) //
+                .op(OP_LOOP_MERGE, exit, body, 0) //
+                .op(OP_BRANCH_CONDITIONAL, cond, body, exit) //
+                .op(OP_LABEL, body) //
+                .op(OP_LOAD, INT, sv, s) //
+                .op(OP_LOAD, INT, iv2, i) //
+                .op(OP_IADD, INT, add, sv, iv2) //
+                .op(OP_STORE, s, add) //
+                .op(OP_LOAD, INT, iv3, i) //
+                .op(OP_IADD, INT, inc, iv3, C1) //
+                .op(OP_STORE, i, inc) //
+                .op(OP_BRANCH, header) //
+                .op(OP_LABEL, exit) //
+                .op(OP_LOAD, INT, result, s) //
+                .op(OP_STORE, OUT, result) //
+                .op(OP_RETURN);
+
+        List<int[]> instructions = decode(optimize("loop", module.build(26)));
+        checkPromoted("loop", instructions);
+
+        List<int[]> phis = find(instructions, OP_PHI);
+        check(phis.size() == 2, "loop: expected two phis, found " + phis.size());
+        int[] phiS = null;
+        int[] phiI = null;
+        for (int[] phi : phis) {
+            check(phi.length == 7 && incoming(phi, ENTRY) == C0, "loop: wrong phi operands " + Arrays.toString(phi));
+            if (incoming(phi, body) == add) {
+                phiS = phi;
+            } else if (incoming(phi, body) == inc) {
+                phiI = phi;
+            }
+        }
+        check(phiS != null && phiI != null, "loop: the phis do not merge the values of the back edge");
+        check(definition(instructions, add)[3] == phiS[2] && definition(instructions, add)[4] == phiI[2], "loop: the loads of the body are not replaced by the phis");
+        check(definition(instructions, inc)[3] == phiI[2], "loop: the load after the store is not replaced");
+        check(find(instructions, OP_STORE).get(0)[2] == phiS[2], "loop: the load of the exit is not replaced by the phi");
+
+        // The phis follow the label of the loop header
+        int labelIndex = instructions.indexOf(find(instructions, OP_LABEL).get(1));
+        check((instructions.get(labelIndex + 1)[0] & 0xFFFF) == OP_PHI && (instructions.get(labelIndex + 2)[0] & 0xFFFF) == OP_PHI, "loop: the phis are not at the start of the header");
+    }
+
+    /**
+     * A variable read before being stored on one of the paths gets an undefined
+     * value on that path.
+     */
+    private static void testUndefinedValue() {
+        final int x = 13;
+        final int cond = 14;
+        final int then = 15;
+        final int merge = 16;
+        final int value = 17;
+        Module module = new Module() //
+                .op(OP_VARIABLE, PTR_FUNCTION, x, STORAGE_CLASS_FUNCTION) //
+                .op(OP_SLESS_THAN, BOOL, cond, C0, C10) //
+                .op(OP_SELECTION_MERGE, merge, 0) //
+                .op(OP_BRANCH_CONDITIONAL, cond, then, merge) //
+                .op(OP_LABEL, then) //
+                .op(OP_STORE, x, C1) //
+                .op(OP_BRANCH, merge) //
+                .op(OP_LABEL, merge) //
+                .op(OP_LOAD, INT, value, x) //
+                .op(OP_STORE, OUT, value) //
+                .op(OP_RETURN);
+
+        ByteBuffer optimized = optimize("undefined", module.build(18));
+        List<int[]> instructions = decode(optimized);
+        checkPromoted("undefined", instructions);
+
+        List<int[]> undefs = find(instructions, OP_UNDEF);
+        check(undefs.size() == 1 && undefs.get(0)[1] == INT, "undefined: expected one OpUndef of the variable type");
+        int[] phi = find(instructions, OP_PHI).get(0);
+        check(phi.length == 7 && incoming(phi, ENTRY) == undefs.get(0)[2] && incoming(phi, then) == C1, "undefined: wrong phi operands " + Arrays.toString(phi));
+        check(instructions.indexOf(undefs.get(0)) < instructions.indexOf(find(instructions, OP_FUNCTION).get(0)), "undefined: OpUndef is not declared before the function");
+
+        // The new IDs are within the bound of the header
+        final int bound = optimized.duplicate().order(ByteOrder.LITTLE_ENDIAN).getInt(optimized.position() + 3 * Integer.BYTES);
+        check(phi[2] < bound && undefs.get(0)[2] < bound && bound == 20, "undefined: wrong ID bound " + bound);
+    }
+
+    public void test() {
+        testDiamond();
+        testLoop();
+        testUndefinedValue();
+        System.out.println("\n ................ [PASS]");
+    }
+
+    public static void main(String[] args) {
+        System.out.print("Running Native: uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVBinaryOptimizer");
+        try {
+            new TestSPIRVBinaryOptimizer().test();
+        } catch (AssertionError e) {
+            System.out.println("\n ................ [FAIL] " + e.getMessage());
+        }
+    }
+}
@@ -5,6 +5,7 @@ open module tornado.examples {
     requires transitive lucene.core;
     requires transitive java.desktop;
     requires transitive tornado.api;
+    requires tornado.matrices;
     requires org.graalvm.sdk;
 
     exports uk.ac.manchester.tornado.examples;
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.examples.compute;
+
+import java.util.Arrays;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.matrix.GraphAnalytics;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+
+/**
+ * Frontier-based BFS and SSSP, PageRank and connected components on a random
+ * power-law CSR graph, validated against the sequential versions. Unlike
+ * {@link BFS}, which touches the whole adjacency matrix at every level and
+ * reads back the vertices after each one, the graph primitives keep the
+ * frontier on the device and read back a counter array every
+ * {@code -Dtornado.graph.steps} levels.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado -m tornado.examples/uk.ac.manchester.tornado.examples.compute.GraphPrimitives [vertices] [degree]
+ * </code>
+ *
+ */
+public class GraphPrimitives {
+
+    private static final float DAMPING = 0.85f;
+    private static final float TOLERANCE = 1e-6f;
+    private static final int MAX_ITERATIONS = 100;
+
+    private static void report(String name, long start, long end, boolean valid) {
+        System.out.printf("%-10s time=%.3f ms, valid=%s%n", name, (end - start) / 1e6, valid);
+    }
+
+    private static boolean closeTo(float[] a, float[] b, float tolerance) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i] && Math.abs(a[i] - b[i]) > tolerance * Math.max(1.0f, Math.abs(b[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+        int size = (args.length > 0) ? Integer.parseInt(args[0]) : 262144;
+        int degree = (args.length > 1) ? Integer.parseInt(args[1]) : 8;
+
+        CSRMatrix<float[]> graph = GraphAnalytics.symmetrize(SparseMatrixUtils.generateMatrixF(size, degree, true, 7));
+        TornadoDevice device = TornadoRuntime.getTornadoRuntime().getDefaultDevice();
+        System.out.printf("vertices=%d, edges=%d, device=%s%n", graph.size, graph.n, device);
+
+        long start = System.nanoTime();
+        int[] levels = GraphAnalytics.bfs(device, graph, 0);
+        long end = System.nanoTime();
+        report("bfs", start, end, Arrays.equals(levels, GraphAnalytics.bfsHost(graph, 0)));
+
+        start = System.nanoTime();
+        float[] distances = GraphAnalytics.sssp(device, graph, 0);
+        end = System.nanoTime();
+        report("sssp", start, end, closeTo(distances, GraphAnalytics.ssspHost(graph, 0), 1e-4f));
+
+        start = System.nanoTime();
+        float[] ranks = GraphAnalytics.pageRank(device, graph, DAMPING, TOLERANCE, MAX_ITERATIONS);
+        end = System.nanoTime();
+        report("pagerank", start, end, closeTo(ranks, GraphAnalytics.pageRankHost(graph, DAMPING, TOLERANCE, MAX_ITERATIONS), 1e-2f));
+
+        start = System.nanoTime();
+        int[] components = GraphAnalytics.connectedComponents(device, graph);
+        end = System.nanoTime();
+        report("components", start, end, Arrays.equals(components, GraphAnalytics.connectedComponentsHost(graph)));
+    }
+}
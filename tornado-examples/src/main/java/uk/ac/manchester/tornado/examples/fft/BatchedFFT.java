@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.examples.fft;
+
+import java.util.Random;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.matrix.FFTPlan;
+
+/**
+ * Batched forward and inverse FFT with {@link FFTPlan}. The forward transform
+ * is checked against the Java version of the plan and the inverse against the
+ * original signal.
+ *
+ * How to run:
+ *
+ * <code>
+ *     tornado -m tornado.examples/uk.ac.manchester.tornado.examples.fft.BatchedFFT [size] [batch]
+ * </code>
+ */
+public class BatchedFFT {
+
+    private static float maxError(float[] expected, float[] actual) {
+        float max = 0.0f;
+        for (int i = 0; i < expected.length; i++) {
+            max = Math.max(max, Math.abs(expected[i] - actual[i]));
+        }
+        return max;
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int batch = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+
+        TornadoDevice device = TornadoRuntime.getTornadoRuntime().getDefaultDevice();
+        FFTPlan forward = FFTPlan.create1D(device, size, batch, FFTPlan.Direction.FORWARD);
+        FFTPlan inverse = FFTPlan.create1D(device, size, batch, FFTPlan.Direction.INVERSE);
+
+        float[] signal = new float[forward.getLength()];
+        float[] spectrum = new float[forward.getLength()];
+        float[] result = new float[forward.getLength()];
+        float[] seq = new float[forward.getLength()];
+
+        Random random = new Random(7);
+        for (int i = 0; i < signal.length; i++) {
+            signal[i] = random.nextFloat();
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, signal);
+        forward.addTasks(taskGraph, "forward", signal, spectrum);
+        inverse.addTasks(taskGraph, "inverse", spectrum, result);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, spectrum, result);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        if (forward.usesLocalMemory()) {
+            GridScheduler gridScheduler = new GridScheduler();
+            forward.setWorkerGrids(gridScheduler, "s0", "forward");
+            inverse.setWorkerGrids(gridScheduler, "s0", "inverse");
+            executionPlan.withGridScheduler(gridScheduler);
+        }
+        executionPlan.execute();
+
+        forward.execute(signal, seq);
+
+        float spectrumError = maxError(seq, spectrum);
+        float roundTripError = maxError(signal, result);
+        System.out.printf("FFT size=%d batch=%d tasks=%d\n", size, batch, forward.getNumTasks());
+        System.out.println("Max error (forward vs Java) = " + spectrumError);
+        System.out.println("Max error (inverse vs signal) = " + roundTripError);
+
+        if (spectrumError < 1e-3f * size && roundTripError < 1e-3f) {
+            System.out.println("Result is correct");
+        } else {
+            System.out.println("Result is wrong");
+        }
+    }
+
+}
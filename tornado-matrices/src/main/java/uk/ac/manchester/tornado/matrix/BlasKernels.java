@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.matrix;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DDouble;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+
+/**
+ * BLAS level 1, 2 and 3 kernels over the TornadoVM collection types.
+ *
+ * <p>
+ * The {@link Parallel} kernels are portable and also serve as the Java
+ * implementation when they are called directly. The {@link KernelContext}
+ * kernels use local-memory tiles of A and B and compute several elements of C
+ * per thread in registers; they must be launched with the grid returned by
+ * {@link GemmTiling#createWorkerGrid(int, int)} for the tiling returned by
+ * {@link GemmTiling#select}.
+ * </p>
+ */
+public final class BlasKernels {
+
+    /**
+     * Threads that cooperate on a row in
+     * {@link #sgemvWorkGroup(KernelContext, float, Matrix2DFloat, VectorFloat, float, VectorFloat)}.
+     */
+    public static final int GEMV_WIDTH = 64;
+
+    private BlasKernels() {
+    }
+
+    // ------------------------------------------------------------------
+    // Level 1
+    // ------------------------------------------------------------------
+
+    /**
+     * y = alpha * x + y
+     */
+    public static void saxpy(final float alpha, final VectorFloat x, final VectorFloat y) {
+        for (@Parallel int i = 0; i < y.size(); i++) {
+            y.set(i, alpha * x.get(i) + y.get(i));
+        }
+    }
+
+    /**
+     * x = alpha * x
+     */
+    public static void sscal(final float alpha, final VectorFloat x) {
+        for (@Parallel int i = 0; i < x.size(); i++) {
+            x.set(i, alpha * x.get(i));
+        }
+    }
+
+    /**
+     * result[0] = x . y
+     */
+    public static void sdot(final VectorFloat x, final VectorFloat y, @Reduce float[] result) {
+        result[0] = 0.0f;
+        for (@Parallel int i = 0; i < x.size(); i++) {
+            result[0] += x.get(i) * y.get(i);
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Level 2
+    // ------------------------------------------------------------------
+
+    /**
+     * y = alpha * A * x + beta * y, one thread per row.
+     */
+    public static void sgemv(final float alpha, final Matrix2DFloat a, final VectorFloat x, final float beta, final VectorFloat y) {
+        for (@Parallel int i = 0; i < a.getNumRows(); i++) {
+            float sum = 0.0f;
+            for (int j = 0; j < a.getNumColumns(); j++) {
+                sum += a.get(i, j) * x.get(j);
+            }
+            y.set(i, alpha * sum + beta * y.get(i));
+        }
+    }
+
+    /**
+     * y = alpha * A * x + beta * y, one work-group of {@link #GEMV_WIDTH} threads
+     * per row. Consecutive threads read consecutive elements of the row, which
+     * suits wide matrices. It must be launched with a 1D grid of
+     * {@code rows * GEMV_WIDTH} threads and work-groups of {@code GEMV_WIDTH}.
+     */
+    public static void sgemvWorkGroup(KernelContext context, final float alpha, final Matrix2DFloat a, final VectorFloat x, final float beta, final VectorFloat y) {
+        int row = context.groupIdx;
+        int lane = context.localIdx;
+        int localSize = context.localGroupSizeX;
+
+        float[] partial = context.allocateFloatLocalArray(GEMV_WIDTH);
+        float sum = 0.0f;
+        for (int j = lane; j < a.getNumColumns(); j += localSize) {
+            sum += a.get(row, j) * x.get(j);
+        }
+        partial[lane] = sum;
+
+        for (int stride = (localSize / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (lane < stride) {
+                partial[lane] += partial[lane + stride];
+            }
+        }
+        if (lane == 0) {
+            y.set(row, alpha * partial[0] + beta * y.get(row));
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Level 3
+    // ------------------------------------------------------------------
+
+    /**
+     * C = alpha * A * B + beta * C, one thread per element of C.
+     */
+    public static void sgemm(final float alpha, final Matrix2DFloat a, final Matrix2DFloat b, final float beta, final Matrix2DFloat c) {
+        for (@Parallel int i = 0; i < c.getNumRows(); i++) {
+            for (@Parallel int j = 0; j < c.getNumColumns(); j++) {
+                float sum = 0.0f;
+                for (int k = 0; k < a.getNumColumns(); k++) {
+                    sum += a.get(i, k) * b.get(k, j);
+                }
+                c.set(i, j, alpha * sum + beta * c.get(i, j));
+            }
+        }
+    }
+
+    /**
+     * C = alpha * A * B + beta * C, one thread per element of C.
+     */
+    public static void dgemm(final double alpha, final Matrix2DDouble a, final Matrix2DDouble b, final double beta, final Matrix2DDouble c) {
+        for (@Parallel int i = 0; i < c.getNumRows(); i++) {
+            for (@Parallel int j = 0; j < c.getNumColumns(); j++) {
+                double sum = 0.0;
+                for (int k = 0; k < a.getNumColumns(); k++) {
+                    sum += a.get(i, k) * b.get(k, j);
+                }
+                c.set(i, j, alpha * sum + beta * c.get(i, j));
+            }
+        }
+    }
+
+    /**
+     * Tiled SGEMM for {@link GemmTiling#TILE_32}: 32x32 tiles, each thread
+     * computes 8 rows of a column of the tile.
+     */
+    public static void sgemmTiled32(KernelContext context, final float alpha, final Matrix2DFloat a, final Matrix2DFloat b, final float beta, final Matrix2DFloat c) {
+        float[] aSub = context.allocateFloatLocalArray(32 * 32);
+        float[] bSub = context.allocateFloatLocalArray(32 * 32);
+        sgemmTiled(context, alpha, a, b, beta, c, aSub, bSub, new float[8], 32, 8);
+    }
+
+    /**
+     * Tiled SGEMM for {@link GemmTiling#TILE_16}: 16x16 tiles, each thread
+     * computes 4 rows of a column of the tile.
+     */
+    public static void sgemmTiled16(KernelContext context, final float alpha, final Matrix2DFloat a, final Matrix2DFloat b, final float beta, final Matrix2DFloat c) {
+        float[] aSub = context.allocateFloatLocalArray(16 * 16);
+        float[] bSub = context.allocateFloatLocalArray(16 * 16);
+        sgemmTiled(context, alpha, a, b, beta, c, aSub, bSub, new float[4], 16, 4);
+    }
+
+    /**
+     * Tiled DGEMM for {@link GemmTiling#TILE_16}: 16x16 tiles, each thread
+     * computes 4 rows of a column of the tile.
+     */
+    public static void dgemmTiled16(KernelContext context, final double alpha, final Matrix2DDouble a, final Matrix2DDouble b, final double beta, final Matrix2DDouble c) {
+        double[] aSub = context.allocateDoubleLocalArray(16 * 16);
+        double[] bSub = context.allocateDoubleLocalArray(16 * 16);
+        dgemmTiled(context, alpha, a, b, beta, c, aSub, bSub, new double[4], 16, 4);
+    }
+
+    /**
+     * Body of the tiled SGEMM kernels. Local and private arrays must have a
+     * constant size in the kernel, so they are allocated by the callers, with
+     * {@code ts * ts} elements for the tiles and {@code wpt} for {@code acc}.
+     */
+    private static void sgemmTiled(KernelContext context, final float alpha, final Matrix2DFloat a, final Matrix2DFloat b, final float beta, final Matrix2DFloat c, float[] aSub, float[] bSub,
+            float[] acc, final int ts, final int wpt) {
+        final int rts = ts / wpt;
+
+        int tx = context.localIdx;
+        int ty = context.localIdy;
+        int col = ts * context.groupIdx + tx;
+        int rowBase = ts * context.groupIdy;
+
+        for (int w = 0; w < wpt; w++) {
+            acc[w] = 0.0f;
+        }
+
+        int numTiles = a.getNumColumns() / ts;
+        for (int t = 0; t < numTiles; t++) {
+            for (int w = 0; w < wpt; w++) {
+                int r = ty + w * rts;
+                aSub[r * ts + tx] = a.get(rowBase + r, t * ts + tx);
+                bSub[r * ts + tx] = b.get(t * ts + r, col);
+            }
+            context.localBarrier();
+
+            for (int k = 0; k < ts; k++) {
+                float bValue = bSub[k * ts + tx];
+                for (int w = 0; w < wpt; w++) {
+                    acc[w] += aSub[(ty + w * rts) * ts + k] * bValue;
+                }
+            }
+            context.localBarrier();
+        }
+
+        for (int w = 0; w < wpt; w++) {
+            int row = rowBase + ty + w * rts;
+            c.set(row, col, alpha * acc[w] + beta * c.get(row, col));
+        }
+    }
+
+    /**
+     * Double-precision version of
+     * {@link #sgemmTiled(KernelContext, float, Matrix2DFloat, Matrix2DFloat, float, Matrix2DFloat, float[], float[], float[], int, int)}.
+     */
+    private static void dgemmTiled(KernelContext context, final double alpha, final Matrix2DDouble a, final Matrix2DDouble b, final double beta, final Matrix2DDouble c, double[] aSub,
+            double[] bSub, double[] acc, final int ts, final int wpt) {
+        final int rts = ts / wpt;
+
+        int tx = context.localIdx;
+        int ty = context.localIdy;
+        int col = ts * context.groupIdx + tx;
+        int rowBase = ts * context.groupIdy;
+
+        for (int w = 0; w < wpt; w++) {
+            acc[w] = 0.0;
+        }
+
+        int numTiles = a.getNumColumns() / ts;
+        for (int t = 0; t < numTiles; t++) {
+            for (int w = 0; w < wpt; w++) {
+                int r = ty + w * rts;
+                aSub[r * ts + tx] = a.get(rowBase + r, t * ts + tx);
+                bSub[r * ts + tx] = b.get(t * ts + r, col);
+            }
+            context.localBarrier();
+
+            for (int k = 0; k < ts; k++) {
+                double bValue = bSub[k * ts + tx];
+                for (int w = 0; w < wpt; w++) {
+                    acc[w] += aSub[(ty + w * rts) * ts + k] * bValue;
+                }
+            }
+            context.localBarrier();
+        }
+
+        for (int w = 0; w < wpt; w++) {
+            int row = rowBase + ty + w * rts;
+            c.set(row, col, alpha * acc[w] + beta * c.get(row, col));
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.matrix;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.collections.math.TornadoMath;
+
+/**
+ * FFT kernels over interleaved complex data ({@code re, im, re, im, ...}).
+ * A transform of {@code batch} rows of {@code n} complex elements is computed
+ * as a sequence of Stockham auto-sort stages, one kernel launch per stage, so
+ * the result is in natural order without a bit-reversal pass. The sequence of
+ * stages is built by {@link FFTPlan}.
+ *
+ * <p>
+ * In a stage, {@code stride} is the size of the sub-transforms that have
+ * already been computed and {@code radix} the factor being merged. Thread
+ * {@code j} reads {@code radix} elements {@code n / radix} apart and writes
+ * them {@code stride} apart. {@code sign} is -1 for forward and +1 for inverse
+ * transforms.
+ * </p>
+ */
+public final class FFTKernels {
+
+    /**
+     * Largest power-of-two transform computed by
+     * {@link #radix2Local(KernelContext, float[], float[], int, int, float)},
+     * in complex elements.
+     */
+    public static final int MAX_LOCAL_SIZE = 1024;
+
+    private static final float TWO_PI = 6.2831855f;
+
+    private FFTKernels() {
+    }
+
+    /**
+     * Radix-2 Stockham stage.
+     */
+    public static void radix2(final float[] input, final float[] output, final int n, final int batch, final int stride, final float sign) {
+        final int m = n / 2;
+        for (@Parallel int b = 0; b < batch; b++) {
+            for (@Parallel int j = 0; j < m; j++) {
+                int k = j % stride;
+                int in0 = 2 * (b * n + j);
+                int in1 = in0 + 2 * m;
+                int out0 = 2 * (b * n + (j - k) * 2 + k);
+                int out1 = out0 + 2 * stride;
+
+                float angle = sign * TWO_PI * k / (2 * stride);
+                float wr = TornadoMath.cos(angle);
+                float wi = TornadoMath.sin(angle);
+
+                float x0r = input[in0];
+                float x0i = input[in0 + 1];
+                float x1r = input[in1] * wr - input[in1 + 1] * wi;
+                float x1i = input[in1] * wi + input[in1 + 1] * wr;
+
+                output[out0] = x0r + x1r;
+                output[out0 + 1] = x0i + x1i;
+                output[out1] = x0r - x1r;
+                output[out1 + 1] = x0i - x1i;
+            }
+        }
+    }
+
+    /**
+     * Radix-4 Stockham stage.
+     */
+    public static void radix4(final float[] input, final float[] output, final int n, final int batch, final int stride, final float sign) {
+        final int m = n / 4;
+        for (@Parallel int b = 0; b < batch; b++) {
+            for (@Parallel int j = 0; j < m; j++) {
+                int k = j % stride;
+                int in0 = 2 * (b * n + j);
+                int out0 = 2 * (b * n + (j - k) * 4 + k);
+
+                float angle = sign * TWO_PI * k / (4 * stride);
+                float w1r = TornadoMath.cos(angle);
+                float w1i = TornadoMath.sin(angle);
+                float w2r = TornadoMath.cos(2 * angle);
+                float w2i = TornadoMath.sin(2 * angle);
+                float w3r = TornadoMath.cos(3 * angle);
+                float w3i = TornadoMath.sin(3 * angle);
+
+                float x0r = input[in0];
+                float x0i = input[in0 + 1];
+                float yr = input[in0 + 2 * m];
+                float yi = input[in0 + 2 * m + 1];
+                float x1r = yr * w1r - yi * w1i;
+                float x1i = yr * w1i + yi * w1r;
+                yr = input[in0 + 4 * m];
+                yi = input[in0 + 4 * m + 1];
+                float x2r = yr * w2r - yi * w2i;
+                float x2i = yr * w2i + yi * w2r;
+                yr = input[in0 + 6 * m];
+                yi = input[in0 + 6 * m + 1];
+                float x3r = yr * w3r - yi * w3i;
+                float x3i = yr * w3i + yi * w3r;
+
+                float a0r = x0r + x2r;
+                float a0i = x0i + x2i;
+                float a1r = x0r - x2r;
+                float a1i = x0i - x2i;
+                float a2r = x1r + x3r;
+                float a2i = x1i + x3i;
+                // (x1 - x3) * (sign * i)
+                float a3r = -sign * (x1i - x3i);
+                float a3i = sign * (x1r - x3r);
+
+                output[out0] = a0r + a2r;
+                output[out0 + 1] = a0i + a2i;
+                output[out0 + 2 * stride] = a1r + a3r;
+                output[out0 + 2 * stride + 1] = a1i + a3i;
+                output[out0 + 4 * stride] = a0r - a2r;
+                output[out0 + 4 * stride + 1] = a0i - a2i;
+                output[out0 + 6 * stride] = a1r - a3r;
+                output[out0 + 6 * stride + 1] = a1i - a3i;
+            }
+        }
+    }
+
+    /**
+     * Stockham stage for any radix. The twiddle factors and the radix-point DFT
+     * are folded into one {@code radix x radix} product, so this costs
+     * {@code O(radix)} per element and is used for the odd prime factors of the
+     * size.
+     */
+    public static void radixN(final float[] input, final float[] output, final int n, final int batch, final int stride, final int radix, final float sign) {
+        final int m = n / radix;
+        final int span = stride * radix;
+        for (@Parallel int b = 0; b < batch; b++) {
+            for (@Parallel int j = 0; j < m; j++) {
+                int k = j % stride;
+                int outBase = 2 * (b * n + (j - k) * radix + k);
+                for (int r = 0; r < radix; r++) {
+                    int step = k + r * stride;
+                    float re = 0.0f;
+                    float im = 0.0f;
+                    for (int q = 0; q < radix; q++) {
+                        int in = 2 * (b * n + j + q * m);
+                        // reduce the exponent first to keep the angle accurate
+                        float angle = sign * TWO_PI * ((q * step) % span) / span;
+                        float wr = TornadoMath.cos(angle);
+                        float wi = TornadoMath.sin(angle);
+                        re += input[in] * wr - input[in + 1] * wi;
+                        im += input[in] * wi + input[in + 1] * wr;
+                    }
+                    output[outBase + 2 * r * stride] = re;
+                    output[outBase + 2 * r * stride + 1] = im;
+                }
+            }
+        }
+    }
+
+    /**
+     * Complete power-of-two transform of one row per work-group, computed in
+     * local memory with radix-2 stages separated by barriers. It must be
+     * launched with {@code n / 2} threads per work-group and one work-group per
+     * row ({@link FFTPlan#setWorkerGrids}), and
+     * {@code n <= MAX_LOCAL_SIZE}.
+     */
+    public static void radix2Local(KernelContext context, final float[] input, final float[] output, final int n, final int logN, final float sign) {
+        int t = context.localIdx;
+        int row = context.groupIdx;
+        int half = n / 2;
+        float[] data = context.allocateFloatLocalArray(2 * 1024);
+
+        // Load in bit-reversed order so the butterflies can run in place
+        for (int e = t; e < n; e += half) {
+            int reversed = 0;
+            for (int bit = 0; bit < logN; bit++) {
+                reversed = (reversed << 1) | ((e >> bit) & 1);
+            }
+            data[2 * reversed] = input[2 * (row * n + e)];
+            data[2 * reversed + 1] = input[2 * (row * n + e) + 1];
+        }
+        context.localBarrier();
+
+        for (int len = 2; len <= n; len *= 2) {
+            int span = len / 2;
+            int k = t % span;
+            int i0 = 2 * ((t - k) * 2 + k);
+            int i1 = i0 + 2 * span;
+
+            float angle = sign * TWO_PI * k / len;
+            float wr = TornadoMath.cos(angle);
+            float wi = TornadoMath.sin(angle);
+
+            float x1r = data[i1] * wr - data[i1 + 1] * wi;
+            float x1i = data[i1] * wi + data[i1 + 1] * wr;
+            float x0r = data[i0];
+            float x0i = data[i0 + 1];
+            data[i0] = x0r + x1r;
+            data[i0 + 1] = x0i + x1i;
+            data[i1] = x0r - x1r;
+            data[i1 + 1] = x0i - x1i;
+            context.localBarrier();
+        }
+
+        for (int e = t; e < n; e += half) {
+            output[2 * (row * n + e)] = data[2 * e];
+            output[2 * (row * n + e) + 1] = data[2 * e + 1];
+        }
+    }
+
+    /**
+     * Transposes {@code batch} complex matrices of {@code rows x cols}.
+     */
+    public static void transpose(final float[] input, final float[] output, final int rows, final int cols, final int batch) {
+        for (@Parallel int b = 0; b < batch; b++) {
+            for (@Parallel int i = 0; i < rows; i++) {
+                for (@Parallel int j = 0; j < cols; j++) {
+                    int in = 2 * (b * rows * cols + i * cols + j);
+                    int out = 2 * (b * rows * cols + j * rows + i);
+                    output[out] = input[in];
+                    output[out + 1] = input[in + 1];
+                }
+            }
+        }
+    }
+
+    /**
+     * Multiplies the first {@code length} floats of {@code data} by
+     * {@code factor}. Used to normalise inverse transforms.
+     */
+    public static void scale(final float[] data, final int length, final float factor) {
+        for (@Parallel int i = 0; i < length; i++) {
+            data[i] = data[i] * factor;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.matrix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat2;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+
+/**
+ * Plan of a 1D or 2D complex FFT, optionally batched, over interleaved
+ * {@code float[]} or {@link VectorFloat2} data. Any size is supported: it is
+ * factorised into radix-4, radix-2 and odd prime stages of {@link FFTKernels}.
+ * When the device allows it, power-of-two rows of up to
+ * {@link FFTKernels#MAX_LOCAL_SIZE} elements are transformed by a single
+ * local-memory kernel instead.
+ *
+ * <p>
+ * A plan owns two scratch buffers. The same plan can be added to a
+ * {@link TaskGraph} with {@link #addTasks} or run sequentially in Java with
+ * {@link #execute}; the input is never modified and must not be the output.
+ * Inverse transforms are normalised by {@code 1 / size}. The local-memory
+ * kernel can be disabled with {@code -Dtornado.fft.local=False}.
+ * </p>
+ */
+public final class FFTPlan {
+
+    private static final String LOCAL_PROPERTY = "tornado.fft.local";
+
+    public enum Direction {
+        FORWARD(-1.0f), //
+        INVERSE(1.0f);
+
+        private final float sign;
+
+        Direction(float sign) {
+            this.sign = sign;
+        }
+
+        public float getSign() {
+            return sign;
+        }
+    }
+
+    private enum PassKind {
+        RADIX2, RADIX4, RADIX_N, LOCAL, TRANSPOSE, SCALE
+    }
+
+    private static final class Pass {
+        private final PassKind kind;
+        private final int n;
+        private final int batch;
+        private final int stride;
+        private final int radix;
+
+        private Pass(PassKind kind, int n, int batch, int stride, int radix) {
+            this.kind = kind;
+            this.n = n;
+            this.batch = batch;
+            this.stride = stride;
+            this.radix = radix;
+        }
+    }
+
+    private final int rows;
+    private final int cols;
+    private final int batch;
+    private final Direction direction;
+    private final List<Pass> passes;
+    private final List<Pass> javaPasses;
+    private final float[] scratch0;
+    private final float[] scratch1;
+
+    private FFTPlan(int rows, int cols, int batch, Direction direction, boolean useLocal) {
+        if (rows <= 0 || cols <= 0 || batch <= 0) {
+            throw new IllegalArgumentException("Invalid FFT shape: " + batch + " x " + rows + " x " + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.batch = batch;
+        this.direction = direction;
+        this.passes = buildPasses(useLocal);
+        this.javaPasses = useLocal ? buildPasses(false) : passes;
+
+        int length = 2 * rows * cols * batch;
+        scratch0 = new float[length];
+        scratch1 = new float[length];
+    }
+
+    /**
+     * Plan of {@code batch} independent transforms of {@code n} complex
+     * elements. {@code device} selects whether the local-memory kernel is used;
+     * with {@code null} only the global stages are used.
+     */
+    public static FFTPlan create1D(TornadoDevice device, int n, int batch, Direction direction) {
+        return new FFTPlan(1, n, batch, direction, useLocalMemory(device));
+    }
+
+    /**
+     * Plan of {@code batch} independent 2D transforms of {@code rows x cols}
+     * complex elements in row-major order.
+     */
+    public static FFTPlan create2D(TornadoDevice device, int rows, int cols, int batch, Direction direction) {
+        return new FFTPlan(rows, cols, batch, direction, useLocalMemory(device));
+    }
+
+    private static boolean useLocalMemory(TornadoDevice device) {
+        if (device == null || !Boolean.parseBoolean(System.getProperty(LOCAL_PROPERTY, "True"))) {
+            return false;
+        }
+        if (device.getDeviceType() == TornadoDeviceType.CPU) {
+            return false;
+        }
+        int threads = FFTKernels.MAX_LOCAL_SIZE / 2;
+        long[] maxDimensions = device.getDeviceMaxWorkgroupDimensions();
+        if (maxDimensions.length < 1 || maxDimensions[0] < threads || device.getPhysicalDevice().getMaxThreadsPerBlock() < threads) {
+            return false;
+        }
+        return device.getDeviceLocalMemorySize() >= 2L * FFTKernels.MAX_LOCAL_SIZE * Float.BYTES;
+    }
+
+    private static boolean isPowerOfTwo(int n) {
+        return (n & (n - 1)) == 0;
+    }
+
+    private List<Pass> buildPasses(boolean useLocal) {
+        List<Pass> list = new ArrayList<>();
+        addRowTransform(list, cols, batch * rows, useLocal);
+        if (rows > 1) {
+            list.add(new Pass(PassKind.TRANSPOSE, rows, batch, cols, 0));
+            addRowTransform(list, rows, batch * cols, useLocal);
+            list.add(new Pass(PassKind.TRANSPOSE, cols, batch, rows, 0));
+        }
+        if (list.isEmpty()) {
+            // Size 1: the transform is a copy
+            list.add(new Pass(PassKind.TRANSPOSE, rows * cols, batch, 1, 0));
+        }
+        if (direction == Direction.INVERSE) {
+            list.add(new Pass(PassKind.SCALE, 0, 0, 0, 0));
+        }
+        return list;
+    }
+
+    private static void addRowTransform(List<Pass> passes, int n, int rowCount, boolean useLocal) {
+        if (n == 1) {
+            return;
+        }
+        if (useLocal && isPowerOfTwo(n) && n <= FFTKernels.MAX_LOCAL_SIZE) {
+            passes.add(new Pass(PassKind.LOCAL, n, rowCount, Integer.numberOfTrailingZeros(n), 2));
+            return;
+        }
+        int remaining = n;
+        int stride = 1;
+        while (remaining % 4 == 0) {
+            passes.add(new Pass(PassKind.RADIX4, n, rowCount, stride, 4));
+            stride *= 4;
+            remaining /= 4;
+        }
+        if (remaining % 2 == 0) {
+            passes.add(new Pass(PassKind.RADIX2, n, rowCount, stride, 2));
+            stride *= 2;
+            remaining /= 2;
+        }
+        for (int factor = 3; remaining > 1; factor += 2) {
+            if ((long) factor * factor > remaining) {
+                factor = remaining;
+            }
+            while (remaining % factor == 0) {
+                passes.add(new Pass(PassKind.RADIX_N, n, rowCount, stride, factor));
+                stride *= factor;
+                remaining /= factor;
+            }
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return cols;
+    }
+
+    public int getBatch() {
+        return batch;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * @return the number of floats of the input and output arrays.
+     */
+    public int getLength() {
+        return 2 * rows * cols * batch;
+    }
+
+    /**
+     * @return the number of kernel launches of the transform.
+     */
+    public int getNumTasks() {
+        return passes.size();
+    }
+
+    /**
+     * @return whether the plan uses the local-memory kernel and therefore
+     *         needs {@link #setWorkerGrids}.
+     */
+    public boolean usesLocalMemory() {
+        for (Pass pass : passes) {
+            if (pass.kind == PassKind.LOCAL) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkArrays(float[] input, float[] output) {
+        if (input == output) {
+            throw new IllegalArgumentException("The FFT input and output must be different arrays");
+        }
+        if (input.length < getLength() || output.length < getLength()) {
+            throw new IllegalArgumentException("The FFT arrays must hold at least " + getLength() + " floats");
+        }
+    }
+
+    /**
+     * Assigns the destination of each pass: the last transform pass writes the
+     * output and the others alternate between the scratch buffers.
+     */
+    private float[][] assignBuffers(List<Pass> passes, float[] input, float[] output) {
+        int last = passes.size() - 1;
+        if (last >= 0 && passes.get(last).kind == PassKind.SCALE) {
+            last--;
+        }
+        float[][] buffers = new float[passes.size() + 1][];
+        buffers[0] = input;
+        for (int i = 0; i < passes.size(); i++) {
+            if (i >= last) {
+                buffers[i + 1] = output;
+            } else {
+                buffers[i + 1] = buffers[i] == scratch0 ? scratch1 : scratch0;
+            }
+        }
+        return buffers;
+    }
+
+    /**
+     * Adds the kernels of the transform to the task graph as tasks
+     * {@code prefix0 .. prefixN}. The input has to be transferred to the device
+     * and the output back to the host by the caller.
+     */
+    public TaskGraph addTasks(TaskGraph taskGraph, String prefix, float[] input, float[] output) {
+        checkArrays(input, output);
+        float[][] buffers = assignBuffers(passes, input, output);
+        float sign = direction.getSign();
+        for (int i = 0; i < passes.size(); i++) {
+            Pass pass = passes.get(i);
+            String taskId = prefix + i;
+            float[] src = buffers[i];
+            float[] dst = buffers[i + 1];
+            switch (pass.kind) {
+                case RADIX2:
+                    taskGraph.task(taskId, FFTKernels::radix2, src, dst, pass.n, pass.batch, pass.stride, sign);
+                    break;
+                case RADIX4:
+                    taskGraph.task(taskId, FFTKernels::radix4, src, dst, pass.n, pass.batch, pass.stride, sign);
+                    break;
+                case RADIX_N:
+                    taskGraph.task(taskId, FFTKernels::radixN, src, dst, pass.n, pass.batch, pass.stride, pass.radix, sign);
+                    break;
+                case LOCAL:
+                    taskGraph.task(taskId, FFTKernels::radix2Local, new KernelContext(), src, dst, pass.n, pass.stride, sign);
+                    break;
+                case TRANSPOSE:
+                    taskGraph.task(taskId, FFTKernels::transpose, src, dst, pass.n, pass.stride, pass.batch);
+                    break;
+                default:
+                    taskGraph.task(taskId, FFTKernels::scale, dst, getLength(), 1.0f / (rows * cols));
+                    break;
+            }
+        }
+        return taskGraph;
+    }
+
+    public TaskGraph addTasks(TaskGraph taskGraph, String prefix, VectorFloat2 input, VectorFloat2 output) {
+        return addTasks(taskGraph, prefix, input.getArray(), output.getArray());
+    }
+
+    /**
+     * Sets the grids of the local-memory tasks added by {@link #addTasks} to
+     * the task graph {@code graphName}.
+     */
+    public void setWorkerGrids(GridScheduler scheduler, String graphName, String prefix) {
+        for (int i = 0; i < passes.size(); i++) {
+            Pass pass = passes.get(i);
+            if (pass.kind == PassKind.LOCAL) {
+                WorkerGrid worker = new WorkerGrid1D(pass.batch * pass.n / 2);
+                worker.setLocalWork(pass.n / 2, 1, 1);
+                scheduler.setWorkerGrid(graphName + "." + prefix + i, worker);
+            }
+        }
+    }
+
+    /**
+     * @return a scheduler with the grids of {@link #setWorkerGrids}, or
+     *         {@code null} if the plan does not use the local-memory kernel.
+     */
+    public GridScheduler createGridScheduler(String graphName, String prefix) {
+        if (!usesLocalMemory()) {
+            return null;
+        }
+        GridScheduler scheduler = new GridScheduler();
+        setWorkerGrids(scheduler, graphName, prefix);
+        return scheduler;
+    }
+
+    /**
+     * Computes the transform sequentially in Java. The local-memory kernel is
+     * replaced by the equivalent radix-4 and radix-2 stages.
+     */
+    public void execute(float[] input, float[] output) {
+        checkArrays(input, output);
+        float[][] buffers = assignBuffers(javaPasses, input, output);
+        float sign = direction.getSign();
+        for (int i = 0; i < javaPasses.size(); i++) {
+            Pass pass = javaPasses.get(i);
+            float[] src = buffers[i];
+            float[] dst = buffers[i + 1];
+            switch (pass.kind) {
+                case RADIX2:
+                    FFTKernels.radix2(src, dst, pass.n, pass.batch, pass.stride, sign);
+                    break;
+                case RADIX4:
+                    FFTKernels.radix4(src, dst, pass.n, pass.batch, pass.stride, sign);
+                    break;
+                case RADIX_N:
+                    FFTKernels.radixN(src, dst, pass.n, pass.batch, pass.stride, pass.radix, sign);
+                    break;
+                case TRANSPOSE:
+                    FFTKernels.transpose(src, dst, pass.n, pass.stride, pass.batch);
+                    break;
+                default:
+                    FFTKernels.scale(dst, getLength(), 1.0f / (rows * cols));
+                    break;
+            }
+        }
+    }
+
+    public void execute(VectorFloat2 input, VectorFloat2 output) {
+        execute(input.getArray(), output.getArray());
+    }
+}
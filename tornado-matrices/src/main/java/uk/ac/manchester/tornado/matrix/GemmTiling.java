@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.matrix;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid2D;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DDouble;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DFloat;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+
+/**
+ * Tile configurations of the tiled GEMM kernels in {@link BlasKernels}. A
+ * work-group computes a {@code tileSize x tileSize} block of C with
+ * {@code tileSize x (tileSize / workPerThread)} threads, so each thread
+ * accumulates {@code workPerThread} elements in registers.
+ *
+ * <p>
+ * The configuration can be forced with
+ * {@code -Dtornado.blas.tiling=NONE|TILE_16|TILE_32}. Unknown values, and tiles
+ * that do not divide the shape of the product, are ignored and the tiling is
+ * selected for the device.
+ * </p>
+ */
+public enum GemmTiling {
+
+    // @formatter:off
+    NONE(1, 1),
+    TILE_16(16, 4),
+    TILE_32(32, 8);
+    // @formatter:on
+
+    private static final String TILING_PROPERTY = "tornado.blas.tiling";
+
+    private final int tileSize;
+    private final int workPerThread;
+
+    GemmTiling(int tileSize, int workPerThread) {
+        this.tileSize = tileSize;
+        this.workPerThread = workPerThread;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getWorkPerThread() {
+        return workPerThread;
+    }
+
+    private boolean divides(int m, int n, int k) {
+        return m % tileSize == 0 && n % tileSize == 0 && k % tileSize == 0;
+    }
+
+    private boolean fits(TornadoDevice device, int m, int n, int k, int elementSize) {
+        if (!divides(m, n, k)) {
+            return false;
+        }
+        long threads = (long) tileSize * (tileSize / workPerThread);
+        long[] maxDimensions = device.getDeviceMaxWorkgroupDimensions();
+        if (maxDimensions.length < 2 || maxDimensions[0] < tileSize || maxDimensions[1] < tileSize / workPerThread) {
+            return false;
+        }
+        if (threads > device.getPhysicalDevice().getMaxThreadsPerBlock()) {
+            return false;
+        }
+        return device.getDeviceLocalMemorySize() >= 2L * tileSize * tileSize * elementSize;
+    }
+
+    private static GemmTiling getForcedTiling() {
+        String forced = TornadoRuntime.getProperty(TILING_PROPERTY);
+        if (forced == null) {
+            return null;
+        }
+        try {
+            return GemmTiling.valueOf(forced.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("[TornadoVM] Warning: ignoring -D" + TILING_PROPERTY + "=" + forced + ", valid values are " + Arrays.toString(values()));
+            return null;
+        }
+    }
+
+    /**
+     * Selects the largest tile supported by the device for a
+     * {@code (m x k) * (k x n)} product. CPUs and shapes that are not multiples
+     * of a tile use the untiled kernel. Double precision is only tiled with
+     * {@link #TILE_16}.
+     */
+    public static GemmTiling select(TornadoDevice device, int m, int n, int k, boolean doublePrecision) {
+        GemmTiling forced = getForcedTiling();
+        if (forced != null) {
+            forced = doublePrecision ? forced.forDoublePrecision() : forced;
+            if (forced.divides(m, n, k)) {
+                return forced;
+            }
+        }
+        if (device.getDeviceType() == TornadoDeviceType.CPU) {
+            return NONE;
+        }
+        int elementSize = doublePrecision ? Double.BYTES : Float.BYTES;
+        if (!doublePrecision && TILE_32.fits(device, m, n, k, elementSize)) {
+            return TILE_32;
+        }
+        if (TILE_16.fits(device, m, n, k, elementSize)) {
+            return TILE_16;
+        }
+        return NONE;
+    }
+
+    /**
+     * @return the tiling used by DGEMM: {@link #TILE_32} falls back to
+     *         {@link #TILE_16}, which needs half the local memory.
+     */
+    public GemmTiling forDoublePrecision() {
+        return (this == TILE_32) ? TILE_16 : this;
+    }
+
+    /**
+     * @return the grid for a result matrix of {@code m} rows and {@code n}
+     *         columns.
+     */
+    public WorkerGrid createWorkerGrid(int m, int n) {
+        if (this == NONE) {
+            WorkerGrid worker = new WorkerGrid2D(m, n);
+            worker.setLocalWorkToNull();
+            return worker;
+        }
+        WorkerGrid worker = new WorkerGrid2D(n, m / workPerThread);
+        worker.setLocalWork(tileSize, tileSize / workPerThread, 1);
+        return worker;
+    }
+
+    /**
+     * Adds the SGEMM kernel for this tiling to the task graph. Tiled kernels
+     * have to be launched with {@link #createWorkerGrid(int, int)}.
+     */
+    public TaskGraph addSgemm(TaskGraph taskGraph, String taskId, float alpha, Matrix2DFloat a, Matrix2DFloat b, float beta, Matrix2DFloat c) {
+        switch (this) {
+            case TILE_32:
+                return taskGraph.task(taskId, BlasKernels::sgemmTiled32, new KernelContext(), alpha, a, b, beta, c);
+            case TILE_16:
+                return taskGraph.task(taskId, BlasKernels::sgemmTiled16, new KernelContext(), alpha, a, b, beta, c);
+            default:
+                return taskGraph.task(taskId, BlasKernels::sgemm, alpha, a, b, beta, c);
+        }
+    }
+
+    /**
+     * Adds the DGEMM kernel for {@link #forDoublePrecision()} to the task graph.
+     * Tiled kernels have to be launched with
+     * {@code forDoublePrecision().createWorkerGrid(m, n)}.
+     */
+    public TaskGraph addDgemm(TaskGraph taskGraph, String taskId, double alpha, Matrix2DDouble a, Matrix2DDouble b, double beta, Matrix2DDouble c) {
+        if (forDoublePrecision() == TILE_16) {
+            return taskGraph.task(taskId, BlasKernels::dgemmTiled16, new KernelContext(), alpha, a, b, beta, c);
+        }
+        return taskGraph.task(taskId, BlasKernels::dgemm, alpha, a, b, beta, c);
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+
+/**
+ * BFS, SSSP, PageRank and connected components on CSR graphs with the kernels
+ * of {@link GraphKernels}.
+ *
+ * <p>
+ * Each algorithm builds a single task graph of {@link #getStepsPerLaunch()}
+ * steps whose data stays on the device between executions. The host executes
+ * it until the counter of the last step reports convergence, so a level or
+ * iteration costs no host round-trip and only one small array is copied back
+ * per launch. The result is copied back once at the end. The number of steps
+ * per launch is set with {@code -Dtornado.graph.steps} (default 8).
+ * </p>
+ *
+ * <p>
+ * The {@code device} argument can be {@code null} to use the default device.
+ * The {@code *Host} methods are sequential references.
+ * </p>
+ */
+public final class GraphAnalytics {
+
+    private static final String STEPS_PROPERTY = "tornado.graph.steps";
+
+    private GraphAnalytics() {
+    }
+
+    /**
+     * Number of steps of a launch, rounded up to an even number.
+     */
+    public static int getStepsPerLaunch() {
+        int steps = Math.max(2, Integer.parseInt(System.getProperty(STEPS_PROPERTY, "8")));
+        return steps + (steps & 1);
+    }
+
+    private static TornadoExecutionPlan createPlan(TaskGraph taskGraph, TornadoDevice device) {
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        if (device != null) {
+            executionPlan.withDevice(device);
+        }
+        return executionPlan;
+    }
+
+    private static TornadoExecutionResult runFrontier(TornadoExecutionPlan executionPlan, int[] counters) {
+        TornadoExecutionResult result;
+        do {
+            result = executionPlan.execute();
+        } while (counters[counters.length - 1] != 0);
+        return result;
+    }
+
+    private static TornadoExecutionResult runTopology(TornadoExecutionPlan executionPlan, int[] changed, int maxLaunches) {
+        TornadoExecutionResult result;
+        int launches = 0;
+        do {
+            result = executionPlan.execute();
+            launches++;
+        } while (changed[changed.length - 1] != 0 && launches < maxLaunches);
+        return result;
+    }
+
+    /**
+     * Breadth-first search from {@code source}.
+     *
+     * @return the level of every vertex, or {@link GraphKernels#UNVISITED} for
+     *         the vertices not reachable from the source.
+     */
+    public static int[] bfs(TornadoDevice device, CSRMatrix<?> graph, int source) {
+        final int steps = getStepsPerLaunch();
+        final int[] levels = new int[graph.size];
+        final int[][] queues = { new int[graph.size], new int[graph.size] };
+        final int[] counters = new int[steps + 1];
+        Arrays.fill(levels, GraphKernels.UNVISITED);
+        levels[source] = 0;
+        queues[0][0] = source;
+        counters[steps] = 1;
+
+        TaskGraph taskGraph = new TaskGraph("bfs") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, graph.rows, graph.cols, levels, queues[0], queues[1], counters) //
+                .task("begin", GraphKernels::beginFrontierLaunch, counters);
+        for (int s = 0; s < steps; s++) {
+            taskGraph.task("expand" + s, GraphKernels::bfsExpand, graph.rows, graph.cols, levels, queues[s & 1], queues[(s + 1) & 1], counters, s);
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, counters) //
+                .transferToHost(DataTransferMode.USER_DEFINED, levels);
+
+        TornadoExecutionPlan executionPlan = createPlan(taskGraph, device);
+        runFrontier(executionPlan, counters).transferToHost(levels);
+        executionPlan.freeDeviceMemory();
+        return levels;
+    }
+
+    /**
+     * Single-source shortest paths from {@code source} with the non-negative
+     * weights of the graph.
+     *
+     * @return the distance of every vertex, or {@link Float#POSITIVE_INFINITY}
+     *         for the vertices not reachable from the source.
+     */
+    public static float[] sssp(TornadoDevice device, CSRMatrix<float[]> graph, int source) {
+        final int steps = getStepsPerLaunch();
+        final float[] distances = new float[graph.size];
+        final int[][] queues = { new int[graph.size], new int[graph.size] };
+        final int[][] flags = { new int[graph.size], new int[graph.size] };
+        final int[] counters = new int[steps + 1];
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        distances[source] = 0.0f;
+        queues[0][0] = source;
+        flags[0][source] = 1;
+        counters[steps] = 1;
+
+        TaskGraph taskGraph = new TaskGraph("sssp") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, graph.rows, graph.cols, graph.vals, distances, queues[0], queues[1], flags[0], flags[1], counters) //
+                .task("begin", GraphKernels::beginFrontierLaunch, counters);
+        for (int s = 0; s < steps; s++) {
+            final int in = s & 1;
+            final int out = (s + 1) & 1;
+            taskGraph.task("relax" + s, GraphKernels::ssspRelax, graph.rows, graph.cols, graph.vals, distances, queues[in], flags[in], queues[out], flags[out], counters, s);
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, counters) //
+                .transferToHost(DataTransferMode.USER_DEFINED, distances);
+
+        TornadoExecutionPlan executionPlan = createPlan(taskGraph, device);
+        runFrontier(executionPlan, counters).transferToHost(distances);
+        executionPlan.freeDeviceMemory();
+        return distances;
+    }
+
+    /**
+     * PageRank with the given damping factor. It stops when no rank changes by
+     * more than {@code tolerance} in the last step of a launch, or after at least
+     * {@code maxIterations} steps.
+     */
+    public static float[] pageRank(TornadoDevice device, CSRMatrix<?> graph, float damping, float tolerance, int maxIterations) {
+        final int steps = getStepsPerLaunch();
+        final CSRMatrix<float[]> incoming = transpose(graph);
+        final int[] outDegrees = outDegrees(graph);
+        final float[][] ranks = { new float[graph.size], new float[graph.size] };
+        final int[] changed = new int[steps];
+        Arrays.fill(ranks[0], 1.0f / graph.size);
+
+        TaskGraph taskGraph = new TaskGraph("pagerank") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, incoming.rows, incoming.cols, outDegrees, ranks[0], ranks[1], changed) //
+                .task("begin", GraphKernels::beginLaunch, changed);
+        for (int s = 0; s < steps; s++) {
+            taskGraph.task("step" + s, GraphKernels::pageRankStep, incoming.rows, incoming.cols, outDegrees, ranks[s & 1], ranks[(s + 1) & 1], damping, tolerance, changed, s);
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, changed) //
+                .transferToHost(DataTransferMode.USER_DEFINED, ranks[0]);
+
+        TornadoExecutionPlan executionPlan = createPlan(taskGraph, device);
+        runTopology(executionPlan, changed, (maxIterations + steps - 1) / steps).transferToHost(ranks[0]);
+        executionPlan.freeDeviceMemory();
+        return ranks[0];
+    }
+
+    /**
+     * Connected components of an undirected graph, given with both directions of
+     * every edge (see {@link #symmetrize}).
+     *
+     * @return for every vertex, the smallest vertex index of its component.
+     */
+    public static int[] connectedComponents(TornadoDevice device, CSRMatrix<?> graph) {
+        final int steps = getStepsPerLaunch();
+        final int[] labels = new int[graph.size];
+        final int[] changed = new int[steps];
+        Arrays.setAll(labels, i -> i);
+
+        TaskGraph taskGraph = new TaskGraph("components") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, graph.rows, graph.cols, labels, changed) //
+                .task("begin", GraphKernels::beginLaunch, changed);
+        for (int s = 0; s < steps; s++) {
+            taskGraph.task("hook" + s, GraphKernels::componentsHook, graph.rows, graph.cols, labels, changed, s) //
+                    .task("compress" + s, GraphKernels::componentsCompress, labels);
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, changed) //
+                .transferToHost(DataTransferMode.USER_DEFINED, labels);
+
+        TornadoExecutionPlan executionPlan = createPlan(taskGraph, device);
+        runTopology(executionPlan, changed, Integer.MAX_VALUE).transferToHost(labels);
+        executionPlan.freeDeviceMemory();
+        return labels;
+    }
+
+    public static int[] bfsHost(CSRMatrix<?> graph, int source) {
+        final int[] levels = new int[graph.size];
+        final int[] queue = new int[graph.size];
+        Arrays.fill(levels, GraphKernels.UNVISITED);
+        levels[source] = 0;
+        queue[0] = source;
+        int tail = 1;
+        for (int head = 0; head < tail; head++) {
+            final int v = queue[head];
+            for (int j = graph.rows[v]; j < graph.rows[v + 1]; j++) {
+                final int u = graph.cols[j];
+                if (levels[u] == GraphKernels.UNVISITED) {
+                    levels[u] = levels[v] + 1;
+                    queue[tail++] = u;
+                }
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Dijkstra's algorithm.
+     */
+    public static float[] ssspHost(CSRMatrix<float[]> graph, int source) {
+        final float[] distances = new float[graph.size];
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        distances[source] = 0.0f;
+        final PriorityQueue<float[]> queue = new PriorityQueue<>((a, b) -> Float.compare(a[0], b[0]));
+        queue.add(new float[] { 0.0f, source });
+        while (!queue.isEmpty()) {
+            final float[] entry = queue.poll();
+            final int v = (int) entry[1];
+            if (entry[0] > distances[v]) {
+                continue;
+            }
+            for (int j = graph.rows[v]; j < graph.rows[v + 1]; j++) {
+                final int u = graph.cols[j];
+                final float candidate = distances[v] + graph.vals[j];
+                if (candidate < distances[u]) {
+                    distances[u] = candidate;
+                    queue.add(new float[] { candidate, u });
+                }
+            }
+        }
+        return distances;
+    }
+
+    public static float[] pageRankHost(CSRMatrix<?> graph, float damping, float tolerance, int maxIterations) {
+        final CSRMatrix<float[]> incoming = transpose(graph);
+        final int[] outDegrees = outDegrees(graph);
+        float[] rankIn = new float[graph.size];
+        float[] rankOut = new float[graph.size];
+        final int[] changed = new int[1];
+        Arrays.fill(rankIn, 1.0f / graph.size);
+        for (int i = 0; i < maxIterations; i++) {
+            changed[0] = 0;
+            GraphKernels.pageRankStep(incoming.rows, incoming.cols, outDegrees, rankIn, rankOut, damping, tolerance, changed, 0);
+            final float[] swap = rankIn;
+            rankIn = rankOut;
+            rankOut = swap;
+            if (changed[0] == 0) {
+                break;
+            }
+        }
+        return rankIn;
+    }
+
+    /**
+     * Union-find with path halving.
+     */
+    public static int[] connectedComponentsHost(CSRMatrix<?> graph) {
+        final int[] parents = new int[graph.size];
+        Arrays.setAll(parents, i -> i);
+        for (int v = 0; v < graph.size; v++) {
+            for (int j = graph.rows[v]; j < graph.rows[v + 1]; j++) {
+                final int a = find(parents, v);
+                final int b = find(parents, graph.cols[j]);
+                if (a != b) {
+                    parents[Math.max(a, b)] = Math.min(a, b);
+                }
+            }
+        }
+        for (int v = 0; v < graph.size; v++) {
+            parents[v] = find(parents, v);
+        }
+        return parents;
+    }
+
+    private static int find(int[] parents, int v) {
+        while (parents[v] != v) {
+            parents[v] = parents[parents[v]];
+            v = parents[v];
+        }
+        return v;
+    }
+
+    public static int[] outDegrees(CSRMatrix<?> graph) {
+        final int[] degrees = new int[graph.size];
+        for (int v = 0; v < graph.size; v++) {
+            degrees[v] = graph.rows[v + 1] - graph.rows[v];
+        }
+        return degrees;
+    }
+
+    /**
+     * Reverses every edge of the graph. Weights are kept when the graph has
+     * {@code float[]} values.
+     */
+    public static CSRMatrix<float[]> transpose(CSRMatrix<?> graph) {
+        final float[] weights = (graph.vals instanceof float[]) ? (float[]) graph.vals : null;
+        final CSRMatrix<float[]> result = new CSRMatrix<>();
+        result.size = graph.size;
+        result.n = graph.rows[graph.size];
+        result.rows = new int[graph.size + 1];
+        result.cols = new int[result.n];
+        result.vals = new float[result.n];
+        for (int j = 0; j < result.n; j++) {
+            result.rows[graph.cols[j] + 1]++;
+        }
+        for (int v = 0; v < graph.size; v++) {
+            result.rows[v + 1] += result.rows[v];
+        }
+        final int[] next = Arrays.copyOf(result.rows, graph.size);
+        for (int v = 0; v < graph.size; v++) {
+            for (int j = graph.rows[v]; j < graph.rows[v + 1]; j++) {
+                final int position = next[graph.cols[j]]++;
+                result.cols[position] = v;
+                result.vals[position] = (weights != null) ? weights[j] : 1.0f;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the reverse of every edge that is not already in the graph. Rows of
+     * the result are sorted and an edge in both directions keeps its forward
+     * weight.
+     */
+    public static CSRMatrix<float[]> symmetrize(CSRMatrix<float[]> graph) {
+        final CSRMatrix<float[]> reverse = transpose(graph);
+        final int[] cols = new int[2 * graph.rows[graph.size]];
+        final float[] vals = new float[cols.length];
+        final CSRMatrix<float[]> result = new CSRMatrix<>();
+        result.size = graph.size;
+        result.rows = new int[graph.size + 1];
+        int n = 0;
+        for (int v = 0; v < graph.size; v++) {
+            final int forwardStart = graph.rows[v];
+            final int forwardLength = graph.rows[v + 1] - forwardStart;
+            final int reverseStart = reverse.rows[v] - forwardLength;
+            final IntUnaryOperator column = e -> (e < forwardLength) ? graph.cols[forwardStart + e] : reverse.cols[reverseStart + e];
+            final int[] order = IntStream.range(0, forwardLength + reverse.rows[v + 1] - reverse.rows[v]).boxed() //
+                    .sorted(Comparator.comparingInt(column::applyAsInt)) //
+                    .mapToInt(Integer::intValue).toArray();
+            for (int e : order) {
+                final int col = column.applyAsInt(e);
+                if (n == result.rows[v] || cols[n - 1] != col) {
+                    cols[n] = col;
+                    vals[n++] = (e < forwardLength) ? graph.vals[forwardStart + e] : reverse.vals[reverseStart + e];
+                }
+            }
+            result.rows[v + 1] = n;
+        }
+        result.n = n;
+        result.cols = Arrays.copyOf(cols, n);
+        result.vals = Arrays.copyOf(vals, n);
+        return result;
+    }
+}
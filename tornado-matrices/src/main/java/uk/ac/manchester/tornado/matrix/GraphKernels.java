@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix;
+
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.collections.math.TornadoAtomics;
+
+/**
+ * Graph kernels over CSR graphs: {@code rows} holds the offsets of the
+ * adjacency lists, {@code cols} the neighbours and {@code weights} the edge
+ * weights, as in {@link SparseMatrixUtils.CSRMatrix}.
+ *
+ * <p>
+ * A run is split in launches of a fixed number of steps (see
+ * {@link GraphAnalytics}). Each step is one task, so a launch keeps all state on
+ * the device and the host only reads back a small counter array to test for
+ * convergence. Steps alternate between two buffers (frontier queues or rank
+ * vectors), so the number of steps per launch is even and every launch starts
+ * from the same buffer.
+ * </p>
+ *
+ * <p>
+ * BFS and SSSP are frontier based: step {@code s} reads the frontier of
+ * {@code counters[s]} vertices and appends the next frontier to the other queue
+ * with an atomic increment of {@code counters[s + 1]}, so the work of a step is
+ * proportional to the edges of the frontier. PageRank and connected components
+ * are topology driven and record in {@code changed[s]} whether step {@code s}
+ * updated any vertex.
+ * </p>
+ */
+public final class GraphKernels {
+
+    public static final int UNVISITED = -1;
+
+    private GraphKernels() {
+    }
+
+    /**
+     * First task of a frontier launch: the frontier left by the last step of the
+     * previous launch becomes the input of step 0.
+     */
+    public static void beginFrontierLaunch(int[] counters) {
+        final int steps = counters.length - 1;
+        counters[0] = counters[steps];
+        for (int i = 1; i <= steps; i++) {
+            counters[i] = 0;
+        }
+    }
+
+    /**
+     * First task of a topology-driven launch.
+     */
+    public static void beginLaunch(int[] changed) {
+        for (int i = 0; i < changed.length; i++) {
+            changed[i] = 0;
+        }
+    }
+
+    /**
+     * One BFS level. The thread that claims an unvisited neighbour with a
+     * compare-and-swap on its level appends it to the next frontier.
+     */
+    public static void bfsExpand(int[] rows, int[] cols, int[] levels, int[] inQueue, int[] outQueue, int[] counters, int step) {
+        for (@Parallel int i = 0; i < levels.length; i++) {
+            if (i < counters[step]) {
+                final int v = inQueue[i];
+                final int level = levels[v] + 1;
+                for (int j = rows[v]; j < rows[v + 1]; j++) {
+                    final int u = cols[j];
+                    if (levels[u] == UNVISITED && TornadoAtomics.atomicCompareAndExchange(levels, u, UNVISITED, level) == UNVISITED) {
+                        outQueue[TornadoAtomics.atomicAdd(counters, step + 1, 1)] = u;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * One SSSP (Bellman-Ford worklist) step with non-negative weights. A vertex
+     * whose distance decreases is appended to the next frontier once, guarded by
+     * its flag in {@code outFlags}; the flags of the input frontier are cleared
+     * as it is consumed.
+     */
+    public static void ssspRelax(int[] rows, int[] cols, float[] weights, float[] distances, int[] inQueue, int[] inFlags, int[] outQueue, int[] outFlags, int[] counters,
+            int step) {
+        for (@Parallel int i = 0; i < distances.length; i++) {
+            if (i < counters[step]) {
+                final int v = inQueue[i];
+                inFlags[v] = 0;
+                final float distance = distances[v];
+                for (int j = rows[v]; j < rows[v + 1]; j++) {
+                    final int u = cols[j];
+                    final float candidate = distance + weights[j];
+                    if (candidate < distances[u] && candidate < TornadoAtomics.atomicMin(distances, u, candidate)) {
+                        if (TornadoAtomics.atomicExchange(outFlags, u, 1) == 0) {
+                            outQueue[TornadoAtomics.atomicAdd(counters, step + 1, 1)] = u;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * One pull-based PageRank step over the transposed graph ({@code rows} and
+     * {@code cols} list the incoming edges). Rank of dangling vertices is not
+     * redistributed.
+     */
+    public static void pageRankStep(int[] rows, int[] cols, int[] outDegrees, float[] rankIn, float[] rankOut, float damping, float tolerance, int[] changed, int step) {
+        final float base = (1.0f - damping) / rankIn.length;
+        for (@Parallel int v = 0; v < rankIn.length; v++) {
+            float sum = 0.0f;
+            for (int j = rows[v]; j < rows[v + 1]; j++) {
+                final int u = cols[j];
+                sum += rankIn[u] / outDegrees[u];
+            }
+            final float rank = base + damping * sum;
+            rankOut[v] = rank;
+            if (Math.abs(rank - rankIn[v]) > tolerance) {
+                changed[step] = 1;
+            }
+        }
+    }
+
+    /**
+     * Hooking step of connected components on an undirected (symmetric) graph.
+     * Every label is the index of a vertex not greater than its own, and the
+     * larger of the two labels of an edge is hooked under the smaller one.
+     */
+    public static void componentsHook(int[] rows, int[] cols, int[] labels, int[] changed, int step) {
+        for (@Parallel int v = 0; v < labels.length; v++) {
+            for (int j = rows[v]; j < rows[v + 1]; j++) {
+                final int labelV = labels[v];
+                final int labelU = labels[cols[j]];
+                if (labelU < labelV) {
+                    TornadoAtomics.atomicMin(labels, labelV, labelU);
+                    changed[step] = 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Pointer jumping: every vertex follows its labels up to the root of its
+     * tree.
+     */
+    public static void componentsCompress(int[] labels) {
+        for (@Parallel int v = 0; v < labels.length; v++) {
+            int label = labels[v];
+            while (labels[label] != label) {
+                label = labels[label];
+            }
+            labels[v] = label;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.matrix;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.ELLMatrix;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.SELLMatrix;
+
+/**
+ * Sparse matrix-vector (SpMV) and sparse matrix-dense matrix (SpMM) kernels
+ * for the formats in {@link SparseMatrixUtils}. All kernels compute
+ * {@code y = A * x}.
+ */
+public class SparseMatrixKernels {
+
+    /**
+     * Number of threads that cooperate on a row in
+     * {@link #spmvCSRVector(KernelContext, float[], int[], int[], float[], float[])}.
+     */
+    public static final int VECTOR_WIDTH = 32;
+
+    /**
+     * Scalar CSR: one thread per row.
+     */
+    public static void spmvCSR(final float[] vals, final int[] cols, final int[] rows, final float[] x, final int size, final float[] y) {
+        for (@Parallel int i = 0; i < size; i++) {
+            float sum = 0.0f;
+            for (int j = rows[i]; j < rows[i + 1]; j++) {
+                sum += vals[j] * x[cols[j]];
+            }
+            y[i] = sum;
+        }
+    }
+
+    /**
+     * Vector CSR: one work-group of {@link #VECTOR_WIDTH} threads per row. The
+     * threads read consecutive non-zeros of the row and combine their partial
+     * sums in local memory, which balances the work of long rows. It must be
+     * launched with {@link #csrVectorWorkerGrid(int)}.
+     */
+    public static void spmvCSRVector(KernelContext context, final float[] vals, final int[] cols, final int[] rows, final float[] x, final float[] y) {
+        int row = context.groupIdx;
+        int lane = context.localIdx;
+        int localSize = context.localGroupSizeX;
+
+        float[] partial = context.allocateFloatLocalArray(VECTOR_WIDTH);
+        float sum = 0.0f;
+        for (int j = rows[row] + lane; j < rows[row + 1]; j += localSize) {
+            sum += vals[j] * x[cols[j]];
+        }
+        partial[lane] = sum;
+
+        for (int stride = (localSize / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (lane < stride) {
+                partial[lane] += partial[lane + stride];
+            }
+        }
+        if (lane == 0) {
+            y[row] = partial[0];
+        }
+    }
+
+    public static WorkerGrid csrVectorWorkerGrid(final int size) {
+        WorkerGrid worker = new WorkerGrid1D(size * VECTOR_WIDTH);
+        worker.setLocalWork(VECTOR_WIDTH, 1, 1);
+        return worker;
+    }
+
+    /**
+     * ELLPACK: one thread per row with coalesced column-major accesses.
+     */
+    public static void spmvELL(final float[] vals, final int[] cols, final int width, final int size, final float[] x, final float[] y) {
+        for (@Parallel int i = 0; i < size; i++) {
+            float sum = 0.0f;
+            for (int k = 0; k < width; k++) {
+                final int index = k * size + i;
+                sum += vals[index] * x[cols[index]];
+            }
+            y[i] = sum;
+        }
+    }
+
+    /**
+     * SELL-C-sigma: one thread per stored row, iterating only up to the width of
+     * its slice. The result is written to the original row index.
+     */
+    public static void spmvSELL(final float[] vals, final int[] cols, final int[] sliceOffsets, final int[] sliceWidths, final int[] rowPermutation, final int chunkSize, final int size,
+            final float[] x, final float[] y) {
+        for (@Parallel int i = 0; i < size; i++) {
+            final int slice = i / chunkSize;
+            final int lane = i % chunkSize;
+            final int offset = sliceOffsets[slice] + lane;
+            final int width = sliceWidths[slice];
+            float sum = 0.0f;
+            for (int k = 0; k < width; k++) {
+                final int index = offset + k * chunkSize;
+                sum += vals[index] * x[cols[index]];
+            }
+            y[rowPermutation[i]] = sum;
+        }
+    }
+
+    /**
+     * CSR times a dense row-major matrix {@code b} with {@code numColumns}
+     * columns. Threads of the same row access consecutive columns of
+     * {@code b} and {@code c}.
+     */
+    public static void spmmCSR(final float[] vals, final int[] cols, final int[] rows, final float[] b, final int size, final int numColumns, final float[] c) {
+        for (@Parallel int i = 0; i < size; i++) {
+            for (@Parallel int j = 0; j < numColumns; j++) {
+                float sum = 0.0f;
+                for (int k = rows[i]; k < rows[i + 1]; k++) {
+                    sum += vals[k] * b[cols[k] * numColumns + j];
+                }
+                c[i * numColumns + j] = sum;
+            }
+        }
+    }
+
+    /**
+     * ELLPACK times a dense row-major matrix {@code b} with {@code numColumns}
+     * columns.
+     */
+    public static void spmmELL(final float[] vals, final int[] cols, final int width, final float[] b, final int size, final int numColumns, final float[] c) {
+        for (@Parallel int i = 0; i < size; i++) {
+            for (@Parallel int j = 0; j < numColumns; j++) {
+                float sum = 0.0f;
+                for (int k = 0; k < width; k++) {
+                    final int index = k * size + i;
+                    sum += vals[index] * b[cols[index] * numColumns + j];
+                }
+                c[i * numColumns + j] = sum;
+            }
+        }
+    }
+
+    public static void spmv(final CSRMatrix<float[]> matrix, final float[] x, final float[] y) {
+        spmvCSR(matrix.vals, matrix.cols, matrix.rows, x, matrix.size, y);
+    }
+
+    public static void spmv(final ELLMatrix<float[]> matrix, final float[] x, final float[] y) {
+        spmvELL(matrix.vals, matrix.cols, matrix.width, matrix.size, x, y);
+    }
+
+    public static void spmv(final SELLMatrix<float[]> matrix, final float[] x, final float[] y) {
+        spmvSELL(matrix.vals, matrix.cols, matrix.sliceOffsets, matrix.sliceWidths, matrix.rowPermutation, matrix.chunkSize, matrix.size, x, y);
+    }
+}
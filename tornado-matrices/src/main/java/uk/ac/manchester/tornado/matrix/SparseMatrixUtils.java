@@ -32,13 +32,54 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
+import java.util.stream.IntStream;
 
 public class SparseMatrixUtils {
 
     private static final boolean VERBOSE = false;
 
+    /**
+     * Rows with at least this many non-zeros on average are processed by a
+     * group of threads per row (see {@link SparseMatrixKernels#spmvCSRVector}).
+     */
+    public static final int VECTOR_ROW_THRESHOLD = 32;
+
+    /**
+     * Maximum ratio between the padded ELLPACK storage and the number of
+     * non-zeros for the ELLPACK format to be selected.
+     */
+    public static final float ELL_MAX_PADDING = 1.25f;
+
+    /**
+     * Coefficient of variation of the row lengths above which the rows are
+     * considered irregular and SELL-C-sigma is selected.
+     */
+    public static final float IRREGULAR_ROWS_THRESHOLD = 0.5f;
+
+    public enum SparseFormat {
+        /**
+         * Compressed Sparse Row, one thread per row.
+         */
+        CSR,
+        /**
+         * Compressed Sparse Row, one work-group per row.
+         */
+        CSR_VECTOR,
+        /**
+         * ELLPACK, rows padded to the longest row and stored column-major.
+         */
+        ELL,
+        /**
+         * Sliced ELLPACK: rows sorted by length within windows of sigma rows and
+         * padded per slice of C rows.
+         */
+        SELL
+    }
+
     public static class CSRMatrix<T> {
 
         public int n;
@@ -48,6 +89,204 @@ public class SparseMatrixUtils {
         public int[] cols;
     }
 
+    /**
+     * ELLPACK matrix. Element {@code k} of row {@code r} is stored at
+     * {@code k * size + r}, so that consecutive threads read consecutive
+     * addresses. Padding entries have value zero and column zero.
+     */
+    public static class ELLMatrix<T> {
+
+        public int size;
+        public int width;
+        public T vals;
+        public int[] cols;
+    }
+
+    /**
+     * SELL-C-sigma matrix. Rows are sorted by length within windows of
+     * {@code sigma} rows and grouped in slices of {@code chunkSize} rows. Each
+     * slice is stored as a column-major ELLPACK block padded to its longest
+     * row: element {@code k} of the row at position {@code lane} of slice
+     * {@code s} is stored at {@code sliceOffsets[s] + k * chunkSize + lane}.
+     * {@code rowPermutation[i]} is the original index of the i-th stored row.
+     */
+    public static class SELLMatrix<T> {
+
+        public int size;
+        public int chunkSize;
+        public int sigma;
+        public int numSlices;
+        public int[] sliceOffsets;
+        public int[] sliceWidths;
+        public int[] rowPermutation;
+        public T vals;
+        public int[] cols;
+    }
+
+    public static class RowStatistics {
+
+        public int min;
+        public int max;
+        public float mean;
+        public float stdDev;
+
+        @Override
+        public String toString() {
+            return format("min=%d, max=%d, mean=%.2f, stddev=%.2f", min, max, mean, stdDev);
+        }
+    }
+
+    public static RowStatistics rowStatistics(final CSRMatrix<?> matrix) {
+        final RowStatistics stats = new RowStatistics();
+        stats.min = Integer.MAX_VALUE;
+        double sum = 0;
+        double sumSquares = 0;
+        for (int i = 0; i < matrix.size; i++) {
+            final int length = matrix.rows[i + 1] - matrix.rows[i];
+            stats.min = Math.min(stats.min, length);
+            stats.max = Math.max(stats.max, length);
+            sum += length;
+            sumSquares += (double) length * length;
+        }
+        if (matrix.size == 0) {
+            stats.min = 0;
+            return stats;
+        }
+        final double mean = sum / matrix.size;
+        stats.mean = (float) mean;
+        stats.stdDev = (float) Math.sqrt(Math.max(0, sumSquares / matrix.size - mean * mean));
+        return stats;
+    }
+
+    /**
+     * Selects the storage format for SpMV from the row-length statistics:
+     * long rows use a work-group per row, regular rows use ELLPACK, irregular
+     * (e.g. power-law) rows use SELL-C-sigma, and the remaining matrices use
+     * scalar CSR.
+     */
+    public static SparseFormat selectFormat(final CSRMatrix<?> matrix) {
+        final RowStatistics stats = rowStatistics(matrix);
+        if (stats.mean >= VECTOR_ROW_THRESHOLD) {
+            return SparseFormat.CSR_VECTOR;
+        }
+        final float padding = (matrix.n == 0) ? 1.0f : (float) stats.max * matrix.size / matrix.n;
+        if (padding <= ELL_MAX_PADDING) {
+            return SparseFormat.ELL;
+        }
+        if (stats.mean > 0 && stats.stdDev / stats.mean > IRREGULAR_ROWS_THRESHOLD) {
+            return SparseFormat.SELL;
+        }
+        return SparseFormat.CSR;
+    }
+
+    public static ELLMatrix<float[]> toELL(final CSRMatrix<float[]> csr) {
+        final ELLMatrix<float[]> ell = new ELLMatrix<>();
+        int width = 0;
+        for (int i = 0; i < csr.size; i++) {
+            width = Math.max(width, csr.rows[i + 1] - csr.rows[i]);
+        }
+        ell.size = csr.size;
+        ell.width = width;
+        ell.vals = new float[width * csr.size];
+        ell.cols = new int[width * csr.size];
+        for (int i = 0; i < csr.size; i++) {
+            for (int j = csr.rows[i]; j < csr.rows[i + 1]; j++) {
+                final int k = j - csr.rows[i];
+                ell.vals[k * csr.size + i] = csr.vals[j];
+                ell.cols[k * csr.size + i] = csr.cols[j];
+            }
+        }
+        return ell;
+    }
+
+    public static SELLMatrix<float[]> toSELL(final CSRMatrix<float[]> csr, final int chunkSize, final int sigma) {
+        if (chunkSize <= 0 || sigma <= 0) {
+            throw new IllegalArgumentException(format("invalid SELL-C-sigma parameters: C=%d, sigma=%d", chunkSize, sigma));
+        }
+        final SELLMatrix<float[]> sell = new SELLMatrix<>();
+        sell.size = csr.size;
+        sell.chunkSize = chunkSize;
+        sell.sigma = sigma;
+        sell.numSlices = (csr.size + chunkSize - 1) / chunkSize;
+
+        // Sort rows by decreasing length within each window of sigma rows
+        final Integer[] order = IntStream.range(0, csr.size).boxed().toArray(Integer[]::new);
+        final Comparator<Integer> byLength = Comparator.comparingInt(r -> -(csr.rows[r + 1] - csr.rows[r]));
+        for (int start = 0; start < csr.size; start += sigma) {
+            Arrays.sort(order, start, Math.min(start + sigma, csr.size), byLength);
+        }
+        sell.rowPermutation = new int[csr.size];
+        for (int i = 0; i < csr.size; i++) {
+            sell.rowPermutation[i] = order[i];
+        }
+
+        sell.sliceWidths = new int[sell.numSlices];
+        sell.sliceOffsets = new int[sell.numSlices + 1];
+        for (int s = 0; s < sell.numSlices; s++) {
+            int width = 0;
+            for (int lane = 0; lane < chunkSize && s * chunkSize + lane < csr.size; lane++) {
+                final int row = sell.rowPermutation[s * chunkSize + lane];
+                width = Math.max(width, csr.rows[row + 1] - csr.rows[row]);
+            }
+            sell.sliceWidths[s] = width;
+            sell.sliceOffsets[s + 1] = sell.sliceOffsets[s] + width * chunkSize;
+        }
+
+        final int storage = sell.sliceOffsets[sell.numSlices];
+        sell.vals = new float[storage];
+        sell.cols = new int[storage];
+        for (int i = 0; i < csr.size; i++) {
+            final int s = i / chunkSize;
+            final int lane = i % chunkSize;
+            final int row = sell.rowPermutation[i];
+            for (int j = csr.rows[row]; j < csr.rows[row + 1]; j++) {
+                final int index = sell.sliceOffsets[s] + (j - csr.rows[row]) * chunkSize + lane;
+                sell.vals[index] = csr.vals[j];
+                sell.cols[index] = csr.cols[j];
+            }
+        }
+        return sell;
+    }
+
+    /**
+     * Generates a random square matrix in CSR format. When {@code powerLaw} is
+     * set, the row lengths follow a Pareto distribution with the given mean,
+     * which reproduces the load imbalance of graph-like matrices; otherwise all
+     * rows have {@code averageRowLength} elements.
+     */
+    public static CSRMatrix<float[]> generateMatrixF(final int size, final int averageRowLength, final boolean powerLaw, final long seed) {
+        final double alpha = 1.5;
+        final Random rand = new Random(seed);
+        final int[] lengths = new int[size];
+        for (int i = 0; i < size; i++) {
+            int length = averageRowLength;
+            if (powerLaw) {
+                final double scale = averageRowLength * (alpha - 1) / alpha;
+                length = (int) Math.round(scale / Math.pow(1.0 - rand.nextDouble(), 1.0 / alpha));
+            }
+            lengths[i] = Math.max(1, Math.min(size, length));
+        }
+
+        final CSRMatrix<float[]> mat = new CSRMatrix<>();
+        mat.size = size;
+        mat.rows = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            mat.rows[i + 1] = mat.rows[i] + lengths[i];
+        }
+        mat.n = mat.rows[size];
+        mat.vals = new float[mat.n];
+        mat.cols = new int[mat.n];
+
+        for (int i = 0; i < size; i++) {
+            final int[] rowCols = rand.ints(0, size).distinct().limit(lengths[i]).sorted().toArray();
+            System.arraycopy(rowCols, 0, mat.cols, mat.rows[i], lengths[i]);
+            for (int j = mat.rows[i]; j < mat.rows[i + 1]; j++) {
+                mat.vals[j] = rand.nextFloat();
+            }
+        }
+        return mat;
+    }
+
     public static CSRMatrix<double[]> loadMatrixD(final String path) {
         boolean pattern = false;
         boolean symmetric = false;
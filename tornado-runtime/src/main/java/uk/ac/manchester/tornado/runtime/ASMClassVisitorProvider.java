@@ -23,9 +23,66 @@
  */
 package uk.ac.manchester.tornado.runtime;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.List;
+
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.runtime.common.ParallelAnnotationProvider;
 
 public interface ASMClassVisitorProvider {
+
+    /**
+     * @return an instance of the class given by the property
+     *         {@code tornado.load.annotation.implementation}, or {@code null} if
+     *         it cannot be loaded.
+     */
+    static ASMClassVisitorProvider load() {
+        String implementation = System.getProperty("tornado.load.annotation.implementation");
+        if (implementation == null) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = Class.forName(implementation).getConstructor();
+            return (ASMClassVisitorProvider) constructor.newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            return null;
+        }
+    }
+
     ParallelAnnotationProvider[] getParallelAnnotations(ResolvedJavaMethod method);
+
+    /**
+     * Creates a copy of a static task method that only runs a range of the
+     * iterations of its outermost parallel loop. The copy takes a trailing
+     * {@code int[] range}: iterations {@code [range[0], range[1])} are executed
+     * and the number of iterations visited is written to {@code range[2]}. If
+     * {@code range[3]} is not zero, the loop body is skipped, so the trip count
+     * can be obtained with {@code range = {0, Integer.MAX_VALUE, 0, 1}}.
+     *
+     * @return the handle of the copy, or {@code null} if the loop cannot be split.
+     */
+    MethodHandle splitParallelLoop(Method method);
+
+    /**
+     * Generates a static method that invokes each task in order. For each task,
+     * {@code taskArguments} gives the index of the parameter of the generated
+     * method that is passed to each parameter of the task.
+     *
+     * @return the generated method, or {@code null} if it cannot be defined.
+     */
+    Method fuseTasks(String methodName, Class<?>[] parameterTypes, String[] parameterNames, List<Method> tasks, List<int[]> taskArguments);
+
+    /**
+     * Generates a static method with a single parallel loop that runs the body of
+     * the outermost parallel loop of each task in order. The parallel loops of
+     * the tasks must have the same iteration space. The parameters whose
+     * {@code temporaryLengths} is not negative are primitive arrays with that
+     * length that are replaced with a local variable, so they are not parameters
+     * of the generated method.
+     *
+     * @return the generated method, or {@code null} if the loops cannot be fused.
+     */
+    Method fuseParallelLoops(String methodName, Class<?>[] parameterTypes, String[] parameterNames, List<Method> tasks, List<int[]> taskArguments, int[] temporaryLengths);
 }
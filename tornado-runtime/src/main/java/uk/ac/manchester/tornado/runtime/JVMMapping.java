@@ -177,6 +177,11 @@ public class JVMMapping implements TornadoAcceleratorDevice {
 
     }
 
+    @Override
+    public void releaseEvents(int[] localEventIDs) {
+
+    }
+
     @Override
     public String getDeviceName() {
         return "jvm";
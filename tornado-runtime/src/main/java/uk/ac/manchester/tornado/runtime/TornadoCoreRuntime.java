@@ -80,6 +80,18 @@ public class TornadoCoreRuntime extends TornadoLogger implements TornadoRuntimeI
         }
     };
     private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(TornadoOptions.TORNADO_SKETCHER_THREADS, executorThreadFactory);
+    private static final ThreadFactory compilerThreadFactory = new ThreadFactory() {
+        private int threadId = 0;
+
+        @Override
+        public synchronized Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, String.format("TornadoCompilerThread - %d", threadId));
+            thread.setDaemon(true);
+            threadId++;
+            return thread;
+        }
+    };
+    private static final ExecutorService COMPILER_EXECUTOR = Executors.newFixedThreadPool(TornadoOptions.TORNADO_COMPILER_THREADS, compilerThreadFactory);
     private static final TornadoCoreRuntime runtime = new TornadoCoreRuntime();
     private static final JVMMapping JVM = new JVMMapping();
     private static final int DEFAULT_DRIVER = 0;
@@ -122,6 +134,13 @@ public class TornadoCoreRuntime extends TornadoLogger implements TornadoRuntimeI
         return EXECUTOR;
     }
 
+    /**
+     * Thread pool used to compile the tasks of a task-graph in parallel.
+     */
+    public static ExecutorService getTornadoCompilerExecutor() {
+        return COMPILER_EXECUTOR;
+    }
+
     public static JVMCIBackend getVMBackend() {
         return runtime.vmBackend;
     }
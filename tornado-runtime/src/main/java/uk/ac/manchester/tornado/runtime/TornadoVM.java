@@ -36,7 +36,10 @@ import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import uk.ac.manchester.tornado.api.GridScheduler;
@@ -111,6 +114,15 @@ public class TornadoVM extends TornadoLogger {
 
     private GridScheduler gridScheduler;
 
+    private final LoopInfo loopInfo;
+
+    /**
+     * Compilations submitted to the compiler threads during a parallel
+     * compilation pass, indexed by task. It is null when tasks are compiled one
+     * by one.
+     */
+    private Map<Integer, Future<TornadoInstalledCode>> pendingCompilations;
+
     public TornadoVM(TornadoExecutionContext graphContext, byte[] code, int limit, TornadoProfiler timeProfiler) {
 
         this.graphContext = graphContext;
@@ -167,6 +179,14 @@ public class TornadoVM extends TornadoLogger {
         constants = graphContext.getConstants();
         tasks = graphContext.getTasks();
 
+        if (buffer.hasRemaining() && buffer.get(buffer.position()) == TornadoVMBytecode.LOOP.value()) {
+            buffer.get();
+            loopInfo = new LoopInfo(buffer);
+            debug("loop of %d iterations (flag=%d, check every %d)", loopInfo.maxIterations, loopInfo.flagIndex, loopInfo.checkInterval);
+        } else {
+            loopInfo = null;
+        }
+
         debug("%s - vm ready to go", graphContext.getId());
         buffer.mark();
 
@@ -464,6 +484,11 @@ public class TornadoVM extends TornadoLogger {
         final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
         final SchedulableTask task = tasks.get(taskIndex);
 
+        if (pendingCompilations != null && pendingCompilations.containsKey(taskIndex)) {
+            // The task is being compiled for a previous launch of the same pass
+            return new ExecutionInfo(callWrapper, waitList);
+        }
+
         // Check if a different batch size was used for the same kernel. If true, then
         // the kernel needs to be recompiled.
         if (!shouldCompile(installedCodes[taskIndex]) && task.getBatchThreads() != 0 && task.getBatchThreads() != batchThreads) {
@@ -480,31 +505,120 @@ public class TornadoVM extends TornadoLogger {
 
         if (shouldCompile(installedCodes[taskIndex])) {
             task.mapTo(device);
-            try {
-                task.attachProfiler(timeProfiler);
-                if (taskIndex == (tasks.size() - 1)) {
-                    // If it is the last task within the task-schedule -> we force compilation
-                    // This is useful when compiling code for Xilinx/Altera FPGAs, that has to
-                    // be a single source
-                    task.forceCompilation();
-                }
-                if (doUpdate) {
-                    task.forceCompilation();
-                }
-                installedCodes[taskIndex] = device.installCode(task);
-                profilerUpdateForPreCompiledTask(task);
-                doUpdate = false;
-            } catch (TornadoBailoutRuntimeException e) {
-                throw new TornadoBailoutRuntimeException("Unable to compile task " + task.getFullName() + "\n" + Arrays.toString(e.getStackTrace()), e);
-            } catch (TornadoDeviceFP64NotSupported e) {
-                throw e;
-            } catch (InternalError e) {
-                throw new TornadoBailoutRuntimeException("[Internal Error] Unable to compile task " + task.getFullName() + "\n" + Arrays.toString(e.getStackTrace()));
+            task.attachProfiler(timeProfiler);
+            if (taskIndex == (tasks.size() - 1)) {
+                // If it is the last task within the task-schedule -> we force compilation
+                // This is useful when compiling code for Xilinx/Altera FPGAs, that has to
+                // be a single source
+                task.forceCompilation();
+            }
+            if (doUpdate) {
+                task.forceCompilation();
+            }
+            if (pendingCompilations != null) {
+                pendingCompilations.put(taskIndex, TornadoCoreRuntime.getTornadoCompilerExecutor().submit(() -> {
+                    device.enableThreadSharing();
+                    return installTask(device, task);
+                }));
+            } else {
+                installedCodes[taskIndex] = installTask(device, task);
             }
+            doUpdate = false;
         }
         return new ExecutionInfo(callWrapper, waitList);
     }
 
+    private TornadoInstalledCode installTask(TornadoAcceleratorDevice device, SchedulableTask task) {
+        try {
+            TornadoInstalledCode installedCode = device.installCode(task);
+            profilerUpdateForPreCompiledTask(task);
+            return installedCode;
+        } catch (TornadoBailoutRuntimeException e) {
+            throw new TornadoBailoutRuntimeException("Unable to compile task " + task.getFullName() + "\n" + Arrays.toString(e.getStackTrace()), e);
+        } catch (TornadoDeviceFP64NotSupported e) {
+            throw e;
+        } catch (InternalError e) {
+            throw new TornadoBailoutRuntimeException("[Internal Error] Unable to compile task " + task.getFullName() + "\n" + Arrays.toString(e.getStackTrace()));
+        }
+    }
+
+    private boolean shouldCompileInParallel() {
+        if (!TornadoOptions.PARALLEL_COMPILATION || tasks.size() < 2) {
+            return false;
+        }
+        for (TornadoAcceleratorDevice device : contexts) {
+            // FPGA tasks are compiled together into a single binary
+            if (device != null && device.getDeviceContext().isPlatformFPGA()) {
+                return false;
+            }
+        }
+        return Arrays.stream(installedCodes).anyMatch(this::shouldCompile);
+    }
+
+    /**
+     * Runs a warm-up pass over the bytecodes that submits every task that needs
+     * to be compiled to the compiler threads, and waits for all of them. The
+     * elapsed time of the pass is reported as
+     * {@link ProfilerType#TOTAL_PARALLEL_COMPILE_TIME}, while the Graal and
+     * driver compilation times keep accumulating the time of each task.
+     */
+    private void compileTasksInParallel(StringBuilder tornadoVMBytecodeList) {
+        final long start = System.nanoTime();
+        pendingCompilations = new HashMap<>();
+        try {
+            interpret(tornadoVMBytecodeList, true, LoopPass.NONE);
+            for (Map.Entry<Integer, Future<TornadoInstalledCode>> compilation : pendingCompilations.entrySet()) {
+                installedCodes[compilation.getKey()] = waitForCompilation(compilation.getValue());
+            }
+        } finally {
+            cancelPendingCompilations();
+            pendingCompilations = null;
+            buffer.reset();
+        }
+        timeProfiler.sum(ProfilerType.TOTAL_PARALLEL_COMPILE_TIME, System.nanoTime() - start);
+    }
+
+    /**
+     * Cancels the compilations that have not started after a failure, and waits
+     * for the ones that are running, so that no compiler thread still works on
+     * this TornadoVM when the failure is handled (e.g., by a bailout to Java).
+     */
+    private void cancelPendingCompilations() {
+        for (Future<TornadoInstalledCode> compilation : pendingCompilations.values()) {
+            compilation.cancel(false);
+        }
+        for (Future<TornadoInstalledCode> compilation : pendingCompilations.values()) {
+            if (compilation.isCancelled()) {
+                continue;
+            }
+            try {
+                compilation.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // The first failure has already been rethrown
+            }
+        }
+    }
+
+    private static TornadoInstalledCode waitForCompilation(Future<TornadoInstalledCode> compilation) {
+        try {
+            return compilation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TornadoBailoutRuntimeException("Interrupted while compiling tasks", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new TornadoBailoutRuntimeException("Unable to compile task", (Exception) cause);
+        }
+    }
+
     private boolean shouldCompile(TornadoInstalledCode installedCode) {
         return installedCode == null || !installedCode.isValid();
     }
@@ -667,19 +781,67 @@ public class TornadoVM extends TornadoLogger {
         throw new TornadoRuntimeException("[ERROR] TornadoVM Bytecode not recognized");
     }
 
-    private Event execute(boolean isWarmup) {
-        isWarmup = isWarmup || VIRTUAL_DEVICE_ENABLED;
-        contexts.stream().filter(Objects::nonNull).forEach(TornadoAcceleratorDevice::enableThreadSharing);
+    /**
+     * Runs the body of a task-graph loop until the iteration count or the
+     * convergence flag stops it. Host to device copies and allocations are only
+     * performed in the first iteration, and copies back to the host and
+     * deallocations are deferred to a last pass over the body once the loop has
+     * finished. Buffers of ping-pong objects are swapped after every iteration.
+     */
+    private void executeLoop(StringBuilder tornadoVMBytecodeList) {
+        final TornadoAcceleratorDevice device = contexts.get(loopInfo.contextIndex);
+        final int[] flag = (loopInfo.flagIndex != -1) ? (int[]) objects.get(loopInfo.flagIndex) : null;
+        if (flag != null) {
+            flag[0] = 0;
+        }
 
-        final long t0 = System.nanoTime();
-        int lastEvent = -1;
-        initWaitEventList();
+        int iteration = 0;
+        boolean finished = false;
+        while (!finished) {
+            final boolean checkFlag = flag != null && (iteration + 1) % loopInfo.checkInterval == 0 && iteration + 1 < loopInfo.maxIterations;
+            if (checkFlag && iteration > 0) {
+                flag[0] = 0;
+                device.streamIn(flag, 0, 0, resolveObjectState(loopInfo.flagIndex, loopInfo.contextIndex), null);
+            }
+
+            interpret(tornadoVMBytecodeList, false, (iteration == 0) ? LoopPass.FIRST_ITERATION : LoopPass.NEXT_ITERATION);
+            buffer.reset();
+            swapPingPongBuffers();
+            iteration++;
+
+            if (checkFlag) {
+                device.enqueueBarrier();
+                device.streamOutBlocking(flag, 0, resolveObjectState(loopInfo.flagIndex, loopInfo.contextIndex), null);
+                finished = flag[0] == 0;
+            }
+            finished |= iteration == loopInfo.maxIterations;
+        }
 
-        StringBuilder tornadoVMBytecodeList = null;
         if (TornadoOptions.PRINT_BYTECODES) {
-            tornadoVMBytecodeList = new StringBuilder();
+            tornadoVMBytecodeList.append(String.format("bc: " + debugHighLightBC("LOOP") + " %d iterations on %s%n", iteration, debugDeviceBC(device)));
         }
 
+        device.enqueueBarrier();
+        initWaitEventList();
+        Arrays.fill(eventsIndexes, 0);
+        interpret(tornadoVMBytecodeList, false, LoopPass.EPILOGUE);
+    }
+
+    private void swapPingPongBuffers() {
+        for (int[] pair : loopInfo.pingPongPairs) {
+            final DeviceObjectState first = resolveObjectState(pair[0], loopInfo.contextIndex);
+            final DeviceObjectState second = resolveObjectState(pair[1], loopInfo.contextIndex);
+            final ObjectBuffer firstBuffer = first.getObjectBuffer();
+            final boolean contents = first.hasContents();
+            first.setObjectBuffer(second.getObjectBuffer());
+            first.setContents(second.hasContents());
+            second.setObjectBuffer(firstBuffer);
+            second.setContents(contents);
+        }
+    }
+
+    private void interpret(StringBuilder tornadoVMBytecodeList, boolean isWarmup, LoopPass pass) {
+        int lastEvent = -1;
         while (buffer.hasRemaining()) {
             final byte op = buffer.get();
             if (op == TornadoVMBytecode.ALLOC.value()) {
@@ -690,14 +852,14 @@ public class TornadoVM extends TornadoLogger {
                 for (int i = 0; i < argSize; i++) {
                     args[i] = buffer.getInt();
                 }
-                if (isWarmup) {
+                if (isWarmup || pass.isBodyReplay()) {
                     continue;
                 }
                 lastEvent = executeAlloc(tornadoVMBytecodeList, args, contextIndex, sizeBatch);
             } else if (op == TornadoVMBytecode.DEALLOC.value()) {
                 final int objectIndex = buffer.getInt();
                 final int contextIndex = buffer.getInt();
-                if (isWarmup) {
+                if (isWarmup || pass.isIteration()) {
                     continue;
                 }
                 lastEvent = executeDeAlloc(tornadoVMBytecodeList, objectIndex, contextIndex);
@@ -710,8 +872,16 @@ public class TornadoVM extends TornadoLogger {
                 final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
                 if (isWarmup) {
                     continue;
+                } else if (pass.isBodyReplay()) {
+                    lastEvent = skipTransfer(eventList);
+                    continue;
+                }
+                if (pass == LoopPass.FIRST_ITERATION && objectIndex == loopInfo.flagIndex) {
+                    // The flag is reset by the host before the loop starts
+                    transferHostToDeviceAlways(tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
+                } else {
+                    transferHostToDeviceOnce(tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
                 }
-                transferHostToDeviceOnce(tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
             } else if (op == TornadoVMBytecode.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()) {
                 final int objectIndex = buffer.getInt();
                 final int contextIndex = buffer.getInt();
@@ -721,6 +891,9 @@ public class TornadoVM extends TornadoLogger {
                 final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
                 if (isWarmup) {
                     continue;
+                } else if (pass.isBodyReplay()) {
+                    lastEvent = skipTransfer(eventList);
+                    continue;
                 }
                 transferHostToDeviceAlways(tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
             } else if (op == TornadoVMBytecode.TRANSFER_DEVICE_TO_HOST_ALWAYS.value()) {
@@ -732,6 +905,9 @@ public class TornadoVM extends TornadoLogger {
                 final int[] waitList = (useDependencies) ? events[eventList] : null;
                 if (isWarmup) {
                     continue;
+                } else if (pass.isIteration()) {
+                    lastEvent = skipTransfer(eventList);
+                    continue;
                 }
                 lastEvent = transferDeviceToHost(tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
             } else if (op == TornadoVMBytecode.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value()) {
@@ -744,6 +920,9 @@ public class TornadoVM extends TornadoLogger {
                 final int[] waitList = (useDependencies) ? events[eventList] : null;
                 if (isWarmup) {
                     continue;
+                } else if (pass.isIteration()) {
+                    lastEvent = skipTransfer(eventList);
+                    continue;
                 }
                 transferDeviceToHostBlocking(tornadoVMBytecodeList, objectIndex, contextIndex, offset, eventList, sizeBatch, waitList);
             } else if (op == TornadoVMBytecode.LAUNCH.value()) {
@@ -754,6 +933,11 @@ public class TornadoVM extends TornadoLogger {
                 final int eventList = buffer.getInt();
                 final long offset = buffer.getLong();
                 final long batchThreads = buffer.getLong();
+                if (pass == LoopPass.EPILOGUE) {
+                    popArgumentsFromCall(numArgs);
+                    lastEvent = -1;
+                    continue;
+                }
                 ExecutionInfo info = compileTaskFromBytecodeToBinary(contextIndex, callWrapperIndex, numArgs, eventList, taskIndex, batchThreads);
                 if (isWarmup) {
                     popArgumentsFromCall(numArgs);
@@ -782,6 +966,29 @@ public class TornadoVM extends TornadoLogger {
                 throwError(op);
             }
         }
+    }
+
+    private Event execute(boolean isWarmup) {
+        isWarmup = isWarmup || VIRTUAL_DEVICE_ENABLED;
+        contexts.stream().filter(Objects::nonNull).forEach(TornadoAcceleratorDevice::enableThreadSharing);
+
+        final long t0 = System.nanoTime();
+        initWaitEventList();
+
+        StringBuilder tornadoVMBytecodeList = null;
+        if (TornadoOptions.PRINT_BYTECODES) {
+            tornadoVMBytecodeList = new StringBuilder();
+        }
+
+        if (shouldCompileInParallel()) {
+            compileTasksInParallel(tornadoVMBytecodeList);
+        }
+
+        if (loopInfo == null || isWarmup) {
+            interpret(tornadoVMBytecodeList, isWarmup, LoopPass.NONE);
+        } else {
+            executeLoop(tornadoVMBytecodeList);
+        }
 
         Event barrier = EMPTY_EVENT;
         if (!isWarmup) {
@@ -819,6 +1026,11 @@ public class TornadoVM extends TornadoLogger {
         return barrier;
     }
 
+    private int skipTransfer(int eventList) {
+        resetEventIndexes(eventList);
+        return -1;
+    }
+
     private void resetEventIndexes(int eventList) {
         if (eventList != -1) {
             eventsIndexes[eventList] = 0;
@@ -842,7 +1054,7 @@ public class TornadoVM extends TornadoLogger {
 
     public void clearProfiles() {
         for (final SchedulableTask task : tasks) {
-            task.meta().getProfiles().clear();
+            ((TaskMetaData) task.meta()).clearProfiles();
         }
     }
 
@@ -884,6 +1096,55 @@ public class TornadoVM extends TornadoLogger {
         }
     }
 
+    /**
+     * Passes of the interpreter over the bytecodes of a task-graph.
+     */
+    private enum LoopPass {
+        /**
+         * Task-graph without a loop.
+         */
+        NONE,
+        /**
+         * First iteration of a loop: allocations and copies in.
+         */
+        FIRST_ITERATION,
+        /**
+         * Following iterations of a loop: kernel launches only.
+         */
+        NEXT_ITERATION,
+        /**
+         * After the last iteration: copies out and deallocations.
+         */
+        EPILOGUE;
+
+        boolean isIteration() {
+            return this == FIRST_ITERATION || this == NEXT_ITERATION;
+        }
+
+        boolean isBodyReplay() {
+            return this == NEXT_ITERATION || this == EPILOGUE;
+        }
+    }
+
+    private static class LoopInfo {
+        final int contextIndex;
+        final int maxIterations;
+        final int checkInterval;
+        final int flagIndex;
+        final int[][] pingPongPairs;
+
+        LoopInfo(ByteBuffer buffer) {
+            contextIndex = buffer.getInt();
+            maxIterations = buffer.getInt();
+            checkInterval = buffer.getInt();
+            flagIndex = buffer.getInt();
+            pingPongPairs = new int[buffer.getInt()][];
+            for (int i = 0; i < pingPongPairs.length; i++) {
+                pingPongPairs[i] = new int[] { buffer.getInt(), buffer.getInt() };
+            }
+        }
+    }
+
     private static class ExecutionInfo {
         KernelArgs callWrapper;
         int[] waitList;
@@ -0,0 +1,559 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.analyzer;
+
+import static uk.ac.manchester.tornado.runtime.common.Tornado.debug;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.Invoke;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.PiNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.java.ArrayLengthNode;
+import org.graalvm.compiler.nodes.java.LoadIndexedNode;
+import org.graalvm.compiler.nodes.java.StoreIndexedNode;
+
+import jdk.vm.ci.meta.JavaConstant;
+import jdk.vm.ci.meta.Local;
+import jdk.vm.ci.meta.LocalVariableTable;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.runtime.ASMClassVisitorProvider;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelOffsetNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
+import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
+import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.FusedTask;
+import uk.ac.manchester.tornado.runtime.tasks.meta.ScheduleMetaData;
+
+/**
+ * Fuses consecutive tasks of a task-graph into a single kernel.
+ *
+ * <p>
+ * Two tasks are fused when both are one-dimensional parallel loops over the
+ * same iteration space and every array shared between them, and written by
+ * one of them, is only accessed at the index of the parallel loop. Under those
+ * conditions, each thread of the fused kernel reads exactly the elements that
+ * the same thread wrote in the previous task, so no barrier is needed between
+ * the two loop bodies.
+ * </p>
+ *
+ * <p>
+ * The fused method is a generated static method that calls the method of each
+ * task in order (see {@link ASMClassVisitorProvider#fuseTasks}). The sketcher
+ * inlines the calls, and the accesses of the fused method are composed in task
+ * order (see {@link #composeAccesses}), so intermediate arrays that are written
+ * on the device before they are read are never copied in.
+ * </p>
+ *
+ * <p>
+ * Intermediate arrays that are not used outside the fused tasks, and are not
+ * transferred, are temporaries: if they are written before they are read, the
+ * parallel loops of the tasks are merged into a single loop in which each
+ * temporary is a local variable (see
+ * {@link ASMClassVisitorProvider#fuseParallelLoops}), so temporaries are never
+ * allocated on the device.
+ * </p>
+ */
+public final class TaskFusion {
+
+    private static final ASMClassVisitorProvider provider = ASMClassVisitorProvider.load();
+
+    private static final Map<String, Method> fusedMethods = new ConcurrentHashMap<>();
+
+    private static final Map<ResolvedJavaMethod, FusedKernel> fusedKernels = new ConcurrentHashMap<>();
+
+    /**
+     * Methods of the tasks that compose a fused method, and the mapping from the
+     * parameters of each task to the parameters of the fused method.
+     */
+    public static final class FusedKernel {
+
+        private final List<ResolvedJavaMethod> methods;
+        private final List<int[]> arguments;
+
+        private FusedKernel(List<ResolvedJavaMethod> methods, List<int[]> arguments) {
+            this.methods = Collections.unmodifiableList(methods);
+            this.arguments = Collections.unmodifiableList(arguments);
+        }
+
+        public List<ResolvedJavaMethod> getMethods() {
+            return methods;
+        }
+
+        /**
+         * @return for each parameter of the task {@code index}, the index of the
+         *         corresponding parameter of the fused method, or -1 if the
+         *         parameter is a temporary of the fused method.
+         */
+        public int[] getArguments(int index) {
+            return arguments.get(index);
+        }
+    }
+
+    private TaskFusion() {
+    }
+
+    public static FusedKernel getFusedKernel(ResolvedJavaMethod method) {
+        return fusedKernels.get(method);
+    }
+
+    public static boolean isFusedMethod(ResolvedJavaMethod method) {
+        return fusedKernels.containsKey(method);
+    }
+
+    /**
+     * Builds a task that runs the {@code producer} followed by the
+     * {@code consumer} as a single kernel. The sketches of both tasks must have
+     * been requested.
+     *
+     * @param temporaries
+     *            arrays that are only used by the tasks of the task-graph that
+     *            are fused, and are not transferred. They are compared by
+     *            identity.
+     * @return the fused task, or {@code null} if the tasks cannot be fused.
+     */
+    public static FusedTask fuse(ScheduleMetaData meta, CompilableTask producer, CompilableTask consumer, Set<Object> temporaries) {
+        if (provider == null) {
+            return null;
+        }
+        List<CompilableTask> tasks = new ArrayList<>();
+        if (producer instanceof FusedTask) {
+            tasks.addAll(((FusedTask) producer).getTasks());
+        } else {
+            tasks.add(producer);
+        }
+        tasks.add(consumer);
+
+        for (CompilableTask task : tasks) {
+            if (!isFusionCandidate(task)) {
+                return null;
+            }
+        }
+        if (producer.meta().getDriverIndex() != consumer.meta().getDriverIndex() || producer.meta().getDeviceIndex() != consumer.meta().getDeviceIndex()) {
+            return null;
+        }
+
+        // The fused producer may not have the temporaries as parameters, so the
+        // dependencies are checked against each of its tasks
+        Sketch consumerSketch = lookupSketch(consumer);
+        StructuredGraph consumerGraph = (StructuredGraph) consumerSketch.getGraph().getReadonlyCopy();
+        int[] consumerDomain = getDomain(consumerGraph, consumer.getArguments());
+        for (CompilableTask task : tasks.subList(0, tasks.size() - 1)) {
+            Sketch producerSketch = lookupSketch(task);
+            StructuredGraph producerGraph = (StructuredGraph) producerSketch.getGraph().getReadonlyCopy();
+            int[] producerDomain = getDomain(producerGraph, task.getArguments());
+            if (producerDomain == null || !Arrays.equals(producerDomain, consumerDomain)) {
+                return null;
+            }
+            if (!hasElementWiseDependencies(producerGraph, producerSketch.getArgumentsAccess(), task.getArguments(), consumerGraph, consumerSketch.getArgumentsAccess(), consumer.getArguments())) {
+                return null;
+            }
+        }
+
+        return createFusedTask(meta, tasks, temporaries);
+    }
+
+    /**
+     * Checks that the sketch of a fused task inlined all the tasks and kept the
+     * iteration space of the original tasks.
+     */
+    public static boolean isValidFusedSketch(FusedTask task, Sketch sketch) {
+        StructuredGraph graph = (StructuredGraph) sketch.getGraph().getReadonlyCopy();
+        FusedKernel kernel = fusedKernels.get(TornadoCoreRuntime.getTornadoRuntime().resolveMethod(task.getMethod()));
+        for (Invoke invoke : graph.getInvokes()) {
+            if (kernel.getMethods().contains(invoke.callTarget().targetMethod())) {
+                return false;
+            }
+        }
+        CompilableTask first = task.getTasks().get(0);
+        int[] domain = getDomain((StructuredGraph) lookupSketch(first).getGraph().getReadonlyCopy(), first.getArguments());
+        return Arrays.equals(domain, getDomain(graph, task.getArguments()));
+    }
+
+    /**
+     * Composes the accesses of the tasks of a fused method in execution order. A
+     * parameter that is written before it is read is write-only for the fused
+     * kernel.
+     */
+    public static void composeAccesses(FusedKernel kernel, List<Access[]> taskAccesses, Access[] accesses) {
+        Arrays.fill(accesses, Access.NONE);
+        for (int i = 0; i < taskAccesses.size(); i++) {
+            int[] arguments = kernel.getArguments(i);
+            Access[] access = taskAccesses.get(i);
+            for (int j = 0; j < arguments.length; j++) {
+                if (arguments[j] != -1) {
+                    accesses[arguments[j]] = compose(accesses[arguments[j]], access[j]);
+                }
+            }
+        }
+    }
+
+    private static Access compose(Access previous, Access next) {
+        switch (previous) {
+            case NONE:
+                return next;
+            case READ_ONLY:
+                return (next == Access.WRITE_ONLY || next == Access.READ_WRITE) ? Access.READ_WRITE : Access.READ_ONLY;
+            default:
+                return previous;
+        }
+    }
+
+    private static Sketch lookupSketch(CompilableTask task) {
+        ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(task.getMethod());
+        return TornadoSketcher.lookup(resolvedMethod, task.meta().getDriverIndex(), task.meta().getDeviceIndex());
+    }
+
+    private static boolean isFusionCandidate(CompilableTask task) {
+        Method method = task.getMethod();
+        Class<?> klass = method.getDeclaringClass();
+        if (!Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(klass.getModifiers()) || klass.isInterface()) {
+            return false;
+        }
+        if (klass.getClassLoader() != TaskFusion.class.getClassLoader() || task.getArguments().length != method.getParameterCount() || task.meta().getNumThreads() != 0) {
+            return false;
+        }
+        for (Object arg : task.getArguments()) {
+            if (arg == null || arg instanceof KernelContext || arg instanceof AtomicInteger) {
+                return false;
+            }
+        }
+        for (Annotation[] annotations : method.getParameterAnnotations()) {
+            for (Annotation annotation : annotations) {
+                if (annotation instanceof Reduce) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the offset, stride and range of the parallel loop of the sketch, or
+     *         {@code null} if the sketch is not a single-dimension parallel loop
+     *         with a range known for the given arguments.
+     */
+    private static int[] getDomain(StructuredGraph graph, Object[] args) {
+        int[] domain = null;
+        for (ParallelRangeNode range : graph.getNodes().filter(ParallelRangeNode.class)) {
+            if (range.index() != 0) {
+                return null;
+            }
+            int[] current = new int[] { resolveInt(range.offset().value(), args), resolveInt(range.stride().value(), args), resolveInt(range.value(), args) };
+            for (int value : current) {
+                if (value == Integer.MIN_VALUE) {
+                    return null;
+                }
+            }
+            if (domain == null) {
+                domain = current;
+            } else if (!Arrays.equals(domain, current)) {
+                return null;
+            }
+        }
+        return domain;
+    }
+
+    private static ValueNode unwrap(ValueNode value) {
+        ValueNode node = value;
+        while (node instanceof PiNode) {
+            node = ((PiNode) node).object();
+        }
+        return node;
+    }
+
+    private static int resolveInt(ValueNode value, Object[] args) {
+        ValueNode node = unwrap(value);
+        if (node instanceof ConstantNode) {
+            JavaConstant constant = ((ConstantNode) node).asJavaConstant();
+            if (constant != null && constant.getJavaKind().isNumericInteger()) {
+                return constant.asInt();
+            }
+        } else if (node instanceof ParameterNode) {
+            Object arg = args[((ParameterNode) node).index()];
+            if (arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+                return ((Number) arg).intValue();
+            }
+        } else if (node instanceof ArrayLengthNode) {
+            ValueNode array = unwrap(((ArrayLengthNode) node).array());
+            if (array instanceof ParameterNode) {
+                Object arg = args[((ParameterNode) array).index()];
+                if (arg != null && arg.getClass().isArray()) {
+                    return Array.getLength(arg);
+                }
+            }
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    private static boolean writes(Access access) {
+        return access == Access.WRITE_ONLY || access == Access.READ_WRITE;
+    }
+
+    private static boolean hasElementWiseDependencies(StructuredGraph producerGraph, Access[] producerAccesses, Object[] producerArgs, StructuredGraph consumerGraph, Access[] consumerAccesses,
+            Object[] consumerArgs) {
+        for (int i = 0; i < producerArgs.length; i++) {
+            if (RuntimeUtilities.isBoxedPrimitiveClass(producerArgs[i].getClass())) {
+                continue;
+            }
+            for (int j = 0; j < consumerArgs.length; j++) {
+                if (producerArgs[i] != consumerArgs[j] || !(writes(producerAccesses[i]) || writes(consumerAccesses[j]))) {
+                    continue;
+                }
+                if (!isElementWise(producerGraph, i) || !isElementWise(consumerGraph, j)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the parameter is only accessed at the index of a parallel
+     * loop.
+     */
+    private static boolean isElementWise(StructuredGraph graph, int parameterIndex) {
+        ParameterNode parameter = graph.getParameter(parameterIndex);
+        if (parameter == null) {
+            return true;
+        }
+
+        Set<ValueNode> inductionVariables = new HashSet<>();
+        for (ValuePhiNode phi : graph.getNodes().filter(ValuePhiNode.class)) {
+            if (phi.valueAt(0) instanceof ParallelOffsetNode) {
+                inductionVariables.add(phi);
+            }
+        }
+
+        Deque<ValueNode> worklist = new ArrayDeque<>();
+        worklist.push(parameter);
+        while (!worklist.isEmpty()) {
+            ValueNode value = worklist.pop();
+            for (Node usage : value.usages()) {
+                if (usage instanceof FrameState || usage instanceof ArrayLengthNode) {
+                    continue;
+                } else if (usage instanceof PiNode) {
+                    worklist.push((PiNode) usage);
+                } else if (usage instanceof LoadIndexedNode) {
+                    LoadIndexedNode load = (LoadIndexedNode) usage;
+                    if (load.array() != value || !inductionVariables.contains(load.index())) {
+                        return false;
+                    }
+                } else if (usage instanceof StoreIndexedNode) {
+                    StoreIndexedNode store = (StoreIndexedNode) usage;
+                    if (store.array() != value || store.value() == value || !inductionVariables.contains(store.index())) {
+                        return false;
+                    }
+                } else {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static FusedTask createFusedTask(ScheduleMetaData meta, List<CompilableTask> tasks, Set<Object> temporaries) {
+        List<Object> args = new ArrayList<>();
+        List<Class<?>> types = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Method> methods = new ArrayList<>();
+        List<int[]> arguments = new ArrayList<>();
+        StringBuilder methodName = new StringBuilder("fused");
+
+        for (CompilableTask task : tasks) {
+            Method method = task.getMethod();
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            String[] parameterNames = getParameterNames(method);
+            Object[] taskArgs = task.getArguments();
+            int[] mapping = new int[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                int index = -1;
+                if (!parameterTypes[i].isPrimitive()) {
+                    for (int j = 0; j < args.size() && index == -1; j++) {
+                        if (args.get(j) == taskArgs[i] && types.get(j) == parameterTypes[i]) {
+                            index = j;
+                        }
+                    }
+                }
+                if (index == -1) {
+                    index = args.size();
+                    args.add(taskArgs[i]);
+                    types.add(parameterTypes[i]);
+                    names.add(getUniqueName(parameterNames[i], names));
+                }
+                mapping[i] = index;
+            }
+            methods.add(method);
+            arguments.add(mapping);
+            methodName.append("_").append(task.getTaskName());
+        }
+
+        Class<?>[] parameterTypes = types.toArray(new Class<?>[0]);
+        String[] parameterNames = names.toArray(new String[0]);
+        String name = methodName.toString().replaceAll("[^A-Za-z0-9_]", "_");
+        int[] temporaryLengths = getTemporaryLengths(tasks, arguments, args, parameterTypes, temporaries);
+        Method method = null;
+        if (temporaryLengths != null) {
+            method = defineFusedMethod(name, parameterTypes, parameterNames, methods, arguments, temporaryLengths);
+        }
+        if (method == null) {
+            temporaryLengths = null;
+            method = defineFusedMethod(name, parameterTypes, parameterNames, methods, arguments, null);
+        }
+        if (method == null) {
+            return null;
+        }
+
+        List<Object> fusedArgs = new ArrayList<>();
+        for (int i = 0; i < args.size(); i++) {
+            if (temporaryLengths == null || temporaryLengths[i] < 0) {
+                fusedArgs.add(args.get(i));
+            }
+        }
+
+        CompilableTask producer = tasks.get(0);
+        String id = producer.getId().substring(meta.getId().length() + 1);
+        FusedTask fusedTask = new FusedTask(meta, id, method, tasks, fusedArgs.toArray());
+        fusedTask.mapTo(producer.getDevice());
+        return fusedTask;
+    }
+
+    private static String[] getParameterNames(Method method) {
+        String[] names = new String[method.getParameterCount()];
+        LocalVariableTable table = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(method).getLocalVariableTable();
+        Local[] locals = (table != null) ? table.getLocalsAt(0) : null;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = (locals != null && locals.length > i) ? locals[i].getName() : "arg" + i;
+        }
+        return names;
+    }
+
+    private static String getUniqueName(String name, List<String> names) {
+        return names.contains(name) ? name + "_" + names.size() : name;
+    }
+
+    /**
+     * A parameter of the fused method is a temporary if it is a primitive array
+     * that is in {@code temporaries} and is written by the fused tasks before it
+     * is read.
+     *
+     * @return for each parameter, the length of the array if it is a temporary or
+     *         -1, or {@code null} if there are no temporaries.
+     */
+    private static int[] getTemporaryLengths(List<CompilableTask> tasks, List<int[]> arguments, List<Object> args, Class<?>[] parameterTypes, Set<Object> temporaries) {
+        if (temporaries == null || temporaries.isEmpty()) {
+            return null;
+        }
+        List<Access[]> taskAccesses = new ArrayList<>();
+        for (CompilableTask task : tasks) {
+            taskAccesses.add(lookupSketch(task).getArgumentsAccess());
+        }
+        Access[] accesses = new Access[parameterTypes.length];
+        composeAccesses(new FusedKernel(new ArrayList<>(), arguments), taskAccesses, accesses);
+
+        int[] temporaryLengths = new int[parameterTypes.length];
+        boolean hasTemporaries = false;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Object arg = args.get(i);
+            boolean temporary = temporaries.contains(arg) && parameterTypes[i].isArray() && parameterTypes[i].getComponentType().isPrimitive() && accesses[i] == Access.WRITE_ONLY;
+            temporaryLengths[i] = temporary ? Array.getLength(arg) : -1;
+            hasTemporaries |= temporary;
+        }
+        return hasTemporaries ? temporaryLengths : null;
+    }
+
+    /**
+     * @return the mapping from the parameters of each task to the parameters of
+     *         the fused method, once the temporaries are removed.
+     */
+    private static List<int[]> getFusedArguments(List<int[]> arguments, int[] temporaryLengths) {
+        if (temporaryLengths == null) {
+            return arguments;
+        }
+        int[] fusedIndexes = new int[temporaryLengths.length];
+        int index = 0;
+        for (int i = 0; i < temporaryLengths.length; i++) {
+            fusedIndexes[i] = temporaryLengths[i] < 0 ? index++ : -1;
+        }
+        List<int[]> fusedArguments = new ArrayList<>();
+        for (int[] mapping : arguments) {
+            int[] fusedMapping = new int[mapping.length];
+            for (int i = 0; i < mapping.length; i++) {
+                fusedMapping[i] = fusedIndexes[mapping[i]];
+            }
+            fusedArguments.add(fusedMapping);
+        }
+        return fusedArguments;
+    }
+
+    private static Method defineFusedMethod(String name, Class<?>[] parameterTypes, String[] parameterNames, List<Method> methods, List<int[]> arguments, int[] temporaryLengths) {
+        StringBuilder key = new StringBuilder(name).append(Arrays.toString(parameterTypes)).append(Arrays.toString(temporaryLengths));
+        for (int i = 0; i < methods.size(); i++) {
+            key.append(";").append(methods.get(i)).append(Arrays.toString(arguments.get(i)));
+        }
+
+        return fusedMethods.computeIfAbsent(key.toString(), k -> {
+            Method method;
+            if (temporaryLengths == null) {
+                method = provider.fuseTasks(name, parameterTypes, parameterNames, methods, arguments);
+            } else {
+                method = provider.fuseParallelLoops(name, parameterTypes, parameterNames, methods, arguments, temporaryLengths);
+            }
+            if (method == null) {
+                debug("unable to define fused method %s", name);
+                return null;
+            }
+            List<ResolvedJavaMethod> resolvedMethods = new ArrayList<>();
+            for (Method m : methods) {
+                resolvedMethods.add(TornadoCoreRuntime.getTornadoRuntime().resolveMethod(m));
+            }
+            fusedKernels.put(TornadoCoreRuntime.getTornadoRuntime().resolveMethod(method), new FusedKernel(resolvedMethods, getFusedArguments(arguments, temporaryLengths)));
+            return method;
+        });
+    }
+}
@@ -62,4 +62,11 @@ public interface TornadoAcceleratorDevice extends TornadoDevice {
     void enableThreadSharing();
 
     void setAtomicRegion(ObjectBuffer bufferAtomics);
+
+    /**
+     * Hands back events retained by completed runs once they have been read, for
+     * example the events of the profiles of a task-graph. They are released at
+     * the next flush or synchronisation of the device.
+     */
+    void releaseEvents(int[] localEventIDs);
 }
@@ -124,14 +124,20 @@ public class TornadoOptions {
      */
     public static final String PRINT_SOURCE_DIRECTORY = getProperty("tornado.print.kernel.dir", "");
     /**
-     * Once the internal buffers storing events are full, it will start to circulate
-     * old events and overwrite them with new ones. Default is True.
+     * Once the event pool of a device holds tornado.eventpool.size events, it
+     * recycles the oldest events that are not retained. If disabled, the pool
+     * keeps growing instead. Default is True.
      */
     public static final boolean CIRCULAR_EVENTS = Boolean.parseBoolean(getProperty("tornado.circularevents", TRUE));
     /**
      * Sets the array memory alignment for PTX devices. Default is 128 bytes.
      */
     public static final int PTX_ARRAY_ALIGNMENT = Integer.parseInt(getProperty("tornado.ptx.array.align", "128"));
+    /**
+     * Replays repeated sequences of kernel launches on PTX devices as CUDA
+     * graphs, updating only the kernel parameters that changed. Default is False.
+     */
+    public static final boolean PTX_CUDA_GRAPHS = getBooleanValue("tornado.ptx.cudagraphs", FALSE);
     /**
      * Sets the array memory alignment for OpenCL devices. Default is 128 bytes.
      */
@@ -140,6 +146,31 @@ public class TornadoOptions {
      * Sets the array memory alignment for SPIRV devices. Default is 128 bytes.
      */
     public static final int SPIRV_ARRAY_ALIGNMENT = Integer.parseInt(getProperty("tornado.spirv.array.align", "128"));
+    /**
+     * Allocates {@code ImageFloat}, {@code ImageFloat4} and {@code ImageByte4}
+     * task parameters as OpenCL image objects, so that kernels access them
+     * through the texture path (read_imagef/write_imagef, hardware clamping and
+     * bilinear filtering). Only used on devices with image support. Kernels that
+     * access an image with other methods than get(x, y), set(x, y, value),
+     * sample(x, y), X() and Y(), or that read and write the same image, bail out
+     * and run on the host. Default is False.
+     */
+    public static final boolean OPENCL_USE_IMAGES = getBooleanValue("tornado.opencl.images", FALSE);
+    /**
+     * Loads the OpenCL JNI layer against the TornadoVM host platform instead of
+     * the system ICD loader. The host platform exposes the CPU cores as an
+     * OpenCL device and compiles the generated kernels with the system C++
+     * compiler. Default is False.
+     */
+    public static final boolean OPENCL_HOST_PLATFORM = getBooleanValue("tornado.opencl.host", FALSE);
+    /**
+     * Number of in-order command queues created per OpenCL device, between 1
+     * and 3. Kernels run on the first queue, and transfers on the others, so
+     * that copies can overlap with compute. Commands on different queues are
+     * ordered through OpenCL events. Ignored when out-of-order execution is
+     * enabled. Default is 1.
+     */
+    public static final int OPENCL_NUM_QUEUES = Integer.parseInt(getProperty("tornado.opencl.queues", "1"));
     /**
      * Enables OpenCL code generation based on a virtual device. Default is False.
      */
@@ -167,6 +198,20 @@ public class TornadoOptions {
      */
     public static final boolean RECOVER_BAILOUT = getBooleanValue("tornado.recover.bailout", TRUE);
 
+    /**
+     * Runs the Java version of tasks (after a bailout, or as the host candidate
+     * of the dynamic reconfiguration) on multiple threads, splitting the
+     * outermost parallel loop across a ForkJoinPool. Tasks that cannot be split
+     * run sequentially. False by default.
+     */
+    public static final boolean JAVA_PARALLEL_FALLBACK = getBooleanValue("tornado.java.parallel", FALSE);
+
+    /**
+     * Number of threads used by {@link #JAVA_PARALLEL_FALLBACK}. Default is the
+     * number of available processors.
+     */
+    public static final int JAVA_PARALLEL_THREADS = getIntValue("tornado.java.threads", Integer.toString(Runtime.getRuntime().availableProcessors()));
+
     /**
      * Option to log the IP of the current machine on the profiler logs.
      */
@@ -180,6 +225,22 @@ public class TornadoOptions {
      * Sets the number of threads for the Tornado Sketcher. Default is 4.
      */
     public static final int TORNADO_SKETCHER_THREADS = Integer.parseInt(getProperty("tornado.sketcher.threads", "4"));
+    /**
+     * Compiles the tasks of a task-graph concurrently, for their target devices,
+     * when the task-graph is warmed up or executed for the first time. Default is
+     * False.
+     */
+    public static final boolean PARALLEL_COMPILATION = getBooleanValue("tornado.compiler.parallel", FALSE);
+    /**
+     * Sets the number of threads that compile tasks in parallel. Default is 4.
+     */
+    public static final int TORNADO_COMPILER_THREADS = Integer.parseInt(getProperty("tornado.compiler.threads", "4"));
+    /**
+     * Runs task-graphs on the host, as after a bailout, while their kernels are
+     * compiled in a background thread. Executions switch to the device once the
+     * compilation has finished. Default is False.
+     */
+    public static final boolean BACKGROUND_COMPILATION = getBooleanValue("tornado.compiler.background", FALSE);
     /**
      * It enables automatic discovery and parallelization of loops. Please note that
      * this option is experimental and may cause issues if enabled.
@@ -207,6 +268,13 @@ public class TornadoOptions {
      * Select Shared Memory allocator for SPIRV-Level Zero implementation.
      */
     public static final boolean LEVEL_ZERO_SHARED_MEMORY = getBooleanValue("tornado.spirv.levelzero.memoryAlloc.shared", FALSE);
+
+    /**
+     * Store every generated SPIR-V module in java.io.tmpdir/tornadoVM-spirv. By
+     * default, modules are passed to Level Zero from memory.
+     */
+    public static final boolean SPIRV_DUMP_BINARY = getBooleanValue("tornado.spirv.dump", FALSE);
+
     /**
      * Use return as a common label and insert the instruction before function
      * ending.
@@ -242,6 +310,12 @@ public class TornadoOptions {
      * registers. Experimental Feature.
      */
     public static final boolean OPTIMIZE_LOAD_STORE_SPIRV = getBooleanValue("tornado.spirv.loadstore", TRUE);
+    /**
+     * Optimizes the SPIR-V binary of each compilation unit before it is passed to
+     * the driver: constant deduplication, promotion of function variables to SSA
+     * values (mem2reg) and dead-code elimination. Experimental Feature. False by default.
+     */
+    public static final boolean OPTIMIZE_SPIRV_BINARY = getBooleanValue("tornado.spirv.optimize", FALSE);
     /**
      * Use Level Zero Thread Suggestions for the Thread Dispatcher. True by default.
      */
@@ -266,6 +340,27 @@ public class TornadoOptions {
      */
     public static final boolean ENABLE_STREAM_OUT_BLOCKING = getBooleanValue("tornado.enable.streamOut.blocking", FALSE);
 
+    /**
+     * It enables the automatic vectorization of unit-stride 1D parallel loops into
+     * vector loads and stores (OpenCL backend). The vector width is selected from
+     * the preferred vector width of the device, and the remaining iterations run
+     * in a scalar epilogue. False by default.
+     */
+    public static final boolean AUTO_VECTORIZATION = getBooleanValue("tornado.vectorize.auto", FALSE);
+
+    /**
+     * It fuses consecutive element-wise tasks of a task-graph that run over the
+     * same iteration space into a single kernel. False by default.
+     */
+    public static final boolean TASK_FUSION = getBooleanValue("tornado.fusion", FALSE);
+
+    /**
+     * It uses subgroup (warp) reductions in the GPU reduction snippets, so only one
+     * value per subgroup goes through local memory. Used when the device supports
+     * subgroups. False by default.
+     */
+    public static final boolean SUBGROUP_REDUCTIONS = getBooleanValue("tornado.reduce.subgroups", FALSE);
+
     /**
      * Option to load FPGA pre-compiled binaries.
      */
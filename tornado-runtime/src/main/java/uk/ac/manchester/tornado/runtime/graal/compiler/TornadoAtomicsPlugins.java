@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.graal.compiler;
+
+import java.lang.reflect.Array;
+
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderContext;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin.Receiver;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins.Registration;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.collections.math.TornadoAtomics;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode.AtomicOperation;
+
+/**
+ * Invocation plugins that replace the methods of {@link TornadoAtomics} and the
+ * atomic methods of {@link KernelContext} with an {@link AtomicIndexedNode}.
+ * The plugins are shared by all backends.
+ */
+public final class TornadoAtomicsPlugins {
+
+    private static final JavaKind[] KINDS = { JavaKind.Int, JavaKind.Long, JavaKind.Float, JavaKind.Double };
+
+    private TornadoAtomicsPlugins() {
+    }
+
+    public static void registerPlugins(InvocationPlugins plugins) {
+        Registration staticRegistration = new Registration(plugins, TornadoAtomics.class);
+        Registration contextRegistration = new Registration(plugins, KernelContext.class);
+        for (JavaKind kind : KINDS) {
+            for (AtomicOperation operation : AtomicOperation.values()) {
+                if (isSupported(operation, kind)) {
+                    registerStaticPlugin(staticRegistration, operation, kind);
+                    registerKernelContextPlugin(contextRegistration, operation, kind);
+                }
+            }
+        }
+    }
+
+    private static boolean isSupported(AtomicOperation operation, JavaKind kind) {
+        switch (operation) {
+            case AND:
+            case OR:
+            case XOR:
+                return kind.isNumericInteger();
+            default:
+                return true;
+        }
+    }
+
+    private static String methodName(AtomicOperation operation) {
+        switch (operation) {
+            case ADD:
+                return "atomicAdd";
+            case SUB:
+                return "atomicSub";
+            case MIN:
+                return "atomicMin";
+            case MAX:
+                return "atomicMax";
+            case AND:
+                return "atomicAnd";
+            case OR:
+                return "atomicOr";
+            case XOR:
+                return "atomicXor";
+            case EXCHANGE:
+                return "atomicExchange";
+            case COMPARE_EXCHANGE:
+                return "atomicCompareAndExchange";
+            default:
+                throw new IllegalArgumentException("Atomic operation not supported: " + operation);
+        }
+    }
+
+    private static Class<?> arrayClass(JavaKind kind) {
+        return Array.newInstance(kind.toJavaClass(), 0).getClass();
+    }
+
+    private static void registerStaticPlugin(Registration r, AtomicOperation operation, JavaKind kind) {
+        final Class<?> type = kind.toJavaClass();
+        if (operation == AtomicOperation.COMPARE_EXCHANGE) {
+            r.register(new InvocationPlugin(methodName(operation), arrayClass(kind), int.class, type, type) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode array, ValueNode index, ValueNode expected, ValueNode value) {
+                    return pushAtomic(b, operation, kind, array, index, value, expected);
+                }
+            });
+        } else {
+            r.register(new InvocationPlugin(methodName(operation), arrayClass(kind), int.class, type) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode array, ValueNode index, ValueNode value) {
+                    return pushAtomic(b, operation, kind, array, index, value, null);
+                }
+            });
+        }
+    }
+
+    private static void registerKernelContextPlugin(Registration r, AtomicOperation operation, JavaKind kind) {
+        final Class<?> type = kind.toJavaClass();
+        if (operation == AtomicOperation.COMPARE_EXCHANGE) {
+            r.register(new InvocationPlugin(methodName(operation), Receiver.class, arrayClass(kind), int.class, type, type) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode array, ValueNode index, ValueNode expected, ValueNode value) {
+                    return pushAtomic(b, operation, kind, array, index, value, expected);
+                }
+            });
+        } else {
+            r.register(new InvocationPlugin(methodName(operation), Receiver.class, arrayClass(kind), int.class, type) {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode array, ValueNode index, ValueNode value) {
+                    return pushAtomic(b, operation, kind, array, index, value, null);
+                }
+            });
+        }
+    }
+
+    private static boolean pushAtomic(GraphBuilderContext b, AtomicOperation operation, JavaKind kind, ValueNode array, ValueNode index, ValueNode value, ValueNode expected) {
+        b.addPush(kind, new AtomicIndexedNode(array, index, kind, operation, value, expected));
+        return true;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.graal.compiler;
+
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderContext;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin.Receiver;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins.Registration;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.collections.math.TornadoSubGroups;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.SubGroupNode.SubGroupOperation;
+
+/**
+ * Invocation plugins that replace the methods of {@link TornadoSubGroups} and
+ * the subgroup methods of {@link KernelContext} with a {@link SubGroupNode}.
+ * The plugins are shared by all backends. The static methods of
+ * {@link TornadoSubGroups} can also be used from snippets.
+ */
+public final class TornadoSubGroupPlugins {
+
+    private static final JavaKind[] VALUE_KINDS = { JavaKind.Int, JavaKind.Float };
+
+    private TornadoSubGroupPlugins() {
+    }
+
+    public static void registerPlugins(InvocationPlugins plugins) {
+        Registration staticRegistration = new Registration(plugins, TornadoSubGroups.class);
+        Registration contextRegistration = new Registration(plugins, KernelContext.class);
+        for (SubGroupOperation operation : SubGroupOperation.values()) {
+            switch (operation.getNumInputs()) {
+                case 0:
+                    registerQuery(staticRegistration, contextRegistration, operation);
+                    break;
+                case 1:
+                    if (isVote(operation)) {
+                        registerVote(staticRegistration, contextRegistration, operation);
+                    } else {
+                        for (JavaKind kind : VALUE_KINDS) {
+                            registerUnary(staticRegistration, contextRegistration, operation, kind);
+                        }
+                    }
+                    break;
+                default:
+                    for (JavaKind kind : VALUE_KINDS) {
+                        registerBinary(staticRegistration, contextRegistration, operation, kind);
+                    }
+                    break;
+            }
+        }
+    }
+
+    private static boolean isVote(SubGroupOperation operation) {
+        return operation == SubGroupOperation.ANY || operation == SubGroupOperation.ALL || operation == SubGroupOperation.BALLOT;
+    }
+
+    private static String methodName(SubGroupOperation operation) {
+        switch (operation) {
+            case SIZE:
+                return "getSubGroupSize";
+            case LOCAL_ID:
+                return "getSubGroupLocalId";
+            case ID:
+                return "getSubGroupId";
+            case NUM_SUB_GROUPS:
+                return "getNumSubGroups";
+            case SHUFFLE:
+                return "subGroupShuffle";
+            case SHUFFLE_XOR:
+                return "subGroupShuffleXor";
+            case BROADCAST:
+                return "subGroupBroadcast";
+            case ANY:
+                return "subGroupAny";
+            case ALL:
+                return "subGroupAll";
+            case BALLOT:
+                return "subGroupBallot";
+            case REDUCE_ADD:
+                return "subGroupReduceAdd";
+            case REDUCE_MIN:
+                return "subGroupReduceMin";
+            case REDUCE_MAX:
+                return "subGroupReduceMax";
+            case INCLUSIVE_SCAN_ADD:
+                return "subGroupInclusiveScanAdd";
+            case EXCLUSIVE_SCAN_ADD:
+                return "subGroupExclusiveScanAdd";
+            default:
+                throw new IllegalArgumentException("Subgroup operation not supported: " + operation);
+        }
+    }
+
+    private static void registerQuery(Registration staticRegistration, Registration contextRegistration, SubGroupOperation operation) {
+        staticRegistration.register(new InvocationPlugin(methodName(operation)) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                return pushSubGroup(b, JavaKind.Int, operation, null, null);
+            }
+        });
+        contextRegistration.register(new InvocationPlugin(methodName(operation), Receiver.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+                return pushSubGroup(b, JavaKind.Int, operation, null, null);
+            }
+        });
+    }
+
+    private static void registerVote(Registration staticRegistration, Registration contextRegistration, SubGroupOperation operation) {
+        final JavaKind resultKind = (operation == SubGroupOperation.BALLOT) ? JavaKind.Int : JavaKind.Boolean;
+        staticRegistration.register(new InvocationPlugin(methodName(operation), boolean.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode predicate) {
+                return pushSubGroup(b, resultKind, operation, predicate, null);
+            }
+        });
+        contextRegistration.register(new InvocationPlugin(methodName(operation), Receiver.class, boolean.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode predicate) {
+                return pushSubGroup(b, resultKind, operation, predicate, null);
+            }
+        });
+    }
+
+    private static void registerUnary(Registration staticRegistration, Registration contextRegistration, SubGroupOperation operation, JavaKind kind) {
+        final Class<?> type = kind.toJavaClass();
+        staticRegistration.register(new InvocationPlugin(methodName(operation), type) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                return pushSubGroup(b, kind, operation, value, null);
+            }
+        });
+        contextRegistration.register(new InvocationPlugin(methodName(operation), Receiver.class, type) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value) {
+                return pushSubGroup(b, kind, operation, value, null);
+            }
+        });
+    }
+
+    private static void registerBinary(Registration staticRegistration, Registration contextRegistration, SubGroupOperation operation, JavaKind kind) {
+        final Class<?> type = kind.toJavaClass();
+        staticRegistration.register(new InvocationPlugin(methodName(operation), type, int.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value, ValueNode lane) {
+                return pushSubGroup(b, kind, operation, value, lane);
+            }
+        });
+        contextRegistration.register(new InvocationPlugin(methodName(operation), Receiver.class, type, int.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode value, ValueNode lane) {
+                return pushSubGroup(b, kind, operation, value, lane);
+            }
+        });
+    }
+
+    private static boolean pushSubGroup(GraphBuilderContext b, JavaKind kind, SubGroupOperation operation, ValueNode value, ValueNode lane) {
+        b.addPush(kind, new SubGroupNode(kind, operation, value, lane));
+        return true;
+    }
+}
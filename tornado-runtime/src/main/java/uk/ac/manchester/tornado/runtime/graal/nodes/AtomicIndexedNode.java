@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.graal.nodes;
+
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.NamedLocationIdentity;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.java.AccessIndexedNode;
+import org.graalvm.compiler.nodes.memory.SingleMemoryKill;
+import org.graalvm.compiler.nodes.spi.Lowerable;
+import org.graalvm.word.LocationIdentity;
+
+import jdk.vm.ci.meta.JavaKind;
+
+/**
+ * Atomic read-modify-write of an array element. The node evaluates to the
+ * value of the element before the update. Each backend lowers it into a node
+ * that receives the address of the element.
+ */
+@NodeInfo(nameTemplate = "Atomic{p#operation/s}")
+public class AtomicIndexedNode extends AccessIndexedNode implements Lowerable, SingleMemoryKill {
+
+    public static final NodeClass<AtomicIndexedNode> TYPE = NodeClass.create(AtomicIndexedNode.class);
+
+    public enum AtomicOperation {
+        ADD, //
+        SUB, //
+        MIN, //
+        MAX, //
+        AND, //
+        OR, //
+        XOR, //
+        EXCHANGE, //
+        COMPARE_EXCHANGE
+    }
+
+    @Input ValueNode value;
+    @OptionalInput ValueNode expected;
+
+    protected final AtomicOperation operation;
+
+    public AtomicIndexedNode(ValueNode array, ValueNode index, JavaKind elementKind, AtomicOperation operation, ValueNode value, ValueNode expected) {
+        super(TYPE, StampFactory.forKind(elementKind), array, index, null, elementKind);
+        this.operation = operation;
+        this.value = value;
+        this.expected = expected;
+    }
+
+    public AtomicOperation getOperation() {
+        return operation;
+    }
+
+    public ValueNode value() {
+        return value;
+    }
+
+    /**
+     * @return the value compared with the element for
+     *         {@link AtomicOperation#COMPARE_EXCHANGE}, {@code null} otherwise.
+     */
+    public ValueNode expected() {
+        return expected;
+    }
+
+    @Override
+    public LocationIdentity getKilledLocationIdentity() {
+        return NamedLocationIdentity.getArrayLocation(elementKind());
+    }
+}
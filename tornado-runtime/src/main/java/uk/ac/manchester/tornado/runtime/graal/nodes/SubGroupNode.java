@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.graal.nodes;
+
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.Lowerable;
+
+import jdk.vm.ci.meta.JavaKind;
+
+/**
+ * Operation over the threads of a subgroup (warp). The node is fixed because
+ * subgroup operations are convergent: they must not be moved across control
+ * flow. Each backend lowers it into a node that emits the subgroup built-in of
+ * the device.
+ */
+@NodeInfo(nameTemplate = "SubGroup{p#operation/s}")
+public class SubGroupNode extends FixedWithNextNode implements Lowerable {
+
+    public static final NodeClass<SubGroupNode> TYPE = NodeClass.create(SubGroupNode.class);
+
+    public enum SubGroupOperation {
+        SIZE(0), //
+        LOCAL_ID(0), //
+        ID(0), //
+        NUM_SUB_GROUPS(0), //
+        SHUFFLE(2), //
+        SHUFFLE_XOR(2), //
+        BROADCAST(2), //
+        ANY(1), //
+        ALL(1), //
+        BALLOT(1), //
+        REDUCE_ADD(1), //
+        REDUCE_MIN(1), //
+        REDUCE_MAX(1), //
+        INCLUSIVE_SCAN_ADD(1), //
+        EXCLUSIVE_SCAN_ADD(1);
+
+        private final int numInputs;
+
+        SubGroupOperation(int numInputs) {
+            this.numInputs = numInputs;
+        }
+
+        public int getNumInputs() {
+            return numInputs;
+        }
+    }
+
+    @OptionalInput ValueNode value;
+    @OptionalInput ValueNode lane;
+
+    protected final SubGroupOperation operation;
+
+    public SubGroupNode(JavaKind kind, SubGroupOperation operation, ValueNode value, ValueNode lane) {
+        super(TYPE, StampFactory.forKind(kind));
+        this.operation = operation;
+        this.value = value;
+        this.lane = lane;
+    }
+
+    public SubGroupOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return the value or predicate provided by the thread, {@code null} for
+     *         the size and id queries.
+     */
+    public ValueNode value() {
+        return value;
+    }
+
+    /**
+     * @return the source lane of a shuffle or broadcast, or the mask of a
+     *         shuffle-xor; {@code null} otherwise.
+     */
+    public ValueNode lane() {
+        return lane;
+    }
+}
@@ -27,6 +27,7 @@ import static uk.ac.manchester.tornado.runtime.common.Tornado.TORNADO_LOOPS_REVE
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -48,6 +49,7 @@ import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoCompilationException;
 import uk.ac.manchester.tornado.runtime.ASMClassVisitorProvider;
+import uk.ac.manchester.tornado.runtime.analyzer.TaskFusion;
 import uk.ac.manchester.tornado.runtime.common.ParallelAnnotationProvider;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelOffsetNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
@@ -115,6 +117,8 @@ public class TornadoApiReplacement extends BasePhase<TornadoSketchTierContext> {
             final LoopsData data = new TornadoLoopsData(graph);
             data.detectCountedLoops();
             int loopIndex = 0;
+            final boolean fusedKernel = TaskFusion.isFusedMethod(context.getMethod());
+            final List<LoopEx> parallelLoops = new ArrayList<>();
             final List<LoopEx> loops = data.outerFirst();
             if (TORNADO_LOOPS_REVERSE) {
                 Collections.reverse(loops);
@@ -132,14 +136,37 @@ public class TornadoApiReplacement extends BasePhase<TornadoSketchTierContext> {
 
                     maxIterations = lessThan.getY();
 
-                    parallelizationReplacement(graph, iv, loopIndex, maxIterations, conditions);
+                    // The loops of each task in a fused kernel share the same
+                    // dimensions, so every loop nest is numbered from zero
+                    int index = fusedKernel ? getNestedParallelLoops(loop, parallelLoops) : loopIndex;
+                    parallelizationReplacement(graph, iv, index, maxIterations, conditions);
 
+                    parallelLoops.add(loop);
                     loopIndex++;
                 }
             }
         }
     }
 
+    private static boolean isAncestor(LoopEx ancestor, LoopEx loop) {
+        for (LoopEx parent = loop.parent(); parent != null; parent = parent.parent()) {
+            if (parent == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int getNestedParallelLoops(LoopEx loop, List<LoopEx> parallelLoops) {
+        int count = 0;
+        for (LoopEx parallelLoop : parallelLoops) {
+            if (isAncestor(parallelLoop, loop) || isAncestor(loop, parallelLoop)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     private void parallelizationReplacement(StructuredGraph graph, InductionVariable inductionVar, int loopIndex, ValueNode maxIterations, List<IntegerLessThanNode> conditions)
             throws TornadoCompilationException {
         if (inductionVar.isConstantInit() && inductionVar.isConstantStride()) {
@@ -53,6 +53,7 @@ import org.graalvm.compiler.phases.BasePhase;
 import jdk.vm.ci.meta.Constant;
 import jdk.vm.ci.meta.MetaAccessProvider;
 import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AtomicIndexedNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelStrideNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
@@ -228,6 +229,10 @@ public class TornadoDataflowAnalysis extends BasePhase<TornadoSketchTierContext>
                 isReadField = true;
             } else if (currentNode instanceof MarkVectorStore) {
                 isWritten = true;
+            } else if (currentNode instanceof AtomicIndexedNode) {
+                // Atomic updates read and write the array element
+                isRead = true;
+                isWritten = true;
             } else if (isNodeFromKnownObject(currentNode)) {
                 // All known objects are passed by reference -> R/W (e.g., Atomics)
                 isRead = true;
@@ -75,6 +75,11 @@ public class TornadoExecutionContext {
 
     private TornadoProfiler profiler;
 
+    private int loopIterations;
+    private int[] loopFlag;
+    private int loopCheckInterval;
+    private List<Object[]> pingPongPairs;
+
     public TornadoExecutionContext(String id, TornadoProfiler profiler) {
         name = id;
         meta = new ScheduleMetaData(name);
@@ -89,6 +94,7 @@ public class TornadoExecutionContext {
         Arrays.fill(taskToDevice, -1);
         nextTask = 0;
         lastDevices = new HashSet<>();
+        pingPongPairs = new ArrayList<>();
         this.profiler = profiler;
     }
 
@@ -168,6 +174,15 @@ public class TornadoExecutionContext {
         tasks.set(index, task);
     }
 
+    /**
+     * Removes all tasks, so the task-graph can be rebuilt (e.g., after task
+     * fusion). Objects and their states are kept.
+     */
+    public void clearTasks() {
+        tasks.clear();
+        nextTask = 0;
+    }
+
     public List<Object> getConstants() {
         return constants;
     }
@@ -401,6 +416,48 @@ public class TornadoExecutionContext {
         return defaultScheduler;
     }
 
+    /**
+     * Repeats the whole task-graph inside the TornadoVM interpreter.
+     *
+     * @param maxIterations
+     *            Number of iterations, or the upper bound when a flag is used.
+     * @param flag
+     *            Convergence flag ({@code null} for a fixed number of
+     *            iterations). The loop stops when {@code flag[0]} is 0 after a
+     *            checked iteration.
+     * @param checkInterval
+     *            Number of iterations between two reads of the flag.
+     */
+    public void setLoop(int maxIterations, int[] flag, int checkInterval) {
+        this.loopIterations = maxIterations;
+        this.loopFlag = flag;
+        this.loopCheckInterval = checkInterval;
+    }
+
+    public boolean hasLoop() {
+        return loopIterations > 0;
+    }
+
+    public int getLoopIterations() {
+        return loopIterations;
+    }
+
+    public int[] getLoopFlag() {
+        return loopFlag;
+    }
+
+    public int getLoopCheckInterval() {
+        return loopCheckInterval;
+    }
+
+    public void addPingPong(Object first, Object second) {
+        pingPongPairs.add(new Object[] { first, second });
+    }
+
+    public List<Object[]> getPingPongPairs() {
+        return pingPongPairs;
+    }
+
     public void createImmutableExecutionContext(TornadoExecutionContext executionContext) {
 
         List<SchedulableTask> schedulableTasksCopy = new ArrayList<>(tasks);
@@ -428,5 +485,10 @@ public class TornadoExecutionContext {
 
         executionContext.profiler = this.profiler;
         executionContext.nextTask = this.nextTask;
+
+        executionContext.loopIterations = this.loopIterations;
+        executionContext.loopFlag = this.loopFlag;
+        executionContext.loopCheckInterval = this.loopCheckInterval;
+        executionContext.pingPongPairs = new ArrayList<>(pingPongPairs);
     }
 }
@@ -203,7 +203,22 @@ public class TornadoGraphAssembler {
          *     DEALLOC(obj,dest)
          * </code>
          */
-        DEALLOC((byte) 24);
+        DEALLOC((byte) 24),
+
+        /**
+         * Repeat the bytecodes between BEGIN and END inside the interpreter. The
+         * loop stops after maxIterations, or when the flag object (an int[]) is 0
+         * after a checked iteration. The flag is read back every checkInterval
+         * iterations. The buffers of each pair of objects are swapped after every
+         * iteration. It must follow the BEGIN bytecode.
+         *
+         * Format:
+         *
+         * <code>
+         *     LOOP(ctx, maxIterations, checkInterval, flag, numPairs, [first, second]*)
+         * </code>
+         */
+        LOOP((byte) 25);
 
         private final byte value;
 
@@ -239,6 +254,19 @@ public class TornadoGraphAssembler {
         buffer.put(TornadoVMBytecode.END.value);
     }
 
+    void loop(int ctx, int maxIterations, int checkInterval, int flag, int[][] pairs) {
+        buffer.put(TornadoVMBytecode.LOOP.value);
+        buffer.putInt(ctx);
+        buffer.putInt(maxIterations);
+        buffer.putInt(checkInterval);
+        buffer.putInt(flag);
+        buffer.putInt(pairs.length);
+        for (int[] pair : pairs) {
+            buffer.putInt(pair[0]);
+            buffer.putInt(pair[1]);
+        }
+    }
+
     void setup(int numContexts, int numStacks, int numDeps) {
         buffer.put(TornadoVMBytecode.INIT.value);
         buffer.putInt(numContexts);
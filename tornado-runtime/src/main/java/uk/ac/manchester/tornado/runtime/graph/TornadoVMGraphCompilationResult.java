@@ -60,6 +60,10 @@ public class TornadoVMGraphCompilationResult {
         bitcodeASM.begin();
     }
 
+    public void loop(int contextID, int maxIterations, int checkInterval, int flag, int[][] pairs) {
+        bitcodeASM.loop(contextID, maxIterations, checkInterval, flag, pairs);
+    }
+
     public void barrier(int dep) {
         bitcodeASM.barrier(dep);
     }
@@ -170,6 +170,13 @@ public class TornadoVMGraphCompiler {
         // Generate Context + BEGIN bytecode
         result.begin(1, tasks.cardinality(), numDepLists + 1);
 
+        if (context.hasLoop()) {
+            if (batchSize != -1) {
+                throw new TornadoRuntimeException("[UNSUPPORTED] Task-graph loops cannot be combined with batch processing");
+            }
+            emitLoop(result, graph, tasks, nodeIds, context);
+        }
+
         BatchSizeMetaData sizeBatch = null;
         if (batchSize != -1) {
             sizeBatch = computeChunkSizes(context, batchSize);
@@ -210,6 +217,45 @@ public class TornadoVMGraphCompiler {
         return result;
     }
 
+    private static void emitLoop(TornadoVMGraphCompilationResult result, TornadoGraph graph, BitSet tasks, int[] nodeIds, TornadoExecutionContext context) {
+        int deviceIndex = -1;
+        for (int i = tasks.nextSetBit(0); i != -1; i = tasks.nextSetBit(i + 1)) {
+            int taskDevice = ((TaskNode) graph.getNode(nodeIds[i])).getContext().getDeviceIndex();
+            if (deviceIndex != -1 && taskDevice != deviceIndex) {
+                throw new TornadoRuntimeException("[UNSUPPORTED] Task-graph loops require all tasks on the same device");
+            }
+            deviceIndex = taskDevice;
+        }
+
+        int flagIndex = -1;
+        if (context.getLoopFlag() != null) {
+            flagIndex = findObjectIndex(context, context.getLoopFlag());
+        }
+
+        List<Object[]> pingPongPairs = context.getPingPongPairs();
+        int[][] pairs = new int[pingPongPairs.size()][];
+        for (int i = 0; i < pairs.length; i++) {
+            Object first = pingPongPairs.get(i)[0];
+            Object second = pingPongPairs.get(i)[1];
+            if (!first.getClass().isArray() || first.getClass() != second.getClass() || Array.getLength(first) != Array.getLength(second)) {
+                throw new TornadoRuntimeException("[UNSUPPORTED] Ping-pong objects must be arrays of the same type and length");
+            }
+            pairs[i] = new int[] { findObjectIndex(context, first), findObjectIndex(context, second) };
+        }
+
+        result.loop(deviceIndex, context.getLoopIterations(), context.getLoopCheckInterval(), flagIndex, pairs);
+    }
+
+    private static int findObjectIndex(TornadoExecutionContext context, Object object) {
+        List<Object> objects = context.getObjects();
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i) == object) {
+                return i;
+            }
+        }
+        throw new TornadoRuntimeException("Object used by the task-graph loop is not a task parameter: " + object);
+    }
+
     private static void synchronizeOperationLastByteCode(TornadoVMGraphCompilationResult result, int numDepLists) {
         final byte[] code = result.getCode();
         final int codeSize = result.getCodeSize();
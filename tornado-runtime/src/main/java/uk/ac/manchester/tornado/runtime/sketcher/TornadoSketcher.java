@@ -69,6 +69,8 @@ import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.runtime.analyzer.TaskFusion;
+import uk.ac.manchester.tornado.runtime.analyzer.TaskFusion.FusedKernel;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoCompilerIdentifier;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSketchTier;
@@ -244,6 +246,17 @@ public class TornadoSketcher {
                 mergeAccesses(methodAccesses, invoke.callTarget(), sketch.getArgumentsAccess());
             });
 
+            FusedKernel fusedKernel = TaskFusion.getFusedKernel(resolvedMethod);
+            if (fusedKernel != null) {
+                // The accesses of a fused kernel follow the order of its tasks
+                List<Access[]> taskAccesses = new ArrayList<>();
+                for (ResolvedJavaMethod taskMethod : fusedKernel.getMethods()) {
+                    buildSketch(new SketchRequest(taskMethod, providers, graphBuilderSuite, sketchTier, driverIndex, deviceIndex));
+                    taskAccesses.add(lookup(taskMethod, driverIndex, deviceIndex).getArgumentsAccess());
+                }
+                TaskFusion.composeAccesses(fusedKernel, taskAccesses, methodAccesses);
+            }
+
             return new Sketch(CachedGraph.fromReadonlyCopy(graph), methodAccesses);
 
         } catch (Throwable e) {
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+
+import uk.ac.manchester.tornado.runtime.tasks.meta.ScheduleMetaData;
+
+/**
+ * Task that runs several consecutive tasks of a task-graph as a single kernel.
+ * The method of this task is generated by
+ * {@link uk.ac.manchester.tornado.runtime.analyzer.TaskFusion} and invokes the
+ * method of each fused task in order. The task keeps the id of the first task.
+ */
+public class FusedTask extends CompilableTask {
+
+    private final List<CompilableTask> tasks;
+
+    public FusedTask(ScheduleMetaData meta, String id, Method method, List<CompilableTask> tasks, Object... args) {
+        super(meta, id, method, args);
+        this.tasks = Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * @return the original tasks, in execution order.
+     */
+    public List<CompilableTask> getTasks() {
+        return tasks;
+    }
+
+    @Override
+    public String getFullName() {
+        StringBuilder sb = new StringBuilder("task " + meta.getId() + " - fused(");
+        for (int i = 0; i < tasks.size(); i++) {
+            sb.append(i == 0 ? "" : ", ").append(tasks.get(i).getTaskName());
+        }
+        return sb.append(")").toString();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009-2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import static uk.ac.manchester.tornado.runtime.common.Tornado.debug;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.common.TaskPackage;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.runtime.ASMClassVisitorProvider;
+import uk.ac.manchester.tornado.runtime.analyzer.TaskUtils;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Runs tasks on the host with multiple threads when they fall back to Java
+ * (bailouts and the Java candidate of the dynamic reconfiguration). The
+ * outermost {@code @Parallel} loop of the task is split into one contiguous
+ * block of iterations per thread of a {@link ForkJoinPool}.
+ *
+ * <p>
+ * The split copy of the task is created by the annotation module (see
+ * {@link ASMClassVisitorProvider#splitParallelLoop(Method)}). It is first run
+ * without executing the loop body to obtain the trip count, and then once per
+ * block, starting directly at the first iteration of the block. Tasks with reductions, {@link KernelContext} tasks and methods that
+ * cannot be split return {@code false} and run sequentially.
+ * </p>
+ */
+final class JavaParallelExecutor {
+
+    private static final ConcurrentHashMap<Method, Optional<MethodHandle>> splitMethods = new ConcurrentHashMap<>();
+    private static final ASMClassVisitorProvider provider = ASMClassVisitorProvider.load();
+    private static ForkJoinPool pool;
+
+    private JavaParallelExecutor() {
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(TornadoOptions.JAVA_PARALLEL_THREADS);
+        }
+        return pool;
+    }
+
+    /**
+     * @return why the task cannot be split, or {@code null} if it can.
+     */
+    private static String unsupportedReason(Method method) {
+        if (provider == null) {
+            return "the annotation module is not available";
+        }
+        for (Class<?> type : method.getParameterTypes()) {
+            if (type == KernelContext.class) {
+                return "KernelContext tasks are not supported";
+            }
+        }
+        for (Annotation[] annotations : method.getParameterAnnotations()) {
+            for (Annotation annotation : annotations) {
+                if (annotation instanceof Reduce) {
+                    return "tasks with reductions are not supported";
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Optional<MethodHandle> split(Method method) {
+        String reason = unsupportedReason(method);
+        if (reason != null) {
+            debug("tornado.java.parallel: task %s runs sequentially on the host, %s", method.getName(), reason);
+            return Optional.empty();
+        }
+        // The annotation module logs why the loop cannot be split
+        return Optional.ofNullable(provider.splitParallelLoop(method));
+    }
+
+    private static void invoke(MethodHandle handle, Object[] arguments, int[] range) throws Throwable {
+        List<Object> values = new ArrayList<>(Arrays.asList(arguments));
+        values.add(range);
+        handle.invokeWithArguments(values);
+    }
+
+    /**
+     * @return {@code false} if the task has not been executed and has to run
+     *         sequentially.
+     */
+    static boolean execute(TaskPackage taskPackage) {
+        int threads = TornadoOptions.JAVA_PARALLEL_THREADS;
+        if (threads < 2) {
+            return false;
+        }
+        Object[] parameters = taskPackage.getTaskParameters();
+        Method method = TaskUtils.resolveMethodHandle(parameters[0]);
+        Optional<MethodHandle> handle = splitMethods.computeIfAbsent(method, JavaParallelExecutor::split);
+        if (!handle.isPresent()) {
+            return false;
+        }
+        Object[] arguments = Arrays.copyOfRange(parameters, 1, taskPackage.getTaskType() + 1);
+
+        try {
+            int[] count = { 0, Integer.MAX_VALUE, 0, 1 };
+            invoke(handle.get(), arguments, count);
+            int iterations = count[2];
+            if (iterations < 2) {
+                debug("tornado.java.parallel: task %s runs sequentially on the host, %d iteration(s)", method.getName(), iterations);
+                return false;
+            }
+
+            int blocks = Math.min(threads, iterations);
+            List<Future<?>> futures = new ArrayList<>(blocks);
+            for (int i = 0; i < blocks; i++) {
+                final int[] range = { (int) ((long) iterations * i / blocks), (int) ((long) iterations * (i + 1) / blocks), 0, 0 };
+                futures.add(getPool().submit(() -> {
+                    try {
+                        invoke(handle.get(), arguments, range);
+                    } catch (RuntimeException | Error e) {
+                        throw e;
+                    } catch (Throwable t) {
+                        throw new TornadoRuntimeException(String.valueOf(t));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new TornadoRuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TornadoRuntimeException(e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new TornadoRuntimeException(String.valueOf(t));
+        }
+        return true;
+    }
+}
@@ -35,12 +35,15 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
@@ -94,6 +97,7 @@ import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.TornadoVM;
 import uk.ac.manchester.tornado.runtime.analyzer.MetaReduceCodeAnalysis;
 import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis;
+import uk.ac.manchester.tornado.runtime.analyzer.TaskFusion;
 import uk.ac.manchester.tornado.runtime.analyzer.TaskUtils;
 import uk.ac.manchester.tornado.runtime.common.DeviceObjectState;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
@@ -142,7 +146,6 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private static final Pattern PATTERN_BATCH = Pattern.compile("(\\d+)(MB|mg|gb|GB)");
 
     private static ConcurrentHashMap<Integer, TaskGraph> globalTaskGraphIndex = new ConcurrentHashMap<>();
-    private static int baseGlobalIndex = 0;
     private static AtomicInteger offsetGlobalIndex = new AtomicInteger(0);
     MetaReduceCodeAnalysis analysisTaskGraph;
     private TornadoExecutionContext executionContext;
@@ -153,6 +156,8 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private boolean bailout = false;
     // One TornadoVM instance per TaskSchedule
     private TornadoVM vm;
+    private TornadoVM backgroundVM;
+    private FutureTask<Void> backgroundCompilation;
     private Map<TornadoAcceleratorDevice, TornadoVM> vmTable;
     private Event event;
     private String taskGraphName;
@@ -169,6 +174,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private ConcurrentHashMap<Integer, ArrayList<Object>> multiHeapManagerOutputs = new ConcurrentHashMap<>();
     private ConcurrentHashMap<Integer, ArrayList<Object>> multiHeapManagerInputs = new ConcurrentHashMap<>();
     private ConcurrentHashMap<Integer, TaskGraph> taskGraphIndex = new ConcurrentHashMap<>();
+    // First index of the global task-graph cache reserved for the last profiling
+    // run of this task-graph
+    private int globalIndexBase;
     private StringBuilder bufferLogProfiler = new StringBuilder();
     private CachedGraph<?> graph;
     /**
@@ -181,6 +189,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private boolean updateData;
     private boolean isFinished;
     private GridScheduler gridScheduler;
+    private TaskBytecodes lastTask;
+    private boolean fusedTasks;
+    private Set<Object> temporaries;
 
     /**
      * Task Schedule implementation that uses GPU/FPGA and multi-core backends.
@@ -434,6 +445,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
         tornadoTaskGraph.timeProfiler = this.timeProfiler;
         tornadoTaskGraph.gridScheduler = this.gridScheduler;
+        tornadoTaskGraph.lastTask = this.lastTask;
+        tornadoTaskGraph.fusedTasks = this.fusedTasks;
+        tornadoTaskGraph.temporaries = this.temporaries;
 
         // The graph object is used when rewriting task-graphs (e.g., reductions)
         tornadoTaskGraph.graph = this.graph;
@@ -514,10 +528,16 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     private void triggerRecompile() {
         // 1. Force to recompile the task-sketcher
-        int i = 0;
-        for (TaskPackage tp : taskPackages) {
-            updateTask(tp, i);
-            i++;
+        if (fusedTasks) {
+            // Fused tasks depend on the new parameters, so the task-graph is rebuilt
+            temporaries = null;
+            rebuildTasks();
+        } else {
+            int i = 0;
+            for (TaskPackage tp : taskPackages) {
+                updateTask(tp, i);
+                i++;
+            }
         }
 
         // 2. Clear the code cache of the TornadoVM instance
@@ -552,31 +572,74 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
     }
 
-    @Override
-    public void addInner(SchedulableTask task) {
+    private Sketch requestSketch(CompilableTask task) {
         int driverIndex = task.meta().getDriverIndex();
         Providers providers = TornadoCoreRuntime.getTornadoRuntime().getDriver(driverIndex).getProviders();
         TornadoSuitesProvider suites = TornadoCoreRuntime.getTornadoRuntime().getDriver(driverIndex).getSuitesProvider();
 
-        // logTaskMethodHandle(task);
+        final ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(task.getMethod());
+        final TaskMetaData taskMetaData = task.meta();
+        new SketchRequest(resolvedMethod, providers, suites.getGraphBuilderSuite(), suites.getSketchTier(), taskMetaData.getDriverIndex(), taskMetaData.getDeviceIndex()).run();
 
-        int index = executionContext.addTask(task);
+        return TornadoSketcher.lookup(resolvedMethod, taskMetaData.getDriverIndex(), taskMetaData.getDeviceIndex());
+    }
+
+    @Override
+    public void addInner(SchedulableTask task) {
+        // logTaskMethodHandle(task);
 
         if (task instanceof CompilableTask) {
-            CompilableTask compilableTask = (CompilableTask) task;
-            final ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(compilableTask.getMethod());
-            final TaskMetaData taskMetaData = compilableTask.meta();
-            new SketchRequest(resolvedMethod, providers, suites.getGraphBuilderSuite(), suites.getSketchTier(), taskMetaData.getDriverIndex(), taskMetaData.getDeviceIndex()).run();
+            this.graph = requestSketch((CompilableTask) task).getGraph();
+            if (TornadoOptions.TASK_FUSION && fuseWithLastTask((CompilableTask) task)) {
+                return;
+            }
+        }
+
+        int index = executionContext.addTask(task);
+        int globalTaskId = executionContext.getTaskCountAndIncrement();
+        lastTask = new TaskBytecodes(hlBuffer.position(), globalTaskId, index, task);
+        writeTaskBytecodes(globalTaskId, index, task);
+    }
 
-            Sketch lookup = TornadoSketcher.lookup(resolvedMethod, compilableTask.meta().getDriverIndex(), compilableTask.meta().getDeviceIndex());
-            this.graph = lookup.getGraph();
+    /**
+     * Tries to fuse the task with the last task added to the task-graph. If the
+     * tasks are fused, the bytecodes of the last task are replaced with the
+     * bytecodes of the fused task.
+     *
+     * @return true if the task has been fused.
+     */
+    private boolean fuseWithLastTask(CompilableTask task) {
+        if (lastTask == null || !(lastTask.task instanceof CompilableTask)) {
+            return false;
+        }
+        FusedTask fusedTask = TaskFusion.fuse(meta(), (CompilableTask) lastTask.task, task, temporaries);
+        if (fusedTask == null) {
+            return false;
         }
+        try {
+            Sketch sketch = requestSketch(fusedTask);
+            if (!TaskFusion.isValidFusedSketch(fusedTask, sketch)) {
+                return false;
+            }
+            this.graph = sketch.getGraph();
+        } catch (TornadoBailoutRuntimeException e) {
+            Tornado.debug("unable to fuse %s: %s", fusedTask.getFullName(), e.getMessage());
+            return false;
+        }
+
+        executionContext.setTask(lastTask.index, fusedTask);
+        hlBuffer.position(lastTask.bufferPosition);
+        writeTaskBytecodes(lastTask.globalTaskId, lastTask.index, fusedTask);
+        lastTask = new TaskBytecodes(lastTask.bufferPosition, lastTask.globalTaskId, lastTask.index, fusedTask);
+        fusedTasks = true;
+        return true;
+    }
 
+    private void writeTaskBytecodes(int globalTaskId, int taskIndex, SchedulableTask task) {
         // Prepare Initial Graph before the TornadoVM bytecode generation
         hlBuffer.put(TornadoGraphBitcodes.CONTEXT.index());
-        int globalTaskId = executionContext.getTaskCountAndIncrement();
         hlBuffer.putInt(globalTaskId);
-        hlBuffer.putInt(index);
+        hlBuffer.putInt(taskIndex);
 
         // create parameter list
         final Object[] args = task.getArguments();
@@ -584,7 +647,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         hlBuffer.putInt(args.length);
 
         for (final Object arg : args) {
-            index = executionContext.insertVariable(arg);
+            int index = executionContext.insertVariable(arg);
             if (arg.getClass().isPrimitive() || RuntimeUtilities.isBoxedPrimitiveClass(arg.getClass())) {
                 hlBuffer.put(TornadoGraphBitcodes.LOAD_PRIM.index());
             } else {
@@ -689,6 +752,13 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     private boolean compileToTornadoVMBytecode() {
         CompileInfo compileInfo = extractCompileInfo();
+        if (compileInfo.compile && fusedTasks && temporaries == null) {
+            // The transfers are known now, so the fused tasks can drop their temporaries
+            temporaries = findTemporaries();
+            if (!temporaries.isEmpty()) {
+                rebuildTasks();
+            }
+        }
         if (compileInfo.compile) {
             timeProfiler.start(ProfilerType.TOTAL_BYTE_CODE_GENERATION);
             executionContext.assignToDevices();
@@ -771,7 +841,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     private void dumpDeoptReason(TornadoBailoutRuntimeException e) {
         if (!Tornado.DEBUG) {
-            System.err.println(RED + "[Bailout] Running the sequential implementation. Enable --debug to see the reason." + RESET);
+            System.err.println(RED + "[Bailout] Running the Java implementation. Enable --debug to see the reason." + RESET);
         } else {
             System.err.println(e.getMessage());
             for (StackTraceElement s : e.getStackTrace()) {
@@ -786,16 +856,70 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         runAllTasksJavaSequential();
     }
 
+    /**
+     * Starts compiling the tasks of the current TornadoVM in a background thread,
+     * if it has not been started yet.
+     *
+     * @return true if the compilation has finished, false if it is still running.
+     */
+    private boolean isCompiledInBackground() {
+        if (backgroundVM != vm) {
+            backgroundVM = vm;
+            backgroundCompilation = new FutureTask<>(vm::compile, null);
+            Thread compilerThread = new Thread(backgroundCompilation, "TornadoBackgroundCompiler-" + getId());
+            compilerThread.setDaemon(true);
+            compilerThread.start();
+        }
+        if (!backgroundCompilation.isDone()) {
+            return false;
+        }
+        waitForBackgroundCompilation();
+        return true;
+    }
+
+    /**
+     * Waits for the background compilation of the current TornadoVM, if any, and
+     * rethrows its failure, so that it is handled as a bailout.
+     */
+    private void waitForBackgroundCompilation() {
+        if (backgroundVM != vm) {
+            return;
+        }
+        try {
+            backgroundCompilation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TornadoRuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new TornadoRuntimeException((Exception) cause);
+        }
+    }
+
     @Override
     public void scheduleInner() {
         boolean compile = compileToTornadoVMBytecode();
         TornadoAcceleratorDevice deviceForTask = executionContext.getDeviceForTask(0);
-        if (compile && deviceForTask.getDeviceContext().isPlatformFPGA()) {
+        boolean isFPGA = deviceForTask.getDeviceContext().isPlatformFPGA();
+        if (compile && isFPGA) {
             preCompilationForFPGA();
         }
 
         try {
-            event = vm.execute();
+            if (TornadoOptions.BACKGROUND_COMPILATION && !isFPGA && !isCompiledInBackground()) {
+                // The kernels are not ready yet: run the Java code on the host
+                if (Tornado.DEBUG) {
+                    System.out.println("[DEBUG] Background compilation in progress, running " + getId() + " on the host");
+                }
+                runAllTasksJavaSequential();
+            } else {
+                event = vm.execute();
+            }
             timeProfiler.stop(ProfilerType.TOTAL_TASK_GRAPH_TIME);
             updateProfiler();
         } catch (TornadoBailoutRuntimeException e) {
@@ -949,6 +1073,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         timeProfiler.clean();
 
         compileToTornadoVMBytecode();
+        waitForBackgroundCompilation();
         vm.warmup();
 
         if (TornadoOptions.isProfilerEnabled() && !TornadoOptions.PROFILER_LOGS_ACCUMULATE()) {
@@ -1368,12 +1493,46 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         return winner;
     }
 
-    private void runAllTasksJavaSequential() {
-        for (TaskPackage taskPackage : taskPackages) {
+    private void runTaskOnHost(TaskPackage taskPackage) {
+        if (taskPackage.getHostCode() != null) {
+            taskPackage.getHostCode().run();
+        } else if (!TornadoOptions.JAVA_PARALLEL_FALLBACK || !JavaParallelExecutor.execute(taskPackage)) {
             runSequentialCodeInThread(taskPackage);
         }
     }
 
+    private void runAllTasksJavaSequential() {
+        if (!executionContext.hasLoop()) {
+            for (TaskPackage taskPackage : taskPackages) {
+                runTaskOnHost(taskPackage);
+            }
+            return;
+        }
+
+        // Same semantics as the LOOP bytecode. The ping-pong arrays are copied
+        // instead of swapped, because the task parameters are bound to them.
+        final int[] flag = executionContext.getLoopFlag();
+        final int maxIterations = executionContext.getLoopIterations();
+        if (flag != null) {
+            flag[0] = 0;
+        }
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            boolean checkFlag = flag != null && (iteration + 1) % executionContext.getLoopCheckInterval() == 0 && iteration + 1 < maxIterations;
+            if (checkFlag) {
+                flag[0] = 0;
+            }
+            for (TaskPackage taskPackage : taskPackages) {
+                runTaskOnHost(taskPackage);
+            }
+            for (Object[] pair : executionContext.getPingPongPairs()) {
+                System.arraycopy(pair[1], 0, pair[0], 0, Array.getLength(pair[0]));
+            }
+            if (checkFlag && flag[0] == 0) {
+                break;
+            }
+        }
+    }
+
     private void runParallelSequential(Policy policy, Thread[] threads, int indexSequential, Timer timer, long[] totalTimers) {
         // Last Thread runs the sequential code
         threads[indexSequential] = new Thread(() -> {
@@ -1439,8 +1598,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 taskGraphIndex.put(taskScheduleNumber, task);
 
                 if (USE_GLOBAL_TASK_CACHE) {
-                    globalTaskGraphIndex.put(offsetGlobalIndex.get(), task);
-                    offsetGlobalIndex.incrementAndGet();
+                    globalTaskGraphIndex.put(globalIndexBase + taskScheduleNumber, task);
                 } else {
                     globalTaskGraphIndex.put(taskScheduleNumber, task);
                 }
@@ -1460,6 +1618,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
         // One additional threads is reserved for sequential CPU execution
         final int numThreads = numDevices + 1;
+        reserveGlobalIndexes(numThreads);
         final int indexSequential = numDevices;
         Thread[] threads = new Thread[numThreads];
         long[] totalTimers = new long[numThreads];
@@ -1502,7 +1661,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     private void runSequential() {
         for (TaskPackage taskPackage : taskPackages) {
-            runSequentialCodeInThread(taskPackage);
+            runTaskOnHost(taskPackage);
         }
     }
 
@@ -1531,7 +1690,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         if (task == null) {
             if (USE_GLOBAL_TASK_CACHE) {
                 // This is only if compilation is not using Partial Evaluation
-                task = globalTaskGraphIndex.get(deviceWinnerIndex);
+                task = globalTaskGraphIndex.get(globalIndexBase + deviceWinnerIndex);
             } else {
                 task = recompileTask(deviceWinnerIndex);
                 // Save the TaskSchedule in cache
@@ -1673,8 +1832,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
             // TaskSchedules Global
             if (USE_GLOBAL_TASK_CACHE) {
-                globalTaskGraphIndex.put(offsetGlobalIndex.get(), task);
-                offsetGlobalIndex.incrementAndGet();
+                globalTaskGraphIndex.put(globalIndexBase + taskNumber, task);
             } else {
                 globalTaskGraphIndex.put(taskNumber, task);
             }
@@ -1684,40 +1842,27 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
     }
 
+    /**
+     * Reserves a contiguous range of indexes of the global task-graph cache for
+     * the task-graphs of one profiling run, so that task-graphs profiled from
+     * several threads do not interleave their indexes.
+     */
+    private void reserveGlobalIndexes(int numTaskGraphs) {
+        globalIndexBase = USE_GLOBAL_TASK_CACHE ? offsetGlobalIndex.getAndAdd(numTaskGraphs) : 0;
+    }
+
     private void updateHistoryTables(Policy policy, int deviceWinnerIndex) {
         // Matching the name
         for (TaskPackage taskPackage : taskPackages) {
             Object code = taskPackage.getTaskParameters()[0];
             Method m = TaskUtils.resolveMethodHandle(code);
-            ConcurrentHashMap<String, HistoryTable> tableSizes = null;
-
-            int dev = baseGlobalIndex + deviceWinnerIndex;
-
-            if (!executionHistoryPolicy.containsKey(policy)) {
-                tableSizes = new ConcurrentHashMap<>();
-                HistoryTable table = new HistoryTable();
-                int size = getMaxInputSize();
-                table.getTree().put(size, dev);
-
-                tableSizes.put(m.toGenericString(), table);
+            int dev = globalIndexBase + deviceWinnerIndex;
 
-            } else {
-                tableSizes = executionHistoryPolicy.get(policy);
-                if (!tableSizes.containsKey(m.toGenericString())) {
-                    HistoryTable table = new HistoryTable();
-                    int size = getMaxInputSize();
-                    table.getTree().put(size, dev);
-                    tableSizes.put(m.toGenericString(), table);
-                } else {
-                    // update the size
-                    HistoryTable table = tableSizes.get(m.toGenericString());
-                    int size = getMaxInputSize();
-                    table.getTree().put(size, dev);
-                    tableSizes.put(m.toGenericString(), table);
-                }
-            }
-            executionHistoryPolicy.put(policy, tableSizes);
-            baseGlobalIndex = offsetGlobalIndex.get();
+            // Task graphs may be executed from several threads, so the tables are
+            // created and updated atomically
+            ConcurrentHashMap<String, HistoryTable> tableSizes = executionHistoryPolicy.computeIfAbsent(policy, p -> new ConcurrentHashMap<>());
+            HistoryTable table = tableSizes.computeIfAbsent(m.toGenericString(), k -> new HistoryTable());
+            table.getTree().put(getMaxInputSize(), dev);
         }
     }
 
@@ -1755,6 +1900,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         int numDevices = TornadoCoreRuntime.getTornadoRuntime().getDriver(DEFAULT_DRIVER_INDEX).getDeviceCount();
         final int totalTornadoDevices = numDevices + 1;
         long[] totalTimers = new long[totalTornadoDevices];
+        reserveGlobalIndexes(totalTornadoDevices);
 
         // Run Sequential
         runSequentialTaskGraph(policy, timer, totalTimers, numDevices);
@@ -2004,6 +2150,10 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     @Override
     public void addTask(TaskPackage taskPackage) {
         taskPackages.add(taskPackage);
+        addTaskPackage(taskPackage);
+    }
+
+    private void addTaskPackage(TaskPackage taskPackage) {
         String id = taskPackage.getId();
         int type = taskPackage.getTaskType();
         Object[] parameters = taskPackage.getTaskParameters();
@@ -2030,6 +2180,40 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
     }
 
+    /**
+     * @return the arrays that are only used by a single fused task and that are
+     *         not transferred, compared by identity.
+     */
+    private Set<Object> findTemporaries() {
+        Set<Object> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Object> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (SchedulableTask task : executionContext.getTasks()) {
+            Set<Object> taskObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+            Collections.addAll(taskObjects, task.getArguments());
+            for (Object object : taskObjects) {
+                if (!(task instanceof FusedTask) || !object.getClass().isArray() || !candidates.add(object)) {
+                    shared.add(object);
+                }
+            }
+        }
+        candidates.removeAll(shared);
+        candidates.removeIf(object -> argumentsLookUp.contains(object) || object == executionContext.getLoopFlag());
+        for (Object[] pair : executionContext.getPingPongPairs()) {
+            candidates.remove(pair[0]);
+            candidates.remove(pair[1]);
+        }
+        return candidates;
+    }
+
+    private void rebuildTasks() {
+        hlBuffer.rewind();
+        executionContext.clearTasks();
+        lastTask = null;
+        for (TaskPackage taskPackage : taskPackages) {
+            addTaskPackage(taskPackage);
+        }
+    }
+
     @Override
     public void addPrebuiltTask(String id, String entryPoint, String filename, Object[] args, Access[] accesses, TornadoDevice device, int[] dimensions) {
         addInner(TaskUtils.createTask(meta(), id, entryPoint, filename, args, accesses, device, dimensions));
@@ -2070,6 +2254,22 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
     }
 
+    @Override
+    public void loop(int maxIterations, int[] flag, int checkInterval) {
+        if (maxIterations < 1) {
+            throw new TornadoRuntimeException("The number of iterations of a task-graph loop must be positive: " + maxIterations);
+        }
+        if (flag != null && (flag.length == 0 || checkInterval < 1)) {
+            throw new TornadoRuntimeException("A task-graph loop needs a non-empty flag and a positive check interval");
+        }
+        executionContext.setLoop(maxIterations, flag, checkInterval);
+    }
+
+    @Override
+    public void pingPong(Object first, Object second) {
+        executionContext.addPingPong(first, second);
+    }
+
     @Override
     public long getTotalTime() {
         return timeProfiler.getTimer(ProfilerType.TOTAL_TASK_GRAPH_TIME);
@@ -2090,6 +2290,11 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         return timeProfiler.getTimer(ProfilerType.TOTAL_DRIVER_COMPILE_TIME);
     }
 
+    @Override
+    public long getParallelCompileTime() {
+        return timeProfiler.getTimer(ProfilerType.TOTAL_PARALLEL_COMPILE_TIME);
+    }
+
     @Override
     public long getDataTransfersTime() {
         return timeProfiler.getTimer(ProfilerType.COPY_IN_TIME) + timeProfiler.getTimer(ProfilerType.COPY_OUT_TIME);
@@ -2144,6 +2349,25 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
     }
 
+    /**
+     * Position of the bytecodes of the last task added to the task-graph, used to
+     * replace them when the next task is fused with it.
+     */
+    private static class TaskBytecodes {
+
+        private final int bufferPosition;
+        private final int globalTaskId;
+        private final int index;
+        private final SchedulableTask task;
+
+        private TaskBytecodes(int bufferPosition, int globalTaskId, int index, SchedulableTask task) {
+            this.bufferPosition = bufferPosition;
+            this.globalTaskId = globalTaskId;
+            this.index = index;
+            this.task = task;
+        }
+    }
+
     private static class CompileInfo {
 
         private boolean compile;
@@ -2157,22 +2381,22 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     /**
      * Class that keeps the history of executions based on their data sizes. It has
-     * a sorted map (TreeMap) that keeps the relationship between the input size and
+     * a sorted map that keeps the relationship between the input size and
      * the actual Tornado device in which the task was executed based on the
      * profiler for the dynamic reconfiguration.
      */
     private static class HistoryTable {
         /**
-         * TreeMap between input size -> device index
+         * Sorted map between input size -> device index
          */
-        private TreeMap<Integer, Integer> table = new TreeMap<>();
+        private final ConcurrentSkipListMap<Integer, Integer> table = new ConcurrentSkipListMap<>();
 
         private int getClosestKey(int goal) {
             Set<Integer> keySet = table.keySet();
             return keySet.stream().reduce((prev, current) -> Math.abs(current - goal) < Math.abs(prev - goal) ? current : prev).get();
         }
 
-        private TreeMap<Integer, Integer> getTree() {
+        private ConcurrentSkipListMap<Integer, Integer> getTree() {
             return table;
         }
 
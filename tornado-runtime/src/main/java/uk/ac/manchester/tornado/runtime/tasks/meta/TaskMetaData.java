@@ -305,6 +305,14 @@ public class TaskMetaData extends AbstractMetaData {
         return result;
     }
 
+    /**
+     * Clears the profiles and hands their events back to the devices.
+     */
+    public void clearProfiles() {
+        profiles.forEach((device, events) -> device.releaseEvents(events.stream().toArray()));
+        profiles.clear();
+    }
+
     public boolean hasDomain() {
         return domain != null;
     }
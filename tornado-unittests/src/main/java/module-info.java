@@ -1,6 +1,7 @@
 open module tornado.unittests {
     requires transitive junit;
     requires transitive tornado.api;
+    requires tornado.matrices;
     requires lucene.core;
     requires java.desktop;
 
@@ -27,6 +28,7 @@ open module tornado.unittests {
     exports uk.ac.manchester.tornado.unittests.math;
     exports uk.ac.manchester.tornado.unittests.matrices;
     exports uk.ac.manchester.tornado.unittests.prebuilt;
+    exports uk.ac.manchester.tornado.unittests.prefixsum;
     exports uk.ac.manchester.tornado.unittests.profiler;
     exports uk.ac.manchester.tornado.unittests.reductions;
     exports uk.ac.manchester.tornado.unittests.slam.graphics;
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.atomics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.collections.math.TornadoAtomics;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the atomic operations on array elements provided by
+ * {@link TornadoAtomics} and {@link KernelContext}.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.atomics.TestAtomicArrays
+ * </code>
+ */
+public class TestAtomicArrays extends TornadoTestBase {
+
+    private static final int BINS = 16;
+
+    public static void histogram(int[] input, int[] bins) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            TornadoAtomics.atomicAdd(bins, input[i] % BINS, 1);
+        }
+    }
+
+    public static void minMax(int[] input, int[] result) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            TornadoAtomics.atomicMin(result, 0, input[i]);
+            TornadoAtomics.atomicMax(result, 1, input[i]);
+        }
+    }
+
+    public static void sumFloat(float[] input, float[] result) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            TornadoAtomics.atomicAdd(result, 0, input[i]);
+        }
+    }
+
+    public static void sumLong(long[] input, long[] result) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            TornadoAtomics.atomicAdd(result, 0, input[i]);
+        }
+    }
+
+    public static void reduceLong(long[] input, long[] result) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            TornadoAtomics.atomicMin(result, 0, input[i]);
+            TornadoAtomics.atomicMax(result, 1, input[i]);
+            TornadoAtomics.atomicAnd(result, 2, input[i]);
+            TornadoAtomics.atomicOr(result, 3, input[i]);
+            TornadoAtomics.atomicXor(result, 4, input[i]);
+        }
+    }
+
+    public static void electLeader(int[] leader, int[] winners) {
+        for (@Parallel int i = 0; i < winners.length; i++) {
+            if (TornadoAtomics.atomicCompareAndExchange(leader, 0, 0, i + 1) == 0) {
+                winners[i] = 1;
+            }
+        }
+    }
+
+    public static void localHistogram(KernelContext context, int[] input, int[] bins) {
+        int[] localBins = context.allocateIntLocalArray(BINS);
+        if (context.localIdx < BINS) {
+            localBins[context.localIdx] = 0;
+        }
+        context.localBarrier();
+        context.atomicAdd(localBins, input[context.globalIdx] % BINS, 1);
+        context.localBarrier();
+        if (context.localIdx < BINS) {
+            context.atomicAdd(bins, context.localIdx, localBins[context.localIdx]);
+        }
+    }
+
+    public static void sumMinMaxFloat(KernelContext context, float[] input, float[] result) {
+        float value = input[context.globalIdx];
+        context.atomicAdd(result, 0, value);
+        context.atomicMin(result, 1, value);
+        context.atomicMax(result, 2, value);
+    }
+
+    private static int[] randomInput(int size) {
+        Random random = new Random(42);
+        int[] input = new int[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = random.nextInt(1000);
+        }
+        return input;
+    }
+
+    private static int[] histogramJava(int[] input) {
+        int[] bins = new int[BINS];
+        for (int value : input) {
+            bins[value % BINS]++;
+        }
+        return bins;
+    }
+
+    @Test
+    public void testHistogram() {
+        final int size = 8192;
+        int[] input = randomInput(size);
+        int[] bins = new int[BINS];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, bins) //
+                .task("t0", TestAtomicArrays::histogram, input, bins) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, bins);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        int[] expected = histogramJava(input);
+        for (int i = 0; i < BINS; i++) {
+            assertEquals(expected[i], bins[i]);
+        }
+    }
+
+    @Test
+    public void testMinMax() {
+        final int size = 4096;
+        int[] input = randomInput(size);
+        int[] result = new int[] { Integer.MAX_VALUE, Integer.MIN_VALUE };
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, result) //
+                .task("t0", TestAtomicArrays::minMax, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        assertEquals(Arrays.stream(input).min().getAsInt(), result[0]);
+        assertEquals(Arrays.stream(input).max().getAsInt(), result[1]);
+    }
+
+    @Test
+    public void testSumFloat() {
+        final int size = 2048;
+        float[] input = new float[size];
+        float[] result = new float[1];
+        // Small integer values keep the sum exact regardless of the order
+        for (int i = 0; i < size; i++) {
+            input[i] = i % 8;
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, result) //
+                .task("t0", TestAtomicArrays::sumFloat, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        float expected = 0;
+        for (float value : input) {
+            expected += value;
+        }
+        assertEquals(expected, result[0], 0.0f);
+    }
+
+    @Test
+    public void testSumLong() {
+        final int size = 2048;
+        long[] input = new long[size];
+        long[] result = new long[1];
+        for (int i = 0; i < size; i++) {
+            input[i] = i + (1L << 33);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, result) //
+                .task("t0", TestAtomicArrays::sumLong, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        assertEquals(Arrays.stream(input).sum(), result[0]);
+    }
+
+    /**
+     * 64-bit min, max, and, or and xor. They use a compare-and-swap loop on
+     * OpenCL devices without cl_khr_int64_extended_atomics.
+     */
+    @Test
+    public void testReduceLong() {
+        final int size = 2048;
+        Random random = new Random(7);
+        long[] input = new long[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = random.nextLong();
+        }
+        long[] result = new long[] { Long.MAX_VALUE, Long.MIN_VALUE, -1L, 0L, 0L };
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, result) //
+                .task("t0", TestAtomicArrays::reduceLong, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        assertEquals(Arrays.stream(input).min().getAsLong(), result[0]);
+        assertEquals(Arrays.stream(input).max().getAsLong(), result[1]);
+        assertEquals(Arrays.stream(input).reduce(-1L, (a, b) -> a & b), result[2]);
+        assertEquals(Arrays.stream(input).reduce(0L, (a, b) -> a | b), result[3]);
+        assertEquals(Arrays.stream(input).reduce(0L, (a, b) -> a ^ b), result[4]);
+    }
+
+    @Test
+    public void testCompareAndExchange() {
+        final int size = 1024;
+        int[] leader = new int[1];
+        int[] winners = new int[size];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, leader, winners) //
+                .task("t0", TestAtomicArrays::electLeader, leader, winners) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, leader, winners);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        // Exactly one thread replaces the initial value
+        assertEquals(1, Arrays.stream(winners).sum());
+        assertEquals(1, winners[leader[0] - 1]);
+    }
+
+    @Test
+    public void testLocalHistogramKernelContext() {
+        final int size = 8192;
+        final int localSize = 256;
+        int[] input = randomInput(size);
+        int[] bins = new int[BINS];
+
+        WorkerGrid worker = new WorkerGrid1D(size);
+        worker.setLocalWork(localSize, 1, 1);
+        GridScheduler gridScheduler = new GridScheduler("s0.t0", worker);
+        KernelContext context = new KernelContext();
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, bins) //
+                .task("t0", TestAtomicArrays::localHistogram, context, input, bins) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, bins);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withGridScheduler(gridScheduler) //
+                .execute();
+
+        int[] expected = histogramJava(input);
+        for (int i = 0; i < BINS; i++) {
+            assertEquals(expected[i], bins[i]);
+        }
+    }
+
+    /**
+     * Floating-point add, min and max through the {@link KernelContext}. The
+     * SPIR-V backend lowers them as a compare-and-exchange loop on the bits of
+     * the element.
+     */
+    @Test
+    public void testSumMinMaxFloatKernelContext() {
+        final int size = 8192;
+        float[] input = new float[size];
+        // Small integer values keep the sum exact regardless of the order
+        for (int i = 0; i < size; i++) {
+            input[i] = (i * 7) % 64 - 32;
+        }
+        float[] result = new float[] { 0.0f, Float.MAX_VALUE, -Float.MAX_VALUE };
+
+        WorkerGrid worker = new WorkerGrid1D(size);
+        GridScheduler gridScheduler = new GridScheduler("s0.t0", worker);
+        KernelContext context = new KernelContext();
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, result) //
+                .task("t0", TestAtomicArrays::sumMinMaxFloat, context, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withGridScheduler(gridScheduler) //
+                .execute();
+
+        float sum = 0;
+        float min = Float.MAX_VALUE;
+        float max = -Float.MAX_VALUE;
+        for (float value : input) {
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        assertEquals(sum, result[0], 0.0f);
+        assertEquals(min, result[1], 0.0f);
+        assertEquals(max, result[2], 0.0f);
+    }
+}
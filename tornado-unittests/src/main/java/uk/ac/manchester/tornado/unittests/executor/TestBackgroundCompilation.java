@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests that task-graphs give the same results while they run on the host and
+ * after they switch to the device, when kernels are compiled in the
+ * background.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V -Dtornado.compiler.background=True uk.ac.manchester.tornado.unittests.executor.TestBackgroundCompilation
+ * </code>
+ */
+public class TestBackgroundCompilation extends TornadoTestBase {
+
+    private static final int ITERATIONS = 1000;
+    private static final int SIZE = 4096;
+
+    public static void addConstant(int[] a, int[] b, int value) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            b[i] = a[i] + value;
+        }
+    }
+
+    public static void multiply(int[] a, int[] b, int[] c) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            c[i] = a[i] * b[i];
+        }
+    }
+
+    @Test
+    public void testBackgroundCompilation() {
+        int[] a = new int[SIZE];
+        int[] b = new int[SIZE];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestBackgroundCompilation::addConstant, a, b, 10) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            Arrays.fill(a, iteration);
+            executionPlan.execute();
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(iteration + 10, b[i]);
+            }
+        }
+    }
+
+    /**
+     * The data copied only in the first execution is still on the host when the
+     * task-graph switches to the device, so it is copied by the first device
+     * execution.
+     */
+    @Test
+    public void testBackgroundCompilationFirstExecution() {
+        int[] a = new int[SIZE];
+        int[] b = new int[SIZE];
+        int[] c = new int[SIZE];
+        int[] d = new int[SIZE];
+        Arrays.fill(b, 3);
+
+        TaskGraph taskGraph = new TaskGraph("s1") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, b) //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestBackgroundCompilation::addConstant, a, c, 1) //
+                .task("t1", TestBackgroundCompilation::multiply, c, b, d) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, d);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            Arrays.fill(a, iteration);
+            executionPlan.execute();
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals((iteration + 1) * 3, d[i]);
+            }
+        }
+    }
+}
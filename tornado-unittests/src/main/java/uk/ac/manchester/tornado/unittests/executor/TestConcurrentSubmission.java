@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.DRMode;
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.Policy;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Stress tests that submit task-graphs from several host threads to the same
+ * device at the same time. Each thread owns its task-graph and its data.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.executor.TestConcurrentSubmission
+ * </code>
+ */
+public class TestConcurrentSubmission extends TornadoTestBase {
+
+    private static final int NUM_THREADS = 8;
+    private static final int ITERATIONS = 100;
+    private static final int SIZE = 4096;
+
+    private interface Submission {
+        void run(int threadId) throws Exception;
+    }
+
+    private static void submitFromThreads(Submission submission) throws Exception {
+        ExecutorService threadPool = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < NUM_THREADS; i++) {
+                final int threadId = i;
+                futures.add(threadPool.submit(() -> {
+                    submission.run(threadId);
+                    return null;
+                }));
+            }
+            // Rethrows the first failure of any thread
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            threadPool.shutdown();
+            threadPool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    public static void addConstant(int[] a, int[] b, int value) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            b[i] = a[i] + value;
+        }
+    }
+
+    public static void multiply(int[] a, int[] b, int value) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            b[i] = a[i] * value;
+        }
+    }
+
+    public static void addConstantKernelContext(KernelContext context, int[] a, int[] b, int value) {
+        int idx = context.globalIdx;
+        b[idx] = a[idx] + value;
+    }
+
+    /**
+     * Each thread executes its own single-task graph many times.
+     */
+    @Test
+    public void testConcurrentTaskGraphs() throws Exception {
+        submitFromThreads(threadId -> {
+            int[] a = new int[SIZE];
+            int[] b = new int[SIZE];
+            Arrays.fill(a, threadId);
+
+            TaskGraph taskGraph = new TaskGraph("concurrent" + threadId) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                    .task("t0", TestConcurrentSubmission::addConstant, a, b, threadId) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+            ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+            TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+
+            for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+                Arrays.fill(a, iteration);
+                executionPlan.execute();
+                for (int i = 0; i < SIZE; i++) {
+                    assertEquals(iteration + threadId, b[i]);
+                }
+            }
+        });
+    }
+
+    /**
+     * Each thread executes a graph with two dependent tasks, so kernel launches,
+     * events and buffers of different threads interleave on the device.
+     */
+    @Test
+    public void testConcurrentMultipleTasks() throws Exception {
+        submitFromThreads(threadId -> {
+            int[] a = new int[SIZE];
+            int[] b = new int[SIZE];
+            int[] c = new int[SIZE];
+
+            TaskGraph taskGraph = new TaskGraph("concurrentMulti" + threadId) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                    .task("t0", TestConcurrentSubmission::addConstant, a, b, threadId) //
+                    .task("t1", TestConcurrentSubmission::multiply, b, c, 2) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+            ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+            TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+
+            for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+                Arrays.fill(a, iteration);
+                executionPlan.execute();
+                for (int i = 0; i < SIZE; i++) {
+                    assertEquals((iteration + threadId) * 2, c[i]);
+                }
+            }
+        });
+    }
+
+    /**
+     * Each thread uses its own grid size, which is passed to the kernel through the
+     * kernel context shared by all the kernels of the device.
+     */
+    @Test
+    public void testConcurrentKernelContext() throws Exception {
+        submitFromThreads(threadId -> {
+            final int size = SIZE / (threadId + 1);
+            int[] a = new int[size];
+            int[] b = new int[size];
+
+            WorkerGrid1D worker = new WorkerGrid1D(size);
+            GridScheduler gridScheduler = new GridScheduler("concurrentContext" + threadId + ".t0", worker);
+            KernelContext context = new KernelContext();
+
+            TaskGraph taskGraph = new TaskGraph("concurrentContext" + threadId) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                    .task("t0", TestConcurrentSubmission::addConstantKernelContext, context, a, b, threadId) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+            ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+            TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+            executionPlan.withGridScheduler(gridScheduler);
+
+            for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+                Arrays.fill(a, iteration);
+                executionPlan.execute();
+                for (int i = 0; i < size; i++) {
+                    assertEquals(iteration + threadId, b[i]);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the device recorded by the dynamic reconfiguration for the method and
+     * input size from the history tables of the runtime. The runtime module is
+     * open, but not exported to the tests.
+     */
+    @SuppressWarnings("unchecked")
+    private static Integer getRecordedDevice(Policy policy, String method, int inputSize) throws ReflectiveOperationException {
+        Class<?> taskGraphClass = Class.forName("uk.ac.manchester.tornado.runtime.tasks.TornadoTaskGraph");
+        Field historyField = taskGraphClass.getDeclaredField("executionHistoryPolicy");
+        historyField.setAccessible(true);
+        Map<Policy, Map<String, Object>> history = (Map<Policy, Map<String, Object>>) historyField.get(null);
+        Object historyTable = history.get(policy).get(method);
+        Field tableField = historyTable.getClass().getDeclaredField("table");
+        tableField.setAccessible(true);
+        return ((Map<Integer, Integer>) tableField.get(historyTable)).get(inputSize);
+    }
+
+    /**
+     * Each thread profiles its own graph with the dynamic reconfiguration, with
+     * its own input size. The device recorded for each input size must be one of
+     * the devices profiled by that graph, and later executions on the winner
+     * device must be correct.
+     */
+    @Test
+    public void testConcurrentDynamicReconfiguration() throws Exception {
+        final int numDevices = TornadoRuntime.getTornadoRuntime().getDriver(0).getDeviceCount();
+        submitFromThreads(threadId -> {
+            final int size = 1024 * (threadId + 1);
+            int[] a = new int[size];
+            int[] b = new int[size];
+
+            TaskGraph taskGraph = new TaskGraph("concurrentDynamic" + threadId) //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                    .task("t0", TestConcurrentSubmission::multiply, a, b, 2) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+            ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+            TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+            executionPlan.withDynamicReconfiguration(Policy.PERFORMANCE, DRMode.SERIAL);
+
+            for (int iteration = 0; iteration < 4; iteration++) {
+                Arrays.fill(a, iteration + threadId);
+                executionPlan.execute();
+                for (int i = 0; i < size; i++) {
+                    assertEquals((iteration + threadId) * 2, b[i]);
+                }
+            }
+        });
+
+        final String method = TestConcurrentSubmission.class.getMethod("multiply", int[].class, int[].class, int.class).toGenericString();
+        for (int threadId = 0; threadId < NUM_THREADS; threadId++) {
+            Integer device = getRecordedDevice(Policy.PERFORMANCE, method, 1024 * (threadId + 1));
+            assertNotNull(device);
+            // Indexes 0..numDevices - 1 are the devices, numDevices is the sequential run
+            assertTrue("device " + device + " recorded for thread " + threadId, device >= 0 && device <= numDevices);
+        }
+    }
+}
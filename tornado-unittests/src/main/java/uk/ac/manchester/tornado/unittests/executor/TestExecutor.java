@@ -19,6 +19,7 @@ package uk.ac.manchester.tornado.unittests.executor;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 
@@ -32,6 +33,7 @@ import uk.ac.manchester.tornado.api.TornadoProfilerResult;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.enums.DataTransferMode;
 import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
 import uk.ac.manchester.tornado.unittests.TestHello;
 import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
 
@@ -42,6 +44,13 @@ import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
  * tornado-test -V uk.ac.manchester.tornado.unittests.executor.TestExecutor
  * </code>
  * </p>
+ *
+ * <p>
+ * With parallel compilation:
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.compiler.parallel=True" uk.ac.manchester.tornado.unittests.executor.TestExecutor
+ * </code>
+ * </p>
  */
 public class TestExecutor extends TornadoTestBase {
 
@@ -233,4 +242,81 @@ public class TestExecutor extends TornadoTestBase {
         }
 
     }
+
+    /**
+     * Test to warm up a task-graph with several tasks, which are compiled in
+     * parallel.
+     */
+    @Test
+    public void test05() {
+        int numElements = 16;
+        int[] a = new int[numElements];
+        int[] b = new int[numElements];
+
+        final int NUM_TASKS = 8;
+
+        // 1. Task Graph Definition with A -> B -> A -> ...
+        TaskGraph tg = new TaskGraph("s0").transferToDevice(DataTransferMode.EVERY_EXECUTION, a);
+        for (int i = 0; i < NUM_TASKS; i += 2) {
+            tg.task("t" + i, TestHello::simple, a, b) //
+                    .task("t" + (i + 1), TestHello::simple, b, a);
+        }
+        tg.transferToHost(DataTransferMode.EVERY_EXECUTION, a, b);
+
+        // 2. Create an immutable task graph
+        ImmutableTaskGraph immutableTaskGraph = tg.snapshot();
+
+        // 3. Create an execution plan that compiles all tasks before the first
+        // execution
+        TornadoExecutionPlan executorPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executorPlan.withWarmUp();
+
+        // 4. Execute all Immutable Task Graphs associated with an executor
+        executorPlan.execute();
+
+        for (int i = 0; i < numElements; i++) {
+            assertEquals(NUM_TASKS, a[i]);
+            assertEquals(NUM_TASKS - 1, b[i]);
+        }
+    }
+
+    /**
+     * With parallel compilation, the elapsed time of compiling the tasks is
+     * reported, and it is lower than the sum of the compilation times of the
+     * tasks.
+     */
+    @Test
+    public void test06() {
+        int numElements = 16;
+        int[] a = new int[numElements];
+        int[] b = new int[numElements];
+
+        final int NUM_TASKS = 8;
+
+        // Clean the code cache, so that all the tasks are compiled
+        TornadoRuntime.getTornadoRuntime().getDefaultDevice().reset();
+
+        TaskGraph tg = new TaskGraph("s0").transferToDevice(DataTransferMode.EVERY_EXECUTION, a);
+        for (int i = 0; i < NUM_TASKS; i += 2) {
+            tg.task("t" + i, TestHello::simple, a, b) //
+                    .task("t" + (i + 1), TestHello::simple, b, a);
+        }
+        tg.transferToHost(DataTransferMode.EVERY_EXECUTION, a, b);
+
+        TornadoExecutionPlan executorPlan = new TornadoExecutionPlan(tg.snapshot());
+        TornadoExecutionResult executionResult = executorPlan.withProfiler(ProfilerMode.SILENT).execute();
+
+        for (int i = 0; i < numElements; i++) {
+            assertEquals(NUM_TASKS, a[i]);
+            assertEquals(NUM_TASKS - 1, b[i]);
+        }
+
+        TornadoProfilerResult profilerResult = executionResult.getProfilerResult();
+        if (Boolean.parseBoolean(System.getProperty("tornado.compiler.parallel", "False"))) {
+            assertTrue(profilerResult.getParallelCompileTime() > 0);
+            assertTrue(profilerResult.getParallelCompileTime() < profilerResult.getCompileTime());
+        } else {
+            assertEquals(0, profilerResult.getParallelCompileTime());
+        }
+    }
 }
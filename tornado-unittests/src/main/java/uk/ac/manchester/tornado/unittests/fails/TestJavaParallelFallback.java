@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.fails;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests that tasks falling back to Java after a bailout run their parallel
+ * loop split across the threads of the host. The tasks read the current
+ * thread, which cannot be compiled for the devices.
+ *
+ * <p>
+ * Each iteration increments its element, so iterations that are missed or
+ * executed twice are detected. The thread that executed each iteration is
+ * checked against the contiguous blocks of iterations assigned to the
+ * threads.
+ * </p>
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V -J"-Dtornado.java.parallel=True -Dtornado.java.threads=4" uk.ac.manchester.tornado.unittests.fails.TestJavaParallelFallback
+ * </code>
+ */
+public class TestJavaParallelFallback extends TornadoTestBase {
+
+    private static final int THREADS = Integer.getInteger("tornado.java.threads", Runtime.getRuntime().availableProcessors());
+
+    public static void increment(int[] a, long[] threads) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            a[i] += 1;
+            threads[i] = Thread.currentThread().getId();
+        }
+    }
+
+    public static void incrementStride(int[] a, long[] threads) {
+        for (@Parallel int i = 1; i < a.length; i += 3) {
+            a[i] += 1;
+            threads[i] = Thread.currentThread().getId();
+        }
+    }
+
+    public static void decrementStride(int[] a, long[] threads, int step) {
+        for (@Parallel int i = a.length - 1; i >= 0; i = i - step) {
+            a[i] += 1;
+            threads[i] = Thread.currentThread().getId();
+        }
+    }
+
+    private static void run(TaskGraph taskGraph, int[] a, long[] threads) {
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, a, threads);
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+    }
+
+    /**
+     * Checks that the iterations {@code first, first + step, ...} below
+     * {@code a.length} ran exactly once, and that each block of the split ran on
+     * a single thread of the pool.
+     */
+    private static void check(int[] a, long[] threads, int first, int step) {
+        int iterations = 0;
+        for (int i = 0; i < a.length; i++) {
+            boolean visited = i >= first && (i - first) % step == 0;
+            assertEquals(visited ? 1 : 0, a[i]);
+            iterations += visited ? 1 : 0;
+        }
+
+        final long caller = Thread.currentThread().getId();
+        final int blocks = Math.min(THREADS, iterations);
+        for (int block = 0; block < blocks; block++) {
+            int start = (int) ((long) iterations * block / blocks);
+            int end = (int) ((long) iterations * (block + 1) / blocks);
+            long thread = threads[first + start * step];
+            assertNotEquals(caller, thread);
+            for (int iteration = start; iteration < end; iteration++) {
+                assertEquals(thread, threads[first + iteration * step]);
+            }
+        }
+    }
+
+    private static void checkDescending(int[] a, long[] threads, int step) {
+        // Same iterations as the ascending loop, in reverse order
+        int[] reversedA = new int[a.length];
+        long[] reversedThreads = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            reversedA[i] = a[a.length - 1 - i];
+            reversedThreads[i] = threads[a.length - 1 - i];
+        }
+        check(reversedA, reversedThreads, 0, step);
+    }
+
+    @Test
+    public void testSizeNotDivisible() {
+        final int size = THREADS * 250 + 1;
+        int[] a = new int[size];
+        long[] threads = new long[size];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestJavaParallelFallback::increment, a, threads);
+        run(taskGraph, a, threads);
+
+        check(a, threads, 0, 1);
+    }
+
+    @Test
+    public void testSizeSmallerThanThreads() {
+        final int size = Math.max(2, THREADS - 1);
+        int[] a = new int[size];
+        long[] threads = new long[size];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestJavaParallelFallback::increment, a, threads);
+        run(taskGraph, a, threads);
+
+        check(a, threads, 0, 1);
+    }
+
+    @Test
+    public void testStride() {
+        final int size = 1000;
+        int[] a = new int[size];
+        long[] threads = new long[size];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestJavaParallelFallback::incrementStride, a, threads);
+        run(taskGraph, a, threads);
+
+        check(a, threads, 1, 3);
+    }
+
+    @Test
+    public void testDescendingStride() {
+        final int size = 1001;
+        int[] a = new int[size];
+        long[] threads = new long[size];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestJavaParallelFallback::decrementStride, a, threads, 2);
+        run(taskGraph, a, threads);
+
+        checkDescending(a, threads, 2);
+    }
+}
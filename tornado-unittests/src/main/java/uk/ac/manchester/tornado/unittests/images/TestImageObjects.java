@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.unittests.images;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.collections.types.Byte4;
+import uk.ac.manchester.tornado.api.collections.types.Float4;
+import uk.ac.manchester.tornado.api.collections.types.ImageByte4;
+import uk.ac.manchester.tornado.api.collections.types.ImageFloat;
+import uk.ac.manchester.tornado.api.collections.types.ImageFloat4;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Kernels that only use the pixel accessors of the image types. With
+ * {@code -Dtornado.opencl.images=True} the OpenCL backend allocates the images
+ * as {@code image2d_t} objects and accesses them through samplers; otherwise
+ * they run as strided arrays. The results must match in both cases.
+ *
+ * <p>
+ * The kernels that use an image in a way that the image path does not support
+ * (linear indexing, or reading and writing the same image) bail out when images
+ * are enabled, and the task-graph runs on the host. Their results must also
+ * match.
+ * </p>
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.opencl.images=True" uk.ac.manchester.tornado.unittests.images.TestImageObjects
+ * </code>
+ */
+public class TestImageObjects extends TornadoTestBase {
+
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 32;
+
+    public static void scale(ImageFloat input, ImageFloat output, float factor) {
+        for (@Parallel int y = 0; y < output.Y(); y++) {
+            for (@Parallel int x = 0; x < output.X(); x++) {
+                output.set(x, y, factor * input.get(x, y));
+            }
+        }
+    }
+
+    public static void swapChannels(ImageFloat4 input, ImageFloat4 output) {
+        for (@Parallel int y = 0; y < output.Y(); y++) {
+            for (@Parallel int x = 0; x < output.X(); x++) {
+                Float4 pixel = input.get(x, y);
+                output.set(x, y, new Float4(pixel.getW(), pixel.getZ(), pixel.getY(), pixel.getX()));
+            }
+        }
+    }
+
+    public static void copyBytes(ImageByte4 input, ImageByte4 output) {
+        for (@Parallel int y = 0; y < output.Y(); y++) {
+            for (@Parallel int x = 0; x < output.X(); x++) {
+                output.set(x, y, input.get(x, y));
+            }
+        }
+    }
+
+    public static void upsample(ImageFloat input, ImageFloat output) {
+        for (@Parallel int y = 0; y < output.Y(); y++) {
+            for (@Parallel int x = 0; x < output.X(); x++) {
+                output.set(x, y, input.sample(x * 0.5f - 0.25f, y * 0.5f - 0.25f));
+            }
+        }
+    }
+
+    public static void scaleInPlace(ImageFloat image, float factor) {
+        for (@Parallel int y = 0; y < image.Y(); y++) {
+            for (@Parallel int x = 0; x < image.X(); x++) {
+                image.set(x, y, factor * image.get(x, y));
+            }
+        }
+    }
+
+    public static void scaleLinear(ImageFloat input, ImageFloat output, float factor) {
+        for (@Parallel int i = 0; i < output.size(); i++) {
+            output.set(i, factor * input.get(i));
+        }
+    }
+
+    private static ImageFloat randomImage(int width, int height) {
+        Random random = new Random(11);
+        ImageFloat image = new ImageFloat(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.set(x, y, random.nextFloat());
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void testImageFloat() {
+        ImageFloat input = randomImage(WIDTH, HEIGHT);
+        ImageFloat output = new ImageFloat(WIDTH, HEIGHT);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestImageObjects::scale, input, output, 2.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertEquals(2.0f * input.get(x, y), output.get(x, y), 0.001f);
+            }
+        }
+    }
+
+    @Test
+    public void testImageFloat4() {
+        Random random = new Random(13);
+        ImageFloat4 input = new ImageFloat4(WIDTH, HEIGHT);
+        ImageFloat4 output = new ImageFloat4(WIDTH, HEIGHT);
+        for (int i = 0; i < input.getArray().length; i++) {
+            input.getArray()[i] = random.nextFloat();
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestImageObjects::swapChannels, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                Float4 expected = input.get(x, y);
+                Float4 actual = output.get(x, y);
+                assertEquals(expected.getW(), actual.getX(), 0.001f);
+                assertEquals(expected.getZ(), actual.getY(), 0.001f);
+                assertEquals(expected.getY(), actual.getZ(), 0.001f);
+                assertEquals(expected.getX(), actual.getW(), 0.001f);
+            }
+        }
+    }
+
+    @Test
+    public void testImageByte4() {
+        Random random = new Random(17);
+        ImageByte4 input = new ImageByte4(WIDTH, HEIGHT);
+        ImageByte4 output = new ImageByte4(WIDTH, HEIGHT);
+        random.nextBytes(input.getArray());
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestImageObjects::copyBytes, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                Byte4 expected = input.get(x, y);
+                Byte4 actual = output.get(x, y);
+                assertEquals(expected.getX(), actual.getX());
+                assertEquals(expected.getY(), actual.getY());
+                assertEquals(expected.getZ(), actual.getZ());
+                assertEquals(expected.getW(), actual.getW());
+            }
+        }
+    }
+
+    @Test
+    public void testBilinearSample() {
+        ImageFloat input = randomImage(WIDTH / 2, HEIGHT / 2);
+        ImageFloat output = new ImageFloat(WIDTH, HEIGHT);
+        ImageFloat sequential = new ImageFloat(WIDTH, HEIGHT);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestImageObjects::upsample, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        upsample(input, sequential);
+
+        // Hardware filtering uses reduced-precision weights
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertEquals(sequential.get(x, y), output.get(x, y), 0.01f);
+            }
+        }
+    }
+
+    @Test
+    public void testReadWriteSameImage() {
+        ImageFloat image = randomImage(WIDTH, HEIGHT);
+        ImageFloat expected = randomImage(WIDTH, HEIGHT);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, image) //
+                .task("t0", TestImageObjects::scaleInPlace, image, 2.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, image);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertEquals(2.0f * expected.get(x, y), image.get(x, y), 0.001f);
+            }
+        }
+    }
+
+    @Test
+    public void testLinearIndexing() {
+        ImageFloat input = randomImage(WIDTH, HEIGHT);
+        ImageFloat output = new ImageFloat(WIDTH, HEIGHT);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestImageObjects::scaleLinear, input, output, 3.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < input.size(); i++) {
+            assertEquals(3.0f * input.get(i), output.get(i), 0.001f);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.kernelcontext.api;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the subgroup (warp) operations of the {@link KernelContext}. The
+ * expected values are computed from the subgroup size and subgroup local id
+ * reported by the device, so the tests do not depend on a particular subgroup
+ * size.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test.py -V uk.ac.manchester.tornado.unittests.kernelcontext.api.TestSubGroups
+ * </code>
+ */
+public class TestSubGroups extends TornadoTestBase {
+
+    private static final int SIZE = 1024;
+    private static final int LOCAL_SIZE = 128;
+
+    public static void subGroupInfo(KernelContext context, int[] sizes, int[] localIds) {
+        int idx = context.globalIdx;
+        sizes[idx] = context.getSubGroupSize();
+        localIds[idx] = context.getSubGroupLocalId();
+    }
+
+    public static void subGroupReduce(KernelContext context, int[] input, int[] output) {
+        int idx = context.globalIdx;
+        output[idx] = context.subGroupReduceAdd(input[idx]);
+    }
+
+    public static void subGroupShuffleXor(KernelContext context, int[] output) {
+        int idx = context.globalIdx;
+        output[idx] = context.subGroupShuffleXor(context.getSubGroupLocalId(), 1);
+    }
+
+    public static void subGroupBroadcast(KernelContext context, float[] input, float[] output) {
+        int idx = context.globalIdx;
+        output[idx] = context.subGroupBroadcast(input[idx], 0);
+    }
+
+    public static void subGroupScan(KernelContext context, int[] inclusive, int[] exclusive) {
+        int idx = context.globalIdx;
+        inclusive[idx] = context.subGroupInclusiveScanAdd(1);
+        exclusive[idx] = context.subGroupExclusiveScanAdd(1);
+    }
+
+    public static void subGroupVote(KernelContext context, int[] any, int[] all) {
+        int idx = context.globalIdx;
+        int localId = context.getSubGroupLocalId();
+        any[idx] = context.subGroupAny(localId == 0) ? 1 : 0;
+        all[idx] = context.subGroupAll(localId == 0) ? 1 : 0;
+    }
+
+    private static void run(TaskGraph taskGraph) {
+        WorkerGrid worker = new WorkerGrid1D(SIZE);
+        worker.setLocalWork(LOCAL_SIZE, 1, 1);
+        GridScheduler gridScheduler = new GridScheduler("s0.t0", worker);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.withGridScheduler(gridScheduler) //
+                .execute();
+    }
+
+    private static void computeSubGroupInfo(int[] sizes, int[] localIds) {
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroups::subGroupInfo, context, sizes, localIds) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sizes, localIds);
+        run(taskGraph);
+    }
+
+    @Test
+    public void testSubGroupInfo() {
+        int[] sizes = new int[SIZE];
+        int[] localIds = new int[SIZE];
+        computeSubGroupInfo(sizes, localIds);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % sizes[i], localIds[i]);
+        }
+    }
+
+    @Test
+    public void testSubGroupReduceAdd() {
+        int[] sizes = new int[SIZE];
+        int[] localIds = new int[SIZE];
+        computeSubGroupInfo(sizes, localIds);
+
+        int[] input = new int[SIZE];
+        int[] output = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            input[i] = i;
+        }
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestSubGroups::subGroupReduce, context, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+        run(taskGraph);
+
+        for (int i = 0; i < SIZE; i++) {
+            int first = i - localIds[i];
+            int expected = 0;
+            for (int j = first; j < first + sizes[i]; j++) {
+                expected += input[j];
+            }
+            assertEquals(expected, output[i]);
+        }
+    }
+
+    @Test
+    public void testSubGroupShuffleXor() {
+        int[] sizes = new int[SIZE];
+        int[] localIds = new int[SIZE];
+        computeSubGroupInfo(sizes, localIds);
+
+        int[] output = new int[SIZE];
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroups::subGroupShuffleXor, context, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+        run(taskGraph);
+
+        for (int i = 0; i < SIZE; i++) {
+            int expected = (sizes[i] > 1) ? localIds[i] ^ 1 : localIds[i];
+            assertEquals(expected, output[i]);
+        }
+    }
+
+    @Test
+    public void testSubGroupBroadcast() {
+        int[] sizes = new int[SIZE];
+        int[] localIds = new int[SIZE];
+        computeSubGroupInfo(sizes, localIds);
+
+        float[] input = new float[SIZE];
+        float[] output = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            input[i] = i * 0.5f;
+        }
+
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestSubGroups::subGroupBroadcast, context, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+        run(taskGraph);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(input[i - localIds[i]], output[i], 0.0f);
+        }
+    }
+
+    @Test
+    public void testSubGroupScan() {
+        int[] sizes = new int[SIZE];
+        int[] localIds = new int[SIZE];
+        computeSubGroupInfo(sizes, localIds);
+
+        int[] inclusive = new int[SIZE];
+        int[] exclusive = new int[SIZE];
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroups::subGroupScan, context, inclusive, exclusive) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, inclusive, exclusive);
+        run(taskGraph);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(localIds[i] + 1, inclusive[i]);
+            assertEquals(localIds[i], exclusive[i]);
+        }
+    }
+
+    @Test
+    public void testSubGroupVote() {
+        int[] sizes = new int[SIZE];
+        int[] localIds = new int[SIZE];
+        computeSubGroupInfo(sizes, localIds);
+
+        int[] any = new int[SIZE];
+        int[] all = new int[SIZE];
+        KernelContext context = new KernelContext();
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .task("t0", TestSubGroups::subGroupVote, context, any, all) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, any, all);
+        run(taskGraph);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(1, any[i]);
+            assertEquals((sizes[i] == 1) ? 1 : 0, all[i]);
+        }
+    }
+}
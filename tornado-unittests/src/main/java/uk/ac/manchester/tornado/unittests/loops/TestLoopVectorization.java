@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.loops;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests unit-stride parallel loops that can be vectorized with
+ * {@code -Dtornado.vectorize.auto=True}. The sizes that are not a multiple of
+ * the vector width are processed by a scalar epilogue.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.vectorize.auto=True" uk.ac.manchester.tornado.unittests.loops.TestLoopVectorization
+ * </code>
+ */
+public class TestLoopVectorization extends TornadoTestBase {
+
+    // Multiple of 8, 4 and 2
+    private static final int DIVISIBLE_SIZE = 8192;
+
+    // Leaves a remainder for the widths 8, 4 and 2
+    private static final int NON_DIVISIBLE_SIZE = 8192 + 7;
+
+    public static void saxpy(float alpha, float[] a, float[] b, float[] c) {
+        for (@Parallel int i = 0; i < c.length; i++) {
+            c[i] = alpha * a[i] + b[i];
+        }
+    }
+
+    public static void vectorAddInt(int[] a, int[] b, int[] c) {
+        for (@Parallel int i = 0; i < c.length; i++) {
+            c[i] = a[i] + b[i];
+        }
+    }
+
+    public static void vectorDivDouble(double[] a, double[] b, double[] c) {
+        for (@Parallel int i = 0; i < c.length; i++) {
+            c[i] = a[i] / b[i] - a[i];
+        }
+    }
+
+    /**
+     * Updates the array in place, so an element processed twice is detected.
+     */
+    public static void scaleInPlace(float[] a, float alpha) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            a[i] = a[i] * alpha;
+        }
+    }
+
+    private static float[] createRandomFloats(int size, Random r) {
+        float[] array = new float[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = r.nextFloat();
+        }
+        return array;
+    }
+
+    private static void execute(TaskGraph taskGraph) {
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+    }
+
+    private static void runSaxpy(int size) {
+        Random r = new Random(size);
+        float[] a = createRandomFloats(size, r);
+        float[] b = createRandomFloats(size, r);
+        float[] c = new float[size];
+        final float alpha = 2.5f;
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestLoopVectorization::saxpy, alpha, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+        execute(taskGraph);
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(alpha * a[i] + b[i], c[i], 0.001f);
+        }
+    }
+
+    private static void runVectorAddInt(int size) {
+        int[] a = new int[size];
+        int[] b = new int[size];
+        int[] c = new int[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = i;
+            b[i] = size - 2 * i;
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestLoopVectorization::vectorAddInt, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+        execute(taskGraph);
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(a[i] + b[i], c[i]);
+        }
+    }
+
+    private static void runVectorDivDouble(int size) {
+        double[] a = new double[size];
+        double[] b = new double[size];
+        double[] c = new double[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = i + 1;
+            b[i] = (i % 7) + 1;
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestLoopVectorization::vectorDivDouble, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+        execute(taskGraph);
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(a[i] / b[i] - a[i], c[i], 0.001);
+        }
+    }
+
+    private static void runScaleInPlace(int size) {
+        float[] a = createRandomFloats(size, new Random(size));
+        float[] expected = a.clone();
+        final float alpha = 3.0f;
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestLoopVectorization::scaleInPlace, a, alpha) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+        execute(taskGraph);
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected[i] * alpha, a[i], 0.001f);
+        }
+    }
+
+    @Test
+    public void testSaxpyDivisible() {
+        runSaxpy(DIVISIBLE_SIZE);
+    }
+
+    @Test
+    public void testSaxpyNonDivisible() {
+        runSaxpy(NON_DIVISIBLE_SIZE);
+    }
+
+    @Test
+    public void testVectorAddIntDivisible() {
+        runVectorAddInt(DIVISIBLE_SIZE);
+    }
+
+    @Test
+    public void testVectorAddIntNonDivisible() {
+        runVectorAddInt(NON_DIVISIBLE_SIZE);
+    }
+
+    @Test
+    public void testVectorDivDoubleDivisible() {
+        runVectorDivDouble(DIVISIBLE_SIZE);
+    }
+
+    @Test
+    public void testVectorDivDoubleNonDivisible() {
+        runVectorDivDouble(NON_DIVISIBLE_SIZE);
+    }
+
+    @Test
+    public void testScaleInPlaceDivisible() {
+        runScaleInPlace(DIVISIBLE_SIZE);
+    }
+
+    @Test
+    public void testScaleInPlaceNonDivisible() {
+        runScaleInPlace(NON_DIVISIBLE_SIZE);
+    }
+
+    /**
+     * Fewer elements than the widest vector: the remainder must not exceed the
+     * number of vector threads.
+     */
+    @Test
+    public void testSmallNonDivisible() {
+        runSaxpy(7);
+        runScaleInPlace(13);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.matrices;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DDouble;
+import uk.ac.manchester.tornado.api.collections.types.Matrix2DFloat;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.matrix.GemmTiling;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests the GEMM kernels of {@link uk.ac.manchester.tornado.matrix.BlasKernels}
+ * for each {@link GemmTiling} against a sequential reference.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.matrices.TestBlasKernels
+ * </code>
+ */
+public class TestBlasKernels extends TornadoTestBase {
+
+    // Multiples of 32, with a different size for each dimension
+    private static final int M = 64;
+    private static final int N = 96;
+    private static final int K = 128;
+
+    private static final String TILING_PROPERTY = "tornado.blas.tiling";
+
+    private static Matrix2DFloat createRandomMatrixFloat(int rows, int columns, Random r) {
+        Matrix2DFloat matrix = new Matrix2DFloat(rows, columns);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                matrix.set(i, j, r.nextFloat());
+            }
+        }
+        return matrix;
+    }
+
+    private static Matrix2DDouble createRandomMatrixDouble(int rows, int columns, Random r) {
+        Matrix2DDouble matrix = new Matrix2DDouble(rows, columns);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                matrix.set(i, j, r.nextDouble());
+            }
+        }
+        return matrix;
+    }
+
+    private static void sgemmReference(float alpha, Matrix2DFloat a, Matrix2DFloat b, float beta, Matrix2DFloat c) {
+        for (int i = 0; i < c.getNumRows(); i++) {
+            for (int j = 0; j < c.getNumColumns(); j++) {
+                float sum = 0.0f;
+                for (int k = 0; k < a.getNumColumns(); k++) {
+                    sum += a.get(i, k) * b.get(k, j);
+                }
+                c.set(i, j, alpha * sum + beta * c.get(i, j));
+            }
+        }
+    }
+
+    private static void dgemmReference(double alpha, Matrix2DDouble a, Matrix2DDouble b, double beta, Matrix2DDouble c) {
+        for (int i = 0; i < c.getNumRows(); i++) {
+            for (int j = 0; j < c.getNumColumns(); j++) {
+                double sum = 0.0;
+                for (int k = 0; k < a.getNumColumns(); k++) {
+                    sum += a.get(i, k) * b.get(k, j);
+                }
+                c.set(i, j, alpha * sum + beta * c.get(i, j));
+            }
+        }
+    }
+
+    private static void execute(TaskGraph taskGraph, GemmTiling tiling) {
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        if (tiling != GemmTiling.NONE) {
+            executionPlan.withGridScheduler(new GridScheduler("s0.t0", tiling.createWorkerGrid(M, N)));
+        }
+        executionPlan.execute();
+    }
+
+    private static void runSgemm(GemmTiling tiling) {
+        Random r = new Random(31);
+        Matrix2DFloat a = createRandomMatrixFloat(M, K, r);
+        Matrix2DFloat b = createRandomMatrixFloat(K, N, r);
+        Matrix2DFloat c = createRandomMatrixFloat(M, N, r);
+        Matrix2DFloat expected = c.duplicate();
+        final float alpha = 1.5f;
+        final float beta = 0.5f;
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b, c);
+        tiling.addSgemm(taskGraph, "t0", alpha, a, b, beta, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+        execute(taskGraph, tiling);
+
+        sgemmReference(alpha, a, b, beta, expected);
+        for (int i = 0; i < M; i++) {
+            for (int j = 0; j < N; j++) {
+                assertEquals(expected.get(i, j), c.get(i, j), 0.01f);
+            }
+        }
+    }
+
+    private static void runDgemm(GemmTiling tiling) {
+        Random r = new Random(31);
+        Matrix2DDouble a = createRandomMatrixDouble(M, K, r);
+        Matrix2DDouble b = createRandomMatrixDouble(K, N, r);
+        Matrix2DDouble c = createRandomMatrixDouble(M, N, r);
+        Matrix2DDouble expected = c.duplicate();
+        final double alpha = 1.5;
+        final double beta = 0.5;
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b, c);
+        tiling.addDgemm(taskGraph, "t0", alpha, a, b, beta, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+        execute(taskGraph, tiling.forDoublePrecision());
+
+        dgemmReference(alpha, a, b, beta, expected);
+        for (int i = 0; i < M; i++) {
+            for (int j = 0; j < N; j++) {
+                assertEquals(expected.get(i, j), c.get(i, j), 0.0001);
+            }
+        }
+    }
+
+    @Test
+    public void testSgemm() {
+        runSgemm(GemmTiling.NONE);
+    }
+
+    @Test
+    public void testSgemmTiled16() {
+        runSgemm(GemmTiling.TILE_16);
+    }
+
+    @Test
+    public void testSgemmTiled32() {
+        runSgemm(GemmTiling.TILE_32);
+    }
+
+    @Test
+    public void testDgemm() {
+        runDgemm(GemmTiling.NONE);
+    }
+
+    @Test
+    public void testDgemmTiled16() {
+        runDgemm(GemmTiling.TILE_16);
+    }
+
+    /**
+     * {@link GemmTiling#TILE_32} has no double-precision kernel and runs the
+     * {@link GemmTiling#TILE_16} one.
+     */
+    @Test
+    public void testDgemmTiled32() {
+        assertEquals(GemmTiling.TILE_16, GemmTiling.TILE_32.forDoublePrecision());
+        runDgemm(GemmTiling.TILE_32);
+    }
+
+    @Test
+    public void testForcedTiling() {
+        TornadoDevice device = TornadoRuntime.getTornadoRuntime().getDefaultDevice();
+        String previous = System.getProperty(TILING_PROPERTY);
+        try {
+            System.clearProperty(TILING_PROPERTY);
+            GemmTiling selected = GemmTiling.select(device, M, N, K, false);
+            GemmTiling selectedNotDivisible = GemmTiling.select(device, M + 16, N, K, false);
+
+            System.setProperty(TILING_PROPERTY, "tile_32");
+            assertEquals(GemmTiling.TILE_32, GemmTiling.select(device, M, N, K, false));
+            assertEquals(GemmTiling.TILE_16, GemmTiling.select(device, M, N, K, true));
+
+            // Unknown values and tiles that do not divide the shape are ignored
+            System.setProperty(TILING_PROPERTY, "TILE_64");
+            assertEquals(selected, GemmTiling.select(device, M, N, K, false));
+            System.setProperty(TILING_PROPERTY, "TILE_32");
+            assertEquals(selectedNotDivisible, GemmTiling.select(device, M + 16, N, K, false));
+        } finally {
+            if (previous == null) {
+                System.clearProperty(TILING_PROPERTY);
+            } else {
+                System.setProperty(TILING_PROPERTY, previous);
+            }
+        }
+    }
+}
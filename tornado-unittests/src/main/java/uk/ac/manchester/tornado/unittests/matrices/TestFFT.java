@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.matrices;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.matrix.FFTKernels;
+import uk.ac.manchester.tornado.matrix.FFTPlan;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests {@link FFTPlan} and {@link FFTKernels} against a direct DFT computed
+ * in double precision. The sizes cover the radix-4, radix-2 and odd prime
+ * stages, and the local-memory kernel on the devices that support it.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.matrices.TestFFT
+ * </code>
+ */
+public class TestFFT extends TornadoTestBase {
+
+    private static float[] createSignal(int length) {
+        Random r = new Random(length);
+        float[] signal = new float[length];
+        for (int i = 0; i < length; i++) {
+            signal[i] = r.nextFloat() - 0.5f;
+        }
+        return signal;
+    }
+
+    /**
+     * Direct DFT of {@code batch} rows of {@code n} interleaved complex
+     * elements, where element {@code i} of row {@code b} is at
+     * {@code offset + b * batchStride + i * stride}.
+     */
+    private static void dft(double[] data, int n, int batch, int batchStride, int stride, float sign) {
+        double[] row = new double[2 * n];
+        for (int b = 0; b < batch; b++) {
+            int base = b * batchStride;
+            for (int i = 0; i < n; i++) {
+                row[2 * i] = data[2 * (base + i * stride)];
+                row[2 * i + 1] = data[2 * (base + i * stride) + 1];
+            }
+            for (int k = 0; k < n; k++) {
+                double re = 0.0;
+                double im = 0.0;
+                for (int j = 0; j < n; j++) {
+                    double angle = sign * 2.0 * Math.PI * ((long) j * k % n) / n;
+                    double cos = Math.cos(angle);
+                    double sin = Math.sin(angle);
+                    re += row[2 * j] * cos - row[2 * j + 1] * sin;
+                    im += row[2 * j] * sin + row[2 * j + 1] * cos;
+                }
+                data[2 * (base + k * stride)] = re;
+                data[2 * (base + k * stride) + 1] = im;
+            }
+        }
+    }
+
+    /**
+     * Reference of {@code batch} 2D transforms of {@code rows x cols} complex
+     * elements in row-major order; inverse transforms are normalised.
+     */
+    private static float[] reference(float[] input, int rows, int cols, int batch, FFTPlan.Direction direction) {
+        double[] data = new double[input.length];
+        for (int i = 0; i < input.length; i++) {
+            data[i] = input[i];
+        }
+        float sign = direction.getSign();
+        dft(data, cols, batch * rows, cols, 1, sign);
+        for (int b = 0; b < batch; b++) {
+            double[] matrix = new double[2 * rows * cols];
+            System.arraycopy(data, 2 * b * rows * cols, matrix, 0, matrix.length);
+            dft(matrix, rows, cols, 1, cols, sign);
+            System.arraycopy(matrix, 0, data, 2 * b * rows * cols, matrix.length);
+        }
+
+        float[] output = new float[input.length];
+        double scale = (direction == FFTPlan.Direction.INVERSE) ? 1.0 / (rows * cols) : 1.0;
+        for (int i = 0; i < output.length; i++) {
+            output[i] = (float) (data[i] * scale);
+        }
+        return output;
+    }
+
+    private static void assertTransform(float[] expected, float[] actual, int size) {
+        // The error of the float transform grows with the size
+        final float delta = 1e-4f * size;
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], delta);
+        }
+    }
+
+    private static void runJava(FFTPlan plan) {
+        float[] input = createSignal(plan.getLength());
+        float[] original = input.clone();
+        float[] output = new float[plan.getLength()];
+
+        plan.execute(input, output);
+
+        float[] expected = reference(input, plan.getRows(), plan.getColumns(), plan.getBatch(), plan.getDirection());
+        assertTransform(expected, output, plan.getRows() * plan.getColumns());
+        assertTransform(original, input, 0);
+    }
+
+    private static void runTornado(FFTPlan plan) {
+        float[] input = createSignal(plan.getLength());
+        float[] output = new float[plan.getLength()];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        plan.addTasks(taskGraph, "fft", input, output);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        GridScheduler gridScheduler = plan.createGridScheduler("s0", "fft");
+        if (gridScheduler != null) {
+            executionPlan.withGridScheduler(gridScheduler);
+        }
+        executionPlan.execute();
+
+        float[] expected = reference(input, plan.getRows(), plan.getColumns(), plan.getBatch(), plan.getDirection());
+        assertTransform(expected, output, plan.getRows() * plan.getColumns());
+    }
+
+    private static TornadoDevice getDefaultDevice() {
+        return TornadoRuntime.getTornadoRuntime().getDefaultDevice();
+    }
+
+    /**
+     * Sizes with radix-4, radix-2, odd prime and mixed stages, and the size 1.
+     */
+    @Test
+    public void testJava1D() {
+        final int[] sizes = { 1, 2, 8, 16, 15, 14, 49, 1000 };
+        for (int size : sizes) {
+            runJava(FFTPlan.create1D(null, size, 3, FFTPlan.Direction.FORWARD));
+            runJava(FFTPlan.create1D(null, size, 3, FFTPlan.Direction.INVERSE));
+        }
+    }
+
+    @Test
+    public void testJava2D() {
+        runJava(FFTPlan.create2D(null, 6, 8, 2, FFTPlan.Direction.FORWARD));
+        runJava(FFTPlan.create2D(null, 5, 1, 2, FFTPlan.Direction.FORWARD));
+        runJava(FFTPlan.create2D(null, 16, 9, 1, FFTPlan.Direction.INVERSE));
+    }
+
+    /**
+     * Power-of-two rows, which use the local-memory kernel on GPUs.
+     */
+    @Test
+    public void testFFT1DPowerOfTwo() {
+        runTornado(FFTPlan.create1D(getDefaultDevice(), 256, 8, FFTPlan.Direction.FORWARD));
+        runTornado(FFTPlan.create1D(getDefaultDevice(), FFTKernels.MAX_LOCAL_SIZE, 2, FFTPlan.Direction.INVERSE));
+    }
+
+    /**
+     * Rows of the global radix-4, radix-2 and odd prime stages.
+     */
+    @Test
+    public void testFFT1DMixedRadix() {
+        runTornado(FFTPlan.create1D(getDefaultDevice(), 1000, 4, FFTPlan.Direction.FORWARD));
+        runTornado(FFTPlan.create1D(getDefaultDevice(), 2 * FFTKernels.MAX_LOCAL_SIZE, 1, FFTPlan.Direction.FORWARD));
+    }
+
+    @Test
+    public void testFFT2D() {
+        runTornado(FFTPlan.create2D(getDefaultDevice(), 32, 64, 2, FFTPlan.Direction.FORWARD));
+        runTornado(FFTPlan.create2D(getDefaultDevice(), 12, 10, 3, FFTPlan.Direction.INVERSE));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final int size = 512;
+        final int batch = 4;
+        FFTPlan forward = FFTPlan.create1D(getDefaultDevice(), size, batch, FFTPlan.Direction.FORWARD);
+        FFTPlan inverse = FFTPlan.create1D(getDefaultDevice(), size, batch, FFTPlan.Direction.INVERSE);
+        float[] signal = createSignal(forward.getLength());
+        float[] spectrum = new float[forward.getLength()];
+        float[] result = new float[forward.getLength()];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, signal);
+        forward.addTasks(taskGraph, "forward", signal, spectrum);
+        inverse.addTasks(taskGraph, "inverse", spectrum, result);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        if (forward.usesLocalMemory()) {
+            GridScheduler gridScheduler = new GridScheduler();
+            forward.setWorkerGrids(gridScheduler, "s0", "forward");
+            inverse.setWorkerGrids(gridScheduler, "s0", "inverse");
+            executionPlan.withGridScheduler(gridScheduler);
+        }
+        executionPlan.execute();
+
+        for (int i = 0; i < signal.length; i++) {
+            assertEquals(signal[i], result[i], 1e-4f);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.matrices;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.matrix.GraphAnalytics;
+import uk.ac.manchester.tornado.matrix.GraphKernels;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests the graph primitives of {@link GraphAnalytics} against the sequential
+ * host versions, on a random power-law graph and on a small graph with
+ * unreachable vertices and several components.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.matrices.TestGraphAnalytics
+ * </code>
+ */
+public class TestGraphAnalytics extends TornadoTestBase {
+
+    private static final int SIZE = 2048;
+    private static final float DAMPING = 0.85f;
+    private static final float TOLERANCE = 1e-6f;
+    private static final int MAX_ITERATIONS = 100;
+
+    private static final String STEPS_PROPERTY = "tornado.graph.steps";
+
+    /**
+     * Graph of 10 vertices with the weighted edges {@code {from, to, weight}}.
+     * Vertices 0-4 form a directed chain with a shortcut, 5-7 a cycle, 8 only
+     * has an edge to 9, and 9 is only reachable from 8.
+     */
+    private static final int[][] EDGES = { { 0, 1, 4 }, { 0, 2, 1 }, { 2, 1, 1 }, { 1, 3, 2 }, { 3, 4, 7 }, { 2, 4, 10 }, { 5, 6, 1 }, { 6, 7, 1 }, { 7, 5, 1 }, { 8, 9, 3 } };
+    private static final int EDGES_SIZE = 10;
+
+    private static CSRMatrix<float[]> createGraph() {
+        CSRMatrix<float[]> graph = new CSRMatrix<>();
+        graph.size = EDGES_SIZE;
+        graph.n = EDGES.length;
+        graph.rows = new int[EDGES_SIZE + 1];
+        graph.cols = new int[EDGES.length];
+        graph.vals = new float[EDGES.length];
+        for (int[] edge : EDGES) {
+            graph.rows[edge[0] + 1]++;
+        }
+        for (int v = 0; v < EDGES_SIZE; v++) {
+            graph.rows[v + 1] += graph.rows[v];
+        }
+        int[] next = graph.rows.clone();
+        for (int[] edge : EDGES) {
+            int position = next[edge[0]]++;
+            graph.cols[position] = edge[1];
+            graph.vals[position] = edge[2];
+        }
+        return graph;
+    }
+
+    private static CSRMatrix<float[]> createPowerLawGraph() {
+        return GraphAnalytics.symmetrize(SparseMatrixUtils.generateMatrixF(SIZE, 8, true, 7));
+    }
+
+    private static TornadoDevice getDefaultDevice() {
+        return TornadoRuntime.getTornadoRuntime().getDefaultDevice();
+    }
+
+    private static void assertRanks(float[] expected, float[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], 1e-3f * Math.max(1.0f, Math.abs(expected[i])));
+        }
+    }
+
+    /**
+     * Checks the host references on the small graph.
+     */
+    @Test
+    public void testHostReferences() {
+        CSRMatrix<float[]> graph = createGraph();
+        final int u = GraphKernels.UNVISITED;
+        final float inf = Float.POSITIVE_INFINITY;
+
+        assertArrayEquals(new int[] { 0, 1, 1, 2, 2, u, u, u, u, u }, GraphAnalytics.bfsHost(graph, 0));
+        assertArrayEquals(new float[] { 0, 2, 1, 4, 11, inf, inf, inf, inf, inf }, GraphAnalytics.ssspHost(graph, 0), 0.0f);
+        assertArrayEquals(new int[] { 0, 0, 0, 0, 0, 5, 5, 5, 8, 8 }, GraphAnalytics.connectedComponentsHost(GraphAnalytics.symmetrize(graph)));
+    }
+
+    @Test
+    public void testBFS() {
+        CSRMatrix<float[]> graph = createGraph();
+        for (int source : new int[] { 0, 5, 8, 9 }) {
+            assertArrayEquals(GraphAnalytics.bfsHost(graph, source), GraphAnalytics.bfs(getDefaultDevice(), graph, source));
+        }
+
+        graph = createPowerLawGraph();
+        assertArrayEquals(GraphAnalytics.bfsHost(graph, 0), GraphAnalytics.bfs(getDefaultDevice(), graph, 0));
+    }
+
+    @Test
+    public void testSSSP() {
+        CSRMatrix<float[]> graph = createGraph();
+        assertArrayEquals(GraphAnalytics.ssspHost(graph, 0), GraphAnalytics.sssp(getDefaultDevice(), graph, 0), 1e-4f);
+
+        graph = createPowerLawGraph();
+        assertArrayEquals(GraphAnalytics.ssspHost(graph, 0), GraphAnalytics.sssp(getDefaultDevice(), graph, 0), 1e-4f);
+    }
+
+    @Test
+    public void testPageRank() {
+        CSRMatrix<float[]> graph = createGraph();
+        assertRanks(GraphAnalytics.pageRankHost(graph, DAMPING, TOLERANCE, MAX_ITERATIONS), GraphAnalytics.pageRank(getDefaultDevice(), graph, DAMPING, TOLERANCE, MAX_ITERATIONS));
+
+        graph = createPowerLawGraph();
+        assertRanks(GraphAnalytics.pageRankHost(graph, DAMPING, TOLERANCE, MAX_ITERATIONS), GraphAnalytics.pageRank(getDefaultDevice(), graph, DAMPING, TOLERANCE, MAX_ITERATIONS));
+    }
+
+    @Test
+    public void testConnectedComponents() {
+        CSRMatrix<float[]> graph = GraphAnalytics.symmetrize(createGraph());
+        assertArrayEquals(GraphAnalytics.connectedComponentsHost(graph), GraphAnalytics.connectedComponents(getDefaultDevice(), graph));
+
+        graph = createPowerLawGraph();
+        assertArrayEquals(GraphAnalytics.connectedComponentsHost(graph), GraphAnalytics.connectedComponents(getDefaultDevice(), graph));
+    }
+
+    /**
+     * With two steps per launch, the searches need several launches.
+     */
+    @Test
+    public void testSeveralLaunches() {
+        String previous = System.getProperty(STEPS_PROPERTY);
+        try {
+            System.setProperty(STEPS_PROPERTY, "2");
+            CSRMatrix<float[]> graph = createPowerLawGraph();
+            assertArrayEquals(GraphAnalytics.bfsHost(graph, 0), GraphAnalytics.bfs(getDefaultDevice(), graph, 0));
+            assertArrayEquals(GraphAnalytics.connectedComponentsHost(graph), GraphAnalytics.connectedComponents(getDefaultDevice(), graph));
+        } finally {
+            if (previous == null) {
+                System.clearProperty(STEPS_PROPERTY);
+            } else {
+                System.setProperty(STEPS_PROPERTY, previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.matrices;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.matrix.SparseMatrixKernels;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.CSRMatrix;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.ELLMatrix;
+import uk.ac.manchester.tornado.matrix.SparseMatrixUtils.SELLMatrix;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests the SpMV and SpMM kernels of {@link SparseMatrixKernels} against a
+ * dense reference. The matrix has empty rows, rows longer than
+ * {@link SparseMatrixKernels#VECTOR_WIDTH} and a size that is not a multiple
+ * of the SELL-C-sigma chunk.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.matrices.TestSparseMatrices
+ * </code>
+ */
+public class TestSparseMatrices extends TornadoTestBase {
+
+    private static final int SIZE = 257;
+    private static final int NUM_COLUMNS = 16;
+
+    /**
+     * Row-major dense matrix where every fifth row is empty, row 3 is full and
+     * the other rows have about 5% of non-zeros.
+     */
+    private static float[] createDenseMatrix() {
+        Random r = new Random(SIZE);
+        float[] dense = new float[SIZE * SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            if (i % 5 == 0) {
+                continue;
+            }
+            for (int j = 0; j < SIZE; j++) {
+                if (i == 3 || r.nextFloat() < 0.05f) {
+                    dense[i * SIZE + j] = r.nextFloat() + 0.5f;
+                }
+            }
+        }
+        return dense;
+    }
+
+    private static CSRMatrix<float[]> toCSR(float[] dense) {
+        CSRMatrix<float[]> csr = new CSRMatrix<>();
+        csr.size = SIZE;
+        csr.rows = new int[SIZE + 1];
+        for (int i = 0; i < SIZE; i++) {
+            int length = 0;
+            for (int j = 0; j < SIZE; j++) {
+                length += (dense[i * SIZE + j] != 0.0f) ? 1 : 0;
+            }
+            csr.rows[i + 1] = csr.rows[i] + length;
+        }
+        csr.n = csr.rows[SIZE];
+        csr.vals = new float[csr.n];
+        csr.cols = new int[csr.n];
+        int index = 0;
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                if (dense[i * SIZE + j] != 0.0f) {
+                    csr.vals[index] = dense[i * SIZE + j];
+                    csr.cols[index] = j;
+                    index++;
+                }
+            }
+        }
+        return csr;
+    }
+
+    private static float[] createVector(int length) {
+        Random r = new Random(length);
+        float[] x = new float[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = r.nextFloat();
+        }
+        return x;
+    }
+
+    /**
+     * Dense product of the {@code SIZE x SIZE} matrix {@code a} and the
+     * row-major matrix {@code b} with {@code numColumns} columns.
+     */
+    private static float[] multiplyDense(float[] a, float[] b, int numColumns) {
+        float[] c = new float[SIZE * numColumns];
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < numColumns; j++) {
+                float sum = 0.0f;
+                for (int k = 0; k < SIZE; k++) {
+                    sum += a[i * SIZE + k] * b[k * numColumns + j];
+                }
+                c[i * numColumns + j] = sum;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Fills the result with a sentinel value, so that rows that are not written
+     * are detected.
+     */
+    private static float[] createResult(int length) {
+        float[] y = new float[length];
+        for (int i = 0; i < length; i++) {
+            y[i] = -1.0f;
+        }
+        return y;
+    }
+
+    private static void execute(TaskGraph taskGraph, GridScheduler gridScheduler) {
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        if (gridScheduler != null) {
+            executionPlan.withGridScheduler(gridScheduler);
+        }
+        executionPlan.execute();
+    }
+
+    private static void assertResult(float[] expected, float[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], 0.01f);
+        }
+    }
+
+    @Test
+    public void testSpMVCSR() {
+        float[] dense = createDenseMatrix();
+        CSRMatrix<float[]> csr = toCSR(dense);
+        float[] x = createVector(SIZE);
+        float[] y = createResult(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, csr.vals, csr.cols, csr.rows, x) //
+                .task("t0", SparseMatrixKernels::spmvCSR, csr.vals, csr.cols, csr.rows, x, csr.size, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+        execute(taskGraph, null);
+
+        assertResult(multiplyDense(dense, x, 1), y);
+    }
+
+    @Test
+    public void testSpMVCSRVector() {
+        float[] dense = createDenseMatrix();
+        CSRMatrix<float[]> csr = toCSR(dense);
+        float[] x = createVector(SIZE);
+        float[] y = createResult(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, csr.vals, csr.cols, csr.rows, x) //
+                .task("t0", SparseMatrixKernels::spmvCSRVector, new KernelContext(), csr.vals, csr.cols, csr.rows, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+        execute(taskGraph, new GridScheduler("s0.t0", SparseMatrixKernels.csrVectorWorkerGrid(csr.size)));
+
+        assertResult(multiplyDense(dense, x, 1), y);
+    }
+
+    @Test
+    public void testSpMVELL() {
+        float[] dense = createDenseMatrix();
+        ELLMatrix<float[]> ell = SparseMatrixUtils.toELL(toCSR(dense));
+        float[] x = createVector(SIZE);
+        float[] y = createResult(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, ell.vals, ell.cols, x) //
+                .task("t0", SparseMatrixKernels::spmvELL, ell.vals, ell.cols, ell.width, ell.size, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+        execute(taskGraph, null);
+
+        assertResult(multiplyDense(dense, x, 1), y);
+    }
+
+    @Test
+    public void testSpMVSELL() {
+        float[] dense = createDenseMatrix();
+        SELLMatrix<float[]> sell = SparseMatrixUtils.toSELL(toCSR(dense), 32, 128);
+        float[] x = createVector(SIZE);
+        float[] y = createResult(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, sell.vals, sell.cols, sell.sliceOffsets, sell.sliceWidths, sell.rowPermutation, x) //
+                .task("t0", SparseMatrixKernels::spmvSELL, sell.vals, sell.cols, sell.sliceOffsets, sell.sliceWidths, sell.rowPermutation, sell.chunkSize, sell.size, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+        execute(taskGraph, null);
+
+        assertResult(multiplyDense(dense, x, 1), y);
+    }
+
+    @Test
+    public void testSpMMCSR() {
+        float[] dense = createDenseMatrix();
+        CSRMatrix<float[]> csr = toCSR(dense);
+        float[] b = createVector(SIZE * NUM_COLUMNS);
+        float[] c = createResult(SIZE * NUM_COLUMNS);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, csr.vals, csr.cols, csr.rows, b) //
+                .task("t0", SparseMatrixKernels::spmmCSR, csr.vals, csr.cols, csr.rows, b, csr.size, NUM_COLUMNS, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+        execute(taskGraph, null);
+
+        assertResult(multiplyDense(dense, b, NUM_COLUMNS), c);
+    }
+
+    @Test
+    public void testSpMMELL() {
+        float[] dense = createDenseMatrix();
+        ELLMatrix<float[]> ell = SparseMatrixUtils.toELL(toCSR(dense));
+        float[] b = createVector(SIZE * NUM_COLUMNS);
+        float[] c = createResult(SIZE * NUM_COLUMNS);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, ell.vals, ell.cols, b) //
+                .task("t0", SparseMatrixKernels::spmmELL, ell.vals, ell.cols, ell.width, b, ell.size, NUM_COLUMNS, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+        execute(taskGraph, null);
+
+        assertResult(multiplyDense(dense, b, NUM_COLUMNS), c);
+    }
+
+    /**
+     * The Java versions of the kernels must handle empty rows as well.
+     */
+    @Test
+    public void testSpMVJava() {
+        float[] dense = createDenseMatrix();
+        CSRMatrix<float[]> csr = toCSR(dense);
+        float[] x = createVector(SIZE);
+        float[] expected = multiplyDense(dense, x, 1);
+
+        float[] y = createResult(SIZE);
+        SparseMatrixKernels.spmv(csr, x, y);
+        assertResult(expected, y);
+
+        y = createResult(SIZE);
+        SparseMatrixKernels.spmv(SparseMatrixUtils.toELL(csr), x, y);
+        assertResult(expected, y);
+
+        y = createResult(SIZE);
+        SparseMatrixKernels.spmv(SparseMatrixUtils.toSELL(csr, 32, 128), x, y);
+        assertResult(expected, y);
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.prefixsum;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.collections.primitives.ParallelScan;
+import uk.ac.manchester.tornado.api.collections.primitives.StreamCompaction;
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorInt;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.ScanMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.prefixsum.TestPrefixSum
+ * </code>
+ */
+public class TestPrefixSum extends TornadoTestBase {
+
+    // Not a multiple of the work-group size, so the last group is incomplete
+    private static final int SIZE = 4099;
+
+    // Three levels of group totals
+    private static final int LARGE_SIZE = ParallelScan.GROUP_SIZE * ParallelScan.GROUP_SIZE + 3;
+
+    @Test
+    public void testInclusiveScanInt() {
+        int[] input = new int[SIZE];
+        int[] output = new int[SIZE];
+        Random r = new Random();
+        for (int i = 0; i < SIZE; i++) {
+            input[i] = r.nextInt(100);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .prefixSum("scan", input, output, ScanMode.INCLUSIVE) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        int[] sequential = new int[SIZE];
+        ParallelScan.prefixSumHost(input, sequential, ScanMode.INCLUSIVE);
+
+        assertArrayEquals(sequential, output);
+    }
+
+    @Test
+    public void testExclusiveScanIntLarge() {
+        int[] input = new int[LARGE_SIZE];
+        int[] output = new int[LARGE_SIZE];
+        Random r = new Random();
+        for (int i = 0; i < LARGE_SIZE; i++) {
+            input[i] = r.nextInt(100);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .prefixSum("scan", input, output, ScanMode.EXCLUSIVE) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        int[] sequential = new int[LARGE_SIZE];
+        ParallelScan.prefixSumHost(input, sequential, ScanMode.EXCLUSIVE);
+
+        assertArrayEquals(sequential, output);
+    }
+
+    @Test
+    public void testInclusiveScanFloatHost() {
+        float[] input = new float[LARGE_SIZE * 4];
+        float[] output = new float[input.length];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = i % 8;
+        }
+
+        ParallelScan.prefixSumHost(input, output, ScanMode.INCLUSIVE);
+
+        // Small integer values keep the sums exact
+        float acc = 0;
+        for (int i = 0; i < input.length; i++) {
+            acc += input[i];
+            assertEquals(acc, output[i], 0.0f);
+        }
+    }
+
+    @Test
+    public void testExclusiveScanLong() {
+        long[] input = new long[SIZE];
+        long[] output = new long[SIZE];
+        Random r = new Random();
+        for (int i = 0; i < SIZE; i++) {
+            input[i] = r.nextInt(1000);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .prefixSum("scan", input, output, ScanMode.EXCLUSIVE) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        long[] sequential = new long[SIZE];
+        ParallelScan.prefixSumHost(input, sequential, ScanMode.EXCLUSIVE);
+
+        assertEquals(0, output[0]);
+        assertArrayEquals(sequential, output);
+    }
+
+    @Test
+    public void testInPlaceScanDouble() {
+        double[] data = new double[SIZE];
+        double[] sequential = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            data[i] = 1.0;
+        }
+
+        ParallelScan.prefixSumHost(data, sequential, ScanMode.INCLUSIVE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, data) //
+                .prefixSum("scan", data, data, ScanMode.INCLUSIVE) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, data);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        assertArrayEquals(sequential, data, 0.01);
+    }
+
+    @Test
+    public void testScanVectorFloat() {
+        VectorFloat input = new VectorFloat(SIZE);
+        VectorFloat output = new VectorFloat(SIZE);
+        float[] expected = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, 0.5f);
+            expected[i] = 0.5f;
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .prefixSum("scan", input, output, ScanMode.INCLUSIVE) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        ParallelScan.prefixSumHost(expected, expected, ScanMode.INCLUSIVE);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(expected[i], output.get(i), 0.01f);
+        }
+    }
+
+    @Test
+    public void testCompaction() {
+        int[] input = new int[SIZE];
+        int[] flags = new int[SIZE];
+        int[] output = new int[SIZE];
+        int[] count = new int[1];
+        for (int i = 0; i < SIZE; i++) {
+            input[i] = i;
+            flags[i] = (i % 3 == 0) ? 1 : 0;
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, flags) //
+                .compact("compact", input, flags, output, count) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output, count);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        int[] sequential = new int[SIZE];
+        int expectedCount = StreamCompaction.compactHost(input, flags, sequential);
+
+        assertEquals(expectedCount, count[0]);
+        for (int i = 0; i < expectedCount; i++) {
+            assertEquals(sequential[i], output[i]);
+        }
+    }
+
+    @Test
+    public void testCompactionFloat() {
+        float[] input = new float[LARGE_SIZE];
+        int[] flags = new int[LARGE_SIZE];
+        float[] output = new float[LARGE_SIZE];
+        int[] count = new int[1];
+        Random r = new Random();
+        for (int i = 0; i < LARGE_SIZE; i++) {
+            input[i] = r.nextFloat();
+            flags[i] = (input[i] > 0.5f) ? 1 : 0;
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, flags) //
+                .compact("compact", input, flags, output, count) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output, count);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        float[] sequential = new float[LARGE_SIZE];
+        int expectedCount = StreamCompaction.compactHost(input, flags, sequential);
+
+        assertEquals(expectedCount, count[0]);
+        for (int i = 0; i < expectedCount; i++) {
+            assertEquals(sequential[i], output[i], 0.0f);
+        }
+    }
+
+    @Test
+    public void testCompactionVectorFloat() {
+        VectorFloat input = new VectorFloat(SIZE);
+        int[] flags = new int[SIZE];
+        VectorFloat output = new VectorFloat(SIZE);
+        int[] count = new int[1];
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, i * 0.5f);
+            flags[i] = (i % 5 == 0) ? 1 : 0;
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, flags) //
+                .compact("compact", input, flags, output, count) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output, count);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        VectorFloat sequential = new VectorFloat(SIZE);
+        int expectedCount = StreamCompaction.compactHost(input, flags, sequential);
+
+        assertEquals(expectedCount, count[0]);
+        for (int i = 0; i < expectedCount; i++) {
+            assertEquals(sequential.get(i), output.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testCompactionVectorInt() {
+        VectorInt input = new VectorInt(SIZE);
+        int[] flags = new int[SIZE];
+        VectorInt output = new VectorInt(SIZE);
+        int[] count = new int[1];
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, i);
+            flags[i] = (i % 2 == 0) ? 1 : 0;
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, flags) //
+                .compact("compact", input, flags, output, count) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output, count);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        VectorInt sequential = new VectorInt(SIZE);
+        int expectedCount = StreamCompaction.compactHost(input, flags, sequential);
+
+        assertEquals(expectedCount, count[0]);
+        for (int i = 0; i < expectedCount; i++) {
+            assertEquals(sequential.get(i), output.get(i));
+        }
+    }
+
+}
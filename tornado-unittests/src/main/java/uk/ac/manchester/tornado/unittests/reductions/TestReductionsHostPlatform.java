@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.reductions;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Smoke tests of the OpenCL host platform, which runs the generated kernels on
+ * the CPU cores. They run a reduction with {@link Reduce}, and a reduction in
+ * local memory with barriers, which runs the work-items of a group as fibers.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.opencl.host=True" uk.ac.manchester.tornado.unittests.reductions.TestReductionsHostPlatform
+ * </code>
+ */
+public class TestReductionsHostPlatform extends TornadoTestBase {
+
+    private static final String HOST_PLATFORM_NAME = "TornadoVM Host";
+    private static final int SIZE = 8192;
+    private static final int LOCAL_SIZE = 64;
+
+    private static void reductionAddFloats(float[] input, @Reduce float[] result) {
+        result[0] = 0.0f;
+        for (@Parallel int i = 0; i < input.length; i++) {
+            result[0] += input[i];
+        }
+    }
+
+    private static void reductionMaxInts(int[] input, @Reduce int[] result) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            result[0] = Math.max(result[0], input[i]);
+        }
+    }
+
+    private static void reductionAddLocalMemory(KernelContext context, float[] input, float[] partialSums) {
+        int localIdx = context.localIdx;
+        int localGroupSize = context.localGroupSizeX;
+        float[] localSums = context.allocateFloatLocalArray(LOCAL_SIZE);
+        localSums[localIdx] = input[context.globalIdx];
+        for (int stride = localGroupSize / 2; stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localSums[localIdx] += localSums[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            partialSums[context.groupIdx] = localSums[0];
+        }
+    }
+
+    /**
+     * The tests only make sense when the OpenCL backend has loaded the host
+     * platform.
+     */
+    private void assertHostPlatform() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+        assertEquals("run with -Dtornado.opencl.host=True", HOST_PLATFORM_NAME, TornadoRuntime.getTornadoRuntime().getDefaultDevice().getPlatformName());
+    }
+
+    private static float[] createInput() {
+        Random r = new Random(SIZE);
+        float[] input = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            input[i] = r.nextFloat();
+        }
+        return input;
+    }
+
+    @Test
+    public void testSumFloats() {
+        assertHostPlatform();
+        float[] input = createInput();
+        float[] result = new float[1];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsHostPlatform::reductionAddFloats, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+        new TornadoExecutionPlan(taskGraph.snapshot()).execute();
+
+        float[] sequential = new float[1];
+        reductionAddFloats(input, sequential);
+        assertEquals(sequential[0], result[0], 0.1f);
+    }
+
+    @Test
+    public void testMaxInts() {
+        assertHostPlatform();
+        Random r = new Random(SIZE);
+        int[] input = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            input[i] = r.nextInt(100000);
+        }
+        int[] result = new int[] { Integer.MIN_VALUE };
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsHostPlatform::reductionMaxInts, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+        new TornadoExecutionPlan(taskGraph.snapshot()).execute();
+
+        int[] sequential = new int[] { Integer.MIN_VALUE };
+        reductionMaxInts(input, sequential);
+        assertEquals(sequential[0], result[0]);
+    }
+
+    @Test
+    public void testSumLocalMemory() {
+        assertHostPlatform();
+        float[] input = createInput();
+        float[] partialSums = new float[SIZE / LOCAL_SIZE];
+
+        WorkerGrid worker = new WorkerGrid1D(SIZE);
+        worker.setLocalWork(LOCAL_SIZE, 1, 1);
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsHostPlatform::reductionAddLocalMemory, new KernelContext(), input, partialSums) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, partialSums);
+        new TornadoExecutionPlan(taskGraph.snapshot()).withGridScheduler(new GridScheduler("s0.t0", worker)).execute();
+
+        for (int group = 0; group < partialSums.length; group++) {
+            float expected = 0.0f;
+            for (int i = group * LOCAL_SIZE; i < (group + 1) * LOCAL_SIZE; i++) {
+                expected += input[i];
+            }
+            assertEquals(expected, partialSums[group], 0.01f);
+        }
+    }
+}
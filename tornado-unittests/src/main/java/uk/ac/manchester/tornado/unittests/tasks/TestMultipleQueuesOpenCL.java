@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.tasks;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Runs task-graphs on an OpenCL device with several command queues. With three
+ * queues, the kernels, the host-to-device copies and the device-to-host copies
+ * are issued on different queues, so each task reads buffers written by
+ * commands of another queue.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.opencl.queues=3" uk.ac.manchester.tornado.unittests.tasks.TestMultipleQueuesOpenCL
+ * </code>
+ */
+public class TestMultipleQueuesOpenCL extends TornadoTestBase {
+
+    private static final int SIZE = 1 << 20;
+    private static final int ITERATIONS = 16;
+
+    public static void scale(float[] input, float[] output) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            output[i] = input[i] * 2.0f;
+        }
+    }
+
+    public static void add(float[] a, float[] b, float[] c) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            c[i] = a[i] + b[i];
+        }
+    }
+
+    private void assertOpenCLBackend() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+    }
+
+    private static void fill(float[] array, int iteration) {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (i % 1024) + iteration;
+        }
+    }
+
+    /**
+     * The input is copied on the host-to-device queue before every execution,
+     * and read by a kernel on the kernel queue. The second kernel reads the
+     * output of the first one and the copied input, and its output is read back
+     * on the device-to-host queue. The copy of the next execution overwrites the
+     * input while the previous kernels may still be queued.
+     */
+    @Test
+    public void testCrossQueueDependencies() {
+        assertOpenCLBackend();
+        float[] a = new float[SIZE];
+        float[] b = new float[SIZE];
+        float[] c = new float[SIZE];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestMultipleQueuesOpenCL::scale, a, b) //
+                .task("t1", TestMultipleQueuesOpenCL::add, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b, c);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            fill(a, iteration);
+            executionPlan.execute();
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(a[i] * 2.0f, b[i], 0.01f);
+                assertEquals(a[i] * 3.0f, c[i], 0.01f);
+            }
+        }
+    }
+
+    /**
+     * The two task-graphs of the plan share a buffer: the second task-graph reads
+     * on the device the output of the first one, which is also copied back to the
+     * host.
+     */
+    @Test
+    public void testCrossQueueDependenciesBetweenTaskGraphs() {
+        assertOpenCLBackend();
+        float[] a = new float[SIZE];
+        float[] b = new float[SIZE];
+        float[] c = new float[SIZE];
+
+        TaskGraph taskGraph0 = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestMultipleQueuesOpenCL::scale, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+        TaskGraph taskGraph1 = new TaskGraph("s1") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestMultipleQueuesOpenCL::add, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph0.snapshot(), taskGraph1.snapshot());
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            fill(a, iteration);
+            executionPlan.execute();
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(a[i] * 2.0f, b[i], 0.01f);
+                assertEquals(a[i] * 3.0f, c[i], 0.01f);
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.tasks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoProfilerResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Runs task-graphs with several tasks on the PTX backend, which reuses the
+ * {@code CUfunction} handles of the installed kernels and the {@code CUevent}
+ * pairs of the event pool across executions.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.tasks.TestMultipleTasksPTX
+ * </code>
+ * <p>
+ * With the kernels replayed as CUDA graphs:
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.ptx.cudagraphs=True" uk.ac.manchester.tornado.unittests.tasks.TestMultipleTasksPTX#testCUDAGraphsWithParameterUpdate
+ * </code>
+ */
+public class TestMultipleTasksPTX extends TornadoTestBase {
+
+    private static final int SIZE = 8192;
+    private static final int ITERATIONS = 8;
+
+    public static void addOne(int[] a, int[] b) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            b[i] = a[i] + 1;
+        }
+    }
+
+    public static void multiplyByTwo(int[] b, int[] c) {
+        for (@Parallel int i = 0; i < b.length; i++) {
+            c[i] = b[i] * 2;
+        }
+    }
+
+    public static void subtract(int[] a, int[] c, int[] d) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            d[i] = c[i] - a[i];
+        }
+    }
+
+    private void assertPTXBackend() {
+        assertNotBackend(TornadoVMBackendType.OPENCL);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+    }
+
+    private static void fill(int[] a, int iteration) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] = i + iteration;
+        }
+    }
+
+    private static void assertResults(int[] a, int[] d) {
+        for (int i = 0; i < a.length; i++) {
+            assertEquals((a[i] + 1) * 2 - a[i], d[i]);
+        }
+    }
+
+    /**
+     * Every execution records new timings into the events of the pool, so the
+     * profiler must report the kernels and the transfers of each execution.
+     */
+    @Test
+    public void testMultipleTasksWithEventTimings() {
+        assertPTXBackend();
+        int[] a = new int[SIZE];
+        int[] b = new int[SIZE];
+        int[] c = new int[SIZE];
+        int[] d = new int[SIZE];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestMultipleTasksPTX::addOne, a, b) //
+                .task("t1", TestMultipleTasksPTX::multiplyByTwo, b, c) //
+                .task("t2", TestMultipleTasksPTX::subtract, a, c, d) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, d);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph).withProfiler(ProfilerMode.SILENT);
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            fill(a, iteration);
+            TornadoProfilerResult profilerResult = executionPlan.execute().getProfilerResult();
+            assertResults(a, d);
+
+            assertTrue(profilerResult.getDeviceKernelTime() > 0);
+            assertTrue(profilerResult.getDeviceWriteTime() > 0);
+            assertTrue(profilerResult.getDeviceReadTime() > 0);
+            assertEquals(profilerResult.getDeviceWriteTime() + profilerResult.getDeviceReadTime(), profilerResult.getDataTransfersTime());
+            assertTrue(profilerResult.getDeviceKernelTime() < profilerResult.getTotalTime());
+        }
+    }
+
+    private static TaskGraph createTaskGraph(int[] a, int[] b, int[] c, int[] d) {
+        return new TaskGraph("cudaGraphs") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestMultipleTasksPTX::addOne, a, b) //
+                .task("t1", TestMultipleTasksPTX::multiplyByTwo, b, c) //
+                .task("t2", TestMultipleTasksPTX::subtract, a, c, d) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, d);
+    }
+
+    /**
+     * The three kernels are launched back to back, so from the second execution
+     * on they are replayed as one CUDA graph. The second execution plan uses the
+     * same task-graph and task names, so it launches the same installed kernels
+     * with other buffers: the replayed graph has to update the parameters of its
+     * nodes, and update them back when the first plan runs again.
+     */
+    @Test
+    public void testCUDAGraphsWithParameterUpdate() {
+        assertPTXBackend();
+        int[] a1 = new int[SIZE];
+        int[] b1 = new int[SIZE];
+        int[] c1 = new int[SIZE];
+        int[] d1 = new int[SIZE];
+        int[] a2 = new int[SIZE];
+        int[] b2 = new int[SIZE];
+        int[] c2 = new int[SIZE];
+        int[] d2 = new int[SIZE];
+
+        TornadoExecutionPlan executionPlan1 = new TornadoExecutionPlan(createTaskGraph(a1, b1, c1, d1).snapshot());
+        TornadoExecutionPlan executionPlan2 = new TornadoExecutionPlan(createTaskGraph(a2, b2, c2, d2).snapshot());
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            fill(a1, iteration);
+            executionPlan1.execute();
+            assertResults(a1, d1);
+        }
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            fill(a2, -iteration);
+            executionPlan2.execute();
+            assertResults(a2, d2);
+        }
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            fill(a1, 2 * iteration);
+            executionPlan1.execute();
+            assertResults(a1, d1);
+
+            fill(a2, 3 * iteration);
+            executionPlan2.execute();
+            assertResults(a2, d2);
+        }
+    }
+}
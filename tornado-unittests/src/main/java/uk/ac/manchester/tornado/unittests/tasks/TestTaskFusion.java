@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.tasks;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests task-graphs with consecutive element-wise tasks. With
+ * {@code -Dtornado.fusion=True}, the tasks are fused into a single kernel. The
+ * number of kernels launched is counted from the thread information printed
+ * for each task.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.fusion=True" uk.ac.manchester.tornado.unittests.tasks.TestTaskFusion
+ * </code>
+ */
+public class TestTaskFusion extends TornadoTestBase {
+
+    private static final int NUM_ELEMENTS = 8192;
+
+    private static final boolean FUSION = Boolean.parseBoolean(System.getProperty("tornado.fusion", "False"));
+
+    public static void vectorAdd(float[] a, float[] b, float[] c) {
+        for (@Parallel int i = 0; i < c.length; i++) {
+            c[i] = a[i] + b[i];
+        }
+    }
+
+    public static void vectorScale(float[] c, float alpha, float[] d) {
+        for (@Parallel int i = 0; i < d.length; i++) {
+            d[i] = alpha * c[i];
+        }
+    }
+
+    public static void vectorSquare(float[] d, float[] e) {
+        for (@Parallel int i = 0; i < e.length; i++) {
+            e[i] = d[i] * d[i];
+        }
+    }
+
+    public static void reverse(float[] input, float[] output) {
+        for (@Parallel int i = 0; i < output.length; i++) {
+            output[i] = input[output.length - 1 - i];
+        }
+    }
+
+    private static float[] createRandomArray() {
+        float[] array = new float[NUM_ELEMENTS];
+        Random r = new Random();
+        IntStream.range(0, NUM_ELEMENTS).forEach(i -> array[i] = r.nextFloat());
+        return array;
+    }
+
+    private static void enableThreadInfo(String taskGraphName, int numTasks) {
+        for (int i = 0; i < numTasks; i++) {
+            System.setProperty(taskGraphName + ".t" + i + ".threadInfo", "True");
+        }
+    }
+
+    /**
+     * Executes the plan and returns the number of kernels launched.
+     */
+    private static int executeAndCountLaunches(TornadoExecutionPlan executionPlan) {
+        PrintStream out = System.out;
+        ByteArrayOutputStream threadInfo = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(threadInfo, true));
+        try {
+            executionPlan.execute();
+        } finally {
+            System.setOut(out);
+        }
+        return threadInfo.toString().split("Task info: ", -1).length - 1;
+    }
+
+    @Test
+    public void testTwoTasks() {
+        enableThreadInfo("fusion0", 2);
+        float[] a = createRandomArray();
+        float[] b = createRandomArray();
+        float[] c = new float[NUM_ELEMENTS];
+        float[] d = new float[NUM_ELEMENTS];
+        float alpha = 2.0f;
+
+        TaskGraph taskGraph = new TaskGraph("fusion0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestTaskFusion::vectorAdd, a, b, c) //
+                .task("t1", TestTaskFusion::vectorScale, c, alpha, d) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, d);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        assertEquals(FUSION ? 1 : 2, executeAndCountLaunches(executionPlan));
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(alpha * (a[i] + b[i]), d[i], 0.001f);
+        }
+    }
+
+    @Test
+    public void testThreeTasks() {
+        enableThreadInfo("fusion1", 3);
+        float[] a = createRandomArray();
+        float[] b = createRandomArray();
+        float[] c = new float[NUM_ELEMENTS];
+        float[] d = new float[NUM_ELEMENTS];
+        float[] e = new float[NUM_ELEMENTS];
+        float alpha = 0.5f;
+
+        TaskGraph taskGraph = new TaskGraph("fusion1") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestTaskFusion::vectorAdd, a, b, c) //
+                .task("t1", TestTaskFusion::vectorScale, c, alpha, d) //
+                .task("t2", TestTaskFusion::vectorSquare, d, e) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c, e);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        assertEquals(FUSION ? 1 : 3, executeAndCountLaunches(executionPlan));
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            float value = alpha * (a[i] + b[i]);
+            assertEquals(a[i] + b[i], c[i], 0.001f);
+            assertEquals(value * value, e[i], 0.001f);
+        }
+    }
+
+    /**
+     * The second task reads the output of the first task at a different index, so
+     * the tasks must not be fused.
+     */
+    @Test
+    public void testNonElementWiseDependency() {
+        enableThreadInfo("fusion2", 2);
+        float[] a = createRandomArray();
+        float[] b = createRandomArray();
+        float[] c = new float[NUM_ELEMENTS];
+        float[] d = new float[NUM_ELEMENTS];
+
+        TaskGraph taskGraph = new TaskGraph("fusion2") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestTaskFusion::vectorAdd, a, b, c) //
+                .task("t1", TestTaskFusion::reverse, c, d) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, d);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        assertEquals(2, executeAndCountLaunches(executionPlan));
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            int j = NUM_ELEMENTS - 1 - i;
+            assertEquals(a[j] + b[j], d[i], 0.001f);
+        }
+    }
+}
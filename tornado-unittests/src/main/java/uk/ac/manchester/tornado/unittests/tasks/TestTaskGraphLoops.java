@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.tasks;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.tasks.TestTaskGraphLoops
+ * </code>
+ */
+public class TestTaskGraphLoops extends TornadoTestBase {
+
+    private static final int SIZE = 1024;
+
+    private static void increment(int[] values) {
+        for (@Parallel int i = 0; i < values.length; i++) {
+            values[i] += 1;
+        }
+    }
+
+    private static void smooth(float[] input, float[] output) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            if (i == 0 || i == input.length - 1) {
+                output[i] = input[i];
+            } else {
+                output[i] = (input[i - 1] + input[i] + input[i + 1]) / 3.0f;
+            }
+        }
+    }
+
+    private static void countDown(int[] values, int[] flag) {
+        for (@Parallel int i = 0; i < values.length; i++) {
+            if (values[i] > 0) {
+                values[i] -= 1;
+                if (values[i] > 0) {
+                    flag[0] = 1;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFixedIterations() {
+        int[] values = new int[SIZE];
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, values) //
+                .task("t0", TestTaskGraphLoops::increment, values) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, values) //
+                .loop(10);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int value : values) {
+            assertEquals(10, value);
+        }
+    }
+
+    @Test
+    public void testPingPong() {
+        final int iterations = 25;
+        float[] a = new float[SIZE];
+        float[] b = new float[SIZE];
+        Random r = new Random();
+        for (int i = 0; i < SIZE; i++) {
+            a[i] = r.nextFloat();
+        }
+
+        float[] expected = Arrays.copyOf(a, SIZE);
+        float[] temp = new float[SIZE];
+        for (int i = 0; i < iterations; i++) {
+            smooth(expected, temp);
+            System.arraycopy(temp, 0, expected, 0, SIZE);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestTaskGraphLoops::smooth, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a) //
+                .pingPong(a, b) //
+                .loop(iterations);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        assertArrayEquals(expected, a, 0.001f);
+    }
+
+    private void runCountDown(int checkInterval) {
+        int[] values = new int[SIZE];
+        int[] flag = new int[1];
+        Random r = new Random();
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = r.nextInt(50);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, values, flag) //
+                .task("t0", TestTaskGraphLoops::countDown, values, flag) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, values) //
+                .loopWhile(flag, 1000, checkInterval);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        assertArrayEquals(new int[SIZE], values);
+    }
+
+    @Test
+    public void testConvergenceFlag() {
+        runCountDown(1);
+    }
+
+    @Test
+    public void testConvergenceFlagCheckInterval() {
+        runCountDown(4);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2023, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.unittests.vectortypes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.collections.types.HalfFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorFloat;
+import uk.ac.manchester.tornado.api.collections.types.VectorHalf;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V uk.ac.manchester.tornado.unittests.vectortypes.TestHalfFloat
+ * </code>
+ */
+public class TestHalfFloat extends TornadoTestBase {
+
+    private static void vectorAddHalf(VectorHalf a, VectorHalf b, VectorHalf c) {
+        for (@Parallel int i = 0; i < c.size(); i++) {
+            c.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    private static void saxpyMixed(float alpha, VectorHalf x, VectorFloat y) {
+        for (@Parallel int i = 0; i < y.size(); i++) {
+            y.set(i, alpha * x.get(i) + y.get(i));
+        }
+    }
+
+    private static void multiplyHalfArrays(short[] a, short[] b, short[] c) {
+        for (@Parallel int i = 0; i < c.length; i++) {
+            c[i] = HalfFloat.mult(a[i], b[i]);
+        }
+    }
+
+    private static void halfArithmetic(short[] a, short[] b, short[] sum, short[] difference, short[] product, short[] quotient) {
+        for (@Parallel int i = 0; i < a.length; i++) {
+            sum[i] = HalfFloat.add(a[i], b[i]);
+            difference[i] = HalfFloat.sub(a[i], b[i]);
+            product[i] = HalfFloat.mult(a[i], b[i]);
+            quotient[i] = HalfFloat.div(a[i], b[i]);
+        }
+    }
+
+    @Test
+    public void testConversions() {
+        assertEquals(1.0f, HalfFloat.toFloat(HalfFloat.toHalf(1.0f)), 0.0f);
+        assertEquals(65504.0f, HalfFloat.toFloat(HalfFloat.MAX_VALUE), 0.0f);
+        assertEquals(HalfFloat.POSITIVE_INFINITY, HalfFloat.toHalf(70000.0f));
+        assertEquals(0x3555, HalfFloat.toHalf(1.0f / 3.0f));
+        assertEquals(5.9604645E-8f, HalfFloat.toFloat((short) 0x0001), 0.0f);
+        assertTrue(HalfFloat.isNaN(HalfFloat.toHalf(Float.NaN)));
+    }
+
+    @Test
+    public void testVectorAddHalf() {
+        final int size = 1024;
+        VectorHalf a = new VectorHalf(size);
+        VectorHalf b = new VectorHalf(size);
+        VectorHalf c = new VectorHalf(size);
+
+        Random r = new Random();
+        for (int i = 0; i < size; i++) {
+            a.set(i, r.nextFloat());
+            b.set(i, r.nextFloat());
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                .task("t0", TestHalfFloat::vectorAddHalf, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(HalfFloat.add(a.getHalf(i), b.getHalf(i)), c.getHalf(i));
+        }
+    }
+
+    @Test
+    public void testSaxpyMixedPrecision() {
+        final int size = 1024;
+        final float alpha = 2.5f;
+        VectorHalf x = new VectorHalf(size);
+        VectorFloat y = new VectorFloat(size);
+        VectorFloat expected = new VectorFloat(size);
+
+        Random r = new Random();
+        for (int i = 0; i < size; i++) {
+            x.set(i, r.nextFloat());
+            y.set(i, r.nextFloat());
+            expected.set(i, alpha * x.get(i) + y.get(i));
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, x, y) //
+                .task("t0", TestHalfFloat::saxpyMixed, alpha, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected.get(i), y.get(i), 0.001f);
+        }
+    }
+
+    @Test
+    public void testMultiplyHalfArrays() {
+        final int size = 512;
+        short[] a = new short[size];
+        short[] b = new short[size];
+        short[] c = new short[size];
+
+        Random r = new Random();
+        for (int i = 0; i < size; i++) {
+            a[i] = HalfFloat.toHalf(r.nextFloat() * 10);
+            b[i] = HalfFloat.toHalf(r.nextFloat() * 10);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                .task("t0", TestHalfFloat::multiplyHalfArrays, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(HalfFloat.mult(a[i], b[i]), c[i]);
+        }
+    }
+
+    /**
+     * Half-precision arithmetic, computed in half precision on devices that
+     * support it and in single precision otherwise. Additions, subtractions and
+     * multiplications are correctly rounded on both paths. Divisions may differ
+     * by one unit in the last place on devices with a less accurate half
+     * division.
+     */
+    @Test
+    public void testHalfArithmetic() {
+        final int size = 1024;
+        short[] a = new short[size];
+        short[] b = new short[size];
+        short[] sum = new short[size];
+        short[] difference = new short[size];
+        short[] product = new short[size];
+        short[] quotient = new short[size];
+
+        Random r = new Random(11);
+        for (int i = 0; i < size; i++) {
+            a[i] = HalfFloat.toHalf((r.nextFloat() - 0.5f) * 100);
+            b[i] = HalfFloat.toHalf(r.nextFloat() * 10 + 0.5f);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                .task("t0", TestHalfFloat::halfArithmetic, a, b, sum, difference, product, quotient) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sum, difference, product, quotient);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(HalfFloat.add(a[i], b[i]), sum[i]);
+            assertEquals(HalfFloat.sub(a[i], b[i]), difference[i]);
+            assertEquals(HalfFloat.mult(a[i], b[i]), product[i]);
+            assertTrue(Math.abs(HalfFloat.div(a[i], b[i]) - quotient[i]) <= 1);
+        }
+    }
+}